@@ -0,0 +1,115 @@
+package fr.sii.ogham.benchmark.bean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bean used as template context in benchmarks. It contains nested beans and a
+ * collection to be representative of a real-life template.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class Order {
+	private final String reference;
+	private final Customer customer;
+	private final List<Item> items;
+
+	public Order(String reference, Customer customer, List<Item> items) {
+		super();
+		this.reference = reference;
+		this.customer = customer;
+		this.items = items;
+	}
+
+	public String getReference() {
+		return reference;
+	}
+
+	public Customer getCustomer() {
+		return customer;
+	}
+
+	public List<Item> getItems() {
+		return items;
+	}
+
+	public double getTotal() {
+		double total = 0;
+		for (Item item : items) {
+			total += item.getPrice() * item.getQuantity();
+		}
+		return total;
+	}
+
+	/**
+	 * Generates an order with the given number of items.
+	 * 
+	 * @param numberOfItems
+	 *            the number of items in the order
+	 * @return the generated order
+	 */
+	public static Order generate(int numberOfItems) {
+		List<Item> items = new ArrayList<>(numberOfItems);
+		for (int i = 0; i < numberOfItems; i++) {
+			items.add(new Item("item-" + i, "Item number " + i, i % 5 + 1, 9.99 + i));
+		}
+		return new Order("ORD-0042", new Customer("Jane", "Doe", "jane.doe@sii.fr"), items);
+	}
+
+	public static class Customer {
+		private final String firstName;
+		private final String lastName;
+		private final String email;
+
+		public Customer(String firstName, String lastName, String email) {
+			super();
+			this.firstName = firstName;
+			this.lastName = lastName;
+			this.email = email;
+		}
+
+		public String getFirstName() {
+			return firstName;
+		}
+
+		public String getLastName() {
+			return lastName;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+	}
+
+	public static class Item {
+		private final String id;
+		private final String label;
+		private final int quantity;
+		private final double price;
+
+		public Item(String id, String label, int quantity, double price) {
+			super();
+			this.id = id;
+			this.label = label;
+			this.quantity = quantity;
+			this.price = price;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		public int getQuantity() {
+			return quantity;
+		}
+
+		public double getPrice() {
+			return price;
+		}
+	}
+}
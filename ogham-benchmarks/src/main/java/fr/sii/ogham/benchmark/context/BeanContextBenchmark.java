@@ -0,0 +1,46 @@
+package fr.sii.ogham.benchmark.context;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.sii.ogham.benchmark.bean.Order;
+import fr.sii.ogham.core.exception.template.ContextException;
+import fr.sii.ogham.core.template.context.BeanContext;
+
+/**
+ * Measures the extraction of template variables from a bean using
+ * {@link BeanContext}.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanContextBenchmark {
+	private Order order;
+
+	@Setup
+	public void setup() {
+		order = Order.generate(10);
+	}
+
+	@Benchmark
+	public Map<String, Object> getVariables() throws ContextException {
+		return new BeanContext(order).getVariables();
+	}
+}
@@ -0,0 +1,54 @@
+package fr.sii.ogham.benchmark.html;
+
+import static java.util.Arrays.asList;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.sii.ogham.core.resource.path.UnresolvedPath;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.html.inliner.ExternalCss;
+import fr.sii.ogham.html.inliner.impl.jsoup.JsoupCssInliner;
+
+/**
+ * Measures the inlining of CSS rules into the style attributes of the HTML
+ * nodes using {@link JsoupCssInliner}.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CssInlinerBenchmark {
+	private JsoupCssInliner inliner;
+	private String html;
+	private List<ExternalCss> css;
+
+	@Setup
+	public void setup() throws IOException {
+		inliner = new JsoupCssInliner();
+		html = IOUtils.toString(getClass().getResourceAsStream("/benchmark/html/newsletter.html"));
+		css = asList(new ExternalCss(new UnresolvedPath("newsletter.css"), IOUtils.toString(getClass().getResourceAsStream("/benchmark/html/newsletter.css"))));
+	}
+
+	@Benchmark
+	public String inline() {
+		return inliner.inline(html, css);
+	}
+}
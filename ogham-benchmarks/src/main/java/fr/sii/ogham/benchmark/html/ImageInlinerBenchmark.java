@@ -0,0 +1,89 @@
+package fr.sii.ogham.benchmark.html;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.sii.ogham.core.id.generator.SequentialIdGenerator;
+import fr.sii.ogham.core.resource.path.UnresolvedPath;
+import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.html.inliner.ContentWithImages;
+import fr.sii.ogham.html.inliner.ImageInliner;
+import fr.sii.ogham.html.inliner.ImageResource;
+import fr.sii.ogham.html.inliner.impl.jsoup.JsoupAttachImageInliner;
+import fr.sii.ogham.html.inliner.impl.jsoup.JsoupBase64ImageInliner;
+import fr.sii.ogham.html.inliner.impl.regexp.RegexAttachBackgroudImageInliner;
+import fr.sii.ogham.html.inliner.impl.regexp.RegexBase64BackgroundImageInliner;
+
+/**
+ * Measures the inlining of images referenced by {@code <img>} tags (Jsoup
+ * implementations) and by CSS backgrounds (regular expression
+ * implementations), either as base64 data URIs or as attachments.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageInlinerBenchmark {
+	private static final String[] IMAGES = { "logo", "header", "footer", "article-0", "article-1", "article-2", "article-3" };
+
+	@Param({ "jsoup-base64", "jsoup-attach", "regexp-base64", "regexp-attach" })
+	private String inlinerType;
+
+	private ImageInliner inliner;
+	private String html;
+	private List<ImageResource> images;
+
+	@Setup
+	public void setup() throws IOException {
+		inliner = createInliner();
+		html = IOUtils.toString(getClass().getResourceAsStream("/benchmark/html/newsletter.html"));
+		images = new ArrayList<>();
+		Random random = new Random(42);
+		for (String name : IMAGES) {
+			byte[] content = new byte[4096];
+			random.nextBytes(content);
+			String src = "images/" + name + ".png";
+			images.add(new ImageResource(name + ".png", src, new UnresolvedPath(src), content, "image/png"));
+		}
+	}
+
+	@Benchmark
+	public ContentWithImages inline() {
+		return inliner.inline(html, images);
+	}
+
+	private ImageInliner createInliner() {
+		switch (inlinerType) {
+			case "jsoup-base64":
+				return new JsoupBase64ImageInliner();
+			case "jsoup-attach":
+				return new JsoupAttachImageInliner(new SequentialIdGenerator());
+			case "regexp-base64":
+				return new RegexBase64BackgroundImageInliner();
+			case "regexp-attach":
+				return new RegexAttachBackgroudImageInliner(new SequentialIdGenerator());
+			default:
+				throw new IllegalArgumentException("Unknown inliner " + inlinerType);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package fr.sii.ogham.benchmark.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+
+import fr.sii.ogham.benchmark.bean.Order;
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.clean.Cleanable;
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.clean.CleanException;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.testing.util.RandomPortUtils;
+
+/**
+ * Measures the whole sending pipeline of an email using
+ * {@link MessagingService#send(fr.sii.ogham.core.message.Message)}: template
+ * rendering, HTML processing, MIME message generation and SMTP delivery to a
+ * local GreenMail server.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailSendBenchmark {
+	@Param({ "string", "template" })
+	private String content;
+
+	@Param({ "false", "true" })
+	private boolean pooled;
+
+	private GreenMail greenMail;
+	private MessagingService service;
+	private Order order;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		greenMail = new GreenMail(new ServerSetup(RandomPortUtils.findAvailableTcpPort(), "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+		greenMail.start();
+		MessagingBuilder builder = MessagingBuilder.standard();
+		builder
+			.environment()
+				.properties()
+					.set("mail.smtp.host", greenMail.getSmtp().getBindTo())
+					.set("mail.smtp.port", greenMail.getSmtp().getPort())
+					.set("ogham.email.javamail.pool.enable", pooled);
+		service = builder.build();
+		order = Order.generate(10);
+	}
+
+	@TearDown(Level.Iteration)
+	public void purge() throws FolderException {
+		greenMail.purgeEmailFromAllMailboxes();
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() throws CleanException {
+		if (service instanceof Cleanable) {
+			((Cleanable) service).clean();
+		}
+		greenMail.stop();
+	}
+
+	@Benchmark
+	public void send() throws MessagingException {
+		Email email = new Email()
+				.subject("Order " + order.getReference())
+				.from("sender@sii.fr")
+				.to(order.getCustomer().getEmail());
+		if ("template".equals(content)) {
+			email.body().template("classpath:/benchmark/template/order.html.ftl", order);
+		} else {
+			email.body().string("Thank you for your order " + order.getReference());
+		}
+		service.send(email);
+	}
+}
@@ -0,0 +1,111 @@
+package fr.sii.ogham.benchmark.service;
+
+import static java.util.Arrays.asList;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.sii.ogham.benchmark.sms.SmsMessages;
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.clean.Cleanable;
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.clean.CleanException;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.testing.sms.simulator.SmppServerException;
+import fr.sii.ogham.testing.sms.simulator.config.Credentials;
+import fr.sii.ogham.testing.sms.simulator.config.FixedServerPortProvider;
+import fr.sii.ogham.testing.sms.simulator.config.SimulatorConfiguration;
+import fr.sii.ogham.testing.sms.simulator.jsmpp.JSMPPServer;
+import fr.sii.ogham.testing.util.RandomPortUtils;
+
+/**
+ * Measures the whole sending pipeline of a SMS using
+ * {@link MessagingService#send(fr.sii.ogham.core.message.Message)}: encoding,
+ * split and SMPP delivery (using Cloudhopper) to a local jsmpp server.
+ * 
+ * <p>
+ * The benchmark is executed with a new SMPP session for each message and with
+ * the session kept alive between messages.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SmsSendBenchmark {
+	private static final String SYSTEM_ID = "benchmark";
+	private static final String PASSWORD = "pass";
+
+	@Param({ "160", "1000" })
+	private int length;
+
+	@Param({ "false", "true" })
+	private boolean keepAlive;
+
+	private JSMPPServer smppServer;
+	private MessagingService service;
+	private String message;
+
+	@Setup(Level.Trial)
+	public void setup() throws SmppServerException {
+		SimulatorConfiguration config = new SimulatorConfiguration();
+		config.setPort(new FixedServerPortProvider(RandomPortUtils.findAvailableTcpPort()));
+		config.setCredentials(asList(new Credentials(SYSTEM_ID, PASSWORD)));
+		smppServer = new JSMPPServer(config);
+		smppServer.start();
+		MessagingBuilder builder = MessagingBuilder.standard();
+		builder
+			.environment()
+				.properties()
+					.set("ogham.sms.smpp.host", "127.0.0.1")
+					.set("ogham.sms.smpp.port", smppServer.getPort())
+					.set("ogham.sms.smpp.system-id", SYSTEM_ID)
+					.set("ogham.sms.smpp.password", PASSWORD)
+					.set("ogham.sms.cloudhopper.session.keep-alive.enable", keepAlive);
+		service = builder.build();
+		message = SmsMessages.generate(SmsMessages.GSM_CHARACTERS, length);
+	}
+
+	/**
+	 * The server keeps every received message. Drop them regularly to avoid
+	 * measuring the cost of a growing list (memory and GC pressure).
+	 */
+	@Setup(Level.Iteration)
+	public void clearReceivedMessages() {
+		smppServer.clearReceivedMessages();
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() throws CleanException, SmppServerException {
+		if (service instanceof Cleanable) {
+			((Cleanable) service).clean();
+		}
+		smppServer.stop();
+	}
+
+	@Benchmark
+	public void send() throws MessagingException {
+		service.send(new Sms()
+				.message().string(message)
+				.from("+33603040506")
+				.to("+33605040302"));
+	}
+}
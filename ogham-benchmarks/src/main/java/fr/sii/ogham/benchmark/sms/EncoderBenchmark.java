@@ -0,0 +1,88 @@
+package fr.sii.ogham.benchmark.sms;
+
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_GSM;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_GSM7;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_UCS_2;
+import static java.util.Arrays.asList;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.sii.ogham.sms.encoder.Encoded;
+import fr.sii.ogham.sms.encoder.Encoder;
+import fr.sii.ogham.sms.exception.message.EncodingException;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.CloudhopperCharsetSupportingEncoder;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.GuessEncodingEncoder;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.NamedCharset;
+
+/**
+ * Measures the encoding of a message using Cloudhopper charsets.
+ * 
+ * <p>
+ * The "guess" encoder is the one used by default: it tries GSM 7-bit packed,
+ * then GSM 8-bit and finally UCS-2 until the message can be encoded. Using a
+ * message that contains unicode characters shows the cost of the failed
+ * attempts.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncoderBenchmark {
+	@Param({ "gsm7", "gsm8", "ucs2", "guess" })
+	private String encoderType;
+
+	@Param({ "gsm", "unicode" })
+	private String characters;
+
+	@Param({ "160", "1000" })
+	private int length;
+
+	private Encoder encoder;
+	private String message;
+
+	@Setup
+	public void setup() {
+		encoder = createEncoder();
+		message = SmsMessages.generate("gsm".equals(characters) ? SmsMessages.GSM_CHARACTERS : SmsMessages.UNICODE_CHARACTERS, length);
+	}
+
+	@Benchmark
+	public Encoded encode() throws EncodingException {
+		return encoder.encode(message);
+	}
+
+	private Encoder createEncoder() {
+		switch (encoderType) {
+			case "gsm7":
+				return new CloudhopperCharsetSupportingEncoder(NamedCharset.from(NAME_GSM7));
+			case "gsm8":
+				return new CloudhopperCharsetSupportingEncoder(NamedCharset.from(NAME_GSM));
+			case "ucs2":
+				return new CloudhopperCharsetSupportingEncoder(NamedCharset.from(NAME_UCS_2));
+			case "guess":
+				return new GuessEncodingEncoder(asList(
+						new CloudhopperCharsetSupportingEncoder(NamedCharset.from(NAME_GSM7)),
+						new CloudhopperCharsetSupportingEncoder(NamedCharset.from(NAME_GSM)),
+						new CloudhopperCharsetSupportingEncoder(NamedCharset.from(NAME_UCS_2))));
+			default:
+				throw new IllegalArgumentException("Unknown encoder " + encoderType);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package fr.sii.ogham.benchmark.sms;
+
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_GSM;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_UCS_2;
+import static fr.sii.ogham.sms.SmsConstants.SmppSplitConstants.SEGMENT_SIZE_GSM_8BIT;
+import static fr.sii.ogham.sms.SmsConstants.SmppSplitConstants.SEGMENT_SIZE_UCS2;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.sii.ogham.sms.exception.message.SplitMessageException;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.CloudhopperCharsetSupportingEncoder;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.NamedCharset;
+import fr.sii.ogham.sms.splitter.GsmMessageSplitter;
+import fr.sii.ogham.sms.splitter.Segment;
+
+/**
+ * Measures the split of a message into segments using
+ * {@link GsmMessageSplitter} with the Cloudhopper encoders.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageSplitterBenchmark {
+	@Param({ "gsm", "ucs2" })
+	private String charset;
+
+	@Param({ "100", "1000" })
+	private int length;
+
+	private GsmMessageSplitter splitter;
+	private String message;
+
+	@Setup
+	public void setup() {
+		if ("gsm".equals(charset)) {
+			splitter = new GsmMessageSplitter(new CloudhopperCharsetSupportingEncoder(NamedCharset.from(NAME_GSM)), SEGMENT_SIZE_GSM_8BIT);
+			message = SmsMessages.generate(SmsMessages.GSM_CHARACTERS, length);
+		} else {
+			splitter = new GsmMessageSplitter(new CloudhopperCharsetSupportingEncoder(NamedCharset.from(NAME_UCS_2)), SEGMENT_SIZE_UCS2);
+			message = SmsMessages.generate(SmsMessages.UNICODE_CHARACTERS, length);
+		}
+	}
+
+	@Benchmark
+	public List<Segment> split() throws SplitMessageException {
+		return splitter.split(message);
+	}
+}
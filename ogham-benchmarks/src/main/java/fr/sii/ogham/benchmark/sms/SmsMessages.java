@@ -0,0 +1,41 @@
+package fr.sii.ogham.benchmark.sms;
+
+/**
+ * Generates messages used by SMS benchmarks.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class SmsMessages {
+	/**
+	 * Characters that are all part of the GSM basic character set
+	 */
+	public static final String GSM_CHARACTERS = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. 0123456789 @$!?";
+
+	/**
+	 * Characters that can only be encoded using UCS-2
+	 */
+	public static final String UNICODE_CHARACTERS = "Lorem ipsum dolor sit amet, ŝ ŭ ŵ ŷ 0123456789 ©®™ ★☆";
+
+	/**
+	 * Generates a message of the wanted length by repeating the provided
+	 * characters.
+	 * 
+	 * @param characters
+	 *            the characters to repeat
+	 * @param length
+	 *            the length of the generated message
+	 * @return the generated message
+	 */
+	public static String generate(String characters, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		while (sb.length() < length) {
+			sb.append(characters, 0, Math.min(characters.length(), length - sb.length()));
+		}
+		return sb.toString();
+	}
+
+	private SmsMessages() {
+		super();
+	}
+}
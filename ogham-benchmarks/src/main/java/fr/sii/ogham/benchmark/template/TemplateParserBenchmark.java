@@ -0,0 +1,84 @@
+package fr.sii.ogham.benchmark.template;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.sii.ogham.benchmark.bean.Order;
+import fr.sii.ogham.core.exception.template.ParseException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.resource.path.ResourcePath;
+import fr.sii.ogham.core.resource.path.UnresolvedPath;
+import fr.sii.ogham.core.template.context.BeanContext;
+import fr.sii.ogham.core.template.context.Context;
+import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.template.freemarker.FreeMarkerParser;
+import fr.sii.ogham.template.freemarker.builder.FreemarkerSmsBuilder;
+import fr.sii.ogham.template.thymeleaf.common.ThymeleafParser;
+import fr.sii.ogham.template.thymeleaf.v3.buider.ThymeleafV3SmsBuilder;
+
+/**
+ * Measures the rendering of the same HTML template using
+ * {@link FreeMarkerParser} and {@link ThymeleafParser}.
+ * 
+ * <p>
+ * The template is loaded from the classpath and the context is a
+ * {@link BeanContext} (so variable extraction is included in the measure).
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateParserBenchmark {
+	@Param({ "freemarker", "thymeleaf" })
+	private String engine;
+
+	@Param({ "10", "100" })
+	private int items;
+
+	private TemplateParser parser;
+	private ResourcePath template;
+	private Context context;
+
+	@Setup
+	public void setup() {
+		if ("freemarker".equals(engine)) {
+			parser = new FreemarkerSmsBuilder()
+						.classpath()
+							.lookup("classpath:")
+							.pathPrefix("/benchmark/template/")
+							.and()
+						.build();
+			template = new UnresolvedPath("classpath:order.html.ftl");
+		} else {
+			parser = new ThymeleafV3SmsBuilder()
+						.classpath()
+							.lookup("classpath:")
+							.pathPrefix("/benchmark/template/")
+							.and()
+						.build();
+			template = new UnresolvedPath("classpath:order.html");
+		}
+		context = new BeanContext(Order.generate(items));
+	}
+
+	@Benchmark
+	public Content parse() throws ParseException {
+		return parser.parse(template, context);
+	}
+}
@@ -0,0 +1,28 @@
+<!DOCTYPE html>
+<html>
+	<head>
+		<title>Order ${reference}</title>
+		<meta charset="utf-8" />
+	</head>
+	<body>
+		<h1>Hello ${customer.firstName} ${customer.lastName}</h1>
+		<p>Thank you for your order <strong>${reference}</strong>.</p>
+		<table class="items">
+			<thead>
+				<tr><th>Reference</th><th>Label</th><th>Quantity</th><th>Price</th></tr>
+			</thead>
+			<tbody>
+				<#list items as item>
+				<tr class="${item?item_parity}">
+					<td>${item.id}</td>
+					<td>${item.label}</td>
+					<td>${item.quantity}</td>
+					<td>${item.price?string["0.00"]}</td>
+				</tr>
+				</#list>
+			</tbody>
+		</table>
+		<p class="total">Total: ${total?string["0.00"]}</p>
+		<p>A confirmation has been sent to ${customer.email}.</p>
+	</body>
+</html>
@@ -66,6 +66,150 @@ public final class CoreConstants {
 	 */
 	public static final List<String> CLASSPATH_LOOKUPS = unmodifiableList(asList("classpath:", ""));
 
+	/**
+	 * The default number of threads used to send messages asynchronously
+	 */
+	public static final int DEFAULT_ASYNC_THREADS = 10;
+	/**
+	 * The default maximum number of messages waiting for a thread when they
+	 * are sent asynchronously
+	 */
+	public static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1000;
+
+	/**
+	 * Template resolution results are cached by default
+	 */
+	public static final boolean DEFAULT_TEMPLATE_CACHE_ENABLE = true;
+	/**
+	 * The default time (in milliseconds) a template resolution result is kept
+	 * in the cache
+	 */
+	public static final long DEFAULT_TEMPLATE_CACHE_TIME_TO_LIVE = 60_000L;
+	/**
+	 * The default maximum number of template resolution results kept in each
+	 * cache
+	 */
+	public static final int DEFAULT_TEMPLATE_CACHE_MAX_SIZE = 1000;
+	/**
+	 * The variants of a message (HTML and text for example) are rendered
+	 * sequentially by default
+	 */
+	public static final boolean DEFAULT_PARALLEL_RENDERING_ENABLE = false;
+	/**
+	 * The default number of threads used to render the variants of messages
+	 * concurrently
+	 */
+	public static final int DEFAULT_PARALLEL_RENDERING_THREADS = 4;
+	/**
+	 * CSS files and images that are inlined in emails are cached by default
+	 */
+	public static final boolean DEFAULT_RESOURCE_CACHE_ENABLE = true;
+	/**
+	 * The default maximum number of CSS files and images kept in the cache
+	 */
+	public static final int DEFAULT_RESOURCE_CACHE_MAX_SIZE = 200;
+	/**
+	 * The default maximum total size (in bytes) of the CSS files and images
+	 * kept in the cache
+	 */
+	public static final long DEFAULT_RESOURCE_CACHE_MAX_WEIGHT = 20L * 1024 * 1024;
+	/**
+	 * Cached files are read again if they have been modified by default
+	 */
+	public static final boolean DEFAULT_RESOURCE_CACHE_CHECK_MODIFICATIONS = true;
+	/**
+	 * CSS rules are applied by querying the HTML document for each rule by
+	 * default
+	 */
+	public static final boolean DEFAULT_CSS_INLINING_COMPILED_RULES = false;
+
+	/**
+	 * Metrics are recorded by default if a recorder is provided
+	 */
+	public static final boolean DEFAULT_METRICS_ENABLE = true;
+
+	/**
+	 * The maximum number of bytes read from the head of a stream to detect its
+	 * mimetype (the whole stream is never loaded only for detection)
+	 */
+	public static final int MIMETYPE_DETECTION_HEAD_SIZE = 64 * 1024;
+	/**
+	 * Mimetypes detected for files and contents are cached by default
+	 */
+	public static final boolean DEFAULT_MIMETYPE_CACHE_ENABLE = true;
+	/**
+	 * The default maximum number of detected mimetypes kept in the cache
+	 */
+	public static final int DEFAULT_MIMETYPE_CACHE_MAX_SIZE = 1000;
+
+	/**
+	 * The default maximum number of HTTP connections to the same host
+	 */
+	public static final int DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE = 20;
+	/**
+	 * The default maximum number of HTTP connections for all hosts
+	 */
+	public static final int DEFAULT_HTTP_MAX_CONNECTIONS_TOTAL = 50;
+	/**
+	 * The default maximum time (in milliseconds) to establish an HTTP
+	 * connection
+	 */
+	public static final int DEFAULT_HTTP_CONNECT_TIMEOUT = 5_000;
+	/**
+	 * The default maximum time (in milliseconds) to wait for data once the
+	 * HTTP connection is established
+	 */
+	public static final int DEFAULT_HTTP_READ_TIMEOUT = 30_000;
+	/**
+	 * The default maximum time (in milliseconds) to wait for a free connection
+	 * in the pool
+	 */
+	public static final int DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT = 10_000;
+	/**
+	 * The default time (in milliseconds) an idle HTTP connection is kept alive
+	 * to be reused
+	 */
+	public static final long DEFAULT_HTTP_KEEP_ALIVE = 30_000L;
+	/**
+	 * The default number of threads used to execute HTTP requests
+	 * asynchronously
+	 */
+	public static final int DEFAULT_HTTP_ASYNC_THREADS = 20;
+	/**
+	 * The default maximum number of asynchronous HTTP requests waiting for a
+	 * thread
+	 */
+	public static final int DEFAULT_HTTP_ASYNC_QUEUE_CAPACITY = 1000;
+
+	/**
+	 * The outbox is disabled by default
+	 */
+	public static final boolean DEFAULT_OUTBOX_ENABLE = false;
+	/**
+	 * The default directory that contains the outbox journal (relative to the
+	 * working directory)
+	 */
+	public static final String DEFAULT_OUTBOX_DIRECTORY = "ogham-outbox";
+	/**
+	 * The default size (in bytes) of each segment file of the outbox journal
+	 */
+	public static final int DEFAULT_OUTBOX_SEGMENT_SIZE = 16 * 1024 * 1024;
+	/**
+	 * The default number of threads that send the messages stored in the
+	 * outbox
+	 */
+	public static final int DEFAULT_OUTBOX_WORKERS = 4;
+	/**
+	 * The default maximum number of attempts to send a message stored in the
+	 * outbox before moving it to the dead letters
+	 */
+	public static final int DEFAULT_OUTBOX_MAX_ATTEMPTS = 5;
+	/**
+	 * The default time (in milliseconds) to wait before sending a message of
+	 * the outbox again after a failure
+	 */
+	public static final long DEFAULT_OUTBOX_RETRY_DELAY = 30_000L;
+
 	private CoreConstants() {
 		super();
 	}
@@ -0,0 +1,167 @@
+package fr.sii.ogham.core.async;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import fr.sii.ogham.core.clean.Cleanable;
+import fr.sii.ogham.core.exception.clean.CleanException;
+
+/**
+ * Groups the executors used to send messages asynchronously:
+ * <ul>
+ * <li>An {@link Executor} that executes the actions (sending a message for
+ * example). It may be a bounded thread pool, an executor that uses virtual
+ * threads (JDK 21+) or any executor provided by the application.</li>
+ * <li>A {@link ScheduledExecutorService} that is only used as a timer to
+ * trigger delayed actions (for example, a retry after a failure). The delayed
+ * action is not executed by the scheduler thread, it is given to the
+ * {@link Executor}. This way, no thread is blocked while waiting for the next
+ * retry.</li>
+ * </ul>
+ *
+ * <p>
+ * The executors that are created by Ogham (not provided by the application)
+ * are shut down when resources are cleaned.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class AsyncExecutors implements Cleanable {
+	private final Executor executor;
+	private final ScheduledExecutorService scheduler;
+	private final List<ExecutorService> owned;
+
+	/**
+	 * Initializes with the executor used to execute actions and the scheduler
+	 * used to trigger delayed actions. The executors are managed by the
+	 * application (they are not shut down by Ogham).
+	 *
+	 * @param executor
+	 *            the executor used to execute actions
+	 * @param scheduler
+	 *            the scheduler used as a timer for delayed actions
+	 */
+	public AsyncExecutors(Executor executor, ScheduledExecutorService scheduler) {
+		this(executor, scheduler, new ArrayList<>());
+	}
+
+	/**
+	 * Initializes with the executor used to execute actions and the scheduler
+	 * used to trigger delayed actions.
+	 *
+	 * @param executor
+	 *            the executor used to execute actions
+	 * @param scheduler
+	 *            the scheduler used as a timer for delayed actions
+	 * @param owned
+	 *            the executors that are managed by Ogham and that must be shut
+	 *            down when resources are cleaned
+	 */
+	public AsyncExecutors(Executor executor, ScheduledExecutorService scheduler, List<ExecutorService> owned) {
+		super();
+		this.executor = executor;
+		this.scheduler = scheduler;
+		this.owned = owned;
+	}
+
+	/**
+	 * Execute the action using the {@link Executor}.
+	 *
+	 * <p>
+	 * The returned future is completed with the result of the action or
+	 * completed exceptionally with the exception raised by the action (the
+	 * exception is not wrapped). If the action can't be executed (executor
+	 * shut down for example), the future is completed exceptionally with
+	 * {@link RejectedExecutionException}.
+	 *
+	 * @param <V>
+	 *            the type of the result
+	 * @param action
+	 *            the action to execute
+	 * @return the future result of the action
+	 */
+	public <V> CompletableFuture<V> execute(Callable<V> action) {
+		CompletableFuture<V> result = new CompletableFuture<>();
+		execute(() -> {
+			try {
+				result.complete(action.call());
+			} catch (Exception e) {
+				result.completeExceptionally(e);
+			}
+		}, result);
+		return result;
+	}
+
+	/**
+	 * Execute the task using the {@link Executor} once the delay is expired.
+	 * The {@link ScheduledExecutorService} is only used to trigger the task,
+	 * the task itself is executed by the {@link Executor}.
+	 *
+	 * <p>
+	 * If the task can't be scheduled or executed, the future is completed
+	 * exceptionally with {@link RejectedExecutionException}.
+	 *
+	 * @param task
+	 *            the task to execute
+	 * @param delay
+	 *            the delay in milliseconds
+	 * @param future
+	 *            the future to complete exceptionally if the task can't be
+	 *            executed
+	 */
+	public void schedule(Runnable task, long delay, CompletableFuture<?> future) {
+		if (delay <= 0) {
+			execute(task, future);
+			return;
+		}
+		try {
+			scheduler.schedule(() -> execute(task, future), delay, MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * @return the executor used to execute actions
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @return the scheduler used as a timer for delayed actions
+	 */
+	public ScheduledExecutorService getScheduler() {
+		return scheduler;
+	}
+
+	@Override
+	public void clean() throws CleanException {
+		for (ExecutorService executorService : owned) {
+			executorService.shutdown();
+		}
+	}
+
+	private void execute(Runnable task, CompletableFuture<?> future) {
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("AsyncExecutors [executor=").append(executor).append(", scheduler=").append(scheduler).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,36 @@
+package fr.sii.ogham.core.async;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon threads named using a prefix followed by an incremented
+ * number. The threads created by Ogham must never prevent the JVM from
+ * exiting.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+	private final String prefix;
+	private final AtomicInteger count;
+
+	/**
+	 * Initializes with the prefix of thread names.
+	 *
+	 * @param prefix
+	 *            the prefix of thread names
+	 */
+	public DaemonThreadFactory(String prefix) {
+		super();
+		this.prefix = prefix;
+		this.count = new AtomicInteger();
+	}
+
+	@Override
+	public Thread newThread(Runnable r) {
+		Thread thread = new Thread(r, prefix + count.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+}
@@ -19,6 +19,7 @@ import org.reflections.scanners.SubTypesScanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.builder.async.AsyncBuilder;
 import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
 import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
 import fr.sii.ogham.core.builder.configurer.ConfigurationPhase;
@@ -29,6 +30,9 @@ import fr.sii.ogham.core.builder.context.BuildContext;
 import fr.sii.ogham.core.builder.context.EnvBuilderBasedContext;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.builder.env.SimpleEnvironmentBuilder;
+import fr.sii.ogham.core.builder.http.HttpTransportBuilder;
+import fr.sii.ogham.core.builder.metrics.MetricsBuilder;
+import fr.sii.ogham.core.builder.outbox.OutboxBuilder;
 import fr.sii.ogham.core.builder.mimetype.MimetypeDetectionBuilder;
 import fr.sii.ogham.core.builder.mimetype.SimpleMimetypeDetectionBuilder;
 import fr.sii.ogham.core.builder.registry.CleanableRegistry;
@@ -38,11 +42,16 @@ import fr.sii.ogham.core.builder.resolution.StandaloneResourceResolutionBuilder;
 import fr.sii.ogham.core.clean.Cleanable;
 import fr.sii.ogham.core.exception.MessagingException;
 import fr.sii.ogham.core.exception.builder.BuildException;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.outbox.Outbox;
 import fr.sii.ogham.core.sender.ConditionalSender;
 import fr.sii.ogham.core.service.CleanableMessagingService;
 import fr.sii.ogham.core.service.EverySupportingMessagingService;
 import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.service.MeteredMessagingService;
+import fr.sii.ogham.core.service.OutboxMessagingService;
 import fr.sii.ogham.core.service.WrapExceptionMessagingService;
+import fr.sii.ogham.core.translator.resource.AttachmentResourceTranslator;
 import fr.sii.ogham.core.util.PriorizedList;
 import fr.sii.ogham.email.builder.EmailBuilder;
 import fr.sii.ogham.email.message.Email;
@@ -267,6 +276,10 @@ public class MessagingBuilder implements Builder<MessagingService> {
 	protected StandaloneResourceResolutionBuilder<MessagingBuilder> resourceBuilder;
 	protected EmailBuilder emailBuilder;
 	protected SmsBuilder smsBuilder;
+	protected AsyncBuilder asyncBuilder;
+	protected MetricsBuilder metricsBuilder;
+	protected HttpTransportBuilder httpBuilder;
+	protected OutboxBuilder outboxBuilder;
 	protected final ConfigurationValueBuilderHelper<MessagingBuilder, Boolean> wrapUncaughtValueBuilder;
 
 	/**
@@ -1226,6 +1239,144 @@ public class MessagingBuilder implements Builder<MessagingService> {
 		return smsBuilder;
 	}
 
+	/**
+	 * Configures how messages are sent asynchronously (see
+	 * {@link MessagingService#sendAsync(fr.sii.ogham.core.message.Message)}).
+	 * 
+	 * <p>
+	 * By default, messages are sent asynchronously using a bounded pool of
+	 * threads. The number of threads can be configured:
+	 * 
+	 * <pre>
+	 * <code>
+	 * .async()
+	 *   .threads(20)
+	 * </code>
+	 * </pre>
+	 * 
+	 * <p>
+	 * You can also provide your own executor (an executor using virtual
+	 * threads for example):
+	 * 
+	 * <pre>
+	 * <code>
+	 * .async()
+	 *   .executor(Executors.newVirtualThreadPerTaskExecutor())
+	 * </code>
+	 * </pre>
+	 * 
+	 * <p>
+	 * When a message is sent asynchronously and automatic retry is enabled,
+	 * the retries are scheduled instead of blocking a thread while waiting.
+	 * 
+	 * <p>
+	 * Every time you are configuring {@link #async()}, the same instance is
+	 * used.
+	 * 
+	 * @return the builder to configure asynchronous sending
+	 */
+	public AsyncBuilder async() {
+		if (asyncBuilder == null) {
+			asyncBuilder = new AsyncBuilder(this, buildContext);
+		}
+		return asyncBuilder;
+	}
+
+	/**
+	 * Configures how sending of messages is measured.
+	 * 
+	 * <p>
+	 * Ogham doesn't depend on any metrics library. You have to provide a
+	 * {@link MetricsRecorder} that bridges Ogham to the metrics library of
+	 * your choice:
+	 * 
+	 * <pre>
+	 * <code>
+	 * .metrics()
+	 *   .recorder(new MicrometerMetricsRecorder(meterRegistry))
+	 * </code>
+	 * </pre>
+	 * 
+	 * <p>
+	 * If no recorder is provided or if metrics are disabled (using
+	 * {@code ogham.metrics.enable=false} property for example), nothing is
+	 * instrumented.
+	 * 
+	 * <p>
+	 * Every time you are configuring {@link #metrics()}, the same instance is
+	 * used.
+	 * 
+	 * @return the builder to configure metrics
+	 */
+	public MetricsBuilder metrics() {
+		if (metricsBuilder == null) {
+			metricsBuilder = new MetricsBuilder(this, buildContext);
+		}
+		return metricsBuilder;
+	}
+
+	/**
+	 * Configures the HTTP transport that is shared by all the senders that
+	 * call an HTTP API (OVH, SendGrid...).
+	 * 
+	 * <p>
+	 * The connections are pooled and reused. The number of connections per
+	 * host, the timeouts and the number of pending asynchronous requests are
+	 * bounded:
+	 * 
+	 * <pre>
+	 * <code>
+	 * .http()
+	 *   .maxConnectionsPerRoute(20)
+	 *   .connectTimeout(5000)
+	 *   .readTimeout(30000)
+	 * </code>
+	 * </pre>
+	 * 
+	 * <p>
+	 * Every time you are configuring {@link #http()}, the same instance is
+	 * used.
+	 * 
+	 * @return the builder to configure the HTTP transport
+	 */
+	public HttpTransportBuilder http() {
+		if (httpBuilder == null) {
+			httpBuilder = new HttpTransportBuilder(this, buildContext);
+		}
+		return httpBuilder;
+	}
+
+	/**
+	 * Configures the persistent outbox used to send messages later (see
+	 * {@link MessagingService#enqueue(fr.sii.ogham.core.message.Message)}).
+	 * 
+	 * <p>
+	 * When enabled, enqueued messages are stored in a journal on the file
+	 * system and sent by a pool of workers. Messages that are not sent yet
+	 * survive a restart of the application:
+	 * 
+	 * <pre>
+	 * <code>
+	 * .outbox()
+	 *   .enable(true)
+	 *   .directory("/var/lib/myapp/outbox")
+	 *   .workers(8)
+	 * </code>
+	 * </pre>
+	 * 
+	 * <p>
+	 * Every time you are configuring {@link #outbox()}, the same instance is
+	 * used.
+	 * 
+	 * @return the builder to configure the outbox
+	 */
+	public OutboxBuilder outbox() {
+		if (outboxBuilder == null) {
+			outboxBuilder = new OutboxBuilder(this, buildContext, this::buildOutboxAttachmentTranslator);
+		}
+		return outboxBuilder;
+	}
+
 	/**
 	 * Builds the messaging service. The messaging service relies on the
 	 * generated senders. Each sender is able to manage one or multiple
@@ -1255,14 +1406,29 @@ public class MessagingBuilder implements Builder<MessagingService> {
 		LOG.info("Using service that calls all registered senders");
 		List<ConditionalSender> senders = buildSenders();
 		LOG.debug("Registered senders: {}", senders);
-		MessagingService service = new EverySupportingMessagingService(senders);
+		MessagingService service = new EverySupportingMessagingService(senders, async().build());
 		if (wrapUncaughtValueBuilder.getValue(false)) {
 			service = new WrapExceptionMessagingService(service);
 		}
+		MetricsRecorder metrics = metrics().build();
+		if (metrics.isEnabled()) {
+			service = new MeteredMessagingService(service, metrics);
+		}
+		Outbox outbox = outbox().build();
+		if (outbox != null) {
+			service = new OutboxMessagingService(service, outbox);
+		}
 		service = new CleanableMessagingService(service, cleaner);
 		return service;
 	}
 	
+	private AttachmentResourceTranslator buildOutboxAttachmentTranslator() {
+		if (emailBuilder == null) {
+			return null;
+		}
+		return emailBuilder.attachments().build();
+	}
+
 	protected StandaloneResourceResolutionBuilder<MessagingBuilder> createResourceResolutionBuilder() {
 		return new StandaloneResourceResolutionBuilder<>(this, buildContext);
 	}
@@ -1291,7 +1457,7 @@ public class MessagingBuilder implements Builder<MessagingService> {
 	}
 	
 	protected BuildContext createBuildContext() {
-		return new EnvBuilderBasedContext(environmentBuilder, registry);
+		return new EnvBuilderBasedContext(environmentBuilder, registry, () -> metrics().build(), () -> http().build());
 	}
 
 
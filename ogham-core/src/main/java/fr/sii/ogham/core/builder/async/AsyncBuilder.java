@@ -0,0 +1,344 @@
+package fr.sii.ogham.core.builder.async;
+
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_ASYNC_QUEUE_CAPACITY;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_ASYNC_THREADS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import fr.sii.ogham.core.async.AsyncExecutors;
+import fr.sii.ogham.core.async.DaemonThreadFactory;
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.service.MessagingService;
+
+/**
+ * Configures how messages are sent asynchronously (see
+ * {@link MessagingService#sendAsync(fr.sii.ogham.core.message.Message)}).
+ * 
+ * <p>
+ * By default, messages are sent using a bounded pool of daemon threads (see
+ * {@link #threads(Integer)}) and retries are scheduled using a single timer
+ * thread. Threads are only started when needed. If all threads are busy,
+ * messages wait in a bounded queue (see {@link #queueCapacity(Integer)}). When
+ * the queue is full, the future returned by
+ * {@link MessagingService#sendAsync(fr.sii.ogham.core.message.Message)} is
+ * immediately completed exceptionally with a
+ * {@link RejectedExecutionException}.
+ * 
+ * <p>
+ * The executor used to send messages can be replaced by any {@link Executor}
+ * (see {@link #executor(Executor)}). For example, you can provide an executor
+ * that is managed by your application or an executor that uses virtual threads
+ * if you are using JDK 21+:
+ * 
+ * <pre>
+ * {@code
+ * .async()
+ *   .executor(Executors.newVirtualThreadPerTaskExecutor())
+ * }
+ * </pre>
+ * 
+ * <p>
+ * Executors provided by the application are not shut down by Ogham.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class AsyncBuilder extends AbstractParent<MessagingBuilder> implements Builder<AsyncExecutors> {
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<AsyncBuilder, Integer> threadsValueBuilder;
+	private final ConfigurationValueBuilderHelper<AsyncBuilder, Integer> queueCapacityValueBuilder;
+	private Executor executor;
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link BuildContext} is used to
+	 * evaluate properties when {@link #build()} method is called.
+	 * 
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public AsyncBuilder(MessagingBuilder parent, BuildContext buildContext) {
+		super(parent);
+		this.buildContext = buildContext;
+		this.threadsValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.queueCapacityValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+	}
+
+	/**
+	 * Set the number of threads of the pool that is used to send messages
+	 * asynchronously. The pool is bounded: if all threads are busy, messages
+	 * are queued until a thread is available (see
+	 * {@link #queueCapacity(Integer)}).
+	 * 
+	 * <p>
+	 * This value is not used if a custom executor is provided (see
+	 * {@link #executor(Executor)}).
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #threads()}.
+	 * 
+	 * <pre>
+	 * .threads(20)
+	 * .threads()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(10)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .threads(20)
+	 * .threads()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(10)
+	 * </pre>
+	 * 
+	 * In both cases, {@code threads(20)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param threads
+	 *            the number of threads used to send messages
+	 * @return this instance for fluent chaining
+	 */
+	public AsyncBuilder threads(Integer threads) {
+		threadsValueBuilder.setValue(threads);
+		return this;
+	}
+
+	/**
+	 * Set the number of threads of the pool that is used to send messages
+	 * asynchronously. The pool is bounded: if all threads are busy, messages
+	 * are queued until a thread is available (see
+	 * {@link #queueCapacity(Integer)}).
+	 * 
+	 * <p>
+	 * This value is not used if a custom executor is provided (see
+	 * {@link #executor(Executor)}).
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .threads()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(10)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #threads(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .threads(20)
+	 * .threads()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(10)
+	 * </pre>
+	 * 
+	 * The value {@code 20} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<AsyncBuilder, Integer> threads() {
+		return threadsValueBuilder;
+	}
+
+	/**
+	 * Set the maximum number of messages waiting for a thread of the pool
+	 * that is used to send messages asynchronously. When the limit is
+	 * reached, new messages are rejected immediately: the future returned by
+	 * {@link MessagingService#sendAsync(fr.sii.ogham.core.message.Message)} is
+	 * completed exceptionally with a {@link RejectedExecutionException}.
+	 * 
+	 * <p>
+	 * This value is not used if a custom executor is provided (see
+	 * {@link #executor(Executor)}).
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #queueCapacity()}.
+	 * 
+	 * <pre>
+	 * .queueCapacity(5000)
+	 * .queueCapacity()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .queueCapacity(5000)
+	 * .queueCapacity()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 * 
+	 * In both cases, {@code queueCapacity(5000)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param queueCapacity
+	 *            the maximum number of messages waiting for a thread
+	 * @return this instance for fluent chaining
+	 */
+	public AsyncBuilder queueCapacity(Integer queueCapacity) {
+		queueCapacityValueBuilder.setValue(queueCapacity);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of messages waiting for a thread of the pool
+	 * that is used to send messages asynchronously. When the limit is
+	 * reached, new messages are rejected immediately: the future returned by
+	 * {@link MessagingService#sendAsync(fr.sii.ogham.core.message.Message)} is
+	 * completed exceptionally with a {@link RejectedExecutionException}.
+	 * 
+	 * <p>
+	 * This value is not used if a custom executor is provided (see
+	 * {@link #executor(Executor)}).
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .queueCapacity()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #queueCapacity(Integer)} takes
+	 * precedence over property values and default value.
+	 * 
+	 * <pre>
+	 * .queueCapacity(5000)
+	 * .queueCapacity()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 * 
+	 * The value {@code 5000} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<AsyncBuilder, Integer> queueCapacity() {
+		return queueCapacityValueBuilder;
+	}
+
+	/**
+	 * Use a custom executor to send messages asynchronously instead of the
+	 * default bounded thread pool.
+	 * 
+	 * <p>
+	 * The executor is managed by the application: it is not shut down by
+	 * Ogham.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If you call with {@code null}, the default thread pool is used.
+	 * 
+	 * @param executor
+	 *            the executor to use
+	 * @return this instance for fluent chaining
+	 */
+	public AsyncBuilder executor(Executor executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Use a custom scheduler to trigger delayed actions (retries for example)
+	 * instead of the default single thread scheduler.
+	 * 
+	 * <p>
+	 * The scheduler is only used as a timer: the delayed actions are executed
+	 * using the executor (see {@link #executor(Executor)}).
+	 * 
+	 * <p>
+	 * The scheduler is managed by the application: it is not shut down by
+	 * Ogham.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If you call with {@code null}, the default scheduler is used.
+	 * 
+	 * @param scheduler
+	 *            the scheduler to use
+	 * @return this instance for fluent chaining
+	 */
+	public AsyncBuilder scheduler(ScheduledExecutorService scheduler) {
+		this.scheduler = scheduler;
+		return this;
+	}
+
+	@Override
+	public AsyncExecutors build() {
+		List<ExecutorService> owned = new ArrayList<>();
+		Executor builtExecutor = executor;
+		if (builtExecutor == null) {
+			int threads = threadsValueBuilder.getValue(DEFAULT_ASYNC_THREADS);
+			int queueCapacity = queueCapacityValueBuilder.getValue(DEFAULT_ASYNC_QUEUE_CAPACITY);
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity), new DaemonThreadFactory("ogham-async-"));
+			pool.allowCoreThreadTimeOut(true);
+			owned.add(pool);
+			builtExecutor = pool;
+		}
+		ScheduledExecutorService builtScheduler = scheduler;
+		if (builtScheduler == null) {
+			ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("ogham-async-scheduler-"));
+			timer.setRemoveOnCancelPolicy(true);
+			owned.add(timer);
+			builtScheduler = timer;
+		}
+		return buildContext.register(new AsyncExecutors(builtExecutor, builtScheduler, owned));
+	}
+}
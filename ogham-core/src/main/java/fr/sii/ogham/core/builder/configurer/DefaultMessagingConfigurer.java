@@ -1,8 +1,38 @@
 package fr.sii.ogham.core.builder.configurer;
 
 import static fr.sii.ogham.core.CoreConstants.CLASSPATH_LOOKUPS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_ASYNC_QUEUE_CAPACITY;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_ASYNC_THREADS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_CSS_INLINING_COMPILED_RULES;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_ASYNC_QUEUE_CAPACITY;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_ASYNC_THREADS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_CONNECT_TIMEOUT;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_KEEP_ALIVE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_MAX_CONNECTIONS_TOTAL;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_READ_TIMEOUT;
 import static fr.sii.ogham.core.CoreConstants.DEFAULT_MESSAGING_CONFIGURER_PRIORITY;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_METRICS_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_MIMETYPE_CACHE_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_MIMETYPE_CACHE_MAX_SIZE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_DIRECTORY;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_MAX_ATTEMPTS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_RETRY_DELAY;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_SEGMENT_SIZE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_WORKERS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_PARALLEL_RENDERING_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_PARALLEL_RENDERING_THREADS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_RESOURCE_CACHE_CHECK_MODIFICATIONS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_RESOURCE_CACHE_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_RESOURCE_CACHE_MAX_SIZE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_RESOURCE_CACHE_MAX_WEIGHT;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_TEMPLATE_CACHE_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_TEMPLATE_CACHE_MAX_SIZE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_TEMPLATE_CACHE_TIME_TO_LIVE;
 import static fr.sii.ogham.core.CoreConstants.FILE_LOOKUPS;
+import static fr.sii.ogham.core.CoreConstants.MIMETYPE_DETECTION_HEAD_SIZE;
 import static fr.sii.ogham.core.CoreConstants.STRING_LOOKUPS;
 import static fr.sii.ogham.core.builder.configuration.MayOverride.overrideIfNotSet;
 import static fr.sii.ogham.core.builder.configurer.SendMessageRetryablePredicates.canResendMessage;
@@ -18,9 +48,11 @@ import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.builder.MessagingBuilder;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.builder.mimetype.MimetypeCacheBuilder;
 import fr.sii.ogham.core.builder.mimetype.MimetypeDetectionBuilder;
 import fr.sii.ogham.core.builder.mimetype.TikaBuilder;
 import fr.sii.ogham.core.builder.resolution.ResourceResolutionBuilder;
+import fr.sii.ogham.core.builder.template.TemplateCacheBuilder;
 import fr.sii.ogham.core.convert.DefaultConverter;
 import fr.sii.ogham.core.exception.MessagingException;
 import fr.sii.ogham.core.service.MessagingService;
@@ -29,6 +61,8 @@ import fr.sii.ogham.email.builder.AutofillSubjectBuilder;
 import fr.sii.ogham.email.builder.CssInliningBuilder;
 import fr.sii.ogham.email.builder.EmailBuilder;
 import fr.sii.ogham.email.builder.ImageInliningBuilder;
+import fr.sii.ogham.email.builder.ParallelRenderingBuilder;
+import fr.sii.ogham.email.builder.ResourceCacheBuilder;
 import fr.sii.ogham.email.message.Email;
 import fr.sii.ogham.sms.builder.AutofillSmsBuilder;
 import fr.sii.ogham.sms.builder.RecipientNumberFormatBuilder;
@@ -51,6 +85,22 @@ import fr.sii.ogham.sms.message.Sms;
  * <ul>
  * <li>The {@link MessagingService} will catch all uncaught exception (even
  * runtime) in order to wrap them in a {@link MessagingException}.</li>
+ * <li>Messages sent asynchronously use a pool of threads. The number of
+ * threads is configured using {@code ogham.async.threads} property (10 by
+ * default). The maximum number of messages waiting for a thread is configured
+ * using {@code ogham.async.queue-capacity} property (1000 by default)</li>
+ * <li>If a metrics recorder is provided, metrics can be disabled using
+ * {@code ogham.metrics.enable} property (enabled by default)</li>
+ * <li>The senders that call an HTTP API share a pool of connections. The pool
+ * is configured using {@code ogham.http.*} properties
+ * ({@code max-connections-per-route}, {@code max-connections-total},
+ * {@code connect-timeout}, {@code read-timeout},
+ * {@code connection-request-timeout}, {@code keep-alive},
+ * {@code async.threads} and {@code async.queue-capacity})</li>
+ * <li>The persistent outbox is configured using {@code ogham.outbox.*}
+ * properties ({@code enable} (false by default), {@code directory},
+ * {@code segment-size}, {@code workers}, {@code max-attempts} and
+ * {@code retry-delay})</li>
  * <li>General environment configuration:
  * <ul>
  * <li>System properties with</li>
@@ -94,9 +144,19 @@ import fr.sii.ogham.sms.message.Sms;
  * property {@code ogham.email.bcc.default-value} is defined (see
  * {@link AutofillDefaultEmailAddressBuilder})</li>
  * <li>Automatically inline CSS styles in the HTML templates (see
- * {@link CssInliningBuilder})</li>
+ * {@link CssInliningBuilder}). Stylesheets are compiled once if property
+ * {@code ogham.email.css-inlining.compiled-rules} is true</li>
  * <li>Automatically inline images in the email either by attaching them or by
  * converting them into base64 (see {@link ImageInliningBuilder})</li>
+ * <li>Cache template resolution (see {@link TemplateCacheBuilder}). Caching
+ * can be configured using properties {@code ogham.email.template.cache.*}
+ * (or {@code ogham.template.cache.*} for both email and SMS)</li>
+ * <li>Render variants (HTML and text for example) concurrently if property
+ * {@code ogham.email.parallel-rendering.enable} is true (see
+ * {@link ParallelRenderingBuilder})</li>
+ * <li>Cache inlined CSS files and images (see {@link ResourceCacheBuilder}).
+ * Caching can be configured using properties
+ * {@code ogham.email.resource-cache.*}</li>
  * </ul>
  * </li>
  * <li>Configure common SMS behaviors:
@@ -109,6 +169,9 @@ import fr.sii.ogham.sms.message.Sms;
  * {@link AutofillSmsBuilder})</li>
  * <li>Configure phone number formats (see {@link SenderNumberFormatBuilder} and
  * {@link RecipientNumberFormatBuilder})</li>
+ * <li>Cache template resolution (see {@link TemplateCacheBuilder}). Caching
+ * can be configured using properties {@code ogham.sms.template.cache.*} (or
+ * {@code ogham.template.cache.*} for both email and SMS)</li>
  * </ul>
  * </li>
  * <li>Mimetype detection configuration:
@@ -118,6 +181,10 @@ import fr.sii.ogham.sms.message.Sms;
  * detected the mimetype (see {@link MimetypeDetectionBuilder})</li>
  * <li>Uses {@code application/octet-stream} if neither Tika has detected
  * mimetype nor default property value has been set</li>
+ * <li>Caches detected mimetypes (see {@link MimetypeCacheBuilder}). Caching
+ * can be configured using properties {@code ogham.mimetype.cache.*}</li>
+ * <li>Reads at most {@code ogham.mimetype.head-size} bytes of a stream to
+ * detect its mimetype</li>
  * </ul>
  * </ul>
  * 
@@ -149,6 +216,30 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 		LOG.debug("[{}] apply configuration", this);
 		super.configure(builder);
 		builder.wrapUncaught().properties("${ogham.wrap-uncaught-exceptions.enable}").defaultValue(overrideIfNotSet(true));
+		// @formatter:off
+		builder.async()
+			.threads().properties("${ogham.async.threads}").defaultValue(overrideIfNotSet(DEFAULT_ASYNC_THREADS)).and()
+			.queueCapacity().properties("${ogham.async.queue-capacity}").defaultValue(overrideIfNotSet(DEFAULT_ASYNC_QUEUE_CAPACITY));
+		// @formatter:on
+		builder.metrics().enable().properties("${ogham.metrics.enable}").defaultValue(overrideIfNotSet(DEFAULT_METRICS_ENABLE));
+		// @formatter:off
+		builder.http()
+			.maxConnectionsPerRoute().properties("${ogham.http.max-connections-per-route}").defaultValue(overrideIfNotSet(DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE)).and()
+			.maxConnectionsTotal().properties("${ogham.http.max-connections-total}").defaultValue(overrideIfNotSet(DEFAULT_HTTP_MAX_CONNECTIONS_TOTAL)).and()
+			.connectTimeout().properties("${ogham.http.connect-timeout}").defaultValue(overrideIfNotSet(DEFAULT_HTTP_CONNECT_TIMEOUT)).and()
+			.readTimeout().properties("${ogham.http.read-timeout}").defaultValue(overrideIfNotSet(DEFAULT_HTTP_READ_TIMEOUT)).and()
+			.connectionRequestTimeout().properties("${ogham.http.connection-request-timeout}").defaultValue(overrideIfNotSet(DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT)).and()
+			.keepAlive().properties("${ogham.http.keep-alive}").defaultValue(overrideIfNotSet(DEFAULT_HTTP_KEEP_ALIVE)).and()
+			.asyncThreads().properties("${ogham.http.async.threads}").defaultValue(overrideIfNotSet(DEFAULT_HTTP_ASYNC_THREADS)).and()
+			.asyncQueueCapacity().properties("${ogham.http.async.queue-capacity}").defaultValue(overrideIfNotSet(DEFAULT_HTTP_ASYNC_QUEUE_CAPACITY));
+		builder.outbox()
+			.enable().properties("${ogham.outbox.enable}").defaultValue(overrideIfNotSet(DEFAULT_OUTBOX_ENABLE)).and()
+			.directory().properties("${ogham.outbox.directory}").defaultValue(overrideIfNotSet(DEFAULT_OUTBOX_DIRECTORY)).and()
+			.segmentSize().properties("${ogham.outbox.segment-size}").defaultValue(overrideIfNotSet(DEFAULT_OUTBOX_SEGMENT_SIZE)).and()
+			.workers().properties("${ogham.outbox.workers}").defaultValue(overrideIfNotSet(DEFAULT_OUTBOX_WORKERS)).and()
+			.maxAttempts().properties("${ogham.outbox.max-attempts}").defaultValue(overrideIfNotSet(DEFAULT_OUTBOX_MAX_ATTEMPTS)).and()
+			.retryDelay().properties("${ogham.outbox.retry-delay}").defaultValue(overrideIfNotSet(DEFAULT_OUTBOX_RETRY_DELAY));
+		// @formatter:on
 	}
 
 	@Override
@@ -215,6 +306,7 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 			.css()
 				.inline()
 					.jsoup()
+					.compiledRules().properties("${ogham.email.css-inlining.compiled-rules}").defaultValue(overrideIfNotSet(DEFAULT_CSS_INLINING_COMPILED_RULES)).and()
 					.and()
 				.and()
 			.images()
@@ -229,6 +321,21 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 				.and()
 			.failIfMissingVariant().defaultValue(overrideIfNotSet(true)).and()
 			.listPossiblePaths().defaultValue(overrideIfNotSet(true)).and()
+			.templateCache()
+				.enable().properties("${ogham.email.template.cache.enable}", "${ogham.template.cache.enable}").defaultValue(overrideIfNotSet(DEFAULT_TEMPLATE_CACHE_ENABLE)).and()
+				.timeToLive().properties("${ogham.email.template.cache.time-to-live}", "${ogham.template.cache.time-to-live}").defaultValue(overrideIfNotSet(DEFAULT_TEMPLATE_CACHE_TIME_TO_LIVE)).and()
+				.maxSize().properties("${ogham.email.template.cache.max-size}", "${ogham.template.cache.max-size}").defaultValue(overrideIfNotSet(DEFAULT_TEMPLATE_CACHE_MAX_SIZE)).and()
+				.and()
+			.parallelRendering()
+				.enable().properties("${ogham.email.parallel-rendering.enable}").defaultValue(overrideIfNotSet(DEFAULT_PARALLEL_RENDERING_ENABLE)).and()
+				.threads().properties("${ogham.email.parallel-rendering.threads}").defaultValue(overrideIfNotSet(DEFAULT_PARALLEL_RENDERING_THREADS)).and()
+				.and()
+			.resourceCache()
+				.enable().properties("${ogham.email.resource-cache.enable}").defaultValue(overrideIfNotSet(DEFAULT_RESOURCE_CACHE_ENABLE)).and()
+				.maxSize().properties("${ogham.email.resource-cache.max-size}").defaultValue(overrideIfNotSet(DEFAULT_RESOURCE_CACHE_MAX_SIZE)).and()
+				.maxWeight().properties("${ogham.email.resource-cache.max-weight}").defaultValue(overrideIfNotSet(DEFAULT_RESOURCE_CACHE_MAX_WEIGHT)).and()
+				.checkModifications().properties("${ogham.email.resource-cache.check-modifications}").defaultValue(overrideIfNotSet(DEFAULT_RESOURCE_CACHE_CHECK_MODIFICATIONS)).and()
+				.and()
 			.autoRetry()
 				.fixedDelay()
 					.maxRetries().properties("${ogham.email.send-retry.max-attempts}").and()
@@ -237,6 +344,8 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 				.exponentialDelay()
 					.maxRetries().properties("${ogham.email.send-retry.max-attempts}").and()
 					.initialDelay().properties("${ogham.email.send-retry.exponential-initial-delay}").and()
+					.maxDelay().properties("${ogham.email.send-retry.exponential-max-delay}").and()
+					.jitter().properties("${ogham.email.send-retry.exponential-jitter}").and()
 					.and()
 				.perExecutionDelay()
 					.maxRetries().properties("${ogham.email.send-retry.max-attempts}").and()
@@ -246,6 +355,10 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 					.maxRetries().properties("${ogham.email.send-retry.max-attempts}").and()
 					.interval().properties("${ogham.email.send-retry.execution-interval}").and()
 					.and()
+				.budget()
+					.capacity().properties("${ogham.email.send-retry.budget.capacity}").and()
+					.refillRate().properties("${ogham.email.send-retry.budget.refill-rate}").and()
+					.and()
 				.retryable(canResendMessage());
 		// @formatter:on
 	}
@@ -276,6 +389,11 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 						.and()
 					.and()
 				.and()
+			.templateCache()
+				.enable().properties("${ogham.sms.template.cache.enable}", "${ogham.template.cache.enable}").defaultValue(overrideIfNotSet(DEFAULT_TEMPLATE_CACHE_ENABLE)).and()
+				.timeToLive().properties("${ogham.sms.template.cache.time-to-live}", "${ogham.template.cache.time-to-live}").defaultValue(overrideIfNotSet(DEFAULT_TEMPLATE_CACHE_TIME_TO_LIVE)).and()
+				.maxSize().properties("${ogham.sms.template.cache.max-size}", "${ogham.template.cache.max-size}").defaultValue(overrideIfNotSet(DEFAULT_TEMPLATE_CACHE_MAX_SIZE)).and()
+				.and()
 			.autoRetry()
 				.fixedDelay()
 					.maxRetries().properties("${ogham.sms.send-retry.max-attempts}").and()
@@ -284,6 +402,8 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 				.exponentialDelay()
 					.maxRetries().properties("${ogham.sms.send-retry.max-attempts}").and()
 					.initialDelay().properties("${ogham.sms.send-retry.exponential-initial-delay}").and()
+					.maxDelay().properties("${ogham.sms.send-retry.exponential-max-delay}").and()
+					.jitter().properties("${ogham.sms.send-retry.exponential-jitter}").and()
 					.and()
 				.perExecutionDelay()
 					.maxRetries().properties("${ogham.sms.send-retry.max-attempts}").and()
@@ -293,6 +413,10 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 					.maxRetries().properties("${ogham.sms.send-retry.max-attempts}").and()
 					.interval().properties("${ogham.sms.send-retry.execution-interval}").and()
 					.and()
+				.budget()
+					.capacity().properties("${ogham.sms.send-retry.budget.capacity}").and()
+					.refillRate().properties("${ogham.sms.send-retry.budget.refill-rate}").and()
+					.and()
 				.retryable(canResendMessage());
 		// @formatter:on
 	}
@@ -305,7 +429,11 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 				.instance(new Tika())
 				.failIfOctetStream().properties("${ogham.mimetype.tika.fail-if-octet-stream}").defaultValue(overrideIfNotSet(true)).and()
 				.and()
-			.defaultMimetype().properties("${ogham.mimetype.default-mimetype}").defaultValue(overrideIfNotSet("application/octet-stream"));
+			.defaultMimetype().properties("${ogham.mimetype.default-mimetype}").defaultValue(overrideIfNotSet("application/octet-stream")).and()
+			.headSize().properties("${ogham.mimetype.head-size}").defaultValue(overrideIfNotSet(MIMETYPE_DETECTION_HEAD_SIZE)).and()
+			.cache()
+				.enable().properties("${ogham.mimetype.cache.enable}").defaultValue(overrideIfNotSet(DEFAULT_MIMETYPE_CACHE_ENABLE)).and()
+				.maxSize().properties("${ogham.mimetype.cache.max-size}").defaultValue(overrideIfNotSet(DEFAULT_MIMETYPE_CACHE_MAX_SIZE));
 		// @formatter:on
 	}
 
@@ -316,7 +444,11 @@ public class DefaultMessagingConfigurer extends MessagingConfigurerAdapter {
 				.instance(new Tika())
 				.failIfOctetStream().defaultValue(overrideIfNotSet(true)).and()
 				.and()
-			.allowed().properties("${ogham.email.image-inlining.mimetype.allowed-mimetypes}").defaultValue(overrideIfNotSet(new String[] { "image/*" }));
+			.allowed().properties("${ogham.email.image-inlining.mimetype.allowed-mimetypes}").defaultValue(overrideIfNotSet(new String[] { "image/*" })).and()
+			.headSize().properties("${ogham.mimetype.head-size}").defaultValue(overrideIfNotSet(MIMETYPE_DETECTION_HEAD_SIZE)).and()
+			.cache()
+				.enable().properties("${ogham.mimetype.cache.enable}").defaultValue(overrideIfNotSet(DEFAULT_MIMETYPE_CACHE_ENABLE)).and()
+				.maxSize().properties("${ogham.mimetype.cache.max-size}").defaultValue(overrideIfNotSet(DEFAULT_MIMETYPE_CACHE_MAX_SIZE));
 		// @formatter:on
 	}
 	
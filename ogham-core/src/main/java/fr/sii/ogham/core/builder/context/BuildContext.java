@@ -7,6 +7,8 @@ import fr.sii.ogham.core.builder.Builder;
 import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
 import fr.sii.ogham.core.convert.Converter;
 import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.http.HttpTransport;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
 
 /**
  * Context that is shared between {@link Builder}s.
@@ -19,6 +21,7 @@ import fr.sii.ogham.core.env.PropertyResolver;
  * property evaluation)</li>
  * <li>Access to converter (that is also used for property evaluation)</li>
  * <li>Register created instances in a registry</li>
+ * <li>Access to the recorder used to instrument created instances</li>
  * </ul>
  * 
  * @author Aurélien Baudet
@@ -115,4 +118,27 @@ public interface BuildContext {
 	 * @return the {@link ConfigurationValueBuilder} instance
 	 */
 	<P, V, T extends ConfigurationValueBuilder<P, V>> T newConfigurationValueBuilder(Function<BuildContext, T> factory);
+
+	/**
+	 * Get the {@link MetricsRecorder} used to instrument the instances created
+	 * by builders.
+	 * 
+	 * <p>
+	 * Builders must check {@link MetricsRecorder#isEnabled()} before adding
+	 * any instrumentation.
+	 * 
+	 * @return the metrics recorder
+	 */
+	MetricsRecorder getMetricsRecorder();
+
+	/**
+	 * Get the {@link HttpTransport} used by the senders that call an HTTP API.
+	 * 
+	 * <p>
+	 * The same instance is returned for every call in order to share the pool
+	 * of connections between all the senders.
+	 * 
+	 * @return the shared HTTP transport
+	 */
+	HttpTransport getHttpTransport();
 }
@@ -6,15 +6,20 @@ import java.util.function.Function;
 
 import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
 import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.http.HttpTransportBuilder;
 import fr.sii.ogham.core.convert.Converter;
 import fr.sii.ogham.core.convert.DefaultConverter;
 import fr.sii.ogham.core.env.JavaPropertiesResolver;
 import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.http.HttpTransport;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
 import fr.sii.ogham.core.util.BuilderUtils;
 
 /**
  * Simple build context that uses a default {@link PropertyResolver} and a
- * default {@link Converter}.
+ * default {@link Converter}. No metrics are recorded. The default
+ * {@link HttpTransport} is used.
  * 
  * <p>
  * <strong>WARNING: don't use it, this is for for advanced usage only
@@ -27,6 +32,7 @@ import fr.sii.ogham.core.util.BuilderUtils;
 public class DefaultBuildContext implements BuildContext {
 	private final PropertyResolver propertyResolver;
 	private final Converter converter;
+	private HttpTransport httpTransport;
 
 	public DefaultBuildContext() {
 		this(new Properties());
@@ -69,4 +75,16 @@ public class DefaultBuildContext implements BuildContext {
 		return factory.apply(this);
 	}
 
+	@Override
+	public MetricsRecorder getMetricsRecorder() {
+		return new NoMetricsRecorder();
+	}
+
+	@Override
+	public synchronized HttpTransport getHttpTransport() {
+		if (httpTransport == null) {
+			httpTransport = new HttpTransportBuilder(null, this).build();
+		}
+		return httpTransport;
+	}
 }
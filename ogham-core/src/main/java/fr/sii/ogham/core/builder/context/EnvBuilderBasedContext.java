@@ -3,12 +3,17 @@ package fr.sii.ogham.core.builder.context;
 import java.util.List;
 import java.util.function.Function;
 
+import fr.sii.ogham.core.builder.Builder;
 import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
 import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.builder.http.HttpTransportBuilder;
 import fr.sii.ogham.core.builder.registry.Registry;
 import fr.sii.ogham.core.convert.Converter;
 import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.http.HttpTransport;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
 import fr.sii.ogham.core.util.BuilderUtils;
 
 /**
@@ -20,17 +25,40 @@ import fr.sii.ogham.core.util.BuilderUtils;
  * This implementation delegates registration of instances to the provided
  * registry. Any instance may be registered.
  * 
+ * <p>
+ * The {@link MetricsRecorder} is built by the provided builder when requested
+ * (so the configuration of the metrics can be done after the creation of this
+ * context). If no builder is provided, no metrics are recorded.
+ * 
+ * <p>
+ * The {@link HttpTransport} is also built when requested for the first time
+ * and then shared by all the senders. If no builder is provided, the default
+ * transport is used.
+ * 
  * @author Aurélien Baudet
  *
  */
 public class EnvBuilderBasedContext implements BuildContext {
 	private final EnvironmentBuilder<?> environmentBuilder;
 	private final Registry<Object> registry;
+	private final Builder<MetricsRecorder> metricsBuilder;
+	private final Builder<HttpTransport> httpTransportBuilder;
+	private HttpTransport httpTransport;
 
 	public EnvBuilderBasedContext(EnvironmentBuilder<?> environmentBuilder, Registry<Object> registry) {
+		this(environmentBuilder, registry, NoMetricsRecorder::new);
+	}
+
+	public EnvBuilderBasedContext(EnvironmentBuilder<?> environmentBuilder, Registry<Object> registry, Builder<MetricsRecorder> metricsBuilder) {
+		this(environmentBuilder, registry, metricsBuilder, null);
+	}
+
+	public EnvBuilderBasedContext(EnvironmentBuilder<?> environmentBuilder, Registry<Object> registry, Builder<MetricsRecorder> metricsBuilder, Builder<HttpTransport> httpTransportBuilder) {
 		super();
 		this.environmentBuilder = environmentBuilder;
 		this.registry = registry;
+		this.metricsBuilder = metricsBuilder;
+		this.httpTransportBuilder = httpTransportBuilder;
 	}
 
 	@Override
@@ -64,4 +92,18 @@ public class EnvBuilderBasedContext implements BuildContext {
 	public <P, V, T extends ConfigurationValueBuilder<P, V>> T newConfigurationValueBuilder(Function<BuildContext, T> factory) {
 		return factory.apply(this);
 	}
+
+	@Override
+	public MetricsRecorder getMetricsRecorder() {
+		return metricsBuilder.build();
+	}
+
+	@Override
+	public synchronized HttpTransport getHttpTransport() {
+		if (httpTransport == null) {
+			Builder<HttpTransport> builder = httpTransportBuilder == null ? new HttpTransportBuilder(null, this) : httpTransportBuilder;
+			httpTransport = builder.build();
+		}
+		return httpTransport;
+	}
 }
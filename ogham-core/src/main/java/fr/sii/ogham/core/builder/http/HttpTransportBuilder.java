@@ -0,0 +1,574 @@
+package fr.sii.ogham.core.builder.http;
+
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_ASYNC_QUEUE_CAPACITY;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_ASYNC_THREADS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_CONNECT_TIMEOUT;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_KEEP_ALIVE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_MAX_CONNECTIONS_TOTAL;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_HTTP_READ_TIMEOUT;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.http.HttpTransport;
+import fr.sii.ogham.core.http.HttpTransportOptions;
+import fr.sii.ogham.core.http.apache.ApacheHttpTransport;
+
+/**
+ * Configures the {@link HttpTransport} that is shared by all the senders
+ * that call an HTTP API (OVH, SendGrid...).
+ * 
+ * <p>
+ * The connections are pooled and reused. Both the number of connections per
+ * host and the time to wait are bounded, so that threads don't pile up when
+ * the provider is slow:
+ * <ul>
+ * <li>The maximum number of connections per host and for all hosts</li>
+ * <li>The connect and read timeouts</li>
+ * <li>The maximum time to wait for a free connection in the pool</li>
+ * <li>The time an idle connection is kept alive to be reused</li>
+ * <li>The number of threads and the maximum number of pending requests for
+ * asynchronous execution</li>
+ * </ul>
+ * 
+ * <p>
+ * You can also provide your own {@link HttpTransport} implementation (see
+ * {@link #transport(HttpTransport)}).
+ * 
+ * <p>
+ * The default implementation relies on Apache HttpClient, which is provided
+ * by the modules that need it.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class HttpTransportBuilder extends AbstractParent<MessagingBuilder> implements Builder<HttpTransport> {
+	private static final Logger LOG = LoggerFactory.getLogger(HttpTransportBuilder.class);
+
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<HttpTransportBuilder, Integer> maxConnectionsPerRouteValueBuilder;
+	private final ConfigurationValueBuilderHelper<HttpTransportBuilder, Integer> maxConnectionsTotalValueBuilder;
+	private final ConfigurationValueBuilderHelper<HttpTransportBuilder, Integer> connectTimeoutValueBuilder;
+	private final ConfigurationValueBuilderHelper<HttpTransportBuilder, Integer> readTimeoutValueBuilder;
+	private final ConfigurationValueBuilderHelper<HttpTransportBuilder, Integer> connectionRequestTimeoutValueBuilder;
+	private final ConfigurationValueBuilderHelper<HttpTransportBuilder, Long> keepAliveValueBuilder;
+	private final ConfigurationValueBuilderHelper<HttpTransportBuilder, Integer> asyncThreadsValueBuilder;
+	private final ConfigurationValueBuilderHelper<HttpTransportBuilder, Integer> asyncQueueCapacityValueBuilder;
+	private HttpTransport transport;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link BuildContext} is used to
+	 * evaluate properties when {@link #build()} method is called.
+	 * 
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public HttpTransportBuilder(MessagingBuilder parent, BuildContext buildContext) {
+		super(parent);
+		this.buildContext = buildContext;
+		this.maxConnectionsPerRouteValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.maxConnectionsTotalValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.connectTimeoutValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.readTimeoutValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.connectionRequestTimeoutValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.keepAliveValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
+		this.asyncThreadsValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.asyncQueueCapacityValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+	}
+
+	/**
+	 * Set the maximum number of connections opened to the same host. When all
+	 * connections are in use, requests to this host wait for a free connection
+	 * (see {@link #connectionRequestTimeout(Integer)}).
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxConnectionsPerRoute()}.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param maxConnectionsPerRoute
+	 *            the maximum number of connections opened to the same host
+	 * @return this instance for fluent chaining
+	 */
+	public HttpTransportBuilder maxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+		maxConnectionsPerRouteValueBuilder.setValue(maxConnectionsPerRoute);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of connections opened to the same host. When all
+	 * connections are in use, requests to this host wait for a free connection
+	 * (see {@link #connectionRequestTimeout(Integer)}).
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .maxConnectionsPerRoute()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(20)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #maxConnectionsPerRoute(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<HttpTransportBuilder, Integer> maxConnectionsPerRoute() {
+		return maxConnectionsPerRouteValueBuilder;
+	}
+
+	/**
+	 * Set the maximum number of connections opened for all hosts.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxConnectionsTotal()}.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param maxConnectionsTotal
+	 *            the maximum number of connections for all hosts
+	 * @return this instance for fluent chaining
+	 */
+	public HttpTransportBuilder maxConnectionsTotal(Integer maxConnectionsTotal) {
+		maxConnectionsTotalValueBuilder.setValue(maxConnectionsTotal);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of connections opened for all hosts.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .maxConnectionsTotal()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(50)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #maxConnectionsTotal(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<HttpTransportBuilder, Integer> maxConnectionsTotal() {
+		return maxConnectionsTotalValueBuilder;
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to establish a connection.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #connectTimeout()}.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param connectTimeout
+	 *            the maximum time (in milliseconds) to establish a connection
+	 * @return this instance for fluent chaining
+	 */
+	public HttpTransportBuilder connectTimeout(Integer connectTimeout) {
+		connectTimeoutValueBuilder.setValue(connectTimeout);
+		return this;
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to establish a connection.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .connectTimeout()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(5000)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #connectTimeout(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<HttpTransportBuilder, Integer> connectTimeout() {
+		return connectTimeoutValueBuilder;
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to wait for data once the connection
+	 * is established.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #readTimeout()}.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param readTimeout
+	 *            the maximum time (in milliseconds) to wait for data
+	 * @return this instance for fluent chaining
+	 */
+	public HttpTransportBuilder readTimeout(Integer readTimeout) {
+		readTimeoutValueBuilder.setValue(readTimeout);
+		return this;
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to wait for data once the connection
+	 * is established.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .readTimeout()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #readTimeout(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<HttpTransportBuilder, Integer> readTimeout() {
+		return readTimeoutValueBuilder;
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to wait for a free connection in the
+	 * pool. This bounds the time a thread is blocked when the server is slow and
+	 * all connections are in use.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #connectionRequestTimeout()}.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param connectionRequestTimeout
+	 *            the maximum time (in milliseconds) to wait for a free connection
+	 * @return this instance for fluent chaining
+	 */
+	public HttpTransportBuilder connectionRequestTimeout(Integer connectionRequestTimeout) {
+		connectionRequestTimeoutValueBuilder.setValue(connectionRequestTimeout);
+		return this;
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) to wait for a free connection in the
+	 * pool. This bounds the time a thread is blocked when the server is slow and
+	 * all connections are in use.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .connectionRequestTimeout()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(10000)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #connectionRequestTimeout(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<HttpTransportBuilder, Integer> connectionRequestTimeout() {
+		return connectionRequestTimeoutValueBuilder;
+	}
+
+	/**
+	 * Set the time (in milliseconds) an idle connection is kept alive to be
+	 * reused. If the server indicates a shorter duration, the duration of the
+	 * server is used.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #keepAlive()}.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param keepAlive
+	 *            the time (in milliseconds) an idle connection is kept alive
+	 * @return this instance for fluent chaining
+	 */
+	public HttpTransportBuilder keepAlive(Long keepAlive) {
+		keepAliveValueBuilder.setValue(keepAlive);
+		return this;
+	}
+
+	/**
+	 * Set the time (in milliseconds) an idle connection is kept alive to be
+	 * reused. If the server indicates a shorter duration, the duration of the
+	 * server is used.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .keepAlive()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000L)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #keepAlive(Long)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<HttpTransportBuilder, Long> keepAlive() {
+		return keepAliveValueBuilder;
+	}
+
+	/**
+	 * Set the number of threads used to execute requests asynchronously.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #asyncThreads()}.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param asyncThreads
+	 *            the number of threads used to execute requests asynchronously
+	 * @return this instance for fluent chaining
+	 */
+	public HttpTransportBuilder asyncThreads(Integer asyncThreads) {
+		asyncThreadsValueBuilder.setValue(asyncThreads);
+		return this;
+	}
+
+	/**
+	 * Set the number of threads used to execute requests asynchronously.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .asyncThreads()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(20)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #asyncThreads(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<HttpTransportBuilder, Integer> asyncThreads() {
+		return asyncThreadsValueBuilder;
+	}
+
+	/**
+	 * Set the maximum number of asynchronous requests waiting for a thread. When
+	 * the queue is full, new asynchronous requests are rejected immediately.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #asyncQueueCapacity()}.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param asyncQueueCapacity
+	 *            the maximum number of asynchronous requests waiting for a thread
+	 * @return this instance for fluent chaining
+	 */
+	public HttpTransportBuilder asyncQueueCapacity(Integer asyncQueueCapacity) {
+		asyncQueueCapacityValueBuilder.setValue(asyncQueueCapacity);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of asynchronous requests waiting for a thread. When
+	 * the queue is full, new asynchronous requests are rejected immediately.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .asyncQueueCapacity()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #asyncQueueCapacity(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<HttpTransportBuilder, Integer> asyncQueueCapacity() {
+		return asyncQueueCapacityValueBuilder;
+	}
+
+	/**
+	 * Use a custom {@link HttpTransport} instead of the default one. All the
+	 * other options are then ignored.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If you call with {@code null}, the default implementation is used.
+	 * 
+	 * @param transport
+	 *            the transport to use
+	 * @return this instance for fluent chaining
+	 */
+	public HttpTransportBuilder transport(HttpTransport transport) {
+		this.transport = transport;
+		return this;
+	}
+
+	/**
+	 * Builds a new {@link HttpTransport} each time it is called. The built
+	 * transport is registered in order to release the connections when
+	 * resources are cleaned.
+	 * 
+	 * <p>
+	 * <strong>NOTE:</strong> In order to share the same connections between
+	 * all the senders, the senders must use
+	 * {@link BuildContext#getHttpTransport()} instead of calling this method
+	 * directly.
+	 * 
+	 * @return the transport
+	 */
+	@Override
+	public HttpTransport build() {
+		if (transport != null) {
+			return transport;
+		}
+		// @formatter:off
+		HttpTransportOptions options = new HttpTransportOptions(
+				maxConnectionsPerRouteValueBuilder.getValue(DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE),
+				maxConnectionsTotalValueBuilder.getValue(DEFAULT_HTTP_MAX_CONNECTIONS_TOTAL),
+				connectTimeoutValueBuilder.getValue(DEFAULT_HTTP_CONNECT_TIMEOUT),
+				readTimeoutValueBuilder.getValue(DEFAULT_HTTP_READ_TIMEOUT),
+				connectionRequestTimeoutValueBuilder.getValue(DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT),
+				keepAliveValueBuilder.getValue(DEFAULT_HTTP_KEEP_ALIVE),
+				asyncThreadsValueBuilder.getValue(DEFAULT_HTTP_ASYNC_THREADS),
+				asyncQueueCapacityValueBuilder.getValue(DEFAULT_HTTP_ASYNC_QUEUE_CAPACITY));
+		// @formatter:on
+		LOG.debug("HTTP requests are executed using {}", options);
+		return buildContext.register(new ApacheHttpTransport(options));
+	}
+}
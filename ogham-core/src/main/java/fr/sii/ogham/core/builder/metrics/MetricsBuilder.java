@@ -0,0 +1,178 @@
+package fr.sii.ogham.core.builder.metrics;
+
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_METRICS_ENABLE;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.metrics.MetricNames;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
+
+/**
+ * Configures how sending of messages is measured.
+ * 
+ * <p>
+ * Ogham doesn't depend on any metrics library. In order to record metrics,
+ * you have to provide a {@link MetricsRecorder} implementation that bridges
+ * to your metrics library (see {@link #recorder(MetricsRecorder)}). When no
+ * recorder is provided or when metrics are disabled (see
+ * {@link #enable(Boolean)}), nothing is instrumented at all.
+ * 
+ * <p>
+ * When enabled, the following metrics are recorded (see
+ * {@link MetricNames}):
+ * <ul>
+ * <li>Time spent to send a message (whole pipeline)</li>
+ * <li>Time spent by each stage: template parsing, each content translation,
+ * message filling (subject for example) and provider call</li>
+ * <li>Number of sent and failed messages per type of message and per
+ * implementation</li>
+ * <li>Number of attempts and time waited between attempts when automatic
+ * retry is enabled</li>
+ * <li>Number of times a fallback sender had to use the next sender</li>
+ * <li>Occupancy of the SMPP window (when Cloudhopper is used)</li>
+ * </ul>
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class MetricsBuilder extends AbstractParent<MessagingBuilder> implements Builder<MetricsRecorder> {
+	private static final Logger LOG = LoggerFactory.getLogger(MetricsBuilder.class);
+
+	private final ConfigurationValueBuilderHelper<MetricsBuilder, Boolean> enableValueBuilder;
+	private MetricsRecorder recorder;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link BuildContext} is used to
+	 * evaluate properties when {@link #build()} method is called.
+	 * 
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public MetricsBuilder(MessagingBuilder parent, BuildContext buildContext) {
+		super(parent);
+		this.enableValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
+	}
+
+	/**
+	 * Enable or disable metrics recording. Metrics are only recorded if a
+	 * {@link MetricsRecorder} is provided (see {@link #recorder(MetricsRecorder)})
+	 * and this value is true.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #enable()}.
+	 * 
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 * 
+	 * In both cases, {@code enable(false)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param enable
+	 *            true to record metrics, false to disable instrumentation
+	 * @return this instance for fluent chaining
+	 */
+	public MetricsBuilder enable(Boolean enable) {
+		enableValueBuilder.setValue(enable);
+		return this;
+	}
+
+	/**
+	 * Enable or disable metrics recording. Metrics are only recorded if a
+	 * {@link MetricsRecorder} is provided (see {@link #recorder(MetricsRecorder)})
+	 * and this value is true.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #enable(Boolean)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 * 
+	 * The value {@code false} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<MetricsBuilder, Boolean> enable() {
+		return enableValueBuilder;
+	}
+
+	/**
+	 * Set the {@link MetricsRecorder} that bridges Ogham to your metrics
+	 * library.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If you call with {@code null}, no metrics are recorded.
+	 * 
+	 * @param recorder
+	 *            the recorder to use
+	 * @return this instance for fluent chaining
+	 */
+	public MetricsBuilder recorder(MetricsRecorder recorder) {
+		this.recorder = recorder;
+		return this;
+	}
+
+	@Override
+	public MetricsRecorder build() {
+		if (recorder == null || !enableValueBuilder.getValue(DEFAULT_METRICS_ENABLE)) {
+			return new NoMetricsRecorder();
+		}
+		LOG.debug("Metrics are recorded using {}", recorder);
+		return recorder;
+	}
+}
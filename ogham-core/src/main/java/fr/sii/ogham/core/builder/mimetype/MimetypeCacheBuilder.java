@@ -0,0 +1,182 @@
+package fr.sii.ogham.core.builder.mimetype;
+
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.fluent.Parent;
+import fr.sii.ogham.core.mimetype.CachingMimeTypeProvider;
+
+/**
+ * Configures caching of detected mimetypes.
+ *
+ * <p>
+ * The same resources (a logo for example) are often attached or inlined in
+ * many messages. Mimetype detection is expensive so, when caching is enabled,
+ * the mimetype of a resource is detected only once. Files are identified by
+ * their path, last modification date and size. Other resources are identified
+ * by a hash of their content.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <P>
+ *            the type of the parent builder (when calling {@link #and()}
+ *            method)
+ * @see CachingMimeTypeProvider
+ */
+public interface MimetypeCacheBuilder<P> extends Parent<P> {
+	/**
+	 * Enable or disable caching of detected mimetypes.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #enable()}.
+	 *
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * In both cases, {@code enable(false)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param enable
+	 *            true to enable caching
+	 * @return this instance for fluent chaining
+	 */
+	MimetypeCacheBuilder<P> enable(Boolean enable);
+
+	/**
+	 * Enable or disable caching of detected mimetypes.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #enable(Boolean)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * The value {@code false} is used regardless of the value of the
+	 * properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	ConfigurationValueBuilder<MimetypeCacheBuilder<P>, Boolean> enable();
+
+	/**
+	 * The maximum number of detected mimetypes kept in the cache. When the
+	 * limit is reached, the oldest entries are removed.
+	 *
+	 * <p>
+	 * If the value is 0 or negative, the size of the cache is unbounded.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxSize()}.
+	 *
+	 * <pre>
+	 * .maxSize(100)
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .maxSize(100)
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 *
+	 * In both cases, {@code maxSize(100)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param maxSize
+	 *            the maximum number of cached mimetypes
+	 * @return this instance for fluent chaining
+	 */
+	MimetypeCacheBuilder<P> maxSize(Integer maxSize);
+
+	/**
+	 * The maximum number of detected mimetypes kept in the cache. When the
+	 * limit is reached, the oldest entries are removed.
+	 *
+	 * <p>
+	 * If the value is 0 or negative, the size of the cache is unbounded.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #maxSize(Integer)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .maxSize(100)
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 *
+	 * The value {@code 100} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	ConfigurationValueBuilder<MimetypeCacheBuilder<P>, Integer> maxSize();
+}
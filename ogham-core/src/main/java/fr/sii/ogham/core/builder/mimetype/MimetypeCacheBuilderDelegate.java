@@ -0,0 +1,62 @@
+package fr.sii.ogham.core.builder.mimetype;
+
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderDelegate;
+import fr.sii.ogham.core.fluent.AbstractParent;
+
+/**
+ * Implementation that just delegates all operations to another builder.
+ *
+ * <p>
+ * This is useful when a {@link MimetypeCacheBuilder} is used for a particular
+ * parent and it must be inherited. As the parent types are not the same, you
+ * can't directly use the same reference. So this implementation wraps the
+ * original reference but as it is a new instance, it can have a different
+ * parent builder.
+ * </p>
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <P>
+ *            the type of the parent builder (when calling {@link #and()}
+ *            method)
+ */
+public class MimetypeCacheBuilderDelegate<P> extends AbstractParent<P> implements MimetypeCacheBuilder<P> {
+	private MimetypeCacheBuilder<?> delegate;
+
+	/**
+	 * Wraps the delegate builder. The delegated builder parent is not used.
+	 * This instance uses the provided parent instead for chaining.
+	 *
+	 * @param parent
+	 *            the new parent used for chaining
+	 * @param delegate
+	 *            the instance that will really be updated
+	 */
+	public MimetypeCacheBuilderDelegate(P parent, MimetypeCacheBuilder<?> delegate) {
+		super(parent);
+		this.delegate = delegate;
+	}
+
+	@Override
+	public MimetypeCacheBuilder<P> enable(Boolean enable) {
+		delegate.enable(enable);
+		return this;
+	}
+
+	@Override
+	public ConfigurationValueBuilder<MimetypeCacheBuilder<P>, Boolean> enable() {
+		return new ConfigurationValueBuilderDelegate<>(this, delegate.enable());
+	}
+
+	@Override
+	public MimetypeCacheBuilder<P> maxSize(Integer maxSize) {
+		delegate.maxSize(maxSize);
+		return this;
+	}
+
+	@Override
+	public ConfigurationValueBuilder<MimetypeCacheBuilder<P>, Integer> maxSize() {
+		return new ConfigurationValueBuilderDelegate<>(this, delegate.maxSize());
+	}
+}
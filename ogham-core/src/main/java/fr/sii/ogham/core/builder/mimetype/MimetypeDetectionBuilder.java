@@ -97,6 +97,98 @@ public interface MimetypeDetectionBuilder<P> extends Parent<P>, Builder<MimeType
 	 */
 	ReplaceMimetypeBuilder<MimetypeDetectionBuilder<P>> replace();
 
+	/**
+	 * Configures caching of detected mimetypes.
+	 * 
+	 * <p>
+	 * The same resources (a logo for example) are often attached or inlined
+	 * in many messages. When caching is enabled, the mimetype of a resource is
+	 * detected only once. Files are identified by their path, last
+	 * modification date and size. Other resources are identified by a hash of
+	 * their content.
+	 * 
+	 * @return the builder to configure caching of detected mimetypes
+	 */
+	MimetypeCacheBuilder<MimetypeDetectionBuilder<P>> cache();
+
+	/**
+	 * The maximum number of bytes read from a stream to detect its mimetype.
+	 * Detection only needs the head of the content (magic headers), the whole
+	 * stream is never loaded only for detection.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #headSize()}.
+	 * 
+	 * <pre>
+	 * .headSize(8192)
+	 * .headSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(65536)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .headSize(8192)
+	 * .headSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(65536)
+	 * </pre>
+	 * 
+	 * In both cases, {@code headSize(8192)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param headSize
+	 *            the maximum number of bytes read from a stream
+	 * @return this instance for fluent chaining
+	 */
+	MimetypeDetectionBuilder<P> headSize(Integer headSize);
+
+	/**
+	 * The maximum number of bytes read from a stream to detect its mimetype.
+	 * Detection only needs the head of the content (magic headers), the whole
+	 * stream is never loaded only for detection.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .headSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(65536)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #headSize(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .headSize(8192)
+	 * .headSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(65536)
+	 * </pre>
+	 * 
+	 * The value {@code 8192} is used regardless of the value of the properties
+	 * and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	ConfigurationValueBuilder<MimetypeDetectionBuilder<P>, Integer> headSize();
+
 	/**
 	 * If no previously registered mimetype detector could determine mimetype,
 	 * use a default value.
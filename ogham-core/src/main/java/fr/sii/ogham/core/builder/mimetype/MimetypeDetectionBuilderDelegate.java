@@ -63,6 +63,22 @@ public class MimetypeDetectionBuilderDelegate<P> extends AbstractParent<P> imple
 		return new ReplaceMimetypeBuilderDelegate<>(this, delegate.replace());
 	}
 
+	@Override
+	public MimetypeCacheBuilder<MimetypeDetectionBuilder<P>> cache() {
+		return new MimetypeCacheBuilderDelegate<>(this, delegate.cache());
+	}
+
+	@Override
+	public MimetypeDetectionBuilder<P> headSize(Integer headSize) {
+		delegate.headSize(headSize);
+		return this;
+	}
+
+	@Override
+	public ConfigurationValueBuilder<MimetypeDetectionBuilder<P>, Integer> headSize() {
+		return new ConfigurationValueBuilderDelegate<>(this, delegate.headSize());
+	}
+
 	@Override
 	public MimetypeDetectionBuilder<P> allowed(List<String> mimetypes) {
 		delegate.allowed(mimetypes);
@@ -0,0 +1,87 @@
+package fr.sii.ogham.core.builder.mimetype;
+
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_MIMETYPE_CACHE_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_MIMETYPE_CACHE_MAX_SIZE;
+
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderDelegate;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.mimetype.CachingMimeTypeProvider;
+import fr.sii.ogham.core.mimetype.MimeTypeProvider;
+
+/**
+ * Decorates the {@link MimeTypeProvider} with a
+ * {@link CachingMimeTypeProvider} if caching is enabled.
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <P>
+ *            the type of the parent builder (when calling {@link #and()}
+ *            method)
+ */
+public class SimpleMimetypeCacheBuilder<P> extends AbstractParent<P> implements MimetypeCacheBuilder<P> {
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<SimpleMimetypeCacheBuilder<P>, Boolean> enableValueBuilder;
+	private final ConfigurationValueBuilderHelper<SimpleMimetypeCacheBuilder<P>, Integer> maxSizeValueBuilder;
+
+	/**
+	 * Initializes the builder with the parent instance (used by the
+	 * {@link #and()} method) and the {@link BuildContext}. The
+	 * {@link BuildContext} is used to evaluate property values when
+	 * {@link #build(MimeTypeProvider, int)} is called.
+	 *
+	 * @param parent
+	 *            the parent instance
+	 * @param buildContext
+	 *            used to evaluate property values
+	 */
+	public SimpleMimetypeCacheBuilder(P parent, BuildContext buildContext) {
+		super(parent);
+		this.buildContext = buildContext;
+		enableValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
+		maxSizeValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+	}
+
+	@Override
+	public MimetypeCacheBuilder<P> enable(Boolean enable) {
+		enableValueBuilder.setValue(enable);
+		return this;
+	}
+
+	@Override
+	public ConfigurationValueBuilder<MimetypeCacheBuilder<P>, Boolean> enable() {
+		return new ConfigurationValueBuilderDelegate<>(this, enableValueBuilder);
+	}
+
+	@Override
+	public MimetypeCacheBuilder<P> maxSize(Integer maxSize) {
+		maxSizeValueBuilder.setValue(maxSize);
+		return this;
+	}
+
+	@Override
+	public ConfigurationValueBuilder<MimetypeCacheBuilder<P>, Integer> maxSize() {
+		return new ConfigurationValueBuilderDelegate<>(this, maxSizeValueBuilder);
+	}
+
+	/**
+	 * Wraps the provider to cache detected mimetypes if caching is enabled.
+	 *
+	 * @param provider
+	 *            the provider that really detects mimetypes
+	 * @param headSize
+	 *            the maximum number of bytes read from a stream to detect the
+	 *            mimetype
+	 * @return the caching provider or the provider as-is if caching is
+	 *         disabled
+	 */
+	public MimeTypeProvider build(MimeTypeProvider provider, int headSize) {
+		if (!enableValueBuilder.getValue(DEFAULT_MIMETYPE_CACHE_ENABLE)) {
+			return provider;
+		}
+		int maxSize = maxSizeValueBuilder.getValue(DEFAULT_MIMETYPE_CACHE_MAX_SIZE);
+		return buildContext.register(new CachingMimeTypeProvider(provider, maxSize, headSize, buildContext.getMetricsRecorder()));
+	}
+}
@@ -1,5 +1,7 @@
 package fr.sii.ogham.core.builder.mimetype;
 
+import static fr.sii.ogham.core.CoreConstants.MIMETYPE_DETECTION_HEAD_SIZE;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
@@ -36,6 +38,8 @@ import fr.sii.ogham.core.mimetype.validation.MatchMimetypePredicate;
  * (mimetype detection is required by many Ogham components</li>
  * <li>If only one detector is registered, the {@link FallbackMimeTypeProvider}
  * is not used and instead the alone detector is directly used</li>
+ * <li>If {@link #cache()} has been called and caching is enabled, then
+ * detected mimetypes are cached</li>
  * </ul>
  * 
  * @author Aurélien Baudet
@@ -48,8 +52,10 @@ public class SimpleMimetypeDetectionBuilder<P> extends AbstractParent<P> impleme
 	private final BuildContext buildContext;
 	private final ConfigurationValueBuilderHelper<SimpleMimetypeDetectionBuilder<P>, String> defaultMimetypeValueBuilder;
 	private final ConfigurationValueBuilderHelper<MimetypeDetectionBuilder<P>, String[]> allowedMimetypesValueBuilder;
+	private final ConfigurationValueBuilderHelper<SimpleMimetypeDetectionBuilder<P>, Integer> headSizeValueBuilder;
 	private TikaBuilder<MimetypeDetectionBuilder<P>> tikaBuilder;
 	private SimpleReplaceMimetypeBuilder<MimetypeDetectionBuilder<P>> replaceMimetypeBuilder;
+	private SimpleMimetypeCacheBuilder<MimetypeDetectionBuilder<P>> cacheBuilder;
 
 	/**
 	 * Initializes the builder with the parent instance (used by the
@@ -67,6 +73,7 @@ public class SimpleMimetypeDetectionBuilder<P> extends AbstractParent<P> impleme
 		this.buildContext = buildContext;
 		defaultMimetypeValueBuilder = buildContext.newConfigurationValueBuilder(this, String.class);
 		allowedMimetypesValueBuilder = buildContext.newConfigurationValueBuilder(this, String[].class);
+		headSizeValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
 	}
 
 	@Override
@@ -96,6 +103,25 @@ public class SimpleMimetypeDetectionBuilder<P> extends AbstractParent<P> impleme
 		return replaceMimetypeBuilder;
 	}
 
+	@Override
+	public MimetypeCacheBuilder<MimetypeDetectionBuilder<P>> cache() {
+		if (cacheBuilder == null) {
+			cacheBuilder = new SimpleMimetypeCacheBuilder<>(this, buildContext);
+		}
+		return cacheBuilder;
+	}
+
+	@Override
+	public MimetypeDetectionBuilder<P> headSize(Integer headSize) {
+		headSizeValueBuilder.setValue(headSize);
+		return this;
+	}
+
+	@Override
+	public ConfigurationValueBuilder<MimetypeDetectionBuilder<P>, Integer> headSize() {
+		return new ConfigurationValueBuilderDelegate<>(this, headSizeValueBuilder);
+	}
+
 	@Override
 	public MimetypeDetectionBuilder<P> allowed(List<String> mimetypes) {
 		allowedMimetypesValueBuilder.setValue(mimetypes == null ? null : mimetypes.toArray(new String[mimetypes.size()]));
@@ -120,8 +146,9 @@ public class SimpleMimetypeDetectionBuilder<P> extends AbstractParent<P> impleme
 			buildTika(providers);
 			buildDefault(providers);
 			assertNotEmpty(providers);
-			MimeTypeProvider provider = buildProvider(providers);
-			return validateProvider(overrideProvider(provider));
+			int headSize = headSizeValueBuilder.getValue(MIMETYPE_DETECTION_HEAD_SIZE);
+			MimeTypeProvider provider = buildProvider(providers, headSize);
+			return validateProvider(cacheProvider(overrideProvider(provider), headSize));
 		} catch (MimeTypeParseException e) {
 			throw new BuildException("Failed to build mimetype provider", e);
 		}
@@ -133,11 +160,18 @@ public class SimpleMimetypeDetectionBuilder<P> extends AbstractParent<P> impleme
 		}
 	}
 
-	private static MimeTypeProvider buildProvider(List<MimeTypeProvider> providers) {
+	private static MimeTypeProvider buildProvider(List<MimeTypeProvider> providers, int headSize) {
 		if (providers.size() == 1) {
 			return providers.get(0);
 		}
-		return new FallbackMimeTypeProvider(providers);
+		return new FallbackMimeTypeProvider(providers, headSize);
+	}
+
+	private MimeTypeProvider cacheProvider(MimeTypeProvider provider, int headSize) {
+		if (cacheBuilder == null) {
+			return provider;
+		}
+		return cacheBuilder.build(provider, headSize);
 	}
 
 	private MimeTypeProvider overrideProvider(MimeTypeProvider provider) {
@@ -0,0 +1,715 @@
+package fr.sii.ogham.core.builder.outbox;
+
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_DIRECTORY;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_MAX_ATTEMPTS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_RETRY_DELAY;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_SEGMENT_SIZE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_OUTBOX_WORKERS;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.exception.builder.BuildException;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.outbox.Journal;
+import fr.sii.ogham.core.outbox.MessageCodec;
+import fr.sii.ogham.core.outbox.Outbox;
+import fr.sii.ogham.core.outbox.SimpleMessageCodec;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.translator.resource.AttachmentResourceTranslator;
+
+/**
+ * Configures the persistent outbox used by
+ * {@link MessagingService#enqueue(Message)}.
+ *
+ * <p>
+ * When the outbox is enabled, enqueued messages are stored in a journal on
+ * the file system and sent later by a pool of workers. The messages that are
+ * not sent yet are sent again when the application is restarted:
+ *
+ * <pre>
+ * {@code
+ * .outbox()
+ *   .enable(true)
+ *   .directory("/var/lib/myapp/outbox")
+ *   .workers(8)
+ *   .maxAttempts(10)
+ * }
+ * </pre>
+ *
+ * <p>
+ * When the outbox is disabled (default), {@link MessagingService#enqueue(Message)}
+ * directly sends the message.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class OutboxBuilder extends AbstractParent<MessagingBuilder> implements Builder<Outbox> {
+	private static final Logger LOG = LoggerFactory.getLogger(OutboxBuilder.class);
+	private static final String DEAD_LETTERS_DIRECTORY = "dead-letters";
+
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<OutboxBuilder, Boolean> enableValueBuilder;
+	private final ConfigurationValueBuilderHelper<OutboxBuilder, String> directoryValueBuilder;
+	private final ConfigurationValueBuilderHelper<OutboxBuilder, Integer> segmentSizeValueBuilder;
+	private final ConfigurationValueBuilderHelper<OutboxBuilder, Integer> workersValueBuilder;
+	private final ConfigurationValueBuilderHelper<OutboxBuilder, Integer> maxAttemptsValueBuilder;
+	private final ConfigurationValueBuilderHelper<OutboxBuilder, Long> retryDelayValueBuilder;
+	private final Supplier<AttachmentResourceTranslator> defaultAttachmentTranslator;
+	private final List<String> allowedVariableClasses;
+	private MessageCodec codec;
+	private AttachmentResourceTranslator attachmentTranslator;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link BuildContext} is used to
+	 * evaluate properties when {@link #build()} method is called.
+	 *
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public OutboxBuilder(MessagingBuilder parent, BuildContext buildContext) {
+		this(parent, buildContext, () -> null);
+	}
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link BuildContext} is used to
+	 * evaluate properties when {@link #build()} method is called.
+	 * 
+	 * <p>
+	 * The default attachment translator is used by the default codec to read
+	 * the content of attachments that reference a path if no translator is
+	 * explicitly configured (see
+	 * {@link #attachmentTranslator(AttachmentResourceTranslator)}).
+	 *
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 * @param defaultAttachmentTranslator
+	 *            provides the translator used by default to resolve
+	 *            attachments (may provide null)
+	 */
+	public OutboxBuilder(MessagingBuilder parent, BuildContext buildContext, Supplier<AttachmentResourceTranslator> defaultAttachmentTranslator) {
+		super(parent);
+		this.buildContext = buildContext;
+		this.defaultAttachmentTranslator = defaultAttachmentTranslator;
+		this.allowedVariableClasses = new ArrayList<>();
+		this.enableValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
+		this.directoryValueBuilder = buildContext.newConfigurationValueBuilder(this, String.class);
+		this.segmentSizeValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.workersValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.maxAttemptsValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.retryDelayValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
+	}
+
+	/**
+	 * Enable or disable the outbox.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #enable()}.
+	 *
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * In both cases, {@code enable(true)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param enable
+	 *            enable (true) or disable (false) the outbox
+	 * @return this instance for fluent chaining
+	 */
+	public OutboxBuilder enable(Boolean enable) {
+		enableValueBuilder.setValue(enable);
+		return this;
+	}
+
+	/**
+	 * Enable or disable the outbox.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #enable(Boolean)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * The value {@code true} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<OutboxBuilder, Boolean> enable() {
+		return enableValueBuilder;
+	}
+
+	/**
+	 * Set the directory that contains the journal files. The directory is
+	 * created if it doesn't exist. The messages that couldn't be sent are
+	 * stored in the {@code dead-letters} sub-directory.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #directory()}.
+	 *
+	 * <pre>
+	 * .directory("/var/lib/myapp/outbox")
+	 * .directory()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue("ogham-outbox")
+	 * </pre>
+	 *
+	 * <pre>
+	 * .directory("/var/lib/myapp/outbox")
+	 * .directory()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue("ogham-outbox")
+	 * </pre>
+	 *
+	 * In both cases, {@code directory("/var/lib/myapp/outbox")} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param directory
+	 *            the path to the directory that contains the journal files
+	 * @return this instance for fluent chaining
+	 */
+	public OutboxBuilder directory(String directory) {
+		directoryValueBuilder.setValue(directory);
+		return this;
+	}
+
+	/**
+	 * Set the directory that contains the journal files. The directory is
+	 * created if it doesn't exist. The messages that couldn't be sent are
+	 * stored in the {@code dead-letters} sub-directory.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .directory()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue("ogham-outbox")
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #directory(String)} takes precedence
+	 * over property values and default value.
+	 *
+	 * <pre>
+	 * .directory("/var/lib/myapp/outbox")
+	 * .directory()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue("ogham-outbox")
+	 * </pre>
+	 *
+	 * The value {@code "/var/lib/myapp/outbox"} is used regardless of the
+	 * value of the properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<OutboxBuilder, String> directory() {
+		return directoryValueBuilder;
+	}
+
+	/**
+	 * Set the size (in bytes) of each journal file. Once a file is full, a new
+	 * file is created. A file is deleted once all its messages are sent.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #segmentSize()}.
+	 *
+	 * <pre>
+	 * .segmentSize(1048576)
+	 * .segmentSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(16777216)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .segmentSize(1048576)
+	 * .segmentSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(16777216)
+	 * </pre>
+	 *
+	 * In both cases, {@code segmentSize(1048576)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param segmentSize
+	 *            the size of each journal file in bytes
+	 * @return this instance for fluent chaining
+	 */
+	public OutboxBuilder segmentSize(Integer segmentSize) {
+		segmentSizeValueBuilder.setValue(segmentSize);
+		return this;
+	}
+
+	/**
+	 * Set the size (in bytes) of each journal file. Once a file is full, a new
+	 * file is created. A file is deleted once all its messages are sent.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .segmentSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(16777216)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #segmentSize(Integer)} takes precedence
+	 * over property values and default value.
+	 *
+	 * <pre>
+	 * .segmentSize(1048576)
+	 * .segmentSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(16777216)
+	 * </pre>
+	 *
+	 * The value {@code 1048576} is used regardless of the value of the
+	 * properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<OutboxBuilder, Integer> segmentSize() {
+		return segmentSizeValueBuilder;
+	}
+
+	/**
+	 * Set the number of threads that send the messages stored in the outbox.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #workers()}.
+	 *
+	 * <pre>
+	 * .workers(8)
+	 * .workers()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(4)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .workers(8)
+	 * .workers()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(4)
+	 * </pre>
+	 *
+	 * In both cases, {@code workers(8)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param workers
+	 *            the number of threads
+	 * @return this instance for fluent chaining
+	 */
+	public OutboxBuilder workers(Integer workers) {
+		workersValueBuilder.setValue(workers);
+		return this;
+	}
+
+	/**
+	 * Set the number of threads that send the messages stored in the outbox.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .workers()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(4)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #workers(Integer)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .workers(8)
+	 * .workers()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(4)
+	 * </pre>
+	 *
+	 * The value {@code 8} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<OutboxBuilder, Integer> workers() {
+		return workersValueBuilder;
+	}
+
+	/**
+	 * Set the maximum number of attempts to send a message. Once reached, the
+	 * message is moved to the dead letters and is not sent anymore.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxAttempts()}.
+	 *
+	 * <pre>
+	 * .maxAttempts(10)
+	 * .maxAttempts()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(5)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .maxAttempts(10)
+	 * .maxAttempts()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(5)
+	 * </pre>
+	 *
+	 * In both cases, {@code maxAttempts(10)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param maxAttempts
+	 *            the maximum number of attempts
+	 * @return this instance for fluent chaining
+	 */
+	public OutboxBuilder maxAttempts(Integer maxAttempts) {
+		maxAttemptsValueBuilder.setValue(maxAttempts);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of attempts to send a message. Once reached, the
+	 * message is moved to the dead letters and is not sent anymore.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .maxAttempts()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(5)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #maxAttempts(Integer)} takes precedence
+	 * over property values and default value.
+	 *
+	 * <pre>
+	 * .maxAttempts(10)
+	 * .maxAttempts()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(5)
+	 * </pre>
+	 *
+	 * The value {@code 10} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<OutboxBuilder, Integer> maxAttempts() {
+		return maxAttemptsValueBuilder;
+	}
+
+	/**
+	 * Set the time to wait (in milliseconds) before sending a message again
+	 * after a failure.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #retryDelay()}.
+	 *
+	 * <pre>
+	 * .retryDelay(60000L)
+	 * .retryDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000L)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .retryDelay(60000L)
+	 * .retryDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000L)
+	 * </pre>
+	 *
+	 * In both cases, {@code retryDelay(60000L)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param retryDelay
+	 *            the time to wait in milliseconds
+	 * @return this instance for fluent chaining
+	 */
+	public OutboxBuilder retryDelay(Long retryDelay) {
+		retryDelayValueBuilder.setValue(retryDelay);
+		return this;
+	}
+
+	/**
+	 * Set the time to wait (in milliseconds) before sending a message again
+	 * after a failure.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .retryDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000L)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #retryDelay(Long)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .retryDelay(60000L)
+	 * .retryDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000L)
+	 * </pre>
+	 *
+	 * The value {@code 60000L} is used regardless of the value of the
+	 * properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<OutboxBuilder, Long> retryDelay() {
+		return retryDelayValueBuilder;
+	}
+
+	/**
+	 * Use a custom codec to convert messages to bytes and back. By default,
+	 * {@link SimpleMessageCodec} is used (supports emails and SMS).
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If you call with {@code null}, the default codec is used.
+	 *
+	 * @param codec
+	 *            the codec to use
+	 * @return this instance for fluent chaining
+	 */
+	public OutboxBuilder codec(MessageCodec codec) {
+		this.codec = codec;
+		return this;
+	}
+
+	/**
+	 * The content of the attachments is stored with the message. Attachments
+	 * that reference a path (see
+	 * {@link fr.sii.ogham.core.resource.LookupResource}) are read using this
+	 * translator when the message is stored. By default, the attachments are
+	 * resolved the same way as when emails are sent.
+	 *
+	 * <p>
+	 * This translator is only used by the default codec (see
+	 * {@link SimpleMessageCodec}).
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If you call with {@code null}, the default translator is used.
+	 *
+	 * @param translator
+	 *            the translator used to read the content of attachments
+	 * @return this instance for fluent chaining
+	 */
+	public OutboxBuilder attachmentTranslator(AttachmentResourceTranslator translator) {
+		this.attachmentTranslator = translator;
+		return this;
+	}
+
+	/**
+	 * Template variables are stored using Java serialization. When messages
+	 * are read back, only the classes of the packages {@code java.lang},
+	 * {@code java.util}, {@code java.math} and {@code java.time} are allowed by
+	 * default. If your template variables use other classes, you have to
+	 * allow them:
+	 *
+	 * <pre>
+	 * {@code
+	 * .outbox()
+	 *   .allowVariableClasses("com.example.model", "com.example.dto.UserDto")
+	 * }
+	 * </pre>
+	 *
+	 * Each value is either a fully qualified class name or a package name. A
+	 * package name allows all classes of the package and of its sub-packages.
+	 *
+	 * <p>
+	 * The allowed classes are only used by the default codec (see
+	 * {@link SimpleMessageCodec}).
+	 *
+	 * <p>
+	 * If this method is called several times, all values are allowed.
+	 *
+	 * @param classesOrPackages
+	 *            the classes or packages to allow
+	 * @return this instance for fluent chaining
+	 */
+	public OutboxBuilder allowVariableClasses(String... classesOrPackages) {
+		for (String allowed : classesOrPackages) {
+			allowedVariableClasses.add(allowed);
+		}
+		return this;
+	}
+
+	@Override
+	public Outbox build() {
+		if (!enableValueBuilder.getValue(DEFAULT_OUTBOX_ENABLE)) {
+			return null;
+		}
+		File directory = new File(directoryValueBuilder.getValue(DEFAULT_OUTBOX_DIRECTORY));
+		int segmentSize = segmentSizeValueBuilder.getValue(DEFAULT_OUTBOX_SEGMENT_SIZE);
+		try {
+			Journal journal = new Journal(directory, segmentSize);
+			Journal deadLetters = new Journal(new File(directory, DEAD_LETTERS_DIRECTORY), segmentSize);
+			LOG.info("Messages are stored in outbox {}", directory.getAbsolutePath());
+			// @formatter:off
+			return buildContext.register(new Outbox(journal, deadLetters,
+					codec == null ? buildDefaultCodec() : codec,
+					workersValueBuilder.getValue(DEFAULT_OUTBOX_WORKERS),
+					maxAttemptsValueBuilder.getValue(DEFAULT_OUTBOX_MAX_ATTEMPTS),
+					retryDelayValueBuilder.getValue(DEFAULT_OUTBOX_RETRY_DELAY),
+					buildContext.getMetricsRecorder()));
+			// @formatter:on
+		} catch (IOException e) {
+			throw new BuildException("Failed to open outbox journal in " + directory.getAbsolutePath(), e);
+		}
+	}
+
+	private MessageCodec buildDefaultCodec() {
+		AttachmentResourceTranslator translator = attachmentTranslator == null ? defaultAttachmentTranslator.get() : attachmentTranslator;
+		return new SimpleMessageCodec(translator, new ArrayList<>(allowedVariableClasses));
+	}
+}
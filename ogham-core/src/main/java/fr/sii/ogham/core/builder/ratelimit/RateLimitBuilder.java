@@ -0,0 +1,404 @@
+package fr.sii.ogham.core.builder.ratelimit;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.ratelimit.RateLimitMode;
+import fr.sii.ogham.core.ratelimit.RateLimiter;
+import fr.sii.ogham.core.sender.RateLimitedSender;
+
+/**
+ * Configures the maximum number of messages that a sender implementation can
+ * send per second (see {@link RateLimiter} and {@link RateLimitedSender}).
+ *
+ * For example:
+ *
+ * <pre>
+ * .permitsPerSecond(10.0)
+ * .burst(5)
+ * .mode(RateLimitMode.BLOCK)
+ * .maxWait(5000L)
+ * </pre>
+ *
+ * Means that at most 5 messages can be sent at once. Then 10 messages per
+ * second are allowed. If the limit is reached, the message waits at most 5
+ * seconds before being sent. If it can't be sent within this delay, it fails.
+ *
+ * <p>
+ * If the number of messages per second is not set, the messages are not
+ * limited.
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <P>
+ *            the type of the parent builder (when calling {@link #and()}
+ *            method)
+ */
+public class RateLimitBuilder<P> extends AbstractParent<P> implements Builder<RateLimiter> {
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<RateLimitBuilder<P>, Double> permitsPerSecondValueBuilder;
+	private final ConfigurationValueBuilderHelper<RateLimitBuilder<P>, Integer> burstValueBuilder;
+	private final ConfigurationValueBuilderHelper<RateLimitBuilder<P>, RateLimitMode> modeValueBuilder;
+	private final ConfigurationValueBuilderHelper<RateLimitBuilder<P>, Long> maxWaitValueBuilder;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link EnvironmentBuilder} is
+	 * used to evaluate properties when {@link #build()} method is called.
+	 *
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public RateLimitBuilder(P parent, BuildContext buildContext) {
+		super(parent);
+		this.buildContext = buildContext;
+		permitsPerSecondValueBuilder = buildContext.newConfigurationValueBuilder(this, Double.class);
+		burstValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		modeValueBuilder = buildContext.newConfigurationValueBuilder(this, RateLimitMode.class);
+		maxWaitValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
+	}
+
+	/**
+	 * Set the maximum number of messages sent per second.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #permitsPerSecond()}.
+	 *
+	 * <pre>
+	 * .permitsPerSecond(10.0)
+	 * .permitsPerSecond()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100.0)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .permitsPerSecond(10.0)
+	 * .permitsPerSecond()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100.0)
+	 * </pre>
+	 *
+	 * In both cases, {@code permitsPerSecond(10.0)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param permitsPerSecond
+	 *            the maximum number of messages sent per second
+	 * @return this instance for fluent chaining
+	 */
+	public RateLimitBuilder<P> permitsPerSecond(Double permitsPerSecond) {
+		permitsPerSecondValueBuilder.setValue(permitsPerSecond);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of messages sent per second.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .permitsPerSecond()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100.0)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #permitsPerSecond(Double)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .permitsPerSecond(10.0)
+	 * .permitsPerSecond()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100.0)
+	 * </pre>
+	 *
+	 * The value {@code 10.0} is used regardless of the value of the
+	 * properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<RateLimitBuilder<P>, Double> permitsPerSecond() {
+		return permitsPerSecondValueBuilder;
+	}
+
+	/**
+	 * Set the number of messages that can be sent at once before the rate
+	 * applies.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #burst()}.
+	 *
+	 * <pre>
+	 * .burst(5)
+	 * .burst()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .burst(5)
+	 * .burst()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1)
+	 * </pre>
+	 *
+	 * In both cases, {@code burst(5)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param burst
+	 *            the number of messages that can be sent at once
+	 * @return this instance for fluent chaining
+	 */
+	public RateLimitBuilder<P> burst(Integer burst) {
+		burstValueBuilder.setValue(burst);
+		return this;
+	}
+
+	/**
+	 * Set the number of messages that can be sent at once before the rate
+	 * applies.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .burst()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #burst(Integer)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .burst(5)
+	 * .burst()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1)
+	 * </pre>
+	 *
+	 * The value {@code 5} is used regardless of the value of the
+	 * properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<RateLimitBuilder<P>, Integer> burst() {
+		return burstValueBuilder;
+	}
+
+	/**
+	 * Set what to do when the rate limit is reached: wait (see
+	 * {@link RateLimitMode#BLOCK}) or fail immediately (see
+	 * {@link RateLimitMode#FAIL_FAST}).
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #mode()}.
+	 *
+	 * <pre>
+	 * .mode(RateLimitMode.FAIL_FAST)
+	 * .mode()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(RateLimitMode.BLOCK)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .mode(RateLimitMode.FAIL_FAST)
+	 * .mode()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(RateLimitMode.BLOCK)
+	 * </pre>
+	 *
+	 * In both cases, {@code mode(RateLimitMode.FAIL_FAST)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param mode
+	 *            what to do when the rate limit is reached
+	 * @return this instance for fluent chaining
+	 */
+	public RateLimitBuilder<P> mode(RateLimitMode mode) {
+		modeValueBuilder.setValue(mode);
+		return this;
+	}
+
+	/**
+	 * Set what to do when the rate limit is reached: wait (see
+	 * {@link RateLimitMode#BLOCK}) or fail immediately (see
+	 * {@link RateLimitMode#FAIL_FAST}).
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .mode()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(RateLimitMode.BLOCK)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #mode(RateLimitMode)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .mode(RateLimitMode.FAIL_FAST)
+	 * .mode()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(RateLimitMode.BLOCK)
+	 * </pre>
+	 *
+	 * The value {@code RateLimitMode.FAIL_FAST} is used regardless of the value of the
+	 * properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<RateLimitBuilder<P>, RateLimitMode> mode() {
+		return modeValueBuilder;
+	}
+
+	/**
+	 * Set the maximum time to wait (in milliseconds) for sending a message when
+	 * {@link RateLimitMode#BLOCK} is used. If the message can't be sent within
+	 * this delay, it fails. 0 means that there is no limit.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxWait()}.
+	 *
+	 * <pre>
+	 * .maxWait(5000L)
+	 * .maxWait()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(0L)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .maxWait(5000L)
+	 * .maxWait()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(0L)
+	 * </pre>
+	 *
+	 * In both cases, {@code maxWait(5000L)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param maxWait
+	 *            the maximum time to wait in milliseconds
+	 * @return this instance for fluent chaining
+	 */
+	public RateLimitBuilder<P> maxWait(Long maxWait) {
+		maxWaitValueBuilder.setValue(maxWait);
+		return this;
+	}
+
+	/**
+	 * Set the maximum time to wait (in milliseconds) for sending a message when
+	 * {@link RateLimitMode#BLOCK} is used. If the message can't be sent within
+	 * this delay, it fails. 0 means that there is no limit.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .maxWait()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(0L)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #maxWait(Long)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .maxWait(5000L)
+	 * .maxWait()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(0L)
+	 * </pre>
+	 *
+	 * The value {@code 5000L} is used regardless of the value of the
+	 * properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<RateLimitBuilder<P>, Long> maxWait() {
+		return maxWaitValueBuilder;
+	}
+
+	@Override
+	public RateLimiter build() {
+		double evaluatedPermitsPerSecond = permitsPerSecondValueBuilder.getValue(0.0);
+		if (evaluatedPermitsPerSecond <= 0) {
+			return null;
+		}
+		int evaluatedBurst = burstValueBuilder.getValue(1);
+		RateLimitMode evaluatedMode = modeValueBuilder.getValue(RateLimitMode.BLOCK);
+		long evaluatedMaxWait = maxWaitValueBuilder.getValue(0L);
+		return buildContext.register(new RateLimiter(evaluatedPermitsPerSecond, evaluatedBurst, evaluatedMode, evaluatedMaxWait));
+	}
+}
@@ -0,0 +1,27 @@
+package fr.sii.ogham.core.builder.ratelimit;
+
+import fr.sii.ogham.core.builder.sender.SenderImplementationBuilderHelper;
+import fr.sii.ogham.core.sender.MultiImplementationSender;
+import fr.sii.ogham.core.sender.RateLimitedSender;
+
+/**
+ * Implemented by the builders of sender implementations that can limit the
+ * number of messages sent per second.
+ *
+ * <p>
+ * When the sender is registered into the {@link MultiImplementationSender}
+ * (see {@link SenderImplementationBuilderHelper}), it is decorated by a
+ * {@link RateLimitedSender} if a rate limit is configured.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public interface RateLimitedBuilder {
+	/**
+	 * Configures the maximum number of messages sent per second by the sender
+	 * implementation.
+	 *
+	 * @return the builder to configure the rate limit
+	 */
+	RateLimitBuilder<?> rateLimit();
+}
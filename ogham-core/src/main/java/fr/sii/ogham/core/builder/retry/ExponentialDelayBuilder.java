@@ -8,6 +8,7 @@ import fr.sii.ogham.core.builder.context.BuildContext;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.fluent.AbstractParent;
 import fr.sii.ogham.core.retry.ExponentialDelayRetry;
+import fr.sii.ogham.core.retry.Jitter;
 import fr.sii.ogham.core.retry.RetryStrategy;
 
 /**
@@ -45,6 +46,10 @@ import fr.sii.ogham.core.retry.RetryStrategy;
  * <li>fail</li>
  * </ul>
  * 
+ * <p>
+ * The delay can be limited (see {@link #maxDelay(Long)}) and randomized (see
+ * {@link #jitter(Jitter)}).
+ * 
  * 
  * @author Aurélien Baudet
  *
@@ -56,6 +61,8 @@ public class ExponentialDelayBuilder<P> extends AbstractParent<P> implements Bui
 	private final BuildContext buildContext;
 	private final ConfigurationValueBuilderHelper<ExponentialDelayBuilder<P>, Integer> maxRetriesValueBuilder;
 	private final ConfigurationValueBuilderHelper<ExponentialDelayBuilder<P>, Long> initialDelayValueBuilder;
+	private final ConfigurationValueBuilderHelper<ExponentialDelayBuilder<P>, Long> maxDelayValueBuilder;
+	private final ConfigurationValueBuilderHelper<ExponentialDelayBuilder<P>, Jitter> jitterValueBuilder;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -72,6 +79,8 @@ public class ExponentialDelayBuilder<P> extends AbstractParent<P> implements Bui
 		this.buildContext = buildContext;
 		maxRetriesValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
 		initialDelayValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
+		maxDelayValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
+		jitterValueBuilder = buildContext.newConfigurationValueBuilder(this, Jitter.class);
 	}
 
 	/**
@@ -234,6 +243,170 @@ public class ExponentialDelayBuilder<P> extends AbstractParent<P> implements Bui
 		return initialDelayValueBuilder;
 	}
 
+	/**
+	 * Set the maximum delay between two executions (in milliseconds). The
+	 * delay is doubled for each try until this limit is reached.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxDelay()}.
+	 * 
+	 * <pre>
+	 * .maxDelay(30000L)
+	 * .maxDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(60000L)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .maxDelay(30000L)
+	 * .maxDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(60000L)
+	 * </pre>
+	 * 
+	 * In both cases, {@code maxDelay(30000L)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param maxDelay
+	 *            the maximum time between two attempts
+	 * @return this instance for fluent chaining
+	 */
+	public ExponentialDelayBuilder<P> maxDelay(Long maxDelay) {
+		maxDelayValueBuilder.setValue(maxDelay);
+		return this;
+	}
+
+	/**
+	 * Set the maximum delay between two executions (in milliseconds). The
+	 * delay is doubled for each try until this limit is reached.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .maxDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(60000L)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #maxDelay(Long)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .maxDelay(30000L)
+	 * .maxDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(60000L)
+	 * </pre>
+	 * 
+	 * The value {@code 30000L} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ExponentialDelayBuilder<P>, Long> maxDelay() {
+		return maxDelayValueBuilder;
+	}
+
+	/**
+	 * Set the randomization applied to the delay (see {@link Jitter}). When
+	 * many executions fail at the same time, randomizing the delay spreads the
+	 * retries over time instead of retrying all executions at the same time.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #jitter()}.
+	 * 
+	 * <pre>
+	 * .jitter(Jitter.FULL)
+	 * .jitter()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(Jitter.NONE)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .jitter(Jitter.FULL)
+	 * .jitter()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(Jitter.NONE)
+	 * </pre>
+	 * 
+	 * In both cases, {@code jitter(Jitter.FULL)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param jitter
+	 *            the randomization applied to the delay
+	 * @return this instance for fluent chaining
+	 */
+	public ExponentialDelayBuilder<P> jitter(Jitter jitter) {
+		jitterValueBuilder.setValue(jitter);
+		return this;
+	}
+
+	/**
+	 * Set the randomization applied to the delay (see {@link Jitter}). When
+	 * many executions fail at the same time, randomizing the delay spreads the
+	 * retries over time instead of retrying all executions at the same time.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .jitter()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(Jitter.NONE)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #jitter(Jitter)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .jitter(Jitter.FULL)
+	 * .jitter()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(Jitter.NONE)
+	 * </pre>
+	 * 
+	 * The value {@code Jitter.FULL} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ExponentialDelayBuilder<P>, Jitter> jitter() {
+		return jitterValueBuilder;
+	}
+
 	@Override
 	public RetryStrategy build() {
 		int evaluatedMaxRetries = buildMaxRetries();
@@ -241,7 +414,7 @@ public class ExponentialDelayBuilder<P> extends AbstractParent<P> implements Bui
 		if (evaluatedMaxRetries == 0 || evaluatedInitialDelay == 0) {
 			return null;
 		}
-		return buildContext.register(new ExponentialDelayRetry(evaluatedMaxRetries, evaluatedInitialDelay));
+		return buildContext.register(new ExponentialDelayRetry(evaluatedMaxRetries, evaluatedInitialDelay, buildMaxDelay(), buildJitter()));
 	}
 
 	private int buildMaxRetries() {
@@ -251,4 +424,12 @@ public class ExponentialDelayBuilder<P> extends AbstractParent<P> implements Bui
 	private long buildInitialDelay() {
 		return initialDelayValueBuilder.getValue(0L);
 	}
+
+	private long buildMaxDelay() {
+		return maxDelayValueBuilder.getValue(0L);
+	}
+
+	private Jitter buildJitter() {
+		return jitterValueBuilder.getValue(Jitter.NONE);
+	}
 }
@@ -0,0 +1,234 @@
+package fr.sii.ogham.core.builder.retry;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.retry.RetryBudget;
+
+/**
+ * Configures the budget that limits the retries of all executions (see
+ * {@link RetryBudget}).
+ *
+ * For example:
+ *
+ * <pre>
+ * .capacity(20)
+ * .refillRate(2.0)
+ * </pre>
+ *
+ * Means that at most 20 retries can be done in a burst. Then 2 retries per
+ * second are allowed. When the budget is exhausted, the action is not retried
+ * and the execution fails immediately.
+ *
+ * <p>
+ * If the capacity is not set, retries are not limited.
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <P>
+ *            the type of the parent builder (when calling {@link #and()}
+ *            method)
+ */
+public class RetryBudgetBuilder<P> extends AbstractParent<P> implements Builder<RetryBudget> {
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<RetryBudgetBuilder<P>, Integer> capacityValueBuilder;
+	private final ConfigurationValueBuilderHelper<RetryBudgetBuilder<P>, Double> refillRateValueBuilder;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link EnvironmentBuilder} is
+	 * used to evaluate properties when {@link #build()} method is called.
+	 *
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public RetryBudgetBuilder(P parent, BuildContext buildContext) {
+		super(parent);
+		this.buildContext = buildContext;
+		capacityValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		refillRateValueBuilder = buildContext.newConfigurationValueBuilder(this, Double.class);
+	}
+
+	/**
+	 * Set the maximum number of retries that can be done in a burst.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #capacity()}.
+	 *
+	 * <pre>
+	 * .capacity(20)
+	 * .capacity()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .capacity(20)
+	 * .capacity()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 *
+	 * In both cases, {@code capacity(20)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param capacity
+	 *            the maximum number of retries in a burst
+	 * @return this instance for fluent chaining
+	 */
+	public RetryBudgetBuilder<P> capacity(Integer capacity) {
+		capacityValueBuilder.setValue(capacity);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of retries that can be done in a burst.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .capacity()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #capacity(Integer)} takes precedence
+	 * over property values and default value.
+	 *
+	 * <pre>
+	 * .capacity(20)
+	 * .capacity()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 *
+	 * The value {@code 20} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<RetryBudgetBuilder<P>, Integer> capacity() {
+		return capacityValueBuilder;
+	}
+
+	/**
+	 * Set the number of retries allowed per second once the burst capacity is
+	 * consumed.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #refillRate()}.
+	 *
+	 * <pre>
+	 * .refillRate(2.0)
+	 * .refillRate()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(10.0)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .refillRate(2.0)
+	 * .refillRate()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(10.0)
+	 * </pre>
+	 *
+	 * In both cases, {@code refillRate(2.0)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param refillRate
+	 *            the number of retries allowed per second
+	 * @return this instance for fluent chaining
+	 */
+	public RetryBudgetBuilder<P> refillRate(Double refillRate) {
+		refillRateValueBuilder.setValue(refillRate);
+		return this;
+	}
+
+	/**
+	 * Set the number of retries allowed per second once the burst capacity is
+	 * consumed.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .refillRate()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(10.0)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #refillRate(Double)} takes precedence
+	 * over property values and default value.
+	 *
+	 * <pre>
+	 * .refillRate(2.0)
+	 * .refillRate()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(10.0)
+	 * </pre>
+	 *
+	 * The value {@code 2.0} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<RetryBudgetBuilder<P>, Double> refillRate() {
+		return refillRateValueBuilder;
+	}
+
+	@Override
+	public RetryBudget build() {
+		int evaluatedCapacity = buildCapacity();
+		if (evaluatedCapacity <= 0) {
+			return null;
+		}
+		return buildContext.register(new RetryBudget(evaluatedCapacity, buildRefillRate()));
+	}
+
+	private int buildCapacity() {
+		return capacityValueBuilder.getValue(0);
+	}
+
+	private double buildRefillRate() {
+		return refillRateValueBuilder.getValue(0.0);
+	}
+}
@@ -14,6 +14,7 @@ import fr.sii.ogham.core.retry.ExponentialDelayRetry;
 import fr.sii.ogham.core.retry.FixedDelayRetry;
 import fr.sii.ogham.core.retry.FixedIntervalRetry;
 import fr.sii.ogham.core.retry.PerExecutionDelayRetry;
+import fr.sii.ogham.core.retry.RetryBudget;
 import fr.sii.ogham.core.retry.RetryExecutor;
 import fr.sii.ogham.core.retry.RetryStrategy;
 import fr.sii.ogham.core.retry.RetryStrategyProvider;
@@ -52,6 +53,7 @@ public class RetryBuilder<P> extends AbstractParent<P> implements Builder<RetryE
 	private ExponentialDelayBuilder<RetryBuilder<P>> exponentialDelay;
 	private PerExecutionDelayBuilder<RetryBuilder<P>> perExecutionDelay;
 	private FixedIntervalBuilder<RetryBuilder<P>> fixedInterval;
+	private RetryBudgetBuilder<RetryBuilder<P>> budget;
 	private Awaiter awaiter;
 	private RetryExecutor executor;
 	private RetryExecutorFactory executorFactory;
@@ -255,6 +257,34 @@ public class RetryBuilder<P> extends AbstractParent<P> implements Builder<RetryE
 		return fixedInterval;
 	}
 
+	/**
+	 * Limit the retries of all executions using a token bucket (see
+	 * {@link RetryBudget}).
+	 * 
+	 * <p>
+	 * When a remote system is failing, every execution is retried several
+	 * times. The budget is shared by all executions so that retries can't
+	 * amplify the load. Each retry consumes a token. When there is no token
+	 * left, the action is not retried and the execution fails immediately.
+	 * 
+	 * <pre>
+	 * .budget()
+	 *    .capacity(20)
+	 *    .refillRate(2.0)
+	 * </pre>
+	 * 
+	 * <p>
+	 * If the capacity is not configured, retries are not limited.
+	 * 
+	 * @return the builder to configure the retry budget
+	 */
+	public RetryBudgetBuilder<RetryBuilder<P>> budget() {
+		if (budget == null) {
+			budget = new RetryBudgetBuilder<>(this, buildContext);
+		}
+		return budget;
+	}
+
 	/**
 	 * Change implementation used to wait for some delay between retries.
 	 * 
@@ -419,7 +449,7 @@ public class RetryBuilder<P> extends AbstractParent<P> implements Builder<RetryE
 		if (executorFactory != null) {
 			return executorFactory.create(retryProvider, builtAwaiter);
 		}
-		return buildContext.register(new SimpleRetryExecutor(retryProvider, builtAwaiter, buildRetryable()));
+		return buildContext.register(new SimpleRetryExecutor(retryProvider, builtAwaiter, buildRetryable(), buildContext.getMetricsRecorder(), buildBudget()));
 	}
 
 	private Builder<RetryStrategy> buildRetryStrategy() {
@@ -452,6 +482,13 @@ public class RetryBuilder<P> extends AbstractParent<P> implements Builder<RetryE
 		return awaiter;
 	}
 
+	private RetryBudget buildBudget() {
+		if (budget == null) {
+			return null;
+		}
+		return budget.build();
+	}
+
 	private Predicate<Throwable> buildRetryable() {
 		if (retryable == null) {
 			return e -> e instanceof Exception;
@@ -1,6 +1,7 @@
 package fr.sii.ogham.core.builder.sender;
 
 import static fr.sii.ogham.core.util.BuilderUtils.instantiateBuilder;
+import static fr.sii.ogham.core.util.MetricsUtils.metered;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,12 +19,16 @@ import fr.sii.ogham.core.builder.context.BuildContext;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.builder.priority.ImplementationPriorityProvider;
 import fr.sii.ogham.core.builder.priority.PriorityProvider;
+import fr.sii.ogham.core.builder.ratelimit.RateLimitedBuilder;
 import fr.sii.ogham.core.condition.Condition;
 import fr.sii.ogham.core.condition.fluent.MessageConditions;
 import fr.sii.ogham.core.condition.provider.ImplementationConditionProvider;
 import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.ratelimit.RateLimiter;
 import fr.sii.ogham.core.sender.MessageSender;
 import fr.sii.ogham.core.sender.MultiImplementationSender;
+import fr.sii.ogham.core.sender.RateLimitedSender;
 
 /**
  * Helps to configure a {@link MultiImplementationSender}.
@@ -225,23 +230,40 @@ public class SenderImplementationBuilderHelper<P> {
 	 * is used, then the custom implementation will be always used. All other
 	 * implementations (even standard ones) will never be used.
 	 * </p>
-	 * 
+	 *
+	 * <p>
+	 * If a builder implements {@link RateLimitedBuilder} and a rate limit is
+	 * configured, the built sender is decorated by a {@link RateLimitedSender}.
+	 * </p>
+	 *
 	 * @param mainSender
 	 *            the sender that manages several implementations
 	 */
 	public void addSenders(MultiImplementationSender<?> mainSender) {
 		ImplementationConditionProvider implementationSelection = new ImplementationConditionProvider(buildContext.getPropertyResolver());
+		MetricsRecorder metrics = buildContext.getMetricsRecorder();
 		for (MessageSender customSender : customSenders) {
 			LOG.debug("Custom implementation {} registered into {}", customSender, mainSender);
-			mainSender.addImplementation(implementationSelection.provide(customSender), buildContext.register(customSender), priorityProvider.provide(customSender));
+			mainSender.addImplementation(implementationSelection.provide(customSender), metered(buildContext.register(customSender), metrics), priorityProvider.provide(customSender));
 		}
 		for (Builder<? extends MessageSender> builder : senderBuilders) {
 			MessageSender sender = builder.build();
 			if (sender != null) {
 				LOG.debug("Implementation {} registered into {}", sender, mainSender);
-				mainSender.addImplementation(implementationSelection.provide(builder), sender, priorityProvider.provide(sender));
+				mainSender.addImplementation(implementationSelection.provide(builder), rateLimited(builder, metered(sender, metrics)), priorityProvider.provide(sender));
 			}
 		}
 	}
 
+	private MessageSender rateLimited(Builder<? extends MessageSender> builder, MessageSender sender) {
+		if (!(builder instanceof RateLimitedBuilder)) {
+			return sender;
+		}
+		RateLimiter rateLimiter = ((RateLimitedBuilder) builder).rateLimit().build();
+		if (rateLimiter == null) {
+			return sender;
+		}
+		LOG.debug("Rate limit {} applied to {}", rateLimiter, sender);
+		return buildContext.register(new RateLimitedSender(sender, rateLimiter));
+	}
 }
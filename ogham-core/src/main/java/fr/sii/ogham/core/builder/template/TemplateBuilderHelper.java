@@ -1,6 +1,7 @@
 package fr.sii.ogham.core.builder.template;
 
 import static fr.sii.ogham.core.util.BuilderUtils.instantiateBuilder;
+import static fr.sii.ogham.core.util.MetricsUtils.metered;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,9 +17,11 @@ import fr.sii.ogham.core.builder.context.BuildContext;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.builder.priority.ImplementationPriorityProvider;
 import fr.sii.ogham.core.builder.priority.PriorityProvider;
+import fr.sii.ogham.core.cache.CacheManager;
 import fr.sii.ogham.core.exception.builder.BuildException;
 import fr.sii.ogham.core.message.content.MultiTemplateContent;
 import fr.sii.ogham.core.message.content.Variant;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
 import fr.sii.ogham.core.template.detector.FixedEngineDetector;
 import fr.sii.ogham.core.template.detector.TemplateEngineDetector;
 import fr.sii.ogham.core.template.parser.AutoDetectTemplateParser;
@@ -40,7 +43,8 @@ import fr.sii.ogham.template.common.adapter.VariantResolver;
  * </p>
  * 
  * <p>
- * It also configures how to handle missing variant (either fail or do nothing).
+ * It also configures how to handle missing variant (either fail or do nothing)
+ * and how template resolution is cached.
  * </p>
  * 
  * @author Aurélien Baudet
@@ -59,6 +63,8 @@ public class TemplateBuilderHelper<P> {
 	private final ConfigurationValueBuilderHelper<TemplateBuilderHelper<P>, Boolean> listPossiblePathsValueBuilder;
 	private final PriorityProvider<TemplateParser> priorityProvider;
 	private VariantResolver missingResolver;
+	private TemplateCacheBuilder<P> cacheBuilder;
+	private CacheManager cacheManager;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -277,6 +283,19 @@ public class TemplateBuilderHelper<P> {
 		this.missingResolver = resolver;
 	}
 
+	/**
+	 * Configures caching of template resolution (resolved path for a variant
+	 * and the template engine used to parse the template).
+	 * 
+	 * @return the builder to configure template resolution caching
+	 */
+	public TemplateCacheBuilder<P> cache() {
+		if (cacheBuilder == null) {
+			cacheBuilder = new TemplateCacheBuilder<>(parent, buildContext);
+		}
+		return cacheBuilder;
+	}
+
 	/**
 	 * Registers and configures a {@link TemplateParser} through a dedicated
 	 * builder.
@@ -360,7 +379,7 @@ public class TemplateBuilderHelper<P> {
 		}
 		LOG.info("Using auto detection mechanism");
 		LOG.debug("Auto detection mechanisms: {}", impls);
-		return buildContext.register(new AutoDetectTemplateParser(impls));
+		return buildContext.register(new AutoDetectTemplateParser(impls, buildCacheManager().newCache()));
 	}
 
 	/**
@@ -373,7 +392,7 @@ public class TemplateBuilderHelper<P> {
 	 * @return the variant resolver
 	 */
 	public VariantResolver buildVariant() {
-		FirstExistingResourceVariantResolver variantResolver = buildContext.register(new FirstExistingResourceVariantResolver(buildDefaultVariantResolver()));
+		FirstExistingResourceVariantResolver variantResolver = buildContext.register(new FirstExistingResourceVariantResolver(buildDefaultVariantResolver(), new ArrayList<>(), buildCacheManager().newCache()));
 		for (Builder<? extends TemplateParser> builder : templateBuilders) {
 			if (builder instanceof VariantBuilder) {
 				variantResolver.addVariantResolver(((VariantBuilder<?>) builder).buildVariant());
@@ -382,6 +401,13 @@ public class TemplateBuilderHelper<P> {
 		return variantResolver;
 	}
 
+	private CacheManager buildCacheManager() {
+		if (cacheManager == null) {
+			cacheManager = cache().build();
+		}
+		return cacheManager;
+	}
+
 	@SuppressWarnings("squid:S5411")
 	private VariantResolver buildDefaultVariantResolver() {
 		if (missingResolver != null) {
@@ -409,6 +435,7 @@ public class TemplateBuilderHelper<P> {
 
 	private List<TemplateImplementation> buildTemplateParserImpls() {
 		PriorizedList<TemplateImplementation> impls = new PriorizedList<>();
+		MetricsRecorder metrics = buildContext.getMetricsRecorder();
 		for (Builder<? extends TemplateParser> builder : templateBuilders) {
 			TemplateEngineDetector detector;
 			if (builder instanceof DetectorBuilder) {
@@ -417,7 +444,7 @@ public class TemplateBuilderHelper<P> {
 				detector = buildContext.register(new FixedEngineDetector(true));
 			}
 			TemplateParser templateParser = builder.build();
-			impls.register(new TemplateImplementation(detector, templateParser), priorityProvider.provide(templateParser));
+			impls.register(new TemplateImplementation(detector, metered(templateParser, metrics)), priorityProvider.provide(templateParser));
 		}
 		return impls.getOrdered();
 	}
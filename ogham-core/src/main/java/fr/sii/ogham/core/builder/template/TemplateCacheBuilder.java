@@ -0,0 +1,365 @@
+package fr.sii.ogham.core.builder.template;
+
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_TEMPLATE_CACHE_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_TEMPLATE_CACHE_MAX_SIZE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_TEMPLATE_CACHE_TIME_TO_LIVE;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.cache.CacheManager;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.template.parser.AutoDetectTemplateParser;
+import fr.sii.ogham.template.common.adapter.FirstExistingResourceVariantResolver;
+
+/**
+ * Configures caching of template resolution.
+ * 
+ * <p>
+ * Before parsing a template, Ogham has to find the real path of the template
+ * for the variant (this requires to check if the resource exists in the
+ * classpath or on the filesystem for each possible path) and to determine which
+ * template engine can parse the template. When the same templates are used
+ * again and again, this work can be done only once and the result cached.
+ * 
+ * This builder let you configure:
+ * <ul>
+ * <li>Enable/disable caching</li>
+ * <li>The time a resolution result is kept in the cache</li>
+ * <li>The maximum number of results kept in the cache</li>
+ * </ul>
+ * 
+ * <p>
+ * In order to explicitly invalidate cached results, you can provide your own
+ * {@link CacheManager} (see {@link #manager(CacheManager)}) and then call
+ * {@link CacheManager#invalidateAll()}.
+ * 
+ * @author Aurélien Baudet
+ *
+ * @param <P>
+ *            the type of the parent builder (when calling {@link #and()}
+ *            method)
+ * @see FirstExistingResourceVariantResolver
+ * @see AutoDetectTemplateParser
+ */
+public class TemplateCacheBuilder<P> extends AbstractParent<P> implements Builder<CacheManager> {
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<TemplateCacheBuilder<P>, Boolean> enableValueBuilder;
+	private final ConfigurationValueBuilderHelper<TemplateCacheBuilder<P>, Long> timeToLiveValueBuilder;
+	private final ConfigurationValueBuilderHelper<TemplateCacheBuilder<P>, Integer> maxSizeValueBuilder;
+	private CacheManager manager;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link BuildContext} is used to
+	 * evaluate properties when {@link #build()} method is called.
+	 * 
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public TemplateCacheBuilder(P parent, BuildContext buildContext) {
+		super(parent);
+		this.buildContext = buildContext;
+		this.enableValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
+		this.timeToLiveValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
+		this.maxSizeValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+	}
+
+	/**
+	 * Enable or disable caching of template resolution. If enabled, the
+	 * resolved path of a template (for a variant and a locale) and the template
+	 * engine used to parse it are computed only once and then read from the
+	 * cache.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #enable()}.
+	 * 
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 * 
+	 * In both cases, {@code enable(false)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param enable
+	 *            true to enable caching
+	 * @return this instance for fluent chaining
+	 */
+	public TemplateCacheBuilder<P> enable(Boolean enable) {
+		enableValueBuilder.setValue(enable);
+		return this;
+	}
+
+	/**
+	 * Enable or disable caching of template resolution. If enabled, the
+	 * resolved path of a template (for a variant and a locale) and the template
+	 * engine used to parse it are computed only once and then read from the
+	 * cache.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #enable(Boolean)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 * 
+	 * The value {@code false} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<TemplateCacheBuilder<P>, Boolean> enable() {
+		return enableValueBuilder;
+	}
+
+	/**
+	 * The time (in milliseconds) a resolution result is kept in the cache.
+	 * Once expired, the template is resolved again. This lets the application
+	 * take into account templates that are added or removed while running.
+	 * 
+	 * <p>
+	 * If the value is 0 or negative, cached results never expire.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #timeToLive()}.
+	 * 
+	 * <pre>
+	 * .timeToLive(300000L)
+	 * .timeToLive()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(60000L)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .timeToLive(300000L)
+	 * .timeToLive()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(60000L)
+	 * </pre>
+	 * 
+	 * In both cases, {@code timeToLive(300000L)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param timeToLive
+	 *            the time to live in milliseconds
+	 * @return this instance for fluent chaining
+	 */
+	public TemplateCacheBuilder<P> timeToLive(Long timeToLive) {
+		timeToLiveValueBuilder.setValue(timeToLive);
+		return this;
+	}
+
+	/**
+	 * The time (in milliseconds) a resolution result is kept in the cache.
+	 * Once expired, the template is resolved again. This lets the application
+	 * take into account templates that are added or removed while running.
+	 * 
+	 * <p>
+	 * If the value is 0 or negative, cached results never expire.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .timeToLive()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(60000L)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #timeToLive(Long)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .timeToLive(300000L)
+	 * .timeToLive()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(60000L)
+	 * </pre>
+	 * 
+	 * The value {@code 300000L} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<TemplateCacheBuilder<P>, Long> timeToLive() {
+		return timeToLiveValueBuilder;
+	}
+
+	/**
+	 * The maximum number of resolution results kept in each cache. When the
+	 * limit is reached, the oldest results are removed.
+	 * 
+	 * <p>
+	 * If the value is 0 or negative, the size of the cache is unbounded.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxSize()}.
+	 * 
+	 * <pre>
+	 * .maxSize(100)
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .maxSize(100)
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 * 
+	 * In both cases, {@code maxSize(100)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param maxSize
+	 *            the maximum number of cached results
+	 * @return this instance for fluent chaining
+	 */
+	public TemplateCacheBuilder<P> maxSize(Integer maxSize) {
+		maxSizeValueBuilder.setValue(maxSize);
+		return this;
+	}
+
+	/**
+	 * The maximum number of resolution results kept in each cache. When the
+	 * limit is reached, the oldest results are removed.
+	 * 
+	 * <p>
+	 * If the value is 0 or negative, the size of the cache is unbounded.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #maxSize(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .maxSize(100)
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(1000)
+	 * </pre>
+	 * 
+	 * The value {@code 100} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<TemplateCacheBuilder<P>, Integer> maxSize() {
+		return maxSizeValueBuilder;
+	}
+
+	/**
+	 * Use a {@link CacheManager} provided by the application instead of
+	 * creating a new one. This way, the application keeps a reference to the
+	 * manager in order to invalidate cached results (when templates are
+	 * updated for example).
+	 * 
+	 * <p>
+	 * If a manager is provided, the other options of this builder are not used
+	 * (the manager is already configured).
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * @param manager
+	 *            the cache manager to use
+	 * @return this instance for fluent chaining
+	 */
+	public TemplateCacheBuilder<P> manager(CacheManager manager) {
+		this.manager = manager;
+		return this;
+	}
+
+	@Override
+	public CacheManager build() {
+		if (manager != null) {
+			return manager;
+		}
+		boolean enabled = enableValueBuilder.getValue(DEFAULT_TEMPLATE_CACHE_ENABLE);
+		long timeToLive = timeToLiveValueBuilder.getValue(DEFAULT_TEMPLATE_CACHE_TIME_TO_LIVE);
+		int maxSize = maxSizeValueBuilder.getValue(DEFAULT_TEMPLATE_CACHE_MAX_SIZE);
+		return buildContext.register(new CacheManager(enabled, timeToLive, maxSize));
+	}
+}
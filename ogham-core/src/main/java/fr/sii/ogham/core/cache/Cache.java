@@ -0,0 +1,53 @@
+package fr.sii.ogham.core.cache;
+
+/**
+ * A cache that stores values computed for a key in order to avoid computing
+ * them again.
+ *
+ * <p>
+ * The cache may store {@code null} values. This is useful to remember that a
+ * lookup has been done but nothing was found (negative lookup).
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <K>
+ *            the type of the keys
+ * @param <V>
+ *            the type of the cached values
+ */
+public interface Cache<K, V> {
+	/**
+	 * Get the value associated to the key. If there is no value in the cache
+	 * (or the value has expired), the value is computed using the loader and
+	 * then stored in the cache.
+	 *
+	 * <p>
+	 * If the loader fails, nothing is stored in the cache and the exception is
+	 * propagated.
+	 *
+	 * @param <E>
+	 *            the type of the exception that may be thrown by the loader
+	 * @param key
+	 *            the key
+	 * @param loader
+	 *            the function used to compute the value if it is not cached
+	 * @return the value (may be null)
+	 * @throws E
+	 *             when the loader has failed to compute the value
+	 */
+	<E extends Exception> V get(K key, CacheLoader<K, V, E> loader) throws E;
+
+	/**
+	 * Remove the value associated to the key (if any). The next call to
+	 * {@link #get(Object, CacheLoader)} will compute the value again.
+	 *
+	 * @param key
+	 *            the key
+	 */
+	void invalidate(K key);
+
+	/**
+	 * Remove all values stored in the cache.
+	 */
+	void invalidateAll();
+}
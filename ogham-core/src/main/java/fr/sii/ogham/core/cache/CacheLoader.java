@@ -0,0 +1,27 @@
+package fr.sii.ogham.core.cache;
+
+/**
+ * Computes the value to store in a {@link Cache} for a key.
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <K>
+ *            the type of the key
+ * @param <V>
+ *            the type of the value
+ * @param <E>
+ *            the type of the exception that may be thrown
+ */
+@FunctionalInterface
+public interface CacheLoader<K, V, E extends Exception> {
+	/**
+	 * Compute the value for the key.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the value (may be null)
+	 * @throws E
+	 *             when the value couldn't be computed
+	 */
+	V load(K key) throws E;
+}
@@ -0,0 +1,82 @@
+package fr.sii.ogham.core.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates caches that share the same configuration and keeps track of them in
+ * order to be able to invalidate all of them at once.
+ *
+ * <p>
+ * If caching is disabled, the created caches don't store anything (see
+ * {@link NoCache}). Otherwise, the created caches are {@link ExpiringCache}s.
+ *
+ * <p>
+ * The application can provide its own instance (for example, using
+ * {@code templateCache().manager(cacheManager)} on email or sms builder) in
+ * order to keep a reference and call {@link #invalidateAll()} when templates
+ * are updated.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class CacheManager {
+	private final boolean enabled;
+	private final long timeToLive;
+	private final int maxSize;
+	private final List<Cache<?, ?>> caches;
+
+	/**
+	 * Initializes with the configuration applied to all created caches.
+	 *
+	 * @param enabled
+	 *            if false, created caches don't store anything
+	 * @param timeToLive
+	 *            the time to live of each value in milliseconds (0 or negative
+	 *            for no expiration)
+	 * @param maxSize
+	 *            the maximum number of values per cache (0 or negative for
+	 *            unbounded)
+	 */
+	public CacheManager(boolean enabled, long timeToLive, int maxSize) {
+		super();
+		this.enabled = enabled;
+		this.timeToLive = timeToLive;
+		this.maxSize = maxSize;
+		this.caches = new CopyOnWriteArrayList<>();
+	}
+
+	/**
+	 * Create a new cache using the configuration of this manager.
+	 *
+	 * @param <K>
+	 *            the type of the keys
+	 * @param <V>
+	 *            the type of the values
+	 * @return the new cache
+	 */
+	public <K, V> Cache<K, V> newCache() {
+		if (!enabled) {
+			return new NoCache<>();
+		}
+		Cache<K, V> cache = new ExpiringCache<>(timeToLive, maxSize);
+		caches.add(cache);
+		return cache;
+	}
+
+	/**
+	 * Remove all values stored in all the caches created by this manager.
+	 */
+	public void invalidateAll() {
+		for (Cache<?, ?> cache : caches) {
+			cache.invalidateAll();
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("CacheManager [enabled=").append(enabled).append(", timeToLive=").append(timeToLive).append("ms, maxSize=").append(maxSize).append("]");
+		return builder.toString();
+	}
+}
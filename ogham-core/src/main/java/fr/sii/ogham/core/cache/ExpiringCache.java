@@ -0,0 +1,150 @@
+package fr.sii.ogham.core.cache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Simple in-memory cache:
+ * <ul>
+ * <li>A value is kept in the cache at most {@code timeToLive} milliseconds.
+ * Once expired, the value is computed again. If {@code timeToLive} is 0 or
+ * negative, the values never expire.</li>
+ * <li>The cache contains at most {@code maxSize} values. When the limit is
+ * reached, expired values are removed first and then the oldest computed
+ * values. If {@code maxSize} is 0 or negative, the size is unbounded.</li>
+ * </ul>
+ *
+ * <p>
+ * Reading a cached value is a simple lookup in a {@link ConcurrentHashMap} so
+ * the cache can be shared between threads without contention. If several
+ * threads ask for the same missing key at the same time, the value may be
+ * computed several times (the last computed value is kept). A {@code null}
+ * key is never cached.
+ *
+ * <p>
+ * This cache is designed to store few values that are read very often (for
+ * example, the resolution result of the templates used by an application).
+ * Eviction is not optimized for large caches.
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <K>
+ *            the type of the keys
+ * @param <V>
+ *            the type of the values
+ */
+public class ExpiringCache<K, V> implements Cache<K, V> {
+	private final long timeToLive;
+	private final int maxSize;
+	private final Map<K, CachedValue<V>> values;
+
+	/**
+	 * Initializes the cache with the time to live of the values and the
+	 * maximum number of values.
+	 *
+	 * @param timeToLive
+	 *            the time to live of each value in milliseconds (0 or negative
+	 *            for no expiration)
+	 * @param maxSize
+	 *            the maximum number of values (0 or negative for unbounded)
+	 */
+	public ExpiringCache(long timeToLive, int maxSize) {
+		super();
+		this.timeToLive = timeToLive <= 0 ? 0 : MILLISECONDS.toNanos(timeToLive);
+		this.maxSize = maxSize;
+		this.values = new ConcurrentHashMap<>();
+	}
+
+	@Override
+	public <E extends Exception> V get(K key, CacheLoader<K, V, E> loader) throws E {
+		if (key == null) {
+			return loader.load(key);
+		}
+		long now = System.nanoTime();
+		CachedValue<V> cached = values.get(key);
+		if (cached != null && !cached.isExpired(now)) {
+			return cached.getValue();
+		}
+		V value = loader.load(key);
+		values.put(key, new CachedValue<>(value, now));
+		if (maxSize > 0 && values.size() > maxSize) {
+			evict(now);
+		}
+		return value;
+	}
+
+	@Override
+	public void invalidate(K key) {
+		if (key != null) {
+			values.remove(key);
+		}
+	}
+
+	@Override
+	public void invalidateAll() {
+		values.clear();
+	}
+
+	/**
+	 * The number of values currently stored in the cache (including expired
+	 * values that are not removed yet).
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return values.size();
+	}
+
+	private void evict(long now) {
+		values.values().removeIf(v -> v.isExpired(now));
+		while (values.size() > maxSize) {
+			removeOldest();
+		}
+	}
+
+	private void removeOldest() {
+		Entry<K, CachedValue<V>> oldest = null;
+		for (Entry<K, CachedValue<V>> entry : values.entrySet()) {
+			if (oldest == null || entry.getValue().getLoadedAt() - oldest.getValue().getLoadedAt() < 0) {
+				oldest = entry;
+			}
+		}
+		if (oldest != null) {
+			values.remove(oldest.getKey(), oldest.getValue());
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ExpiringCache [timeToLive=").append(NANOSECONDS.toMillis(timeToLive)).append("ms, maxSize=").append(maxSize).append("]");
+		return builder.toString();
+	}
+
+	private class CachedValue<T> {
+		private final T value;
+		private final long loadedAt;
+
+		public CachedValue(T value, long loadedAt) {
+			super();
+			this.value = value;
+			this.loadedAt = loadedAt;
+		}
+
+		public T getValue() {
+			return value;
+		}
+
+		public long getLoadedAt() {
+			return loadedAt;
+		}
+
+		public boolean isExpired(long now) {
+			return timeToLive > 0 && now - loadedAt >= timeToLive;
+		}
+	}
+}
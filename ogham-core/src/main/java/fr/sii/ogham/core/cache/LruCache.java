@@ -0,0 +1,165 @@
+package fr.sii.ogham.core.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-memory cache that evicts the least recently used values:
+ * <ul>
+ * <li>The cache contains at most {@code maxSize} values. If {@code maxSize} is
+ * 0 or negative, the number of values is unbounded.</li>
+ * <li>The total weight of the values is at most {@code maxWeight}. The weight
+ * of each value is computed once using the weigher when the value is stored
+ * (the size in bytes of a file content for example). If {@code maxWeight} is 0
+ * or negative, the total weight is unbounded.</li>
+ * </ul>
+ *
+ * <p>
+ * When one of the limits is exceeded, the values that have not been read for
+ * the longest time are removed first. A value that is heavier than
+ * {@code maxWeight} is returned but not stored.
+ *
+ * <p>
+ * Values are never computed while holding the lock so a slow loader doesn't
+ * block readers. If several threads ask for the same missing key at the same
+ * time, the value may be computed several times (the last computed value is
+ * kept). A {@code null} key is never cached.
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <K>
+ *            the type of the keys
+ * @param <V>
+ *            the type of the values
+ */
+public class LruCache<K, V> implements Cache<K, V> {
+	private final int maxSize;
+	private final long maxWeight;
+	private final ToLongFunction<V> weigher;
+	private final LinkedHashMap<K, WeightedValue<V>> values;
+	private long weight;
+
+	/**
+	 * Initializes the cache with the maximum number of values and the maximum
+	 * total weight.
+	 *
+	 * @param maxSize
+	 *            the maximum number of values (0 or negative for unbounded)
+	 * @param maxWeight
+	 *            the maximum total weight of the values (0 or negative for
+	 *            unbounded)
+	 * @param weigher
+	 *            computes the weight of a value
+	 */
+	public LruCache(int maxSize, long maxWeight, ToLongFunction<V> weigher) {
+		super();
+		this.maxSize = maxSize;
+		this.maxWeight = maxWeight;
+		this.weigher = weigher;
+		this.values = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	@Override
+	public <E extends Exception> V get(K key, CacheLoader<K, V, E> loader) throws E {
+		if (key == null) {
+			return loader.load(key);
+		}
+		synchronized (this) {
+			WeightedValue<V> cached = values.get(key);
+			if (cached != null) {
+				return cached.getValue();
+			}
+		}
+		V value = loader.load(key);
+		put(key, value);
+		return value;
+	}
+
+	@Override
+	public synchronized void invalidate(K key) {
+		if (key != null) {
+			remove(values.remove(key));
+		}
+	}
+
+	@Override
+	public synchronized void invalidateAll() {
+		values.clear();
+		weight = 0;
+	}
+
+	/**
+	 * The number of values currently stored in the cache.
+	 *
+	 * @return the number of values
+	 */
+	public synchronized int size() {
+		return values.size();
+	}
+
+	/**
+	 * The total weight of the values currently stored in the cache.
+	 *
+	 * @return the total weight
+	 */
+	public synchronized long weight() {
+		return weight;
+	}
+
+	private synchronized void put(K key, V value) {
+		long valueWeight = value == null ? 0 : weigher.applyAsLong(value);
+		if (maxWeight > 0 && valueWeight > maxWeight) {
+			remove(values.remove(key));
+			return;
+		}
+		remove(values.put(key, new WeightedValue<>(value, valueWeight)));
+		weight += valueWeight;
+		evict();
+	}
+
+	private void evict() {
+		Iterator<Entry<K, WeightedValue<V>>> it = values.entrySet().iterator();
+		while (isOverLimits() && it.hasNext()) {
+			weight -= it.next().getValue().getWeight();
+			it.remove();
+		}
+	}
+
+	private boolean isOverLimits() {
+		return (maxSize > 0 && values.size() > maxSize) || (maxWeight > 0 && weight > maxWeight);
+	}
+
+	private void remove(WeightedValue<V> removed) {
+		if (removed != null) {
+			weight -= removed.getWeight();
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("LruCache [maxSize=").append(maxSize).append(", maxWeight=").append(maxWeight).append("]");
+		return builder.toString();
+	}
+
+	private static class WeightedValue<T> {
+		private final T value;
+		private final long weight;
+
+		public WeightedValue(T value, long weight) {
+			super();
+			this.value = value;
+			this.weight = weight;
+		}
+
+		public T getValue() {
+			return value;
+		}
+
+		public long getWeight() {
+			return weight;
+		}
+	}
+}
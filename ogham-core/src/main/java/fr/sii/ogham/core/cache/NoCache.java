@@ -0,0 +1,34 @@
+package fr.sii.ogham.core.cache;
+
+/**
+ * Implementation that doesn't cache anything. The value is always computed.
+ *
+ * @author Aurélien Baudet
+ *
+ * @param <K>
+ *            the type of the keys
+ * @param <V>
+ *            the type of the values
+ */
+public class NoCache<K, V> implements Cache<K, V> {
+
+	@Override
+	public <E extends Exception> V get(K key, CacheLoader<K, V, E> loader) throws E {
+		return loader.load(key);
+	}
+
+	@Override
+	public void invalidate(K key) {
+		// nothing to do
+	}
+
+	@Override
+	public void invalidateAll() {
+		// nothing to do
+	}
+
+	@Override
+	public String toString() {
+		return "NoCache";
+	}
+}
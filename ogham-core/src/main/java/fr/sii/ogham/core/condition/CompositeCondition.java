@@ -43,6 +43,16 @@ public abstract class CompositeCondition<T> implements Condition<T> {
 		return this;
 	}
 
+	@Override
+	public boolean dependsOnTypeOnly() {
+		for (Condition<T> condition : conditions) {
+			if (!condition.dependsOnTypeOnly()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		return new EqualsBuilder(this, obj).appendFields("conditions").isEqual();
@@ -18,4 +18,18 @@ public interface Condition<T> {
 	 * @return true if the object is accepted, false otherwise
 	 */
 	boolean accept(T obj);
+
+	/**
+	 * Indicates if the result of {@link #accept(Object)} only depends on the
+	 * type of the tested object (or doesn't depend on the object at all). In
+	 * this case, the result may be cached per type.
+	 * 
+	 * <p>
+	 * By default, the result is considered as dependent on the object itself.
+	 * 
+	 * @return true if the result only depends on the type of the object
+	 */
+	default boolean dependsOnTypeOnly() {
+		return false;
+	}
 }
@@ -32,6 +32,11 @@ public class FixedCondition<T> implements Condition<T> {
 		return accept;
 	}
 
+	@Override
+	public boolean dependsOnTypeOnly() {
+		return true;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		return new EqualsBuilder(this, obj).appendFields("accept").isEqual();
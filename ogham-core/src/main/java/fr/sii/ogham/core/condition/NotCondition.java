@@ -34,6 +34,11 @@ public class NotCondition<T> implements Condition<T> {
 		return !condition.accept(obj);
 	}
 
+	@Override
+	public boolean dependsOnTypeOnly() {
+		return condition.dependsOnTypeOnly();
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		return new EqualsBuilder(this, obj).appendFields("condition").isEqual();
@@ -34,6 +34,11 @@ public class RequiredClassCondition<T> implements Condition<T> {
 	public boolean accept(T obj) {
 		return ClasspathUtils.exists(className);
 	}
+
+	@Override
+	public boolean dependsOnTypeOnly() {
+		return true;
+	}
 	
 	@Override
 	public boolean equals(Object obj) {
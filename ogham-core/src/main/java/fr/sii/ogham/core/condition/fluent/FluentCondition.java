@@ -116,6 +116,11 @@ public class FluentCondition<T> implements Condition<T> {
 		return delegate.accept(obj);
 	}
 
+	@Override
+	public boolean dependsOnTypeOnly() {
+		return delegate.dependsOnTypeOnly();
+	}
+
 	@Override
 	public String toString() {
 		return delegate.toString();
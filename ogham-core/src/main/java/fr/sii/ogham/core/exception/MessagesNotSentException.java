@@ -0,0 +1,55 @@
+package fr.sii.ogham.core.exception;
+
+import static fr.sii.ogham.core.CoreConstants.SERIAL_VERSION_UID;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.sii.ogham.core.message.Message;
+
+/**
+ * This specialized exception indicates that some {@link Message}s of a batch
+ * have not been sent.
+ * 
+ * <p>
+ * When several messages are sent at once, the failure of one message doesn't
+ * prevent the other messages from being sent. So the messages that are not
+ * referenced by this exception have been successfully sent.
+ * 
+ * <p>
+ * Each failure is available through {@link #getFailures()} and references the
+ * {@link Message} that couldn't be sent (see
+ * {@link MessageException#getOghamMessage()}).
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class MessagesNotSentException extends MessagingException {
+	private static final long serialVersionUID = SERIAL_VERSION_UID;
+
+	private final List<MessageException> failures;
+
+	public MessagesNotSentException(String message, List<MessageException> failures) {
+		super(message);
+		this.failures = unmodifiableList(failures);
+	}
+
+	/**
+	 * @return the failure for each message that couldn't be sent
+	 */
+	public List<MessageException> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * @return the messages that couldn't be sent
+	 */
+	public List<Message> getFailedMessages() {
+		List<Message> failed = new ArrayList<>(failures.size());
+		for (MessageException failure : failures) {
+			failed.add(failure.getOghamMessage());
+		}
+		return failed;
+	}
+}
@@ -0,0 +1,31 @@
+package fr.sii.ogham.core.exception.circuit;
+
+import static fr.sii.ogham.core.CoreConstants.SERIAL_VERSION_UID;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.sender.circuit.CircuitBreaker;
+
+/**
+ * Specialized exception that indicates that the message has not been given to
+ * a sender because the {@link CircuitBreaker} associated to the sender is open
+ * (the sender failed too often recently).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class CircuitOpenException extends MessageException {
+	private static final long serialVersionUID = SERIAL_VERSION_UID;
+
+	private final transient MessageSender sender;
+
+	public CircuitOpenException(String message, Message msg, MessageSender sender) {
+		super(message, msg);
+		this.sender = sender;
+	}
+
+	public MessageSender getSender() {
+		return sender;
+	}
+}
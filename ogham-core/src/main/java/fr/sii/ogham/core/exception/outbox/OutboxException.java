@@ -0,0 +1,26 @@
+package fr.sii.ogham.core.exception.outbox;
+
+import static fr.sii.ogham.core.CoreConstants.SERIAL_VERSION_UID;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.outbox.Outbox;
+
+/**
+ * Exception raised when a message can't be stored in the {@link Outbox} (the
+ * message can't be encoded or the journal can't be written for example) or
+ * when a stored message can't be read back.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class OutboxException extends MessagingException {
+	private static final long serialVersionUID = SERIAL_VERSION_UID;
+
+	public OutboxException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public OutboxException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,27 @@
+package fr.sii.ogham.core.exception.ratelimit;
+
+import static fr.sii.ogham.core.CoreConstants.SERIAL_VERSION_UID;
+
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.ratelimit.RateLimiter;
+
+/**
+ * Specialized exception that indicates that the message has not been sent
+ * because the maximum number of messages per second is reached (see
+ * {@link RateLimiter}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class RateLimitExceededException extends MessageNotSentException {
+	private static final long serialVersionUID = SERIAL_VERSION_UID;
+
+	public RateLimitExceededException(String message, Message msg) {
+		super(message, msg);
+	}
+
+	public RateLimitExceededException(String message, Message msg, Throwable cause) {
+		super(message, msg, cause);
+	}
+}
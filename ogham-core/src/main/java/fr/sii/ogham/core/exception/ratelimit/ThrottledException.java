@@ -0,0 +1,29 @@
+package fr.sii.ogham.core.exception.ratelimit;
+
+import static fr.sii.ogham.core.CoreConstants.SERIAL_VERSION_UID;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.ratelimit.RateLimiter;
+
+/**
+ * Exception raised by a sender implementation when the provider rejects a
+ * message because too many messages are sent.
+ *
+ * <p>
+ * If this exception is in the causes of a failure, the {@link RateLimiter}
+ * reduces the rate (see {@link RateLimiter#throttled()}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class ThrottledException extends MessagingException {
+	private static final long serialVersionUID = SERIAL_VERSION_UID;
+
+	public ThrottledException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public ThrottledException(String message) {
+		super(message);
+	}
+}
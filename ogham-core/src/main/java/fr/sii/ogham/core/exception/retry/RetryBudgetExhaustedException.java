@@ -0,0 +1,35 @@
+package fr.sii.ogham.core.exception.retry;
+
+import static fr.sii.ogham.core.CoreConstants.SERIAL_VERSION_UID;
+
+import java.util.List;
+
+import fr.sii.ogham.core.exception.MultipleCauseExceptionWrapper;
+import fr.sii.ogham.core.retry.RetryBudget;
+
+/**
+ * Specialized exception that indicates that the action couldn't be executed
+ * and no retry has been attempted because too many retries have been done
+ * recently (see {@link RetryBudget}).
+ *
+ * This exception provides the list of original exceptions thrown while trying
+ * to execute the action.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class RetryBudgetExhaustedException extends RetryExecutionFailureException {
+	private static final long serialVersionUID = SERIAL_VERSION_UID;
+
+	private final List<Exception> executionFailures;
+
+	public RetryBudgetExhaustedException(String message, List<Exception> executionFailures) {
+		super(message, new MultipleCauseExceptionWrapper(executionFailures));
+		this.executionFailures = executionFailures;
+	}
+
+	public List<Exception> getExecutionFailures() {
+		return executionFailures;
+	}
+
+}
@@ -0,0 +1,55 @@
+package fr.sii.ogham.core.filler;
+
+import static fr.sii.ogham.core.metrics.MetricNames.MESSAGE_FILL;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_IMPLEMENTATION;
+
+import fr.sii.ogham.core.exception.filler.FillMessageException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+
+/**
+ * Decorator that measures the time spent by a {@link MessageFiller} (to
+ * generate the default subject for example). The metric is tagged by the
+ * implementation (the class name of the decorated filler).
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class MeteredMessageFiller implements MessageFiller {
+	private final MessageFiller delegate;
+	private final MetricsRecorder metrics;
+	private final String implementation;
+
+	/**
+	 * Initializes with the filler to decorate and the recorder used to
+	 * register metrics.
+	 * 
+	 * @param delegate
+	 *            the filler that really fills the message
+	 * @param metrics
+	 *            the recorder
+	 */
+	public MeteredMessageFiller(MessageFiller delegate, MetricsRecorder metrics) {
+		super();
+		this.delegate = delegate;
+		this.metrics = metrics;
+		this.implementation = delegate.getClass().getSimpleName();
+	}
+
+	@Override
+	public void fill(Message message) throws FillMessageException {
+		long start = System.nanoTime();
+		try {
+			delegate.fill(message);
+		} finally {
+			metrics.recordTime(MESSAGE_FILL, System.nanoTime() - start, TAG_IMPLEMENTATION, implementation);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MeteredMessageFiller [delegate=").append(delegate).append("]");
+		return builder.toString();
+	}
+}
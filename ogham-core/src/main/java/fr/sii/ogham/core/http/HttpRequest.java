@@ -0,0 +1,99 @@
+package fr.sii.ogham.core.http;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An HTTP request that is executed by a {@link HttpTransport}.
+ *
+ * <p>
+ * The request is immutable. Use {@link #get(String)} or
+ * {@link #post(String, byte[], String)} to create a request.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class HttpRequest {
+	/**
+	 * The HTTP method (only methods used by Ogham are supported)
+	 */
+	public enum Method {
+		GET, POST
+	}
+
+	private final Method method;
+	private final String url;
+	private final Map<String, String> headers;
+	private final byte[] body;
+
+	/**
+	 * Initializes the request.
+	 *
+	 * @param method
+	 *            the HTTP method
+	 * @param url
+	 *            the full URL (including query string)
+	 * @param headers
+	 *            the HTTP headers
+	 * @param body
+	 *            the body (may be null)
+	 */
+	public HttpRequest(Method method, String url, Map<String, String> headers, byte[] body) {
+		super();
+		this.method = method;
+		this.url = url;
+		this.headers = unmodifiableMap(new LinkedHashMap<>(headers));
+		this.body = body;
+	}
+
+	/**
+	 * Creates a GET request without any header.
+	 *
+	 * @param url
+	 *            the full URL (including query string)
+	 * @return the request
+	 */
+	public static HttpRequest get(String url) {
+		return new HttpRequest(Method.GET, url, new LinkedHashMap<>(), null);
+	}
+
+	/**
+	 * Creates a POST request with a body.
+	 *
+	 * @param url
+	 *            the URL
+	 * @param body
+	 *            the body
+	 * @param contentType
+	 *            the content type of the body
+	 * @return the request
+	 */
+	public static HttpRequest post(String url, byte[] body, String contentType) {
+		Map<String, String> headers = new LinkedHashMap<>();
+		headers.put("Content-Type", contentType);
+		return new HttpRequest(Method.POST, url, headers, body);
+	}
+
+	public Method getMethod() {
+		return method;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	public byte[] getBody() {
+		return body;
+	}
+
+	@Override
+	public String toString() {
+		return method + " " + url;
+	}
+}
@@ -0,0 +1,43 @@
+package fr.sii.ogham.core.http;
+
+/**
+ * The response of a request executed by a {@link HttpTransport}.
+ *
+ * <p>
+ * The connection is already released when the response is available (the
+ * body is fully read).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class HttpResponse {
+	private final int status;
+	private final String body;
+
+	/**
+	 * Initializes with the HTTP status code and the body.
+	 *
+	 * @param status
+	 *            the HTTP status code
+	 * @param body
+	 *            the body (may be null if the response has no body)
+	 */
+	public HttpResponse(int status, String body) {
+		super();
+		this.status = status;
+		this.body = body;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	@Override
+	public String toString() {
+		return "HttpResponse [status=" + status + "]";
+	}
+}
@@ -0,0 +1,47 @@
+package fr.sii.ogham.core.http;
+
+import java.util.concurrent.CompletableFuture;
+
+import fr.sii.ogham.core.exception.util.HttpException;
+
+/**
+ * Executes HTTP requests for the senders that use an HTTP API (OVH, SendGrid,
+ * ...).
+ *
+ * <p>
+ * A single transport is shared by all the senders that are built by the same
+ * builder. This way, the connections are pooled and reused, the number of
+ * connections to each host is bounded and the same timeouts apply to all
+ * senders (see {@link HttpTransportOptions}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public interface HttpTransport {
+	/**
+	 * Executes the request and waits for the response.
+	 *
+	 * @param request
+	 *            the request to execute
+	 * @return the response
+	 * @throws HttpException
+	 *             when the request couldn't be executed (connection failure,
+	 *             timeout, no connection available in the pool...)
+	 */
+	HttpResponse execute(HttpRequest request) throws HttpException;
+
+	/**
+	 * Executes the request without blocking the current thread.
+	 *
+	 * <p>
+	 * The number of requests that are pending is bounded. If the limit is
+	 * reached, the returned future is immediately completed exceptionally
+	 * instead of queuing the request indefinitely.
+	 *
+	 * @param request
+	 *            the request to execute
+	 * @return the future that is completed with the response or completed
+	 *         exceptionally (with a {@link HttpException} in general)
+	 */
+	CompletableFuture<HttpResponse> executeAsync(HttpRequest request);
+}
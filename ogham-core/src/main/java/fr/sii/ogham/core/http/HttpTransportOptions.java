@@ -0,0 +1,99 @@
+package fr.sii.ogham.core.http;
+
+/**
+ * Configuration of the {@link HttpTransport}: size of the connection pool,
+ * timeouts and limits of the asynchronous execution.
+ *
+ * <p>
+ * All durations are expressed in milliseconds.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class HttpTransportOptions {
+	private final int maxConnectionsPerRoute;
+	private final int maxConnectionsTotal;
+	private final int connectTimeout;
+	private final int readTimeout;
+	private final int connectionRequestTimeout;
+	private final long keepAlive;
+	private final int asyncThreads;
+	private final int asyncQueueCapacity;
+
+	/**
+	 * Initializes the options.
+	 *
+	 * @param maxConnectionsPerRoute
+	 *            the maximum number of connections to the same host
+	 * @param maxConnectionsTotal
+	 *            the maximum number of connections for all hosts
+	 * @param connectTimeout
+	 *            the maximum time to establish the connection
+	 * @param readTimeout
+	 *            the maximum time to wait for data once connected
+	 * @param connectionRequestTimeout
+	 *            the maximum time to wait for a free connection in the pool
+	 * @param keepAlive
+	 *            the time an idle connection is kept alive to be reused (if the
+	 *            server doesn't indicate a shorter duration)
+	 * @param asyncThreads
+	 *            the number of threads used to execute requests
+	 *            asynchronously
+	 * @param asyncQueueCapacity
+	 *            the maximum number of asynchronous requests waiting for a
+	 *            thread
+	 */
+	public HttpTransportOptions(int maxConnectionsPerRoute, int maxConnectionsTotal, int connectTimeout, int readTimeout, int connectionRequestTimeout, long keepAlive, int asyncThreads,
+			int asyncQueueCapacity) {
+		super();
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		this.maxConnectionsTotal = maxConnectionsTotal;
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+		this.connectionRequestTimeout = connectionRequestTimeout;
+		this.keepAlive = keepAlive;
+		this.asyncThreads = asyncThreads;
+		this.asyncQueueCapacity = asyncQueueCapacity;
+	}
+
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	public int getMaxConnectionsTotal() {
+		return maxConnectionsTotal;
+	}
+
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	public int getConnectionRequestTimeout() {
+		return connectionRequestTimeout;
+	}
+
+	public long getKeepAlive() {
+		return keepAlive;
+	}
+
+	public int getAsyncThreads() {
+		return asyncThreads;
+	}
+
+	public int getAsyncQueueCapacity() {
+		return asyncQueueCapacity;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("HttpTransportOptions [maxConnectionsPerRoute=").append(maxConnectionsPerRoute).append(", maxConnectionsTotal=").append(maxConnectionsTotal).append(", connectTimeout=")
+				.append(connectTimeout).append(", readTimeout=").append(readTimeout).append(", connectionRequestTimeout=").append(connectionRequestTimeout).append(", keepAlive=")
+				.append(keepAlive).append(", asyncThreads=").append(asyncThreads).append(", asyncQueueCapacity=").append(asyncQueueCapacity).append("]");
+		return builder.toString();
+	}
+}
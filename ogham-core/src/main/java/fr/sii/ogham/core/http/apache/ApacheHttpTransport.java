@@ -0,0 +1,221 @@
+package fr.sii.ogham.core.http.apache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.async.DaemonThreadFactory;
+import fr.sii.ogham.core.clean.Cleanable;
+import fr.sii.ogham.core.exception.clean.CleanException;
+import fr.sii.ogham.core.exception.util.HttpException;
+import fr.sii.ogham.core.http.HttpRequest;
+import fr.sii.ogham.core.http.HttpResponse;
+import fr.sii.ogham.core.http.HttpTransport;
+import fr.sii.ogham.core.http.HttpTransportOptions;
+
+/**
+ * {@link HttpTransport} implementation based on Apache HttpClient.
+ *
+ * <p>
+ * The connections are pooled: at most
+ * {@link HttpTransportOptions#getMaxConnectionsPerRoute()} connections are
+ * opened to the same host. When all connections are in use, the request waits
+ * at most {@link HttpTransportOptions#getConnectionRequestTimeout()} for a
+ * free connection. Idle connections are kept alive to be reused and evicted
+ * once {@link HttpTransportOptions#getKeepAlive()} is elapsed.
+ *
+ * <p>
+ * Asynchronous requests are executed by a bounded pool of threads. When all
+ * threads are busy and the queue is full, the request is rejected
+ * immediately.
+ *
+ * <p>
+ * The underlying {@link CloseableHttpClient} is exposed (see
+ * {@link #getHttpClient()}) so that libraries that require an Apache
+ * HttpClient (SendGrid for example) share the same pool. The client and the
+ * threads are released when resources are cleaned.
+ *
+ * <p>
+ * Proxy settings are read from system properties.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class ApacheHttpTransport implements HttpTransport, Cleanable {
+	private static final Logger LOG = LoggerFactory.getLogger(ApacheHttpTransport.class);
+
+	private final HttpTransportOptions options;
+	private final PoolingHttpClientConnectionManager connectionManager;
+	private final CloseableHttpClient httpClient;
+	private final ThreadPoolExecutor executor;
+	private volatile long lastEviction;
+
+	/**
+	 * Initializes the pool of connections and the pool of threads for
+	 * asynchronous execution.
+	 *
+	 * @param options
+	 *            the pool size, timeouts and limits
+	 */
+	public ApacheHttpTransport(HttpTransportOptions options) {
+		super();
+		this.options = options;
+		this.connectionManager = createConnectionManager(options);
+		this.httpClient = createHttpClient(options, connectionManager);
+		this.lastEviction = System.currentTimeMillis();
+		this.executor = new ThreadPoolExecutor(options.getAsyncThreads(), options.getAsyncThreads(), 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(options.getAsyncQueueCapacity()),
+				new DaemonThreadFactory("ogham-http-"));
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public HttpResponse execute(HttpRequest request) throws HttpException {
+		LOG.debug("Sending HTTP request {}", request);
+		evictIdleConnections();
+		try {
+			HttpResponse response = httpClient.execute(convert(request), r -> new HttpResponse(r.getStatusLine().getStatusCode(), readBody(r.getEntity())));
+			LOG.debug("HTTP request {} successfully sent. Status code: {}", request, response.getStatus());
+			return response;
+		} catch (IOException e) {
+			throw new HttpException("Failed to send " + request, e);
+		}
+	}
+
+	@Override
+	public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+		CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				try {
+					future.complete(execute(request));
+				} catch (HttpException | RuntimeException e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(new HttpException("Too many pending HTTP requests, " + request + " is rejected", e));
+		}
+		return future;
+	}
+
+	/**
+	 * The pooled client that is used to execute the requests.
+	 *
+	 * <p>
+	 * The client must not be closed by the caller.
+	 *
+	 * @return the pooled client
+	 */
+	public CloseableHttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	public HttpTransportOptions getOptions() {
+		return options;
+	}
+
+	@Override
+	public void clean() throws CleanException {
+		executor.shutdown();
+		try {
+			httpClient.close();
+		} catch (IOException e) {
+			throw new CleanException("Failed to close HTTP client", e);
+		}
+	}
+
+	/**
+	 * Closes the connections that have been idle for too long. There is no
+	 * dedicated thread for that: eviction is done when a request is executed
+	 * (at most once per half keep-alive duration).
+	 */
+	private void evictIdleConnections() {
+		long now = System.currentTimeMillis();
+		if (now - lastEviction < options.getKeepAlive() / 2) {
+			return;
+		}
+		lastEviction = now;
+		connectionManager.closeExpiredConnections();
+		connectionManager.closeIdleConnections(options.getKeepAlive(), TimeUnit.MILLISECONDS);
+	}
+
+	private static PoolingHttpClientConnectionManager createConnectionManager(HttpTransportOptions options) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setDefaultMaxPerRoute(options.getMaxConnectionsPerRoute());
+		connectionManager.setMaxTotal(options.getMaxConnectionsTotal());
+		return connectionManager;
+	}
+
+	private static CloseableHttpClient createHttpClient(HttpTransportOptions options, PoolingHttpClientConnectionManager connectionManager) {
+		// @formatter:off
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(options.getConnectTimeout())
+				.setSocketTimeout(options.getReadTimeout())
+				.setConnectionRequestTimeout(options.getConnectionRequestTimeout())
+				.build();
+		return HttpClientBuilder.create()
+				.useSystemProperties()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy(keepAliveStrategy(options.getKeepAlive()))
+				.build();
+		// @formatter:on
+	}
+
+	private static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAlive) {
+		return (response, context) -> {
+			long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+		};
+	}
+
+	private static HttpRequestBase convert(HttpRequest request) {
+		HttpRequestBase converted;
+		if (request.getMethod() == HttpRequest.Method.POST) {
+			HttpPost post = new HttpPost(request.getUrl());
+			if (request.getBody() != null) {
+				post.setEntity(new ByteArrayEntity(request.getBody()));
+			}
+			converted = post;
+		} else {
+			converted = new HttpGet(request.getUrl());
+		}
+		for (Entry<String, String> header : request.getHeaders().entrySet()) {
+			converted.setHeader(header.getKey(), header.getValue());
+		}
+		return converted;
+	}
+
+	private static String readBody(HttpEntity entity) throws IOException {
+		if (entity == null) {
+			return null;
+		}
+		return EntityUtils.toString(entity, UTF_8);
+	}
+
+	@Override
+	public String toString() {
+		return "ApacheHttpTransport [options=" + options + "]";
+	}
+}
@@ -0,0 +1,115 @@
+package fr.sii.ogham.core.message.content;
+
+import static fr.sii.ogham.core.util.HtmlUtils.isHtml;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import fr.sii.ogham.core.util.EqualsBuilder;
+import fr.sii.ogham.core.util.HashCodeBuilder;
+
+/**
+ * Represent a string content that may be an HTML document. The content can be
+ * provided either as a string or as a parsed HTML {@link Document}.
+ * 
+ * <p>
+ * The HTML is parsed only once (the first time the document is requested) and
+ * the same document is then shared by all the code that needs to read or
+ * transform the HTML. If the document is updated, it is serialized back to a
+ * string only when the string is needed (generally just before sending the
+ * message).
+ * 
+ * <p>
+ * If the content is not an HTML document, this content behaves exactly like
+ * {@link StringContent}.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class HtmlDocumentContent implements MayHaveStringContent, UpdatableStringContent, MayHaveHtmlDocument, UpdatableHtmlDocument {
+	/**
+	 * The content as string
+	 */
+	private String content;
+	/**
+	 * The content parsed as HTML document (lazily initialized)
+	 */
+	private Document document;
+	/**
+	 * Indicates that the document has been updated so the string must be
+	 * generated again
+	 */
+	private boolean documentUpdated;
+
+	/**
+	 * Initialize the content with the string.
+	 * 
+	 * @param content
+	 *            the content value
+	 */
+	public HtmlDocumentContent(String content) {
+		super();
+		this.content = content;
+	}
+
+	@Override
+	public boolean canProvideString() {
+		return true;
+	}
+
+	@Override
+	public String asString() {
+		if (documentUpdated) {
+			content = document.outerHtml();
+			documentUpdated = false;
+		}
+		return content;
+	}
+
+	@Override
+	public void setStringContent(String content) {
+		this.content = content;
+		this.document = null;
+		this.documentUpdated = false;
+	}
+
+	@Override
+	public boolean canProvideDocument() {
+		return document != null || (content != null && isHtml(content));
+	}
+
+	@Override
+	public Document asDocument() {
+		if (document == null && content != null) {
+			document = Jsoup.parse(content);
+		}
+		return document;
+	}
+
+	@Override
+	public void setDocument(Document document) {
+		this.document = document;
+		this.documentUpdated = document != null;
+		if (document == null) {
+			content = null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return asString();
+	}
+
+	@Override
+	public int hashCode() {
+		return new HashCodeBuilder().append(asString()).hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		return new EqualsBuilder().append(asString(), ((HtmlDocumentContent) obj).asString()).isEqual();
+	}
+}
@@ -0,0 +1,40 @@
+package fr.sii.ogham.core.message.content;
+
+import org.jsoup.nodes.Document;
+
+/**
+ * Marker interface to indicate that the content can be directly available as
+ * a parsed HTML {@link Document}.
+ * 
+ * <p>
+ * The document is parsed only once and then shared by all the code that needs
+ * to read or transform the HTML (CSS inlining, image inlining, subject
+ * extraction...). This avoids parsing and serializing the HTML again and
+ * again.
+ * 
+ * <p>
+ * The returned document is shared. If the document is modified, the content
+ * must be notified using
+ * {@link UpdatableHtmlDocument#setDocument(Document)}.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public interface MayHaveHtmlDocument extends Content {
+	/**
+	 * Tells if the content is available as an HTML document (the content is a
+	 * whole HTML document).
+	 * 
+	 * @return true if the content is available as HTML document, false
+	 *         otherwise
+	 */
+	boolean canProvideDocument();
+
+	/**
+	 * Provides the content as HTML document. The document is parsed only the
+	 * first time this method is called. May return null.
+	 * 
+	 * @return the content as HTML document
+	 */
+	Document asDocument();
+}
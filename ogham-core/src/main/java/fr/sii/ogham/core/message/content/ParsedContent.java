@@ -1,5 +1,7 @@
 package fr.sii.ogham.core.message.content;
 
+import org.jsoup.nodes.Document;
+
 import fr.sii.ogham.core.resource.path.ResourcePath;
 import fr.sii.ogham.core.template.context.Context;
 import fr.sii.ogham.core.util.EqualsBuilder;
@@ -13,7 +15,7 @@ import fr.sii.ogham.core.util.HashCodeBuilder;
  * @author Aurélien Baudet
  *
  */
-public class ParsedContent implements MayHaveStringContent, UpdatableStringContent, HasResourcePath {
+public class ParsedContent implements MayHaveStringContent, UpdatableStringContent, MayHaveHtmlDocument, UpdatableHtmlDocument, HasResourcePath {
 	/**
 	 * The template content used to generate the {@link Content}
 	 */
@@ -40,6 +42,10 @@ public class ParsedContent implements MayHaveStringContent, UpdatableStringConte
 	/**
 	 * Initializes the content with template source and the generated content.
 	 * 
+	 * <p>
+	 * If the generated content is HTML, it is parsed only once and the parsed
+	 * document is shared (see {@link HtmlDocumentContent}).
+	 * 
 	 * @param sourcePath
 	 *            the source path that has been processed
 	 * @param sourceContext
@@ -50,7 +56,7 @@ public class ParsedContent implements MayHaveStringContent, UpdatableStringConte
 	public ParsedContent(ResourcePath sourcePath, Context sourceContext, String generated) {
 		super();
 		this.source = new TemplateContent(sourcePath, sourceContext);
-		this.generated = new StringContent(generated);
+		this.generated = new HtmlDocumentContent(generated);
 	}
 
 	@Override
@@ -78,6 +84,26 @@ public class ParsedContent implements MayHaveStringContent, UpdatableStringConte
 		}
 	}
 
+	@Override
+	public boolean canProvideDocument() {
+		return generated instanceof MayHaveHtmlDocument && ((MayHaveHtmlDocument) generated).canProvideDocument();
+	}
+
+	@Override
+	public Document asDocument() {
+		if (generated instanceof MayHaveHtmlDocument && ((MayHaveHtmlDocument) generated).canProvideDocument()) {
+			return ((MayHaveHtmlDocument) generated).asDocument();
+		}
+		return null;
+	}
+
+	@Override
+	public void setDocument(Document document) {
+		if (generated instanceof UpdatableHtmlDocument) {
+			((UpdatableHtmlDocument) generated).setDocument(document);
+		}
+	}
+
 	@Override
 	public int hashCode() {
 		return new HashCodeBuilder().append(source).append(generated).hashCode();
@@ -0,0 +1,24 @@
+package fr.sii.ogham.core.message.content;
+
+import org.jsoup.nodes.Document;
+
+/**
+ * Marker interface that allows to update the content using an HTML document.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public interface UpdatableHtmlDocument extends Content {
+	/**
+	 * Sets the new content directly as HTML document. The document is
+	 * serialized only when the content is needed as string.
+	 * 
+	 * <p>
+	 * This method must also be called when the document provided by
+	 * {@link MayHaveHtmlDocument#asDocument()} has been modified.
+	 * 
+	 * @param document
+	 *            the new content to set
+	 */
+	void setDocument(Document document);
+}
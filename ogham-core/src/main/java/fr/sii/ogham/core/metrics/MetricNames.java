@@ -0,0 +1,127 @@
+package fr.sii.ogham.core.metrics;
+
+/**
+ * Names of the metrics and tags recorded by Ogham.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class MetricNames {
+	/**
+	 * Time spent by the messaging service to send a message (whole pipeline)
+	 */
+	public static final String SERVICE_SEND = "ogham.service.send";
+	/**
+	 * Time spent by the messaging service to send several messages at once
+	 */
+	public static final String SERVICE_SEND_ALL = "ogham.service.send-all";
+	/**
+	 * Time spent by a sender implementation to send a message to the provider
+	 */
+	public static final String PROVIDER_SEND = "ogham.provider.send";
+	/**
+	 * Time spent by a sender implementation to send several messages at once
+	 */
+	public static final String PROVIDER_SEND_ALL = "ogham.provider.send-all";
+	/**
+	 * Number of messages sent by a sender implementation (tagged by
+	 * {@link #TAG_OUTCOME})
+	 */
+	public static final String MESSAGES = "ogham.messages";
+	/**
+	 * Time spent to parse a template
+	 */
+	public static final String TEMPLATE_PARSE = "ogham.template.parse";
+	/**
+	 * Time spent by each content translator
+	 */
+	public static final String CONTENT_TRANSLATE = "ogham.content.translate";
+	/**
+	 * Time spent to fill a message (default subject for example)
+	 */
+	public static final String MESSAGE_FILL = "ogham.message.fill";
+	/**
+	 * Number of attempts made by the retry executor (tagged by
+	 * {@link #TAG_OUTCOME})
+	 */
+	public static final String RETRY_ATTEMPTS = "ogham.retry.attempts";
+	/**
+	 * Time waited between two attempts
+	 */
+	public static final String RETRY_BACKOFF = "ogham.retry.backoff";
+	/**
+	 * Number of times a fallback sender had to try the next sender
+	 */
+	public static final String FALLBACK_HOPS = "ogham.fallback.hops";
+	/**
+	 * Number of times a fallback sender skipped a sender because its circuit
+	 * was open
+	 */
+	public static final String FALLBACK_SKIPS = "ogham.fallback.skips";
+	/**
+	 * Number of SMPP requests waiting for a response
+	 */
+	public static final String SMPP_WINDOW_PENDING = "ogham.sms.smpp.window.pending";
+	/**
+	 * Maximum number of SMPP requests that can wait for a response
+	 */
+	public static final String SMPP_WINDOW_SIZE = "ogham.sms.smpp.window.size";
+	/**
+	 * Number of messages stored in the outbox that are waiting to be sent
+	 */
+	public static final String OUTBOX_BACKLOG = "ogham.outbox.backlog";
+	/**
+	 * Number of messages of the outbox that are currently being sent
+	 */
+	public static final String OUTBOX_IN_FLIGHT = "ogham.outbox.in-flight";
+	/**
+	 * Number of messages of the outbox that couldn't be sent and have been
+	 * moved to the dead letters
+	 */
+	public static final String OUTBOX_DEAD_LETTERS = "ogham.outbox.dead-letters";
+	/**
+	 * Number of mimetype detections (tagged by {@link #TAG_OUTCOME} with
+	 * {@link #OUTCOME_HIT} or {@link #OUTCOME_MISS})
+	 */
+	public static final String MIMETYPE_CACHE = "ogham.mimetype.cache";
+
+	/**
+	 * Tag key for the type of message (Email, Sms...)
+	 */
+	public static final String TAG_TYPE = "type";
+	/**
+	 * Tag key for the implementation (sender, translator, parser or filler
+	 * class)
+	 */
+	public static final String TAG_IMPLEMENTATION = "implementation";
+	/**
+	 * Tag key for the outcome ({@link #OUTCOME_SUCCESS} or
+	 * {@link #OUTCOME_FAILURE})
+	 */
+	public static final String TAG_OUTCOME = "outcome";
+	/**
+	 * Tag key for the name of the retried action
+	 */
+	public static final String TAG_ACTION = "action";
+
+	/**
+	 * Value of {@link #TAG_OUTCOME} when the operation succeeded
+	 */
+	public static final String OUTCOME_SUCCESS = "success";
+	/**
+	 * Value of {@link #TAG_OUTCOME} when the operation failed
+	 */
+	public static final String OUTCOME_FAILURE = "failure";
+	/**
+	 * Value of {@link #TAG_OUTCOME} when the value was found in the cache
+	 */
+	public static final String OUTCOME_HIT = "hit";
+	/**
+	 * Value of {@link #TAG_OUTCOME} when the value was not found in the cache
+	 */
+	public static final String OUTCOME_MISS = "miss";
+
+	private MetricNames() {
+		super();
+	}
+}
@@ -0,0 +1,96 @@
+package fr.sii.ogham.core.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Records metrics about message sending (timings, counters and gauges).
+ * 
+ * <p>
+ * Ogham doesn't depend on any metrics library. This interface is the bridge
+ * between Ogham and the metrics library used by the application. For example,
+ * using Micrometer:
+ * 
+ * <pre>
+ * {@code
+ * public class MicrometerMetricsRecorder implements MetricsRecorder {
+ *   private final MeterRegistry registry;
+ * 
+ *   public boolean isEnabled() {
+ *     return true;
+ *   }
+ * 
+ *   public void recordTime(String name, long durationInNanos, String... tags) {
+ *     registry.timer(name, tags).record(durationInNanos, TimeUnit.NANOSECONDS);
+ *   }
+ * 
+ *   public void increment(String name, String... tags) {
+ *     registry.counter(name, tags).increment();
+ *   }
+ * 
+ *   public void gauge(String name, Supplier<Number> value, String... tags) {
+ *     Gauge.builder(name, value).tags(tags).register(registry);
+ *   }
+ * }
+ * }
+ * </pre>
+ * 
+ * <p>
+ * When using Spring Boot, such a recorder is automatically registered if a
+ * Micrometer {@code MeterRegistry} bean is available.
+ * 
+ * <p>
+ * Tags are provided as key/value pairs (the number of tags is always even).
+ * Metric names and tag keys are listed in {@link MetricNames}.
+ * 
+ * <p>
+ * Instrumentation is only installed if {@link #isEnabled()} returns true. If
+ * metrics are disabled, nothing is measured at all (no decoration, no call to
+ * {@link System#nanoTime()}).
+ * 
+ * @author Aurélien Baudet
+ * @see MetricNames
+ */
+public interface MetricsRecorder {
+	/**
+	 * Indicates if metrics should be recorded. If false, Ogham doesn't
+	 * instrument anything.
+	 * 
+	 * @return true if metrics are recorded
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Record the duration of an operation.
+	 * 
+	 * @param name
+	 *            the name of the metric
+	 * @param durationInNanos
+	 *            the duration of the operation in nanoseconds
+	 * @param tags
+	 *            the tags as key/value pairs
+	 */
+	void recordTime(String name, long durationInNanos, String... tags);
+
+	/**
+	 * Increment a counter by one.
+	 * 
+	 * @param name
+	 *            the name of the metric
+	 * @param tags
+	 *            the tags as key/value pairs
+	 */
+	void increment(String name, String... tags);
+
+	/**
+	 * Register a gauge. The value is read each time the metrics library needs
+	 * it.
+	 * 
+	 * @param name
+	 *            the name of the metric
+	 * @param value
+	 *            provides the current value
+	 * @param tags
+	 *            the tags as key/value pairs
+	 */
+	void gauge(String name, Supplier<Number> value, String... tags);
+}
@@ -0,0 +1,38 @@
+package fr.sii.ogham.core.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Implementation that doesn't record anything. As {@link #isEnabled()} returns
+ * false, no instrumentation is installed.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class NoMetricsRecorder implements MetricsRecorder {
+
+	@Override
+	public boolean isEnabled() {
+		return false;
+	}
+
+	@Override
+	public void recordTime(String name, long durationInNanos, String... tags) {
+		// nothing to do
+	}
+
+	@Override
+	public void increment(String name, String... tags) {
+		// nothing to do
+	}
+
+	@Override
+	public void gauge(String name, Supplier<Number> value, String... tags) {
+		// nothing to do
+	}
+
+	@Override
+	public String toString() {
+		return "NoMetricsRecorder";
+	}
+}
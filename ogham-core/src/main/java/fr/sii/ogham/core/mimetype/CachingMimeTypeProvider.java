@@ -0,0 +1,192 @@
+package fr.sii.ogham.core.mimetype;
+
+import static fr.sii.ogham.core.metrics.MetricNames.MIMETYPE_CACHE;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_HIT;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_MISS;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_OUTCOME;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.activation.MimeType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.cache.ExpiringCache;
+import fr.sii.ogham.core.exception.mimetype.MimeTypeDetectionException;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.util.IOUtils;
+
+/**
+ * Decorates another {@link MimeTypeProvider} to detect the mimetype only once
+ * for the same resource. The same files (a logo for example) are often
+ * attached or inlined in many messages and detection (using Tika for example)
+ * is expensive.
+ *
+ * <p>
+ * The cache key depends on the identity of the resource:
+ * <ul>
+ * <li>For a file: the absolute path, the last modification date and the size
+ * of the file (a modified file is detected again)</li>
+ * <li>For a stream: a hash of the head of the stream (only the first
+ * {@code headSize} bytes are read and provided to the delegate). This applies
+ * to classpath resources, in-memory contents and inlined images.</li>
+ * </ul>
+ *
+ * <p>
+ * Detection from a string ({@link #detect(String)}) is not cached: the string
+ * is generally the content of the message that is different for each message.
+ *
+ * <p>
+ * Failed detections are not cached. The number of hits and misses is available
+ * through {@link #getHits()} and {@link #getMisses()} and is also recorded
+ * using the {@link MetricsRecorder} (see
+ * {@link fr.sii.ogham.core.metrics.MetricNames#MIMETYPE_CACHE}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class CachingMimeTypeProvider implements MimeTypeProvider {
+	private static final Logger LOG = LoggerFactory.getLogger(CachingMimeTypeProvider.class);
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	private final MimeTypeProvider delegate;
+	private final int headSize;
+	private final MetricsRecorder metrics;
+	private final ExpiringCache<String, MimeType> cache;
+	private final LongAdder hits;
+	private final LongAdder misses;
+
+	/**
+	 * Initializes with the delegate that really detects the mimetypes.
+	 *
+	 * @param delegate
+	 *            the provider that really detects the mimetypes
+	 * @param maxSize
+	 *            the maximum number of mimetypes kept in the cache (0 or
+	 *            negative for no limit)
+	 * @param headSize
+	 *            the maximum number of bytes read from a stream to detect the
+	 *            mimetype
+	 * @param metrics
+	 *            used to record hits and misses
+	 */
+	public CachingMimeTypeProvider(MimeTypeProvider delegate, int maxSize, int headSize, MetricsRecorder metrics) {
+		super();
+		this.delegate = delegate;
+		this.headSize = headSize;
+		this.metrics = metrics;
+		this.cache = new ExpiringCache<>(0, maxSize);
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+	}
+
+	@Override
+	public MimeType getMimeType(File file) throws MimeTypeDetectionException {
+		return cached(fileKey("file:", file), () -> delegate.getMimeType(file));
+	}
+
+	@Override
+	public MimeType getMimeType(String filePath) throws MimeTypeDetectionException {
+		return cached(fileKey("path:", new File(filePath)), () -> delegate.getMimeType(filePath));
+	}
+
+	@Override
+	public MimeType detect(InputStream stream) throws MimeTypeDetectionException {
+		try {
+			byte[] head = IOUtils.readHead(stream, headSize);
+			return cached(contentKey(head), () -> delegate.detect(new ByteArrayInputStream(head)));
+		} catch (IOException e) {
+			throw new MimeTypeDetectionException("Failed to get the mimetype because the stream is not readable", e);
+		}
+	}
+
+	@Override
+	public MimeType detect(String content) throws MimeTypeDetectionException {
+		return delegate.detect(content);
+	}
+
+	/**
+	 * Remove all cached mimetypes.
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * @return the number of detections that were served from the cache
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of detections that were delegated
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of mimetypes currently cached
+	 */
+	public int getSize() {
+		return cache.size();
+	}
+
+	private MimeType cached(String key, Detection detection) throws MimeTypeDetectionException {
+		if (key == null) {
+			// no key can identify the resource => no cache
+			return detection.detect();
+		}
+		boolean[] loaded = { false };
+		try {
+			return cache.get(key, k -> {
+				loaded[0] = true;
+				return detection.detect();
+			});
+		} finally {
+			record(loaded[0]);
+		}
+	}
+
+	private void record(boolean loaded) {
+		(loaded ? misses : hits).increment();
+		if (metrics.isEnabled()) {
+			metrics.increment(MIMETYPE_CACHE, TAG_OUTCOME, loaded ? OUTCOME_MISS : OUTCOME_HIT);
+		}
+	}
+
+	private static String fileKey(String prefix, File file) {
+		return prefix + file.getAbsolutePath() + ":" + file.lastModified() + ":" + file.length();
+	}
+
+	private static String contentKey(byte[] head) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			return "content:" + head.length + ":" + Base64.getEncoder().encodeToString(digest.digest(head));
+		} catch (NoSuchAlgorithmException e) {
+			LOG.warn("Can't compute hash of content to cache detected mimetype. Mimetype is detected without cache", e);
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("CachingMimeTypeProvider [delegate=").append(delegate).append(", cache=").append(cache).append("]");
+		return builder.toString();
+	}
+
+	@FunctionalInterface
+	private interface Detection {
+		MimeType detect() throws MimeTypeDetectionException;
+	}
+}
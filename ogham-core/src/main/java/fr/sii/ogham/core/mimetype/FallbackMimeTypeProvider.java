@@ -1,5 +1,7 @@
 package fr.sii.ogham.core.mimetype;
 
+import static fr.sii.ogham.core.CoreConstants.MIMETYPE_DETECTION_HEAD_SIZE;
+
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
@@ -21,6 +23,11 @@ import fr.sii.ogham.core.util.IOUtils;
  * Implementation that will try several delegate implementations until one is
  * able to provide the Mime Type.
  * 
+ * <p>
+ * When detecting from a stream, only the head of the stream is read (see
+ * {@link #FallbackMimeTypeProvider(List, int)}) and the same bytes are
+ * provided to each delegate.
+ * 
  * @author Aurélien Baudet
  *
  */
@@ -32,13 +39,32 @@ public class FallbackMimeTypeProvider implements MimeTypeProvider {
 	 */
 	private List<MimeTypeProvider> providers;
 
+	/**
+	 * The maximum number of bytes read from a stream for detection
+	 */
+	private final int headSize;
+
 	public FallbackMimeTypeProvider(MimeTypeProvider... providers) {
 		this(new ArrayList<>(Arrays.asList(providers)));
 	}
 
 	public FallbackMimeTypeProvider(List<MimeTypeProvider> providers) {
+		this(providers, MIMETYPE_DETECTION_HEAD_SIZE);
+	}
+
+	/**
+	 * Initializes with the delegate implementations and the maximum number of
+	 * bytes read from a stream to detect the mimetype.
+	 * 
+	 * @param providers
+	 *            the delegate implementations to try
+	 * @param headSize
+	 *            the maximum number of bytes read from a stream
+	 */
+	public FallbackMimeTypeProvider(List<MimeTypeProvider> providers, int headSize) {
 		super();
 		this.providers = providers;
+		this.headSize = headSize;
 	}
 
 	@Override
@@ -76,7 +102,7 @@ public class FallbackMimeTypeProvider implements MimeTypeProvider {
 	@Override
 	public MimeType detect(InputStream stream) throws MimeTypeDetectionException {
 		try {
-			ByteArrayInputStream copy = new ByteArrayInputStream(IOUtils.toByteArray(stream));
+			ByteArrayInputStream copy = new ByteArrayInputStream(IOUtils.readHead(stream, headSize));
 			MimeType mimetype = detect(copy);
 			if(mimetype==null) {
 				throw new NoMimetypeDetectorException("No mimetype provider could provide the mimetype from the provided content");
@@ -0,0 +1,386 @@
+package fr.sii.ogham.core.outbox;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log that stores messages on the file system.
+ *
+ * <p>
+ * The log is split into segments (files of {@code segmentSize} bytes) that
+ * are memory-mapped. Appending a record is only a copy into memory: the
+ * operating system writes the pages to the disk. Written records survive a
+ * crash of the JVM. The segments are flushed to the disk when the journal is
+ * closed.
+ *
+ * <p>
+ * Each record has the following layout:
+ *
+ * <pre>
+ * +------+----+--------+---------+-------+
+ * | type | id | length | payload | crc32 |
+ * +------+----+--------+---------+-------+
+ *   1      8    4        length    4
+ * </pre>
+ *
+ * There are three types of records:
+ * <ul>
+ * <li>{@link #MESSAGE}: a new message is stored (the payload contains the
+ * encoded message)</li>
+ * <li>{@link #FAILED}: an attempt to send the message has failed (no
+ * payload)</li>
+ * <li>{@link #DONE}: the message has been handled and doesn't need to be sent
+ * anymore (no payload)</li>
+ * </ul>
+ *
+ * <p>
+ * When the journal is opened, all segments are read again to find the messages
+ * that are not done yet (see {@link #getRecovered()}). A record that is
+ * partially written (the JVM has crashed while writing it) is detected thanks
+ * to the checksum and ignored.
+ *
+ * <p>
+ * Once all the messages of the oldest segment are done, the segment file is
+ * deleted. Segments are always deleted in order so {@link #DONE} records are
+ * never lost while the message they refer to is still in the journal.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class Journal implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(Journal.class);
+
+	/**
+	 * A new message is stored
+	 */
+	public static final byte MESSAGE = 1;
+	/**
+	 * The message has been handled
+	 */
+	public static final byte DONE = 2;
+	/**
+	 * An attempt to send the message has failed
+	 */
+	public static final byte FAILED = 3;
+
+	private static final int HEADER_SIZE = 1 + 8 + 4;
+	private static final int TRAILER_SIZE = 4;
+	private static final String EXTENSION = ".log";
+
+	private final File directory;
+	private final int segmentSize;
+	private final TreeMap<Long, Segment> segments;
+	private final List<JournalRecord> recovered;
+	private Segment active;
+	private long lastId;
+	private boolean closed;
+
+	/**
+	 * Opens the journal stored in the directory. If the directory doesn't
+	 * exist, it is created. The existing segments are read to recover the
+	 * messages that are not done.
+	 *
+	 * @param directory
+	 *            the directory that contains the segment files
+	 * @param segmentSize
+	 *            the size in bytes of each segment file (a record bigger than
+	 *            this size is stored in a dedicated bigger segment)
+	 * @throws IOException
+	 *             when the journal can't be opened or read
+	 */
+	public Journal(File directory, int segmentSize) throws IOException {
+		super();
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.segments = new TreeMap<>();
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Failed to create journal directory " + directory);
+		}
+		this.recovered = recover();
+	}
+
+	/**
+	 * Stores a new message at the end of the journal.
+	 *
+	 * @param id
+	 *            the unique identifier of the message
+	 * @param payload
+	 *            the encoded message
+	 * @return the record that points to the stored message
+	 * @throws IOException
+	 *             when the message can't be written
+	 */
+	public synchronized JournalRecord append(long id, byte[] payload) throws IOException {
+		int position = write(MESSAGE, id, payload);
+		active.live++;
+		lastId = Math.max(lastId, id);
+		return new JournalRecord(id, active, position + HEADER_SIZE, payload.length);
+	}
+
+	/**
+	 * Indicates that an attempt to send the message has failed. The number of
+	 * attempts is restored when the journal is opened again.
+	 *
+	 * @param record
+	 *            the record of the message
+	 * @throws IOException
+	 *             when the journal can't be written
+	 */
+	public synchronized void failed(JournalRecord record) throws IOException {
+		write(FAILED, record.getId(), new byte[0]);
+	}
+
+	/**
+	 * Indicates that the message has been handled. The message won't be
+	 * recovered when the journal is opened again. Segments that only contain
+	 * handled messages are deleted.
+	 *
+	 * @param record
+	 *            the record of the message
+	 * @throws IOException
+	 *             when the journal can't be written
+	 */
+	public synchronized void done(JournalRecord record) throws IOException {
+		write(DONE, record.getId(), new byte[0]);
+		record.getSegment().live--;
+		purge();
+	}
+
+	/**
+	 * Reads the payload of the stored message.
+	 *
+	 * @param record
+	 *            the record of the message
+	 * @return the encoded message
+	 * @throws IOException
+	 *             when the segment that contains the message is not available
+	 *             anymore
+	 */
+	public byte[] read(JournalRecord record) throws IOException {
+		Segment segment = record.getSegment();
+		if (segment.deleted) {
+			throw new IOException("Segment " + segment.getNumber() + " has been deleted");
+		}
+		ByteBuffer view = segment.buffer.duplicate();
+		view.position(record.getPosition());
+		byte[] payload = new byte[record.getLength()];
+		view.get(payload);
+		return payload;
+	}
+
+	/**
+	 * The messages that were stored but not done when the journal was opened.
+	 * The messages are ordered in the order they were stored.
+	 *
+	 * @return the recovered messages
+	 */
+	public List<JournalRecord> getRecovered() {
+		return recovered;
+	}
+
+	/**
+	 * @return the highest message identifier that is (or was) stored in the
+	 *         journal
+	 */
+	public synchronized long getLastId() {
+		return lastId;
+	}
+
+	/**
+	 * @return the number of segment files
+	 */
+	public synchronized int getSegmentCount() {
+		return segments.size();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		for (Segment segment : segments.values()) {
+			segment.close();
+		}
+	}
+
+	private int write(byte type, long id, byte[] payload) throws IOException {
+		if (closed) {
+			throw new IOException("Journal " + directory + " is closed");
+		}
+		int size = HEADER_SIZE + payload.length + TRAILER_SIZE;
+		if (active == null || active.writePosition + size > active.buffer.capacity()) {
+			long number = active == null ? 0 : active.getNumber() + 1;
+			active = openSegment(number, Math.max(segmentSize, size));
+			segments.put(number, active);
+		}
+		int position = active.writePosition;
+		ByteBuffer view = active.buffer.duplicate();
+		view.position(position + 1);
+		view.putLong(id);
+		view.putInt(payload.length);
+		view.put(payload);
+		view.putInt(checksum(type, id, payload));
+		// type is written last: a record is visible only once fully written
+		active.buffer.put(position, type);
+		active.writePosition = position + size;
+		return position;
+	}
+
+	private void purge() {
+		while (segments.size() > 1) {
+			Segment oldest = segments.firstEntry().getValue();
+			if (oldest == active || oldest.live > 0) {
+				return;
+			}
+			segments.pollFirstEntry();
+			oldest.delete();
+		}
+	}
+
+	private List<JournalRecord> recover() throws IOException {
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+		if (files != null) {
+			for (File file : files) {
+				long number = Long.parseLong(file.getName().substring(0, file.getName().length() - EXTENSION.length()));
+				segments.put(number, openSegment(number, (int) file.length()));
+			}
+		}
+		Map<Long, JournalRecord> pending = new LinkedHashMap<>();
+		for (Segment segment : segments.values()) {
+			read(segment, pending);
+			active = segment;
+		}
+		purge();
+		LOG.debug("Journal {} opened: {} segments, {} messages recovered", directory, segments.size(), pending.size());
+		return Collections.unmodifiableList(new ArrayList<>(pending.values()));
+	}
+
+	private void read(Segment segment, Map<Long, JournalRecord> pending) {
+		ByteBuffer view = segment.buffer.duplicate();
+		int position = 0;
+		while (position + HEADER_SIZE + TRAILER_SIZE <= view.capacity()) {
+			view.position(position);
+			byte type = view.get();
+			long id = view.getLong();
+			int length = view.getInt();
+			if (type == 0 || length < 0 || position + HEADER_SIZE + length + TRAILER_SIZE > view.capacity()) {
+				break;
+			}
+			byte[] payload = new byte[length];
+			view.get(payload);
+			if (view.getInt() != checksum(type, id, payload)) {
+				LOG.warn("Journal {}: corrupted record in segment {} at position {}, ignoring end of segment", directory, segment.getNumber(), position);
+				break;
+			}
+			apply(segment, type, id, position, length, pending);
+			position += HEADER_SIZE + length + TRAILER_SIZE;
+		}
+		segment.writePosition = position;
+	}
+
+	private void apply(Segment segment, byte type, long id, int position, int length, Map<Long, JournalRecord> pending) {
+		lastId = Math.max(lastId, id);
+		if (type == MESSAGE) {
+			pending.put(id, new JournalRecord(id, segment, position + HEADER_SIZE, length));
+			segment.live++;
+			return;
+		}
+		JournalRecord record = pending.get(id);
+		if (record == null) {
+			// message is in a segment that has already been deleted
+			return;
+		}
+		if (type == FAILED) {
+			record.incrementAttempts();
+		} else if (type == DONE) {
+			pending.remove(id);
+			record.getSegment().live--;
+		}
+	}
+
+	private Segment openSegment(long number, int size) throws IOException {
+		File file = new File(directory, String.format("%020d%s", number, EXTENSION));
+		FileChannel channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+		return new Segment(number, file, channel, channel.map(MapMode.READ_WRITE, 0, size));
+	}
+
+	private static int checksum(byte type, long id, byte[] payload) {
+		CRC32 crc = new CRC32();
+		crc.update(type);
+		crc.update(ByteBuffer.allocate(8).putLong(0, id).array());
+		crc.update(payload);
+		return (int) crc.getValue();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("Journal [directory=").append(directory).append(", segmentSize=").append(segmentSize).append("]");
+		return builder.toString();
+	}
+
+	/**
+	 * A memory-mapped segment file of the journal.
+	 */
+	static class Segment {
+		private final long number;
+		private final File file;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+		private int writePosition;
+		private int live;
+		private volatile boolean deleted;
+
+		Segment(long number, File file, FileChannel channel, MappedByteBuffer buffer) {
+			super();
+			this.number = number;
+			this.file = file;
+			this.channel = channel;
+			this.buffer = buffer;
+		}
+
+		long getNumber() {
+			return number;
+		}
+
+		void close() throws IOException {
+			buffer.force();
+			channel.close();
+		}
+
+		void delete() {
+			deleted = true;
+			try {
+				channel.close();
+			} catch (IOException e) {
+				LOG.warn("Failed to close journal segment {}", file, e);
+			}
+			if (!file.delete()) {
+				// the mapping may still be held (on Windows for example), the
+				// messages of this segment may be sent again at next startup
+				// (at-least-once)
+				LOG.warn("Failed to delete journal segment {}", file);
+			}
+		}
+	}
+}
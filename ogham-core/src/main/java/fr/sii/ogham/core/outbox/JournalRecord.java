@@ -0,0 +1,62 @@
+package fr.sii.ogham.core.outbox;
+
+/**
+ * Points to a message stored in a {@link Journal}. The payload is not kept in
+ * memory, it is read from the journal when needed (see
+ * {@link Journal#read(JournalRecord)}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class JournalRecord {
+	private final long id;
+	private final Journal.Segment segment;
+	private final int position;
+	private final int length;
+	private int attempts;
+
+	JournalRecord(long id, Journal.Segment segment, int position, int length) {
+		super();
+		this.id = id;
+		this.segment = segment;
+		this.position = position;
+		this.length = length;
+	}
+
+	/**
+	 * @return the unique identifier of the stored message
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * @return the number of failed attempts to send the message
+	 */
+	public int getAttempts() {
+		return attempts;
+	}
+
+	int incrementAttempts() {
+		return ++attempts;
+	}
+
+	Journal.Segment getSegment() {
+		return segment;
+	}
+
+	int getPosition() {
+		return position;
+	}
+
+	int getLength() {
+		return length;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("JournalRecord [id=").append(id).append(", segment=").append(segment.getNumber()).append(", attempts=").append(attempts).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,39 @@
+package fr.sii.ogham.core.outbox;
+
+import fr.sii.ogham.core.exception.outbox.OutboxException;
+import fr.sii.ogham.core.message.Message;
+
+/**
+ * Converts a message to bytes in order to store it in the {@link Outbox} and
+ * converts it back when the message is sent.
+ *
+ * <p>
+ * The message is encoded when it is stored: everything that can't be read
+ * again later (a stream for example) must be fully read and stored.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public interface MessageCodec {
+	/**
+	 * Converts the message to bytes.
+	 *
+	 * @param message
+	 *            the message to encode
+	 * @return the encoded message
+	 * @throws OutboxException
+	 *             when the message can't be encoded
+	 */
+	byte[] encode(Message message) throws OutboxException;
+
+	/**
+	 * Converts the bytes back to a message.
+	 *
+	 * @param data
+	 *            the encoded message
+	 * @return the decoded message
+	 * @throws OutboxException
+	 *             when the message can't be decoded
+	 */
+	Message decode(byte[] data) throws OutboxException;
+}
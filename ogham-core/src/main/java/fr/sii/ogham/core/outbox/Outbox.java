@@ -0,0 +1,304 @@
+package fr.sii.ogham.core.outbox;
+
+import static fr.sii.ogham.core.metrics.MetricNames.OUTBOX_BACKLOG;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTBOX_DEAD_LETTERS;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTBOX_IN_FLIGHT;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.async.DaemonThreadFactory;
+import fr.sii.ogham.core.clean.Cleanable;
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.clean.CleanException;
+import fr.sii.ogham.core.exception.outbox.OutboxException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.service.MessagingService;
+
+/**
+ * Stores messages in a persistent {@link Journal} and sends them later using a
+ * pool of workers.
+ *
+ * <p>
+ * Storing a message only consists in encoding it (see {@link MessageCodec})
+ * and appending it to the journal, so the caller doesn't wait for the
+ * provider. The workers read the stored messages and send them using the
+ * {@link MessagingService} given to {@link #start(MessagingService)} (the
+ * regular sending chain).
+ *
+ * <p>
+ * A message is marked as done in the journal only once it is sent. If the
+ * application stops (or crashes) before that, the message is sent again when
+ * the outbox is started again (at-least-once delivery).
+ *
+ * <p>
+ * If a message can't be sent, it is sent again after a delay. Once the maximum
+ * number of attempts is reached (or if the message can't be decoded), the
+ * message is moved to the dead letters journal and is not sent anymore.
+ *
+ * <p>
+ * The following counts are provided (and registered as gauges if metrics are
+ * enabled):
+ * <ul>
+ * <li>backlog: the number of messages waiting to be sent</li>
+ * <li>in-flight: the number of messages currently being sent</li>
+ * <li>dead letters: the number of messages that couldn't be sent</li>
+ * </ul>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class Outbox implements Cleanable {
+	private static final Logger LOG = LoggerFactory.getLogger(Outbox.class);
+	private static final long POLL_INTERVAL = 500;
+	private static final long SHUTDOWN_TIMEOUT = 10;
+
+	private final Journal journal;
+	private final Journal deadLetters;
+	private final MessageCodec codec;
+	private final int workers;
+	private final int maxAttempts;
+	private final long retryDelay;
+	private final BlockingQueue<JournalRecord> queue;
+	private final AtomicLong ids;
+	private final AtomicInteger stored;
+	private final AtomicInteger inFlight;
+	private final AtomicInteger deadLetterCount;
+	private ExecutorService workerPool;
+	private ScheduledExecutorService timer;
+	private volatile boolean running;
+
+	/**
+	 * Initializes the outbox. The messages that were stored in the journal but
+	 * not sent are recovered. They are sent once the outbox is started (see
+	 * {@link #start(MessagingService)}).
+	 *
+	 * @param journal
+	 *            the journal used to store the messages
+	 * @param deadLetters
+	 *            the journal used to store the messages that couldn't be sent
+	 * @param codec
+	 *            used to convert messages to bytes and back
+	 * @param workers
+	 *            the number of threads that send the messages
+	 * @param maxAttempts
+	 *            the maximum number of attempts to send a message before
+	 *            moving it to the dead letters
+	 * @param retryDelay
+	 *            the time to wait (in milliseconds) before sending the message
+	 *            again after a failure
+	 * @param metrics
+	 *            used to register the gauges
+	 */
+	public Outbox(Journal journal, Journal deadLetters, MessageCodec codec, int workers, int maxAttempts, long retryDelay, MetricsRecorder metrics) {
+		super();
+		this.journal = journal;
+		this.deadLetters = deadLetters;
+		this.codec = codec;
+		this.workers = workers;
+		this.maxAttempts = maxAttempts;
+		this.retryDelay = retryDelay;
+		this.queue = new LinkedBlockingQueue<>(journal.getRecovered());
+		this.ids = new AtomicLong(journal.getLastId());
+		this.stored = new AtomicInteger(queue.size());
+		this.inFlight = new AtomicInteger();
+		this.deadLetterCount = new AtomicInteger(deadLetters.getRecovered().size());
+		if (!queue.isEmpty()) {
+			LOG.info("{} messages recovered from outbox {}", queue.size(), journal);
+		}
+		if (metrics.isEnabled()) {
+			metrics.gauge(OUTBOX_BACKLOG, this::getBacklog);
+			metrics.gauge(OUTBOX_IN_FLIGHT, this::getInFlight);
+			metrics.gauge(OUTBOX_DEAD_LETTERS, this::getDeadLetters);
+		}
+	}
+
+	/**
+	 * Starts the workers that send the stored messages.
+	 *
+	 * @param target
+	 *            the service used to really send the messages
+	 */
+	public synchronized void start(MessagingService target) {
+		if (running) {
+			return;
+		}
+		running = true;
+		timer = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("ogham-outbox-retry-"));
+		workerPool = Executors.newFixedThreadPool(workers, new DaemonThreadFactory("ogham-outbox-"));
+		for (int i = 0; i < workers; i++) {
+			workerPool.execute(() -> work(target));
+		}
+		LOG.debug("Outbox started with {} workers", workers);
+	}
+
+	/**
+	 * Stores the message in the journal. The message will be sent by a worker.
+	 *
+	 * @param message
+	 *            the message to store
+	 * @throws OutboxException
+	 *             when the message can't be encoded or stored
+	 */
+	public void enqueue(Message message) throws OutboxException {
+		byte[] payload = codec.encode(message);
+		JournalRecord record;
+		try {
+			record = journal.append(ids.incrementAndGet(), payload);
+		} catch (IOException e) {
+			throw new OutboxException("Failed to store message in outbox", e);
+		}
+		stored.incrementAndGet();
+		queue.add(record);
+		LOG.debug("Message {} stored in outbox", record.getId());
+	}
+
+	/**
+	 * @return the number of messages waiting to be sent
+	 */
+	public int getBacklog() {
+		return stored.get() - inFlight.get();
+	}
+
+	/**
+	 * @return the number of messages currently being sent
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * @return the number of messages that couldn't be sent and have been moved
+	 *         to the dead letters
+	 */
+	public int getDeadLetters() {
+		return deadLetterCount.get();
+	}
+
+	@Override
+	public synchronized void clean() throws CleanException {
+		running = false;
+		try {
+			if (workerPool != null) {
+				timer.shutdownNow();
+				workerPool.shutdown();
+				if (!workerPool.awaitTermination(SHUTDOWN_TIMEOUT, SECONDS)) {
+					LOG.warn("Some messages of the outbox are still being sent. They will be sent again at next start");
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			journal.close();
+			deadLetters.close();
+		} catch (IOException e) {
+			throw new CleanException("Failed to close outbox journal", e);
+		}
+	}
+
+	private void work(MessagingService target) {
+		while (running) {
+			try {
+				JournalRecord record = queue.poll(POLL_INTERVAL, MILLISECONDS);
+				if (record != null) {
+					process(record, target);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void process(JournalRecord record, MessagingService target) {
+		inFlight.incrementAndGet();
+		try {
+			Message message = decode(record);
+			if (message != null) {
+				send(record, message, target);
+			}
+		} finally {
+			inFlight.decrementAndGet();
+		}
+	}
+
+	private Message decode(JournalRecord record) {
+		try {
+			return codec.decode(journal.read(record));
+		} catch (OutboxException e) {
+			LOG.error("Message {} of outbox can't be decoded", record.getId(), e);
+			moveToDeadLetters(record);
+		} catch (IOException e) {
+			// the message is still in the journal: it will be read again at
+			// next start
+			LOG.error("Message {} of outbox can't be read", record.getId(), e);
+			stored.decrementAndGet();
+		}
+		return null;
+	}
+
+	private void send(JournalRecord record, Message message, MessagingService target) {
+		try {
+			target.send(message);
+		} catch (MessagingException | RuntimeException e) {
+			failed(record, e);
+			return;
+		}
+		stored.decrementAndGet();
+		try {
+			journal.done(record);
+			LOG.debug("Message {} of outbox sent", record.getId());
+		} catch (IOException e) {
+			LOG.warn("Message {} of outbox has been sent but can't be marked as done. It may be sent again at next start", record.getId(), e);
+		}
+	}
+
+	private void failed(JournalRecord record, Exception cause) {
+		int attempts = record.incrementAttempts();
+		if (attempts >= maxAttempts) {
+			LOG.error("Message {} of outbox couldn't be sent after {} attempts", record.getId(), attempts, cause);
+			moveToDeadLetters(record);
+			return;
+		}
+		LOG.warn("Message {} of outbox couldn't be sent (attempt {}/{}). Retrying in {}ms", record.getId(), attempts, maxAttempts, retryDelay, cause);
+		try {
+			journal.failed(record);
+			timer.schedule(() -> queue.add(record), retryDelay, MILLISECONDS);
+		} catch (IOException | RuntimeException e) {
+			// outbox is closed: the message will be sent again at next start
+			LOG.debug("Message {} of outbox can't be retried now", record.getId(), e);
+			stored.decrementAndGet();
+		}
+	}
+
+	private void moveToDeadLetters(JournalRecord record) {
+		stored.decrementAndGet();
+		try {
+			deadLetters.append(record.getId(), journal.read(record));
+			deadLetterCount.incrementAndGet();
+			journal.done(record);
+		} catch (IOException e) {
+			LOG.error("Message {} of outbox can't be moved to dead letters", record.getId(), e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("Outbox [journal=").append(journal).append(", workers=").append(workers).append(", maxAttempts=").append(maxAttempts).append(", retryDelay=").append(retryDelay).append("]");
+		return builder.toString();
+	}
+}
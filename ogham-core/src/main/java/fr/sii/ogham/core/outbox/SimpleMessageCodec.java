@@ -0,0 +1,538 @@
+package fr.sii.ogham.core.outbox;
+
+import static fr.sii.ogham.core.util.IOUtils.toByteArray;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import fr.sii.ogham.core.exception.outbox.OutboxException;
+import fr.sii.ogham.core.exception.template.ContextException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.message.capability.HasVariant;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.MayHaveStringContent;
+import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.message.content.TemplateContent;
+import fr.sii.ogham.core.message.content.TemplateVariantContent;
+import fr.sii.ogham.core.message.content.Variant;
+import fr.sii.ogham.core.resource.ByteResource;
+import fr.sii.ogham.core.resource.LookupResource;
+import fr.sii.ogham.core.resource.NamedResource;
+import fr.sii.ogham.core.resource.Resource;
+import fr.sii.ogham.core.resource.path.ResolvedString;
+import fr.sii.ogham.core.resource.path.ResourcePath;
+import fr.sii.ogham.core.resource.path.UnresolvedPath;
+import fr.sii.ogham.core.template.context.Context;
+import fr.sii.ogham.core.template.context.LocaleContext;
+import fr.sii.ogham.core.template.context.SimpleContext;
+import fr.sii.ogham.core.translator.resource.AttachmentResourceTranslator;
+import fr.sii.ogham.email.attachment.Attachment;
+import fr.sii.ogham.email.exception.attachment.translator.ResourceTranslatorException;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.message.EmailAddress;
+import fr.sii.ogham.email.message.Recipient;
+import fr.sii.ogham.email.message.RecipientType;
+import fr.sii.ogham.sms.message.Contact;
+import fr.sii.ogham.sms.message.PhoneNumber;
+import fr.sii.ogham.sms.message.Sender;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.message.addressing.AddressedPhoneNumber;
+import fr.sii.ogham.sms.message.addressing.NumberingPlanIndicator;
+import fr.sii.ogham.sms.message.addressing.TypeOfNumber;
+
+/**
+ * Encodes {@link Email}s and {@link Sms}s in a compact binary format.
+ *
+ * <p>
+ * The following contents are supported:
+ * <ul>
+ * <li>Any content that provides a string (see {@link MayHaveStringContent}).
+ * It is decoded as a {@link StringContent}.</li>
+ * <li>{@link MultiContent}: each sub-content is encoded.</li>
+ * <li>{@link TemplateContent} (with or without variant): the path to the
+ * template (or the template itself for string templates), the variant (if it
+ * is an enum), the locale and the variables are stored. The template is
+ * evaluated when the message is sent. The values of the variables must be
+ * {@link java.io.Serializable}.</li>
+ * </ul>
+ *
+ * <p>
+ * The content of the attachments is read when the message is stored.
+ * Attachments that reference a path (see {@link LookupResource}) are resolved
+ * using the provided {@link AttachmentResourceTranslator}. This way, the
+ * message that is sent later doesn't depend on a file that may have changed or
+ * may have been removed in the meantime.
+ *
+ * <p>
+ * Template variables are read back using Java serialization. To prevent
+ * instantiating arbitrary classes from a tampered journal, only the classes of
+ * the packages {@code java.lang}, {@code java.util}, {@code java.math} and
+ * {@code java.time} (and arrays of them) are allowed by default. If template
+ * variables use other classes (your own beans for example), you have to
+ * explicitly allow them.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class SimpleMessageCodec implements MessageCodec {
+	private static final byte VERSION = 1;
+
+	private static final byte EMAIL = 1;
+	private static final byte SMS = 2;
+
+	private static final byte NO_CONTENT = 0;
+	private static final byte STRING_CONTENT = 1;
+	private static final byte MULTI_CONTENT = 2;
+	private static final byte TEMPLATE_CONTENT = 3;
+
+	private static final byte LOOKUP_RESOURCE = 1;
+	private static final byte BYTE_RESOURCE = 2;
+
+	private static final List<String> DEFAULT_ALLOWED_PACKAGES = Arrays.asList("java.lang", "java.util", "java.math", "java.time");
+
+	private final AttachmentResourceTranslator attachmentTranslator;
+	private final List<String> allowedClasses;
+
+	/**
+	 * Initializes the codec without any way to resolve attachments that
+	 * reference a path (see {@link LookupResource}). Such attachments can't be
+	 * stored.
+	 * 
+	 * <p>
+	 * Only the classes of the default packages are allowed for template
+	 * variables.
+	 */
+	public SimpleMessageCodec() {
+		this(null);
+	}
+
+	/**
+	 * Initializes the codec with the translator used to read the content of
+	 * attachments that reference a path (see {@link LookupResource}).
+	 * 
+	 * <p>
+	 * Only the classes of the default packages are allowed for template
+	 * variables.
+	 * 
+	 * @param attachmentTranslator
+	 *            the translator used to resolve attachments (may be null)
+	 */
+	public SimpleMessageCodec(AttachmentResourceTranslator attachmentTranslator) {
+		this(attachmentTranslator, Collections.emptyList());
+	}
+
+	/**
+	 * Initializes the codec with the translator used to read the content of
+	 * attachments that reference a path (see {@link LookupResource}) and the
+	 * classes that are allowed for template variables in addition to the
+	 * default ones.
+	 * 
+	 * <p>
+	 * Each allowed entry is either a fully qualified class name or a package
+	 * name. A package name allows all classes of the package and of its
+	 * sub-packages.
+	 * 
+	 * @param attachmentTranslator
+	 *            the translator used to resolve attachments (may be null)
+	 * @param allowedClasses
+	 *            the additional classes or packages allowed for template
+	 *            variables
+	 */
+	public SimpleMessageCodec(AttachmentResourceTranslator attachmentTranslator, List<String> allowedClasses) {
+		super();
+		this.attachmentTranslator = attachmentTranslator;
+		this.allowedClasses = allowedClasses;
+	}
+
+	@Override
+	public byte[] encode(Message message) throws OutboxException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(VERSION);
+			if (message instanceof Email) {
+				out.writeByte(EMAIL);
+				writeEmail(out, (Email) message);
+			} else if (message instanceof Sms) {
+				out.writeByte(SMS);
+				writeSms(out, (Sms) message);
+			} else {
+				throw new OutboxException("Can't store message of type " + (message == null ? null : message.getClass().getName()) + ". Only Email and Sms are supported");
+			}
+		} catch (IOException e) {
+			throw new OutboxException("Failed to encode message", e);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Message decode(byte[] data) throws OutboxException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+			byte version = in.readByte();
+			if (version != VERSION) {
+				throw new OutboxException("Unsupported version " + version + " of encoded message");
+			}
+			byte type = in.readByte();
+			if (type == EMAIL) {
+				return readEmail(in);
+			}
+			if (type == SMS) {
+				return readSms(in);
+			}
+			throw new OutboxException("Unknown type " + type + " of encoded message");
+		} catch (IOException | ClassNotFoundException | IllegalArgumentException e) {
+			throw new OutboxException("Failed to decode message", e);
+		}
+	}
+
+	// ------------------------------- Email -------------------------------//
+
+	private void writeEmail(DataOutputStream out, Email email) throws IOException, OutboxException {
+		writeString(out, email.getSubject());
+		writeEmailAddress(out, email.getFrom());
+		out.writeInt(email.getRecipients().size());
+		for (Recipient recipient : email.getRecipients()) {
+			writeEmailAddress(out, recipient.getAddress());
+			writeString(out, recipient.getType() == null ? null : recipient.getType().name());
+		}
+		writeContent(out, email.getContent());
+		out.writeInt(email.getAttachments().size());
+		for (Attachment attachment : email.getAttachments()) {
+			writeResource(out, attachment.getResource());
+			writeString(out, attachment.getDescription());
+			writeString(out, attachment.getDisposition());
+			writeString(out, attachment.getContentId());
+			writeString(out, attachment.getContentType());
+		}
+	}
+
+	private Email readEmail(DataInputStream in) throws IOException, ClassNotFoundException, OutboxException {
+		Email email = new Email();
+		email.subject(readString(in));
+		email.from(readEmailAddress(in));
+		int count = in.readInt();
+		List<Recipient> recipients = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			EmailAddress address = readEmailAddress(in);
+			String type = readString(in);
+			recipients.add(new Recipient(address, type == null ? null : RecipientType.valueOf(type)));
+		}
+		email.recipients(recipients);
+		email.content(readContent(in));
+		count = in.readInt();
+		List<Attachment> attachments = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Attachment attachment = new Attachment(readResource(in), readString(in), readString(in), readString(in));
+			attachment.setContentType(readString(in));
+			attachments.add(attachment);
+		}
+		email.attach(attachments);
+		return email;
+	}
+
+	private static void writeEmailAddress(DataOutputStream out, EmailAddress address) throws IOException {
+		out.writeBoolean(address != null);
+		if (address != null) {
+			writeString(out, address.getAddress());
+			writeString(out, address.getPersonal());
+		}
+	}
+
+	private static EmailAddress readEmailAddress(DataInputStream in) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+		return new EmailAddress(readString(in), readString(in));
+	}
+
+	private void writeResource(DataOutputStream out, NamedResource resource) throws IOException, OutboxException {
+		out.writeByte(BYTE_RESOURCE);
+		writeString(out, resource.getName());
+		try (InputStream stream = resolve(resource).getInputStream()) {
+			writeBytes(out, toByteArray(stream));
+		}
+	}
+
+	private Resource resolve(NamedResource resource) throws OutboxException {
+		if (!(resource instanceof LookupResource)) {
+			return resource;
+		}
+		String path = ((LookupResource) resource).getPath().getOriginalPath();
+		if (attachmentTranslator == null) {
+			throw new OutboxException("Can't store attachment " + path + ": no translator is configured to read the content of the attachment");
+		}
+		try {
+			return attachmentTranslator.translate(resource);
+		} catch (ResourceTranslatorException e) {
+			throw new OutboxException("Failed to read the content of attachment " + path, e);
+		}
+	}
+
+	private static NamedResource readResource(DataInputStream in) throws IOException, OutboxException {
+		byte type = in.readByte();
+		// attachments stored as a path by previous releases
+		if (type == LOOKUP_RESOURCE) {
+			ResourcePath path = new UnresolvedPath(readString(in));
+			String name = readString(in);
+			return name == null ? new LookupResource(path) : new LookupResource(path, name);
+		}
+		if (type == BYTE_RESOURCE) {
+			return new ByteResource(readString(in), readBytes(in));
+		}
+		throw new OutboxException("Unknown type " + type + " of encoded attachment");
+	}
+
+	// -------------------------------- Sms --------------------------------//
+
+	private void writeSms(DataOutputStream out, Sms sms) throws IOException, OutboxException {
+		writeContact(out, sms.getFrom());
+		out.writeInt(sms.getRecipients().size());
+		for (fr.sii.ogham.sms.message.Recipient recipient : sms.getRecipients()) {
+			writeContact(out, recipient);
+		}
+		writeContent(out, sms.getContent());
+	}
+
+	private Sms readSms(DataInputStream in) throws IOException, ClassNotFoundException, OutboxException {
+		Sms sms = new Sms();
+		if (in.readBoolean()) {
+			sms.from(new Sender(readString(in), readPhoneNumber(in)));
+		}
+		int count = in.readInt();
+		List<fr.sii.ogham.sms.message.Recipient> recipients = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			if (in.readBoolean()) {
+				recipients.add(new fr.sii.ogham.sms.message.Recipient(readString(in), readPhoneNumber(in)));
+			}
+		}
+		sms.recipients(recipients);
+		sms.content(readContent(in));
+		return sms;
+	}
+
+	private static void writeContact(DataOutputStream out, Contact contact) throws IOException {
+		out.writeBoolean(contact != null);
+		if (contact == null) {
+			return;
+		}
+		writeString(out, contact.getName());
+		PhoneNumber number = contact.getPhoneNumber();
+		writeString(out, number == null ? null : number.getNumber());
+		out.writeBoolean(number instanceof AddressedPhoneNumber);
+		if (number instanceof AddressedPhoneNumber) {
+			out.writeByte(((AddressedPhoneNumber) number).getTon().value());
+			out.writeByte(((AddressedPhoneNumber) number).getNpi().value());
+		}
+	}
+
+	private static PhoneNumber readPhoneNumber(DataInputStream in) throws IOException {
+		String number = readString(in);
+		if (in.readBoolean()) {
+			return new AddressedPhoneNumber(number, TypeOfNumber.valueOf(in.readByte()), NumberingPlanIndicator.valueOf(in.readByte()));
+		}
+		return number == null ? null : new PhoneNumber(number);
+	}
+
+	// ------------------------------ Content ------------------------------//
+
+	private void writeContent(DataOutputStream out, Content content) throws IOException, OutboxException {
+		if (content == null) {
+			out.writeByte(NO_CONTENT);
+		} else if (content instanceof MultiContent) {
+			out.writeByte(MULTI_CONTENT);
+			List<Content> contents = ((MultiContent) content).getContents();
+			out.writeInt(contents.size());
+			for (Content c : contents) {
+				writeContent(out, c);
+			}
+		} else if (content instanceof TemplateContent) {
+			out.writeByte(TEMPLATE_CONTENT);
+			writeTemplate(out, (TemplateContent) content);
+		} else if (content instanceof MayHaveStringContent && ((MayHaveStringContent) content).canProvideString()) {
+			out.writeByte(STRING_CONTENT);
+			writeString(out, ((MayHaveStringContent) content).asString());
+		} else {
+			throw new OutboxException("Can't store content of type " + content.getClass().getName());
+		}
+	}
+
+	private Content readContent(DataInputStream in) throws IOException, ClassNotFoundException, OutboxException {
+		byte type = in.readByte();
+		switch (type) {
+			case NO_CONTENT:
+				return null;
+			case STRING_CONTENT:
+				return new StringContent(readString(in));
+			case MULTI_CONTENT:
+				int count = in.readInt();
+				List<Content> contents = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					contents.add(readContent(in));
+				}
+				return new MultiContent(contents);
+			case TEMPLATE_CONTENT:
+				return readTemplate(in);
+			default:
+				throw new OutboxException("Unknown type " + type + " of encoded content");
+		}
+	}
+
+	private void writeTemplate(DataOutputStream out, TemplateContent template) throws IOException, OutboxException {
+		ResourcePath path = template.getPath();
+		out.writeBoolean(path instanceof ResolvedString);
+		writeString(out, path instanceof ResolvedString ? ((ResolvedString) path).getContent() : path.getOriginalPath());
+		Variant variant = template instanceof HasVariant ? ((HasVariant) template).getVariant() : null;
+		out.writeBoolean(variant != null);
+		if (variant != null) {
+			if (!(variant instanceof Enum)) {
+				throw new OutboxException("Can't store variant " + variant + ". Only variants that are enum values are supported");
+			}
+			writeString(out, ((Enum<?>) variant).getDeclaringClass().getName());
+			writeString(out, ((Enum<?>) variant).name());
+		}
+		Context context = template.getContext();
+		Locale locale = context instanceof LocaleContext ? ((LocaleContext) context).getLocale() : null;
+		writeString(out, locale == null ? null : locale.toLanguageTag());
+		writeBytes(out, serialize(context));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Content readTemplate(DataInputStream in) throws IOException, ClassNotFoundException, OutboxException {
+		boolean string = in.readBoolean();
+		String pathOrTemplate = readString(in);
+		ResourcePath path = string ? new ResolvedString(pathOrTemplate) : new UnresolvedPath(pathOrTemplate);
+		Variant variant = null;
+		if (in.readBoolean()) {
+			String className = readString(in);
+			Class enumClass = Class.forName(className, false, getClass().getClassLoader());
+			if (!enumClass.isEnum() || !Variant.class.isAssignableFrom(enumClass)) {
+				throw new OutboxException("Can't read variant of class " + className + ". Only variants that are enum values are supported");
+			}
+			variant = (Variant) Enum.valueOf(enumClass, readString(in));
+		}
+		String locale = readString(in);
+		Context context = new SimpleContext((Map<String, Object>) deserialize(readBytes(in)));
+		if (locale != null) {
+			context = new LocaleContext(context, Locale.forLanguageTag(locale));
+		}
+		return variant == null ? new TemplateContent(path, context) : new TemplateVariantContent(path, variant, context);
+	}
+
+	private static byte[] serialize(Context context) throws IOException, OutboxException {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(context == null ? new HashMap<>() : new HashMap<>(context.getVariables()));
+			}
+			return bytes.toByteArray();
+		} catch (ContextException e) {
+			throw new OutboxException("Can't store template variables", e);
+		} catch (NotSerializableException e) {
+			throw new OutboxException("Can't store template variables: all values must be serializable", e);
+		}
+	}
+
+	private Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new AllowedClassesObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+
+	private boolean isAllowed(String className) {
+		String name = className;
+		while (name.startsWith("[")) {
+			name = name.substring(1);
+		}
+		if (name.length() == 1) {
+			// array of primitives
+			return true;
+		}
+		if (name.startsWith("L") && name.endsWith(";")) {
+			name = name.substring(1, name.length() - 1);
+		}
+		int lastDot = name.lastIndexOf('.');
+		if (lastDot > 0 && DEFAULT_ALLOWED_PACKAGES.contains(name.substring(0, lastDot))) {
+			return true;
+		}
+		for (String allowed : allowedClasses) {
+			if (name.equals(allowed) || name.startsWith(allowed + ".")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Only resolves the classes that are allowed for template variables.
+	 */
+	private class AllowedClassesObjectInputStream extends ObjectInputStream {
+		AllowedClassesObjectInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			if (!isAllowed(desc.getName())) {
+				throw new InvalidClassException(desc.getName(), "class is not allowed for template variables");
+			}
+			return super.resolveClass(desc);
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			throw new InvalidClassException(Arrays.toString(interfaces), "proxies are not allowed for template variables");
+		}
+	}
+
+	// ------------------------------ Helpers ------------------------------//
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		writeBytes(out, value == null ? null : value.getBytes(UTF_8));
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = readBytes(in);
+		return bytes == null ? null : new String(bytes, UTF_8);
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(value.length);
+		out.write(value);
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null; // NOSONAR
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return "SimpleMessageCodec";
+	}
+}
@@ -0,0 +1,18 @@
+package fr.sii.ogham.core.ratelimit;
+
+/**
+ * What to do when the rate limit is reached.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public enum RateLimitMode {
+	/**
+	 * Wait until the message can be sent (at most the maximum wait time).
+	 */
+	BLOCK,
+	/**
+	 * Fail immediately: the message is not sent.
+	 */
+	FAIL_FAST
+}
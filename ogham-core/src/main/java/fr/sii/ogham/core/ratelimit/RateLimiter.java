@@ -0,0 +1,204 @@
+package fr.sii.ogham.core.ratelimit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of messages sent per second.
+ *
+ * <p>
+ * The limiter is a token bucket: at most {@code burst} messages can be sent
+ * at once, then messages can be sent at {@code permitsPerSecond}. The bucket
+ * is implemented as a "virtual scheduling" algorithm: the limiter only stores
+ * the time at which the next message is theoretically allowed. The state is
+ * updated using compare-and-set so the limiter can be shared between threads
+ * without locking.
+ *
+ * <p>
+ * When the limit is reached, {@link #acquire()} either waits (see
+ * {@link RateLimitMode#BLOCK}) or fails immediately (see
+ * {@link RateLimitMode#FAIL_FAST}). Waiting threads are served in the order
+ * they arrived since each one reserves its own slot.
+ *
+ * <p>
+ * The rate can also be adjusted dynamically when the provider indicates that
+ * too many messages are sent (see {@link #throttled()}): the rate is halved.
+ * Each message accepted by the provider then increases the rate again (see
+ * {@link #accepted()}) until it reaches the configured rate.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class RateLimiter {
+	private static final double NANOS_PER_SECOND = 1_000_000_000d;
+	private static final int MIN_RATE_DIVISOR = 16;
+	private static final int RECOVERY_STEPS = 20;
+
+	private final double permitsPerSecond;
+	private final int burst;
+	private final RateLimitMode mode;
+	private final long maxWait;
+	private final LongSupplier clock;
+	private final AtomicLong nextAllowed;
+	private final AtomicLong currentRate;
+
+	/**
+	 * Initializes the limiter with the maximum rate.
+	 *
+	 * @param permitsPerSecond
+	 *            the maximum number of messages sent per second
+	 * @param burst
+	 *            the number of messages that can be sent at once
+	 * @param mode
+	 *            what to do when the rate limit is reached
+	 * @param maxWait
+	 *            the maximum time to wait in milliseconds when using
+	 *            {@link RateLimitMode#BLOCK} (0 or negative to wait as long
+	 *            as needed)
+	 */
+	public RateLimiter(double permitsPerSecond, int burst, RateLimitMode mode, long maxWait) {
+		this(permitsPerSecond, burst, mode, maxWait, System::nanoTime);
+	}
+
+	/**
+	 * Initializes the limiter with the maximum rate.
+	 *
+	 * @param permitsPerSecond
+	 *            the maximum number of messages sent per second
+	 * @param burst
+	 *            the number of messages that can be sent at once
+	 * @param mode
+	 *            what to do when the rate limit is reached
+	 * @param maxWait
+	 *            the maximum time to wait in milliseconds when using
+	 *            {@link RateLimitMode#BLOCK} (0 or negative to wait as long
+	 *            as needed)
+	 * @param clock
+	 *            provides the current time in nanoseconds
+	 */
+	public RateLimiter(double permitsPerSecond, int burst, RateLimitMode mode, long maxWait, LongSupplier clock) {
+		super();
+		if (permitsPerSecond <= 0) {
+			throw new IllegalArgumentException("permitsPerSecond must be positive");
+		}
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = Math.max(1, burst);
+		this.mode = mode;
+		this.maxWait = maxWait <= 0 ? Long.MAX_VALUE : MILLISECONDS.toNanos(maxWait);
+		this.clock = clock;
+		this.nextAllowed = new AtomicLong(clock.getAsLong());
+		this.currentRate = new AtomicLong(Double.doubleToLongBits(permitsPerSecond));
+	}
+
+	/**
+	 * Takes a permit to send a message according to the {@link RateLimitMode}.
+	 *
+	 * @return true if the message can be sent, false if the rate limit is
+	 *         reached (and the maximum wait time is exceeded in
+	 *         {@link RateLimitMode#BLOCK} mode)
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting
+	 */
+	public boolean acquire() throws InterruptedException {
+		if (mode == RateLimitMode.FAIL_FAST) {
+			return tryAcquire();
+		}
+		long wait = reserve(maxWait);
+		if (wait < 0) {
+			return false;
+		}
+		if (wait > 0) {
+			NANOSECONDS.sleep(wait);
+		}
+		return true;
+	}
+
+	/**
+	 * Takes a permit to send a message only if it is available right now.
+	 *
+	 * @return true if the message can be sent, false if the rate limit is
+	 *         reached
+	 */
+	public boolean tryAcquire() {
+		return reserve(0) >= 0;
+	}
+
+	/**
+	 * Indicates that the provider rejected a message because too many
+	 * messages are sent. The current rate is halved (but never below a
+	 * sixteenth of the configured rate).
+	 */
+	public void throttled() {
+		double min = permitsPerSecond / MIN_RATE_DIVISOR;
+		updateRate(rate -> Math.max(min, rate / 2));
+	}
+
+	/**
+	 * Indicates that the provider accepted a message. If the rate was
+	 * previously reduced, it is increased by a twentieth of the configured
+	 * rate (but never above the configured rate).
+	 */
+	public void accepted() {
+		if (getCurrentRate() < permitsPerSecond) {
+			updateRate(rate -> Math.min(permitsPerSecond, rate + permitsPerSecond / RECOVERY_STEPS));
+		}
+	}
+
+	/**
+	 * @return the configured maximum rate
+	 */
+	public double getPermitsPerSecond() {
+		return permitsPerSecond;
+	}
+
+	/**
+	 * @return the rate currently applied (may be lower than the configured
+	 *         rate if the provider has throttled messages)
+	 */
+	public double getCurrentRate() {
+		return Double.longBitsToDouble(currentRate.get());
+	}
+
+	public int getBurst() {
+		return burst;
+	}
+
+	public RateLimitMode getMode() {
+		return mode;
+	}
+
+	private long reserve(long maxWaitNanos) {
+		long interval = (long) (NANOS_PER_SECOND / getCurrentRate());
+		long tolerance = interval * (burst - 1);
+		while (true) {
+			long now = clock.getAsLong();
+			long next = nextAllowed.get();
+			long wait = next - now - tolerance;
+			if (wait > maxWaitNanos) {
+				return -1;
+			}
+			if (nextAllowed.compareAndSet(next, Math.max(next, now) + interval)) {
+				return Math.max(0, wait);
+			}
+		}
+	}
+
+	private void updateRate(DoubleUnaryOperator update) {
+		while (true) {
+			long current = currentRate.get();
+			long updated = Double.doubleToLongBits(update.applyAsDouble(Double.longBitsToDouble(current)));
+			if (current == updated || currentRate.compareAndSet(current, updated)) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "RateLimiter [permitsPerSecond=" + permitsPerSecond + ", currentRate=" + getCurrentRate() + ", burst=" + burst + ", mode=" + mode + "]";
+	}
+}
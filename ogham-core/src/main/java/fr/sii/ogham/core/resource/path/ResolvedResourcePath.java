@@ -53,7 +53,16 @@ public class ResolvedResourcePath implements ResolvedPath {
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("originalPath", "lookup", "resolvedPath").isEqual();
+		// explicit comparison (no reflection) as resolved paths may be used as
+		// cache keys
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		ResolvedResourcePath other = (ResolvedResourcePath) obj;
+		return new EqualsBuilder().append(originalPath, other.originalPath).append(lookup, other.lookup).append(resolvedPath, other.resolvedPath).isEqual();
 	}
 	
 
@@ -23,7 +23,15 @@ public class UnresolvedPath implements ResourcePath {
 
 	@Override
 	public boolean equals(Object obj) {
-		return new EqualsBuilder(this, obj).appendFields("originalPath").isEqual();
+		// explicit comparison (no reflection) as paths may be used as cache
+		// keys
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		return new EqualsBuilder().append(originalPath, ((UnresolvedPath) obj).originalPath).isEqual();
 	}
 	
 	@Override
@@ -1,6 +1,7 @@
 package fr.sii.ogham.core.retry;
 
 import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Retry several times with an initial delay to wait after the last execution
@@ -27,14 +28,22 @@ import java.time.Instant;
  * <li>fail</li>
  * </ul>
  * 
+ * <p>
+ * The delay can be limited to a maximum value. When many actions fail at the
+ * same time, they are all retried at the same time. To spread the retries
+ * over time, a {@link Jitter} can be applied to randomize the delay.
+ * 
  * @author Aurélien Baudet
  *
  */
 public class ExponentialDelayRetry implements RetryStrategy {
 	private final int maxRetries;
 	private final long initialDelay;
+	private final long maxDelay;
+	private final Jitter jitter;
 	private int retries;
 	private int retried;
+	private long previousDelay;
 
 	/**
 	 * Initializes with the maximum attempts and the initial delay to wait after
@@ -46,10 +55,31 @@ public class ExponentialDelayRetry implements RetryStrategy {
 	 *            the initial delay that will be doubled for each attempt
 	 */
 	public ExponentialDelayRetry(int maxRetries, long initialDelay) {
+		this(maxRetries, initialDelay, 0, Jitter.NONE);
+	}
+
+	/**
+	 * Initializes with the maximum attempts, the initial delay to wait after a
+	 * failure, the maximum delay and the randomization to apply to the delay.
+	 * 
+	 * @param maxRetries
+	 *            the maximum attempts
+	 * @param initialDelay
+	 *            the initial delay that will be doubled for each attempt
+	 * @param maxDelay
+	 *            the maximum delay to wait between two attempts (0 or negative
+	 *            value means no limit)
+	 * @param jitter
+	 *            the randomization applied to the delay
+	 */
+	public ExponentialDelayRetry(int maxRetries, long initialDelay, long maxDelay, Jitter jitter) {
 		super();
 		this.maxRetries = maxRetries;
 		this.initialDelay = initialDelay;
+		this.maxDelay = maxDelay;
+		this.jitter = jitter == null ? Jitter.NONE : jitter;
 		retries = maxRetries;
+		previousDelay = initialDelay;
 	}
 
 	@Override
@@ -60,11 +90,39 @@ public class ExponentialDelayRetry implements RetryStrategy {
 	@Override
 	public Instant nextDate(Instant executionStartTime, Instant executionFailureTime) {
 		retries--;
-		long delay = (long) Math.scalb(initialDelay, retried);
+		long delay = nextDelay();
 		retried++;
 		return executionFailureTime.plusMillis(delay);
 	}
 
+	private long nextDelay() {
+		long exponential = cap((long) Math.scalb(initialDelay, retried));
+		switch (jitter) {
+			case FULL:
+				return random(0, exponential);
+			case DECORRELATED:
+				previousDelay = random(initialDelay, Math.max(initialDelay, cap(previousDelay * 3)));
+				return previousDelay;
+			default:
+				return exponential;
+		}
+	}
+
+	private static long random(long min, long max) {
+		if (min >= max) {
+			return min;
+		}
+		return ThreadLocalRandom.current().nextLong(min, max == Long.MAX_VALUE ? max : max + 1);
+	}
+
+	private long cap(long delay) {
+		// negative when overflow
+		if (delay < 0) {
+			return maxDelay > 0 ? maxDelay : Long.MAX_VALUE;
+		}
+		return maxDelay > 0 ? Math.min(delay, maxDelay) : delay;
+	}
+
 	public int getRemainingRetries() {
 		return retries;
 	}
@@ -72,4 +130,12 @@ public class ExponentialDelayRetry implements RetryStrategy {
 	public int getMaxRetries() {
 		return maxRetries;
 	}
+
+	public long getMaxDelay() {
+		return maxDelay;
+	}
+
+	public Jitter getJitter() {
+		return jitter;
+	}
 }
@@ -0,0 +1,30 @@
+package fr.sii.ogham.core.retry;
+
+/**
+ * Randomization applied to the delay computed by {@link ExponentialDelayRetry}.
+ *
+ * <p>
+ * Without randomization, all the actions that fail at the same time (for
+ * example because the server is overloaded) are retried at the same time. The
+ * server receives bursts of retries and is never able to recover. Randomizing
+ * the delay spreads the retries over time.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public enum Jitter {
+	/**
+	 * No randomization: the delay is doubled after each attempt.
+	 */
+	NONE,
+	/**
+	 * The delay is a random value between 0 and the exponential delay.
+	 */
+	FULL,
+	/**
+	 * The delay is a random value between the initial delay and three times the
+	 * previous delay. The delay still grows but each execution follows its own
+	 * sequence.
+	 */
+	DECORRELATED
+}
@@ -0,0 +1,85 @@
+package fr.sii.ogham.core.retry;
+
+/**
+ * Limits the number of retries for all executions that share the same budget.
+ *
+ * <p>
+ * When a remote system is down, every execution fails and is retried several
+ * times. Without a limit, the retries multiply the load on a system that is
+ * already unable to handle it. The budget is a token bucket: each retry
+ * consumes a token and the tokens are refilled at a constant rate up to the
+ * capacity. When there is no token left, the execution fails immediately
+ * instead of being retried.
+ *
+ * <p>
+ * First executions are never limited: only retries consume tokens.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class RetryBudget {
+	private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+	private final int capacity;
+	private final double refillRate;
+	private double tokens;
+	private long lastRefill;
+
+	/**
+	 * Initializes the budget with all tokens available.
+	 *
+	 * @param capacity
+	 *            the maximum number of retries that can be done in a burst
+	 * @param refillRate
+	 *            the number of tokens added per second
+	 */
+	public RetryBudget(int capacity, double refillRate) {
+		super();
+		this.capacity = capacity;
+		this.refillRate = refillRate;
+		this.tokens = capacity;
+		this.lastRefill = System.nanoTime();
+	}
+
+	/**
+	 * Consumes a token if there is one left.
+	 *
+	 * @return true if a retry can be attempted, false if the budget is
+	 *         exhausted
+	 */
+	public synchronized boolean tryAcquire() {
+		refill();
+		if (tokens < 1) {
+			return false;
+		}
+		tokens--;
+		return true;
+	}
+
+	/**
+	 * @return the number of retries that can be done right now
+	 */
+	public synchronized int getAvailable() {
+		refill();
+		return (int) tokens;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public double getRefillRate() {
+		return refillRate;
+	}
+
+	private void refill() {
+		long now = System.nanoTime();
+		tokens = Math.min(capacity, tokens + (now - lastRefill) / NANOS_PER_SECOND * refillRate);
+		lastRefill = now;
+	}
+
+	@Override
+	public String toString() {
+		return "RetryBudget [capacity=" + capacity + ", refillRate=" + refillRate + "]";
+	}
+}
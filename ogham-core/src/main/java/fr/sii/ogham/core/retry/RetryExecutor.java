@@ -1,7 +1,10 @@
 package fr.sii.ogham.core.retry;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.exception.retry.RetryException;
 
 /**
@@ -55,4 +58,63 @@ public interface RetryExecutor {
 	 *             retries the action couldn't be executed
 	 */
 	<V> V execute(Callable<V> actionToRetry) throws RetryException;
+
+	/**
+	 * Execute the action asynchronously. If the action succeeds then the
+	 * returned future is completed with the result. If the action fails (any
+	 * exception) then retry it according to {@link RetryStrategy} strategy.
+	 * The action will be executed until it succeeds or the
+	 * {@link RetryStrategy} strategy is terminated. In this case, the returned
+	 * future is completed exceptionally with a {@link RetryException}.
+	 * 
+	 * <p>
+	 * The default implementation simply calls {@link #execute(Callable)} using
+	 * the executor provided by {@link AsyncExecutors} (meaning that a thread
+	 * may be blocked while waiting for the next retry). Implementations should
+	 * override this method in order to schedule the retries instead.
+	 * 
+	 * @param actionToRetry
+	 *            the action to execute and retry if fails to execute
+	 * @param executors
+	 *            the executors used to execute the action and to schedule the
+	 *            retries
+	 * @param <V>
+	 *            the type of the object returned by the executed action
+	 * @return the future result of the executed action
+	 */
+	default <V> CompletableFuture<V> executeAsync(Callable<V> actionToRetry, AsyncExecutors executors) {
+		return executors.execute(() -> execute(actionToRetry));
+	}
+
+	/**
+	 * Same as {@link #executeAsync(Callable, AsyncExecutors)} but the action
+	 * is itself asynchronous: it returns a future. The action fails if either
+	 * it throws an exception or the returned future is completed
+	 * exceptionally.
+	 * 
+	 * <p>
+	 * The default implementation simply waits for the future returned by the
+	 * action using {@link #executeAsync(Callable, AsyncExecutors)} (meaning
+	 * that a thread is blocked until the future is completed).
+	 * Implementations should override this method in order to be notified
+	 * when the future is completed instead.
+	 * 
+	 * @param actionToRetry
+	 *            the asynchronous action to execute and retry if fails
+	 * @param executors
+	 *            the executors used to execute the action and to schedule the
+	 *            retries
+	 * @param <V>
+	 *            the type of the object provided by the executed action
+	 * @return the future result of the executed action
+	 */
+	default <V> CompletableFuture<V> composeAsync(Callable<CompletableFuture<V>> actionToRetry, AsyncExecutors executors) {
+		return executeAsync(() -> {
+			try {
+				return actionToRetry.call().get();
+			} catch (ExecutionException e) {
+				throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+			}
+		}, executors);
+	}
 }
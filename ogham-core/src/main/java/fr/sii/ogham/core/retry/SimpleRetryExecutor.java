@@ -1,22 +1,36 @@
 package fr.sii.ogham.core.retry;
 
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_FAILURE;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_SUCCESS;
+import static fr.sii.ogham.core.metrics.MetricNames.RETRY_ATTEMPTS;
+import static fr.sii.ogham.core.metrics.MetricNames.RETRY_BACKOFF;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_ACTION;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_OUTCOME;
+
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.async.Awaiter;
 import fr.sii.ogham.core.exception.async.WaitException;
 import fr.sii.ogham.core.exception.retry.ExecutionFailedNotRetriedException;
 import fr.sii.ogham.core.exception.retry.ExecutionFailureWrapper;
 import fr.sii.ogham.core.exception.retry.MaximumAttemptsReachedException;
+import fr.sii.ogham.core.exception.retry.RetryBudgetExhaustedException;
 import fr.sii.ogham.core.exception.retry.RetryException;
 import fr.sii.ogham.core.exception.retry.RetryExecutionInterruptedException;
 import fr.sii.ogham.core.exception.retry.UnrecoverableException;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
 
 /**
  * A simple implementation that tries to execute the action, if it fails (any
@@ -27,6 +41,26 @@ import fr.sii.ogham.core.exception.retry.UnrecoverableException;
  * should stop. Once stopped, it means that no execution of the action succeeded
  * so the last exception is thrown.
  * 
+ * <p>
+ * When the action is executed asynchronously (see
+ * {@link #executeAsync(Callable, AsyncExecutors)} and
+ * {@link #composeAsync(Callable, AsyncExecutors)}), the {@link Awaiter} is not
+ * used. Instead, the next attempt is scheduled using
+ * {@link AsyncExecutors#schedule(Runnable, long, CompletableFuture)} so no
+ * thread is blocked while waiting for the next retry. If the action returns a
+ * future, no thread is blocked while waiting for the future either.
+ * 
+ * <p>
+ * If a {@link RetryBudget} is provided, it is shared by all executions. Each
+ * retry consumes a token from the budget. When the budget is exhausted, the
+ * action is not retried and the execution fails immediately. This way, retries
+ * can't amplify the load on a remote system that is already failing.
+ * 
+ * <p>
+ * If metrics are enabled, each attempt is counted (tagged by the name of the
+ * action and the outcome) and the time to wait before the next attempt is
+ * recorded.
+ * 
  * @author Aurélien Baudet
  *
  */
@@ -53,6 +87,16 @@ public class SimpleRetryExecutor implements RetryExecutor {
 	 */
 	private final Predicate<Throwable> recoverable;
 
+	/**
+	 * Records the attempts and the time waited between attempts
+	 */
+	private final MetricsRecorder metrics;
+
+	/**
+	 * Limits the retries of all executions (may be null)
+	 */
+	private final RetryBudget budget;
+
 	/**
 	 * Initializes with a provider in order to use a fresh {@link RetryStrategy}
 	 * strategy each time the execute method is called. This is mandatory to be
@@ -87,10 +131,63 @@ public class SimpleRetryExecutor implements RetryExecutor {
 	 *            immediately)
 	 */
 	public SimpleRetryExecutor(RetryStrategyProvider retryProvider, Awaiter awaiter, Predicate<Throwable> recoverable) {
+		this(retryProvider, awaiter, recoverable, new NoMetricsRecorder());
+	}
+
+	/**
+	 * Initializes with a provider in order to use a fresh {@link RetryStrategy}
+	 * strategy each time the execute method is called. This is mandatory to be
+	 * able to use the {@link RetryExecutor} in a multi-threaded application.
+	 * This avoids sharing same instance between several
+	 * {@link #execute(Callable)} calls.
+	 * 
+	 * @param retryProvider
+	 *            the provider that will provide the retry strategy
+	 * @param awaiter
+	 *            the waiter that waits some time between retries
+	 * @param recoverable
+	 *            check if the exception is recoverable (means that retry can be
+	 *            attempted) or unrecoverable (means that it should fail
+	 *            immediately)
+	 * @param metrics
+	 *            records the attempts and the time waited between attempts
+	 */
+	public SimpleRetryExecutor(RetryStrategyProvider retryProvider, Awaiter awaiter, Predicate<Throwable> recoverable, MetricsRecorder metrics) {
+		this(retryProvider, awaiter, recoverable, metrics, null);
+	}
+
+	/**
+	 * Initializes with a provider in order to use a fresh {@link RetryStrategy}
+	 * strategy each time the execute method is called. This is mandatory to be
+	 * able to use the {@link RetryExecutor} in a multi-threaded application.
+	 * This avoids sharing same instance between several
+	 * {@link #execute(Callable)} calls.
+	 * 
+	 * <p>
+	 * The budget is shared by all executions. Each retry consumes a token from
+	 * the budget. If the budget is exhausted, the execution fails immediately
+	 * with a {@link RetryBudgetExhaustedException}.
+	 * 
+	 * @param retryProvider
+	 *            the provider that will provide the retry strategy
+	 * @param awaiter
+	 *            the waiter that waits some time between retries
+	 * @param recoverable
+	 *            check if the exception is recoverable (means that retry can be
+	 *            attempted) or unrecoverable (means that it should fail
+	 *            immediately)
+	 * @param metrics
+	 *            records the attempts and the time waited between attempts
+	 * @param budget
+	 *            limits the retries of all executions (null means no limit)
+	 */
+	public SimpleRetryExecutor(RetryStrategyProvider retryProvider, Awaiter awaiter, Predicate<Throwable> recoverable, MetricsRecorder metrics, RetryBudget budget) {
 		super();
 		this.retryProvider = retryProvider;
 		this.awaiter = awaiter;
 		this.recoverable = recoverable;
+		this.metrics = metrics;
+		this.budget = budget;
 	}
 
 	@Override
@@ -103,16 +200,49 @@ public class SimpleRetryExecutor implements RetryExecutor {
 		return executeWithRetry(actionToRetry, retry);
 	}
 
-	private <V> V executeWithRetry(Callable<V> actionToRetry, RetryStrategy retry) throws RetryExecutionInterruptedException, MaximumAttemptsReachedException, UnrecoverableException {
+	@Override
+	public <V> CompletableFuture<V> executeAsync(Callable<V> actionToRetry, AsyncExecutors executors) {
+		// new instance for each execution
+		RetryStrategy retry = retryProvider.provide();
+		if (retry == null) {
+			return executors.execute(() -> executeWithoutRetry(actionToRetry));
+		}
+		CompletableFuture<V> result = new CompletableFuture<>();
+		executors.schedule(new AsyncAttempt<>(actionToRetry, () -> CompletableFuture.completedFuture(actionToRetry.call()), retry, executors, result), 0, result);
+		return result;
+	}
+
+	@Override
+	public <V> CompletableFuture<V> composeAsync(Callable<CompletableFuture<V>> actionToRetry, AsyncExecutors executors) {
+		// new instance for each execution
+		RetryStrategy retry = retryProvider.provide();
+		CompletableFuture<V> result = new CompletableFuture<>();
+		if (retry == null) {
+			executors.execute(actionToRetry).thenCompose(future -> future).whenComplete((value, e) -> {
+				if (e == null) {
+					result.complete(value);
+				} else {
+					result.completeExceptionally(new ExecutionFailedNotRetriedException("Failed to execute action '" + getActionName(actionToRetry) + "' and no retry strategy configured", unwrap(e)));
+				}
+			});
+			return result;
+		}
+		executors.schedule(new AsyncAttempt<>(actionToRetry, actionToRetry, retry, executors, result), 0, result);
+		return result;
+	}
+
+	private <V> V executeWithRetry(Callable<V> actionToRetry, RetryStrategy retry) throws RetryExecutionInterruptedException, MaximumAttemptsReachedException, UnrecoverableException, RetryBudgetExhaustedException {
 		List<Exception> failures = new ArrayList<>();
 		do {
 			Instant executionStartTime = Instant.now();
 			try {
-				return actionToRetry.call();
+				V value = actionToRetry.call();
+				recordAttempt(actionToRetry, OUTCOME_SUCCESS);
+				return value;
 			} catch (Exception e) {
 				Instant executionFailure = Instant.now();
 				handleFailure(executionStartTime, executionFailure, actionToRetry, failures, e);
-				pause(executionStartTime, executionFailure, actionToRetry, retry, e);
+				pause(executionStartTime, executionFailure, actionToRetry, retry, e, failures);
 			}
 		} while (!retry.terminated());
 		// action couldn't be executed
@@ -120,12 +250,28 @@ public class SimpleRetryExecutor implements RetryExecutor {
 	}
 
 	private <V> void handleFailure(Instant executionStart, Instant executionFailure, Callable<V> actionToRetry, List<Exception> failures, Exception e) throws UnrecoverableException {
+		recordAttempt(actionToRetry, OUTCOME_FAILURE);
 		failures.add(new ExecutionFailureWrapper(getActionName(actionToRetry), executionStart, executionFailure, e));
 		if (!recoverable.test(e)) {
 			throw new UnrecoverableException("Unrecoverable exception thrown while executing '" + getActionName(actionToRetry) + "'", failures);
 		}
 	}
 
+	/**
+	 * Each retry consumes a token from the budget (if any). No thread waits
+	 * for a token: if the budget is exhausted, the execution fails
+	 * immediately.
+	 */
+	private <V> void consumeBudget(Callable<V> actionToRetry, List<Exception> failures) throws RetryBudgetExhaustedException {
+		if (budget == null) {
+			return;
+		}
+		if (!budget.tryAcquire()) {
+			LOG.debug("{} not retried: retry budget exhausted ({})", getActionName(actionToRetry), budget);
+			throw new RetryBudgetExhaustedException("Too many retries in progress, action '" + getActionName(actionToRetry) + "' is not retried", failures);
+		}
+	}
+
 	private static <V> V executeWithoutRetry(Callable<V> actionToRetry) throws ExecutionFailedNotRetriedException {
 		try {
 			return actionToRetry.call();
@@ -134,10 +280,15 @@ public class SimpleRetryExecutor implements RetryExecutor {
 		}
 	}
 
-	private <V> void pause(Instant executionStartTime, Instant executionFailureTime, Callable<V> actionToRetry, RetryStrategy retry, Exception e) throws RetryExecutionInterruptedException {
+	private <V> void pause(Instant executionStartTime, Instant executionFailureTime, Callable<V> actionToRetry, RetryStrategy retry, Exception e, List<Exception> failures)
+			throws RetryExecutionInterruptedException, RetryBudgetExhaustedException {
 		Instant nextDate = retry.nextDate(executionStartTime, executionFailureTime);
+		if (budget != null && !retry.terminated()) {
+			consumeBudget(actionToRetry, failures);
+		}
 		LOG.debug("{} failed ({}: {}). Retrying at {}...", getActionName(actionToRetry), e.getClass(), e.getMessage(), nextDate);
 		LOG.trace("{}", e.getMessage(), e);
+		recordBackoff(actionToRetry, nextDate);
 		pauseUntil(nextDate);
 	}
 
@@ -149,6 +300,23 @@ public class SimpleRetryExecutor implements RetryExecutor {
 		}
 	}
 
+	private <V> void recordAttempt(Callable<V> actionToRetry, String outcome) {
+		if (metrics.isEnabled()) {
+			metrics.increment(RETRY_ATTEMPTS, TAG_ACTION, getActionName(actionToRetry), TAG_OUTCOME, outcome);
+		}
+	}
+
+	private <V> void recordBackoff(Callable<V> actionToRetry, Instant nextDate) {
+		if (metrics.isEnabled()) {
+			long wait = Math.max(0, Duration.between(Instant.now(), nextDate).toNanos());
+			metrics.recordTime(RETRY_BACKOFF, wait, TAG_ACTION, getActionName(actionToRetry));
+		}
+	}
+
+	private static Throwable unwrap(Throwable e) {
+		return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+	}
+
 	private static <V> String getActionName(Callable<V> actionToRetry) {
 		if (actionToRetry instanceof NamedCallable) {
 			return ((NamedCallable<?>) actionToRetry).getName();
@@ -156,4 +324,76 @@ public class SimpleRetryExecutor implements RetryExecutor {
 		return "unnamed";
 	}
 
+	private class AsyncAttempt<V> implements Runnable {
+		private final Callable<?> actionToRetry;
+		private final Callable<CompletableFuture<V>> attempt;
+		private final RetryStrategy retry;
+		private final AsyncExecutors executors;
+		private final CompletableFuture<V> result;
+		private final List<Exception> failures;
+
+		public AsyncAttempt(Callable<?> actionToRetry, Callable<CompletableFuture<V>> attempt, RetryStrategy retry, AsyncExecutors executors, CompletableFuture<V> result) {
+			super();
+			this.actionToRetry = actionToRetry;
+			this.attempt = attempt;
+			this.retry = retry;
+			this.executors = executors;
+			this.result = result;
+			this.failures = new ArrayList<>();
+		}
+
+		@Override
+		public void run() {
+			Instant executionStartTime = Instant.now();
+			CompletableFuture<V> future;
+			try {
+				future = attempt.call();
+			} catch (Exception e) {
+				failed(executionStartTime, e);
+				return;
+			}
+			future.whenComplete((value, e) -> {
+				if (e == null) {
+					recordAttempt(actionToRetry, OUTCOME_SUCCESS);
+					result.complete(value);
+					return;
+				}
+				Throwable cause = unwrap(e);
+				if (cause instanceof Exception) {
+					failed(executionStartTime, (Exception) cause);
+				} else {
+					result.completeExceptionally(cause);
+				}
+			});
+		}
+
+		private void failed(Instant executionStartTime, Exception e) {
+			Instant executionFailure = Instant.now();
+			try {
+				handleFailure(executionStartTime, executionFailure, actionToRetry, failures, e);
+			} catch (UnrecoverableException unrecoverable) {
+				result.completeExceptionally(unrecoverable);
+				return;
+			}
+			scheduleNextAttempt(executionStartTime, executionFailure, e);
+		}
+
+		private void scheduleNextAttempt(Instant executionStartTime, Instant executionFailure, Exception e) {
+			Instant nextDate = retry.nextDate(executionStartTime, executionFailure);
+			if (retry.terminated()) {
+				result.completeExceptionally(new MaximumAttemptsReachedException("Maximum attempts to execute action '" + getActionName(actionToRetry) + "' is reached", failures));
+				return;
+			}
+			try {
+				consumeBudget(actionToRetry, failures);
+			} catch (RetryBudgetExhaustedException exhausted) {
+				result.completeExceptionally(exhausted);
+				return;
+			}
+			LOG.debug("{} failed ({}: {}). Retry scheduled at {}...", getActionName(actionToRetry), e.getClass(), e.getMessage(), nextDate);
+			LOG.trace("{}", e.getMessage(), e);
+			recordBackoff(actionToRetry, nextDate);
+			executors.schedule(this, nextDate.toEpochMilli() - System.currentTimeMillis(), result);
+		}
+	}
 }
@@ -1,9 +1,16 @@
 package fr.sii.ogham.core.sender;
 
 import static fr.sii.ogham.core.retry.NamedCallable.named;
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.exception.retry.RetryException;
 import fr.sii.ogham.core.exception.retry.RetryExecutionInterruptedException;
 import fr.sii.ogham.core.message.Message;
@@ -17,6 +24,19 @@ import fr.sii.ogham.core.retry.RetryStrategy;
  * <p>
  * The retry management is delegated to a {@link RetryExecutor}.
  * 
+ * <p>
+ * When the message is sent asynchronously, the message is sent
+ * asynchronously by the decorated sender (see
+ * {@link MessageSender#sendAsync(Message, AsyncExecutors)}) and the retries
+ * are scheduled by the {@link RetryExecutor} (see
+ * {@link RetryExecutor#composeAsync(java.util.concurrent.Callable, AsyncExecutors)})
+ * instead of blocking a thread while waiting.
+ * 
+ * <p>
+ * When several messages are sent at once, the whole batch is first given to
+ * the decorated sender. Then each message of the batch that couldn't be sent
+ * is sent again (one by one) using the {@link RetryExecutor}.
+ * 
  * @author Aurélien Baudet
  * @see RetryExecutor
  * @see RetryStrategy
@@ -53,6 +73,38 @@ public class AutoRetrySender implements ConditionalSender {
 		}
 	}
 
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		retry.composeAsync(named("Send message", () -> delegate.sendAsync(message, executors)), executors).whenComplete((v, e) -> {
+			if (e == null) {
+				result.complete(null);
+			} else if (e instanceof RetryException) {
+				result.completeExceptionally(new MessageNotSentException("Failed to send message", message, e));
+			} else {
+				result.completeExceptionally(e);
+			}
+		});
+		return result;
+	}
+
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		try {
+			delegate.sendAll(messages);
+		} catch (MessagesNotSentException e) {
+			List<MessageException> failures = new ArrayList<>();
+			for (Message failed : e.getFailedMessages()) {
+				try {
+					send(failed);
+				} catch (MessageException retryFailure) {
+					failures.add(retryFailure);
+				}
+			}
+			failIfAny(failures, messages.size());
+		}
+	}
+
 	@Override
 	public boolean supports(Message message) {
 		if (delegate instanceof ConditionalSender) {
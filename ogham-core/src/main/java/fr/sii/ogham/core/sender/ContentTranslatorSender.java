@@ -1,10 +1,19 @@
 package fr.sii.ogham.core.sender;
 
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
+import static fr.sii.ogham.core.util.BatchUtils.sendAndCollectFailures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.translator.content.ContentTranslator;
@@ -58,15 +67,54 @@ public class ContentTranslatorSender implements ConditionalSender {
 
 	@Override
 	public void send(Message message) throws MessageException {
+		translate(message);
+		LOG.debug("Sending translated message using {}", delegate);
+		LOG.trace("message: {}", message);
+		delegate.send(message);
+	}
+
+	/**
+	 * The content is translated using the provided executors. The translated
+	 * message is then sent asynchronously by the decorated sender (see
+	 * {@link MessageSender#sendAsync(Message, AsyncExecutors)}).
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		return executors.execute(() -> {
+			translate(message);
+			return null;
+		}).thenCompose(v -> {
+			LOG.debug("Sending translated message asynchronously using {}", delegate);
+			LOG.trace("message: {}", message);
+			return delegate.sendAsync(message, executors);
+		});
+	}
+
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		List<MessageException> failures = new ArrayList<>();
+		List<Message> translated = new ArrayList<>(messages.size());
+		LOG.debug("Translate the content of {} messages using {}", messages.size(), translator);
+		for (Message message : messages) {
+			try {
+				message.setContent(translator.translate(message.getContent()));
+				translated.add(message);
+			} catch (ContentTranslatorException e) {
+				failures.add(new MessageNotSentException("Failed to send message due to content handler", message, e));
+			}
+		}
+		LOG.debug("Sending {} translated messages using {}", translated.size(), delegate);
+		sendAndCollectFailures(delegate, translated, failures);
+		failIfAny(failures, messages.size());
+	}
+
+	private void translate(Message message) throws MessageNotSentException {
 		try {
 			LOG.debug("Translate the message content using {}", translator);
 			LOG.trace("content: {}", message.getContent());
 			message.setContent(translator.translate(message.getContent()));
 			LOG.debug("Message content translated using {}", translator);
 			LOG.trace("content: {}", message.getContent());
-			LOG.debug("Sending translated message using {}", delegate);
-			LOG.trace("message: {}", message);
-			delegate.send(message);
 		} catch (ContentTranslatorException e) {
 			throw new MessageNotSentException("Failed to send message due to content handler", message, e);
 		}
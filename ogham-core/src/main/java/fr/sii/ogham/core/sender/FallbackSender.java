@@ -1,18 +1,37 @@
 package fr.sii.ogham.core.sender;
 
+import static fr.sii.ogham.core.metrics.MetricNames.FALLBACK_HOPS;
+import static fr.sii.ogham.core.metrics.MetricNames.FALLBACK_SKIPS;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_IMPLEMENTATION;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_TYPE;
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
 import static fr.sii.ogham.core.util.LogUtils.logString;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.exception.MultipleCauseExceptionWrapper;
+import fr.sii.ogham.core.exception.circuit.CircuitOpenException;
 import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
+import fr.sii.ogham.core.sender.circuit.CircuitBreaker;
+import fr.sii.ogham.core.sender.circuit.SenderOrdering;
 
 /**
  * Decorator implementation that will try to send the message until one
@@ -20,6 +39,23 @@ import fr.sii.ogham.core.message.Message;
  * send the message, then another will send it. It can ensure that message will
  * be sent at any costs.
  * 
+ * <p>
+ * If metrics are enabled, each time a sender fails to send a message, a hop
+ * is counted (tagged by the type of message and the failing sender).
+ * 
+ * <p>
+ * If a {@link CircuitBreaker} factory is provided, the health of each sender
+ * is tracked. A sender that failed too often recently is skipped immediately
+ * instead of waiting for it to fail again (a skip is counted if metrics are
+ * enabled). The senders can also be ordered by their observed latency (see
+ * {@link SenderOrdering}) in order to use the fastest healthy sender first.
+ * 
+ * <p>
+ * <strong>WARNING: circuit breakers and ordering are experimental.</strong>
+ * No builder creates a {@link FallbackSender} with them and there is no
+ * configuration property yet: they are only available by instantiating this
+ * class directly. The API may change in a future version.
+ * 
  * @author Aurélien Baudet
  *
  */
@@ -31,6 +67,27 @@ public class FallbackSender implements MessageSender {
 	 */
 	private List<MessageSender> senders;
 
+	/**
+	 * Records the hops
+	 */
+	private final MetricsRecorder metrics;
+
+	/**
+	 * Creates the circuit breaker of each sender (null to always try every
+	 * sender)
+	 */
+	private final Supplier<CircuitBreaker> circuitBreakerFactory;
+
+	/**
+	 * The circuit breaker associated to each sender
+	 */
+	private final Map<MessageSender, CircuitBreaker> circuitBreakers;
+
+	/**
+	 * The order used to try the senders
+	 */
+	private final SenderOrdering ordering;
+
 	/**
 	 * Initialize either none, one or several senders to try one by one until
 	 * one succeeds.
@@ -50,29 +107,195 @@ public class FallbackSender implements MessageSender {
 	 *            the senders to register
 	 */
 	public FallbackSender(List<MessageSender> senders) {
+		this(senders, new NoMetricsRecorder());
+	}
+
+	/**
+	 * Initialize with the provided list of senders to try one by one until one
+	 * succeeds and the recorder used to count the hops.
+	 * 
+	 * @param senders
+	 *            the senders to register
+	 * @param metrics
+	 *            records the hops
+	 */
+	public FallbackSender(List<MessageSender> senders, MetricsRecorder metrics) {
+		this(senders, metrics, null, SenderOrdering.DECLARATION);
+	}
+
+	/**
+	 * Initialize with the provided list of senders, the recorder used to count
+	 * the hops and the factory used to create the circuit breaker of each
+	 * sender.
+	 * 
+	 * <p>
+	 * A sender is skipped while its circuit is open. The message is then
+	 * directly given to the next sender.
+	 * 
+	 * <p>
+	 * <strong>WARNING: experimental API, it may change in a future
+	 * version.</strong>
+	 * 
+	 * @param senders
+	 *            the senders to register
+	 * @param metrics
+	 *            records the hops and the skipped senders
+	 * @param circuitBreakerFactory
+	 *            creates a new {@link CircuitBreaker} for each sender (null to
+	 *            always try every sender)
+	 * @param ordering
+	 *            the order used to try the senders
+	 */
+	public FallbackSender(List<MessageSender> senders, MetricsRecorder metrics, Supplier<CircuitBreaker> circuitBreakerFactory, SenderOrdering ordering) {
 		super();
 		this.senders = senders;
+		this.metrics = metrics;
+		this.circuitBreakerFactory = circuitBreakerFactory;
+		this.circuitBreakers = new IdentityHashMap<>();
+		this.ordering = ordering;
+		for (MessageSender sender : senders) {
+			registerCircuitBreaker(sender);
+		}
 	}
 
 	@Override
 	@SuppressWarnings("squid:S2221")
 	public void send(Message message) throws MessageException {
 		List<Exception> causes = new ArrayList<>();
-		for (MessageSender sender : senders) {
+		for (MessageSender sender : orderedSenders()) {
+			CircuitBreaker circuitBreaker = circuitBreakers.get(sender);
+			if (circuitBreaker != null && !circuitBreaker.allowRequest()) {
+				LOG.debug("Sender {} skipped for message {} because it failed too often recently ({})", sender, logString(message), circuitBreaker);
+				recordSkip(message, sender);
+				causes.add(new CircuitOpenException("Sender skipped because it failed too often recently", message, sender));
+				continue;
+			}
+			long start = System.nanoTime();
 			try {
 				LOG.debug("Try to send message {} using sender {}", logString(message), sender);
 				sender.send(message);
 				LOG.debug("Message {} sent using sender {}", logString(message), sender);
+				recordSuccess(circuitBreaker, start);
 				return;
 			} catch (Exception e) {
 				LOG.debug("Message {} couldn't be sent using sender {}. Cause: {}", logString(message), sender, e.getMessage());
 				LOG.trace("", e);
+				recordFailure(circuitBreaker, start);
+				recordHop(message, sender);
 				causes.add(e);
 			}
 		}
 		throw new MessageNotSentException("No sender could handle the message", message, new MultipleCauseExceptionWrapper(causes));
 	}
 
+	/**
+	 * The senders are tried one after the other until one succeeds. Each
+	 * sender sends the message asynchronously (see
+	 * {@link MessageSender#sendAsync(Message, AsyncExecutors)}) and the next
+	 * sender is tried once the previous one has failed.
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		tryNextAsync(message, executors, orderedSenders().iterator(), new ArrayList<>(), result);
+		return result;
+	}
+
+	/**
+	 * Sends several messages at once. The whole batch is given to the first
+	 * sender. The messages that couldn't be sent are then given to the next
+	 * sender and so on.
+	 * 
+	 * <p>
+	 * If circuit breakers are used, a batch call is considered failed only if
+	 * none of the messages could be sent.
+	 * 
+	 * @param messages
+	 *            the messages to send
+	 * @throws MessagesNotSentException
+	 *             when at least one message couldn't be sent by any sender
+	 */
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		List<? extends Message> remaining = messages;
+		Map<Message, List<Exception>> causes = new IdentityHashMap<>();
+		for (MessageSender sender : orderedSenders()) {
+			CircuitBreaker circuitBreaker = circuitBreakers.get(sender);
+			if (circuitBreaker != null && !circuitBreaker.allowRequest()) {
+				LOG.debug("Sender {} skipped for {} messages because it failed too often recently ({})", sender, remaining.size(), circuitBreaker);
+				for (Message skipped : remaining) {
+					recordSkip(skipped, sender);
+					causes.computeIfAbsent(skipped, k -> new ArrayList<>()).add(new CircuitOpenException("Sender skipped because it failed too often recently", skipped, sender));
+				}
+				continue;
+			}
+			long start = System.nanoTime();
+			try {
+				LOG.debug("Try to send {} messages using sender {}", remaining.size(), sender);
+				sender.sendAll(remaining);
+				LOG.debug("{} messages sent using sender {}", remaining.size(), sender);
+				recordSuccess(circuitBreaker, start);
+				return;
+			} catch (MessagesNotSentException e) {
+				LOG.debug("{} messages couldn't be sent using sender {}. Cause: {}", e.getFailures().size(), sender, e.getMessage());
+				LOG.trace("", e);
+				if (e.getFailedMessages().size() < remaining.size()) {
+					recordSuccess(circuitBreaker, start);
+				} else {
+					recordFailure(circuitBreaker, start);
+				}
+				for (Message failed : e.getFailedMessages()) {
+					recordHop(failed, sender);
+				}
+				for (MessageException failure : e.getFailures()) {
+					causes.computeIfAbsent(failure.getOghamMessage(), k -> new ArrayList<>()).add(failure);
+				}
+				remaining = e.getFailedMessages();
+			}
+		}
+		List<MessageException> failures = new ArrayList<>();
+		for (Message message : remaining) {
+			failures.add(new MessageNotSentException("No sender could handle the message", message, new MultipleCauseExceptionWrapper(causes.getOrDefault(message, new ArrayList<>()))));
+		}
+		failIfAny(failures, messages.size());
+	}
+
+	private void tryNextAsync(Message message, AsyncExecutors executors, Iterator<MessageSender> remaining, List<Exception> causes, CompletableFuture<Void> result) {
+		while (remaining.hasNext()) {
+			MessageSender sender = remaining.next();
+			CircuitBreaker circuitBreaker = circuitBreakers.get(sender);
+			if (circuitBreaker != null && !circuitBreaker.allowRequest()) {
+				LOG.debug("Sender {} skipped for message {} because it failed too often recently ({})", sender, logString(message), circuitBreaker);
+				recordSkip(message, sender);
+				causes.add(new CircuitOpenException("Sender skipped because it failed too often recently", message, sender));
+				continue;
+			}
+			long start = System.nanoTime();
+			LOG.debug("Try to send message {} asynchronously using sender {}", logString(message), sender);
+			sender.sendAsync(message, executors).whenComplete((v, e) -> {
+				if (e == null) {
+					LOG.debug("Message {} sent using sender {}", logString(message), sender);
+					recordSuccess(circuitBreaker, start);
+					result.complete(null);
+					return;
+				}
+				Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+				LOG.debug("Message {} couldn't be sent using sender {}. Cause: {}", logString(message), sender, cause.getMessage());
+				LOG.trace("", cause);
+				recordFailure(circuitBreaker, start);
+				recordHop(message, sender);
+				if (!(cause instanceof Exception)) {
+					result.completeExceptionally(cause);
+					return;
+				}
+				causes.add((Exception) cause);
+				tryNextAsync(message, executors, remaining, causes, result);
+			});
+			return;
+		}
+		result.completeExceptionally(new MessageNotSentException("No sender could handle the message", message, new MultipleCauseExceptionWrapper(causes)));
+	}
+
 	/**
 	 * Register a new sender to try. The sender is added at the end. It will be
 	 * used only after all previously registered senders have failed.
@@ -82,5 +305,67 @@ public class FallbackSender implements MessageSender {
 	 */
 	public void addSender(MessageSender sender) {
 		senders.add(sender);
+		registerCircuitBreaker(sender);
+	}
+
+	/**
+	 * Get the circuit breaker associated to the sender.
+	 * 
+	 * @param sender
+	 *            the registered sender
+	 * @return the circuit breaker or null if circuit breakers are not used
+	 */
+	public CircuitBreaker getCircuitBreaker(MessageSender sender) {
+		return circuitBreakers.get(sender);
+	}
+
+	private void registerCircuitBreaker(MessageSender sender) {
+		if (circuitBreakerFactory != null) {
+			circuitBreakers.put(sender, circuitBreakerFactory.get());
+		}
+	}
+
+	private List<MessageSender> orderedSenders() {
+		if (ordering != SenderOrdering.LATENCY || circuitBreakers.isEmpty()) {
+			return senders;
+		}
+		// latencies are updated concurrently: read them once before sorting
+		// to keep the order consistent
+		Map<MessageSender, Long> latencies = new IdentityHashMap<>();
+		for (MessageSender sender : senders) {
+			latencies.put(sender, latency(sender));
+		}
+		List<MessageSender> ordered = new ArrayList<>(senders);
+		ordered.sort(Comparator.comparingLong(latencies::get));
+		return ordered;
+	}
+
+	private long latency(MessageSender sender) {
+		long latency = circuitBreakers.get(sender).getAverageLatency();
+		return latency < 0 ? Long.MAX_VALUE : latency;
+	}
+
+	private static void recordSuccess(CircuitBreaker circuitBreaker, long start) {
+		if (circuitBreaker != null) {
+			circuitBreaker.recordSuccess(System.nanoTime() - start);
+		}
+	}
+
+	private static void recordFailure(CircuitBreaker circuitBreaker, long start) {
+		if (circuitBreaker != null) {
+			circuitBreaker.recordFailure(System.nanoTime() - start);
+		}
+	}
+
+	private void recordSkip(Message message, MessageSender sender) {
+		if (metrics.isEnabled()) {
+			metrics.increment(FALLBACK_SKIPS, TAG_TYPE, message.getClass().getSimpleName(), TAG_IMPLEMENTATION, sender.getClass().getSimpleName());
+		}
+	}
+
+	private void recordHop(Message message, MessageSender sender) {
+		if (metrics.isEnabled()) {
+			metrics.increment(FALLBACK_HOPS, TAG_TYPE, message.getClass().getSimpleName(), TAG_IMPLEMENTATION, sender.getClass().getSimpleName());
+		}
 	}
 }
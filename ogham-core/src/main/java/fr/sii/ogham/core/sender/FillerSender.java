@@ -1,11 +1,20 @@
 package fr.sii.ogham.core.sender;
 
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
+import static fr.sii.ogham.core.util.BatchUtils.sendAndCollectFailures;
 import static fr.sii.ogham.core.util.LogUtils.logString;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
+import fr.sii.ogham.core.exception.filler.FillMessageException;
 import fr.sii.ogham.core.filler.MessageFiller;
 import fr.sii.ogham.core.message.Message;
 
@@ -58,6 +67,41 @@ public class FillerSender implements ConditionalSender {
 		delegate.send(message);
 	}
 
+	/**
+	 * The message is filled using the provided executors and then sent
+	 * asynchronously by the decorated sender (see
+	 * {@link MessageSender#sendAsync(Message, AsyncExecutors)}).
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		return executors.execute(() -> {
+			LOG.debug("Filling message {} with {} filler", logString(message), filler);
+			filler.fill(message);
+			return null;
+		}).thenCompose(v -> {
+			LOG.debug("Message {} is filled, send it asynchronously using {}", logString(message), delegate);
+			return delegate.sendAsync(message, executors);
+		});
+	}
+
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		List<MessageException> failures = new ArrayList<>();
+		List<Message> filled = new ArrayList<>(messages.size());
+		for (Message message : messages) {
+			try {
+				LOG.debug("Filling message {} with {} filler", logString(message), filler);
+				filler.fill(message);
+				filled.add(message);
+			} catch (FillMessageException e) {
+				failures.add(e);
+			}
+		}
+		LOG.debug("{} messages are filled, send them using {}", filled.size(), delegate);
+		sendAndCollectFailures(delegate, filled, failures);
+		failIfAny(failures, messages.size());
+	}
+
 	@Override
 	public boolean supports(Message message) {
 		if (delegate instanceof ConditionalSender) {
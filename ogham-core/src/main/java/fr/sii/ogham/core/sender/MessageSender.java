@@ -1,6 +1,15 @@
 package fr.sii.ogham.core.sender;
 
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.message.Message;
 
 /**
@@ -21,4 +30,61 @@ public interface MessageSender {
 	 *             when the message couldn't be sent
 	 */
 	void send(Message message) throws MessageException;
-}
\ No newline at end of file
+
+	/**
+	 * Sends the message asynchronously. The message can be anything with any
+	 * content and that must be delivered to something or someone.
+	 * 
+	 * <p>
+	 * The default implementation simply calls {@link #send(Message)} using the
+	 * executor provided by {@link AsyncExecutors}. Implementations that
+	 * need to wait (between retries for example) should override this method
+	 * in order to avoid blocking a thread while waiting.
+	 * 
+	 * @param message
+	 *            the message to send
+	 * @param executors
+	 *            the executors used to send the message
+	 * @return the future that is completed when the message is sent or
+	 *         completed exceptionally (with a {@link MessageException} in
+	 *         general) if the message couldn't be sent
+	 */
+	default CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		return executors.execute(() -> {
+			send(message);
+			return null;
+		});
+	}
+
+	/**
+	 * Sends several messages at once. The failure of one message doesn't
+	 * prevent other messages from being sent.
+	 * 
+	 * <p>
+	 * The default implementation simply calls {@link #send(Message)} for each
+	 * message. Implementations that are able to send several messages more
+	 * efficiently (reusing the same connection for example) should override
+	 * this method. Implementations that decorate another sender should
+	 * override this method in order to give the whole batch to the decorated
+	 * sender.
+	 * 
+	 * @param messages
+	 *            the messages to send
+	 * @throws MessagesNotSentException
+	 *             when at least one message couldn't be sent (the exception
+	 *             references the messages that couldn't be sent)
+	 */
+	default void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		List<MessageException> failures = new ArrayList<>();
+		for (Message message : messages) {
+			try {
+				send(message);
+			} catch (MessageException e) {
+				failures.add(e);
+			} catch (RuntimeException e) {
+				failures.add(new MessageNotSentException("Failed to send message", message, e));
+			}
+		}
+		failIfAny(failures, messages.size());
+	}
+}
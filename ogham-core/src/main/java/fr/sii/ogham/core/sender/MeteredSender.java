@@ -0,0 +1,136 @@
+package fr.sii.ogham.core.sender;
+
+import static fr.sii.ogham.core.metrics.MetricNames.MESSAGES;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_FAILURE;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_SUCCESS;
+import static fr.sii.ogham.core.metrics.MetricNames.PROVIDER_SEND;
+import static fr.sii.ogham.core.metrics.MetricNames.PROVIDER_SEND_ALL;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_IMPLEMENTATION;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_OUTCOME;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_TYPE;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import fr.sii.ogham.core.async.AsyncExecutors;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+
+/**
+ * Decorator that measures the time spent by a sender implementation to send
+ * messages and counts sent and failed messages.
+ * 
+ * <p>
+ * Metrics are tagged by the type of message and by the implementation (the
+ * class name of the decorated sender).
+ * 
+ * <p>
+ * When the message is sent asynchronously, the measured time is the time
+ * elapsed until the future returned by the decorated sender is completed.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class MeteredSender implements ConditionalSender {
+	private final MessageSender delegate;
+	private final MetricsRecorder metrics;
+	private final String implementation;
+
+	/**
+	 * Initializes with the sender to decorate and the recorder used to
+	 * register metrics.
+	 * 
+	 * @param delegate
+	 *            the sender that really sends the messages
+	 * @param metrics
+	 *            the recorder
+	 */
+	public MeteredSender(MessageSender delegate, MetricsRecorder metrics) {
+		super();
+		this.delegate = delegate;
+		this.metrics = metrics;
+		this.implementation = delegate.getClass().getSimpleName();
+	}
+
+	@Override
+	public void send(Message message) throws MessageException {
+		long start = System.nanoTime();
+		String outcome = OUTCOME_FAILURE;
+		try {
+			delegate.send(message);
+			outcome = OUTCOME_SUCCESS;
+		} finally {
+			record(message, start, outcome);
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		long start = System.nanoTime();
+		CompletableFuture<Void> future;
+		try {
+			future = delegate.sendAsync(message, executors);
+		} catch (RuntimeException e) {
+			record(message, start, OUTCOME_FAILURE);
+			throw e;
+		}
+		return future.whenComplete((v, e) -> record(message, start, e == null ? OUTCOME_SUCCESS : OUTCOME_FAILURE));
+	}
+
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		long start = System.nanoTime();
+		Set<Message> failed = Collections.emptySet();
+		try {
+			delegate.sendAll(messages);
+		} catch (MessagesNotSentException e) {
+			failed = Collections.newSetFromMap(new IdentityHashMap<>());
+			failed.addAll(e.getFailedMessages());
+			throw e;
+		} catch (RuntimeException e) {
+			failed = Collections.newSetFromMap(new IdentityHashMap<>());
+			failed.addAll(messages);
+			throw e;
+		} finally {
+			metrics.recordTime(PROVIDER_SEND_ALL, System.nanoTime() - start, TAG_IMPLEMENTATION, implementation, TAG_OUTCOME, failed.isEmpty() ? OUTCOME_SUCCESS : OUTCOME_FAILURE);
+			for (Message message : messages) {
+				metrics.increment(MESSAGES, TAG_TYPE, message.getClass().getSimpleName(), TAG_IMPLEMENTATION, implementation, TAG_OUTCOME, failed.contains(message) ? OUTCOME_FAILURE : OUTCOME_SUCCESS);
+			}
+		}
+	}
+
+	private void record(Message message, long start, String outcome) {
+		String type = message.getClass().getSimpleName();
+		metrics.recordTime(PROVIDER_SEND, System.nanoTime() - start, TAG_TYPE, type, TAG_IMPLEMENTATION, implementation, TAG_OUTCOME, outcome);
+		metrics.increment(MESSAGES, TAG_TYPE, type, TAG_IMPLEMENTATION, implementation, TAG_OUTCOME, outcome);
+	}
+
+	@Override
+	public boolean supports(Message message) {
+		if (delegate instanceof ConditionalSender) {
+			return ((ConditionalSender) delegate).supports(message);
+		}
+		return true;
+	}
+
+	/**
+	 * The decorated sender
+	 * 
+	 * @return the decorated sender
+	 */
+	public MessageSender getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MeteredSender [metrics=").append(metrics).append(", delegate=").append(delegate).append("]");
+		return builder.toString();
+	}
+}
@@ -1,16 +1,27 @@
 package fr.sii.ogham.core.sender;
 
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
+import static fr.sii.ogham.core.util.BatchUtils.sendAndCollectFailures;
 import static fr.sii.ogham.core.util.LogUtils.logString;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.condition.Condition;
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.util.PriorizedList;
 
@@ -25,6 +36,12 @@ import fr.sii.ogham.core.util.PriorizedList;
  * The implementation selection is done in the {@link #supports(Message)}
  * method.
  * 
+ * <p>
+ * If all the conditions that are evaluated to select the implementation only
+ * depend on the type of the message (see {@link Condition#dependsOnTypeOnly()}),
+ * the selected implementation is cached per message class. The cache is
+ * cleared when a new implementation is registered.
+ * 
  * @author Aurélien Baudet
  *
  * @param <M>
@@ -39,6 +56,17 @@ public abstract class MultiImplementationSender<M extends Message> implements Co
 	 */
 	private final PriorizedList<Implementation> implementations;
 
+	/**
+	 * The selected implementation per message class (only when the selection
+	 * only depends on the message class)
+	 */
+	private final Map<Class<?>, Optional<MessageSender>> selectionByType;
+
+	/**
+	 * The resolved managed class (resolved only once)
+	 */
+	private Class<M> managedClass;
+
 	/**
 	 * Initialize with no registered implementation.
 	 */
@@ -56,6 +84,7 @@ public abstract class MultiImplementationSender<M extends Message> implements Co
 	public MultiImplementationSender(PriorizedList<Implementation> implementations) {
 		super();
 		this.implementations = implementations;
+		this.selectionByType = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -74,6 +103,7 @@ public abstract class MultiImplementationSender<M extends Message> implements Co
 	 */
 	public final MultiImplementationSender<M> addImplementation(Condition<Message> condition, MessageSender implementation, int priority) {
 		implementations.register(new Implementation(condition, implementation), priority);
+		selectionByType.clear();
 		return this;
 	}
 
@@ -93,10 +123,67 @@ public abstract class MultiImplementationSender<M extends Message> implements Co
 		sender.send(message);
 	}
 
+	/**
+	 * The message is sent asynchronously by the matching implementation (see
+	 * {@link MessageSender#sendAsync(Message, AsyncExecutors)}).
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		MessageSender sender = getSender(message);
+		if (sender == null) {
+			LOG.warn("No implementation is able to send the message {}. Skipping", logString(message));
+			return CompletableFuture.completedFuture(null);
+		}
+		LOG.debug("Sending message {} asynchronously using {} implementation", logString(message), sender);
+		return sender.sendAsync(message, executors);
+	}
+
+	/**
+	 * Sends several messages at once. The messages are grouped by
+	 * implementation and each group is given to the matching implementation.
+	 * This way, an implementation that is able to send several messages more
+	 * efficiently can benefit from it.
+	 * 
+	 * <p>
+	 * Messages that can't be sent by any implementation are skipped.
+	 * 
+	 * @param messages
+	 *            the messages to send
+	 * @throws MessagesNotSentException
+	 *             when at least one message couldn't be sent
+	 */
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		Map<MessageSender, List<Message>> groups = new LinkedHashMap<>();
+		for (Message message : messages) {
+			MessageSender sender = getSender(message);
+			if (sender == null) {
+				LOG.warn("No implementation is able to send the message {}. Skipping", logString(message));
+				continue;
+			}
+			groups.computeIfAbsent(sender, k -> new ArrayList<>()).add(message);
+		}
+		List<MessageException> failures = new ArrayList<>();
+		for (Entry<MessageSender, List<Message>> group : groups.entrySet()) {
+			LOG.debug("Sending {} messages using {} implementation", group.getValue().size(), group.getKey());
+			sendAndCollectFailures(group.getKey(), group.getValue(), failures);
+		}
+		failIfAny(failures, messages.size());
+	}
+
 	public List<Implementation> getImplementations() {
 		return implementations.getOrdered();
 	}
 
+	/**
+	 * Check if the message is an instance of the managed class. The result
+	 * must only depend on the class of the message as it may be cached per
+	 * message class.
+	 * 
+	 * @param message
+	 *            the message to check
+	 * @return true if the message type is managed by this sender
+	 */
 	protected boolean supportsMessageType(Message message) {
 		Class<M> managedClass = getManagedClass();
 		if (managedClass == null) {
@@ -106,8 +193,15 @@ public abstract class MultiImplementationSender<M extends Message> implements Co
 		return managedClass.isAssignableFrom(message.getClass());
 	}
 
-	@SuppressWarnings("unchecked")
 	protected Class<M> getManagedClass() {
+		if (managedClass == null) {
+			managedClass = resolveManagedClass();
+		}
+		return managedClass;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Class<M> resolveManagedClass() {
 		Type genericSuperclass = getClass().getGenericSuperclass();
 		if (genericSuperclass instanceof ParameterizedType) {
 			return (Class<M>) ((ParameterizedType) genericSuperclass).getActualTypeArguments()[0];
@@ -116,19 +210,37 @@ public abstract class MultiImplementationSender<M extends Message> implements Co
 	}
 
 	private MessageSender getSender(Message message) {
-		if (supportsMessageType(message)) {
-			LOG.debug("Can handle the message type {}. Is there any implementation available to send it ?", message.getClass());
-			for (Implementation impl : implementations.getOrdered()) {
-				if (impl.getCondition().accept(message)) {
-					LOG.debug("The implementation {} can handle the message {}", impl.getSender(), logString(message));
-					return impl.getSender();
-				}
+		Optional<MessageSender> cached = selectionByType.get(message.getClass());
+		if (cached != null) {
+			return cached.orElse(null);
+		}
+		if (!supportsMessageType(message)) {
+			LOG.debug("Can't handle the message type {}", message.getClass());
+			selectionByType.put(message.getClass(), Optional.empty());
+			return null;
+		}
+		LOG.debug("Can handle the message type {}. Is there any implementation available to send it ?", message.getClass());
+		boolean typeOnly = true;
+		for (Implementation impl : implementations.getOrdered()) {
+			Condition<Message> condition = impl.getCondition();
+			typeOnly &= condition.dependsOnTypeOnly();
+			if (condition.accept(message)) {
+				LOG.debug("The implementation {} can handle the message {}", impl.getSender(), logString(message));
+				cacheIfTypeOnly(message, typeOnly, impl.getSender());
+				return impl.getSender();
 			}
 		}
-		LOG.debug("Can't handle the message type {}", message.getClass());
+		LOG.debug("No implementation available to send the message type {}", message.getClass());
+		cacheIfTypeOnly(message, typeOnly, null);
 		return null;
 	}
 
+	private void cacheIfTypeOnly(Message message, boolean typeOnly, MessageSender sender) {
+		if (typeOnly) {
+			selectionByType.put(message.getClass(), Optional.ofNullable(sender));
+		}
+	}
+
 	public static class Implementation {
 		private final Condition<Message> condition;
 		private final MessageSender sender;
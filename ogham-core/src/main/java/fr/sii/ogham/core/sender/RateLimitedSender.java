@@ -0,0 +1,211 @@
+package fr.sii.ogham.core.sender;
+
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
+import static fr.sii.ogham.core.util.ExceptionUtils.hasAnyCause;
+import static fr.sii.ogham.core.util.LogUtils.logString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.async.AsyncExecutors;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
+import fr.sii.ogham.core.exception.ratelimit.RateLimitExceededException;
+import fr.sii.ogham.core.exception.ratelimit.ThrottledException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.ratelimit.RateLimitMode;
+import fr.sii.ogham.core.ratelimit.RateLimiter;
+
+/**
+ * Decorator that limits the number of messages given to the decorated sender
+ * per second.
+ *
+ * <p>
+ * Before each message is sent, a permit is taken from the {@link RateLimiter}.
+ * If no permit is available, the message is either sent later (see
+ * {@link RateLimitMode#BLOCK}) or not sent at all (see
+ * {@link RateLimitMode#FAIL_FAST}). In the latter case, a
+ * {@link RateLimitExceededException} is thrown.
+ *
+ * <p>
+ * If the decorated sender fails because the provider reports that too many
+ * messages are sent (a {@link ThrottledException} is in the causes), the rate
+ * is reduced (see {@link RateLimiter#throttled()}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class RateLimitedSender implements ConditionalSender {
+	private static final Logger LOG = LoggerFactory.getLogger(RateLimitedSender.class);
+
+	private final MessageSender delegate;
+	private final RateLimiter rateLimiter;
+
+	/**
+	 * Initializes with the sender to decorate and the limiter that controls
+	 * the rate.
+	 *
+	 * @param delegate
+	 *            the sender that really sends the messages
+	 * @param rateLimiter
+	 *            the rate limiter
+	 */
+	public RateLimitedSender(MessageSender delegate, RateLimiter rateLimiter) {
+		super();
+		this.delegate = delegate;
+		this.rateLimiter = rateLimiter;
+	}
+
+	@Override
+	public void send(Message message) throws MessageException {
+		acquire(message);
+		try {
+			delegate.send(message);
+			rateLimiter.accepted();
+		} catch (MessageException | RuntimeException e) {
+			if (isThrottled(e)) {
+				throttled();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * The permit is taken using the provided executors (waiting for a permit
+	 * doesn't block the calling thread). The message is then sent
+	 * asynchronously by the decorated sender (see
+	 * {@link MessageSender#sendAsync(Message, AsyncExecutors)}).
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		executors.execute(() -> {
+			acquire(message);
+			return null;
+		}).thenCompose(v -> sendAsyncWithPermit(message, executors)).whenComplete((v, e) -> {
+			if (e == null) {
+				result.complete(null);
+			} else {
+				result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Takes a permit for each message. The messages that get a permit right
+	 * away are given to the decorated sender as a single batch. When no permit
+	 * is available, the messages that already have a permit are sent before
+	 * waiting for the next permit. This way, the messages are not sent faster
+	 * than the allowed rate.
+	 * 
+	 * <p>
+	 * The messages that couldn't get a permit are not given to the decorated
+	 * sender.
+	 *
+	 * @param messages
+	 *            the messages to send
+	 * @throws MessagesNotSentException
+	 *             when at least one message couldn't be sent
+	 */
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		List<Message> allowed = new ArrayList<>(messages.size());
+		List<MessageException> failures = new ArrayList<>();
+		for (Message message : messages) {
+			if (!rateLimiter.tryAcquire()) {
+				sendAllowed(allowed, failures);
+				allowed = new ArrayList<>(messages.size());
+				try {
+					acquire(message);
+				} catch (RateLimitExceededException e) {
+					failures.add(e);
+					continue;
+				}
+			}
+			allowed.add(message);
+		}
+		sendAllowed(allowed, failures);
+		failIfAny(failures, messages.size());
+	}
+
+	@Override
+	public boolean supports(Message message) {
+		if (delegate instanceof ConditionalSender) {
+			return ((ConditionalSender) delegate).supports(message);
+		}
+		return true;
+	}
+
+	/**
+	 * The decorated sender
+	 *
+	 * @return the decorated sender
+	 */
+	public MessageSender getDelegate() {
+		return delegate;
+	}
+
+	private CompletableFuture<Void> sendAsyncWithPermit(Message message, AsyncExecutors executors) {
+		return delegate.sendAsync(message, executors).whenComplete((v, e) -> {
+			if (e == null) {
+				rateLimiter.accepted();
+			} else if (hasAnyCause(e, ThrottledException.class::isInstance)) {
+				throttled();
+			}
+		});
+	}
+
+	private void sendAllowed(List<Message> allowed, List<MessageException> failures) {
+		if (allowed.isEmpty()) {
+			return;
+		}
+		List<MessageException> notSent = Collections.emptyList();
+		try {
+			delegate.sendAll(allowed);
+		} catch (MessagesNotSentException e) {
+			notSent = e.getFailures();
+			if (notSent.stream().anyMatch(RateLimitedSender::isThrottled)) {
+				throttled();
+			}
+			failures.addAll(notSent);
+		}
+		for (int i = notSent.size(); i < allowed.size(); i++) {
+			rateLimiter.accepted();
+		}
+	}
+
+	private void acquire(Message message) throws RateLimitExceededException {
+		try {
+			if (!rateLimiter.acquire()) {
+				LOG.debug("Message {} not sent because rate limit is reached ({})", logString(message), rateLimiter);
+				throw new RateLimitExceededException("Rate limit reached", message);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RateLimitExceededException("Interrupted while waiting for rate limit", message, e);
+		}
+	}
+
+	private void throttled() {
+		rateLimiter.throttled();
+		LOG.debug("Provider throttled the messages, rate reduced ({})", rateLimiter);
+	}
+
+	private static boolean isThrottled(Exception e) {
+		return hasAnyCause(e, ThrottledException.class::isInstance);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("RateLimitedSender [rateLimiter=").append(rateLimiter).append(", delegate=").append(delegate).append("]");
+		return builder.toString();
+	}
+}
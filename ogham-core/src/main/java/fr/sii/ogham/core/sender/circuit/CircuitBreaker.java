@@ -0,0 +1,216 @@
+package fr.sii.ogham.core.sender.circuit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import fr.sii.ogham.core.sender.FallbackSender;
+
+/**
+ * Tracks the health of a sender over a sliding window of the last
+ * {@code windowSize} calls.
+ *
+ * <p>
+ * The circuit starts {@link CircuitState#CLOSED}: every call is allowed. Once
+ * the window contains at least {@code minimumCalls} outcomes and the ratio of
+ * failures reaches {@code failureRateThreshold}, the circuit becomes
+ * {@link CircuitState#OPEN}: calls are rejected immediately so the caller
+ * doesn't wait for a sender that is known to fail. After {@code openDuration}
+ * milliseconds, the circuit becomes {@link CircuitState#HALF_OPEN}: only a
+ * share of the calls ({@code probeRatio}) is allowed. The first successful
+ * probe closes the circuit, the first failed probe opens it again.
+ *
+ * <p>
+ * The average latency of the calls in the window is also tracked in order to
+ * be able to prefer the fastest sender.
+ *
+ * <p>
+ * All methods are thread-safe.
+ *
+ * <p>
+ * <strong>WARNING: experimental, for internal use by {@link FallbackSender}
+ * only.</strong> It can't be configured using builders or properties yet and
+ * its API may change in a future version.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class CircuitBreaker {
+	private final int minimumCalls;
+	private final double failureRateThreshold;
+	private final long openDuration;
+	private final double probeRatio;
+	private final LongSupplier clock;
+	private final boolean[] failures;
+	private final long[] latencies;
+	private int next;
+	private int calls;
+	private int failureCount;
+	private long totalLatency;
+	private CircuitState state;
+	private long openedAt;
+
+	/**
+	 * Initializes a closed circuit.
+	 *
+	 * @param windowSize
+	 *            the number of last calls used to compute the failure rate and
+	 *            the latency
+	 * @param minimumCalls
+	 *            the number of calls in the window before the failure rate is
+	 *            taken into account
+	 * @param failureRateThreshold
+	 *            the ratio of failed calls (between 0 and 1) that opens the
+	 *            circuit
+	 * @param openDuration
+	 *            the time in milliseconds the circuit stays open before
+	 *            probing the sender again
+	 * @param probeRatio
+	 *            the share of calls (between 0 and 1) allowed while the
+	 *            circuit is half-open
+	 */
+	public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDuration, double probeRatio) {
+		this(windowSize, minimumCalls, failureRateThreshold, openDuration, probeRatio, System::nanoTime);
+	}
+
+	/**
+	 * Initializes a closed circuit.
+	 *
+	 * @param windowSize
+	 *            the number of last calls used to compute the failure rate and
+	 *            the latency
+	 * @param minimumCalls
+	 *            the number of calls in the window before the failure rate is
+	 *            taken into account
+	 * @param failureRateThreshold
+	 *            the ratio of failed calls (between 0 and 1) that opens the
+	 *            circuit
+	 * @param openDuration
+	 *            the time in milliseconds the circuit stays open before
+	 *            probing the sender again
+	 * @param probeRatio
+	 *            the share of calls (between 0 and 1) allowed while the
+	 *            circuit is half-open
+	 * @param clock
+	 *            provides the current time in nanoseconds
+	 */
+	public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDuration, double probeRatio, LongSupplier clock) {
+		super();
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("windowSize must be positive");
+		}
+		this.minimumCalls = Math.max(1, Math.min(minimumCalls, windowSize));
+		this.failureRateThreshold = failureRateThreshold;
+		this.openDuration = MILLISECONDS.toNanos(openDuration);
+		this.probeRatio = probeRatio;
+		this.clock = clock;
+		this.failures = new boolean[windowSize];
+		this.latencies = new long[windowSize];
+		this.state = CircuitState.CLOSED;
+	}
+
+	/**
+	 * Indicates if the sender can be called.
+	 *
+	 * <p>
+	 * If the circuit is open for long enough, it becomes half-open and this
+	 * call may be used as a probe.
+	 *
+	 * @return true if the sender can be called, false to skip it
+	 */
+	public synchronized boolean allowRequest() {
+		if (state == CircuitState.OPEN && clock.getAsLong() - openedAt >= openDuration) {
+			state = CircuitState.HALF_OPEN;
+		}
+		switch (state) {
+			case CLOSED:
+				return true;
+			case HALF_OPEN:
+				return probeRatio >= 1 || ThreadLocalRandom.current().nextDouble() < probeRatio;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Registers a successful call.
+	 *
+	 * @param latency
+	 *            the time spent by the call in nanoseconds
+	 */
+	public synchronized void recordSuccess(long latency) {
+		if (state == CircuitState.HALF_OPEN) {
+			reset();
+			state = CircuitState.CLOSED;
+		}
+		record(false, latency);
+	}
+
+	/**
+	 * Registers a failed call.
+	 *
+	 * @param latency
+	 *            the time spent by the call in nanoseconds
+	 */
+	public synchronized void recordFailure(long latency) {
+		record(true, latency);
+		if (state == CircuitState.HALF_OPEN || (state == CircuitState.CLOSED && calls >= minimumCalls && getFailureRate() >= failureRateThreshold)) {
+			open();
+		}
+	}
+
+	/**
+	 * @return the current state of the circuit
+	 */
+	public synchronized CircuitState getState() {
+		return state;
+	}
+
+	/**
+	 * @return the ratio of failed calls in the window (0 if no call has been
+	 *         made yet)
+	 */
+	public synchronized double getFailureRate() {
+		return calls == 0 ? 0 : (double) failureCount / calls;
+	}
+
+	/**
+	 * @return the average latency in nanoseconds of the calls in the window or
+	 *         -1 if no call has been made yet
+	 */
+	public synchronized long getAverageLatency() {
+		return calls == 0 ? -1 : totalLatency / calls;
+	}
+
+	private void record(boolean failure, long latency) {
+		if (calls == failures.length) {
+			failureCount -= failures[next] ? 1 : 0;
+			totalLatency -= latencies[next];
+		} else {
+			calls++;
+		}
+		failures[next] = failure;
+		latencies[next] = latency;
+		failureCount += failure ? 1 : 0;
+		totalLatency += latency;
+		next = (next + 1) % failures.length;
+	}
+
+	private void open() {
+		state = CircuitState.OPEN;
+		openedAt = clock.getAsLong();
+	}
+
+	private void reset() {
+		next = 0;
+		calls = 0;
+		failureCount = 0;
+		totalLatency = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "CircuitBreaker [state=" + state + ", failureRate=" + getFailureRate() + ", averageLatency=" + getAverageLatency() + "]";
+	}
+}
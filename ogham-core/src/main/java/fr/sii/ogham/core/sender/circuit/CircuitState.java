@@ -0,0 +1,27 @@
+package fr.sii.ogham.core.sender.circuit;
+
+/**
+ * The state of a {@link CircuitBreaker}.
+ *
+ * <p>
+ * <strong>WARNING: experimental API</strong> (see {@link CircuitBreaker}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public enum CircuitState {
+	/**
+	 * The sender is healthy: all messages are given to it.
+	 */
+	CLOSED,
+	/**
+	 * The sender failed too often recently: it is skipped without trying to
+	 * send the message.
+	 */
+	OPEN,
+	/**
+	 * The sender was skipped for a while: only a small share of the messages
+	 * is given to it in order to check if it is healthy again.
+	 */
+	HALF_OPEN
+}
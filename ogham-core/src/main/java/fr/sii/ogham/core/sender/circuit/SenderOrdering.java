@@ -0,0 +1,27 @@
+package fr.sii.ogham.core.sender.circuit;
+
+import fr.sii.ogham.core.sender.FallbackSender;
+
+/**
+ * The order in which {@link FallbackSender} tries its senders.
+ *
+ * <p>
+ * <strong>WARNING: experimental.</strong> Only used when a
+ * {@link FallbackSender} is instantiated directly (no builder or property
+ * support yet).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public enum SenderOrdering {
+	/**
+	 * The senders are tried in the order they were registered.
+	 */
+	DECLARATION,
+	/**
+	 * The sender with the lowest average latency observed recently is tried
+	 * first. The senders that have not been used yet are tried last, in the
+	 * order they were registered.
+	 */
+	LATENCY
+}
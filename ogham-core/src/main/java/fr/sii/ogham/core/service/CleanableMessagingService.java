@@ -2,6 +2,8 @@ package fr.sii.ogham.core.service;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -105,6 +107,21 @@ public class CleanableMessagingService implements MessagingService, Cleanable, C
 		delegate.send(message);
 	}
 
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message) {
+		return delegate.sendAsync(message);
+	}
+
+	@Override
+	public void enqueue(Message message) throws MessagingException {
+		delegate.enqueue(message);
+	}
+
+	@Override
+	public void sendAll(Collection<? extends Message> messages) throws MessagingException {
+		delegate.sendAll(messages);
+	}
+
 	@Override
 	public void clean() throws CleanException {
 		LOG.info("Manually cleaning all resources...");
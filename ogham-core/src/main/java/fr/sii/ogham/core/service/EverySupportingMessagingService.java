@@ -1,14 +1,26 @@
 package fr.sii.ogham.core.service;
 
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
+import static fr.sii.ogham.core.util.BatchUtils.sendAndCollectFailures;
 import static fr.sii.ogham.core.util.LogUtils.logString;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
+import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.exception.MessagingException;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.sender.ConditionalSender;
@@ -21,6 +33,11 @@ import fr.sii.ogham.core.sender.ConditionalSender;
  * If several senders can handle the message, then each sender that is able to
  * handle it will be used.
  * 
+ * <p>
+ * If {@link AsyncExecutors} are provided, messages can be sent asynchronously
+ * (see {@link #sendAsync(Message)}). Each sender that is able to handle the
+ * message is called (one after the other) using the executors.
+ * 
  * @author Aurélien Baudet
  * @see ConditionalSender
  */
@@ -32,6 +49,11 @@ public class EverySupportingMessagingService implements MessagingService {
 	 */
 	private List<ConditionalSender> senders;
 
+	/**
+	 * The executors used to send messages asynchronously
+	 */
+	private final AsyncExecutors executors;
+
 	/**
 	 * Initialize the service with none, one or several sender implementations.
 	 * The registration order has no consequence.
@@ -51,8 +73,24 @@ public class EverySupportingMessagingService implements MessagingService {
 	 *            the senders to register
 	 */
 	public EverySupportingMessagingService(List<ConditionalSender> senders) {
+		this(senders, null);
+	}
+
+	/**
+	 * Initialize the service with the provided sender implementations. The
+	 * registration order has no consequence.
+	 * 
+	 * @param senders
+	 *            the senders to register
+	 * @param executors
+	 *            the executors used to send messages asynchronously. If null,
+	 *            {@link #sendAsync(Message)} sends the message in the current
+	 *            thread
+	 */
+	public EverySupportingMessagingService(List<ConditionalSender> senders, AsyncExecutors executors) {
 		super();
 		this.senders = senders;
+		this.executors = executors;
 	}
 
 	/**
@@ -94,6 +132,106 @@ public class EverySupportingMessagingService implements MessagingService {
 		}
 	}
 
+	/**
+	 * Sends the message asynchronously. The message can be anything with any
+	 * content and that must be delivered to something or someone.
+	 * 
+	 * Ask each sender if it is able to handle the message. Each sender that
+	 * can't handle the message is skipped. Each sender that is able to handle
+	 * it will be called (one after the other) in order to really send the
+	 * message. The senders are executed using the {@link AsyncExecutors} so
+	 * the current thread is never blocked.
+	 * 
+	 * <p>
+	 * If no sender can handle the message, the returned future is completed
+	 * exceptionally with a {@link MessageNotSentException}.
+	 * 
+	 * @param message
+	 *            the message to send
+	 * @return the future that is completed once the message is sent
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message) {
+		if (executors == null) {
+			return MessagingService.super.sendAsync(message);
+		}
+		LOG.info("Sending message asynchronously...");
+		LOG.trace("{}", message);
+		List<ConditionalSender> supporting = new ArrayList<>();
+		for (ConditionalSender sender : senders) {
+			if (sender.supports(message)) {
+				supporting.add(sender);
+			} else {
+				LOG.debug("Sender {} can't handle the message {}", sender, logString(message));
+			}
+		}
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		if (supporting.isEmpty()) {
+			result.completeExceptionally(new MessageNotSentException("No sender available to send the message", message));
+			return result;
+		}
+		CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+		for (ConditionalSender sender : supporting) {
+			chain = chain.thenCompose(v -> {
+				LOG.debug("Sending message {} using sender {}...", logString(message), sender);
+				return sender.sendAsync(message, executors);
+			}).thenRun(() -> LOG.debug("Message {} sent using sender {}", logString(message), sender));
+		}
+		chain.whenComplete((v, e) -> {
+			if (e == null) {
+				LOG.info("Message sent");
+				LOG.trace("{}", message);
+				result.complete(null);
+			} else {
+				result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Sends several messages at once. The failure of one message doesn't
+	 * prevent the other messages from being sent.
+	 * 
+	 * Ask each sender if it is able to handle each message. The messages are
+	 * grouped by sender and each group is given to the sender at once (see
+	 * {@link ConditionalSender#sendAll(List)}). This way, a sender that is able
+	 * to send several messages more efficiently can benefit from it.
+	 * 
+	 * <p>
+	 * If no sender can handle a message, the message is reported as not sent
+	 * (with a {@link MessageNotSentException}).
+	 * 
+	 * @param messages
+	 *            the messages to send
+	 * @throws MessagesNotSentException
+	 *             when at least one message couldn't be sent
+	 */
+	@Override
+	public void sendAll(Collection<? extends Message> messages) throws MessagesNotSentException {
+		LOG.info("Sending {} messages...", messages.size());
+		List<MessageException> failures = new ArrayList<>();
+		Map<ConditionalSender, List<Message>> groups = new LinkedHashMap<>();
+		for (Message message : messages) {
+			boolean supported = false;
+			for (ConditionalSender sender : senders) {
+				if (sender.supports(message)) {
+					groups.computeIfAbsent(sender, k -> new ArrayList<>()).add(message);
+					supported = true;
+				}
+			}
+			if (!supported) {
+				failures.add(new MessageNotSentException("No sender available to send the message", message));
+			}
+		}
+		for (Entry<ConditionalSender, List<Message>> group : groups.entrySet()) {
+			LOG.debug("Sending {} messages using sender {}...", group.getValue().size(), group.getKey());
+			sendAndCollectFailures(group.getKey(), group.getValue(), failures);
+		}
+		failIfAny(failures, messages.size());
+		LOG.info("{} messages sent", messages.size());
+	}
+
 	/**
 	 * Register a new sender. The sender is added at the end.
 	 * 
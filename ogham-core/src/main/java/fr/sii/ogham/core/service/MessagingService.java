@@ -1,5 +1,15 @@
 package fr.sii.ogham.core.service;
 
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.exception.MessagingException;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.sender.MessageSender;
@@ -9,6 +19,17 @@ import fr.sii.ogham.core.sender.MessageSender;
  * contract is really simple. Just provide a message, call
  * {@link #send(Message)} and the message will be sent.
  * 
+ * <p>
+ * The message can also be sent without blocking the caller thread using
+ * {@link #sendAsync(Message)}.
+ * 
+ * <p>
+ * Several messages can be sent at once using {@link #sendAll(Collection)}.
+ * 
+ * <p>
+ * The message can also be stored in a persistent outbox and sent later by
+ * background workers using {@link #enqueue(Message)}.
+ * 
  * The service internally delegates to a {@link MessageSender}.
  * 
  * @author Aurélien Baudet
@@ -27,4 +48,88 @@ public interface MessagingService {
 	 *             when the message couldn't be sent
 	 */
 	void send(Message message) throws MessagingException;
+
+	/**
+	 * Sends the message asynchronously. The message can be anything with any
+	 * content and that must be delivered to something or someone.
+	 * 
+	 * <p>
+	 * The method returns immediately. The returned future is completed once
+	 * the message is sent. If the message couldn't be sent, the future is
+	 * completed exceptionally with a {@link MessagingException}.
+	 * 
+	 * <p>
+	 * The default implementation calls {@link #send(Message)} in the current
+	 * thread and returns an already completed future.
+	 * 
+	 * @param message
+	 *            the message to send
+	 * @return the future that is completed once the message is sent
+	 */
+	default CompletableFuture<Void> sendAsync(Message message) {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		try {
+			send(message);
+			result.complete(null);
+		} catch (MessagingException | RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
+	/**
+	 * Stores the message in the outbox. The message is sent later by background
+	 * workers. Once this method returns, the message is persisted and will be
+	 * sent at least once, even if the application is restarted before the
+	 * message is sent.
+	 * 
+	 * <p>
+	 * The default implementation has no outbox: it simply calls
+	 * {@link #send(Message)} in the current thread.
+	 * 
+	 * @param message
+	 *            the message to store
+	 * @throws MessagingException
+	 *             when the message couldn't be stored (or sent if there is no
+	 *             outbox)
+	 */
+	default void enqueue(Message message) throws MessagingException {
+		send(message);
+	}
+
+	/**
+	 * Sends several messages at once. The failure of one message doesn't
+	 * prevent the other messages from being sent.
+	 * 
+	 * <p>
+	 * Sending several messages at once may be more efficient than sending
+	 * messages one by one. For example, the same connection may be used to send
+	 * all the messages.
+	 * 
+	 * <p>
+	 * The default implementation calls {@link #send(Message)} for each
+	 * message.
+	 * 
+	 * @param messages
+	 *            the messages to send
+	 * @throws MessagesNotSentException
+	 *             when at least one message couldn't be sent (the exception
+	 *             references the messages that couldn't be sent, other
+	 *             messages have been sent)
+	 * @throws MessagingException
+	 *             when the messages couldn't be sent for any other reason
+	 */
+	default void sendAll(Collection<? extends Message> messages) throws MessagingException {
+		List<MessageException> failures = new ArrayList<>();
+		for (Message message : messages) {
+			try {
+				send(message);
+			} catch (MessageException e) {
+				failures.add(e);
+			} catch (MessagingException | RuntimeException e) {
+				failures.add(new MessageNotSentException(e.getMessage(), message, e));
+			}
+		}
+		failIfAny(failures, messages.size());
+	}
 }
@@ -0,0 +1,90 @@
+package fr.sii.ogham.core.service;
+
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_FAILURE;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_SUCCESS;
+import static fr.sii.ogham.core.metrics.MetricNames.SERVICE_SEND;
+import static fr.sii.ogham.core.metrics.MetricNames.SERVICE_SEND_ALL;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_OUTCOME;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_TYPE;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+
+/**
+ * Decorator that measures the time spent to send messages (whole pipeline:
+ * template parsing, content translation, provider call, retries...).
+ * 
+ * <p>
+ * For asynchronous sending, the measured time also includes the time the
+ * message waited for a thread and the time waited between retries.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class MeteredMessagingService implements MessagingService {
+	private final MessagingService delegate;
+	private final MetricsRecorder metrics;
+
+	/**
+	 * Initializes with the service to decorate and the recorder used to
+	 * register metrics.
+	 * 
+	 * @param delegate
+	 *            the service that really sends messages
+	 * @param metrics
+	 *            the recorder
+	 */
+	public MeteredMessagingService(MessagingService delegate, MetricsRecorder metrics) {
+		super();
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void send(Message message) throws MessagingException {
+		long start = System.nanoTime();
+		String outcome = OUTCOME_FAILURE;
+		try {
+			delegate.send(message);
+			outcome = OUTCOME_SUCCESS;
+		} finally {
+			metrics.recordTime(SERVICE_SEND, System.nanoTime() - start, TAG_TYPE, type(message), TAG_OUTCOME, outcome);
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message) {
+		long start = System.nanoTime();
+		return delegate.sendAsync(message).whenComplete((v, e) -> {
+			String outcome = e == null ? OUTCOME_SUCCESS : OUTCOME_FAILURE;
+			metrics.recordTime(SERVICE_SEND, System.nanoTime() - start, TAG_TYPE, type(message), TAG_OUTCOME, outcome);
+		});
+	}
+
+	@Override
+	public void sendAll(Collection<? extends Message> messages) throws MessagingException {
+		long start = System.nanoTime();
+		String outcome = OUTCOME_FAILURE;
+		try {
+			delegate.sendAll(messages);
+			outcome = OUTCOME_SUCCESS;
+		} finally {
+			metrics.recordTime(SERVICE_SEND_ALL, System.nanoTime() - start, TAG_OUTCOME, outcome);
+		}
+	}
+
+	private static String type(Message message) {
+		return message == null ? "null" : message.getClass().getSimpleName();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MeteredMessagingService [metrics=").append(metrics).append(", delegate=").append(delegate).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,74 @@
+package fr.sii.ogham.core.service;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.outbox.Outbox;
+
+/**
+ * Decorates the regular service to store messages in an {@link Outbox} when
+ * {@link #enqueue(Message)} is called. The outbox workers send the stored
+ * messages using the decorated service.
+ *
+ * <p>
+ * Other methods directly delegate to the decorated service.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class OutboxMessagingService implements MessagingService {
+	private final MessagingService delegate;
+	private final Outbox outbox;
+
+	/**
+	 * Wraps the service and starts the outbox workers. The workers use the
+	 * decorated service to send the stored messages.
+	 *
+	 * @param delegate
+	 *            the decorated service
+	 * @param outbox
+	 *            the outbox used to store messages
+	 */
+	public OutboxMessagingService(MessagingService delegate, Outbox outbox) {
+		super();
+		this.delegate = delegate;
+		this.outbox = outbox;
+		outbox.start(delegate);
+	}
+
+	@Override
+	public void send(Message message) throws MessagingException {
+		delegate.send(message);
+	}
+
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message) {
+		return delegate.sendAsync(message);
+	}
+
+	@Override
+	public void sendAll(Collection<? extends Message> messages) throws MessagingException {
+		delegate.sendAll(messages);
+	}
+
+	@Override
+	public void enqueue(Message message) throws MessagingException {
+		outbox.enqueue(message);
+	}
+
+	/**
+	 * @return the outbox used to store messages
+	 */
+	public Outbox getOutbox() {
+		return outbox;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("OutboxMessagingService [outbox=").append(outbox).append(", delegate=").append(delegate).append("]");
+		return builder.toString();
+	}
+}
@@ -1,5 +1,8 @@
 package fr.sii.ogham.core.service;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 import fr.sii.ogham.core.exception.MessagingException;
 import fr.sii.ogham.core.exception.MessagingRuntimeException;
 import fr.sii.ogham.core.message.Message;
@@ -38,17 +41,75 @@ public class WrapExceptionMessagingService implements MessagingService {
 	public void send(Message message) throws MessagingException {
 		try {
 			delegate.send(message);
-		} catch (MessagingException e) {
-			throw e; // this is wanted to avoid wrapping MessagingException with
-						// MessagingException
-		} catch (MessagingRuntimeException e) {
-			throw new MessagingException("Message can't be sent due to technical exception. Cause: " + e.getMessage(), e);
-		} catch (IllegalArgumentException e) {
-			throw new MessagingException("Message can't be sent due to precondition not met. Cause: " + e.getMessage(), e);
-		} catch (IllegalStateException e) {
-			throw new MessagingException("Message can't be sent due to some illegal use. Cause: " + e.getMessage(), e);
 		} catch (Exception e) {
-			throw new MessagingException("Message can't be sent due to uncaught exception. Cause: " + e.getMessage(), e);
+			throw wrap(e);
+		}
+	}
+
+	/**
+	 * Sends the message asynchronously. The message can be anything with any
+	 * content and that must be delivered to something or someone.
+	 * 
+	 * If there is any exception, the returned future is completed
+	 * exceptionally with a {@link MessagingException}.
+	 * 
+	 * @param message
+	 *            the message to send
+	 * @return the future that is completed once the message is sent
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message) {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		try {
+			delegate.sendAsync(message).whenComplete((v, e) -> {
+				if (e == null) {
+					result.complete(null);
+				} else {
+					result.completeExceptionally(wrap(e));
+				}
+			});
+		} catch (RuntimeException e) {
+			result.completeExceptionally(wrap(e));
+		}
+		return result;
+	}
+
+	/**
+	 * Sends several messages at once.
+	 * 
+	 * If there is any exception, it caught and translated in
+	 * {@link MessagingException}.
+	 * 
+	 * @param messages
+	 *            the messages to send
+	 * @throws MessagingException
+	 *             when at least one message couldn't be sent
+	 */
+	@Override
+	@SuppressWarnings("squid:S2221")
+	public void sendAll(Collection<? extends Message> messages) throws MessagingException {
+		try {
+			delegate.sendAll(messages);
+		} catch (Exception e) {
+			throw wrap(e);
+		}
+	}
+
+	private static MessagingException wrap(Throwable e) {
+		if (e instanceof MessagingException) {
+			return (MessagingException) e; // this is wanted to avoid wrapping
+											// MessagingException with
+											// MessagingException
+		}
+		if (e instanceof MessagingRuntimeException) {
+			return new MessagingException("Message can't be sent due to technical exception. Cause: " + e.getMessage(), e);
+		}
+		if (e instanceof IllegalArgumentException) {
+			return new MessagingException("Message can't be sent due to precondition not met. Cause: " + e.getMessage(), e);
+		}
+		if (e instanceof IllegalStateException) {
+			return new MessagingException("Message can't be sent due to some illegal use. Cause: " + e.getMessage(), e);
 		}
+		return new MessagingException("Message can't be sent due to uncaught exception. Cause: " + e.getMessage(), e);
 	}
 }
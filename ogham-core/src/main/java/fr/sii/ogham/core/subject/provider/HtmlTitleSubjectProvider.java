@@ -2,6 +2,7 @@ package fr.sii.ogham.core.subject.provider;
 
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.MayHaveHtmlDocument;
 import fr.sii.ogham.core.message.content.MayHaveStringContent;
 import fr.sii.ogham.core.util.HtmlUtils;
 
@@ -11,6 +12,11 @@ import fr.sii.ogham.core.util.HtmlUtils;
  * trimmed. If the extracted subject is empty then the final subject is empty
  * string. If the HTML doesn't contain the title node, then the subject is null.
  * 
+ * <p>
+ * If the content is already available as a parsed HTML document (see
+ * {@link MayHaveHtmlDocument}), the document is used instead of parsing the
+ * HTML again.
+ * 
  * @author Aurélien Baudet
  *
  */
@@ -19,6 +25,9 @@ public class HtmlTitleSubjectProvider implements SubjectProvider {
 	@Override
 	public String provide(Message message) {
 		Content content = message.getContent();
+		if (content instanceof MayHaveHtmlDocument && ((MayHaveHtmlDocument) content).canProvideDocument()) {
+			return HtmlUtils.getTitle(((MayHaveHtmlDocument) content).asDocument());
+		}
 		if(content instanceof MayHaveStringContent && ((MayHaveStringContent) content).canProvideString()) {
 			String stringContent = ((MayHaveStringContent) content).asString();
 			if (HtmlUtils.isHtml(stringContent)) {
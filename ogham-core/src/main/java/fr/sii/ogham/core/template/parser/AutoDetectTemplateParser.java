@@ -5,6 +5,8 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.cache.Cache;
+import fr.sii.ogham.core.cache.NoCache;
 import fr.sii.ogham.core.exception.template.EngineDetectionException;
 import fr.sii.ogham.core.exception.template.NoEngineDetectionException;
 import fr.sii.ogham.core.exception.template.ParseException;
@@ -21,6 +23,12 @@ import fr.sii.ogham.core.template.detector.TemplateEngineDetector;
  * The detection mechanism loop through the engine detectors until one indicates
  * that the associated engine can parse the template.
  * 
+ * <p>
+ * As detection may be costly (some detectors read the template content), the
+ * parser chosen for a template is stored in a {@link Cache}. The fact that no
+ * parser can handle a template is also cached. Detection failures (when a
+ * detector fails to read the template for example) are not cached.
+ * 
  * @author Aurélien Baudet
  *
  */
@@ -33,9 +41,28 @@ public class AutoDetectTemplateParser implements TemplateParser {
 	 */
 	private List<TemplateImplementation> implementations;
 
+	/**
+	 * Cache of detected parser for each template
+	 */
+	private final Cache<ResourcePath, TemplateParser> cache;
+
 	public AutoDetectTemplateParser(List<TemplateImplementation> implementations) {
+		this(implementations, new NoCache<>());
+	}
+
+	/**
+	 * Initializes with the pairs of engine detector and template engine parser
+	 * and the cache used to store the detected parser for each template.
+	 * 
+	 * @param implementations
+	 *            the pairs of engine detector and template engine parser
+	 * @param cache
+	 *            the cache used to store detection results
+	 */
+	public AutoDetectTemplateParser(List<TemplateImplementation> implementations, Cache<ResourcePath, TemplateParser> cache) {
 		super();
 		this.implementations = implementations;
+		this.cache = cache;
 	}
 
 	@Override
@@ -51,6 +78,15 @@ public class AutoDetectTemplateParser implements TemplateParser {
 	}
 
 	private TemplateParser findParser(ResourcePath templatePath, Context ctx) throws EngineDetectionException {
+		TemplateParser parser = cache.get(templatePath, path -> detectParser(path, ctx));
+		if (parser == null) {
+			throw new NoEngineDetectionException("Auto detection couldn't find any parser able to handle the template " + templatePath.getOriginalPath() + ".\n"
+					+ "Either the template uses a template engine that is not registered in Ogham or the path points to a non existing template.");
+		}
+		return parser;
+	}
+
+	private TemplateParser detectParser(ResourcePath templatePath, Context ctx) throws EngineDetectionException {
 		for (TemplateImplementation impl : implementations) {
 			if (impl.getDetector().canParse(templatePath, ctx)) {
 				TemplateParser parser = impl.getParser();
@@ -60,8 +96,7 @@ public class AutoDetectTemplateParser implements TemplateParser {
 				LOG.debug("Template engine {} can't be used for {}", impl.getParser(), templatePath);
 			}
 		}
-		throw new NoEngineDetectionException("Auto detection couldn't find any parser able to handle the template " + templatePath.getOriginalPath() + ".\n"
-				+ "Either the template uses a template engine that is not registered in Ogham or the path points to a non existing template.");
+		return null;
 	}
 	
 
@@ -0,0 +1,56 @@
+package fr.sii.ogham.core.template.parser;
+
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_IMPLEMENTATION;
+import static fr.sii.ogham.core.metrics.MetricNames.TEMPLATE_PARSE;
+
+import fr.sii.ogham.core.exception.template.ParseException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.resource.path.ResourcePath;
+import fr.sii.ogham.core.template.context.Context;
+
+/**
+ * Decorator that measures the time spent to parse templates. The metric is
+ * tagged by the implementation (the class name of the decorated parser).
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class MeteredTemplateParser implements TemplateParser {
+	private final TemplateParser delegate;
+	private final MetricsRecorder metrics;
+	private final String implementation;
+
+	/**
+	 * Initializes with the parser to decorate and the recorder used to
+	 * register metrics.
+	 * 
+	 * @param delegate
+	 *            the parser that really parses the templates
+	 * @param metrics
+	 *            the recorder
+	 */
+	public MeteredTemplateParser(TemplateParser delegate, MetricsRecorder metrics) {
+		super();
+		this.delegate = delegate;
+		this.metrics = metrics;
+		this.implementation = delegate.getClass().getSimpleName();
+	}
+
+	@Override
+	public Content parse(ResourcePath templateName, Context ctx) throws ParseException {
+		long start = System.nanoTime();
+		try {
+			return delegate.parse(templateName, ctx);
+		} finally {
+			metrics.recordTime(TEMPLATE_PARSE, System.nanoTime() - start, TAG_IMPLEMENTATION, implementation);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MeteredTemplateParser [delegate=").append(delegate).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,55 @@
+package fr.sii.ogham.core.translator.content;
+
+import static fr.sii.ogham.core.metrics.MetricNames.CONTENT_TRANSLATE;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_IMPLEMENTATION;
+
+import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+
+/**
+ * Decorator that measures the time spent by a {@link ContentTranslator}. The
+ * metric is tagged by the implementation (the class name of the decorated
+ * translator).
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class MeteredContentTranslator implements ContentTranslator {
+	private final ContentTranslator delegate;
+	private final MetricsRecorder metrics;
+	private final String implementation;
+
+	/**
+	 * Initializes with the translator to decorate and the recorder used to
+	 * register metrics.
+	 * 
+	 * @param delegate
+	 *            the translator that really translates the content
+	 * @param metrics
+	 *            the recorder
+	 */
+	public MeteredContentTranslator(ContentTranslator delegate, MetricsRecorder metrics) {
+		super();
+		this.delegate = delegate;
+		this.metrics = metrics;
+		this.implementation = delegate.getClass().getSimpleName();
+	}
+
+	@Override
+	public Content translate(Content content) throws ContentTranslatorException {
+		long start = System.nanoTime();
+		try {
+			return delegate.translate(content);
+		} finally {
+			metrics.recordTime(CONTENT_TRANSLATE, System.nanoTime() - start, TAG_IMPLEMENTATION, implementation);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MeteredContentTranslator [delegate=").append(delegate).append("]");
+		return builder.toString();
+	}
+}
@@ -2,11 +2,14 @@ package fr.sii.ogham.core.translator.content;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
 import fr.sii.ogham.core.exception.handler.NoContentException;
 import fr.sii.ogham.core.exception.handler.Recoverable;
@@ -29,6 +32,13 @@ import fr.sii.ogham.core.message.content.MultiContent;
  * The same translator is applied for all sub contents.
  * </p>
  * <p>
+ * If an executor is provided, the sub contents are translated concurrently
+ * (for example, the HTML and text templates of an email are parsed at the same
+ * time). The first sub content is translated by the current thread. The order
+ * of the sub contents is preserved and errors are handled exactly like the
+ * sequential mode.
+ * </p>
+ * <p>
  * If the content is not a {@link MultiContent}, then the content is returned
  * as-is.
  * </p>
@@ -44,9 +54,29 @@ public class MultiContentTranslator implements ContentTranslator {
 	 */
 	private ContentTranslator delegate;
 
+	/**
+	 * The executors used to translate sub contents concurrently (may be null)
+	 */
+	private AsyncExecutors executors;
+
 	public MultiContentTranslator(ContentTranslator delegate) {
+		this(delegate, null);
+	}
+
+	/**
+	 * Initializes with the translator to apply on each sub content and the
+	 * executors used to translate sub contents concurrently.
+	 * 
+	 * @param delegate
+	 *            the content translator to apply on each sub content
+	 * @param executors
+	 *            the executors used to translate sub contents concurrently (if
+	 *            null, sub contents are translated sequentially)
+	 */
+	public MultiContentTranslator(ContentTranslator delegate, AsyncExecutors executors) {
 		super();
 		this.delegate = delegate;
+		this.executors = executors;
 	}
 
 	@Override
@@ -55,10 +85,15 @@ public class MultiContentTranslator implements ContentTranslator {
 			LOG.trace("Not a MultiContent => skip it");
 			return content;
 		}
+		List<Content> contents = ((MultiContent) content).getContents();
 		MultiContent result = new MultiContent();
 		List<ContentTranslatorException> missing = new ArrayList<>();
-		for (Content c : ((MultiContent) content).getContents()) {
-			translate(c, result, missing);
+		if (executors != null && contents.size() > 1) {
+			translateConcurrently(contents, result, missing);
+		} else {
+			for (Content c : contents) {
+				translate(c, result, missing);
+			}
 		}
 		if (result.getContents().isEmpty()) {
 			handleEmptyContent(content, missing);
@@ -76,20 +111,63 @@ public class MultiContentTranslator implements ContentTranslator {
 		LOG.debug("Translate the sub content using {}", delegate);
 		LOG.trace("sub content: {}", c);
 		try {
-			Content translated = delegate.translate(c);
-			if (translated == null) {
-				LOG.debug("Sub content skipped");
-				LOG.trace("sub-content: {}", c);
-			} else {
-				LOG.debug("Sub content added");
-				LOG.trace("sub-content: {}", c);
-				result.addContent(translated);
-			}
+			addTranslated(c, delegate.translate(c), result);
 		} catch (ContentTranslatorException e) {
 			handleException(e, missing);
 		}
 	}
 
+	private void translateConcurrently(List<Content> contents, MultiContent result, List<ContentTranslatorException> missing) throws ContentTranslatorException {
+		LOG.debug("Translate {} sub contents concurrently using {}", contents.size(), delegate);
+		List<CompletableFuture<Content>> futures = new ArrayList<>(contents.size());
+		for (Content c : contents.subList(1, contents.size())) {
+			futures.add(executors.execute(() -> delegate.translate(c)));
+		}
+		// current thread also works instead of just waiting
+		translate(contents.get(0), result, missing);
+		for (int i = 0; i < futures.size(); i++) {
+			Content c = contents.get(i + 1);
+			LOG.trace("sub content: {}", c);
+			try {
+				addTranslated(c, await(futures.get(i)), result);
+			} catch (ContentTranslatorException e) {
+				handleException(e, missing);
+			}
+		}
+	}
+
+	private static void addTranslated(Content c, Content translated, MultiContent result) {
+		if (translated == null) {
+			LOG.debug("Sub content skipped");
+			LOG.trace("sub-content: {}", c);
+		} else {
+			LOG.debug("Sub content added");
+			LOG.trace("sub-content: {}", c);
+			result.addContent(translated);
+		}
+	}
+
+	private static Content await(CompletableFuture<Content> future) throws ContentTranslatorException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ContentTranslatorException("Interrupted while translating sub content", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof ContentTranslatorException) {
+				throw (ContentTranslatorException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new ContentTranslatorException("Failed to translate sub content", cause);
+		}
+	}
+
 	private static void handleException(ContentTranslatorException e, List<ContentTranslatorException> missing) throws ContentTranslatorException {
 		if (!isRecoverable(e)) {
 			throw e;
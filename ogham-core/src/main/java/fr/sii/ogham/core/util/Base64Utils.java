@@ -1,8 +1,15 @@
 package fr.sii.ogham.core.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Base64.Encoder;
 
 public final class Base64Utils {
+	private static final int ENCODE_CHUNK_SIZE = 3 * 4096;
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
 	/**
 	 * Encode the byte array to a base64 string.
 	 * 
@@ -17,6 +24,42 @@ public final class Base64Utils {
 		return Base64.getEncoder().encodeToString(bytes);
 	}
 
+	/**
+	 * Encode the content of the stream to a base64 string.
+	 * 
+	 * <p>
+	 * The stream is read and encoded by chunks so the whole content is never
+	 * copied into an intermediate byte array. Only the resulting string is
+	 * held in memory.
+	 * 
+	 * <p>
+	 * {@link Base64#getEncoder()} is used. The stream is not closed.
+	 * 
+	 * @param stream
+	 *            the stream to read and encode
+	 * @return the base64 string
+	 * @throws IOException
+	 *             when the stream can't be read
+	 */
+	public static String encodeToString(InputStream stream) throws IOException {
+		Encoder encoder = Base64.getEncoder();
+		byte[] chunk = new byte[ENCODE_CHUNK_SIZE];
+		byte[] encoded = new byte[ENCODE_CHUNK_SIZE / 3 * 4];
+		// pre-size using the known remaining size (if any) to avoid copies
+		long expectedSize = (Math.max(stream.available(), (long) ENCODE_CHUNK_SIZE) + 2) / 3 * 4;
+		StringBuilder sb = new StringBuilder((int) Math.min(expectedSize, MAX_CAPACITY));
+		int read;
+		// encoding by chunks requires that each chunk (except the last one) is
+		// a multiple of 3 bytes to avoid padding in the middle of the string
+		while ((read = org.apache.commons.io.IOUtils.read(stream, chunk)) > 0) {
+			int length = encoder.encode(read == chunk.length ? chunk : Arrays.copyOf(chunk, read), encoded);
+			for (int i = 0; i < length; i++) {
+				sb.append((char) encoded[i]);
+			}
+		}
+		return sb.toString();
+	}
+
 	private Base64Utils() {
 		super();
 	}
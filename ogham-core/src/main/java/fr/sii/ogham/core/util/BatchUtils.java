@@ -0,0 +1,64 @@
+package fr.sii.ogham.core.util;
+
+import java.util.List;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.sender.MessageSender;
+
+/**
+ * Helper methods to handle sending of several messages at once.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class BatchUtils {
+
+	/**
+	 * Send the messages using the sender (see
+	 * {@link MessageSender#sendAll(List)}). If some messages couldn't be sent,
+	 * the failures are added to the list of failures.
+	 * 
+	 * <p>
+	 * If there is no message to send, the sender is not called.
+	 * 
+	 * @param sender
+	 *            the sender used to send the messages
+	 * @param messages
+	 *            the messages to send
+	 * @param failures
+	 *            the list of failures to update
+	 */
+	public static void sendAndCollectFailures(MessageSender sender, List<? extends Message> messages, List<MessageException> failures) {
+		if (messages.isEmpty()) {
+			return;
+		}
+		try {
+			sender.sendAll(messages);
+		} catch (MessagesNotSentException e) {
+			failures.addAll(e.getFailures());
+		}
+	}
+
+	/**
+	 * Throws a {@link MessagesNotSentException} if there is at least one
+	 * failure.
+	 * 
+	 * @param failures
+	 *            the failures
+	 * @param total
+	 *            the total number of messages that were sent
+	 * @throws MessagesNotSentException
+	 *             when there is at least one failure
+	 */
+	public static void failIfAny(List<MessageException> failures, int total) throws MessagesNotSentException {
+		if (!failures.isEmpty()) {
+			throw new MessagesNotSentException(failures.size() + " of " + total + " messages couldn't be sent", failures);
+		}
+	}
+
+	private BatchUtils() {
+		super();
+	}
+}
@@ -16,6 +16,7 @@ import java.util.regex.Pattern;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +36,9 @@ public final class HtmlUtils {
 	private static final String HREF_ATTR = "href";
 	private static final String IMG_SELECTOR = "img";
 	private static final String SRC_ATTR = "src";
+	private static final String STYLE_TAG = "style";
+	private static final String STYLE_ATTR = "style";
+	private static final String STYLE_ATTR_SELECTOR = "[style]";
 	private static final Pattern URL_PATTERN = Pattern.compile("^https?://.+$", Pattern.CASE_INSENSITIVE);
 	private static final Pattern URI_INVALID_CHARS = Pattern.compile("\\\\'");
 	private static final String URI_ESCAPE = "''";
@@ -92,7 +96,25 @@ public final class HtmlUtils {
 	 *         found
 	 */
 	public static List<String> getDistinctCssUrls(String htmlContent) {
-		Document doc = Jsoup.parse(htmlContent);
+		return getDistinctCssUrls(Jsoup.parse(htmlContent));
+	}
+
+	/**
+	 * Finds all CSS file inclusions (looks for <code>link</code> tags for
+	 * stylesheet files). Returns only the path or URL to the CSS file. If the
+	 * several CSS inclusions have the same path, the path is present in the
+	 * list only one time.
+	 * 
+	 * <p>
+	 * Same as {@link #getDistinctCssUrls(String)} but uses an already parsed
+	 * document.
+	 * 
+	 * @param doc
+	 *            the html document that may contain external CSS files
+	 * @return the list of found CSS inclusions (paths only) or empty if nothing
+	 *         found
+	 */
+	public static List<String> getDistinctCssUrls(Document doc) {
 		Elements els = doc.select(CSS_LINKS_SELECTOR);
 		List<String> cssFiles = new ArrayList<>(els.size());
 		for (Element e : els) {
@@ -114,7 +136,23 @@ public final class HtmlUtils {
 	 * @return the list of found images (paths only) or empty if nothing found
 	 */
 	public static List<String> getDistinctImageUrls(String htmlContent) {
-		Document doc = Jsoup.parse(htmlContent);
+		return getDistinctImageUrls(Jsoup.parse(htmlContent));
+	}
+
+	/**
+	 * Finds all image inclusions (looks for <code>img</code> tags). Returns
+	 * only the path or URL to the image. If the several images have the same
+	 * path, the path is present in the list only one time.
+	 * 
+	 * <p>
+	 * Same as {@link #getDistinctImageUrls(String)} but uses an already parsed
+	 * document.
+	 * 
+	 * @param doc
+	 *            the html document that may contain image files
+	 * @return the list of found images (paths only) or empty if nothing found
+	 */
+	public static List<String> getDistinctImageUrls(Document doc) {
 		Elements els = doc.select(IMG_SELECTOR);
 		List<String> images = new ArrayList<>(els.size());
 		for (Element e : els) {
@@ -147,13 +185,31 @@ public final class HtmlUtils {
 	 */
 	public static List<String> getDistinctCssImageUrls(String htmlContent) {
 		List<String> urls = new ArrayList<>();
-		Matcher m = CSS_IMAGE_PROPERTIES_PATTERN.matcher(QUOTE_ENTITY.matcher(htmlContent).replaceAll("'"));
-		while (m.find()) {
-			for (CssUrlFunction url : getCssUrlFunctions(m.group("value"))) {
-				if (!urls.contains(url.getUrl())) {
-					urls.add(url.getUrl());
-				}
-			}
+		addDistinctCssImageUrls(QUOTE_ENTITY.matcher(htmlContent).replaceAll("'"), urls);
+		return urls;
+	}
+
+	/**
+	 * Finds all image inclusions from CSS properties. Returns only the path or
+	 * URL to the image. If the several images have the same path, the path is
+	 * present in the list only one time.
+	 * 
+	 * <p>
+	 * Same as {@link #getDistinctCssImageUrls(String)} but uses an already
+	 * parsed document. Only the CSS rules declared in <code>style</code> tags
+	 * and the <code>style</code> attributes are analyzed.
+	 * 
+	 * @param doc
+	 *            the html document that may contain image files
+	 * @return the list of found images (paths only) or empty if nothing found
+	 */
+	public static List<String> getDistinctCssImageUrls(Document doc) {
+		List<String> urls = new ArrayList<>();
+		for (Element style : doc.select(STYLE_TAG)) {
+			addDistinctCssImageUrls(style.data(), urls);
+		}
+		for (Element styled : doc.select(STYLE_ATTR_SELECTOR)) {
+			addDistinctCssImageUrls(styled.attr(STYLE_ATTR), urls);
 		}
 		return urls;
 	}
@@ -224,7 +280,21 @@ public final class HtmlUtils {
 	 * @return the title of the HTML or null if none
 	 */
 	public static String getTitle(String htmlContent) {
-		Document doc = Jsoup.parse(htmlContent);
+		return getTitle(Jsoup.parse(htmlContent));
+	}
+
+	/**
+	 * Get the title of the HTML. If no <code>title</code> tag exists, then the
+	 * title is null.
+	 * 
+	 * <p>
+	 * Same as {@link #getTitle(String)} but uses an already parsed document.
+	 * 
+	 * @param doc
+	 *            the HTML document that may contain a title
+	 * @return the title of the HTML or null if none
+	 */
+	public static String getTitle(Document doc) {
 		Elements titleNode = doc.select("head > title");
 		return titleNode.isEmpty() ? null : doc.title();
 	}
@@ -328,6 +398,39 @@ public final class HtmlUtils {
 		}
 	}
 
+	/**
+	 * Replace the whole content of the document by the provided HTML. The
+	 * document instance is kept (the nodes of the parsed HTML are moved into
+	 * the document) so any reference to the document remains valid.
+	 * 
+	 * <p>
+	 * This is useful to apply a string based transformation on a document that
+	 * is shared.
+	 * 
+	 * @param doc
+	 *            the document to update
+	 * @param htmlContent
+	 *            the new HTML content
+	 */
+	public static void updateDocument(Document doc, String htmlContent) {
+		Document updated = Jsoup.parse(htmlContent);
+		doc.empty();
+		for (Node node : new ArrayList<>(updated.childNodes())) {
+			doc.appendChild(node);
+		}
+	}
+
+	private static void addDistinctCssImageUrls(String css, List<String> urls) {
+		Matcher m = CSS_IMAGE_PROPERTIES_PATTERN.matcher(css);
+		while (m.find()) {
+			for (CssUrlFunction url : getCssUrlFunctions(m.group("value"))) {
+				if (!urls.contains(url.getUrl())) {
+					urls.add(url.getUrl());
+				}
+			}
+		}
+	}
+
 	private static String escapeForJavaUri(String url) {
 		return URI_INVALID_CHARS.matcher(url).replaceAll(URI_ESCAPE);
 	}
@@ -6,6 +6,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 /**
  * Helper class for I/O management:
@@ -93,6 +94,30 @@ public final class IOUtils {
 		return org.apache.commons.io.IOUtils.toString(stream, charset);
 	}
 
+	/**
+	 * Read at most {@code maxBytes} bytes from the head of the stream.
+	 * 
+	 * <p>
+	 * The stream is not closed and it is not reset. The returned bytes are
+	 * consumed from the stream so if the whole content is needed, the head
+	 * must be concatenated with the remaining of the stream (using
+	 * {@link java.io.SequenceInputStream} for example).
+	 * 
+	 * @param stream
+	 *            the InputStream to read from
+	 * @param maxBytes
+	 *            the maximum number of bytes to read
+	 * @return the read bytes (the array length is lower than
+	 *         {@code maxBytes} if the stream is shorter)
+	 * @throws IOException
+	 *             when the stream can't be read
+	 */
+	public static byte[] readHead(InputStream stream, int maxBytes) throws IOException {
+		byte[] head = new byte[maxBytes];
+		int read = org.apache.commons.io.IOUtils.read(stream, head);
+		return read == maxBytes ? head : Arrays.copyOf(head, read);
+	}
+
 	public static void copy(byte[] buf, File file) throws IOException {
 		try(ByteArrayInputStream input = new ByteArrayInputStream(buf); FileOutputStream output = new FileOutputStream(file)) {
 			org.apache.commons.io.IOUtils.copy(input, output);
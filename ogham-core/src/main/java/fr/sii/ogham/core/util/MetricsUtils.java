@@ -0,0 +1,97 @@
+package fr.sii.ogham.core.util;
+
+import fr.sii.ogham.core.filler.MessageFiller;
+import fr.sii.ogham.core.filler.MeteredMessageFiller;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.sender.MeteredSender;
+import fr.sii.ogham.core.template.parser.MeteredTemplateParser;
+import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.core.translator.content.MeteredContentTranslator;
+
+/**
+ * Helper methods to instrument instances created by builders.
+ * 
+ * <p>
+ * The instance is decorated only if metrics are enabled (see
+ * {@link MetricsRecorder#isEnabled()}). Otherwise, the instance is returned
+ * as-is so there is no overhead at all.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public final class MetricsUtils {
+
+	/**
+	 * Measure the time spent by the sender and count sent/failed messages.
+	 * 
+	 * @param sender
+	 *            the sender to instrument
+	 * @param metrics
+	 *            the recorder
+	 * @return the instrumented sender or the sender itself if metrics are
+	 *         disabled
+	 */
+	public static MessageSender metered(MessageSender sender, MetricsRecorder metrics) {
+		if (sender == null || !metrics.isEnabled()) {
+			return sender;
+		}
+		return new MeteredSender(sender, metrics);
+	}
+
+	/**
+	 * Measure the time spent by the translator.
+	 * 
+	 * @param translator
+	 *            the translator to instrument
+	 * @param metrics
+	 *            the recorder
+	 * @return the instrumented translator or the translator itself if metrics
+	 *         are disabled
+	 */
+	public static ContentTranslator metered(ContentTranslator translator, MetricsRecorder metrics) {
+		if (translator == null || !metrics.isEnabled()) {
+			return translator;
+		}
+		return new MeteredContentTranslator(translator, metrics);
+	}
+
+	/**
+	 * Measure the time spent to parse templates.
+	 * 
+	 * @param parser
+	 *            the parser to instrument
+	 * @param metrics
+	 *            the recorder
+	 * @return the instrumented parser or the parser itself if metrics are
+	 *         disabled
+	 */
+	public static TemplateParser metered(TemplateParser parser, MetricsRecorder metrics) {
+		if (parser == null || !metrics.isEnabled()) {
+			return parser;
+		}
+		return new MeteredTemplateParser(parser, metrics);
+	}
+
+	/**
+	 * Measure the time spent by the filler.
+	 * 
+	 * @param filler
+	 *            the filler to instrument
+	 * @param metrics
+	 *            the recorder
+	 * @return the instrumented filler or the filler itself if metrics are
+	 *         disabled
+	 */
+	public static MessageFiller metered(MessageFiller filler, MetricsRecorder metrics) {
+		if (filler == null || !metrics.isEnabled()) {
+			return filler;
+		}
+		return new MeteredMessageFiller(filler, metrics);
+	}
+
+	private MetricsUtils() {
+		super();
+	}
+}
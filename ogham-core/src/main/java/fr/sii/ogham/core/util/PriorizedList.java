@@ -1,6 +1,6 @@
 package fr.sii.ogham.core.util;
 
-import static java.util.stream.Collectors.toList;
+import static java.util.Collections.unmodifiableList;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -10,6 +10,11 @@ import java.util.List;
  * object is then returned as list ordered by priority. The higher priority
  * value comes first in the list.
  * 
+ * <p>
+ * The ordered lists are computed once and then cached until a new object is
+ * registered. The returned lists are read-only snapshots: registering a new
+ * object doesn't change a previously returned list.
+ * 
  * @author Aurélien Baudet
  *
  * @param <P>
@@ -17,6 +22,7 @@ import java.util.List;
  */
 public class PriorizedList<P> {
 	private final List<WithPriority<P>> priorities;
+	private volatile Snapshot<P> snapshot;
 
 	/**
 	 * Initializes with an empty list
@@ -45,6 +51,7 @@ public class PriorizedList<P> {
 	 */
 	public PriorizedList<P> register(WithPriority<P> priorized) {
 		priorities.add(priorized);
+		snapshot = null;
 		return this;
 	}
 
@@ -59,6 +66,7 @@ public class PriorizedList<P> {
 	 */
 	public PriorizedList<P> register(P priorized, int priority) {
 		priorities.add(new WithPriority<>(priorized, priority));
+		snapshot = null;
 		return this;
 	}
 
@@ -71,6 +79,7 @@ public class PriorizedList<P> {
 	 */
 	public PriorizedList<P> register(PriorizedList<P> other) {
 		priorities.addAll(other.getPriorities());
+		snapshot = null;
 		return this;
 	}
 
@@ -86,23 +95,44 @@ public class PriorizedList<P> {
 	/**
 	 * Get the list of priorities ordered by priority
 	 * 
-	 * @return ordered list of priorities
+	 * @return ordered list of priorities (read-only)
 	 */
 	public List<WithPriority<P>> getPriorities() {
-		return sort();
+		return sort().priorities;
 	}
 
 	/**
 	 * Get the list of priorized objects ordered by highest priority.
 	 * 
-	 * @return list of objects ordered by highet priority
+	 * @return list of objects ordered by highet priority (read-only)
 	 */
 	public List<P> getOrdered() {
-		return sort().stream().map(WithPriority::getPriorized).collect(toList());
+		return sort().ordered;
+	}
+
+	private Snapshot<P> sort() {
+		Snapshot<P> current = snapshot;
+		if (current == null) {
+			current = new Snapshot<>(priorities);
+			snapshot = current;
+		}
+		return current;
 	}
 
-	private List<WithPriority<P>> sort() {
-		priorities.sort(WithPriority.comparator());
-		return priorities;
+	private static class Snapshot<P> {
+		private final List<WithPriority<P>> priorities;
+		private final List<P> ordered;
+
+		public Snapshot(List<WithPriority<P>> registered) {
+			super();
+			List<WithPriority<P>> sorted = new ArrayList<>(registered);
+			sorted.sort(WithPriority.comparator());
+			List<P> values = new ArrayList<>(sorted.size());
+			for (WithPriority<P> priorized : sorted) {
+				values.add(priorized.getPriorized());
+			}
+			this.priorities = unmodifiableList(sorted);
+			this.ordered = unmodifiableList(values);
+		}
 	}
 }
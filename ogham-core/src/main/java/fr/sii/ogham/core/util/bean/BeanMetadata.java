@@ -0,0 +1,163 @@
+package fr.sii.ogham.core.util.bean;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.sii.ogham.core.exception.util.BeanWrapperException;
+
+/**
+ * Introspection result for a bean class.
+ *
+ * <p>
+ * Introspection of a class is costly (many objects are created by
+ * {@link Introspector#getBeanInfo(Class)}). As the result is always the same
+ * for a given class, the introspection is done only once per class and the
+ * result is cached.
+ *
+ * <p>
+ * The cache is attached to the {@link Class} itself (using {@link ClassValue})
+ * so the metadata doesn't prevent the class (and its class loader) from being
+ * garbage collected. This avoids memory leaks when an application is
+ * redeployed.
+ *
+ * <p>
+ * In addition to the read {@link Method}s, a {@link MethodHandle} is
+ * precomputed for each getter in order to avoid {@link Method#invoke} overhead
+ * each time a property value is read. If the getter can't be accessed through
+ * a {@link MethodHandle} (getter declared in a non-public class for example),
+ * there is no handle and the {@link Method} is used instead.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public final class BeanMetadata {
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final ClassValue<BeanMetadata> CACHE = new ClassValue<BeanMetadata>() {
+		@Override
+		protected BeanMetadata computeValue(Class<?> type) {
+			return introspect(type);
+		}
+	};
+
+	private final Map<String, Method> readMethods;
+	private final Map<String, MethodHandle> getters;
+	private final List<String> properties;
+
+	private BeanMetadata(Map<String, Method> readMethods, Map<String, MethodHandle> getters) {
+		super();
+		this.readMethods = unmodifiableMap(readMethods);
+		this.getters = getters;
+		this.properties = unmodifiableList(new ArrayList<>(readMethods.keySet()));
+	}
+
+	/**
+	 * Get the metadata for the provided class. The class is introspected only
+	 * the first time, the cached metadata is returned for next calls.
+	 *
+	 * @param beanClass
+	 *            the class of the bean
+	 * @return the metadata of the class
+	 * @throws BeanWrapperException
+	 *             when the class couldn't be introspected
+	 */
+	public static BeanMetadata of(Class<?> beanClass) {
+		return CACHE.get(beanClass);
+	}
+
+	/**
+	 * Get the read {@link Method}s indexed by property name.
+	 *
+	 * @return the read methods (unmodifiable)
+	 */
+	public Map<String, Method> getReadMethods() {
+		return readMethods;
+	}
+
+	/**
+	 * Get the read {@link Method} for a particular property.
+	 *
+	 * @param name
+	 *            the name of the property
+	 * @return the read method or null if there is no getter for the property
+	 */
+	public Method getReadMethod(String name) {
+		return readMethods.get(name);
+	}
+
+	/**
+	 * Get the precomputed getter for a particular property. The
+	 * {@link MethodHandle} is adapted to take an {@link Object} as parameter
+	 * and to return an {@link Object}.
+	 *
+	 * @param name
+	 *            the name of the property
+	 * @return the getter or null if there is no getter for the property or the
+	 *         getter can't be accessed through a {@link MethodHandle}
+	 */
+	public MethodHandle getGetter(String name) {
+		return getters.get(name);
+	}
+
+	/**
+	 * Get the names of the properties that have a getter.
+	 *
+	 * @return the property names (unmodifiable)
+	 */
+	public List<String> getProperties() {
+		return properties;
+	}
+
+	private static BeanMetadata introspect(Class<?> beanClass) {
+		try {
+			Map<String, Method> readMethods = new HashMap<>();
+			Map<String, MethodHandle> getters = new HashMap<>();
+			final BeanInfo beanInfo = Introspector.getBeanInfo(beanClass);
+			final PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
+			if (propertyDescriptors != null) {
+				putReadMethods(readMethods, getters, propertyDescriptors);
+			}
+			return new BeanMetadata(readMethods, getters);
+		} catch (final IntrospectionException e) {
+			throw new BeanWrapperException("Failed to initialize bean wrapper on " + beanClass, e);
+		}
+	}
+
+	private static void putReadMethods(Map<String, Method> readMethods, Map<String, MethodHandle> getters, final PropertyDescriptor[] propertyDescriptors) {
+		for (final PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+			if (propertyDescriptor != null) {
+				final String name = propertyDescriptor.getName();
+				final Method readMethod = propertyDescriptor.getReadMethod();
+
+				if (readMethod != null) {
+					readMethods.put(name, readMethod);
+					MethodHandle getter = toGetter(readMethod);
+					if (getter != null) {
+						getters.put(name, getter);
+					}
+				}
+			}
+		}
+	}
+
+	private static MethodHandle toGetter(Method readMethod) {
+		try {
+			return MethodHandles.publicLookup().unreflect(readMethod).asType(GETTER_TYPE);
+		} catch (IllegalAccessException e) { // NOSONAR
+			// not accessible => fallback to Method.invoke
+			return null;
+		}
+	}
+}
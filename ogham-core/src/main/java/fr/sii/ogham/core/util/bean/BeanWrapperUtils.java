@@ -2,18 +2,11 @@ package fr.sii.ogham.core.util.bean;
 
 import static org.apache.commons.lang3.ClassUtils.isPrimitiveOrWrapper;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import fr.sii.ogham.core.exception.util.BeanWrapperException;
-
 /**
  * Some utility methods for bean wrapper management
  * 
@@ -59,23 +52,17 @@ public final class BeanWrapperUtils {
 	/**
 	 * Get the whole list of read {@link Method}s using introspection.
 	 * 
+	 * <p>
+	 * The introspection is done only once per class (see
+	 * {@link BeanMetadata}).
+	 * 
 	 * @param bean
 	 *            the bean to introspect
-	 * @return the map of bean property getters (indexed by property name)
+	 * @return the map of bean property getters (indexed by property name). The
+	 *         map is unmodifiable
 	 */
 	public static Map<String, Method> getReadMethods(Object bean) {
-		Class<? extends Object> beanClass = bean.getClass();
-		try {
-			Map<String, Method> readMethods = new HashMap<>();
-			final BeanInfo beanInfo = Introspector.getBeanInfo(beanClass);
-			final PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
-			if (propertyDescriptors != null) {
-				putReadMethods(readMethods, propertyDescriptors);
-			}
-			return readMethods;
-		} catch (final IntrospectionException e) {
-			throw new BeanWrapperException("Failed to initialize bean wrapper on " + beanClass, e);
-		}
+		return BeanMetadata.of(bean.getClass()).getReadMethods();
 	}
 
 	/**
@@ -88,20 +75,7 @@ public final class BeanWrapperUtils {
 	 * @return the getter method for the property
 	 */
 	public static Method getReadMethod(Object bean, String name) {
-		return getReadMethods(bean).get(name);
-	}
-
-	private static void putReadMethods(Map<String, Method> readMethods, final PropertyDescriptor[] propertyDescriptors) {
-		for (final PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-			if (propertyDescriptor != null) {
-				final String name = propertyDescriptor.getName();
-				final Method readMethod = propertyDescriptor.getReadMethod();
-
-				if (readMethod != null) {
-					readMethods.put(name, readMethod);
-				}
-			}
-		}
+		return BeanMetadata.of(bean.getClass()).getReadMethod(name);
 	}
 
 	private static boolean isInstanceOfInvalid(Class<?> clazz) {
@@ -1,7 +1,6 @@
 package fr.sii.ogham.core.util.bean;
 
-import static fr.sii.ogham.core.util.bean.BeanWrapperUtils.getReadMethod;
-
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
@@ -20,6 +19,7 @@ public class ReadMethodAccessor<T> implements Accessor<T> {
 	private final Object bean;
 	private final String name;
 	private final Method readMethod;
+	private final MethodHandle getter;
 	private final Accessor<T> defaultAccessor;
 
 	/**
@@ -27,7 +27,7 @@ public class ReadMethodAccessor<T> implements Accessor<T> {
 	 * 
 	 * <p>
 	 * The read {@link Method} is searched by reflection and using the property
-	 * name.
+	 * name. The introspection result is cached (see {@link BeanMetadata}).
 	 * 
 	 * <p>
 	 * If no read method defined for the property, the {@link FieldAccessor} is
@@ -39,7 +39,11 @@ public class ReadMethodAccessor<T> implements Accessor<T> {
 	 *            the name of the property to access
 	 */
 	public ReadMethodAccessor(Object bean, String name) {
-		this(bean, name, getReadMethod(bean, name), new FieldAccessor<>(bean, name));
+		this(bean, name, BeanMetadata.of(bean.getClass()), new FieldAccessor<>(bean, name));
+	}
+
+	private ReadMethodAccessor(Object bean, String name, BeanMetadata metadata, Accessor<T> defaultAccessor) {
+		this(bean, name, metadata.getReadMethod(name), metadata.getGetter(name), defaultAccessor);
 	}
 
 	/**
@@ -89,10 +93,45 @@ public class ReadMethodAccessor<T> implements Accessor<T> {
 	 *            only read method is used
 	 */
 	public ReadMethodAccessor(Object bean, String name, Method readMethod, Accessor<T> defaultAccessor) {
+		this(bean, name, readMethod, null, defaultAccessor);
+	}
+
+	/**
+	 * Initialize the accessor with the provided bean and property name.
+	 * 
+	 * <p>
+	 * The read {@link Method} and the matching {@link MethodHandle} are
+	 * directly provided in order to avoid reflection scanning. If the
+	 * {@link MethodHandle} is provided, it is used instead of
+	 * {@link Method#invoke(Object, Object...)}.
+	 * 
+	 * <p>
+	 * If no read method defined for the property, the
+	 * <code>defaultAccessor</code> parameter is used.
+	 * 
+	 * @param bean
+	 *            the bean that will be accessed
+	 * @param name
+	 *            the name of the property to access
+	 * @param readMethod
+	 *            the getter method obtained through reflection that is used to
+	 *            access the property. May be null if no read method (no getter)
+	 *            exists in the bean class but the property exists
+	 * @param getter
+	 *            the getter method handle that takes an {@link Object} and
+	 *            returns an {@link Object} (see
+	 *            {@link BeanMetadata#getGetter(String)}). May be null to use
+	 *            the read method
+	 * @param defaultAccessor
+	 *            the default accessor if read method is null. May be null if
+	 *            only read method is used
+	 */
+	public ReadMethodAccessor(Object bean, String name, Method readMethod, MethodHandle getter, Accessor<T> defaultAccessor) {
 		super();
 		this.bean = bean;
 		this.name = name;
 		this.readMethod = readMethod;
+		this.getter = getter;
 		this.defaultAccessor = defaultAccessor;
 	}
 
@@ -105,6 +144,9 @@ public class ReadMethodAccessor<T> implements Accessor<T> {
 		if (readMethod == null) {
 			return defaultAccessor.getValue();
 		}
+		if (getter != null) {
+			return invokeGetter();
+		}
 
 		try {
 			return (T) readMethod.invoke(bean, NULL_ARGUMENTS);
@@ -113,6 +155,15 @@ public class ReadMethodAccessor<T> implements Accessor<T> {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private T invokeGetter() {
+		try {
+			return (T) (Object) getter.invokeExact(bean);
+		} catch (Throwable e) { // NOSONAR
+			throw new InvalidPropertyException("Failed to get value for property '" + name + "' on bean '" + getClassName() + "'", bean, name, e);
+		}
+	}
+
 	private String getClassName() {
 		return bean == null ? "null" : bean.getClass().getName();
 	}
@@ -1,12 +1,12 @@
 package fr.sii.ogham.core.util.bean;
 
 import static fr.sii.ogham.core.util.bean.BeanWrapperUtils.getClassName;
-import static fr.sii.ogham.core.util.bean.BeanWrapperUtils.getReadMethods;
 import static fr.sii.ogham.core.util.bean.BeanWrapperUtils.isInvalid;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -22,12 +22,18 @@ import fr.sii.ogham.core.exception.util.InvalidPropertyException;
  * This implementation delegates the access to the properties to
  * {@link Accessor}s.
  * 
+ * <p>
+ * For a bean, the introspection of the class is done only once (see
+ * {@link BeanMetadata}) and the {@link Accessor} for a property is only created
+ * when the property is read.
+ * 
  * @author Aurélien Baudet
  *
  */
 public class SimpleBeanReadWrapper implements BeanReadWrapper {
 	private final Object bean;
 	private final Map<String, Accessor<Object>> accessors;
+	private final BeanMetadata metadata;
 	private final boolean failOnMissingProperty;
 
 	/**
@@ -56,9 +62,9 @@ public class SimpleBeanReadWrapper implements BeanReadWrapper {
 	public SimpleBeanReadWrapper(Object bean, boolean failOnMissingProperty) {
 		super();
 		this.bean = bean;
-		this.accessors = new HashMap<>();
 		this.failOnMissingProperty = failOnMissingProperty;
-		initialize(bean);
+		this.metadata = isSimpleBean(bean) ? BeanMetadata.of(bean.getClass()) : null;
+		this.accessors = metadata == null ? initialize(bean) : Collections.<String, Accessor<Object>>emptyMap();
 	}
 
 	@Override
@@ -67,7 +73,7 @@ public class SimpleBeanReadWrapper implements BeanReadWrapper {
 			return null;
 		}
 
-		Accessor<Object> accessor = accessors.get(name);
+		Accessor<Object> accessor = getAccessor(name);
 		if (failOnMissingProperty && accessor == null) {
 			throw new InvalidPropertyException("No accessor for property '" + name + "' on bean '" + getClassName(bean) + "'", bean, name);
 		}
@@ -77,6 +83,9 @@ public class SimpleBeanReadWrapper implements BeanReadWrapper {
 
 	@Override
 	public List<String> getProperties() {
+		if (metadata != null) {
+			return new ArrayList<>(metadata.getProperties());
+		}
 		return new ArrayList<>(accessors.keySet());
 	}
 
@@ -85,10 +94,26 @@ public class SimpleBeanReadWrapper implements BeanReadWrapper {
 		return bean;
 	}
 
+	private Accessor<Object> getAccessor(String name) {
+		if (metadata == null) {
+			return accessors.get(name);
+		}
+		Method readMethod = metadata.getReadMethod(name);
+		if (readMethod == null) {
+			return null;
+		}
+		return new ReadMethodAccessor<>(bean, name, readMethod, metadata.getGetter(name), null);
+	}
+
+	private static boolean isSimpleBean(Object bean) {
+		return bean != null && !isInvalid(bean) && !(bean instanceof Collection) && !(bean instanceof Map);
+	}
+
 	@SuppressWarnings("unchecked")
-	private void initialize(Object bean) {
+	private static Map<String, Accessor<Object>> initialize(Object bean) {
+		Map<String, Accessor<Object>> accessors = new HashMap<>();
 		if (bean == null) {
-			return;
+			return accessors;
 		}
 
 		if (isInvalid(bean)) {
@@ -97,9 +122,8 @@ public class SimpleBeanReadWrapper implements BeanReadWrapper {
 			initializeCollection((Collection<Object>) bean, accessors);
 		} else if (bean instanceof Map) {
 			initializeMap((Map<Object, Object>) bean, accessors);
-		} else {
-			initializeBean(bean, accessors);
 		}
+		return accessors;
 	}
 
 	private static void initializeCollection(Collection<Object> collection, Map<String, Accessor<Object>> accessors) {
@@ -114,15 +138,4 @@ public class SimpleBeanReadWrapper implements BeanReadWrapper {
 			accessors.put(entry.getKey().toString(), new DirectAccessor<>(entry.getValue()));
 		}
 	}
-
-	private static void initializeBean(Object bean, Map<String, Accessor<Object>> accessors) {
-		Map<String, Method> readMethods = getReadMethods(bean);
-		for(Entry<String, Method> entry : readMethods.entrySet()) {
-			String name = entry.getKey();
-			Method readMethod = entry.getValue();
-			if (readMethod != null) {
-				accessors.put(name, new ReadMethodAccessor<>(bean, name, readMethod));
-			}
-		}
-	}
 }
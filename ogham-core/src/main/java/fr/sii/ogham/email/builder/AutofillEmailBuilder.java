@@ -1,5 +1,7 @@
 package fr.sii.ogham.email.builder;
 
+import static fr.sii.ogham.core.util.MetricsUtils.metered;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -10,6 +12,7 @@ import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.filler.EveryFillerDecorator;
 import fr.sii.ogham.core.filler.MessageFiller;
 import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
 import fr.sii.ogham.email.filler.EmailFiller;
 import fr.sii.ogham.email.message.Email;
 
@@ -143,10 +146,11 @@ public class AutofillEmailBuilder extends AbstractParent<EmailBuilder> implement
 	@Override
 	public MessageFiller build() {
 		EveryFillerDecorator filler = buildContext.register(new EveryFillerDecorator());
+		MetricsRecorder metrics = buildContext.getMetricsRecorder();
 		if (subjectBuilder != null) {
-			filler.addFiller(subjectBuilder.build());
+			filler.addFiller(metered(subjectBuilder.build(), metrics));
 		}
-		filler.addFiller(buildContext.register(new EmailFiller(buildDefaultValueProps())));
+		filler.addFiller(metered(buildContext.register(new EmailFiller(buildDefaultValueProps())), metrics));
 		return filler;
 	}
 
@@ -1,11 +1,16 @@
 package fr.sii.ogham.email.builder;
 
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_CSS_INLINING_COMPILED_RULES;
+
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
 import fr.sii.ogham.core.builder.context.BuildContext;
 import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
 import fr.sii.ogham.core.builder.resolution.ClassPathResolutionBuilder;
@@ -37,6 +42,7 @@ public class CssInliningBuilder extends AbstractParent<CssHandlingBuilder> imple
 
 	private final BuildContext buildContext;
 	private ResourceResolutionBuilderHelper<CssInliningBuilder> resourceResolutionBuilderHelper;
+	private final ConfigurationValueBuilderHelper<CssInliningBuilder, Boolean> compiledRulesValueBuilder;
 	private boolean useJsoup;
 
 	/**
@@ -53,6 +59,7 @@ public class CssInliningBuilder extends AbstractParent<CssHandlingBuilder> imple
 		super(parent);
 		this.buildContext = buildContext;
 		resourceResolutionBuilderHelper = new ResourceResolutionBuilderHelper<>(this, buildContext);
+		compiledRulesValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
 	}
 
 	/**
@@ -69,6 +76,101 @@ public class CssInliningBuilder extends AbstractParent<CssHandlingBuilder> imple
 		return this;
 	}
 
+	/**
+	 * If enabled, each stylesheet is parsed and compiled only once and then
+	 * reused for all emails. Styles are applied by traversing the HTML only
+	 * once: each HTML node is only evaluated against the rules that may match
+	 * it (indexed by id, class and tag name). The rules that match a node are
+	 * applied according to their specificity (cascade order).
+	 * 
+	 * <p>
+	 * If disabled, the HTML is queried for each rule of the stylesheets and
+	 * the rules are applied in the order of the stylesheets.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #compiledRules()}.
+	 * 
+	 * <pre>
+	 * .compiledRules(true)
+	 * .compiledRules()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .compiledRules(true)
+	 * .compiledRules()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * In both cases, {@code compiledRules(true)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param enable
+	 *            true to compile stylesheets
+	 * @return this instance for fluent chaining
+	 */
+	public CssInliningBuilder compiledRules(Boolean enable) {
+		compiledRulesValueBuilder.setValue(enable);
+		return this;
+	}
+
+	/**
+	 * If enabled, each stylesheet is parsed and compiled only once and then
+	 * reused for all emails. Styles are applied by traversing the HTML only
+	 * once: each HTML node is only evaluated against the rules that may match
+	 * it (indexed by id, class and tag name). The rules that match a node are
+	 * applied according to their specificity (cascade order).
+	 * 
+	 * <p>
+	 * If disabled, the HTML is queried for each rule of the stylesheets and
+	 * the rules are applied in the order of the stylesheets.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .compiledRules()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #compiledRules(Boolean)} takes
+	 * precedence over property values and default value.
+	 * 
+	 * <pre>
+	 * .compiledRules(true)
+	 * .compiledRules()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * The value {@code true} is used regardless of the value of the properties
+	 * and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<CssInliningBuilder, Boolean> compiledRules() {
+		return compiledRulesValueBuilder;
+	}
+
 	@Override
 	public ClassPathResolutionBuilder<CssInliningBuilder> classpath() {
 		return resourceResolutionBuilderHelper.classpath();
@@ -96,12 +198,12 @@ public class CssInliningBuilder extends AbstractParent<CssHandlingBuilder> imple
 			LOG.info("CSS won't be applied on HTML content of your emails because no inliner is configured");
 			return null;
 		}
-		return buildContext.register(new InlineCssTranslator(cssInliner, buildResolver(), buildRelativePathProvider()));
+		return buildContext.register(new InlineCssTranslator(cssInliner, buildResolver(), buildRelativePathProvider(), parent.and().resourceCache().build()));
 	}
 
 	private CssInliner buildInliner() {
 		if (useJsoup) {
-			return buildContext.register(new JsoupCssInliner());
+			return buildContext.register(new JsoupCssInliner(compiledRulesValueBuilder.getValue(DEFAULT_CSS_INLINING_COMPILED_RULES)));
 		}
 		return null;
 	}
@@ -1,8 +1,11 @@
 package fr.sii.ogham.email.builder;
 
+import static fr.sii.ogham.core.util.MetricsUtils.metered;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.async.Awaiter;
 import fr.sii.ogham.core.builder.ActivableAtRuntime;
 import fr.sii.ogham.core.builder.Builder;
@@ -21,6 +24,7 @@ import fr.sii.ogham.core.builder.retry.RetryBuilder;
 import fr.sii.ogham.core.builder.sender.SenderImplementationBuilderHelper;
 import fr.sii.ogham.core.builder.template.DetectorBuilder;
 import fr.sii.ogham.core.builder.template.TemplateBuilderHelper;
+import fr.sii.ogham.core.builder.template.TemplateCacheBuilder;
 import fr.sii.ogham.core.builder.template.VariantBuilder;
 import fr.sii.ogham.core.condition.Condition;
 import fr.sii.ogham.core.condition.fluent.MessageConditions;
@@ -358,6 +362,8 @@ public class EmailBuilder extends AbstractParent<MessagingBuilder> implements Bu
 	private CssHandlingBuilder cssBuilder;
 	private ImageHandlingBuilder imageBuilder;
 	private RetryBuilder<EmailBuilder> retryBuilder;
+	private ParallelRenderingBuilder parallelRenderingBuilder;
+	private ResourceCacheBuilder resourceCacheBuilder;
 	
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -898,6 +904,75 @@ public class EmailBuilder extends AbstractParent<MessagingBuilder> implements Bu
 		templateBuilderHelper.missingVariant(resolver);
 		return this;
 	}
+
+	/**
+	 * Configures caching of template resolution. Before parsing a template,
+	 * the real path of the template for the variant must be found (by checking
+	 * if resources exist) and the template engine that is able to parse the
+	 * template must be detected. When caching is enabled, this is done only
+	 * once per template, variant and locale.
+	 * 
+	 * For example:
+	 * 
+	 * <pre>
+	 * .templateCache()
+	 *   .enable().properties("${ogham.email.template.cache.enable}").and()
+	 *   .timeToLive().properties("${ogham.email.template.cache.time-to-live}").and()
+	 *   .maxSize().properties("${ogham.email.template.cache.max-size}")
+	 * </pre>
+	 * 
+	 * @return the builder to configure template resolution caching
+	 */
+	public TemplateCacheBuilder<EmailBuilder> templateCache() {
+		return templateBuilderHelper.cache();
+	}
+
+	/**
+	 * Configures concurrent rendering of the variants of an email. When an
+	 * email provides several contents (HTML and text for example), the
+	 * variants can be rendered (template parsing, CSS inlining, image
+	 * inlining...) concurrently instead of one after the other.
+	 * 
+	 * For example:
+	 * 
+	 * <pre>
+	 * .parallelRendering()
+	 *   .enable().properties("${ogham.email.parallel-rendering.enable}").and()
+	 *   .threads().properties("${ogham.email.parallel-rendering.threads}")
+	 * </pre>
+	 * 
+	 * @return the builder to configure concurrent rendering of variants
+	 */
+	public ParallelRenderingBuilder parallelRendering() {
+		if (parallelRenderingBuilder == null) {
+			parallelRenderingBuilder = new ParallelRenderingBuilder(this, buildContext);
+		}
+		return parallelRenderingBuilder;
+	}
+
+	/**
+	 * Configures caching of the CSS files and images that are inlined in HTML
+	 * emails. The same cache is used by CSS inlining (see {@link #css()}) and
+	 * image inlining (see {@link #images()}).
+	 * 
+	 * For example:
+	 * 
+	 * <pre>
+	 * .resourceCache()
+	 *   .enable().properties("${ogham.email.resource-cache.enable}").and()
+	 *   .maxSize().properties("${ogham.email.resource-cache.max-size}").and()
+	 *   .maxWeight().properties("${ogham.email.resource-cache.max-weight}").and()
+	 *   .checkModifications().properties("${ogham.email.resource-cache.check-modifications}")
+	 * </pre>
+	 * 
+	 * @return the builder to configure caching of inlined resources
+	 */
+	public ResourceCacheBuilder resourceCache() {
+		if (resourceCacheBuilder == null) {
+			resourceCacheBuilder = new ResourceCacheBuilder(this, buildContext);
+		}
+		return resourceCacheBuilder;
+	}
 	
 	/**
 	 * Configure automatic retry if message couldn't be sent.
@@ -986,11 +1061,15 @@ public class EmailBuilder extends AbstractParent<MessagingBuilder> implements Bu
 		}
 		TemplateParser templateParser = templateBuilderHelper.buildTemplateParser();
 		LOG.debug("Registering content translator that parses templates using {}", templateParser);
-		translator.addTranslator(buildContext.register(new TemplateContentTranslator(templateParser, templateBuilderHelper.buildVariant())));
+		translator.addTranslator(metered(buildContext.register(new TemplateContentTranslator(templateParser, templateBuilderHelper.buildVariant())), buildContext.getMetricsRecorder()));
 	}
 
 	private void addMultiContent(EveryContentTranslator translator) {
-		translator.addTranslator(buildContext.register(new MultiContentTranslator(translator)));
+		AsyncExecutors executors = parallelRenderingBuilder == null ? null : parallelRenderingBuilder.build();
+		if (executors != null) {
+			LOG.debug("Variants of emails are rendered concurrently");
+		}
+		translator.addTranslator(metered(buildContext.register(new MultiContentTranslator(translator, executors)), buildContext.getMetricsRecorder()));
 	}
 
 	private void addImageInlining(EveryContentTranslator translator) {
@@ -1000,7 +1079,7 @@ public class EmailBuilder extends AbstractParent<MessagingBuilder> implements Bu
 		ContentTranslator imageInliner = imageBuilder.build();
 		if (imageInliner != null) {
 			LOG.debug("Image inlining is enabled");
-			translator.addTranslator(imageInliner);
+			translator.addTranslator(metered(imageInliner, buildContext.getMetricsRecorder()));
 		}
 	}
 
@@ -1011,7 +1090,7 @@ public class EmailBuilder extends AbstractParent<MessagingBuilder> implements Bu
 		ContentTranslator cssInliner = cssBuilder.build();
 		if (cssInliner != null) {
 			LOG.debug("CSS inlining is enabled");
-			translator.addTranslator(cssInliner);
+			translator.addTranslator(metered(cssInliner, buildContext.getMetricsRecorder()));
 		}
 	}
 
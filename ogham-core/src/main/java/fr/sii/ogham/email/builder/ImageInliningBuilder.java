@@ -408,7 +408,7 @@ public class ImageInliningBuilder extends AbstractParent<ImageHandlingBuilder> i
 			return null;
 		}
 		LOG.info("Images will be inlined");
-		return buildContext.register(new InlineImageTranslator(buildInliner(), buildResolver(), mimetypeProvider, buildRelativePathProvider()));
+		return buildContext.register(new InlineImageTranslator(buildInliner(), buildResolver(), mimetypeProvider, buildRelativePathProvider(), parent.and().resourceCache().build()));
 	}
 
 	private MimeTypeProvider buildMimetypeProvider() {
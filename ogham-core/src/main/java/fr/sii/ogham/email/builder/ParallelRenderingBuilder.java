@@ -0,0 +1,283 @@
+package fr.sii.ogham.email.builder;
+
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_PARALLEL_RENDERING_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_PARALLEL_RENDERING_THREADS;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import fr.sii.ogham.core.async.AsyncExecutors;
+import fr.sii.ogham.core.async.DaemonThreadFactory;
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.translator.content.MultiContentTranslator;
+
+/**
+ * Configures concurrent rendering of the variants of an email.
+ *
+ * <p>
+ * An email often provides several contents (see {@link MultiContent}): an HTML
+ * version and a text version for example. By default, the variants are
+ * rendered one after the other (template parsing, CSS inlining, image
+ * inlining...). When parallel rendering is enabled, the variants are rendered
+ * concurrently so rendering takes roughly the time of the slowest variant. This
+ * is useful for latency-sensitive emails (one-time passwords, password
+ * reset...).
+ *
+ * <p>
+ * The order of the variants and error handling are not changed.
+ *
+ * <p>
+ * By default, the variants are rendered using a dedicated pool of daemon
+ * threads (see {@link #threads(Integer)}). Any {@link Executor} can be provided
+ * instead (see {@link #executor(Executor)}). The executor must not be the one
+ * used to send messages asynchronously as rendering is executed while sending.
+ *
+ * @author Aurélien Baudet
+ *
+ * @see MultiContentTranslator
+ */
+public class ParallelRenderingBuilder extends AbstractParent<EmailBuilder> implements Builder<AsyncExecutors> {
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<ParallelRenderingBuilder, Boolean> enableValueBuilder;
+	private final ConfigurationValueBuilderHelper<ParallelRenderingBuilder, Integer> threadsValueBuilder;
+	private Executor executor;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link BuildContext} is used to
+	 * evaluate properties when {@link #build()} method is called.
+	 *
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public ParallelRenderingBuilder(EmailBuilder parent, BuildContext buildContext) {
+		super(parent);
+		this.buildContext = buildContext;
+		this.enableValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
+		this.threadsValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+	}
+
+	/**
+	 * Enable or disable concurrent rendering of the variants of an email.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #enable()}.
+	 *
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * In both cases, {@code enable(true)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param enable
+	 *            true to render variants concurrently
+	 * @return this instance for fluent chaining
+	 */
+	public ParallelRenderingBuilder enable(Boolean enable) {
+		enableValueBuilder.setValue(enable);
+		return this;
+	}
+
+	/**
+	 * Enable or disable concurrent rendering of the variants of an email.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #enable(Boolean)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * The value {@code true} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ParallelRenderingBuilder, Boolean> enable() {
+		return enableValueBuilder;
+	}
+
+	/**
+	 * Set the number of threads of the pool that is used to render variants
+	 * concurrently. If all threads are busy, variants are queued until a thread
+	 * is available.
+	 *
+	 * <p>
+	 * This value is not used if a custom executor is provided (see
+	 * {@link #executor(Executor)}).
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #threads()}.
+	 *
+	 * <pre>
+	 * .threads(8)
+	 * .threads()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(4)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .threads(8)
+	 * .threads()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(4)
+	 * </pre>
+	 *
+	 * In both cases, {@code threads(8)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param threads
+	 *            the number of threads used to render variants
+	 * @return this instance for fluent chaining
+	 */
+	public ParallelRenderingBuilder threads(Integer threads) {
+		threadsValueBuilder.setValue(threads);
+		return this;
+	}
+
+	/**
+	 * Set the number of threads of the pool that is used to render variants
+	 * concurrently. If all threads are busy, variants are queued until a thread
+	 * is available.
+	 *
+	 * <p>
+	 * This value is not used if a custom executor is provided (see
+	 * {@link #executor(Executor)}).
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .threads()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(4)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #threads(Integer)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .threads(8)
+	 * .threads()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(4)
+	 * </pre>
+	 *
+	 * The value {@code 8} is used regardless of the value of the properties and
+	 * default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ParallelRenderingBuilder, Integer> threads() {
+		return threadsValueBuilder;
+	}
+
+	/**
+	 * Use a custom executor to render variants instead of the default thread
+	 * pool.
+	 *
+	 * <p>
+	 * The executor is managed by the application: it is not shut down by
+	 * Ogham.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If you call with {@code null}, the default thread pool is used.
+	 *
+	 * @param executor
+	 *            the executor to use
+	 * @return this instance for fluent chaining
+	 */
+	public ParallelRenderingBuilder executor(Executor executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Builds the executors used to render variants concurrently.
+	 *
+	 * @return the executors or null if parallel rendering is disabled
+	 */
+	@Override
+	public AsyncExecutors build() {
+		if (!enableValueBuilder.getValue(DEFAULT_PARALLEL_RENDERING_ENABLE)) {
+			return null;
+		}
+		if (executor != null) {
+			return buildContext.register(new AsyncExecutors(executor, null, emptyList()));
+		}
+		int threads = threadsValueBuilder.getValue(DEFAULT_PARALLEL_RENDERING_THREADS);
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DaemonThreadFactory("ogham-rendering-"));
+		pool.allowCoreThreadTimeOut(true);
+		return buildContext.register(new AsyncExecutors(pool, null, singletonList(pool)));
+	}
+}
@@ -0,0 +1,433 @@
+package fr.sii.ogham.email.builder;
+
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_RESOURCE_CACHE_CHECK_MODIFICATIONS;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_RESOURCE_CACHE_ENABLE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_RESOURCE_CACHE_MAX_SIZE;
+import static fr.sii.ogham.core.CoreConstants.DEFAULT_RESOURCE_CACHE_MAX_WEIGHT;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.cache.LruCache;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.html.inliner.CachedResource;
+import fr.sii.ogham.html.inliner.InlinedResourceCache;
+import fr.sii.ogham.html.translator.InlineCssTranslator;
+import fr.sii.ogham.html.translator.InlineImageTranslator;
+
+/**
+ * Configures caching of the CSS files and images that are inlined in HTML
+ * emails.
+ *
+ * <p>
+ * The templates of an application generally reference the same CSS files and
+ * images (a logo for example). When caching is enabled, each CSS file is read
+ * and parsed only once and each image is read, analyzed (mimetype detection)
+ * and encoded in base64 only once. The same cache is shared by CSS inlining
+ * and image inlining.
+ *
+ * This builder let you configure:
+ * <ul>
+ * <li>Enable/disable caching</li>
+ * <li>The maximum number of resources kept in the cache</li>
+ * <li>The maximum total size (in bytes) of the resources kept in the
+ * cache</li>
+ * <li>If modified files are read again</li>
+ * </ul>
+ *
+ * When a limit is reached, the least recently used resources are removed from
+ * the cache.
+ *
+ * @author Aurélien Baudet
+ *
+ * @see InlineCssTranslator
+ * @see InlineImageTranslator
+ */
+public class ResourceCacheBuilder extends AbstractParent<EmailBuilder> implements Builder<InlinedResourceCache> {
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<ResourceCacheBuilder, Boolean> enableValueBuilder;
+	private final ConfigurationValueBuilderHelper<ResourceCacheBuilder, Integer> maxSizeValueBuilder;
+	private final ConfigurationValueBuilderHelper<ResourceCacheBuilder, Long> maxWeightValueBuilder;
+	private final ConfigurationValueBuilderHelper<ResourceCacheBuilder, Boolean> checkModificationsValueBuilder;
+	private InlinedResourceCache cache;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link BuildContext} is used to
+	 * evaluate properties when {@link #build()} method is called.
+	 *
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public ResourceCacheBuilder(EmailBuilder parent, BuildContext buildContext) {
+		super(parent);
+		this.buildContext = buildContext;
+		this.enableValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
+		this.maxSizeValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.maxWeightValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
+		this.checkModificationsValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
+	}
+
+	/**
+	 * Enable or disable caching of CSS files and images that are inlined in
+	 * HTML emails.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #enable()}.
+	 *
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * In both cases, {@code enable(false)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param enable
+	 *            enable or disable caching
+	 * @return this instance for fluent chaining
+	 */
+	public ResourceCacheBuilder enable(Boolean enable) {
+		enableValueBuilder.setValue(enable);
+		return this;
+	}
+
+	/**
+	 * Enable or disable caching of CSS files and images that are inlined in
+	 * HTML emails.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #enable(Boolean)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .enable(false)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * The value {@code false} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ResourceCacheBuilder, Boolean> enable() {
+		return enableValueBuilder;
+	}
+
+	/**
+	 * Set the maximum number of CSS files and images kept in the cache. When
+	 * the limit is reached, the least recently used resources are removed. If
+	 * the value is 0 or negative, the number of resources is not limited.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxSize()}.
+	 *
+	 * <pre>
+	 * .maxSize(50)
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(200)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .maxSize(50)
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(200)
+	 * </pre>
+	 *
+	 * In both cases, {@code maxSize(50)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param maxSize
+	 *            the maximum number of resources
+	 * @return this instance for fluent chaining
+	 */
+	public ResourceCacheBuilder maxSize(Integer maxSize) {
+		maxSizeValueBuilder.setValue(maxSize);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of CSS files and images kept in the cache. When
+	 * the limit is reached, the least recently used resources are removed. If
+	 * the value is 0 or negative, the number of resources is not limited.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(200)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #maxSize(Integer)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .maxSize(50)
+	 * .maxSize()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(200)
+	 * </pre>
+	 *
+	 * The value {@code 50} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ResourceCacheBuilder, Integer> maxSize() {
+		return maxSizeValueBuilder;
+	}
+
+	/**
+	 * Set the maximum total size (in bytes) of the CSS files and images kept
+	 * in the cache. The size of an image includes its base64 form. When the
+	 * limit is reached, the least recently used resources are removed. A
+	 * resource that is bigger than the limit is never cached. If the value is
+	 * 0 or negative, the total size is not limited.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxWeight()}.
+	 *
+	 * <pre>
+	 * .maxWeight(5242880L)
+	 * .maxWeight()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(20971520L)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .maxWeight(5242880L)
+	 * .maxWeight()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(20971520L)
+	 * </pre>
+	 *
+	 * In both cases, {@code maxWeight(5242880L)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param maxWeight
+	 *            the maximum total size in bytes
+	 * @return this instance for fluent chaining
+	 */
+	public ResourceCacheBuilder maxWeight(Long maxWeight) {
+		maxWeightValueBuilder.setValue(maxWeight);
+		return this;
+	}
+
+	/**
+	 * Set the maximum total size (in bytes) of the CSS files and images kept
+	 * in the cache. The size of an image includes its base64 form. When the
+	 * limit is reached, the least recently used resources are removed. A
+	 * resource that is bigger than the limit is never cached. If the value is
+	 * 0 or negative, the total size is not limited.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .maxWeight()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(20971520L)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #maxWeight(Long)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .maxWeight(5242880L)
+	 * .maxWeight()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(20971520L)
+	 * </pre>
+	 *
+	 * The value {@code 5242880} is used regardless of the value of the
+	 * properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ResourceCacheBuilder, Long> maxWeight() {
+		return maxWeightValueBuilder;
+	}
+
+	/**
+	 * If enabled, the modification date and the size of a cached file are
+	 * checked each time the file is used. If the file has been modified, it is
+	 * read again. Resources that are not files (classpath resources for
+	 * example) are never read again.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #checkModifications()}.
+	 *
+	 * <pre>
+	 * .checkModifications(false)
+	 * .checkModifications()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .checkModifications(false)
+	 * .checkModifications()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * In both cases, {@code checkModifications(false)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param check
+	 *            true to read modified files again
+	 * @return this instance for fluent chaining
+	 */
+	public ResourceCacheBuilder checkModifications(Boolean check) {
+		checkModificationsValueBuilder.setValue(check);
+		return this;
+	}
+
+	/**
+	 * If enabled, the modification date and the size of a cached file are
+	 * checked each time the file is used. If the file has been modified, it is
+	 * read again. Resources that are not files (classpath resources for
+	 * example) are never read again.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .checkModifications()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #checkModifications(Boolean)} takes
+	 * precedence over property values and default value.
+	 *
+	 * <pre>
+	 * .checkModifications(false)
+	 * .checkModifications()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(true)
+	 * </pre>
+	 *
+	 * The value {@code false} is used regardless of the value of the
+	 * properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ResourceCacheBuilder, Boolean> checkModifications() {
+		return checkModificationsValueBuilder;
+	}
+
+	/**
+	 * Builds the cache shared by CSS inlining and image inlining. The cache is
+	 * created only once, the same instance is returned on next calls.
+	 *
+	 * @return the cache (that doesn't store anything if disabled)
+	 */
+	@Override
+	public InlinedResourceCache build() {
+		if (cache != null) {
+			return cache;
+		}
+		if (!enableValueBuilder.getValue(DEFAULT_RESOURCE_CACHE_ENABLE)) {
+			cache = buildContext.register(new InlinedResourceCache());
+			return cache;
+		}
+		int maxSize = maxSizeValueBuilder.getValue(DEFAULT_RESOURCE_CACHE_MAX_SIZE);
+		long maxWeight = maxWeightValueBuilder.getValue(DEFAULT_RESOURCE_CACHE_MAX_WEIGHT);
+		boolean checkModifications = checkModificationsValueBuilder.getValue(DEFAULT_RESOURCE_CACHE_CHECK_MODIFICATIONS);
+		LruCache<String, CachedResource> lru = new LruCache<>(maxSize, maxWeight, CachedResource::getWeight);
+		cache = buildContext.register(new InlinedResourceCache(lru, checkModifications));
+		return cache;
+	}
+}
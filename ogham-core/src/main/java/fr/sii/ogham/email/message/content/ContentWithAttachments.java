@@ -2,10 +2,14 @@ package fr.sii.ogham.email.message.content;
 
 import java.util.List;
 
+import org.jsoup.nodes.Document;
+
 import fr.sii.ogham.core.message.content.Content;
 import fr.sii.ogham.core.message.content.DecoratorContent;
+import fr.sii.ogham.core.message.content.MayHaveHtmlDocument;
 import fr.sii.ogham.core.message.content.MayHaveStringContent;
 import fr.sii.ogham.core.message.content.UpdatableDecoratorContent;
+import fr.sii.ogham.core.message.content.UpdatableHtmlDocument;
 import fr.sii.ogham.core.message.content.UpdatableStringContent;
 import fr.sii.ogham.email.attachment.Attachment;
 
@@ -15,7 +19,7 @@ import fr.sii.ogham.email.attachment.Attachment;
  * @author Aurélien Baudet
  *
  */
-public class ContentWithAttachments implements DecoratorContent, UpdatableDecoratorContent, MayHaveStringContent, UpdatableStringContent {
+public class ContentWithAttachments implements DecoratorContent, UpdatableDecoratorContent, MayHaveStringContent, UpdatableStringContent, MayHaveHtmlDocument, UpdatableHtmlDocument {
 	/**
 	 * The decorated content
 	 */
@@ -71,6 +75,23 @@ public class ContentWithAttachments implements DecoratorContent, UpdatableDecora
 		}
 	}
 	
+	@Override
+	public boolean canProvideDocument() {
+		return content instanceof MayHaveHtmlDocument && ((MayHaveHtmlDocument) content).canProvideDocument();
+	}
+
+	@Override
+	public Document asDocument() {
+		return content instanceof MayHaveHtmlDocument ? ((MayHaveHtmlDocument) content).asDocument() : null;
+	}
+
+	@Override
+	public void setDocument(Document document) {
+		if (this.content instanceof UpdatableHtmlDocument) {
+			((UpdatableHtmlDocument) this.content).setDocument(document);
+		}
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
@@ -1,12 +1,20 @@
 package fr.sii.ogham.email.sender;
 
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
+import static fr.sii.ogham.core.util.BatchUtils.sendAndCollectFailures;
 import static fr.sii.ogham.core.util.LogUtils.logString;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.resource.NamedResource;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
@@ -67,13 +75,50 @@ public class AttachmentResourceTranslatorSender implements ConditionalSender {
 
 	@Override
 	public void send(Message message) throws MessageException {
+		translate(message);
+		LOG.debug("Sending message {} using {}", logString(message), delegate);
+		delegate.send(message);
+	}
+
+	/**
+	 * The attachments are translated using the provided executors and then
+	 * the message is sent asynchronously by the decorated sender (see
+	 * {@link MessageSender#sendAsync(Message, AsyncExecutors)}).
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		return executors.execute(() -> {
+			translate(message);
+			return null;
+		}).thenCompose(v -> {
+			LOG.debug("Sending message {} asynchronously using {}", logString(message), delegate);
+			return delegate.sendAsync(message, executors);
+		});
+	}
+
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		List<MessageException> failures = new ArrayList<>();
+		List<Message> translated = new ArrayList<>(messages.size());
+		for (Message message : messages) {
+			try {
+				translate(message);
+				translated.add(message);
+			} catch (MessageNotSentException e) {
+				failures.add(e);
+			}
+		}
+		LOG.debug("Sending {} messages using {}", translated.size(), delegate);
+		sendAndCollectFailures(delegate, translated, failures);
+		failIfAny(failures, messages.size());
+	}
+
+	private void translate(Message message) throws MessageNotSentException {
 		try {
 			for (Attachment attachment : ((Email) message).getAttachments()) {
 				LOG.debug("Translate attachment {} for the message {} using {}", attachment, logString(message), translator);
 				attachment.setResource((NamedResource) translator.translate(attachment.getResource()));
 			}
-			LOG.debug("Sending message {} using {}", logString(message), delegate);
-			delegate.send(message);
 		} catch (ResourceTranslatorException e) {
 			throw new MessageNotSentException("Failed to send message due to attachment translation", message, e);
 		}
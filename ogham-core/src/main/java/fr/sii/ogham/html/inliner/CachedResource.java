@@ -0,0 +1,152 @@
+package fr.sii.ogham.html.inliner;
+
+import java.io.File;
+
+import fr.sii.ogham.core.resource.FileResource;
+import fr.sii.ogham.core.resource.Resource;
+import fr.sii.ogham.core.util.Base64Utils;
+
+/**
+ * A CSS file or an image that has been loaded once and that is kept in the
+ * {@link InlinedResourceCache} in order to be reused for the next messages.
+ *
+ * <p>
+ * For an image, the cached resource holds the content, the detected mimetype
+ * and the content encoded in base64 (encoded the first time it is needed). For
+ * a CSS file, the cached resource holds the {@link ExternalCss} that also
+ * keeps the stylesheet parsed by the {@link CssInliner}.
+ *
+ * <p>
+ * If the resource is a file, the last modification date and the size of the
+ * file are kept in order to be able to detect that the file has been modified
+ * (see {@link #isModified()}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class CachedResource {
+	private final File file;
+	private final long lastModified;
+	private final long length;
+	private final byte[] content;
+	private final String mimetype;
+	private final ExternalCss css;
+	private volatile String base64;
+
+	private CachedResource(Resource resource, byte[] content, String mimetype, ExternalCss css) {
+		super();
+		this.file = resource instanceof FileResource ? ((FileResource) resource).getFile() : null;
+		this.lastModified = file == null ? 0 : file.lastModified();
+		this.length = file == null ? 0 : file.length();
+		this.content = content;
+		this.mimetype = mimetype;
+		this.css = css;
+	}
+
+	/**
+	 * Creates a cached image.
+	 *
+	 * @param resource
+	 *            the resource that has been read
+	 * @param content
+	 *            the content of the image
+	 * @param mimetype
+	 *            the detected mimetype of the image
+	 * @return the cached image
+	 */
+	public static CachedResource image(Resource resource, byte[] content, String mimetype) {
+		return new CachedResource(resource, content, mimetype, null);
+	}
+
+	/**
+	 * Creates a cached CSS file.
+	 *
+	 * @param resource
+	 *            the resource that has been read
+	 * @param css
+	 *            the CSS file with its content
+	 * @return the cached CSS file
+	 */
+	public static CachedResource css(Resource resource, ExternalCss css) {
+		return new CachedResource(resource, null, null, css);
+	}
+
+	/**
+	 * Indicates if the file has been modified (or deleted) since it has been
+	 * read. If the resource is not a file, the resource is considered as
+	 * unmodified.
+	 *
+	 * @return true if the file has been modified
+	 */
+	public boolean isModified() {
+		return file != null && (file.lastModified() != lastModified || file.length() != length);
+	}
+
+	/**
+	 * Approximate memory footprint of the resource in bytes. For an image, the
+	 * size of the base64 form is included even if it is not encoded yet.
+	 *
+	 * @return the weight of the resource
+	 */
+	public long getWeight() {
+		long weight = 0;
+		if (content != null) {
+			weight += content.length + (content.length + 2L) / 3 * 4;
+		}
+		if (css != null && css.getContent() != null) {
+			weight += css.getContent().length();
+		}
+		return weight;
+	}
+
+	/**
+	 * The content of the image. The returned array must not be modified.
+	 *
+	 * @return the content of the image or null for a CSS file
+	 */
+	public byte[] getContent() {
+		return content;
+	}
+
+	/**
+	 * @return the mimetype of the image or null for a CSS file
+	 */
+	public String getMimetype() {
+		return mimetype;
+	}
+
+	/**
+	 * The content of the image encoded in base64. The content is encoded the
+	 * first time and then reused.
+	 *
+	 * @return the content of the image encoded in base64 or null for a CSS file
+	 */
+	public String getBase64() {
+		if (content == null) {
+			return null;
+		}
+		String encoded = base64;
+		if (encoded == null) {
+			encoded = Base64Utils.encodeToString(content);
+			base64 = encoded;
+		}
+		return encoded;
+	}
+
+	/**
+	 * @return the CSS file or null for an image
+	 */
+	public ExternalCss getCss() {
+		return css;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("CachedResource(")
+			.append("file=").append(file).append(", ")
+			.append("mimetype=").append(mimetype).append(", ")
+			.append("weight=").append(getWeight()).append(")");
+		return builder.toString();
+	}
+}
@@ -1,7 +1,11 @@
 package fr.sii.ogham.html.inliner;
 
+import static fr.sii.ogham.core.util.HtmlUtils.updateDocument;
+
 import java.util.List;
 
+import org.jsoup.nodes.Document;
+
 /**
  * Inline CSS styles directly in the HTML content.
  * 
@@ -20,4 +24,23 @@ public interface CssInliner {
 	 * @return the updated HTML content
 	 */
 	String inline(String htmlContent, List<ExternalCss> cssContents);
+
+	/**
+	 * Apply external CSS styles (cssContents parameter) on the HTML document
+	 * using {@code style=""} attributes. The document is directly updated.
+	 * 
+	 * <p>
+	 * The default implementation serializes the document, applies
+	 * {@link #inline(String, List)} and replaces the content of the document.
+	 * Implementations that are able to work directly on the document should
+	 * override this method to avoid parsing/serializing the HTML.
+	 * 
+	 * @param htmlDocument
+	 *            the HTML document to update with CSS styles
+	 * @param cssContents
+	 *            the external CSS declarations
+	 */
+	default void inline(Document htmlDocument, List<ExternalCss> cssContents) {
+		updateDocument(htmlDocument, inline(htmlDocument.outerHtml(), cssContents));
+	}
 }
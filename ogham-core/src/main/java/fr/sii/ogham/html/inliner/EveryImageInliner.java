@@ -4,6 +4,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.jsoup.nodes.Document;
+
+import fr.sii.ogham.email.attachment.Attachment;
+
 /**
  * Applies in sequence all provided decorated inliners. This may be useful to
  * allow several strategies to be applied on the same message content according
@@ -38,6 +42,15 @@ public class EveryImageInliner implements ImageInliner {
 		return combined;
 	}
 
+	@Override
+	public List<Attachment> inline(Document htmlDocument, List<ImageResource> images) {
+		List<Attachment> attachments = new ArrayList<>();
+		for (ImageInliner inliner : inliners) {
+			attachments.addAll(inliner.inline(htmlDocument, images));
+		}
+		return attachments;
+	}
+
 	public EveryImageInliner addInliner(ImageInliner inliner) {
 		inliners.add(inliner);
 		return this;
@@ -1,12 +1,21 @@
 package fr.sii.ogham.html.inliner;
 
+import java.util.function.Function;
+
 import fr.sii.ogham.core.resource.path.ResourcePath;
 
 public class ExternalCss {
 	private ResourcePath path;
-	
+
 	private String content;
 
+	/**
+	 * The stylesheet parsed by a {@link CssInliner}. It is kept with the CSS
+	 * so the same stylesheet is parsed only once when the {@link ExternalCss}
+	 * is cached and reused for several messages.
+	 */
+	private volatile Object parsed;
+
 	public ExternalCss(ResourcePath path, String content) {
 		super();
 		this.path = path;
@@ -20,4 +29,31 @@ public class ExternalCss {
 	public String getContent() {
 		return content;
 	}
+
+	/**
+	 * Get the parsed stylesheet. The stylesheet is parsed using the provided
+	 * parser the first time and the result is then reused.
+	 *
+	 * <p>
+	 * If the previously parsed stylesheet is not of the expected type (parsed
+	 * by another {@link CssInliner}), the stylesheet is parsed again and
+	 * replaces the previous result.
+	 *
+	 * @param <T>
+	 *            the type of the parsed stylesheet
+	 * @param type
+	 *            the expected type of the parsed stylesheet
+	 * @param parser
+	 *            the function that parses the stylesheet
+	 * @return the parsed stylesheet
+	 */
+	public <T> T getParsed(Class<T> type, Function<ExternalCss, T> parser) {
+		Object current = parsed;
+		if (type.isInstance(current)) {
+			return type.cast(current);
+		}
+		T result = parser.apply(this);
+		parsed = result;
+		return result;
+	}
 }
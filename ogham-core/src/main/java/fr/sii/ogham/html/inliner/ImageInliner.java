@@ -1,7 +1,13 @@
 package fr.sii.ogham.html.inliner;
 
+import static fr.sii.ogham.core.util.HtmlUtils.updateDocument;
+
 import java.util.List;
 
+import org.jsoup.nodes.Document;
+
+import fr.sii.ogham.email.attachment.Attachment;
+
 /**
  * Interface for all image inliners. There may exist several kind of inliners.
  * For example:
@@ -26,4 +32,26 @@ public interface ImageInliner {
 	 *         the mail
 	 */
 	ContentWithImages inline(String htmlContent, List<ImageResource> images);
+
+	/**
+	 * Transform the HTML document in order to inline images. The document is
+	 * directly updated.
+	 * 
+	 * <p>
+	 * The default implementation serializes the document, applies
+	 * {@link #inline(String, List)} and replaces the content of the document.
+	 * Implementations that are able to work directly on the document should
+	 * override this method to avoid parsing/serializing the HTML.
+	 * 
+	 * @param htmlDocument
+	 *            the HTML document that may contain images to inline
+	 * @param images
+	 *            the list of found images to inline
+	 * @return the images to attach to the mail (may be empty)
+	 */
+	default List<Attachment> inline(Document htmlDocument, List<ImageResource> images) {
+		ContentWithImages contentWithImages = inline(htmlDocument.outerHtml(), images);
+		updateDocument(htmlDocument, contentWithImages.getContent());
+		return contentWithImages.getAttachments();
+	}
 }
@@ -3,6 +3,7 @@ package fr.sii.ogham.html.inliner;
 import java.util.Arrays;
 
 import fr.sii.ogham.core.resource.path.ResourcePath;
+import fr.sii.ogham.core.util.Base64Utils;
 import fr.sii.ogham.html.translator.InlineImageTranslator;
 
 /**
@@ -24,6 +25,8 @@ public class ImageResource {
 
 	private final String mimetype;
 
+	private final CachedResource cached;
+
 	/**
 	 * Initialize the resource with the name of the image, the path of the image
 	 * found in the HTML, the content of the image as array of bytes and the
@@ -42,12 +45,39 @@ public class ImageResource {
 	 *            the mimetype of the image
 	 */
 	public ImageResource(String name, String srcUrl, ResourcePath path, byte[] content, String mimetype) {
+		this(name, srcUrl, path, Arrays.copyOf(content, content.length), mimetype, null);
+	}
+
+	/**
+	 * Initialize the resource with the name of the image, the path of the image
+	 * found in the HTML and the image that has been read and cached.
+	 * 
+	 * <p>
+	 * The content and the base64 form of the cached image are shared (not
+	 * copied) so the same image is neither copied nor encoded again and again
+	 * for each message. The cached content must not be modified.
+	 * 
+	 * @param name
+	 *            the name of the image
+	 * @param srcUrl
+	 *            the URL of the image used in the html content
+	 * @param path
+	 *            the path to the image
+	 * @param image
+	 *            the cached image
+	 */
+	public ImageResource(String name, String srcUrl, ResourcePath path, CachedResource image) {
+		this(name, srcUrl, path, image.getContent(), image.getMimetype(), image);
+	}
+
+	private ImageResource(String name, String srcUrl, ResourcePath path, byte[] content, String mimetype, CachedResource cached) {
 		super();
 		this.name = name;
 		this.srcUrl = srcUrl;
 		this.path = path;
-		this.content = Arrays.copyOf(content, content.length);
+		this.content = content;
 		this.mimetype = mimetype;
+		this.cached = cached;
 	}
 
 	public String getSrcUrl() {
@@ -58,6 +88,12 @@ public class ImageResource {
 		return path;
 	}
 
+	/**
+	 * The content of the image. If the image is cached, the array is shared
+	 * with the cache and must not be modified.
+	 * 
+	 * @return the content of the image
+	 */
 	public byte[] getContent() {
 		return content;
 	}
@@ -69,6 +105,19 @@ public class ImageResource {
 	public String getName() {
 		return name;
 	}
+
+	/**
+	 * Get the content of the image encoded in base64. If the image is cached,
+	 * the base64 form of the cached image is reused.
+	 * 
+	 * @return the content encoded in base64
+	 */
+	public String getBase64() {
+		if (cached != null) {
+			return cached.getBase64();
+		}
+		return Base64Utils.encodeToString(content);
+	}
 	
 	@Override
 	public String toString() {
@@ -0,0 +1,121 @@
+package fr.sii.ogham.html.inliner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.cache.Cache;
+import fr.sii.ogham.core.cache.CacheLoader;
+import fr.sii.ogham.core.cache.NoCache;
+import fr.sii.ogham.core.resource.path.ResourcePath;
+
+/**
+ * Cache for the CSS files and images that are inlined in HTML emails. The
+ * same CSS files and images (a logo for example) are often referenced by all
+ * the templates of an application. Thanks to this cache, they are read (and
+ * parsed or encoded) only once instead of once per message.
+ *
+ * <p>
+ * The resources are indexed by their resolved path (the path referenced in the
+ * HTML merged with the path of the template). The same resource referenced by
+ * several templates is cached only once.
+ *
+ * <p>
+ * If {@code checkModifications} is enabled, a cached file is read again if it
+ * has been modified since it has been cached (see
+ * {@link CachedResource#isModified()}). Other resources (classpath resources
+ * for example) are considered as never modified.
+ *
+ * <p>
+ * The same instance is shared by CSS inlining and image inlining.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class InlinedResourceCache {
+	private static final Logger LOG = LoggerFactory.getLogger(InlinedResourceCache.class);
+	private static final String CSS_PREFIX = "css:";
+	private static final String IMAGE_PREFIX = "image:";
+
+	private final Cache<String, CachedResource> cache;
+	private final boolean checkModifications;
+
+	/**
+	 * Initializes with a cache that doesn't store anything. Resources are read
+	 * for every message.
+	 */
+	public InlinedResourceCache() {
+		this(new NoCache<>(), false);
+	}
+
+	/**
+	 * Initializes with the cache used to store the resources.
+	 *
+	 * @param cache
+	 *            the cache used to store the resources
+	 * @param checkModifications
+	 *            true to read again a file that has been modified
+	 */
+	public InlinedResourceCache(Cache<String, CachedResource> cache, boolean checkModifications) {
+		super();
+		this.cache = cache;
+		this.checkModifications = checkModifications;
+	}
+
+	/**
+	 * Get the cached CSS file or load it if it is not cached yet.
+	 *
+	 * @param <E>
+	 *            the type of the exception raised by the loader
+	 * @param path
+	 *            the resolved path of the CSS file
+	 * @param loader
+	 *            used to read the CSS file if it is not cached
+	 * @return the cached CSS file
+	 * @throws E
+	 *             when the CSS file couldn't be loaded
+	 */
+	public <E extends Exception> CachedResource getCss(ResourcePath path, CacheLoader<ResourcePath, CachedResource, E> loader) throws E {
+		return get(CSS_PREFIX + path.getOriginalPath(), path, loader);
+	}
+
+	/**
+	 * Get the cached image or load it if it is not cached yet.
+	 *
+	 * @param <E>
+	 *            the type of the exception raised by the loader
+	 * @param path
+	 *            the resolved path of the image
+	 * @param loader
+	 *            used to read the image if it is not cached
+	 * @return the cached image
+	 * @throws E
+	 *             when the image couldn't be loaded
+	 */
+	public <E extends Exception> CachedResource getImage(ResourcePath path, CacheLoader<ResourcePath, CachedResource, E> loader) throws E {
+		return get(IMAGE_PREFIX + path.getOriginalPath(), path, loader);
+	}
+
+	/**
+	 * Remove all cached resources.
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	private <E extends Exception> CachedResource get(String key, ResourcePath path, CacheLoader<ResourcePath, CachedResource, E> loader) throws E {
+		CachedResource resource = cache.get(key, k -> loader.load(path));
+		if (checkModifications && resource.isModified()) {
+			LOG.debug("{} has been modified since it has been cached => load it again", path);
+			cache.invalidate(key);
+			resource = cache.get(key, k -> loader.load(path));
+		}
+		return resource;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("InlinedResourceCache [cache=").append(cache).append(", checkModifications=").append(checkModifications).append("]");
+		return builder.toString();
+	}
+}
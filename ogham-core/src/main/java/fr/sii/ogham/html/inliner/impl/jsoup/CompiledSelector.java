@@ -0,0 +1,370 @@
+package fr.sii.ogham.html.inliner.impl.jsoup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.jsoup.select.Selector.SelectorParseException;
+
+/**
+ * A single CSS selector (not a group) that has been parsed once by jsoup. The
+ * parsed {@link Evaluator} is directly used to check if an element matches
+ * instead of querying the whole document for each rule.
+ *
+ * <p>
+ * The selector also provides:
+ * <ul>
+ * <li>its specificity (used to order the rules that match the same
+ * element)</li>
+ * <li>the key used to index it (the id, a class or the tag name required by
+ * the rightmost part of the selector) so only the selectors that may match an
+ * element are evaluated</li>
+ * </ul>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+class CompiledSelector {
+	private static final int SPECIFICITY_BITS = 10;
+	private static final int SPECIFICITY_MAX = (1 << SPECIFICITY_BITS) - 1;
+
+	/**
+	 * The kind of key used to index a selector
+	 */
+	enum IndexType {
+		ID, CLASS, TAG, NONE
+	}
+
+	private final Evaluator evaluator;
+	private final int specificity;
+	private final int order;
+	private final String properties;
+	private final IndexType indexType;
+	private final String indexKey;
+
+	private CompiledSelector(Evaluator evaluator, int specificity, int order, String properties, IndexType indexType, String indexKey) {
+		super();
+		this.evaluator = evaluator;
+		this.specificity = specificity;
+		this.order = order;
+		this.properties = properties;
+		this.indexType = indexType;
+		this.indexKey = indexKey;
+	}
+
+	/**
+	 * Parse the selector.
+	 *
+	 * @param selector
+	 *            a single selector (not a group)
+	 * @param order
+	 *            the position of the rule in the stylesheet
+	 * @param properties
+	 *            the declarations of the rule
+	 * @return the compiled selector
+	 * @throws SelectorParseException
+	 *             when jsoup can't parse the selector
+	 */
+	static CompiledSelector compile(String selector, int order, String properties) {
+		Evaluator evaluator = QueryParser.parse(selector);
+		String compound = rightmostCompound(selector);
+		String id = firstIdentifierAfter(compound, '#');
+		if (id != null) {
+			return new CompiledSelector(evaluator, specificity(selector), order, properties, IndexType.ID, id);
+		}
+		String cssClass = firstIdentifierAfter(compound, '.');
+		if (cssClass != null) {
+			return new CompiledSelector(evaluator, specificity(selector), order, properties, IndexType.CLASS, cssClass.toLowerCase(Locale.ROOT));
+		}
+		String tag = leadingTag(compound);
+		if (tag != null) {
+			return new CompiledSelector(evaluator, specificity(selector), order, properties, IndexType.TAG, tag.toLowerCase(Locale.ROOT));
+		}
+		return new CompiledSelector(evaluator, specificity(selector), order, properties, IndexType.NONE, null);
+	}
+
+	boolean matches(Element root, Element element) {
+		return evaluator.matches(root, element);
+	}
+
+	int getSpecificity() {
+		return specificity;
+	}
+
+	int getOrder() {
+		return order;
+	}
+
+	String getProperties() {
+		return properties;
+	}
+
+	IndexType getIndexType() {
+		return indexType;
+	}
+
+	String getIndexKey() {
+		return indexKey;
+	}
+
+	/**
+	 * Split a group of selectors ({@code h1, h2 > a}) into single selectors.
+	 * Commas inside parenthesis, brackets or strings are not separators.
+	 *
+	 * @param group
+	 *            the group of selectors
+	 * @return the single selectors
+	 */
+	static List<String> splitGroup(String group) {
+		List<String> selectors = new ArrayList<>();
+		int start = 0;
+		int i = 0;
+		while (i < group.length()) {
+			char c = group.charAt(i);
+			if (c == ',') {
+				addIfNotBlank(selectors, group.substring(start, i));
+				start = i + 1;
+				i++;
+			} else {
+				i = skip(group, i);
+			}
+		}
+		addIfNotBlank(selectors, group.substring(start));
+		return selectors;
+	}
+
+	/**
+	 * Compute the specificity of a single selector. The number of ids, the
+	 * number of classes (attributes and pseudo-classes) and the number of
+	 * types (tags and pseudo-elements) are packed in a single int so
+	 * specificities can be directly compared.
+	 *
+	 * <p>
+	 * The specificity of {@code :not()}, {@code :is()} and {@code :has()} is
+	 * the specificity of their most specific argument.
+	 *
+	 * @param selector
+	 *            the selector
+	 * @return the packed specificity
+	 */
+	static int specificity(String selector) {
+		int[] counts = new int[3];
+		count(selector, counts);
+		return (Math.min(counts[0], SPECIFICITY_MAX) << (2 * SPECIFICITY_BITS)) | (Math.min(counts[1], SPECIFICITY_MAX) << SPECIFICITY_BITS) | Math.min(counts[2], SPECIFICITY_MAX);
+	}
+
+	private static void count(String selector, int[] counts) {
+		int i = 0;
+		int n = selector.length();
+		while (i < n) {
+			char c = selector.charAt(i);
+			if (c == '#') {
+				counts[0]++;
+				i = skipIdentifier(selector, i + 1);
+			} else if (c == '.') {
+				counts[1]++;
+				i = skipIdentifier(selector, i + 1);
+			} else if (c == '[') {
+				counts[1]++;
+				i = skipBlock(selector, i, '[', ']');
+			} else if (c == ':') {
+				i = countPseudo(selector, i, counts);
+			} else if (isIdentifierStart(c)) {
+				counts[2]++;
+				i = skipIdentifier(selector, i);
+			} else {
+				i++;
+			}
+		}
+	}
+
+	private static int countPseudo(String selector, int colon, int[] counts) {
+		int n = selector.length();
+		if (colon + 1 < n && selector.charAt(colon + 1) == ':') {
+			counts[2]++;
+			return skipIdentifier(selector, colon + 2);
+		}
+		int end = skipIdentifier(selector, colon + 1);
+		String name = selector.substring(colon + 1, end).toLowerCase(Locale.ROOT);
+		if (end >= n || selector.charAt(end) != '(') {
+			counts[1]++;
+			return end;
+		}
+		int close = skipBlock(selector, end, '(', ')');
+		if ("not".equals(name) || "is".equals(name) || "has".equals(name)) {
+			int[] max = new int[3];
+			for (String arg : splitGroup(selector.substring(end + 1, Math.max(end + 1, close - 1)))) {
+				int[] argCounts = new int[3];
+				count(arg, argCounts);
+				if (compare(argCounts, max) > 0) {
+					max = argCounts;
+				}
+			}
+			for (int k = 0; k < 3; k++) {
+				counts[k] += max[k];
+			}
+		} else {
+			counts[1]++;
+		}
+		return close;
+	}
+
+	private static int compare(int[] a, int[] b) {
+		for (int k = 0; k < 3; k++) {
+			if (a[k] != b[k]) {
+				return Integer.compare(a[k], b[k]);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Get the rightmost compound selector (the part after the last
+	 * combinator). For example, {@code div.foo > a.bar:first-child} gives
+	 * {@code a.bar:first-child}.
+	 */
+	private static String rightmostCompound(String selector) {
+		int start = 0;
+		int i = 0;
+		String trimmed = selector.trim();
+		while (i < trimmed.length()) {
+			char c = trimmed.charAt(i);
+			if (Character.isWhitespace(c) || c == '>' || c == '+' || c == '~') {
+				start = i + 1;
+				i++;
+			} else {
+				i = skip(trimmed, i);
+			}
+		}
+		return trimmed.substring(start);
+	}
+
+	/**
+	 * Get the first identifier of the compound selector that follows the
+	 * marker character ({@code #} for ids or {@code .} for classes). Escaped
+	 * identifiers are not used for indexing.
+	 */
+	private static String firstIdentifierAfter(String compound, char marker) {
+		int i = 0;
+		while (i < compound.length()) {
+			char c = compound.charAt(i);
+			if (c == marker) {
+				int end = skipIdentifier(compound, i + 1);
+				String identifier = compound.substring(i + 1, end);
+				return identifier.isEmpty() || identifier.indexOf('\\') >= 0 ? null : identifier;
+			}
+			if (c == ':') {
+				i = skipIdentifier(compound, i + 1);
+			} else {
+				i = skip(compound, i);
+			}
+		}
+		return null;
+	}
+
+	private static String leadingTag(String compound) {
+		if (compound.isEmpty() || !isIdentifierStart(compound.charAt(0))) {
+			return null;
+		}
+		int end = skipIdentifier(compound, 0);
+		if (end < compound.length() && compound.charAt(end) == '|') {
+			// namespaced tag: not indexed
+			return null;
+		}
+		String tag = compound.substring(0, end);
+		return tag.indexOf('\\') >= 0 ? null : tag;
+	}
+
+	/**
+	 * Skip the current character or the whole block (string, brackets or
+	 * parenthesis) that starts at this position.
+	 */
+	private static int skip(String str, int i) {
+		char c = str.charAt(i);
+		if (c == '\'' || c == '"') {
+			return skipString(str, i);
+		}
+		if (c == '[') {
+			return skipBlock(str, i, '[', ']');
+		}
+		if (c == '(') {
+			return skipBlock(str, i, '(', ')');
+		}
+		if (c == '\\') {
+			return Math.min(i + 2, str.length());
+		}
+		return i + 1;
+	}
+
+	private static int skipBlock(String str, int start, char open, char close) {
+		int depth = 0;
+		int i = start;
+		while (i < str.length()) {
+			char c = str.charAt(i);
+			if (c == '\'' || c == '"') {
+				i = skipString(str, i);
+				continue;
+			}
+			if (c == '\\') {
+				i += 2;
+				continue;
+			}
+			if (c == open) {
+				depth++;
+			} else if (c == close) {
+				depth--;
+				if (depth == 0) {
+					return i + 1;
+				}
+			}
+			i++;
+		}
+		return str.length();
+	}
+
+	private static int skipString(String str, int start) {
+		char quote = str.charAt(start);
+		int i = start + 1;
+		while (i < str.length()) {
+			char c = str.charAt(i);
+			if (c == '\\') {
+				i += 2;
+				continue;
+			}
+			if (c == quote) {
+				return i + 1;
+			}
+			i++;
+		}
+		return str.length();
+	}
+
+	private static int skipIdentifier(String str, int start) {
+		int i = start;
+		while (i < str.length()) {
+			char c = str.charAt(i);
+			if (c == '\\') {
+				i += 2;
+			} else if (Character.isLetterOrDigit(c) || c == '-' || c == '_' || c >= 0x80) {
+				i++;
+			} else {
+				break;
+			}
+		}
+		return Math.min(i, str.length());
+	}
+
+	private static boolean isIdentifierStart(char c) {
+		return Character.isLetter(c) || c == '_' || c >= 0x80;
+	}
+
+	private static void addIfNotBlank(List<String> selectors, String selector) {
+		String trimmed = selector.trim();
+		if (!trimmed.isEmpty()) {
+			selectors.add(trimmed);
+		}
+	}
+}
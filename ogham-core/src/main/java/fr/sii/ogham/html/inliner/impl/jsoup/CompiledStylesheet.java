@@ -0,0 +1,168 @@
+package fr.sii.ogham.html.inliner.impl.jsoup;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Selector.SelectorParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The rules of a stylesheet compiled once in order to be applied on many
+ * documents.
+ *
+ * <p>
+ * Each selector of each rule is parsed by jsoup (see {@link CompiledSelector})
+ * and indexed by the id, the class or the tag name required by its rightmost
+ * part. To find the rules that apply to an element, only the selectors
+ * indexed by the id, the classes and the tag name of the element (and the
+ * selectors that can't be indexed) are evaluated.
+ *
+ * <p>
+ * Selectors that jsoup can't parse (pseudo-elements or dynamic pseudo-classes
+ * like {@code :hover} for example) can't be applied using the {@code style}
+ * attribute. They are skipped.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+class CompiledStylesheet {
+	private static final Logger LOG = LoggerFactory.getLogger(CompiledStylesheet.class);
+	private static final Pattern SPACES = Pattern.compile("\\s+");
+
+	private final Map<String, List<CompiledSelector>> byId;
+	private final Map<String, List<CompiledSelector>> byClass;
+	private final Map<String, List<CompiledSelector>> byTag;
+	private final List<CompiledSelector> others;
+
+	private CompiledStylesheet() {
+		super();
+		byId = new HashMap<>();
+		byClass = new HashMap<>();
+		byTag = new HashMap<>();
+		others = new ArrayList<>();
+	}
+
+	/**
+	 * Compile the rules of a stylesheet.
+	 *
+	 * @param rules
+	 *            the rules in the order of the stylesheet
+	 * @return the compiled stylesheet
+	 */
+	static CompiledStylesheet compile(List<CssRule> rules) {
+		CompiledStylesheet stylesheet = new CompiledStylesheet();
+		for (int order = 0; order < rules.size(); order++) {
+			CssRule rule = rules.get(order);
+			String properties = SPACES.matcher(rule.getProperties()).replaceAll(" ").trim();
+			for (String selector : CompiledSelector.splitGroup(rule.getSelector())) {
+				stylesheet.add(selector, order, properties);
+			}
+		}
+		return stylesheet;
+	}
+
+	/**
+	 * Add the selectors of this stylesheet that match the element.
+	 *
+	 * @param root
+	 *            the root of the document
+	 * @param element
+	 *            the element to style
+	 * @param stylesheetIndex
+	 *            the position of this stylesheet in the document
+	 * @param matches
+	 *            the list to fill with matching selectors
+	 */
+	void collectMatching(Element root, Element element, int stylesheetIndex, List<Match> matches) {
+		String id = element.id();
+		if (!id.isEmpty()) {
+			collectMatching(byId.getOrDefault(id, emptyList()), root, element, stylesheetIndex, matches);
+		}
+		if (!byClass.isEmpty()) {
+			for (String cssClass : lowerCaseClassNames(element)) {
+				collectMatching(byClass.getOrDefault(cssClass, emptyList()), root, element, stylesheetIndex, matches);
+			}
+		}
+		collectMatching(byTag.getOrDefault(element.tagName().toLowerCase(Locale.ROOT), emptyList()), root, element, stylesheetIndex, matches);
+		collectMatching(others, root, element, stylesheetIndex, matches);
+	}
+
+	private static void collectMatching(List<CompiledSelector> selectors, Element root, Element element, int stylesheetIndex, List<Match> matches) {
+		for (CompiledSelector selector : selectors) {
+			if (selector.matches(root, element)) {
+				matches.add(new Match(selector, stylesheetIndex));
+			}
+		}
+	}
+
+	private static Set<String> lowerCaseClassNames(Element element) {
+		Set<String> classNames = element.classNames();
+		Set<String> lowerCase = new HashSet<>(classNames.size());
+		for (String className : classNames) {
+			lowerCase.add(className.toLowerCase(Locale.ROOT));
+		}
+		return lowerCase;
+	}
+
+	private void add(String selector, int order, String properties) {
+		CompiledSelector compiled;
+		try {
+			compiled = CompiledSelector.compile(selector, order, properties);
+		} catch (SelectorParseException | IllegalArgumentException e) {
+			LOG.warn("Selector '{}' can't be applied by JsoupCssInliner implementation. The rule is skipped", selector);
+			LOG.trace("parsing error", e);
+			return;
+		}
+		switch (compiled.getIndexType()) {
+			case ID:
+				byId.computeIfAbsent(compiled.getIndexKey(), k -> new ArrayList<>()).add(compiled);
+				break;
+			case CLASS:
+				byClass.computeIfAbsent(compiled.getIndexKey(), k -> new ArrayList<>()).add(compiled);
+				break;
+			case TAG:
+				byTag.computeIfAbsent(compiled.getIndexKey(), k -> new ArrayList<>()).add(compiled);
+				break;
+			default:
+				others.add(compiled);
+				break;
+		}
+	}
+
+	/**
+	 * A selector that matches an element.
+	 */
+	static class Match {
+		/**
+		 * Cascade order: specificity first, then position of the stylesheet
+		 * in the document and finally position of the rule in the stylesheet.
+		 */
+		static final Comparator<Match> CASCADE_ORDER = Comparator.<Match> comparingInt(m -> m.selector.getSpecificity())
+				.thenComparingInt(m -> m.stylesheetIndex)
+				.thenComparingInt(m -> m.selector.getOrder());
+
+		private final CompiledSelector selector;
+		private final int stylesheetIndex;
+
+		Match(CompiledSelector selector, int stylesheetIndex) {
+			super();
+			this.selector = selector;
+			this.stylesheetIndex = stylesheetIndex;
+		}
+
+		String getProperties() {
+			return selector.getProperties();
+		}
+	}
+}
@@ -58,12 +58,30 @@ public final class CssInlineUtils {
 	 */
 	public static String removeOghamAttributes(String html) {
 		Document doc = Jsoup.parse(html);
+		removeOghamAttributes(doc);
+		return doc.outerHtml();
+	}
+
+	/**
+	 * Remove attributes that are used only by Ogham:
+	 * <ul>
+	 * <li>{@link CssInlinerConstants#INLINE_MODE_ATTR}</li>
+	 * <li>{@link CssInlinerConstants#INLINED_ATTR}</li>
+	 * </ul>
+	 * 
+	 * <p>
+	 * Same as {@link #removeOghamAttributes(String)} but directly updates the
+	 * document.
+	 * 
+	 * @param doc
+	 *            the html document to clean
+	 */
+	public static void removeOghamAttributes(Document doc) {
 		Elements nodes = doc.select("["+INLINE_MODE_ATTR+"], ["+INLINED_ATTR+"]");
 		for (Element node : nodes) {
 			node.removeAttr(INLINE_MODE_ATTR);
 			node.removeAttr(INLINED_ATTR);
 		}
-		return doc.outerHtml();
 	}
 
 	private CssInlineUtils() {
@@ -0,0 +1,28 @@
+package fr.sii.ogham.html.inliner.impl.jsoup;
+
+/**
+ * A CSS rule extracted from a stylesheet: the selector (that may be a group of
+ * selectors separated by commas) and the declarations that are applied on
+ * matching elements.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+class CssRule {
+	private final String selector;
+	private final String properties;
+
+	CssRule(String selector, String properties) {
+		super();
+		this.selector = selector;
+		this.properties = properties;
+	}
+
+	String getSelector() {
+		return selector;
+	}
+
+	String getProperties() {
+		return properties;
+	}
+}
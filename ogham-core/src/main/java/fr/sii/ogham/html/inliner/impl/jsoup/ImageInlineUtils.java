@@ -57,12 +57,30 @@ public final class ImageInlineUtils {
 	 */
 	public static String removeOghamAttributes(String html) {
 		Document doc = Jsoup.parse(html);
+		removeOghamAttributes(doc);
+		return doc.outerHtml();
+	}
+
+	/**
+	 * Remove attributes that are used only by Ogham:
+	 * <ul>
+	 * <li>{@link ImageInlinerConstants#INLINE_MODE_ATTR}</li>
+	 * <li>{@link ImageInlinerConstants#INLINED_ATTR}</li>
+	 * </ul>
+	 * 
+	 * <p>
+	 * Same as {@link #removeOghamAttributes(String)} but directly updates the
+	 * document.
+	 * 
+	 * @param doc
+	 *            the html document to clean
+	 */
+	public static void removeOghamAttributes(Document doc) {
 		Elements imgs = doc.select("img");
 		for (Element img : imgs) {
 			img.removeAttr(INLINE_MODE_ATTR);
 			img.removeAttr(INLINED_ATTR);
 		}
-		return doc.outerHtml();
 	}
 
 	private ImageInlineUtils() {
@@ -52,6 +52,12 @@ public class JsoupAttachImageInliner implements ImageInliner {
 	@Override
 	public ContentWithImages inline(String htmlContent, List<ImageResource> images) {
 		Document doc = Jsoup.parse(htmlContent);
+		List<Attachment> attachments = inline(doc, images);
+		return new ContentWithImages(doc.outerHtml(), attachments);
+	}
+
+	@Override
+	public List<Attachment> inline(Document doc, List<ImageResource> images) {
 		List<Attachment> attachments = new ArrayList<>(images.size());
 		for (ImageResource image : images) {
 			// search all images in the HTML with the provided path or URL that
@@ -70,7 +76,7 @@ public class JsoupAttachImageInliner implements ImageInliner {
 				attachments.add(attachment);
 			}
 		}
-		return new ContentWithImages(doc.outerHtml(), attachments);
+		return attachments;
 	}
 
 	private static Elements getImagesToAttach(Document doc, ImageResource image) {
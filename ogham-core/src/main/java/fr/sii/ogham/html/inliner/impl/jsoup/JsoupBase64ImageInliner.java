@@ -13,7 +13,7 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
-import fr.sii.ogham.core.util.Base64Utils;
+import fr.sii.ogham.email.attachment.Attachment;
 import fr.sii.ogham.html.inliner.ContentWithImages;
 import fr.sii.ogham.html.inliner.ImageInliner;
 import fr.sii.ogham.html.inliner.ImageInlinerConstants;
@@ -42,14 +42,20 @@ public class JsoupBase64ImageInliner implements ImageInliner {
 	@Override
 	public ContentWithImages inline(String htmlContent, List<ImageResource> images) {
 		Document doc = Jsoup.parse(htmlContent);
+		List<Attachment> attachments = inline(doc, images);
+		return new ContentWithImages(doc.outerHtml(), attachments);
+	}
+
+	@Override
+	public List<Attachment> inline(Document htmlDocument, List<ImageResource> images) {
 		for (ImageResource image : images) {
-			Elements imgs = getImagesToInline(doc, image);
+			Elements imgs = getImagesToInline(htmlDocument, image);
 			for (Element img : imgs) {
-				img.attr(SRC_ATTR, MessageFormat.format(BASE64_URI, image.getMimetype(), Base64Utils.encodeToString(image.getContent())));
+				img.attr(SRC_ATTR, MessageFormat.format(BASE64_URI, image.getMimetype(), image.getBase64()));
 				img.attr(INLINED_ATTR, true);
 			}
 		}
-		return new ContentWithImages(doc.outerHtml(), new ArrayList<>(0));
+		return new ArrayList<>(0);
 	}
 
 	private static Elements getImagesToInline(Document doc, ImageResource image) {
@@ -4,7 +4,10 @@ import static fr.sii.ogham.core.util.HtmlUtils.getCssUrlFunctions;
 import static fr.sii.ogham.core.util.HtmlUtils.relativize;
 import static fr.sii.ogham.html.inliner.impl.jsoup.CssInlineUtils.isInlineModeAllowed;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.regex.Pattern;
 
@@ -17,11 +20,37 @@ import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.cache.Cache;
+import fr.sii.ogham.core.cache.ExpiringCache;
+import fr.sii.ogham.core.cache.NoCache;
 import fr.sii.ogham.core.util.CssUrlFunction;
 import fr.sii.ogham.html.inliner.CssInliner;
 import fr.sii.ogham.html.inliner.CssInlinerConstants.InlineModes;
 import fr.sii.ogham.html.inliner.ExternalCss;
+import fr.sii.ogham.html.inliner.impl.jsoup.CompiledStylesheet.Match;
 
+/**
+ * CSS inliner that uses <a href="https://jsoup.org/">jsoup</a> to apply the
+ * styles on the matching HTML nodes using the {@code style} attribute.
+ * 
+ * <p>
+ * By default, the document is queried for each rule of the stylesheets and the
+ * declarations are applied in the order of the stylesheets.
+ * 
+ * <p>
+ * If {@code compiledRules} is enabled, each stylesheet is parsed and compiled
+ * only once (see {@link CompiledStylesheet}): the compiled rules of external
+ * CSS files are kept with the {@link ExternalCss} and the compiled rules of
+ * {@code <style>} tags are cached using the content of the tag. The document
+ * is then traversed only once and each element is only evaluated against the
+ * selectors indexed by its id, classes and tag name. The declarations that
+ * apply to an element are ordered by specificity, then by position in the
+ * stylesheets (cascade order). Declarations of the {@code style} attribute
+ * still take precedence. {@code !important} is not handled.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
 public class JsoupCssInliner implements CssInliner {
 	private static final Logger LOG = LoggerFactory.getLogger(JsoupCssInliner.class);
 	
@@ -33,18 +62,99 @@ public class JsoupCssInliner implements CssInliner {
 	private static final Pattern NEW_LINES = Pattern.compile("\n");
 	private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/");
 	private static final Pattern SPACES = Pattern.compile(" +");
+	private static final Pattern MULTIPLE_SEMICOLONS = Pattern.compile(";+");
 	private static final String QUOTE_ENTITY = "&quot;";
+	private static final int STYLE_TAGS_CACHE_SIZE = 100;
+
+	private final boolean compiledRules;
+	private final Cache<String, ParsedStylesheet> styleTags;
+
+	/**
+	 * Initializes the inliner that queries the document for each rule.
+	 */
+	public JsoupCssInliner() {
+		this(false);
+	}
+
+	/**
+	 * Initializes the inliner.
+	 * 
+	 * @param compiledRules
+	 *            true to compile the stylesheets once and traverse the
+	 *            document only once to apply them
+	 */
+	public JsoupCssInliner(boolean compiledRules) {
+		super();
+		this.compiledRules = compiledRules;
+		this.styleTags = compiledRules ? new ExpiringCache<>(0, STYLE_TAGS_CACHE_SIZE) : new NoCache<>();
+	}
 
 	@Override
 	public String inline(String htmlContent, List<ExternalCss> cssContents) {
 		Document doc = Jsoup.parse(htmlContent);
+		inline(doc, cssContents);
+		return doc.outerHtml();
+	}
+
+	@Override
+	public void inline(Document htmlDocument, List<ExternalCss> cssContents) {
+		Map<Element, ParsedStylesheet> interned = internStyles(htmlDocument, cssContents);
+		List<ParsedStylesheet> stylesheets = fetchStyles(htmlDocument, interned);
+		if (compiledRules) {
+			applyCompiledStyles(htmlDocument, stylesheets);
+		} else {
+			extractStyles(htmlDocument, stylesheets);
+			applyStyles(htmlDocument);
+		}
+	}
 
-		internStyles(doc, cssContents);
-		String stylesheet = fetchStyles(doc);
-		extractStyles(doc, stylesheet);
-		applyStyles(doc);
+	/**
+	 * Traverses the document once and applies the compiled rules on each
+	 * element in cascade order.
+	 *
+	 * @param doc
+	 *            the html document
+	 * @param stylesheets
+	 *            the parsed stylesheets in inclusion order
+	 */
+	private static void applyCompiledStyles(Document doc, List<ParsedStylesheet> stylesheets) {
+		List<CompiledStylesheet> compiled = new ArrayList<>(stylesheets.size());
+		for (ParsedStylesheet stylesheet : stylesheets) {
+			compiled.add(stylesheet.getCompiled());
+		}
+		List<Match> matches = new ArrayList<>();
+		for (Element e : doc.getAllElements()) {
+			if (!isInlineModeAllowed(e, InlineModes.STYLE_ATTR)) {
+				continue;
+			}
+			matches.clear();
+			for (int i = 0; i < compiled.size(); i++) {
+				compiled.get(i).collectMatching(doc, e, i, matches);
+			}
+			if (!matches.isEmpty()) {
+				matches.sort(Match.CASCADE_ORDER);
+				e.attr(STYLE_ATTR, cascade(matches, e.attr(STYLE_ATTR)));
+			}
+		}
+	}
 
-		return doc.outerHtml();
+	private static String cascade(List<Match> matches, String oldStyle) {
+		StringBuilder style = new StringBuilder();
+		for (Match match : matches) {
+			String properties = match.getProperties();
+			if (properties.isEmpty()) {
+				continue;
+			}
+			if (style.length() > 0) {
+				if (style.charAt(style.length() - 1) != ';') {
+					style.append(';');
+				}
+				style.append(' ');
+			}
+			style.append(properties);
+		}
+		style.append(';').append(trimAll(oldStyle));
+		return MULTIPLE_SEMICOLONS.matcher(style).replaceAll(";").trim();
 	}
 
 	/**
@@ -54,8 +164,29 @@ public class JsoupCssInliner implements CssInliner {
 	 *
 	 * @param doc
 	 *            the html document
+	 * @param stylesheets
+	 *            the parsed stylesheets in inclusion order
 	 */
-	private static void extractStyles(Document doc, String stylesheet) {
+	private static void extractStyles(Document doc, List<ParsedStylesheet> stylesheets) {
+		for (ParsedStylesheet stylesheet : stylesheets) {
+			for (CssRule rule : stylesheet.getRules()) {
+				Elements selectedElements = doc.select(rule.getSelector());
+				for (Element selElem : selectedElements) {
+					String oldProperties = selElem.attr(TEMP_STYLE_ATTR);
+					selElem.attr(TEMP_STYLE_ATTR, oldProperties.length() > 0 ? concatenateProperties(oldProperties, rule.getProperties()) : rule.getProperties());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Parses the stylesheet into a list of rules (at-rules are ignored).
+	 *
+	 * @param stylesheet
+	 *            the stylesheet content
+	 * @return the parsed stylesheet
+	 */
+	private static ParsedStylesheet parse(String stylesheet) {
 		String cleanedStylesheet = ignoreAtRules(stylesheet);
 		cleanedStylesheet = NEW_LINES.matcher(cleanedStylesheet).replaceAll("");
 		cleanedStylesheet = COMMENTS.matcher(cleanedStylesheet).replaceAll("");
@@ -63,15 +194,26 @@ public class JsoupCssInliner implements CssInliner {
 		String styleRules = cleanedStylesheet.trim();
 		String delims = "{}";
 		StringTokenizer st = new StringTokenizer(styleRules, delims);
+		List<CssRule> rules = new ArrayList<>();
 		while (st.countTokens() > 1) {
 			String selector = st.nextToken();
 			String properties = st.nextToken();
-			Elements selectedElements = doc.select(selector.trim());
-			for (Element selElem : selectedElements) {
-				String oldProperties = selElem.attr(TEMP_STYLE_ATTR);
-				selElem.attr(TEMP_STYLE_ATTR, oldProperties.length() > 0 ? concatenateProperties(oldProperties, properties) : properties);
-			}
+			rules.add(new CssRule(selector.trim(), properties));
 		}
+		return new ParsedStylesheet(stylesheet, rules);
+	}
+
+	/**
+	 * Parses an external CSS file. Relative URLs are updated before parsing.
+	 * The result is kept by the {@link ExternalCss} instance so a cached CSS
+	 * file is parsed only once.
+	 *
+	 * @param css
+	 *            the external CSS file
+	 * @return the parsed stylesheet
+	 */
+	private static ParsedStylesheet parse(ExternalCss css) {
+		return parse(getCssContent(css));
 	}
 	
 	/**
@@ -82,20 +224,26 @@ public class JsoupCssInliner implements CssInliner {
 	 *            the html document
 	 * @param cssContents
 	 *            the list of external css files with their content
+	 * @return the parsed stylesheets indexed by the style tags that replace
+	 *         the link tags
 	 */
-	private static void internStyles(Document doc, List<ExternalCss> cssContents) {
+	private static Map<Element, ParsedStylesheet> internStyles(Document doc, List<ExternalCss> cssContents) {
+		Map<Element, ParsedStylesheet> interned = new IdentityHashMap<>();
 		Elements els = doc.select(CSS_LINKS_SELECTOR);
 		for (Element e : els) {
 			if (isInlineModeAllowed(e, InlineModes.STYLE_ATTR)) {
 				String path = e.attr(HREF_ATTR);
 				ExternalCss css = getCss(cssContents, path);
 				if (css != null) {
+					ParsedStylesheet parsed = css.getParsed(ParsedStylesheet.class, JsoupCssInliner::parse);
 					Element style = new Element(Tag.valueOf(STYLE_TAG), "");
-					style.appendChild(new DataNode(getCssContent(css)));
+					style.appendChild(new DataNode(parsed.getContent()));
 					e.replaceWith(style);
+					interned.put(style, parsed);
 				}
 			}
 		}
+		return interned;
 	}
 
 	private static ExternalCss getCss(List<ExternalCss> cssContents, String path) {
@@ -108,22 +256,27 @@ public class JsoupCssInliner implements CssInliner {
 	}
 
 	/**
-	 * Generates a stylesheet from an html document
+	 * Collects the stylesheets of an html document. The stylesheets of
+	 * external CSS files are already parsed, other style tags are parsed (or
+	 * read from the cache if rules are compiled).
 	 *
 	 * @param doc
 	 *            the html document
-	 * @return a string representing the stylesheet.
+	 * @param interned
+	 *            the already parsed stylesheets of external CSS files
+	 * @return the parsed stylesheets in inclusion order
 	 */
-	private static String fetchStyles(Document doc) {
+	private List<ParsedStylesheet> fetchStyles(Document doc, Map<Element, ParsedStylesheet> interned) {
 		Elements els = doc.select(STYLE_TAG);
-		StringBuilder styles = new StringBuilder();
+		List<ParsedStylesheet> styles = new ArrayList<>(els.size());
 		for (Element e : els) {
 			if (isInlineModeAllowed(e, InlineModes.STYLE_ATTR)) {
-				styles.append(e.data());
+				ParsedStylesheet parsed = interned.get(e);
+				styles.add(parsed == null ? styleTags.get(e.data(), JsoupCssInliner::parse) : parsed);
 				e.remove();
 			}
 		}
-		return styles.toString();
+		return styles;
 	}
 
 	/**
@@ -140,7 +293,7 @@ public class JsoupCssInliner implements CssInliner {
 			if (isInlineModeAllowed(e, InlineModes.STYLE_ATTR)) {
 				String newStyle = e.attr(TEMP_STYLE_ATTR);
 				String oldStyle = e.attr(STYLE_ATTR);
-				e.attr(STYLE_ATTR, (trimAll(newStyle) + ";" + trimAll(oldStyle)).replaceAll(";+", ";").trim());
+				e.attr(STYLE_ATTR, MULTIPLE_SEMICOLONS.matcher(trimAll(newStyle) + ";" + trimAll(oldStyle)).replaceAll(";").trim());
 			}
 			e.removeAttr(TEMP_STYLE_ATTR);
 		}
@@ -252,6 +405,35 @@ public class JsoupCssInliner implements CssInliner {
 		return newContent;
 	}
 
+	private static class ParsedStylesheet {
+		private final String content;
+		private final List<CssRule> rules;
+		private volatile CompiledStylesheet compiled;
+
+		public ParsedStylesheet(String content, List<CssRule> rules) {
+			super();
+			this.content = content;
+			this.rules = rules;
+		}
+
+		public String getContent() {
+			return content;
+		}
+
+		public List<CssRule> getRules() {
+			return rules;
+		}
+
+		public CompiledStylesheet getCompiled() {
+			CompiledStylesheet result = compiled;
+			if (result == null) {
+				result = CompiledStylesheet.compile(rules);
+				compiled = result;
+			}
+			return result;
+		}
+	}
+
 	private static class AtRuleParserContext {
 		protected int line;
 		protected int startLineOfCurrentAtRule;
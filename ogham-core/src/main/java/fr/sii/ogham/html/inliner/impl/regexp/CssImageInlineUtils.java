@@ -2,6 +2,7 @@ package fr.sii.ogham.html.inliner.impl.regexp;
 
 import static fr.sii.ogham.core.util.HtmlUtils.CSS_IMAGE_PROPERTIES_PATTERN;
 import static fr.sii.ogham.core.util.HtmlUtils.getCssUrlFunctions;
+import static fr.sii.ogham.core.util.HtmlUtils.getDistinctCssImageUrls;
 import static fr.sii.ogham.html.inliner.impl.regexp.CssImageInlinerConstants.INLINED_URL_FUNC;
 import static fr.sii.ogham.html.inliner.impl.regexp.CssImageInlinerConstants.INLINE_MODE_PROPERTY;
 
@@ -10,6 +11,9 @@ import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.jsoup.nodes.DataNode;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +31,9 @@ public final class CssImageInlineUtils {
 	private static final Logger LOG = LoggerFactory.getLogger(CssImageInlineUtils.class);
 
 	private static final String QUOTE_ENTITY = "&quot;";
+	private static final String STYLE_TAG = "style";
+	private static final String STYLE_ATTR = "style";
+	private static final String STYLE_ATTR_SELECTOR = "[style]";
 	private static final String QUOTE_TEMP_ESCAPE = "&quot__semicolon__";
 	private static final Pattern ESCAPE_QUOTE_ENTITIES = Pattern.compile(Pattern.quote(QUOTE_ENTITY), Pattern.CASE_INSENSITIVE);
 	private static final Pattern UNESCAPE_QUOTE_ENTITIES = Pattern.compile(Pattern.quote(QUOTE_TEMP_ESCAPE), Pattern.CASE_INSENSITIVE);
@@ -129,6 +136,45 @@ public final class CssImageInlineUtils {
 		return cleaned;
 	}
 
+	/**
+	 * Remove properties that are used only by Ogham:
+	 * <ul>
+	 * <li>{@link CssImageInlinerConstants#INLINE_MODE_PROPERTY}</li>
+	 * <li>{@link CssImageInlinerConstants#INLINED_URL_FUNC}</li>
+	 * </ul>
+	 * 
+	 * <p>
+	 * Same as {@link #removeOghamProperties(String)} but directly updates the
+	 * CSS rules of <code>style</code> tags and the <code>style</code>
+	 * attributes of the document.
+	 * 
+	 * @param doc
+	 *            the html document to clean
+	 */
+	public static void removeOghamProperties(Document doc) {
+		for (Element style : doc.select(STYLE_TAG)) {
+			for (DataNode data : style.dataNodes()) {
+				data.setWholeData(removeOghamProperties(data.getWholeData()));
+			}
+		}
+		for (Element styled : doc.select(STYLE_ATTR_SELECTOR)) {
+			styled.attr(STYLE_ATTR, removeOghamProperties(styled.attr(STYLE_ATTR)));
+		}
+	}
+
+	/**
+	 * Indicates if the document contains at least one image included by a CSS
+	 * property using {@code url()} (either defined in CSS rules or style
+	 * attributes).
+	 * 
+	 * @param doc
+	 *            the html document
+	 * @return true if at least one image is included by CSS
+	 */
+	public static boolean hasCssImages(Document doc) {
+		return !getDistinctCssImageUrls(doc).isEmpty();
+	}
+
 	private static String getInlinedUrl(String htmlContent, Matcher propertyDeclarationMatcher, CssUrlFunction matchedUrl, List<ImageResource> images, InlineMode mode,
 			Function<CssImageDeclaration, String> inlineHandler) {
 		String url = matchedUrl.getUrl();
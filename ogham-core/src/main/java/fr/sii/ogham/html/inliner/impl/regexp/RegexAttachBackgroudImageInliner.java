@@ -1,12 +1,15 @@
 package fr.sii.ogham.html.inliner.impl.regexp;
 
 import static fr.sii.ogham.email.attachment.ContentDisposition.INLINE;
+import static fr.sii.ogham.html.inliner.impl.regexp.CssImageInlineUtils.hasCssImages;
 import static fr.sii.ogham.html.inliner.impl.regexp.CssImageInlinerConstants.InlineModes.ATTACH;
 import static java.text.MessageFormat.format;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jsoup.nodes.Document;
+
 import fr.sii.ogham.core.id.generator.IdGenerator;
 import fr.sii.ogham.core.resource.ByteResource;
 import fr.sii.ogham.email.attachment.Attachment;
@@ -46,6 +49,16 @@ public class RegexAttachBackgroudImageInliner implements ImageInliner {
 		return new ContentWithImages(inlined, attachments);
 	}
 
+	@Override
+	public List<Attachment> inline(Document htmlDocument, List<ImageResource> images) {
+		// inlining is string based: avoid serializing the document if there is
+		// no image referenced from CSS
+		if (!hasCssImages(htmlDocument)) {
+			return new ArrayList<>(0);
+		}
+		return ImageInliner.super.inline(htmlDocument, images);
+	}
+
 	private String attachImage(String url, ImageResource image, List<Attachment> attachments) {
 		Attachment alreadyAttached = getAttachmentForUrl(url, attachments);
 		if (alreadyAttached != null) {
@@ -1,12 +1,15 @@
 package fr.sii.ogham.html.inliner.impl.regexp;
 
+import static fr.sii.ogham.html.inliner.impl.regexp.CssImageInlineUtils.hasCssImages;
 import static fr.sii.ogham.html.inliner.impl.regexp.CssImageInlinerConstants.InlineModes.BASE64;
 import static java.text.MessageFormat.format;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import fr.sii.ogham.core.util.Base64Utils;
+import org.jsoup.nodes.Document;
+
+import fr.sii.ogham.email.attachment.Attachment;
 import fr.sii.ogham.html.inliner.ContentWithImages;
 import fr.sii.ogham.html.inliner.ImageInliner;
 import fr.sii.ogham.html.inliner.ImageResource;
@@ -35,12 +38,22 @@ public class RegexBase64BackgroundImageInliner implements ImageInliner {
 		return new ContentWithImages(inlined, new ArrayList<>(0));
 	}
 
+	@Override
+	public List<Attachment> inline(Document htmlDocument, List<ImageResource> images) {
+		// inlining is string based: avoid serializing the document if there is
+		// no image referenced from CSS
+		if (!hasCssImages(htmlDocument)) {
+			return new ArrayList<>(0);
+		}
+		return ImageInliner.super.inline(htmlDocument, images);
+	}
+
 	private String encodeImage(String imageUrl, ImageResource image, List<Encoded> encoded) {
 		Encoded alreadyEncoded = getEncodedForUrl(imageUrl, encoded);
 		if (alreadyEncoded != null) {
 			return alreadyEncoded.getEncodedUrl();
 		}
-		String encodedUrl = format(BASE64_URI, image.getMimetype(), Base64Utils.encodeToString(image.getContent()));
+		String encodedUrl = format(BASE64_URI, image.getMimetype(), image.getBase64());
 		encoded.add(new Encoded(imageUrl, encodedUrl));
 		return encodedUrl;
 	}
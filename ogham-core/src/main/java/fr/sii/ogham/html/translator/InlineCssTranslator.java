@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,17 +18,22 @@ import fr.sii.ogham.core.exception.handler.CssInliningException;
 import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
 import fr.sii.ogham.core.message.content.Content;
 import fr.sii.ogham.core.message.content.HasResourcePath;
+import fr.sii.ogham.core.message.content.MayHaveHtmlDocument;
 import fr.sii.ogham.core.message.content.MayHaveStringContent;
 import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.message.content.UpdatableHtmlDocument;
 import fr.sii.ogham.core.message.content.UpdatableStringContent;
+import fr.sii.ogham.core.resource.Resource;
 import fr.sii.ogham.core.resource.path.RelativePathResolver;
 import fr.sii.ogham.core.resource.path.ResourcePath;
 import fr.sii.ogham.core.resource.path.UnresolvedPath;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
 import fr.sii.ogham.core.translator.content.ContentTranslator;
 import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.html.inliner.CachedResource;
 import fr.sii.ogham.html.inliner.CssInliner;
 import fr.sii.ogham.html.inliner.ExternalCss;
+import fr.sii.ogham.html.inliner.InlinedResourceCache;
 
 /**
  * Translator that transforms HTML content. If not HTML, the translator has no
@@ -36,6 +42,15 @@ import fr.sii.ogham.html.inliner.ExternalCss;
  * Once all css files are found, the HTML is transformed in order to inline the
  * styles.
  * 
+ * <p>
+ * If the content can provide the HTML as a parsed document (see
+ * {@link MayHaveHtmlDocument}), the document is directly updated instead of
+ * parsing and serializing the HTML again.
+ * 
+ * <p>
+ * The CSS files are read through an {@link InlinedResourceCache} so the same
+ * CSS file can be read and parsed only once for all messages.
+ * 
  * @author Aurélien Baudet
  *
  */
@@ -57,15 +72,28 @@ public class InlineCssTranslator implements ContentTranslator {
 	 */
 	private final RelativePathResolver relativePathProvider;
 
+	/**
+	 * The cache for CSS files
+	 */
+	private final InlinedResourceCache resourceCache;
+
 	public InlineCssTranslator(CssInliner cssInliner, ResourceResolver resourceResolver, RelativePathResolver relativePathProvider) {
+		this(cssInliner, resourceResolver, relativePathProvider, new InlinedResourceCache());
+	}
+
+	public InlineCssTranslator(CssInliner cssInliner, ResourceResolver resourceResolver, RelativePathResolver relativePathProvider, InlinedResourceCache resourceCache) {
 		super();
 		this.cssInliner = cssInliner;
 		this.resourceResolver = resourceResolver;
 		this.relativePathProvider = relativePathProvider;
+		this.resourceCache = resourceCache;
 	}
 
 	@Override
 	public Content translate(Content content) throws ContentTranslatorException {
+		if (canUseDocument(content)) {
+			return inlineDocument(content);
+		}
 		if (content instanceof MayHaveStringContent && ((MayHaveStringContent) content).canProvideString()) {
 			String stringContent = ((MayHaveStringContent) content).asString();
 			if (isHtml(stringContent)) {
@@ -88,6 +116,27 @@ public class InlineCssTranslator implements ContentTranslator {
 		return content;
 	}
 
+	private Content inlineDocument(Content content) throws ContentTranslatorException {
+		// use the shared document to avoid parsing the HTML several times
+		Document doc = ((MayHaveHtmlDocument) content).asDocument();
+		List<String> cssFiles = skipExternalUrls(getDistinctCssUrls(doc));
+		if (!cssFiles.isEmpty()) {
+			// prepare list of css files/urls with their content
+			List<ExternalCss> cssResources = load(getSourcePath(content), cssFiles);
+			// update the document with inlined css
+			cssInliner.inline(doc, cssResources);
+			// remove ogham attributes
+			removeOghamAttributes(doc);
+			// mark the HTML content as updated
+			((UpdatableHtmlDocument) content).setDocument(doc);
+		}
+		return content;
+	}
+
+	private static boolean canUseDocument(Content content) {
+		return content instanceof MayHaveHtmlDocument && content instanceof UpdatableHtmlDocument && ((MayHaveHtmlDocument) content).canProvideDocument();
+	}
+
 	private static ResourcePath getSourcePath(Content content) {
 		if(content instanceof HasResourcePath) {
 			return ((HasResourcePath) content).getPath();
@@ -104,8 +153,13 @@ public class InlineCssTranslator implements ContentTranslator {
 	}
 
 	private void load(List<ExternalCss> cssResources, ResourcePath path) throws ContentTranslatorException {
+		cssResources.add(resourceCache.getCss(path, this::read).getCss());
+	}
+
+	private CachedResource read(ResourcePath path) throws ContentTranslatorException {
 		try {
-			cssResources.add(new ExternalCss(path, IOUtils.toString(resourceResolver.getResource(path).getInputStream())));
+			Resource resource = resourceResolver.getResource(path);
+			return CachedResource.css(resource, new ExternalCss(path, IOUtils.toString(resource.getInputStream())));
 		} catch (IOException e) {
 			throw new CssInliningException("Failed to inline CSS file " + path + " because it can't be read", e);
 		} catch (ResourceResolutionException e) {
@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,10 +22,13 @@ import fr.sii.ogham.core.exception.mimetype.MimeTypeDetectionException;
 import fr.sii.ogham.core.exception.resource.ResourceResolutionException;
 import fr.sii.ogham.core.message.content.Content;
 import fr.sii.ogham.core.message.content.HasResourcePath;
+import fr.sii.ogham.core.message.content.MayHaveHtmlDocument;
 import fr.sii.ogham.core.message.content.MayHaveStringContent;
 import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.message.content.UpdatableHtmlDocument;
 import fr.sii.ogham.core.message.content.UpdatableStringContent;
 import fr.sii.ogham.core.mimetype.MimeTypeProvider;
+import fr.sii.ogham.core.resource.Resource;
 import fr.sii.ogham.core.resource.path.RelativePath;
 import fr.sii.ogham.core.resource.path.RelativePathResolver;
 import fr.sii.ogham.core.resource.path.ResourcePath;
@@ -32,10 +36,13 @@ import fr.sii.ogham.core.resource.path.UnresolvedPath;
 import fr.sii.ogham.core.resource.resolver.ResourceResolver;
 import fr.sii.ogham.core.translator.content.ContentTranslator;
 import fr.sii.ogham.core.util.IOUtils;
+import fr.sii.ogham.email.attachment.Attachment;
 import fr.sii.ogham.email.message.content.ContentWithAttachments;
+import fr.sii.ogham.html.inliner.CachedResource;
 import fr.sii.ogham.html.inliner.ContentWithImages;
 import fr.sii.ogham.html.inliner.ImageInliner;
 import fr.sii.ogham.html.inliner.ImageResource;
+import fr.sii.ogham.html.inliner.InlinedResourceCache;
 
 /**
  * Translator that transforms HTML content. If not HTML, the translator has no
@@ -49,6 +56,16 @@ import fr.sii.ogham.html.inliner.ImageResource;
  * <li>Maybe anything else</li>
  * </ul>
  * 
+ * <p>
+ * If the content can provide the HTML as a parsed document (see
+ * {@link MayHaveHtmlDocument}), the document is directly updated instead of
+ * parsing and serializing the HTML again.
+ * 
+ * <p>
+ * The images are read through an {@link InlinedResourceCache} so the same
+ * image can be read, analyzed (mimetype) and encoded only once for all
+ * messages.
+ * 
  * @author Aurélien Baudet
  * 
  */
@@ -75,16 +92,29 @@ public class InlineImageTranslator implements ContentTranslator {
 	 */
 	private final RelativePathResolver relativePathProvider;
 
+	/**
+	 * The cache for images
+	 */
+	private final InlinedResourceCache resourceCache;
+
 	public InlineImageTranslator(ImageInliner inliner, ResourceResolver resourceResolver, MimeTypeProvider mimetypeProvider, RelativePathResolver relativePathProvider) {
+		this(inliner, resourceResolver, mimetypeProvider, relativePathProvider, new InlinedResourceCache());
+	}
+
+	public InlineImageTranslator(ImageInliner inliner, ResourceResolver resourceResolver, MimeTypeProvider mimetypeProvider, RelativePathResolver relativePathProvider, InlinedResourceCache resourceCache) {
 		super();
 		this.inliner = inliner;
 		this.resourceResolver = resourceResolver;
 		this.mimetypeProvider = mimetypeProvider;
 		this.relativePathProvider = relativePathProvider;
+		this.resourceCache = resourceCache;
 	}
 
 	@Override
 	public Content translate(Content content) throws ContentTranslatorException {
+		if (canUseDocument(content)) {
+			return inlineDocument(content);
+		}
 		if (content instanceof MayHaveStringContent && ((MayHaveStringContent) content).canProvideString()) {
 			String stringContent = ((MayHaveStringContent) content).asString();
 			List<String> images = skipExternalUrls(merge(getDistinctImageUrls(stringContent), getDistinctCssImageUrls(stringContent)));
@@ -100,7 +130,7 @@ public class InlineImageTranslator implements ContentTranslator {
 				Content inlinedContent = updateHtmlContent(content, cleaned);
 				LOG.debug("{} images inlined", contentWithImages.getAttachments().size());
 				// if it was already a content with attachments then update it otherwise create a new one
-				return generateFinalContent(content, cleaned, inlinedContent);
+				return generateFinalContent(content, cleaned.getAttachments(), inlinedContent);
 			}
 		} else {
 			LOG.debug("Neither content usable as string nor HTML. Skip image inlining");
@@ -109,6 +139,32 @@ public class InlineImageTranslator implements ContentTranslator {
 		return content;
 	}
 
+	private Content inlineDocument(Content content) throws ContentTranslatorException {
+		// use the shared document to avoid parsing the HTML several times
+		Document doc = ((MayHaveHtmlDocument) content).asDocument();
+		List<String> images = skipExternalUrls(merge(getDistinctImageUrls(doc), getDistinctCssImageUrls(doc)));
+		if (images.isEmpty()) {
+			return content;
+		}
+		LOG.debug("inlining {} images", images.size());
+		// prepare list of images paths/urls with their content
+		List<ImageResource> imageResources = load(getSourcePath(content), images);
+		// update the document with inlined images
+		List<Attachment> attachments = inliner.inline(doc, imageResources);
+		// remove ogham attributes
+		removeOghamAttributes(doc);
+		removeOghamProperties(doc);
+		// mark the HTML content as updated
+		((UpdatableHtmlDocument) content).setDocument(doc);
+		LOG.debug("{} images inlined", attachments.size());
+		// if it was already a content with attachments then update it otherwise create a new one
+		return generateFinalContent(content, attachments, content);
+	}
+
+	private static boolean canUseDocument(Content content) {
+		return content instanceof MayHaveHtmlDocument && content instanceof UpdatableHtmlDocument && ((MayHaveHtmlDocument) content).canProvideDocument();
+	}
+
 	private static List<String> merge(List<String> distinctImageUrls, List<String> distinctCssImageUrls) {
 		List<String> merged = new ArrayList<>(distinctImageUrls);
 		merged.addAll(distinctCssImageUrls);
@@ -138,13 +194,19 @@ public class InlineImageTranslator implements ContentTranslator {
 		return imageResources;
 	}
 
-	@SuppressWarnings("squid:S1192")
 	private void load(List<ImageResource> imageResources, RelativePath path) throws ContentTranslatorException {
+		CachedResource image = resourceCache.getImage(path, this::read);
+		String imgName = new File(path.getOriginalPath()).getName();
+		imageResources.add(new ImageResource(imgName, path.getRelativePath().getOriginalPath(), path, image));
+	}
+
+	@SuppressWarnings("squid:S1192")
+	private CachedResource read(ResourcePath path) throws ContentTranslatorException {
 		try {
-			byte[] imgContent = IOUtils.toByteArray(resourceResolver.getResource(path).getInputStream());
+			Resource resource = resourceResolver.getResource(path);
+			byte[] imgContent = IOUtils.toByteArray(resource.getInputStream());
 			String mimetype = mimetypeProvider.detect(new ByteArrayInputStream(imgContent)).toString();
-			String imgName = new File(path.getOriginalPath()).getName();
-			imageResources.add(new ImageResource(imgName, path.getRelativePath().getOriginalPath(), path, imgContent, mimetype));
+			return CachedResource.image(resource, imgContent, mimetype);
 		} catch (IOException e) {
 			throw new ImageInliningException("Failed to inline image file " + path + " because it can't be read", e);
 		} catch (ResourceResolutionException e) {
@@ -164,14 +226,16 @@ public class InlineImageTranslator implements ContentTranslator {
 		return new StringContent(contentWithImages.getContent());
 	}
 
-	private static Content generateFinalContent(Content content, ContentWithImages contentWithImages, Content inlinedContent) {
+	private static Content generateFinalContent(Content content, List<Attachment> attachments, Content inlinedContent) {
 		if(content instanceof ContentWithAttachments) {
 			ContentWithAttachments finalContent = (ContentWithAttachments) content;
-			finalContent.addAttachments(contentWithImages.getAttachments());
-			finalContent.setContent(inlinedContent);
+			finalContent.addAttachments(attachments);
+			if (finalContent != inlinedContent) {
+				finalContent.setContent(inlinedContent);
+			}
 			return finalContent;
 		}
-		return new ContentWithAttachments(inlinedContent, contentWithImages.getAttachments());
+		return new ContentWithAttachments(inlinedContent, attachments);
 	}
 
 	@Override
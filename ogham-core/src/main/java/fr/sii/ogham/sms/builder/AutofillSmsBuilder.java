@@ -1,5 +1,7 @@
 package fr.sii.ogham.sms.builder;
 
+import static fr.sii.ogham.core.util.MetricsUtils.metered;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -82,7 +84,7 @@ public class AutofillSmsBuilder extends AbstractParent<SmsBuilder> implements Bu
 		Map<String, ConfigurationValueBuilderHelper<?, ?>> props = new HashMap<>();
 		props.put("from", (ConfigurationValueBuilderHelper<?, String>) senderNumberBuilder.defaultValue());
 		props.put("to", (ConfigurationValueBuilderHelper<?, String[]>) recipientNumberBuilder.defaultValue());
-		filler.addFiller(buildContext.register(new SmsFiller(props)));
+		filler.addFiller(metered(buildContext.register(new SmsFiller(props)), buildContext.getMetricsRecorder()));
 		return filler;
 	}
 }
@@ -1,5 +1,7 @@
 package fr.sii.ogham.sms.builder;
 
+import static fr.sii.ogham.core.util.MetricsUtils.metered;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,6 +19,7 @@ import fr.sii.ogham.core.builder.retry.RetryBuilder;
 import fr.sii.ogham.core.builder.sender.SenderImplementationBuilderHelper;
 import fr.sii.ogham.core.builder.template.DetectorBuilder;
 import fr.sii.ogham.core.builder.template.TemplateBuilderHelper;
+import fr.sii.ogham.core.builder.template.TemplateCacheBuilder;
 import fr.sii.ogham.core.builder.template.VariantBuilder;
 import fr.sii.ogham.core.condition.Condition;
 import fr.sii.ogham.core.condition.fluent.MessageConditions;
@@ -424,6 +427,28 @@ public class SmsBuilder extends AbstractParent<MessagingBuilder> implements Buil
 		return templateBuilderHelper.register(builderClass);
 	}
 
+	/**
+	 * Configures caching of template resolution. Before parsing a template,
+	 * the real path of the template for the variant must be found (by checking
+	 * if resources exist) and the template engine that is able to parse the
+	 * template must be detected. When caching is enabled, this is done only
+	 * once per template, variant and locale.
+	 * 
+	 * For example:
+	 * 
+	 * <pre>
+	 * .templateCache()
+	 *   .enable().properties("${ogham.sms.template.cache.enable}").and()
+	 *   .timeToLive().properties("${ogham.sms.template.cache.time-to-live}").and()
+	 *   .maxSize().properties("${ogham.sms.template.cache.max-size}")
+	 * </pre>
+	 * 
+	 * @return the builder to configure template resolution caching
+	 */
+	public TemplateCacheBuilder<SmsBuilder> templateCache() {
+		return templateBuilderHelper.cache();
+	}
+
 	/**
 	 * Registers a custom message sender implementation.
 	 * 
@@ -605,7 +630,7 @@ public class SmsBuilder extends AbstractParent<MessagingBuilder> implements Buil
 		}
 		TemplateParser templateParser = templateBuilderHelper.buildTemplateParser();
 		LOG.debug("Registering content translator that parses templates using {}", templateParser);
-		translator.addTranslator(buildContext.register(new TemplateContentTranslator(templateParser)));
+		translator.addTranslator(metered(buildContext.register(new TemplateContentTranslator(templateParser)), buildContext.getMetricsRecorder()));
 	}
 
 }
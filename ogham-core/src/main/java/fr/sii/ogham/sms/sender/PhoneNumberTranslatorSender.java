@@ -1,10 +1,19 @@
 package fr.sii.ogham.sms.sender;
 
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
+import static fr.sii.ogham.core.util.BatchUtils.sendAndCollectFailures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.sender.ConditionalSender;
 import fr.sii.ogham.core.sender.MessageSender;
@@ -70,26 +79,67 @@ public class PhoneNumberTranslatorSender implements ConditionalSender {
 
 	@Override
 	public void send(Message message) throws MessageException {
-		if (message instanceof Sms) {
-			Sms sms = (Sms) message;
+		translate(message);
+		LOG.debug("Sending translated message {} using {}", message, delegate);
+		delegate.send(message);
+	}
+
+	/**
+	 * The phone numbers are translated in the current thread (no I/O is
+	 * involved). The translated message is then sent asynchronously by the
+	 * decorated sender (see
+	 * {@link MessageSender#sendAsync(Message, AsyncExecutors)}).
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		try {
+			translate(message);
+		} catch (MessageNotSentException e) {
+			CompletableFuture<Void> result = new CompletableFuture<>();
+			result.completeExceptionally(e);
+			return result;
+		}
+		LOG.debug("Sending translated message {} asynchronously using {}", message, delegate);
+		return delegate.sendAsync(message, executors);
+	}
 
+	/**
+	 * The phone numbers of every message are translated and then the whole
+	 * batch is given to the decorated sender (see
+	 * {@link MessageSender#sendAll(List)}).
+	 */
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		List<MessageException> failures = new ArrayList<>();
+		List<Message> translated = new ArrayList<>(messages.size());
+		for (Message message : messages) {
 			try {
-				// sender
-				translatePhoneNumber(sms.getFrom(), senderTranslator, "sender", "FROM");
-
-				// receivers
-				for (Recipient currentRecipient : sms.getRecipients()) {
-					translatePhoneNumber(currentRecipient, recipientTranslator, "recipient", "TO");
-				}
-
-				LOG.debug("Sending translated message {} using {}", sms, delegate);
-				delegate.send(sms);
-			} catch (PhoneNumberTranslatorException pnte) {
-				throw new MessageNotSentException("Failed to send message due to phone number translater", message, pnte);
+				translate(message);
+				translated.add(message);
+			} catch (MessageNotSentException e) {
+				failures.add(e);
 			}
-		} else {
-			LOG.debug("Sending translated message {} using {}", message, delegate);
-			delegate.send(message);
+		}
+		LOG.debug("Sending {} translated messages using {}", translated.size(), delegate);
+		sendAndCollectFailures(delegate, translated, failures);
+		failIfAny(failures, messages.size());
+	}
+
+	private void translate(Message message) throws MessageNotSentException {
+		if (!(message instanceof Sms)) {
+			return;
+		}
+		Sms sms = (Sms) message;
+		try {
+			// sender
+			translatePhoneNumber(sms.getFrom(), senderTranslator, "sender", "FROM");
+
+			// receivers
+			for (Recipient currentRecipient : sms.getRecipients()) {
+				translatePhoneNumber(currentRecipient, recipientTranslator, "recipient", "TO");
+			}
+		} catch (PhoneNumberTranslatorException pnte) {
+			throw new MessageNotSentException("Failed to send message due to phone number translater", message, pnte);
 		}
 	}
 
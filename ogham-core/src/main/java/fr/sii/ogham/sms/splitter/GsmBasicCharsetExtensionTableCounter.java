@@ -1,5 +1,7 @@
 package fr.sii.ogham.sms.splitter;
 
+import java.util.Arrays;
+
 /**
  * Every character present in base character table count as 1 octet.
  * 
@@ -10,7 +12,13 @@ package fr.sii.ogham.sms.splitter;
  */
 public class GsmBasicCharsetExtensionTableCounter implements LengthCounter {
 	private static final int MAXIMUM_SPLIT_SEGMENT_LENGTH = 153;
-	private static final char[] EXT_CHARS = { '\f', '^', '{', '}', '\\', '[', '~', ']', '|', '\u20ac' };
+	private static final char EURO = '\u20ac';
+	private static final char[] EXT_CHARS = { '\f', '^', '{', '}', '\\', '[', '~', ']', '|', EURO };
+	/**
+	 * Number of octets for each ASCII character. Every extension character
+	 * except {@link #EURO} is in the ASCII range.
+	 */
+	private static final byte[] ASCII_LENGTHS = asciiLengths();
 
 	/**
 	 * If extended characters are found in the string, each character must be
@@ -37,20 +45,51 @@ public class GsmBasicCharsetExtensionTableCounter implements LengthCounter {
 		return originalLength + extendedChars;
 	}
 
+	/**
+	 * Use a lookup table instead of searching in the extension characters.
+	 * Like {@link #count(String)}, characters that are not in the basic
+	 * character table nor in the extension table count as their number of
+	 * Java chars (1, or 2 for a supplementary character).
+	 */
+	@Override
+	public int count(int codePoint) {
+		if (codePoint < ASCII_LENGTHS.length) {
+			return ASCII_LENGTHS[codePoint];
+		}
+		if (codePoint == EURO) {
+			return 2;
+		}
+		return Character.charCount(codePoint);
+	}
+
 	private static int countExtendedChars(String str) {
 		int found = 0;
 		int len = str.length();
 		for (int i = 0; i < len; i++) {
-			int search = 0;
 			char c = str.charAt(i);
-			for (; search < EXT_CHARS.length; search++) {
-				if (c == EXT_CHARS[search]) {
-					found++;
-					break;
-				}
+			if (isExtended(c)) {
+				found++;
 			}
 		}
 		return found;
 	}
 
+	private static boolean isExtended(char c) {
+		if (c < ASCII_LENGTHS.length) {
+			return ASCII_LENGTHS[c] == 2;
+		}
+		return c == EURO;
+	}
+
+	private static byte[] asciiLengths() {
+		byte[] lengths = new byte[128];
+		Arrays.fill(lengths, (byte) 1);
+		for (char c : EXT_CHARS) {
+			if (c < lengths.length) {
+				lengths[c] = 2;
+			}
+		}
+		return lengths;
+	}
+
 }
@@ -4,6 +4,7 @@ import static fr.sii.ogham.sms.SmsConstants.SmppSplitConstants.MAXIMUM_BYTES_PER
 import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import fr.sii.ogham.sms.SmsConstants.SmppSplitConstants.SegmentSizes;
@@ -246,6 +247,7 @@ import fr.sii.ogham.sms.exception.message.SplitMessageException;
  */
 public class GsmMessageSplitter implements MessageSplitter {
 	private static final int MAXIMUM_SEGMENTS = 255;
+	private static final int INITIAL_SEGMENTS_CAPACITY = 8;
 	
 	private static final int USER_DATA_HEADER_SIZE_ONE_BYTE_REFERENCE_NUMBER = 6;
 	private static final byte UDHIE_HEADER_LENGTH_ONE_BYTE_REFERENCE_NUMBER = 0x05;
@@ -267,15 +269,17 @@ public class GsmMessageSplitter implements MessageSplitter {
 	 * 
 	 * <p>
 	 * The algorithm compares the length of the Java String (using
-	 * {@link String#length()} with
+	 * {@link StringLengthCounter}) with
 	 * {@link SegmentSizes#getMaximumStringLengthToFitInASingleSegment()} to
 	 * check that the whole string can fit in a single segment. If it can't then
 	 * split is applied. A reference number is generated (using
 	 * {@link RandomReferenceNumberGenerator}). The algorithm uses
 	 * {@link SegmentSizes#getMaximumStringLengthPerSegment()} to compute the
 	 * remaining of characters that can fit in a segment with a header. The size
-	 * of the header depends on the size of the reference number. Once the
-	 * string is split in a segment, it is also encoded using {@link Encoder}.
+	 * of the header depends on the size of the reference number. The string is
+	 * visited only once and it is never cut in the middle of a code point
+	 * (surrogate pairs and extension characters are kept in the same
+	 * segment). Each segment is then encoded using {@link Encoder}.
 	 * 
 	 * @param encoder
 	 *            the encoder to encode message
@@ -292,15 +296,17 @@ public class GsmMessageSplitter implements MessageSplitter {
 	 * 
 	 * <p>
 	 * The algorithm compares the length of the Java String (using
-	 * {@link String#length()} with
+	 * {@link StringLengthCounter}) with
 	 * {@link SegmentSizes#getMaximumStringLengthToFitInASingleSegment()} to
 	 * check that the whole string can fit in a single segment. If it can't then
 	 * split is applied. A reference number is generated (using
 	 * {@link ReferenceNumberGenerator}). The algorithm uses
 	 * {@link SegmentSizes#getMaximumStringLengthPerSegment()} to compute the
 	 * remaining of characters that can fit in a segment with a header. The size
-	 * of the header depends on the size of the reference number. Once the
-	 * string is split in a segment, it is also encoded using {@link Encoder}.
+	 * of the header depends on the size of the reference number. The string is
+	 * visited only once and it is never cut in the middle of a code point
+	 * (surrogate pairs and extension characters are kept in the same
+	 * segment). Each segment is then encoded using {@link Encoder}.
 	 * 
 	 * @param encoder
 	 *            the encoder to encode message
@@ -311,7 +317,7 @@ public class GsmMessageSplitter implements MessageSplitter {
 	 *            generates reference numbers
 	 */
 	public GsmMessageSplitter(Encoder encoder, SegmentSizes segmentSizes, ReferenceNumberGenerator referenceNumberGenerator) {
-		this(encoder, segmentSizes, referenceNumberGenerator, String::length);
+		this(encoder, segmentSizes, referenceNumberGenerator, new StringLengthCounter());
 	}
 
 	/**
@@ -325,8 +331,10 @@ public class GsmMessageSplitter implements MessageSplitter {
 	 * {@link ReferenceNumberGenerator}). The algorithm uses
 	 * {@link SegmentSizes#getMaximumStringLengthPerSegment()} to compute the
 	 * remaining of characters that can fit in a segment with a header. The size
-	 * of the header depends on the size of the reference number. Once the
-	 * string is split in a segment, it is also encoded using {@link Encoder}.
+	 * of the header depends on the size of the reference number. The string is
+	 * visited only once and it is never cut in the middle of a code point
+	 * (surrogate pairs and extension characters are kept in the same
+	 * segment). Each segment is then encoded using {@link Encoder}.
 	 * 
 	 * @param encoder
 	 *            the encoder to encode message
@@ -350,29 +358,41 @@ public class GsmMessageSplitter implements MessageSplitter {
 
 	@Override
 	public List<Segment> split(String message) throws SplitMessageException {
-		int messageLength = lengthCounter.count(message);
+		// the message is visited only once: the total length and the cut
+		// positions for both reference number sizes are computed at the same
+		// time (the reference number is generated only if split is needed)
+		SegmentBoundaries oneByteReference = new SegmentBoundaries(computeMaximumStringLengthPerSegment(USER_DATA_HEADER_SIZE_ONE_BYTE_REFERENCE_NUMBER));
+		SegmentBoundaries twoBytesReference = new SegmentBoundaries(computeMaximumStringLengthPerSegment(USER_DATA_HEADER_SIZE_TWO_BYTES_REFERENCE_NUMBER));
+		int messageLength = 0;
+		int length = message.length();
+		for (int i = 0; i < length;) {
+			int codePoint = message.codePointAt(i);
+			int codePointLength = lengthCounter.count(codePoint);
+			oneByteReference.add(i, codePointLength);
+			twoBytesReference.add(i, codePointLength);
+			messageLength += codePointLength;
+			i += Character.charCount(codePoint);
+		}
 		if (messageLength <= segmentSizes.getMaximumStringLengthToFitInASingleSegment()) {
 			return asList(singleSegment(message));
 		}
 
 		// generate new reference number
 		byte[] referenceNumber = generateReferenceNumber(message);
-		int maximumStringLengthPerSegment = computeMaximumStringLengthPerSegment(referenceNumber);
+		SegmentBoundaries boundaries = referenceNumber.length == 1 ? oneByteReference : twoBytesReference;
 
 		// split into several messages
-		int numberOfSegments = (int) Math.ceil(messageLength / (double) maximumStringLengthPerSegment);
+		int numberOfSegments = boundaries.size();
 		if (numberOfSegments > MAXIMUM_SEGMENTS) {
 			throw new SplitMessageException("Can't split the message because the number of segments is greater than 255", message);
 		}
 
 		// prepare list for all of the msg segments
 		List<Segment> segments = new ArrayList<>(numberOfSegments);
-
-		int start = 0;
 		for (int i = 0; i < numberOfSegments; i++) {
-			String part = cutToFitInSegment(start, message, maximumStringLengthPerSegment);
+			int end = i + 1 < numberOfSegments ? boundaries.start(i + 1) : length;
+			String part = message.substring(boundaries.start(i), end);
 			segments.add(segmentWithHeader(message, part, numberOfSegments, i + 1, referenceNumber));
-			start += part.length();
 		}
 		return segments;
 	}
@@ -392,18 +412,6 @@ public class GsmMessageSplitter implements MessageSplitter {
 		}
 	}
 
-	private String cutToFitInSegment(int start, String message, int maximumStringLengthPerSegment) {
-		int end = start + maximumStringLengthPerSegment;
-		String part = message.substring(start, Math.min(message.length(), end));
-		int lengthOfPart = lengthCounter.count(part);
-		while (lengthOfPart > maximumStringLengthPerSegment && end > start) {
-			end--;
-			part = message.substring(start, Math.min(message.length(), end));
-			lengthOfPart = lengthCounter.count(part);
-		}
-		return part;
-	}
-
 	private Segment segmentWithHeader(String wholeMessage, String part, int numberOfSegments, int segmentNumber, byte[] referenceNumber) throws SplitMessageException {
 		try {
 			int headerSize = headerSize(referenceNumber);
@@ -468,8 +476,8 @@ public class GsmMessageSplitter implements MessageSplitter {
 		}
 	}
 
-	private int computeMaximumStringLengthPerSegment(byte[] referenceNumber) {
-		return (int) Math.floor((MAXIMUM_BYTES_PER_MESSAGE - headerSize(referenceNumber)) * segmentSizes.getMaximumStringLengthToFitInASingleSegment() / (double) MAXIMUM_BYTES_PER_MESSAGE);
+	private int computeMaximumStringLengthPerSegment(int headerSize) {
+		return (int) Math.floor((MAXIMUM_BYTES_PER_MESSAGE - headerSize) * segmentSizes.getMaximumStringLengthToFitInASingleSegment() / (double) MAXIMUM_BYTES_PER_MESSAGE);
 	}
 
 	private static int headerSize(byte[] referenceNumber) {
@@ -484,4 +492,41 @@ public class GsmMessageSplitter implements MessageSplitter {
 		}
 	}
 
+	/**
+	 * Start index of each segment in the original string. A new segment is
+	 * started when the next code point doesn't fit in the current segment. A
+	 * code point is never cut so neither surrogate pairs nor escaped
+	 * characters of the extension table are split.
+	 */
+	private static class SegmentBoundaries {
+		private final int maximumStringLengthPerSegment;
+		private int[] starts;
+		private int size;
+		private int currentLength;
+
+		public SegmentBoundaries(int maximumStringLengthPerSegment) {
+			super();
+			this.maximumStringLengthPerSegment = maximumStringLengthPerSegment;
+			this.starts = new int[INITIAL_SEGMENTS_CAPACITY];
+		}
+
+		public void add(int index, int length) {
+			if (size == 0 || (currentLength > 0 && currentLength + length > maximumStringLengthPerSegment)) {
+				if (size == starts.length) {
+					starts = Arrays.copyOf(starts, size * 2);
+				}
+				starts[size++] = index;
+				currentLength = 0;
+			}
+			currentLength += length;
+		}
+
+		public int size() {
+			return size;
+		}
+
+		public int start(int segment) {
+			return starts[segment];
+		}
+	}
 }
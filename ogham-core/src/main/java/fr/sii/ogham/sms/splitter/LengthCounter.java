@@ -23,4 +23,23 @@ public interface LengthCounter {
 	 *         another alphabet
 	 */
 	int count(String str);
+
+	/**
+	 * Determine how many characters are necessary to represent a single code
+	 * point in another alphabet.
+	 * 
+	 * <p>
+	 * This is used to split a message in a single pass (each code point is
+	 * visited only once). The default implementation creates a string for
+	 * the code point and delegates to {@link #count(String)}. Implementations
+	 * should override it to avoid this allocation.
+	 * 
+	 * @param codePoint
+	 *            the code point to analyze
+	 * @return the number of characters necessary to encode the code point
+	 *         using another alphabet
+	 */
+	default int count(int codePoint) {
+		return count(new String(Character.toChars(codePoint)));
+	}
 }
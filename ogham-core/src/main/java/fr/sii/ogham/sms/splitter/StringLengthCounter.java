@@ -0,0 +1,25 @@
+package fr.sii.ogham.sms.splitter;
+
+/**
+ * Count the number of {@code char} of the Java string (see
+ * {@link String#length()}).
+ * 
+ * <p>
+ * A code point that is outside of the Basic Multilingual Plane is represented
+ * by a surrogate pair so it counts as 2 characters.
+ * 
+ * @author Aurélien Baudet
+ */
+public class StringLengthCounter implements LengthCounter {
+
+	@Override
+	public int count(String str) {
+		return str.length();
+	}
+
+	@Override
+	public int count(int codePoint) {
+		return Character.charCount(codePoint);
+	}
+
+}
@@ -0,0 +1,75 @@
+package fr.sii.ogham.sms.splitter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the message into several text parts that are sent as independent
+ * messages.
+ *
+ * <p>
+ * Unlike {@link GsmMessageSplitter}, no
+ * <a href="https://en.wikipedia.org/wiki/User_Data_Header">User Data
+ * Header</a> is added and the segments are not encoded. This is useful for
+ * providers that only accept text (HTTP APIs for example) but limit the size
+ * of a message. Each result {@link StringSegment} contains a part of the
+ * original text (see {@link StringSegment#getMessage()}).
+ *
+ * <p>
+ * The length of each part is computed using a {@link LengthCounter} so the
+ * limit can be expressed in the target alphabet (see
+ * {@link GsmBasicCharsetExtensionTableCounter} for GSM 7-bit or
+ * {@link StringLengthCounter} for UCS-2). The string is visited only once and
+ * it is never cut in the middle of a code point.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class TextMessageSplitter implements MessageSplitter {
+	private final LengthCounter lengthCounter;
+	private final int maximumLength;
+
+	/**
+	 * Initializes with the counter used to compute the length of the text and
+	 * the maximum length of a part.
+	 *
+	 * @param lengthCounter
+	 *            used to count the characters in the target alphabet
+	 * @param maximumLength
+	 *            the maximum length of a part (in the target alphabet)
+	 * @throws IllegalArgumentException
+	 *             if the maximum length is not strictly positive
+	 */
+	public TextMessageSplitter(LengthCounter lengthCounter, int maximumLength) {
+		super();
+		if (maximumLength <= 0) {
+			throw new IllegalArgumentException("maximumLength must be strictly positive");
+		}
+		this.lengthCounter = lengthCounter;
+		this.maximumLength = maximumLength;
+	}
+
+	@Override
+	public List<Segment> split(String message) {
+		List<Segment> segments = new ArrayList<>();
+		int start = 0;
+		int length = 0;
+		int i = 0;
+		while (i < message.length()) {
+			int codePoint = message.codePointAt(i);
+			int codePointLength = lengthCounter.count(codePoint);
+			if (length > 0 && length + codePointLength > maximumLength) {
+				segments.add(new StringSegment(message.substring(start, i), UTF_8));
+				start = i;
+				length = 0;
+			}
+			length += codePointLength;
+			i += Character.charCount(codePoint);
+		}
+		segments.add(new StringSegment(message.substring(start), UTF_8));
+		return segments;
+	}
+
+}
@@ -4,6 +4,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.cache.Cache;
+import fr.sii.ogham.core.cache.NoCache;
 import fr.sii.ogham.core.message.capability.HasVariant;
 import fr.sii.ogham.core.message.content.TemplateContent;
 import fr.sii.ogham.core.resource.path.ResourcePath;
@@ -13,21 +18,49 @@ import fr.sii.ogham.template.exception.VariantResolutionException;
  * Try every possible path for the variant until one path points to an existing
  * resource.
  * 
+ * <p>
+ * Checking if a resource exists may be costly (access to the classpath or to
+ * the filesystem). The result of the resolution is stored in a {@link Cache}
+ * (the path of the existing resource or the fact that no resource exists for
+ * the variant). This way, resolving the same template again is only a lookup
+ * in the cache. If no resource exists for the variant, the default resolver is
+ * always called (it is not cached).
+ * 
  * @author Aurélien Baudet
  *
  */
 public class FirstExistingResourceVariantResolver implements VariantResolver {
+	private static final Logger LOG = LoggerFactory.getLogger(FirstExistingResourceVariantResolver.class);
+
 	private List<VariantResolver> delegates;
 	private VariantResolver defaultResolver;
+	private final Cache<TemplateResolutionKey, ResourcePath> cache;
 
 	public FirstExistingResourceVariantResolver(VariantResolver defaultResolver, VariantResolver... delegates) {
 		this(defaultResolver, new ArrayList<>(Arrays.asList(delegates)));
 	}
 
 	public FirstExistingResourceVariantResolver(VariantResolver defaultResolver, List<VariantResolver> delegates) {
+		this(defaultResolver, delegates, new NoCache<>());
+	}
+
+	/**
+	 * Initializes with the resolver to use if no resource exists for the
+	 * variant, the resolvers to try and the cache used to store resolution
+	 * results.
+	 * 
+	 * @param defaultResolver
+	 *            the resolver to use if no resource exists
+	 * @param delegates
+	 *            the resolvers to try in order
+	 * @param cache
+	 *            the cache used to store resolution results
+	 */
+	public FirstExistingResourceVariantResolver(VariantResolver defaultResolver, List<VariantResolver> delegates, Cache<TemplateResolutionKey, ResourcePath> cache) {
 		super();
 		this.defaultResolver = defaultResolver;
 		this.delegates = delegates;
+		this.cache = cache;
 	}
 
 	@Override
@@ -35,10 +68,9 @@ public class FirstExistingResourceVariantResolver implements VariantResolver {
 		if (!(template instanceof HasVariant)) {
 			return template.getPath();
 		}
-		for (VariantResolver delegate : delegates) {
-			if(delegate.variantExists(template)) {
-				return delegate.getRealPath(template);
-			}
+		ResourcePath path = cache.get(TemplateResolutionKey.of(template), k -> findExisting(template));
+		if (path != null) {
+			return path;
 		}
 		return defaultResolver.getRealPath(template);
 	}
@@ -48,16 +80,38 @@ public class FirstExistingResourceVariantResolver implements VariantResolver {
 		if (!(template instanceof HasVariant)) {
 			return false;
 		}
-		for (VariantResolver delegate : delegates) {
-			if(delegate.variantExists(template)) {
+		try {
+			if (cache.get(TemplateResolutionKey.of(template), k -> findExisting(template)) != null) {
 				return true;
 			}
+		} catch (VariantResolutionException e) {
+			LOG.trace("Failed to resolve variant for {}", template, e);
 		}
 		return defaultResolver.variantExists(template);
 	}
 
+	/**
+	 * Remove cached resolution result of the template (if any).
+	 * 
+	 * @param template
+	 *            the template
+	 */
+	public void invalidate(TemplateContent template) {
+		cache.invalidate(TemplateResolutionKey.of(template));
+	}
+
+	private ResourcePath findExisting(TemplateContent template) throws VariantResolutionException {
+		for (VariantResolver delegate : delegates) {
+			if (delegate.variantExists(template)) {
+				return delegate.getRealPath(template);
+			}
+		}
+		return null;
+	}
+
 	public FirstExistingResourceVariantResolver addVariantResolver(VariantResolver variantResolver) {
 		delegates.add(variantResolver);
+		cache.invalidateAll();
 		return this;
 	}
 }
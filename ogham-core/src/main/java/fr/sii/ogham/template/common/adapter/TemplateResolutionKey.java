@@ -0,0 +1,95 @@
+package fr.sii.ogham.template.common.adapter;
+
+import java.util.Locale;
+
+import fr.sii.ogham.core.message.capability.HasVariant;
+import fr.sii.ogham.core.message.content.TemplateContent;
+import fr.sii.ogham.core.message.content.Variant;
+import fr.sii.ogham.core.template.context.LocaleContext;
+import fr.sii.ogham.core.util.EqualsBuilder;
+import fr.sii.ogham.core.util.HashCodeBuilder;
+
+/**
+ * Identifies the resolution of a template: the template path, the variant
+ * (if any) and the locale (if any).
+ *
+ * <p>
+ * Template variables are not part of the key as they have no impact on the
+ * resolution of the template.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class TemplateResolutionKey {
+	private final String path;
+	private final Variant variant;
+	private final Locale locale;
+	private final int hash;
+
+	/**
+	 * Initializes the key with the template path, variant and locale.
+	 *
+	 * @param path
+	 *            the template path
+	 * @param variant
+	 *            the variant (may be null)
+	 * @param locale
+	 *            the locale (may be null)
+	 */
+	public TemplateResolutionKey(String path, Variant variant, Locale locale) {
+		super();
+		this.path = path;
+		this.variant = variant;
+		this.locale = locale;
+		this.hash = new HashCodeBuilder().append(path, variant, locale).hashCode();
+	}
+
+	/**
+	 * Create the key for the template.
+	 *
+	 * @param template
+	 *            the template
+	 * @return the key
+	 */
+	public static TemplateResolutionKey of(TemplateContent template) {
+		Variant variant = template instanceof HasVariant ? ((HasVariant) template).getVariant() : null;
+		Locale locale = template.getContext() instanceof LocaleContext ? ((LocaleContext) template.getContext()).getLocale() : null;
+		return new TemplateResolutionKey(template.getPath().getOriginalPath(), variant, locale);
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public Variant getVariant() {
+		return variant;
+	}
+
+	public Locale getLocale() {
+		return locale;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TemplateResolutionKey other = (TemplateResolutionKey) obj;
+		return new EqualsBuilder().append(path, other.path).append(variant, other.variant).append(locale, other.locale).isEqual();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("{path=").append(path).append(", variant=").append(variant).append(", locale=").append(locale).append("}");
+		return builder.toString();
+	}
+}
@@ -586,6 +586,12 @@ class GsmMessageSplitterTest extends Specification {
 															header(3, 2) + asList(CHARSET_UCS_2.encode("c" * 67)),
 															header(3, 3) + asList(CHARSET_UCS_2.encode("c" * 67))
 														  ]
+			// surrogate pairs count as 2 characters but are never split
+			"\uD83D\uDE00" * 35	|| 1						| [asList(CHARSET_UCS_2.encode("\uD83D\uDE00" * 35))]
+			"c" * 66 + "\uD83D\uDE00" + "c" * 4	|| 2			| [
+															header(2, 1) + asList(CHARSET_UCS_2.encode("c" * 66)),
+															header(2, 2) + asList(CHARSET_UCS_2.encode("\uD83D\uDE00" + "c" * 4))
+														  ]
 	}
 	
 	
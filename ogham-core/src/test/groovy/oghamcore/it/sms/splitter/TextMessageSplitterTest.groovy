@@ -0,0 +1,52 @@
+package oghamcore.it.sms.splitter;
+
+import fr.sii.ogham.sms.splitter.GsmBasicCharsetExtensionTableCounter
+import fr.sii.ogham.sms.splitter.StringLengthCounter
+import fr.sii.ogham.sms.splitter.TextMessageSplitter
+import fr.sii.ogham.testing.extension.common.LogTestInformation
+import spock.lang.Specification
+import spock.lang.Unroll
+
+@Unroll
+@LogTestInformation
+class TextMessageSplitterTest extends Specification {
+
+	def "#original.length() characters with max #max should be split in #expected.size() parts"() {
+		given:
+			def splitter = new TextMessageSplitter(new StringLengthCounter(), max)
+
+		when:
+			def segments = splitter.split(original)
+
+		then:
+			segments*.message == expected
+
+		where:
+			original				| max	|| expected
+			""						| 10	|| [""]
+			"a" * 10				| 10	|| ["a" * 10]
+			"a" * 11				| 10	|| ["a" * 10, "a"]
+			"a" * 25				| 10	|| ["a" * 10, "a" * 10, "a" * 5]
+			// surrogate pairs are never cut
+			"a" * 9 + "😀" + "b"	| 10	|| ["a" * 9, "😀b"]
+	}
+
+	def "GSM extension characters count as 2 characters and are never cut"() {
+		given:
+			def splitter = new TextMessageSplitter(new GsmBasicCharsetExtensionTableCounter(), 10)
+
+		when:
+			def segments = splitter.split("a" * 9 + "€" + "b")
+
+		then:
+			segments*.message == ["a" * 9, "€b"]
+	}
+
+	def "maximum length must be positive"() {
+		when:
+			new TextMessageSplitter(new StringLengthCounter(), 0)
+
+		then:
+			thrown(IllegalArgumentException)
+	}
+}
@@ -0,0 +1,131 @@
+package oghamcore.it.core.http;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.builder.context.EnvBuilderBasedContext;
+import fr.sii.ogham.core.builder.env.SimpleEnvironmentBuilder;
+import fr.sii.ogham.core.builder.registry.CleanableRegistry;
+import fr.sii.ogham.core.exception.clean.CleanException;
+import fr.sii.ogham.core.exception.util.HttpException;
+import fr.sii.ogham.core.http.HttpRequest;
+import fr.sii.ogham.core.http.HttpResponse;
+import fr.sii.ogham.core.http.HttpTransport;
+import fr.sii.ogham.core.http.HttpTransportOptions;
+import fr.sii.ogham.core.http.apache.ApacheHttpTransport;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class ApacheHttpTransportTest {
+	@Rule public final LoggingTestRule loggingRule = new LoggingTestRule();
+	@Rule public final WireMockRule server = new WireMockRule(wireMockConfig().dynamicPort());
+
+	ApacheHttpTransport transport;
+
+	@After
+	public void cleanup() throws CleanException {
+		if (transport != null) {
+			transport.clean();
+		}
+	}
+
+	@Test
+	public void getAndPost() throws HttpException {
+		stubFor(get(urlEqualTo("/get?a=1")).willReturn(aResponse().withStatus(200).withBody("got")));
+		stubFor(post(urlEqualTo("/post")).willReturn(aResponse().withStatus(201).withBody("posted")));
+		transport = new ApacheHttpTransport(options(1000, 10, 10));
+
+		HttpResponse got = transport.execute(HttpRequest.get(url("/get?a=1")));
+		HttpResponse posted = transport.execute(HttpRequest.post(url("/post"), "{}".getBytes(UTF_8), "application/json"));
+
+		assertThat(got.getStatus(), is(200));
+		assertThat(got.getBody(), is("got"));
+		assertThat(posted.getStatus(), is(201));
+		assertThat(posted.getBody(), is("posted"));
+		verify(postRequestedFor(urlEqualTo("/post")).withHeader("Content-Type", equalTo("application/json")));
+	}
+
+	@Test
+	public void readTimeout() {
+		stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withStatus(200).withFixedDelay(2000)));
+		transport = new ApacheHttpTransport(options(200, 10, 10));
+
+		assertThrows(HttpException.class, () -> transport.execute(HttpRequest.get(url("/slow"))));
+	}
+
+	@Test
+	public void async() throws InterruptedException, ExecutionException {
+		stubFor(get(urlEqualTo("/async")).willReturn(aResponse().withStatus(200).withBody("async")));
+		transport = new ApacheHttpTransport(options(1000, 2, 10));
+
+		HttpResponse response = transport.executeAsync(HttpRequest.get(url("/async"))).get();
+
+		assertThat(response.getBody(), is("async"));
+	}
+
+	@Test
+	public void pendingAsyncRequestsAreBounded() throws InterruptedException {
+		stubFor(get(urlEqualTo("/slow")).willReturn(aResponse().withStatus(200).withFixedDelay(500)));
+		transport = new ApacheHttpTransport(options(2000, 1, 1));
+
+		List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			futures.add(transport.executeAsync(HttpRequest.get(url("/slow"))));
+		}
+
+		// 1 executing, 1 queued, 1 rejected immediately
+		assertThat(futures.get(2).isCompletedExceptionally(), is(true));
+		ExecutionException e = assertThrows(ExecutionException.class, () -> futures.get(2).get(0, TimeUnit.MILLISECONDS));
+		assertThat(e.getCause(), instanceOf(HttpException.class));
+	}
+
+	@Test
+	public void sameTransportIsSharedByContext() {
+		AtomicInteger built = new AtomicInteger();
+		BuildContext context = new EnvBuilderBasedContext(new SimpleEnvironmentBuilder<>(null), new CleanableRegistry(), NoMetricsRecorder::new, () -> {
+			built.incrementAndGet();
+			transport = new ApacheHttpTransport(options(1000, 1, 1));
+			return transport;
+		});
+
+		HttpTransport first = context.getHttpTransport();
+		HttpTransport second = context.getHttpTransport();
+
+		assertThat(first == second, is(true));
+		assertThat(built.get(), is(1));
+	}
+
+	private String url(String path) {
+		return "http://localhost:" + server.port() + path;
+	}
+
+	private static HttpTransportOptions options(int readTimeout, int asyncThreads, int asyncQueueCapacity) {
+		return new HttpTransportOptions(5, 10, 1000, readTimeout, 1000, 30000, asyncThreads, asyncQueueCapacity);
+	}
+}
@@ -0,0 +1,199 @@
+package oghamcore.ut.core;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.async.AsyncExecutors;
+import fr.sii.ogham.core.async.Awaiter;
+import fr.sii.ogham.core.builder.async.AsyncBuilder;
+import fr.sii.ogham.core.builder.context.DefaultBuildContext;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.retry.MaximumAttemptsReachedException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.retry.FixedDelayRetry;
+import fr.sii.ogham.core.retry.SimpleRetryExecutor;
+import fr.sii.ogham.core.sender.AutoRetrySender;
+import fr.sii.ogham.core.sender.ConditionalSender;
+import fr.sii.ogham.core.service.EverySupportingMessagingService;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class AsyncMessagingServiceTest {
+	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+
+	@Mock ConditionalSender sender;
+	@Mock Message message;
+	@Mock Awaiter awaiter;
+
+	ExecutorService executor;
+	ScheduledExecutorService scheduler;
+	AsyncExecutors executors;
+
+	@Before
+	public void setup() {
+		executor = Executors.newFixedThreadPool(2);
+		scheduler = Executors.newSingleThreadScheduledExecutor();
+		executors = new AsyncExecutors(executor, scheduler);
+		when(sender.supports(any())).thenReturn(true);
+		when(sender.sendAsync(any(), any())).thenCallRealMethod();
+	}
+
+	@After
+	public void cleanup() {
+		executor.shutdownNow();
+		scheduler.shutdownNow();
+	}
+
+	@Test
+	public void messageIsSentUsingExecutor() throws Exception {
+		AtomicReference<Thread> sendingThread = new AtomicReference<>();
+		doAnswer(i -> {
+			sendingThread.set(Thread.currentThread());
+			return null;
+		}).when(sender).send(message);
+		EverySupportingMessagingService service = new EverySupportingMessagingService(singletonList(sender), executors);
+
+		service.sendAsync(message).get(5, SECONDS);
+
+		verify(sender).send(message);
+		assertThat(sendingThread.get(), not(Thread.currentThread()));
+	}
+
+	@Test
+	public void noSenderAvailable() throws Exception {
+		when(sender.supports(any())).thenReturn(false);
+		EverySupportingMessagingService service = new EverySupportingMessagingService(singletonList(sender), executors);
+
+		CompletableFuture<Void> future = service.sendAsync(message);
+
+		assertFailedWith(future, MessageNotSentException.class);
+		verify(sender, never()).send(any());
+	}
+
+	@Test
+	public void retriesAreScheduledWithoutWaiting() throws Exception {
+		doThrow(new MessageException("fail", message)).doThrow(new MessageException("fail", message)).doAnswer(i -> null).when(sender).send(message);
+		AutoRetrySender retrySender = new AutoRetrySender(sender, new SimpleRetryExecutor(() -> new FixedDelayRetry(5, 50), awaiter));
+		EverySupportingMessagingService service = new EverySupportingMessagingService(asList(retrySender), executors);
+
+		service.sendAsync(message).get(5, SECONDS);
+
+		verify(sender, times(3)).send(message);
+		verify(awaiter, never()).waitUntil(any(Instant.class));
+	}
+
+	@Test
+	public void asynchronousSendingOfDecoratedSenderIsRetried() throws Exception {
+		CompletableFuture<Void> failed = new CompletableFuture<>();
+		failed.completeExceptionally(new MessageException("fail", message));
+		when(sender.sendAsync(any(), any())).thenReturn(failed, CompletableFuture.completedFuture(null));
+		AutoRetrySender retrySender = new AutoRetrySender(sender, new SimpleRetryExecutor(() -> new FixedDelayRetry(5, 50), awaiter));
+		EverySupportingMessagingService service = new EverySupportingMessagingService(asList(retrySender), executors);
+
+		service.sendAsync(message).get(5, SECONDS);
+
+		verify(sender, times(2)).sendAsync(message, executors);
+		verify(sender, never()).send(any());
+		verify(awaiter, never()).waitUntil(any(Instant.class));
+	}
+
+	@Test
+	public void maximumRetriesReached() throws Exception {
+		doThrow(new MessageException("fail", message)).when(sender).send(message);
+		AutoRetrySender retrySender = new AutoRetrySender(sender, new SimpleRetryExecutor(() -> new FixedDelayRetry(3, 10), awaiter));
+		EverySupportingMessagingService service = new EverySupportingMessagingService(asList(retrySender), executors);
+
+		Throwable failure = assertFailedWith(service.sendAsync(message), MessageNotSentException.class);
+
+		assertThat(failure.getCause(), instanceOf(MaximumAttemptsReachedException.class));
+		verify(sender, times(3)).send(message);
+	}
+
+	@Test
+	public void messagesAreRejectedWhenQueueIsFull() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(i -> {
+			sending.countDown();
+			release.await(5, SECONDS);
+			return null;
+		}).when(sender).send(message);
+		AsyncExecutors bounded = new AsyncBuilder(null, new DefaultBuildContext()).threads(1).queueCapacity(1).build();
+		try {
+			EverySupportingMessagingService service = new EverySupportingMessagingService(singletonList(sender), bounded);
+
+			CompletableFuture<Void> running = service.sendAsync(message);
+			sending.await(5, SECONDS);
+			CompletableFuture<Void> queued = service.sendAsync(message);
+			CompletableFuture<Void> rejected = service.sendAsync(message);
+
+			assertThat(rejected.isDone(), is(true));
+			assertFailedWith(rejected, RejectedExecutionException.class);
+			release.countDown();
+			running.get(5, SECONDS);
+			queued.get(5, SECONDS);
+			verify(sender, times(2)).send(message);
+		} finally {
+			release.countDown();
+			bounded.clean();
+		}
+	}
+
+	@Test
+	public void noExecutorsSendsInCurrentThread() throws Exception {
+		AtomicReference<Thread> sendingThread = new AtomicReference<>();
+		doAnswer(i -> {
+			sendingThread.set(Thread.currentThread());
+			return null;
+		}).when(sender).send(message);
+		EverySupportingMessagingService service = new EverySupportingMessagingService(singletonList(sender));
+
+		CompletableFuture<Void> future = service.sendAsync(message);
+
+		assertThat(future.isDone(), is(true));
+		assertThat(sendingThread.get(), is(Thread.currentThread()));
+	}
+
+	private static Throwable assertFailedWith(CompletableFuture<Void> future, Class<? extends Throwable> expected) throws Exception {
+		try {
+			future.get(5, SECONDS);
+			fail("should fail");
+			return null;
+		} catch (ExecutionException e) {
+			assertThat(e.getCause(), instanceOf(expected));
+			return e.getCause();
+		}
+	}
+}
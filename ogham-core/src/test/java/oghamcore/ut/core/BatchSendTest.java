@@ -0,0 +1,167 @@
+package oghamcore.ut.core;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.async.Awaiter;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.retry.FixedDelayRetry;
+import fr.sii.ogham.core.retry.SimpleRetryExecutor;
+import fr.sii.ogham.core.sender.AutoRetrySender;
+import fr.sii.ogham.core.sender.ConditionalSender;
+import fr.sii.ogham.core.sender.FallbackSender;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.service.EverySupportingMessagingService;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class BatchSendTest {
+	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+
+	@Mock ConditionalSender emailSender;
+	@Mock ConditionalSender smsSender;
+	@Mock MessageSender first;
+	@Mock MessageSender second;
+	@Mock Message email1;
+	@Mock Message email2;
+	@Mock Message sms;
+	@Mock Message unsupported;
+	@Mock Awaiter awaiter;
+
+	@Before
+	public void setup() throws MessagesNotSentException {
+		when(emailSender.supports(any())).thenAnswer(i -> i.getArgument(0) == email1 || i.getArgument(0) == email2);
+		when(smsSender.supports(any())).thenAnswer(i -> i.getArgument(0) == sms);
+		doCallRealSendAll(emailSender);
+		doCallRealSendAll(smsSender);
+		doCallRealSendAll(first);
+		doCallRealSendAll(second);
+	}
+
+	@Test
+	public void messagesAreGroupedBySender() throws Exception {
+		EverySupportingMessagingService service = new EverySupportingMessagingService(emailSender, smsSender);
+
+		service.sendAll(asList(email1, sms, email2));
+
+		verify(emailSender).sendAll(asList(email1, email2));
+		verify(smsSender).sendAll(asList(sms));
+	}
+
+	@Test
+	public void failureDoesntPreventOtherMessagesFromBeingSent() throws Exception {
+		doThrow(new MessageException("fail", email1)).when(emailSender).send(email1);
+		EverySupportingMessagingService service = new EverySupportingMessagingService(emailSender, smsSender);
+
+		List<MessageException> failures = assertNotSent(() -> service.sendAll(asList(email1, unsupported, sms, email2)));
+
+		assertThat(failures, hasSize(2));
+		assertThat(failures.get(0), instanceOf(MessageNotSentException.class));
+		assertThat(failures.get(0).getOghamMessage(), is(unsupported));
+		assertThat(failures.get(1).getOghamMessage(), is(email1));
+		verify(emailSender).send(email2);
+		verify(smsSender).send(sms);
+	}
+
+	@Test
+	public void onlyFailedMessagesAreGivenToFallbackSender() throws Exception {
+		doThrow(new MessageException("fail", email2)).when(first).send(email2);
+		FallbackSender fallback = new FallbackSender(first, second);
+
+		fallback.sendAll(asList(email1, email2));
+
+		verify(second).sendAll(asList(email2));
+		verify(second, never()).send(email1);
+	}
+
+	@Test
+	public void messagesNotSentByAnyFallbackSender() throws Exception {
+		doThrow(new MessageException("fail", email2)).when(first).send(email2);
+		doThrow(new MessageException("fail again", email2)).when(second).send(email2);
+		FallbackSender fallback = new FallbackSender(first, second);
+
+		List<MessageException> failures = assertNotSent(() -> fallback.sendAll(asList(email1, email2)));
+
+		assertThat(failures, hasSize(1));
+		assertThat(failures.get(0), instanceOf(MessageNotSentException.class));
+		assertThat(failures.get(0).getOghamMessage(), is(email2));
+	}
+
+	@Test
+	public void onlyFailedMessagesAreRetried() throws Exception {
+		doThrow(new MessageException("fail", email2)).doThrow(new MessageException("fail", email2)).doNothing().when(first).send(email2);
+		AutoRetrySender retrySender = new AutoRetrySender(first, new SimpleRetryExecutor(() -> new FixedDelayRetry(5, 10), awaiter));
+
+		retrySender.sendAll(asList(email1, email2));
+
+		verify(first, times(1)).send(email1);
+		verify(first, times(3)).send(email2);
+	}
+
+	@Test
+	public void failedMessagesAreReferencedByException() throws Exception {
+		doThrow(new MessageException("fail", email1)).when(first).send(email1);
+		doThrow(new IllegalStateException("unexpected")).when(first).send(email2);
+
+		List<MessageException> failures = assertNotSent(() -> first.sendAll(asList(email1, sms, email2)));
+
+		assertThat(failures, hasSize(2));
+		assertThat(failures.get(1), instanceOf(MessageNotSentException.class));
+		verify(first).send(sms);
+	}
+
+	@Test
+	public void failedMessagesList() throws Exception {
+		doThrow(new MessageException("fail", email1)).when(first).send(email1);
+
+		try {
+			first.sendAll(asList(email1, email2));
+			fail("should fail");
+		} catch (MessagesNotSentException e) {
+			assertThat(e.getFailedMessages(), contains(email1));
+		}
+	}
+
+	private static void doCallRealSendAll(MessageSender sender) throws MessagesNotSentException {
+		doCallRealMethod().when(sender).sendAll(anyList());
+	}
+
+	private static List<MessageException> assertNotSent(ThrowingRunnable action) throws Exception {
+		try {
+			action.run();
+			fail("should fail");
+			return null;
+		} catch (MessagesNotSentException e) {
+			return e.getFailures();
+		}
+	}
+
+	private interface ThrowingRunnable {
+		void run() throws Exception;
+	}
+}
@@ -0,0 +1,199 @@
+package oghamcore.ut.core;
+
+import static fr.sii.ogham.core.metrics.MetricNames.FALLBACK_HOPS;
+import static fr.sii.ogham.core.metrics.MetricNames.MESSAGES;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_FAILURE;
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_SUCCESS;
+import static fr.sii.ogham.core.metrics.MetricNames.PROVIDER_SEND;
+import static fr.sii.ogham.core.metrics.MetricNames.RETRY_ATTEMPTS;
+import static fr.sii.ogham.core.metrics.MetricNames.RETRY_BACKOFF;
+import static fr.sii.ogham.core.metrics.MetricNames.SERVICE_SEND;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_ACTION;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_IMPLEMENTATION;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_OUTCOME;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_TYPE;
+import static fr.sii.ogham.core.metrics.MetricNames.TEMPLATE_PARSE;
+import static fr.sii.ogham.core.retry.NamedCallable.named;
+import static fr.sii.ogham.core.util.MetricsUtils.metered;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.async.Awaiter;
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.retry.MaximumAttemptsReachedException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
+import fr.sii.ogham.core.retry.FixedDelayRetry;
+import fr.sii.ogham.core.retry.SimpleRetryExecutor;
+import fr.sii.ogham.core.sender.FallbackSender;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.sender.MeteredSender;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class MetricsTest {
+	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+
+	@Mock MetricsRecorder metrics;
+	@Mock MessageSender sender1;
+	@Mock MessageSender sender2;
+	@Mock Message message;
+	@Mock Callable<String> action;
+	@Mock Awaiter awaiter;
+	@Mock TemplateParser parser;
+
+	@Before
+	public void setup() {
+		when(metrics.isEnabled()).thenReturn(true);
+	}
+
+	@Test
+	public void providerSendIsMeasuredAndCounted() throws MessageException {
+		doNothing().doThrow(IllegalStateException.class).when(sender1).send(any());
+		MessageSender sender = metered(sender1, metrics);
+
+		sender.send(message);
+		assertThrows(IllegalStateException.class, () -> sender.send(message));
+
+		String type = message.getClass().getSimpleName();
+		String impl = sender1.getClass().getSimpleName();
+		verify(metrics).recordTime(eq(PROVIDER_SEND), anyLong(), eq(TAG_TYPE), eq(type), eq(TAG_IMPLEMENTATION), eq(impl), eq(TAG_OUTCOME), eq(OUTCOME_SUCCESS));
+		verify(metrics).recordTime(eq(PROVIDER_SEND), anyLong(), eq(TAG_TYPE), eq(type), eq(TAG_IMPLEMENTATION), eq(impl), eq(TAG_OUTCOME), eq(OUTCOME_FAILURE));
+		verify(metrics).increment(MESSAGES, TAG_TYPE, type, TAG_IMPLEMENTATION, impl, TAG_OUTCOME, OUTCOME_SUCCESS);
+		verify(metrics).increment(MESSAGES, TAG_TYPE, type, TAG_IMPLEMENTATION, impl, TAG_OUTCOME, OUTCOME_FAILURE);
+	}
+
+	@Test
+	public void asyncProviderSendIsMeasuredWhenCompleted() {
+		CompletableFuture<Void> pending = new CompletableFuture<>();
+		when(sender1.sendAsync(any(), any())).thenReturn(pending);
+		MessageSender sender = metered(sender1, metrics);
+
+		CompletableFuture<Void> result = sender.sendAsync(message, null);
+
+		String type = message.getClass().getSimpleName();
+		String impl = sender1.getClass().getSimpleName();
+		verify(metrics, never()).increment(MESSAGES, TAG_TYPE, type, TAG_IMPLEMENTATION, impl, TAG_OUTCOME, OUTCOME_SUCCESS);
+		pending.complete(null);
+		assertThat(result.isDone(), is(true));
+		verify(metrics).recordTime(eq(PROVIDER_SEND), anyLong(), eq(TAG_TYPE), eq(type), eq(TAG_IMPLEMENTATION), eq(impl), eq(TAG_OUTCOME), eq(OUTCOME_SUCCESS));
+		verify(metrics).increment(MESSAGES, TAG_TYPE, type, TAG_IMPLEMENTATION, impl, TAG_OUTCOME, OUTCOME_SUCCESS);
+		verify(sender1, never()).send(any());
+	}
+
+	@Test
+	public void templateParsingIsMeasured() throws Exception {
+		metered(parser, metrics).parse(null, null);
+
+		verify(metrics).recordTime(eq(TEMPLATE_PARSE), anyLong(), eq(TAG_IMPLEMENTATION), anyString());
+	}
+
+	@Test
+	public void retryAttemptsAndBackoffAreRecorded() throws Exception {
+		when(action.call()).thenThrow(IllegalStateException.class).thenThrow(IllegalStateException.class).thenReturn("ok");
+		SimpleRetryExecutor executor = new SimpleRetryExecutor(() -> new FixedDelayRetry(5, 100), awaiter, e -> true, metrics);
+
+		assertThat(executor.execute(named("action", action)), is("ok"));
+
+		verify(metrics, times(2)).increment(RETRY_ATTEMPTS, TAG_ACTION, "action", TAG_OUTCOME, OUTCOME_FAILURE);
+		verify(metrics, times(1)).increment(RETRY_ATTEMPTS, TAG_ACTION, "action", TAG_OUTCOME, OUTCOME_SUCCESS);
+		verify(metrics, times(2)).recordTime(eq(RETRY_BACKOFF), anyLong(), eq(TAG_ACTION), eq("action"));
+	}
+
+	@Test
+	public void failedAttemptsAreRecordedWhenMaximumIsReached() throws Exception {
+		when(action.call()).thenThrow(IllegalStateException.class);
+		SimpleRetryExecutor executor = new SimpleRetryExecutor(() -> new FixedDelayRetry(2, 100), awaiter, e -> true, metrics);
+
+		assertThrows(MaximumAttemptsReachedException.class, () -> executor.execute(named("action", action)));
+
+		verify(metrics, times(2)).increment(RETRY_ATTEMPTS, TAG_ACTION, "action", TAG_OUTCOME, OUTCOME_FAILURE);
+		verify(metrics, never()).increment(RETRY_ATTEMPTS, TAG_ACTION, "action", TAG_OUTCOME, OUTCOME_SUCCESS);
+	}
+
+	@Test
+	public void fallbackHopsAreCounted() throws MessageException {
+		doThrow(IllegalStateException.class).when(sender1).send(any());
+		FallbackSender sender = new FallbackSender(asList(sender1, sender2), metrics);
+
+		sender.send(message);
+		sender.send(message);
+
+		verify(metrics, times(2)).increment(FALLBACK_HOPS, TAG_TYPE, message.getClass().getSimpleName(), TAG_IMPLEMENTATION, sender1.getClass().getSimpleName());
+	}
+
+	@Test
+	public void nothingIsInstrumentedWhenDisabled() throws Exception {
+		when(metrics.isEnabled()).thenReturn(false);
+
+		assertThat(metered(sender1, metrics), is(sameInstance(sender1)));
+		assertThat(metered(parser, metrics), is(sameInstance(parser)));
+		assertThat(metered(sender1, new NoMetricsRecorder()), not(instanceOf(MeteredSender.class)));
+		when(action.call()).thenThrow(IllegalStateException.class).thenReturn("ok");
+		new SimpleRetryExecutor(() -> new FixedDelayRetry(5, 100), awaiter, e -> true, metrics).execute(action);
+		verify(metrics, never()).increment(anyString(), any());
+		verify(metrics, never()).recordTime(anyString(), anyLong(), any());
+	}
+
+	@Test
+	public void serviceSendIsMeasured() {
+		MessagingService service = MessagingBuilder.minimal()
+				.metrics()
+					.recorder(metrics)
+					.and()
+				.build();
+
+		assertThrows(MessagingException.class, () -> service.send(message));
+
+		verify(metrics).recordTime(eq(SERVICE_SEND), anyLong(), eq(TAG_TYPE), eq(message.getClass().getSimpleName()), eq(TAG_OUTCOME), eq(OUTCOME_FAILURE));
+	}
+
+	@Test
+	public void serviceIsNotMeasuredWhenDisabledByProperty() {
+		MessagingService service = MessagingBuilder.minimal()
+				.environment()
+					.properties()
+						.set("ogham.metrics.enable", "false")
+						.and()
+					.and()
+				.metrics()
+					.enable().properties("${ogham.metrics.enable}").and()
+					.recorder(metrics)
+					.and()
+				.build();
+
+		assertThrows(MessagingException.class, () -> service.send(message));
+
+		verify(metrics, never()).recordTime(anyString(), anyLong(), any());
+	}
+}
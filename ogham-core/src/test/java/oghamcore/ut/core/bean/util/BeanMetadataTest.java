@@ -0,0 +1,45 @@
+package oghamcore.ut.core.bean.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+import fr.sii.ogham.core.util.bean.BeanMetadata;
+import fr.sii.ogham.core.util.bean.ReadMethodAccessor;
+import fr.sii.ogham.core.util.bean.SimpleBeanReadWrapper;
+import mock.util.bean.assetinventory.CrewMember;
+
+public class BeanMetadataTest {
+
+	@Test
+	public void introspectedOnlyOnce() {
+		assertThat(BeanMetadata.of(CrewMember.class), sameInstance(BeanMetadata.of(CrewMember.class)));
+	}
+
+	@Test
+	public void publicGettersHaveMethodHandle() {
+		BeanMetadata metadata = BeanMetadata.of(CrewMember.class);
+		assertThat(metadata.getProperties(), containsInAnyOrder("class", "firstName", "lastName"));
+		assertThat(metadata.getGetter("firstName"), notNullValue());
+		assertThat(new ReadMethodAccessor<>(new CrewMember("Odile", "Deray", 42), "firstName").getValue(), is("Odile"));
+	}
+
+	@Test
+	public void nonPublicClassFallbacksToReflection() {
+		BeanMetadata metadata = BeanMetadata.of(NonPublicBean.class);
+		assertThat(metadata.getReadMethod("name"), notNullValue());
+		assertThat(metadata.getGetter("name"), nullValue());
+		assertThat(new SimpleBeanReadWrapper(new NonPublicBean()).getPropertyValue("class"), is((Object) NonPublicBean.class));
+	}
+
+	static class NonPublicBean {
+		public String getName() {
+			return "foo";
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package oghamcore.ut.core.message.content;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.jsoup.nodes.Document;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.message.content.HtmlDocumentContent;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class HtmlDocumentContentTest {
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+
+	@Test
+	public void textContentCantProvideDocument() {
+		HtmlDocumentContent content = new HtmlDocumentContent("hello world");
+		assertThat(content.canProvideDocument(), is(false));
+		assertThat(content.asString(), is("hello world"));
+	}
+
+	@Test
+	public void documentIsParsedOnlyOnce() {
+		HtmlDocumentContent content = new HtmlDocumentContent("<html><head></head><body><p>hello</p></body></html>");
+		assertThat(content.canProvideDocument(), is(true));
+		assertThat(content.asDocument(), sameInstance(content.asDocument()));
+	}
+
+	@Test
+	public void stringIsUntouchedIfDocumentIsNotUpdated() {
+		String html = "<html><head></head><body><p>hello</p></body></html>";
+		HtmlDocumentContent content = new HtmlDocumentContent(html);
+		content.asDocument();
+		assertThat(content.asString(), sameInstance(html));
+	}
+
+	@Test
+	public void updatedDocumentIsSerializedWhenStringIsRequested() {
+		HtmlDocumentContent content = new HtmlDocumentContent("<html><head></head><body><p>hello</p></body></html>");
+		Document doc = content.asDocument();
+		doc.select("p").attr("style", "color: red");
+		content.setDocument(doc);
+		assertThat(content.asString(), containsString("<p style=\"color: red\">hello</p>"));
+	}
+
+	@Test
+	public void updatedStringDiscardsDocument() {
+		HtmlDocumentContent content = new HtmlDocumentContent("<html><head></head><body><p>hello</p></body></html>");
+		Document doc = content.asDocument();
+		content.setStringContent("<html><head></head><body><p>bye</p></body></html>");
+		assertThat(content.asDocument() == doc, is(false));
+		assertThat(content.asDocument().select("p").text(), is("bye"));
+	}
+}
@@ -0,0 +1,119 @@
+package oghamcore.ut.core.mimetype;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.internal.stubbing.answers.AnswerFunctionalInterfaces.toAnswer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.activation.MimeType;
+import javax.activation.MimeTypeParseException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.exception.mimetype.MimeTypeDetectionException;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
+import fr.sii.ogham.core.mimetype.CachingMimeTypeProvider;
+import fr.sii.ogham.core.mimetype.MimeTypeProvider;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class CachingMimeTypeProviderTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Rule
+	public final MockitoRule mockito = MockitoJUnit.rule();
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Mock MimeTypeProvider delegate;
+
+	CachingMimeTypeProvider provider;
+
+	@Before
+	public void setup() throws MimeTypeParseException, MimeTypeDetectionException {
+		provider = new CachingMimeTypeProvider(delegate, 2, 4, new NoMetricsRecorder());
+		when(delegate.detect(any(InputStream.class))).thenReturn(new MimeType("image/png"));
+		when(delegate.getMimeType(any(File.class))).thenReturn(new MimeType("image/gif"));
+	}
+
+	@Test
+	public void sameContentIsDetectedOnlyOnce() throws MimeTypeDetectionException {
+		assertThat(provider.detect(stream(1, 2, 3)).toString(), is("image/png"));
+		assertThat(provider.detect(stream(1, 2, 3)).toString(), is("image/png"));
+		provider.detect(stream(4, 5, 6));
+
+		verify(delegate, times(2)).detect(any(InputStream.class));
+		assertThat(provider.getHits(), is(1L));
+		assertThat(provider.getMisses(), is(2L));
+	}
+
+	@Test
+	public void onlyHeadOfTheStreamIsRead() throws MimeTypeDetectionException {
+		when(delegate.detect(any(InputStream.class))).then(toAnswer((InputStream stream) -> {
+			byte[] read = new byte[10];
+			assertThat("should only provide head", stream.read(read), is(4));
+			return new MimeType("image/png");
+		}));
+
+		provider.detect(stream(1, 2, 3, 4, 5, 6));
+		provider.detect(stream(1, 2, 3, 4, 7, 8));
+
+		verify(delegate, times(1)).detect(any(InputStream.class));
+	}
+
+	@Test
+	public void modifiedFileIsDetectedAgain() throws MimeTypeDetectionException, IOException {
+		File file = temp.newFile();
+		provider.getMimeType(file);
+		provider.getMimeType(file);
+		verify(delegate, times(1)).getMimeType(file);
+
+		file.setLastModified(file.lastModified() - 10000);
+		provider.getMimeType(file);
+		verify(delegate, times(2)).getMimeType(file);
+	}
+
+	@Test
+	public void cacheSizeIsBounded() throws MimeTypeDetectionException {
+		provider.detect(stream(1));
+		provider.detect(stream(2));
+		provider.detect(stream(3));
+
+		assertThat(provider.getSize(), is(2));
+	}
+
+	@Test
+	public void failuresAreNotCached() throws MimeTypeDetectionException {
+		when(delegate.detect(any(InputStream.class))).thenThrow(MimeTypeDetectionException.class);
+
+		assertThrows(MimeTypeDetectionException.class, () -> provider.detect(stream(1)));
+		assertThrows(MimeTypeDetectionException.class, () -> provider.detect(stream(1)));
+
+		verify(delegate, times(2)).detect(any(InputStream.class));
+		assertThat(provider.getSize(), is(0));
+	}
+
+	private static InputStream stream(int... values) {
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			bytes[i] = (byte) values[i];
+		}
+		return new ByteArrayInputStream(bytes);
+	}
+}
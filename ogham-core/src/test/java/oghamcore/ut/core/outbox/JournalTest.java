@@ -0,0 +1,110 @@
+package oghamcore.ut.core.outbox;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import fr.sii.ogham.core.outbox.Journal;
+import fr.sii.ogham.core.outbox.JournalRecord;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class JournalTest {
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+	@Rule public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void messagesNotDoneAreRecovered() throws IOException {
+		File dir = temp.newFolder();
+		try (Journal journal = new Journal(dir, 1024)) {
+			JournalRecord first = journal.append(1, bytes("first"));
+			journal.append(2, bytes("second"));
+			JournalRecord third = journal.append(3, bytes("third"));
+			journal.failed(third);
+			journal.failed(third);
+			journal.done(first);
+			assertThat(new String(journal.read(third), UTF_8), is("third"));
+		}
+		try (Journal journal = new Journal(dir, 1024)) {
+			List<JournalRecord> recovered = journal.getRecovered();
+			assertThat(ids(recovered), contains(2L, 3L));
+			assertThat(new String(journal.read(recovered.get(0)), UTF_8), is("second"));
+			assertThat(recovered.get(1).getAttempts(), is(2));
+			assertThat(journal.getLastId(), is(3L));
+		}
+	}
+
+	@Test
+	public void segmentsAreDeletedOnceAllMessagesAreDone() throws IOException {
+		File dir = temp.newFolder();
+		try (Journal journal = new Journal(dir, 64)) {
+			JournalRecord first = journal.append(1, new byte[40]);
+			JournalRecord second = journal.append(2, new byte[40]);
+			JournalRecord third = journal.append(3, new byte[40]);
+			assertThat(journal.getSegmentCount(), is(3));
+			journal.done(second);
+			assertThat("oldest segment still has a message", journal.getSegmentCount(), is(4));
+			journal.done(first);
+			assertThat(journal.getSegmentCount(), is(2));
+			journal.done(third);
+		}
+		try (Journal journal = new Journal(dir, 64)) {
+			assertThat(journal.getRecovered(), is(empty()));
+		}
+	}
+
+	@Test
+	public void bigMessageUsesDedicatedSegment() throws IOException {
+		File dir = temp.newFolder();
+		try (Journal journal = new Journal(dir, 64)) {
+			JournalRecord record = journal.append(1, new byte[1000]);
+			assertThat(journal.read(record).length, is(1000));
+		}
+		try (Journal journal = new Journal(dir, 64)) {
+			assertThat(journal.getRecovered(), hasSize(1));
+		}
+	}
+
+	@Test
+	public void partiallyWrittenRecordIsIgnored() throws IOException {
+		File dir = temp.newFolder();
+		try (Journal journal = new Journal(dir, 1024)) {
+			journal.append(1, bytes("first"));
+			journal.append(2, bytes("second"));
+		}
+		File segment = dir.listFiles()[0];
+		try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+			// corrupt payload of second record
+			file.seek(13 + 5 + 4 + 13 + 1);
+			file.write('X');
+		}
+		try (Journal journal = new Journal(dir, 1024)) {
+			assertThat(ids(journal.getRecovered()), contains(1L));
+			JournalRecord third = journal.append(3, bytes("third"));
+			assertThat(new String(journal.read(third), UTF_8), is("third"));
+		}
+		try (Journal journal = new Journal(dir, 1024)) {
+			assertThat(ids(journal.getRecovered()), contains(1L, 3L));
+		}
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(UTF_8);
+	}
+
+	private static List<Long> ids(List<JournalRecord> records) {
+		return records.stream().map(JournalRecord::getId).collect(Collectors.toList());
+	}
+}
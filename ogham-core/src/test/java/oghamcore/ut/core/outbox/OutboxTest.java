@@ -0,0 +1,131 @@
+package oghamcore.ut.core.outbox;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.IntSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.clean.CleanException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
+import fr.sii.ogham.core.outbox.Journal;
+import fr.sii.ogham.core.outbox.Outbox;
+import fr.sii.ogham.core.outbox.SimpleMessageCodec;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class OutboxTest {
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
+	@Rule public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Mock MessagingService target;
+
+	File directory;
+	Outbox outbox;
+
+	@Before
+	public void setup() throws IOException {
+		directory = temp.newFolder();
+	}
+
+	@After
+	public void cleanup() throws CleanException {
+		if (outbox != null) {
+			outbox.clean();
+		}
+	}
+
+	@Test
+	public void storedMessagesAreSentByWorkers() throws Exception {
+		outbox = open(3);
+		outbox.enqueue(sms("1"));
+		outbox.enqueue(sms("2"));
+		outbox.enqueue(sms("3"));
+		assertThat(outbox.getBacklog(), is(3));
+
+		outbox.start(target);
+
+		verify(target, timeout(5000).times(3)).send(any());
+		waitUntil(outbox::getBacklog, 0);
+		assertThat(outbox.getInFlight(), is(0));
+		assertThat(outbox.getDeadLetters(), is(0));
+	}
+
+	@Test
+	public void messageIsMovedToDeadLettersOnceMaxAttemptsIsReached() throws Exception {
+		doThrow(new MessageNotSentException("failure", null)).when(target).send(any());
+		outbox = open(2);
+		outbox.start(target);
+
+		outbox.enqueue(sms("1"));
+
+		verify(target, timeout(5000).times(2)).send(any());
+		waitUntil(outbox::getDeadLetters, 1);
+		assertThat(outbox.getBacklog(), is(0));
+		outbox.clean();
+
+		outbox = open(2);
+		assertThat("dead letters are not sent again", outbox.getBacklog(), is(0));
+		assertThat(outbox.getDeadLetters(), is(1));
+	}
+
+	@Test
+	public void messagesNotSentAreRecoveredAfterRestart() throws Exception {
+		outbox = open(3);
+		outbox.enqueue(sms("1"));
+		outbox.enqueue(sms("2"));
+		outbox.clean();
+
+		outbox = open(3);
+		assertThat(outbox.getBacklog(), is(2));
+		outbox.start(target);
+
+		ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+		verify(target, timeout(5000).times(2)).send(sent.capture());
+		assertThat(((StringContent) ((Sms) sent.getAllValues().get(0)).getContent()).asString(), is("1"));
+		waitUntil(outbox::getBacklog, 0);
+		outbox.clean();
+
+		outbox = open(3);
+		assertThat("sent messages are not sent again", outbox.getBacklog(), is(0));
+	}
+
+	private Outbox open(int maxAttempts) throws IOException {
+		Journal journal = new Journal(directory, 1024);
+		Journal deadLetters = new Journal(new File(directory, "dead-letters"), 1024);
+		return new Outbox(journal, deadLetters, new SimpleMessageCodec(), 1, maxAttempts, 10, new NoMetricsRecorder());
+	}
+
+	private static Sms sms(String content) {
+		return new Sms().content(content).from("+33601020304").to("+33605060708");
+	}
+
+	private static void waitUntil(IntSupplier actual, int expected) throws InterruptedException {
+		for (int i = 0; i < 100 && actual.getAsInt() != expected; i++) {
+			Thread.sleep(50);
+		}
+		assertThat(actual.getAsInt(), is(expected));
+	}
+}
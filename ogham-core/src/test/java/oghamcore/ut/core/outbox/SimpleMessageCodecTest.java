@@ -0,0 +1,178 @@
+package oghamcore.ut.core.outbox;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Locale;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.outbox.OutboxException;
+import fr.sii.ogham.core.message.content.EmailVariant;
+import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.message.content.MultiTemplateContent;
+import fr.sii.ogham.core.message.content.StringContent;
+import fr.sii.ogham.core.message.content.StringTemplateContent;
+import fr.sii.ogham.core.message.content.TemplateContent;
+import fr.sii.ogham.core.message.content.TemplateVariantContent;
+import fr.sii.ogham.core.outbox.SimpleMessageCodec;
+import fr.sii.ogham.core.resource.ByteResource;
+import fr.sii.ogham.core.resource.path.ResolvedString;
+import fr.sii.ogham.core.template.context.LocaleContext;
+import fr.sii.ogham.core.template.context.SimpleContext;
+import fr.sii.ogham.email.attachment.Attachment;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.message.RecipientType;
+import fr.sii.ogham.sms.message.PhoneNumber;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.message.addressing.AddressedPhoneNumber;
+import fr.sii.ogham.sms.message.addressing.NumberingPlanIndicator;
+import fr.sii.ogham.sms.message.addressing.TypeOfNumber;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class SimpleMessageCodecTest {
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+
+	SimpleMessageCodec codec = new SimpleMessageCodec(resource -> new ByteResource("resolved", "pdf".getBytes(UTF_8)));
+
+	@Test
+	public void email() throws MessagingException, IOException {
+		Email email = new Email()
+				.subject("subject")
+				.from("Sender <sender@sii.fr>")
+				.to("to@sii.fr")
+				.bcc("Bcc <bcc@sii.fr>")
+				.content(new MultiContent(new StringContent("text"), new StringTemplateContent("<p>[[${name}]]</p>", new SimpleContext("name", "foo"))))
+				.attach(new Attachment("data.bin", new ByteArrayInputStream("data".getBytes(UTF_8)), "description", "inline"))
+				.attach(new Attachment("classpath:/attachment.pdf"));
+
+		Email decoded = (Email) codec.decode(codec.encode(email));
+
+		assertThat(decoded.getSubject(), is("subject"));
+		assertThat(decoded.getFrom().getAddress(), is("sender@sii.fr"));
+		assertThat(decoded.getFrom().getPersonal(), is("Sender"));
+		assertThat(decoded.getRecipients(), hasSize(2));
+		assertThat(decoded.getRecipients().get(1).getAddress().getPersonal(), is("Bcc"));
+		assertThat(decoded.getRecipients().get(1).getType(), is(RecipientType.BCC));
+		MultiContent content = (MultiContent) decoded.getContent();
+		assertThat(((StringContent) content.getContents().get(0)).asString(), is("text"));
+		TemplateContent template = (TemplateContent) content.getContents().get(1);
+		assertThat(template.getPath(), instanceOf(ResolvedString.class));
+		assertThat(((ResolvedString) template.getPath()).getContent(), is("<p>[[${name}]]</p>"));
+		assertThat(template.getContext().getVariables().get("name"), is("foo"));
+		Attachment bytes = decoded.getAttachments().get(0);
+		assertThat(bytes.getResource(), instanceOf(ByteResource.class));
+		assertThat(new String(((ByteResource) bytes.getResource()).getBytes(), UTF_8), is("data"));
+		assertThat(bytes.getResource().getName(), is("data.bin"));
+		assertThat(bytes.getDescription(), is("description"));
+		assertThat(bytes.getDisposition(), is("inline"));
+		Attachment path = decoded.getAttachments().get(1);
+		assertThat(path.getResource(), instanceOf(ByteResource.class));
+		assertThat(new String(((ByteResource) path.getResource()).getBytes(), UTF_8), is("pdf"));
+		assertThat(path.getResource().getName(), is("attachment.pdf"));
+	}
+
+	@Test
+	public void attachmentThatReferencesPathCantBeStoredWithoutTranslator() {
+		Email email = new Email()
+				.to("to@sii.fr")
+				.content("content")
+				.attach(new Attachment("classpath:/attachment.pdf"));
+
+		assertThrows(OutboxException.class, () -> new SimpleMessageCodec().encode(email));
+	}
+
+	@Test
+	public void templateVariants() throws MessagingException, IOException {
+		Email email = new Email()
+				.to("to@sii.fr")
+				.content(new MultiTemplateContent("classpath:/template/register", new LocaleContext(new SimpleContext("count", 42), Locale.FRANCE), EmailVariant.HTML, EmailVariant.TEXT));
+
+		Email decoded = (Email) codec.decode(codec.encode(email));
+
+		MultiContent content = (MultiContent) decoded.getContent();
+		assertThat(content.getContents(), hasSize(2));
+		TemplateVariantContent html = (TemplateVariantContent) content.getContents().get(0);
+		assertThat(html.getPath().getOriginalPath(), is("classpath:/template/register"));
+		assertThat(html.getVariant(), is(EmailVariant.HTML));
+		assertThat(((LocaleContext) html.getContext()).getLocale(), is(Locale.FRANCE));
+		assertThat(html.getContext().getVariables().get("count"), is(42));
+	}
+
+	@Test
+	public void sms() throws OutboxException {
+		Sms sms = new Sms()
+				.from(new AddressedPhoneNumber("SII", TypeOfNumber.ALPHANUMERIC, NumberingPlanIndicator.UNKNOWN))
+				.to("Foo", new PhoneNumber("+33601020304"))
+				.to(new PhoneNumber("+33605060708"))
+				.content("sms content");
+
+		Sms decoded = (Sms) codec.decode(codec.encode(sms));
+
+		AddressedPhoneNumber from = (AddressedPhoneNumber) decoded.getFrom().getPhoneNumber();
+		assertThat(from.getNumber(), is("SII"));
+		assertThat(from.getTon(), is(TypeOfNumber.ALPHANUMERIC));
+		assertThat(from.getNpi(), is(NumberingPlanIndicator.UNKNOWN));
+		assertThat(decoded.getFrom().getName(), is(nullValue()));
+		assertThat(decoded.getRecipients(), hasSize(2));
+		assertThat(decoded.getRecipients().get(0).getName(), is("Foo"));
+		assertThat(decoded.getRecipients().get(0).getPhoneNumber().getNumber(), is("+33601020304"));
+		assertThat(decoded.getRecipients().get(1).getName(), is(nullValue()));
+		assertThat(decoded.getRecipients().get(1).getPhoneNumber().getNumber(), is("+33605060708"));
+		assertThat(((StringContent) decoded.getContent()).asString(), is("sms content"));
+	}
+
+	@Test
+	public void notSerializableVariablesCantBeStored() {
+		Email email = new Email()
+				.to("to@sii.fr")
+				.content(new TemplateContent("classpath:/template/register", new SimpleContext("value", new Object())));
+
+		assertThrows(OutboxException.class, () -> codec.encode(email));
+	}
+
+	@Test
+	public void variablesOfClassesThatAreNotAllowedCantBeRead() throws OutboxException {
+		Email email = new Email()
+				.to("to@sii.fr")
+				.content(new TemplateContent("classpath:/template/register", new SimpleContext("bean", new Bean("foo"))));
+		byte[] encoded = codec.encode(email);
+
+		assertThrows(OutboxException.class, () -> codec.decode(encoded));
+	}
+
+	@Test
+	public void variablesOfAllowedClassesCanBeRead() throws MessagingException {
+		SimpleMessageCodec allowing = new SimpleMessageCodec(null, asList(SimpleMessageCodecTest.class.getPackage().getName()));
+		Email email = new Email()
+				.to("to@sii.fr")
+				.content(new TemplateContent("classpath:/template/register", new SimpleContext("bean", new Bean("foo"))));
+
+		Email decoded = (Email) allowing.decode(allowing.encode(email));
+
+		Bean bean = (Bean) ((TemplateContent) decoded.getContent()).getContext().getVariables().get("bean");
+		assertThat(bean.value, is("foo"));
+	}
+
+	public static class Bean implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final String value;
+
+		public Bean(String value) {
+			super();
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package oghamcore.ut.core.ratelimit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.ratelimit.RateLimitMode;
+import fr.sii.ogham.core.ratelimit.RateLimiter;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class RateLimiterTest {
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+
+	AtomicLong now;
+
+	@Before
+	public void setup() {
+		now = new AtomicLong();
+	}
+
+	@Test
+	public void burstThenRate() {
+		RateLimiter limiter = new RateLimiter(10, 3, RateLimitMode.FAIL_FAST, 0, now::get);
+		assertThat(limiter.tryAcquire(), is(true));
+		assertThat(limiter.tryAcquire(), is(true));
+		assertThat(limiter.tryAcquire(), is(true));
+		assertThat(limiter.tryAcquire(), is(false));
+		now.addAndGet(MILLISECONDS.toNanos(99));
+		assertThat(limiter.tryAcquire(), is(false));
+		now.addAndGet(MILLISECONDS.toNanos(1));
+		assertThat(limiter.tryAcquire(), is(true));
+		assertThat(limiter.tryAcquire(), is(false));
+	}
+
+	@Test
+	public void unusedPermitsAreNotAccumulatedOverBurst() {
+		RateLimiter limiter = new RateLimiter(10, 2, RateLimitMode.FAIL_FAST, 0, now::get);
+		now.addAndGet(MILLISECONDS.toNanos(10000));
+		assertThat(limiter.tryAcquire(), is(true));
+		assertThat(limiter.tryAcquire(), is(true));
+		assertThat(limiter.tryAcquire(), is(false));
+	}
+
+	@Test
+	public void failFastDoesNotWait() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(10, 1, RateLimitMode.FAIL_FAST, 0, now::get);
+		assertThat(limiter.acquire(), is(true));
+		assertThat(limiter.acquire(), is(false));
+	}
+
+	@Test
+	public void blockWaitsForNextPermit() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(20, 1, RateLimitMode.BLOCK, 0);
+		long start = System.nanoTime();
+		assertThat(limiter.acquire(), is(true));
+		assertThat(limiter.acquire(), is(true));
+		assertThat(limiter.acquire(), is(true));
+		assertThat(System.nanoTime() - start, greaterThanOrEqualTo(MILLISECONDS.toNanos(90)));
+	}
+
+	@Test
+	public void blockFailsIfWaitIsTooLong() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(1, 1, RateLimitMode.BLOCK, 100, now::get);
+		assertThat(limiter.acquire(), is(true));
+		assertThat(limiter.acquire(), is(false));
+	}
+
+	@Test
+	public void throttledReducesRateThenAcceptedRestoresIt() {
+		RateLimiter limiter = new RateLimiter(100, 1, RateLimitMode.FAIL_FAST, 0, now::get);
+		limiter.throttled();
+		assertThat(limiter.getCurrentRate(), closeTo(50, 0.001));
+		limiter.throttled();
+		limiter.throttled();
+		limiter.throttled();
+		limiter.throttled();
+		assertThat("never below a sixteenth", limiter.getCurrentRate(), closeTo(6.25, 0.001));
+		limiter.accepted();
+		assertThat(limiter.getCurrentRate(), closeTo(11.25, 0.001));
+		for (int i = 0; i < 30; i++) {
+			limiter.accepted();
+		}
+		assertThat("never above configured rate", limiter.getCurrentRate(), closeTo(100, 0.001));
+	}
+
+	@Test
+	public void reducedRateIsApplied() {
+		RateLimiter limiter = new RateLimiter(10, 1, RateLimitMode.FAIL_FAST, 0, now::get);
+		limiter.throttled();
+		assertThat(limiter.tryAcquire(), is(true));
+		now.addAndGet(MILLISECONDS.toNanos(100));
+		assertThat(limiter.tryAcquire(), is(false));
+		now.addAndGet(MILLISECONDS.toNanos(100));
+		assertThat(limiter.tryAcquire(), is(true));
+	}
+}
@@ -11,6 +11,7 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
 import fr.sii.ogham.core.retry.ExponentialDelayRetry;
+import fr.sii.ogham.core.retry.Jitter;
 
 public class ExponentialDelayRetryExecutorTest {
 	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
@@ -57,4 +58,39 @@ public class ExponentialDelayRetryExecutorTest {
 		assertThat("not terminated", retry.terminated(), is(false));
 		assertThat("remaining retries not updated", retry.getRemainingRetries(), is(5));
 	}
+
+	@Test
+	public void maxDelay() throws Exception {
+		retry = new ExponentialDelayRetry(5, 10L, 30L, Jitter.NONE);
+		assertThat(retry.nextDate(ofEpochMilli(0L), ofEpochMilli(1000L)), is(ofEpochMilli(1010L)));
+		assertThat(retry.nextDate(ofEpochMilli(0L), ofEpochMilli(1000L)), is(ofEpochMilli(1020L)));
+		assertThat("delay is limited", retry.nextDate(ofEpochMilli(0L), ofEpochMilli(1000L)), is(ofEpochMilli(1030L)));
+		assertThat("delay is limited", retry.nextDate(ofEpochMilli(0L), ofEpochMilli(1000L)), is(ofEpochMilli(1030L)));
+	}
+	
+	@Test
+	public void fullJitter() throws Exception {
+		for (int i = 0; i < 100; i++) {
+			retry = new ExponentialDelayRetry(5, 10L, 0L, Jitter.FULL);
+			for (long max : new long[] { 10L, 20L, 40L, 80L, 160L }) {
+				long delay = retry.nextDate(ofEpochMilli(0L), ofEpochMilli(0L)).toEpochMilli();
+				assertThat("delay between 0 and exponential delay", delay >= 0 && delay <= max, is(true));
+			}
+			assertThat(retry.terminated(), is(true));
+		}
+	}
+	
+	@Test
+	public void decorrelatedJitter() throws Exception {
+		for (int i = 0; i < 100; i++) {
+			retry = new ExponentialDelayRetry(5, 10L, 100L, Jitter.DECORRELATED);
+			long previous = 10L;
+			for (int attempt = 0; attempt < 5; attempt++) {
+				long delay = retry.nextDate(ofEpochMilli(0L), ofEpochMilli(0L)).toEpochMilli();
+				assertThat("delay between initial delay and three times the previous delay", delay >= 10L && delay <= Math.min(100L, previous * 3), is(true));
+				previous = delay;
+			}
+			assertThat(retry.terminated(), is(true));
+		}
+	}
 }
@@ -25,6 +25,9 @@ import fr.sii.ogham.core.async.Awaiter;
 import fr.sii.ogham.core.exception.async.WaitException;
 import fr.sii.ogham.core.exception.retry.ExecutionFailedNotRetriedException;
 import fr.sii.ogham.core.exception.retry.MaximumAttemptsReachedException;
+import fr.sii.ogham.core.exception.retry.RetryBudgetExhaustedException;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
+import fr.sii.ogham.core.retry.RetryBudget;
 import fr.sii.ogham.core.retry.RetryStrategy;
 import fr.sii.ogham.core.retry.RetryStrategyProvider;
 import fr.sii.ogham.core.retry.SimpleRetryExecutor;
@@ -138,6 +141,23 @@ public class SimpleRetryExecutorTest {
 		verify(awaiter).waitUntil(ofEpochMilli(400000L));
 	}
 	
+	@Test
+	public void retryBudgetExhausted() throws Exception {
+		// given an action that never works and a budget that allows only one retry
+		when(action.call()).thenThrow(failure);
+		retryExecutor = new SimpleRetryExecutor(provider, awaiter, e -> true, new NoMetricsRecorder(), new RetryBudget(1, 0));
+		// when trying to execute the action
+		try {
+			retryExecutor.execute(action);
+			fail("should not succeed");
+		} catch(Exception e) {
+			assertThat("should throw budget exhausted", e, instanceOf(RetryBudgetExhaustedException.class));
+		}
+		verify(action, times(2)).call();
+		verify(awaiter).waitUntil(ofEpochMilli(100L));
+		verify(awaiter, never()).waitUntil(ofEpochMilli(2000L));
+	}
+	
 	@SuppressWarnings("serial")
 	private static class FooException extends Exception {}
 }
@@ -4,10 +4,13 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -21,9 +24,14 @@ import org.mockito.junit.MockitoRule;
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
 import fr.sii.ogham.core.exception.MultipleCauseExceptionWrapper;
+import fr.sii.ogham.core.exception.circuit.CircuitOpenException;
 import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
 import fr.sii.ogham.core.sender.FallbackSender;
 import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.sender.circuit.CircuitBreaker;
+import fr.sii.ogham.core.sender.circuit.CircuitState;
+import fr.sii.ogham.core.sender.circuit.SenderOrdering;
 import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
 
 public class FallbackSenderTest {
@@ -70,5 +78,48 @@ public class FallbackSenderTest {
 		assertThat("should keep all original causes", cause.getCauses(), hasItem(instanceOf(IllegalArgumentException.class)));
 		assertThat("should keep all original causes", cause.getCauses(), hasItem(instanceOf(MessageException.class)));
 	}
-	
+
+	@Test
+	public void openCircuitIsSkipped() throws MessageException {
+		sender = new FallbackSender(asList(sender1, sender2), new NoMetricsRecorder(), () -> new CircuitBreaker(10, 2, 0.5, 60000, 1.0), SenderOrdering.DECLARATION);
+		doThrow(IllegalArgumentException.class).when(sender1).send(any());
+		doNothing().when(sender2).send(any());
+
+		sender.send(message);
+		sender.send(message);
+		assertThat("circuit should be open", sender.getCircuitBreaker(sender1).getState(), is(CircuitState.OPEN));
+		// sender1 skipped | sender2 ok
+		sender.send(message);
+		sender.send(message);
+
+		verify(sender1, times(2)).send(any());
+		verify(sender2, times(4)).send(any());
+	}
+
+	@Test
+	public void allCircuitsOpenShouldFailWithoutCallingSenders() throws MessageException {
+		sender = new FallbackSender(asList(sender1, sender2), new NoMetricsRecorder(), () -> new CircuitBreaker(10, 1, 0.5, 60000, 1.0), SenderOrdering.DECLARATION);
+		doThrow(IllegalArgumentException.class).when(sender1).send(any());
+		doThrow(IllegalArgumentException.class).when(sender2).send(any());
+		assertThrows("should throw", MessageNotSentException.class, () -> sender.send(message));
+
+		MessageNotSentException e = assertThrows("should throw", MessageNotSentException.class, () -> sender.send(message));
+		MultipleCauseExceptionWrapper cause = (MultipleCauseExceptionWrapper) e.getCause();
+		assertThat("should indicate skipped senders", cause.getCauses(), hasSize(2));
+		assertThat("should indicate skipped senders", cause.getCauses().get(0), instanceOf(CircuitOpenException.class));
+		verify(sender1, times(1)).send(any());
+		verify(sender2, times(1)).send(any());
+	}
+
+	@Test
+	public void fastestSenderIsUsedFirst() throws MessageException {
+		sender = new FallbackSender(asList(sender1, sender2), new NoMetricsRecorder(), () -> new CircuitBreaker(10, 2, 0.5, 60000, 1.0), SenderOrdering.LATENCY);
+		sender.getCircuitBreaker(sender1).recordSuccess(500);
+		sender.getCircuitBreaker(sender2).recordSuccess(100);
+
+		sender.send(message);
+
+		verify(sender1, never()).send(any());
+		verify(sender2, times(1)).send(any());
+	}
 }
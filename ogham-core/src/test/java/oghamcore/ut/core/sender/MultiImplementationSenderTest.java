@@ -0,0 +1,119 @@
+package oghamcore.ut.core.sender;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.condition.Condition;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.util.PriorizedList;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.sender.EmailSender;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class MultiImplementationSenderTest {
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
+
+	@Mock Condition<Message> condition1;
+	@Mock Condition<Message> condition2;
+	@Mock MessageSender impl1;
+	@Mock MessageSender impl2;
+
+	EmailSender sender;
+
+	@Before
+	public void setup() {
+		sender = new EmailSender();
+	}
+
+	@Test
+	public void typeOnlyConditionsAreEvaluatedOncePerMessageClass() throws MessageException {
+		when(condition1.dependsOnTypeOnly()).thenReturn(true);
+		when(condition1.accept(any())).thenReturn(false);
+		when(condition2.dependsOnTypeOnly()).thenReturn(true);
+		when(condition2.accept(any())).thenReturn(true);
+		sender.addImplementation(condition1, impl1, 10);
+		sender.addImplementation(condition2, impl2, 5);
+
+		for (int i = 0; i < 3; i++) {
+			Email email = new Email();
+			assertThat(sender.supports(email), is(true));
+			sender.send(email);
+		}
+
+		verify(condition1, times(1)).accept(any());
+		verify(condition2, times(1)).accept(any());
+		verify(impl1, never()).send(any());
+		verify(impl2, times(3)).send(any());
+	}
+
+	@Test
+	public void conditionsDependingOnMessageAreEvaluatedEachTime() throws MessageException {
+		when(condition1.dependsOnTypeOnly()).thenReturn(true);
+		when(condition1.accept(any())).thenReturn(false);
+		when(condition2.accept(any())).thenReturn(true, false, true);
+		sender.addImplementation(condition1, impl1, 10);
+		sender.addImplementation(condition2, impl2, 5);
+
+		sender.send(new Email());
+		sender.send(new Email());
+		sender.send(new Email());
+
+		verify(condition2, times(3)).accept(any());
+		verify(impl2, times(2)).send(any());
+	}
+
+	@Test
+	public void unsupportedMessageTypeIsRejected() {
+		sender.addImplementation(condition1, impl1, 10);
+
+		assertThat(sender.supports(new Sms()), is(false));
+		assertThat(sender.supports(new Sms()), is(false));
+
+		verify(condition1, never()).accept(any());
+	}
+
+	@Test
+	public void registeringImplementationClearsCachedSelection() throws MessageException {
+		when(condition1.dependsOnTypeOnly()).thenReturn(true);
+		when(condition1.accept(any())).thenReturn(true);
+		when(condition2.dependsOnTypeOnly()).thenReturn(true);
+		when(condition2.accept(any())).thenReturn(true);
+		sender.addImplementation(condition1, impl1, 5);
+		sender.send(new Email());
+
+		sender.addImplementation(condition2, impl2, 10);
+		sender.send(new Email());
+
+		verify(impl1, times(1)).send(any());
+		verify(impl2, times(1)).send(any());
+	}
+
+	@Test
+	public void orderedListIsUpdatedWhenRegistering() {
+		PriorizedList<String> list = new PriorizedList<>();
+		list.register("low", 1).register("high", 10);
+		assertThat(list.getOrdered(), contains("high", "low"));
+		assertThat(list.getOrdered(), is(sameInstance(list.getOrdered())));
+
+		list.register("medium", 5);
+		assertThat(list.getOrdered(), contains("high", "medium", "low"));
+	}
+}
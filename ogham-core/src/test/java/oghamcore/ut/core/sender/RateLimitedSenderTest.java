@@ -0,0 +1,97 @@
+package oghamcore.ut.core.sender;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
+import fr.sii.ogham.core.exception.ratelimit.RateLimitExceededException;
+import fr.sii.ogham.core.exception.ratelimit.ThrottledException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.ratelimit.RateLimitMode;
+import fr.sii.ogham.core.ratelimit.RateLimiter;
+import fr.sii.ogham.core.sender.MessageSender;
+import fr.sii.ogham.core.sender.RateLimitedSender;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class RateLimitedSenderTest {
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
+
+	@Mock MessageSender delegate;
+	@Mock Message message1;
+	@Mock Message message2;
+	@Mock Message message3;
+
+	@Test
+	public void failFastWhenLimitReached() throws MessageException {
+		RateLimitedSender sender = new RateLimitedSender(delegate, new RateLimiter(1, 1, RateLimitMode.FAIL_FAST, 0));
+
+		sender.send(message1);
+		assertThrows("should fail immediately", RateLimitExceededException.class, () -> sender.send(message2));
+
+		verify(delegate, times(1)).send(any());
+	}
+
+	@Test
+	public void throttledByProviderReducesRate() throws MessageException {
+		RateLimiter rateLimiter = new RateLimiter(100, 10, RateLimitMode.FAIL_FAST, 0);
+		RateLimitedSender sender = new RateLimitedSender(delegate, rateLimiter);
+		doThrow(new MessageException("rejected", message1, new ThrottledException("too many messages"))).when(delegate).send(any());
+
+		assertThrows("should forward failure", MessageException.class, () -> sender.send(message1));
+
+		assertThat(rateLimiter.getCurrentRate(), closeTo(50, 0.001));
+	}
+
+	@Test
+	public void onlyAllowedMessagesAreGivenToDelegate() throws Exception {
+		RateLimitedSender sender = new RateLimitedSender(delegate, new RateLimiter(1, 2, RateLimitMode.FAIL_FAST, 0));
+
+		MessagesNotSentException e = assertThrows("should indicate rejected messages", MessagesNotSentException.class, () -> sender.sendAll(asList(message1, message2, message3)));
+
+		assertThat(e.getFailures(), hasSize(1));
+		assertThat(e.getFailures().get(0), instanceOf(RateLimitExceededException.class));
+		assertThat(e.getFailedMessages(), contains(message3));
+		verify(delegate).sendAll(asList(message1, message2));
+	}
+
+	@Test
+	public void messagesWithPermitAreSentBeforeWaitingForNextPermit() throws Exception {
+		RateLimitedSender sender = new RateLimitedSender(delegate, new RateLimiter(1000, 2, RateLimitMode.BLOCK, 0, () -> 0L));
+
+		sender.sendAll(asList(message1, message2, message3));
+
+		InOrder inOrder = inOrder(delegate);
+		inOrder.verify(delegate).sendAll(asList(message1, message2));
+		inOrder.verify(delegate).sendAll(asList(message3));
+	}
+
+	@Test
+	public void eachAcceptedMessageIncreasesRate() throws Exception {
+		RateLimiter rateLimiter = new RateLimiter(100, 10, RateLimitMode.FAIL_FAST, 0);
+		rateLimiter.throttled();
+		RateLimitedSender sender = new RateLimitedSender(delegate, rateLimiter);
+
+		sender.sendAll(asList(message1, message2, message3));
+
+		assertThat(rateLimiter.getCurrentRate(), closeTo(65, 0.001));
+	}
+}
@@ -0,0 +1,104 @@
+package oghamcore.ut.core.sender.circuit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.sender.circuit.CircuitBreaker;
+import fr.sii.ogham.core.sender.circuit.CircuitState;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class CircuitBreakerTest {
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+
+	AtomicLong now;
+	CircuitBreaker circuitBreaker;
+
+	@Before
+	public void setup() {
+		now = new AtomicLong();
+		circuitBreaker = new CircuitBreaker(4, 2, 0.5, 1000, 1.0, now::get);
+	}
+
+	@Test
+	public void notOpenedBeforeMinimumCalls() {
+		circuitBreaker.recordFailure(10);
+		assertThat(circuitBreaker.getState(), is(CircuitState.CLOSED));
+		assertThat(circuitBreaker.allowRequest(), is(true));
+	}
+
+	@Test
+	public void openedWhenFailureRateReached() {
+		circuitBreaker.recordSuccess(10);
+		circuitBreaker.recordFailure(10);
+		assertThat(circuitBreaker.getState(), is(CircuitState.OPEN));
+		assertThat(circuitBreaker.allowRequest(), is(false));
+	}
+
+	@Test
+	public void onlyLastCallsAreTakenIntoAccount() {
+		circuitBreaker.recordFailure(10);
+		circuitBreaker.recordSuccess(10);
+		circuitBreaker.recordSuccess(10);
+		circuitBreaker.recordSuccess(10);
+		circuitBreaker.recordSuccess(10);
+		assertThat(circuitBreaker.getFailureRate(), closeTo(0.0, 0.001));
+		circuitBreaker.recordFailure(10);
+		assertThat(circuitBreaker.getFailureRate(), closeTo(0.25, 0.001));
+		assertThat(circuitBreaker.getState(), is(CircuitState.CLOSED));
+	}
+
+	@Test
+	public void halfOpenAfterOpenDurationAndClosedOnSuccessfulProbe() {
+		circuitBreaker.recordFailure(10);
+		circuitBreaker.recordFailure(10);
+		now.addAndGet(MILLISECONDS.toNanos(999));
+		assertThat(circuitBreaker.allowRequest(), is(false));
+		now.addAndGet(MILLISECONDS.toNanos(1));
+		assertThat(circuitBreaker.allowRequest(), is(true));
+		assertThat(circuitBreaker.getState(), is(CircuitState.HALF_OPEN));
+		circuitBreaker.recordSuccess(10);
+		assertThat(circuitBreaker.getState(), is(CircuitState.CLOSED));
+		assertThat(circuitBreaker.getFailureRate(), closeTo(0.0, 0.001));
+	}
+
+	@Test
+	public void reopenedOnFailedProbe() {
+		circuitBreaker.recordFailure(10);
+		circuitBreaker.recordFailure(10);
+		now.addAndGet(MILLISECONDS.toNanos(1000));
+		assertThat(circuitBreaker.allowRequest(), is(true));
+		circuitBreaker.recordFailure(10);
+		assertThat(circuitBreaker.getState(), is(CircuitState.OPEN));
+		assertThat(circuitBreaker.allowRequest(), is(false));
+	}
+
+	@Test
+	public void noProbeIfRatioIsZero() {
+		circuitBreaker = new CircuitBreaker(4, 2, 0.5, 1000, 0.0, now::get);
+		circuitBreaker.recordFailure(10);
+		circuitBreaker.recordFailure(10);
+		now.addAndGet(MILLISECONDS.toNanos(1000));
+		assertThat(circuitBreaker.allowRequest(), is(false));
+		assertThat(circuitBreaker.getState(), is(CircuitState.HALF_OPEN));
+	}
+
+	@Test
+	public void averageLatency() {
+		assertThat(circuitBreaker.getAverageLatency(), is(-1L));
+		circuitBreaker.recordSuccess(10);
+		circuitBreaker.recordSuccess(30);
+		assertThat(circuitBreaker.getAverageLatency(), is(20L));
+		circuitBreaker.recordSuccess(30);
+		circuitBreaker.recordSuccess(30);
+		circuitBreaker.recordSuccess(30);
+		assertThat(circuitBreaker.getAverageLatency(), is(30L));
+	}
+}
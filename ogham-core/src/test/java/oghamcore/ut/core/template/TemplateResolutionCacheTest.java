@@ -0,0 +1,169 @@
+package oghamcore.ut.core.template;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.cache.ExpiringCache;
+import fr.sii.ogham.core.exception.template.NoEngineDetectionException;
+import fr.sii.ogham.core.exception.template.ParseException;
+import fr.sii.ogham.core.message.content.EmailVariant;
+import fr.sii.ogham.core.message.content.TemplateVariantContent;
+import fr.sii.ogham.core.resource.path.ResourcePath;
+import fr.sii.ogham.core.resource.path.UnresolvedPath;
+import fr.sii.ogham.core.template.context.Context;
+import fr.sii.ogham.core.template.context.LocaleContext;
+import fr.sii.ogham.core.template.detector.TemplateEngineDetector;
+import fr.sii.ogham.core.template.parser.AutoDetectTemplateParser;
+import fr.sii.ogham.core.template.parser.AutoDetectTemplateParser.TemplateImplementation;
+import fr.sii.ogham.core.template.parser.TemplateParser;
+import fr.sii.ogham.template.common.adapter.FirstExistingResourceVariantResolver;
+import fr.sii.ogham.template.common.adapter.VariantResolver;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class TemplateResolutionCacheTest {
+	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+
+	@Mock VariantResolver delegate;
+	@Mock VariantResolver defaultResolver;
+	@Mock TemplateEngineDetector detector1;
+	@Mock TemplateEngineDetector detector2;
+	@Mock TemplateParser parser1;
+	@Mock TemplateParser parser2;
+	@Mock Context context;
+
+	ResourcePath html = new UnresolvedPath("template.html");
+	ResourcePath text = new UnresolvedPath("template.txt");
+
+	@Before
+	public void setup() throws Exception {
+		when(delegate.variantExists(any())).thenAnswer(i -> ((TemplateVariantContent) i.getArgument(0)).getVariant() == EmailVariant.HTML);
+		when(delegate.getRealPath(any())).thenReturn(html);
+	}
+
+	@Test
+	public void existingVariantIsResolvedOnlyOnce() throws Exception {
+		FirstExistingResourceVariantResolver resolver = new FirstExistingResourceVariantResolver(defaultResolver, new ArrayList<>(asList(delegate)), new ExpiringCache<>(0, 0));
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(resolver.getRealPath(template(EmailVariant.HTML, context)), is(html));
+		}
+
+		verify(delegate, times(1)).variantExists(any());
+		verify(delegate, times(1)).getRealPath(any());
+	}
+
+	@Test
+	public void missingVariantIsCached() throws Exception {
+		FirstExistingResourceVariantResolver resolver = new FirstExistingResourceVariantResolver(defaultResolver, new ArrayList<>(asList(delegate)), new ExpiringCache<>(0, 0));
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(resolver.getRealPath(template(EmailVariant.TEXT, context)), is(nullValue()));
+		}
+
+		verify(delegate, times(1)).variantExists(any());
+		verify(defaultResolver, times(5)).getRealPath(any());
+	}
+
+	@Test
+	public void variantAndLocaleArePartOfTheKey() throws Exception {
+		FirstExistingResourceVariantResolver resolver = new FirstExistingResourceVariantResolver(defaultResolver, new ArrayList<>(asList(delegate)), new ExpiringCache<>(0, 0));
+
+		resolver.getRealPath(template(EmailVariant.HTML, context));
+		resolver.getRealPath(template(EmailVariant.TEXT, context));
+		resolver.getRealPath(template(EmailVariant.HTML, new LocaleContext(context, Locale.FRENCH)));
+		resolver.getRealPath(template(EmailVariant.HTML, new LocaleContext(context, Locale.FRENCH)));
+
+		verify(delegate, times(3)).variantExists(any());
+	}
+
+	@Test
+	public void invalidatedResolutionIsComputedAgain() throws Exception {
+		FirstExistingResourceVariantResolver resolver = new FirstExistingResourceVariantResolver(defaultResolver, new ArrayList<>(asList(delegate)), new ExpiringCache<>(0, 0));
+
+		resolver.getRealPath(template(EmailVariant.HTML, context));
+		resolver.invalidate(template(EmailVariant.HTML, context));
+		resolver.getRealPath(template(EmailVariant.HTML, context));
+
+		verify(delegate, times(2)).variantExists(any());
+	}
+
+	@Test
+	public void detectedParserIsCached() throws Exception {
+		when(detector1.canParse(html, context)).thenReturn(true);
+		when(detector2.canParse(text, context)).thenReturn(true);
+		AutoDetectTemplateParser parser = new AutoDetectTemplateParser(asList(new TemplateImplementation(detector1, parser1), new TemplateImplementation(detector2, parser2)), new ExpiringCache<>(0, 0));
+
+		for (int i = 0; i < 5; i++) {
+			parser.parse(html, context);
+			parser.parse(text, context);
+		}
+
+		verify(detector1, times(1)).canParse(html, context);
+		verify(detector1, times(1)).canParse(text, context);
+		verify(parser1, times(5)).parse(html, context);
+		verify(parser2, times(5)).parse(text, context);
+	}
+
+	@Test
+	public void noDetectedParserIsCached() throws Exception {
+		AutoDetectTemplateParser parser = new AutoDetectTemplateParser(asList(new TemplateImplementation(detector1, parser1)), new ExpiringCache<>(0, 0));
+
+		for (int i = 0; i < 3; i++) {
+			try {
+				parser.parse(html, context);
+				fail("should fail");
+			} catch (ParseException e) {
+				assertThat(e.getCause(), instanceOf(NoEngineDetectionException.class));
+			}
+		}
+
+		verify(detector1, times(1)).canParse(html, context);
+	}
+
+	@Test
+	public void expiredValuesAreComputedAgain() throws Exception {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(50, 0);
+
+		cache.get("key", k -> "first");
+		assertThat(cache.get("key", k -> "second"), is("first"));
+		Thread.sleep(100);
+
+		assertThat(cache.get("key", k -> "third"), is("third"));
+	}
+
+	@Test
+	public void oldestValuesAreEvictedWhenMaxSizeIsReached() throws Exception {
+		ExpiringCache<String, String> cache = new ExpiringCache<>(0, 2);
+
+		cache.get("a", k -> "a");
+		cache.get("b", k -> "b");
+		cache.get("c", k -> "c");
+
+		assertThat(cache.size(), is(2));
+		assertThat(cache.get("a", k -> "a2"), is("a2"));
+		assertThat(cache.get("c", k -> "c2"), is("c"));
+	}
+
+	private static TemplateVariantContent template(EmailVariant variant, Context context) {
+		return new TemplateVariantContent("template", variant, context);
+	}
+}
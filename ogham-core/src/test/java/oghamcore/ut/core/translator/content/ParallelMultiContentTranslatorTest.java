@@ -0,0 +1,117 @@
+package oghamcore.ut.core.translator.content;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.when;
+import static org.mockito.internal.stubbing.answers.AnswerFunctionalInterfaces.toAnswer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import fr.sii.ogham.core.async.AsyncExecutors;
+import fr.sii.ogham.core.exception.handler.ContentTranslatorException;
+import fr.sii.ogham.core.exception.handler.NoContentException;
+import fr.sii.ogham.core.exception.handler.TemplateNotFoundException;
+import fr.sii.ogham.core.exception.handler.TemplateParsingFailedException;
+import fr.sii.ogham.core.message.content.Content;
+import fr.sii.ogham.core.message.content.MultiContent;
+import fr.sii.ogham.core.message.content.ParsedContent;
+import fr.sii.ogham.core.translator.content.ContentTranslator;
+import fr.sii.ogham.core.translator.content.MultiContentTranslator;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class ParallelMultiContentTranslatorTest {
+	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+
+	@Mock ContentTranslator templateParser;
+	MultiContentTranslator translator;
+	ExecutorService executor;
+
+	@Mock Content textTemplate;
+	@Mock Content htmlTemplate;
+	@Mock Content otherTemplate;
+	@Mock ParsedContent text;
+	@Mock ParsedContent html;
+	@Mock ParsedContent other;
+	MultiContent content;
+
+	@Before
+	public void setup() {
+		content = new MultiContent(textTemplate, htmlTemplate, otherTemplate);
+		executor = Executors.newFixedThreadPool(2);
+		translator = new MultiContentTranslator(templateParser, new AsyncExecutors(executor, null));
+	}
+
+	@After
+	public void cleanup() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void variantsAreTranslatedConcurrently() throws ContentTranslatorException {
+		CountDownLatch allStarted = new CountDownLatch(3);
+		when(templateParser.translate(textTemplate)).then(toAnswer((Content c) -> awaitOthers(allStarted, text)));
+		when(templateParser.translate(htmlTemplate)).then(toAnswer((Content c) -> awaitOthers(allStarted, html)));
+		when(templateParser.translate(otherTemplate)).then(toAnswer((Content c) -> awaitOthers(allStarted, other)));
+
+		Content result = translator.translate(content);
+
+		assertThat("is multi-content", result, instanceOf(MultiContent.class));
+		assertThat("order is preserved", ((MultiContent) result).getContents(), contains(text, html, other));
+	}
+
+	@Test
+	public void skippedAndNotFoundVariantsAreIgnored() throws ContentTranslatorException {
+		when(templateParser.translate(textTemplate)).thenThrow(TemplateNotFoundException.class);
+		when(templateParser.translate(htmlTemplate)).thenReturn(null);
+		when(templateParser.translate(otherTemplate)).thenReturn(other);
+
+		Content result = translator.translate(content);
+
+		assertThat("one parsed content", ((MultiContent) result).getContents(), contains(other));
+	}
+
+	@Test
+	public void allTemplatesNotFoundShouldThrowNoContentExceptionWithDetailsInOrder() throws ContentTranslatorException {
+		when(templateParser.translate(textTemplate)).thenThrow(new TemplateNotFoundException("text template not found"));
+		when(templateParser.translate(htmlTemplate)).thenThrow(new TemplateNotFoundException("html template not found"));
+		when(templateParser.translate(otherTemplate)).thenThrow(new TemplateNotFoundException("other template not found"));
+
+		NoContentException e = assertThrows("should throw", NoContentException.class, () -> {
+			translator.translate(content);
+		});
+		assertThat("should indicate why", e.getMessage(), is("The message is empty maybe due to some errors:\ntext template not found\nhtml template not found\nother template not found"));
+	}
+
+	@Test
+	public void parsingFailureInAnotherThreadShouldThrowTheOriginalError() throws ContentTranslatorException {
+		when(templateParser.translate(textTemplate)).thenReturn(text);
+		when(templateParser.translate(htmlTemplate)).thenThrow(new TemplateParsingFailedException("failed to parse html template"));
+		when(templateParser.translate(otherTemplate)).thenReturn(other);
+
+		TemplateParsingFailedException e = assertThrows("should throw", TemplateParsingFailedException.class, () -> {
+			translator.translate(content);
+		});
+		assertThat("should indicate why", e.getMessage(), is("failed to parse html template"));
+	}
+
+	private static Content awaitOthers(CountDownLatch allStarted, Content result) throws InterruptedException {
+		allStarted.countDown();
+		assertThat("all variants should be translated at the same time", allStarted.await(5, SECONDS), is(true));
+		return result;
+	}
+}
@@ -0,0 +1,136 @@
+package oghamcore.ut.html.inliner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import fr.sii.ogham.core.cache.LruCache;
+import fr.sii.ogham.core.resource.ByteResource;
+import fr.sii.ogham.core.resource.FileResource;
+import fr.sii.ogham.core.resource.path.ResourcePath;
+import fr.sii.ogham.core.resource.path.UnresolvedPath;
+import fr.sii.ogham.html.inliner.CachedResource;
+import fr.sii.ogham.html.inliner.ExternalCss;
+import fr.sii.ogham.html.inliner.InlinedResourceCache;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class InlinedResourceCacheTest {
+	@Rule public final LoggingTestRule logging = new LoggingTestRule();
+	@Rule public final TemporaryFolder temp = new TemporaryFolder();
+
+	AtomicInteger loads;
+
+	@Before
+	public void setup() {
+		loads = new AtomicInteger();
+	}
+
+	@Test
+	public void sameImageIsLoadedOnlyOnce() {
+		InlinedResourceCache cache = new InlinedResourceCache(new LruCache<>(10, 0, CachedResource::getWeight), false);
+
+		CachedResource first = cache.getImage(path("images/logo.png"), this::image);
+		CachedResource second = cache.getImage(path("images/logo.png"), this::image);
+
+		assertThat("loaded once", loads.get(), is(1));
+		assertThat("same cached image", second, sameInstance(first));
+		assertThat("base64 encoded once", second.getBase64(), sameInstance(first.getBase64()));
+		assertThat("base64", first.getBase64(), is("AQID"));
+	}
+
+	@Test
+	public void cssAndImageWithSamePathAreNotMixed() {
+		InlinedResourceCache cache = new InlinedResourceCache(new LruCache<>(10, 0, CachedResource::getWeight), false);
+
+		CachedResource image = cache.getImage(path("shared"), this::image);
+		CachedResource css = cache.getCss(path("shared"), this::css);
+
+		assertThat("loaded twice", loads.get(), is(2));
+		assertThat("different resources", css, not(sameInstance(image)));
+	}
+
+	@Test
+	public void parsedStylesheetIsKeptWithCachedCss() {
+		InlinedResourceCache cache = new InlinedResourceCache(new LruCache<>(10, 0, CachedResource::getWeight), false);
+		AtomicInteger parsed = new AtomicInteger();
+
+		cache.getCss(path("mail.css"), this::css).getCss().getParsed(String.class, c -> "parsed-" + parsed.incrementAndGet());
+		String result = cache.getCss(path("mail.css"), this::css).getCss().getParsed(String.class, c -> "parsed-" + parsed.incrementAndGet());
+
+		assertThat("parsed once", result, is("parsed-1"));
+	}
+
+	@Test
+	public void leastRecentlyUsedImageIsEvictedWhenMaxWeightIsReached() {
+		// each image weighs 3 bytes + 4 base64 characters
+		InlinedResourceCache cache = new InlinedResourceCache(new LruCache<>(0, 14, CachedResource::getWeight), false);
+
+		cache.getImage(path("a.png"), this::image);
+		cache.getImage(path("b.png"), this::image);
+		cache.getImage(path("a.png"), this::image);
+		cache.getImage(path("c.png"), this::image);
+		assertThat("a, b and c loaded", loads.get(), is(3));
+		cache.getImage(path("a.png"), this::image);
+		assertThat("a is still cached", loads.get(), is(3));
+		cache.getImage(path("b.png"), this::image);
+		assertThat("b has been evicted", loads.get(), is(4));
+	}
+
+	@Test
+	public void modifiedFileIsLoadedAgain() throws IOException {
+		InlinedResourceCache cache = new InlinedResourceCache(new LruCache<>(10, 0, CachedResource::getWeight), true);
+		File file = temp.newFile("mail.css");
+		Files.write(file.toPath(), "a {}".getBytes(StandardCharsets.UTF_8));
+
+		cache.getCss(path(file.getPath()), p -> css(p, file));
+		cache.getCss(path(file.getPath()), p -> css(p, file));
+		assertThat("loaded once", loads.get(), is(1));
+
+		Files.write(file.toPath(), "a { color: red; }".getBytes(StandardCharsets.UTF_8));
+		CachedResource updated = cache.getCss(path(file.getPath()), p -> css(p, file));
+
+		assertThat("loaded again", loads.get(), is(2));
+		assertThat("updated content", updated.getCss().getContent(), is("a { color: red; }"));
+	}
+
+	@Test
+	public void disabledCacheLoadsEveryTime() {
+		InlinedResourceCache cache = new InlinedResourceCache();
+
+		cache.getImage(path("images/logo.png"), this::image);
+		cache.getImage(path("images/logo.png"), this::image);
+
+		assertThat("loaded twice", loads.get(), is(2));
+	}
+
+	private CachedResource image(ResourcePath path) {
+		loads.incrementAndGet();
+		return CachedResource.image(new ByteResource("image", new byte[] { 1, 2, 3 }), new byte[] { 1, 2, 3 }, "image/png");
+	}
+
+	private CachedResource css(ResourcePath path) {
+		loads.incrementAndGet();
+		return CachedResource.css(new ByteResource("css", new byte[0]), new ExternalCss(path, "a {}"));
+	}
+
+	private CachedResource css(ResourcePath path, File file) throws IOException {
+		loads.incrementAndGet();
+		return CachedResource.css(new FileResource(file), new ExternalCss(path, new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)));
+	}
+
+	private static ResourcePath path(String path) {
+		return new UnresolvedPath(path);
+	}
+}
@@ -0,0 +1,105 @@
+package oghamcore.ut.html.inliner.impl;
+
+import static fr.sii.ogham.testing.util.ResourceUtils.resourceAsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.core.resource.path.UnresolvedPath;
+import fr.sii.ogham.html.inliner.ExternalCss;
+import fr.sii.ogham.html.inliner.impl.jsoup.JsoupCssInliner;
+import fr.sii.ogham.testing.assertion.html.AssertHtml;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class JsoupCssInlinerCompiledRulesTest {
+	private static String FOLDER = "/inliner/css/jsoup/";
+	private static String SOURCE_FOLDER = FOLDER+"source/";
+	private static String EXPECTED_FOLDER = FOLDER+"expected/";
+
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	private JsoupCssInliner inliner;
+
+	@Before
+	public void setUp() {
+		inliner = new JsoupCssInliner(true);
+	}
+
+	@Test
+	public void noStyles() throws IOException {
+		String source = resourceAsString(SOURCE_FOLDER+"noStyles.html");
+		String expected = resourceAsString(EXPECTED_FOLDER+"noStyles.html");
+		AssertHtml.assertEquals(expected, inliner.inline(source, new ArrayList<ExternalCss>()));
+	}
+
+	@Test
+	public void internalStyles() throws IOException {
+		String source = resourceAsString(SOURCE_FOLDER+"internalStyles.html");
+		String expected = resourceAsString(EXPECTED_FOLDER+"internalStyles.html");
+		AssertHtml.assertEquals(expected, inliner.inline(source, new ArrayList<ExternalCss>()));
+	}
+
+	@Test
+	public void externalStyles() throws IOException {
+		String source = resourceAsString(SOURCE_FOLDER+"externalStyles.html");
+		String css1 = resourceAsString(SOURCE_FOLDER+"css/external1.css");
+		String css2 = resourceAsString(SOURCE_FOLDER+"css/external2.css");
+		String expected = resourceAsString(EXPECTED_FOLDER+"externalStyles.html");
+		AssertHtml.assertEquals(expected, inliner.inline(source, Arrays.asList(new ExternalCss(new UnresolvedPath("css/external1.css"), css1), new ExternalCss(new UnresolvedPath("css/external2.css"), css2))));
+	}
+
+	@Test
+	public void sameExternalCssReusedForSeveralDocuments() throws IOException {
+		String source = resourceAsString(SOURCE_FOLDER+"externalStyles.html");
+		ExternalCss css1 = new ExternalCss(new UnresolvedPath("css/external1.css"), resourceAsString(SOURCE_FOLDER+"css/external1.css"));
+		ExternalCss css2 = new ExternalCss(new UnresolvedPath("css/external2.css"), resourceAsString(SOURCE_FOLDER+"css/external2.css"));
+		String expected = resourceAsString(EXPECTED_FOLDER+"externalStyles.html");
+		AssertHtml.assertEquals(expected, inliner.inline(source, Arrays.asList(css1, css2)));
+		AssertHtml.assertEquals(expected, inliner.inline(source, Arrays.asList(css1, css2)));
+	}
+
+	@Test
+	public void skipSomeStyles() throws IOException {
+		String source = resourceAsString(SOURCE_FOLDER+"skipSomeStyles.html");
+		String css1 = resourceAsString(SOURCE_FOLDER+"css/external1.css");
+		String css2 = resourceAsString(SOURCE_FOLDER+"css/external2.css");
+		String expected = resourceAsString(EXPECTED_FOLDER+"skipSomeStyles.html");
+		AssertHtml.assertEquals(expected, inliner.inline(source, Arrays.asList(new ExternalCss(new UnresolvedPath("css/external1.css"), css1), new ExternalCss(new UnresolvedPath("css/external2.css"), css2))));
+	}
+
+	@Test
+	public void cssPriority() throws IOException {
+		String source = "<html><head><style>"
+				+ "#main p.text { color: red; }\n"
+				+ ".text { color: blue; }\n"
+				+ "p { color: green; }\n"
+				+ "a:hover { color: yellow; }\n"
+				+ "</style></head><body><div id=\"main\"><p class=\"text\" style=\"font-weight: bold\">foo</p></div></body></html>";
+		Document doc = Jsoup.parse(inliner.inline(source, new ArrayList<ExternalCss>()));
+		assertThat(doc.selectFirst("p").attr("style"), equalTo("color: green; color: blue; color: red;font-weight: bold"));
+		assertThat(doc.selectFirst("div").attr("style"), equalTo(""));
+	}
+
+	@Test
+	public void groupedSelectors() throws IOException {
+		String source = "<html><head><style>"
+				+ "h1, .title, p:not(.text) { margin: 0; }\n"
+				+ "</style></head><body><h1>a</h1><span class=\"title\">b</span><p class=\"text\">c</p><p>d</p></body></html>";
+		Document doc = Jsoup.parse(inliner.inline(source, new ArrayList<ExternalCss>()));
+		assertThat(doc.selectFirst("h1").attr("style"), equalTo("margin: 0;"));
+		assertThat(doc.selectFirst("span").attr("style"), equalTo("margin: 0;"));
+		assertThat(doc.selectFirst("p.text").attr("style"), not(equalTo("margin: 0;")));
+		assertThat(doc.select("p").last().attr("style"), equalTo("margin: 0;"));
+	}
+}
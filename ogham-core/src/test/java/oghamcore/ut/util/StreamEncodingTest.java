@@ -0,0 +1,70 @@
+package oghamcore.ut.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.Test;
+
+import fr.sii.ogham.core.util.Base64Utils;
+import fr.sii.ogham.core.util.IOUtils;
+
+public class StreamEncodingTest {
+
+	@Test
+	public void streamEncodingIsSameAsArrayEncoding() throws IOException {
+		for (int size : new int[] { 0, 1, 2, 3, 4, 3 * 4096 - 1, 3 * 4096, 3 * 4096 + 1, 100_000 }) {
+			byte[] bytes = random(size);
+			assertThat("size=" + size, Base64Utils.encodeToString(new ByteArrayInputStream(bytes)), is(Base64.getEncoder().encodeToString(bytes)));
+		}
+	}
+
+	@Test
+	public void streamEncodingHandlesPartialReads() throws IOException {
+		byte[] bytes = random(50_000);
+		assertThat(Base64Utils.encodeToString(new SlowInputStream(new ByteArrayInputStream(bytes))), is(Base64.getEncoder().encodeToString(bytes)));
+	}
+
+	@Test
+	public void headIsBoundedAndCanBeConcatenated() throws IOException {
+		byte[] bytes = random(1000);
+		InputStream stream = new ByteArrayInputStream(bytes);
+
+		byte[] head = IOUtils.readHead(stream, 100);
+
+		assertThat(head, is(Arrays.copyOf(bytes, 100)));
+		assertThat(IOUtils.toByteArray(new SequenceInputStream(new ByteArrayInputStream(head), stream)), is(bytes));
+	}
+
+	@Test
+	public void headOfShortStreamIsWholeContent() throws IOException {
+		byte[] bytes = random(10);
+
+		assertThat(IOUtils.readHead(new ByteArrayInputStream(bytes), 100), is(bytes));
+	}
+
+	private static byte[] random(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static class SlowInputStream extends FilterInputStream {
+		public SlowInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return super.read(b, off, Math.min(len, 7));
+		}
+	}
+}
@@ -14,6 +14,41 @@ public final class JavaMailConstants {
 	 */
 	public static final int DEFAULT_JAVAMAIL_IMPLEMENTATION_PRIORITY = 50000;
 
+	/**
+	 * Disable pooling of connections to the mail server by default (a new
+	 * connection is opened for every message).
+	 */
+	public static final boolean DEFAULT_POOL_ENABLED = false;
+
+	/**
+	 * Default maximum number of connections to the mail server opened at the
+	 * same time (8).
+	 */
+	public static final int DEFAULT_POOL_SIZE = 8;
+
+	/**
+	 * Default maximum number of messages sent using the same connection (100).
+	 * Set to 0 to reuse the connection without limit.
+	 */
+	public static final int DEFAULT_POOL_MAX_MESSAGES_PER_CONNECTION = 100;
+
+	/**
+	 * Default maximum amount of time (in milliseconds) a connection can stay
+	 * unused in the pool before being closed (30000 ms). Set to 0 to keep
+	 * unused connections forever.
+	 */
+	public static final long DEFAULT_POOL_IDLE_TIMEOUT = 30000L;
+
+	/**
+	 * Default amount of time (in milliseconds) since last use of a connection
+	 * after which a NOOP command is sent to check if the connection is still
+	 * alive before reusing it (5000 ms).
+	 * 
+	 * Set to 0 to always check the connection. Set to a negative value to never
+	 * check the connection.
+	 */
+	public static final long DEFAULT_POOL_VALIDATION_DELAY = 5000L;
+
 	private JavaMailConstants() {
 		super();
 	}
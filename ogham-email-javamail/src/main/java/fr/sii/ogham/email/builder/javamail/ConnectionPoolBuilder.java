@@ -0,0 +1,476 @@
+package fr.sii.ogham.email.builder.javamail;
+
+import javax.mail.Transport;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.email.sender.impl.javamail.ConnectionPoolOptions;
+import fr.sii.ogham.email.sender.impl.javamail.PooledTransportStrategy;
+
+/**
+ * Builder to configure how connections to the mail server are pooled.
+ * 
+ * <p>
+ * Pooling keeps connected {@link Transport}s opened in order to reuse them for
+ * sending several messages. This avoids paying the cost of opening a new
+ * connection (TCP connect, EHLO, STARTTLS, AUTH) for every message.
+ * 
+ * This builder let you configure:
+ * <ul>
+ * <li>Enable/disable connection pooling</li>
+ * <li>The maximum number of connections opened at the same time</li>
+ * <li>The maximum number of messages sent using the same connection</li>
+ * <li>The maximum time a connection can stay unused in the pool</li>
+ * <li>The time after which an unused connection is checked (using a NOOP
+ * command) before being reused</li>
+ * </ul>
+ * 
+ * @author Aurélien Baudet
+ * @see PooledTransportStrategy
+ */
+public class ConnectionPoolBuilder extends AbstractParent<JavaMailBuilder> implements Builder<ConnectionPoolOptions> {
+	private final ConfigurationValueBuilderHelper<ConnectionPoolBuilder, Boolean> enableValueBuilder;
+	private final ConfigurationValueBuilderHelper<ConnectionPoolBuilder, Integer> sizeValueBuilder;
+	private final ConfigurationValueBuilderHelper<ConnectionPoolBuilder, Integer> maxMessagesPerConnectionValueBuilder;
+	private final ConfigurationValueBuilderHelper<ConnectionPoolBuilder, Long> idleTimeoutValueBuilder;
+	private final ConfigurationValueBuilderHelper<ConnectionPoolBuilder, Long> validationDelayValueBuilder;
+
+	public ConnectionPoolBuilder(JavaMailBuilder parent, BuildContext buildContext) {
+		super(parent);
+		this.enableValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
+		this.sizeValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.maxMessagesPerConnectionValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.idleTimeoutValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
+		this.validationDelayValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
+	}
+
+	/**
+	 * Enable or disable pooling of connections to the mail server. If enabled,
+	 * connections are kept opened and reused for sending several messages.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #enable()}.
+	 * 
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * In both cases, {@code enable(true)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param enable
+	 *            true to reuse connections
+	 * @return this instance for fluent chaining
+	 */
+	public ConnectionPoolBuilder enable(Boolean enable) {
+		enableValueBuilder.setValue(enable);
+		return this;
+	}
+
+	/**
+	 * Enable or disable pooling of connections to the mail server. If enabled,
+	 * connections are kept opened and reused for sending several messages.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #enable(Boolean)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * The value {@code true} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ConnectionPoolBuilder, Boolean> enable() {
+		return enableValueBuilder;
+	}
+
+	/**
+	 * The maximum number of connections to the mail server opened at the same
+	 * time. If all connections are in use, sending a new message waits until a
+	 * connection is available.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #size()}.
+	 * 
+	 * <pre>
+	 * .size(16)
+	 * .size()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(8)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .size(16)
+	 * .size()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(8)
+	 * </pre>
+	 * 
+	 * In both cases, {@code size(16)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param size
+	 *            the maximum number of connections
+	 * @return this instance for fluent chaining
+	 */
+	public ConnectionPoolBuilder size(Integer size) {
+		sizeValueBuilder.setValue(size);
+		return this;
+	}
+
+	/**
+	 * The maximum number of connections to the mail server opened at the same
+	 * time. If all connections are in use, sending a new message waits until a
+	 * connection is available.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .size()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(8)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #size(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .size(16)
+	 * .size()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(8)
+	 * </pre>
+	 * 
+	 * The value {@code 16} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ConnectionPoolBuilder, Integer> size() {
+		return sizeValueBuilder;
+	}
+
+	/**
+	 * The maximum number of messages sent using the same connection. Once
+	 * reached, the connection is closed and a new one is opened. Set to 0 to
+	 * reuse the connection without limit.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxMessagesPerConnection()}.
+	 * 
+	 * <pre>
+	 * .maxMessagesPerConnection(500)
+	 * .maxMessagesPerConnection()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .maxMessagesPerConnection(500)
+	 * .maxMessagesPerConnection()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 * 
+	 * In both cases, {@code maxMessagesPerConnection(500)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param max
+	 *            the maximum number of messages per connection
+	 * @return this instance for fluent chaining
+	 */
+	public ConnectionPoolBuilder maxMessagesPerConnection(Integer max) {
+		maxMessagesPerConnectionValueBuilder.setValue(max);
+		return this;
+	}
+
+	/**
+	 * The maximum number of messages sent using the same connection. Once
+	 * reached, the connection is closed and a new one is opened. Set to 0 to
+	 * reuse the connection without limit.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .maxMessagesPerConnection()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #maxMessagesPerConnection(Integer)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .maxMessagesPerConnection(500)
+	 * .maxMessagesPerConnection()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 * 
+	 * The value {@code 500} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ConnectionPoolBuilder, Integer> maxMessagesPerConnection() {
+		return maxMessagesPerConnectionValueBuilder;
+	}
+
+	/**
+	 * The maximum amount of time (in milliseconds) a connection can stay unused
+	 * in the pool. Once expired, the connection is closed. Set to 0 to keep
+	 * unused connections forever.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #idleTimeout()}.
+	 * 
+	 * <pre>
+	 * .idleTimeout(60000L)
+	 * .idleTimeout()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000L)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .idleTimeout(60000L)
+	 * .idleTimeout()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000L)
+	 * </pre>
+	 * 
+	 * In both cases, {@code idleTimeout(60000L)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param timeout
+	 *            the maximum idle time of a connection
+	 * @return this instance for fluent chaining
+	 */
+	public ConnectionPoolBuilder idleTimeout(Long timeout) {
+		idleTimeoutValueBuilder.setValue(timeout);
+		return this;
+	}
+
+	/**
+	 * The maximum amount of time (in milliseconds) a connection can stay unused
+	 * in the pool. Once expired, the connection is closed. Set to 0 to keep
+	 * unused connections forever.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .idleTimeout()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000L)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #idleTimeout(Long)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .idleTimeout(60000L)
+	 * .idleTimeout()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(30000L)
+	 * </pre>
+	 * 
+	 * The value {@code 60000L} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ConnectionPoolBuilder, Long> idleTimeout() {
+		return idleTimeoutValueBuilder;
+	}
+
+	/**
+	 * The amount of time (in milliseconds) since the last use of a connection
+	 * after which a NOOP command is sent to the mail server to check that the
+	 * connection is still alive before reusing it. Set to 0 to always check
+	 * the connection. Set to a negative value to never check the connection.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #validationDelay()}.
+	 * 
+	 * <pre>
+	 * .validationDelay(1000L)
+	 * .validationDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(5000L)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .validationDelay(1000L)
+	 * .validationDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(5000L)
+	 * </pre>
+	 * 
+	 * In both cases, {@code validationDelay(1000L)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param delay
+	 *            the delay before checking the connection
+	 * @return this instance for fluent chaining
+	 */
+	public ConnectionPoolBuilder validationDelay(Long delay) {
+		validationDelayValueBuilder.setValue(delay);
+		return this;
+	}
+
+	/**
+	 * The amount of time (in milliseconds) since the last use of a connection
+	 * after which a NOOP command is sent to the mail server to check that the
+	 * connection is still alive before reusing it. Set to 0 to always check
+	 * the connection. Set to a negative value to never check the connection.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .validationDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(5000L)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #validationDelay(Long)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .validationDelay(1000L)
+	 * .validationDelay()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(5000L)
+	 * </pre>
+	 * 
+	 * The value {@code 1000L} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<ConnectionPoolBuilder, Long> validationDelay() {
+		return validationDelayValueBuilder;
+	}
+
+	@Override
+	public ConnectionPoolOptions build() {
+		ConnectionPoolOptions options = new ConnectionPoolOptions();
+		options.setEnable(enableValueBuilder.getValue());
+		options.setSize(sizeValueBuilder.getValue());
+		options.setMaxMessagesPerConnection(maxMessagesPerConnectionValueBuilder.getValue());
+		options.setIdleTimeout(idleTimeoutValueBuilder.getValue());
+		options.setValidationDelay(validationDelayValueBuilder.getValue());
+		return options;
+	}
+}
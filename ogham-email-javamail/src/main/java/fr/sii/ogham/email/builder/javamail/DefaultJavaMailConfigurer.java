@@ -2,6 +2,11 @@ package fr.sii.ogham.email.builder.javamail;
 
 import static fr.sii.ogham.core.builder.configuration.MayOverride.overrideIfNotSet;
 import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_JAVAMAIL_CONFIGURER_PRIORITY;
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_ENABLED;
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_IDLE_TIMEOUT;
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_MAX_MESSAGES_PER_CONNECTION;
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_SIZE;
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_VALIDATION_DELAY;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import org.slf4j.Logger;
@@ -59,6 +64,23 @@ import fr.sii.ogham.email.sender.impl.javamail.UsernamePasswordAuthenticator;
  * email body if defined. Default charset is UTF-8</li>
  * </ul>
  * </li>
+ * <li>Configures connection pooling:
+ * <ul>
+ * <li>It uses "ogham.email.javamail.pool.enable" property value to enable
+ * reuse of connections to the mail server. Disabled by default</li>
+ * <li>It uses "ogham.email.javamail.pool.size" property value for the maximum
+ * number of connections opened at the same time. Default to 8</li>
+ * <li>It uses "ogham.email.javamail.pool.max-messages-per-connection"
+ * property value for the maximum number of messages sent using the same
+ * connection. Default to 100</li>
+ * <li>It uses "ogham.email.javamail.pool.idle-timeout" property value for the
+ * maximum time (in milliseconds) a connection can stay unused. Default to 30
+ * seconds</li>
+ * <li>It uses "ogham.email.javamail.pool.validation-delay" property value for
+ * the time (in milliseconds) after which an unused connection is checked using
+ * a NOOP command. Default to 5 seconds</li>
+ * </ul>
+ * </li>
  * <li>Configures mimetype detection:
  * <ul>
  * <li>Uses Apache Tika to detect mimetype</li>
@@ -94,6 +116,13 @@ public final class DefaultJavaMailConfigurer {
 					.password().properties("${ogham.email.javamail.authenticator.password}").and()
 					.and()
 				.charset().properties("${ogham.email.javamail.body.charset}").defaultValue(overrideIfNotSet(UTF_8)).and()
+				.pool()
+					.enable().properties("${ogham.email.javamail.pool.enable}").defaultValue(overrideIfNotSet(DEFAULT_POOL_ENABLED)).and()
+					.size().properties("${ogham.email.javamail.pool.size}").defaultValue(overrideIfNotSet(DEFAULT_POOL_SIZE)).and()
+					.maxMessagesPerConnection().properties("${ogham.email.javamail.pool.max-messages-per-connection}").defaultValue(overrideIfNotSet(DEFAULT_POOL_MAX_MESSAGES_PER_CONNECTION)).and()
+					.idleTimeout().properties("${ogham.email.javamail.pool.idle-timeout}").defaultValue(overrideIfNotSet(DEFAULT_POOL_IDLE_TIMEOUT)).and()
+					.validationDelay().properties("${ogham.email.javamail.pool.validation-delay}").defaultValue(overrideIfNotSet(DEFAULT_POOL_VALIDATION_DELAY)).and()
+					.and()
 				.mimetype()
 					.tika()
 						.failIfOctetStream().defaultValue(overrideIfNotSet(false)).and()
@@ -1,6 +1,7 @@
 package fr.sii.ogham.email.builder.javamail;
 
 import static fr.sii.ogham.core.condition.fluent.MessageConditions.requiredProperty;
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_ENABLED;
 
 import java.io.InputStream;
 import java.nio.charset.Charset;
@@ -56,6 +57,8 @@ import fr.sii.ogham.email.exception.handler.UnresolvableAttachmentResourceHandle
 import fr.sii.ogham.email.message.Email;
 import fr.sii.ogham.email.message.content.ContentWithAttachments;
 import fr.sii.ogham.email.sender.impl.JavaMailSender;
+import fr.sii.ogham.email.sender.impl.javamail.AlwaysNewTransportStrategy;
+import fr.sii.ogham.email.sender.impl.javamail.ConnectionPoolOptions;
 import fr.sii.ogham.email.sender.impl.javamail.ContentWithAttachmentsHandler;
 import fr.sii.ogham.email.sender.impl.javamail.FailResourceHandler;
 import fr.sii.ogham.email.sender.impl.javamail.FileResourceHandler;
@@ -64,9 +67,11 @@ import fr.sii.ogham.email.sender.impl.javamail.JavaMailInterceptor;
 import fr.sii.ogham.email.sender.impl.javamail.MapAttachmentResourceHandler;
 import fr.sii.ogham.email.sender.impl.javamail.MultiContentHandler;
 import fr.sii.ogham.email.sender.impl.javamail.OverrideNameWrapperResourceHandler;
+import fr.sii.ogham.email.sender.impl.javamail.PooledTransportStrategy;
 import fr.sii.ogham.email.sender.impl.javamail.PriorizedContentHandler;
 import fr.sii.ogham.email.sender.impl.javamail.StreamResourceHandler;
 import fr.sii.ogham.email.sender.impl.javamail.StringContentHandler;
+import fr.sii.ogham.email.sender.impl.javamail.TransportHandlingStrategy;
 
 /**
  * Configures how Java Mail implementation will send {@link Email}s.
@@ -140,6 +145,19 @@ import fr.sii.ogham.email.sender.impl.javamail.StringContentHandler;
  * 
  * 
  * <p>
+ * By default, a new connection is opened for every message. If you send many
+ * messages, you can keep connections opened and reuse them:
+ * 
+ * <pre>
+ * <code>
+ * .sender(JavaMailBuilder.class)
+ *    .pool()
+ *        .enable(true)
+ * </code>
+ * </pre>
+ * 
+ * 
+ * <p>
  * Finally, Ogham will transform general {@link Email} object into
  * {@link MimeMessage}, {@link MimeMultipart}, {@link MimeBodyPart} objects.
  * This transformation will fit almost all use cases but you may need to
@@ -173,6 +191,7 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 	private JavaMailInterceptor interceptor;
 	private MimetypeDetectionBuilder<JavaMailBuilder> mimetypeBuilder;
 	private CharsetDetector charsetDetector;
+	private ConnectionPoolBuilder poolBuilder;
 
 	/**
 	 * Default constructor when using JavaMail sender without all Ogham work.
@@ -534,6 +553,30 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 		return this;
 	}
 
+	/**
+	 * By default, a new connection to the mail server is opened for every
+	 * message. Pooling keeps connections opened in order to reuse them for
+	 * sending several messages:
+	 * 
+	 * <pre>
+	 * .sender(JavaMailBuilder.class)
+	 *    .pool()
+	 *        .enable(true)
+	 *        .size(10)
+	 *        .maxMessagesPerConnection(500)
+	 * </pre>
+	 * 
+	 * See {@link ConnectionPoolBuilder} for more information.
+	 * 
+	 * @return the builder to configure connection pooling
+	 */
+	public ConnectionPoolBuilder pool() {
+		if (poolBuilder == null) {
+			poolBuilder = new ConnectionPoolBuilder(this, buildContext);
+		}
+		return poolBuilder;
+	}
+
 	/**
 	 * Builder that configures mimetype detection. Detection is used here to
 	 * detect mimetype of {@link Attachment}s.
@@ -657,7 +700,7 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 		LOG.info("Sending email using JavaMail API is registered");
 		LOG.debug("SMTP server address: {}:{}", props.getProperty("mail.host"), props.getProperty("mail.port"));
 		JavaMailAttachmentHandler attachmentHandler = buildAttachmentHandler(mimetypeProvider);
-		return buildContext.register(new JavaMailSender(props, buildContentHandler(mimetypeProvider, attachmentHandler), attachmentHandler, buildAuthenticator(), interceptor));
+		return buildContext.register(new JavaMailSender(props, buildContentHandler(mimetypeProvider, attachmentHandler), attachmentHandler, buildTransportHandlingStrategy(props), interceptor));
 	}
 
 	@Override
@@ -678,6 +721,15 @@ public class JavaMailBuilder extends AbstractParent<EmailBuilder> implements Bui
 		return buildContext.getConverter();
 	}
 
+	private TransportHandlingStrategy buildTransportHandlingStrategy(Properties props) {
+		ConnectionPoolOptions poolOptions = poolBuilder == null ? null : poolBuilder.build();
+		if (poolOptions != null && poolOptions.isEnable(DEFAULT_POOL_ENABLED)) {
+			LOG.debug("Connections to the SMTP server are pooled");
+			return buildContext.register(new PooledTransportStrategy(props, buildAuthenticator(), poolOptions));
+		}
+		return buildContext.register(new AlwaysNewTransportStrategy(props, buildAuthenticator()));
+	}
+
 	private Authenticator buildAuthenticator() {
 		if (this.authenticator != null) {
 			return this.authenticator;
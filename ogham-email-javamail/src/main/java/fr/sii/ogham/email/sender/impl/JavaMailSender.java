@@ -1,5 +1,6 @@
 package fr.sii.ogham.email.sender.impl;
 
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
 import static fr.sii.ogham.core.util.LogUtils.logString;
 import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_JAVAMAIL_IMPLEMENTATION_PRIORITY;
 import static fr.sii.ogham.email.attachment.ContentDisposition.ATTACHMENT;
@@ -7,6 +8,11 @@ import static fr.sii.ogham.email.attachment.ContentDisposition.INLINE;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Properties;
 
 import javax.mail.Authenticator;
@@ -14,8 +20,6 @@ import javax.mail.BodyPart;
 import javax.mail.Message.RecipientType;
 import javax.mail.MessagingException;
 import javax.mail.Multipart;
-import javax.mail.Session;
-import javax.mail.Transport;
 import javax.mail.internet.AddressException;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeBodyPart;
@@ -30,6 +34,8 @@ import fr.sii.ogham.core.env.PropertiesBridge;
 import fr.sii.ogham.core.env.PropertyResolver;
 import fr.sii.ogham.core.exception.InvalidMessageException;
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
+import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.sender.AbstractSpecializedSender;
 import fr.sii.ogham.email.attachment.Attachment;
 import fr.sii.ogham.email.exception.handler.AttachmentResourceHandlerException;
@@ -37,15 +43,18 @@ import fr.sii.ogham.email.exception.handler.ContentHandlerException;
 import fr.sii.ogham.email.message.Email;
 import fr.sii.ogham.email.message.EmailAddress;
 import fr.sii.ogham.email.message.Recipient;
+import fr.sii.ogham.email.sender.impl.javamail.AlwaysNewTransportStrategy;
 import fr.sii.ogham.email.sender.impl.javamail.JavaMailAttachmentHandler;
 import fr.sii.ogham.email.sender.impl.javamail.JavaMailContentHandler;
 import fr.sii.ogham.email.sender.impl.javamail.JavaMailInterceptor;
+import fr.sii.ogham.email.sender.impl.javamail.TransportHandlingStrategy;
 
 /**
  * Java mail API implementation.
  * 
  * @author Aurélien Baudet
  * @see JavaMailContentHandler
+ * @see TransportHandlingStrategy
  */
 @Priority(properties = "${ogham.email.implementation-priority.javamail}", defaultValue = DEFAULT_JAVAMAIL_IMPLEMENTATION_PRIORITY)
 public class JavaMailSender extends AbstractSpecializedSender<Email> {
@@ -72,9 +81,9 @@ public class JavaMailSender extends AbstractSpecializedSender<Email> {
 	private final JavaMailInterceptor interceptor;
 
 	/**
-	 * Authentication mechanism
+	 * How the session is created and how connections are handled
 	 */
-	private final Authenticator authenticator;
+	private final TransportHandlingStrategy transportStrategy;
 
 	public JavaMailSender(PropertyResolver propertyResolver, JavaMailContentHandler contentHandler, JavaMailAttachmentHandler attachmentHandler, Authenticator authenticator) {
 		this(new PropertiesBridge(propertyResolver), contentHandler, attachmentHandler, authenticator);
@@ -90,51 +99,92 @@ public class JavaMailSender extends AbstractSpecializedSender<Email> {
 	}
 
 	public JavaMailSender(Properties properties, JavaMailContentHandler contentHandler, JavaMailAttachmentHandler attachmentHandler, Authenticator authenticator, JavaMailInterceptor interceptor) {
+		this(properties, contentHandler, attachmentHandler, new AlwaysNewTransportStrategy(properties, authenticator), interceptor);
+	}
+
+	public JavaMailSender(Properties properties, JavaMailContentHandler contentHandler, JavaMailAttachmentHandler attachmentHandler, TransportHandlingStrategy transportStrategy,
+			JavaMailInterceptor interceptor) {
 		super();
 		this.properties = properties;
 		this.contentHandler = contentHandler;
 		this.attachmentHandler = attachmentHandler;
-		this.authenticator = authenticator;
+		this.transportStrategy = transportStrategy;
 		this.interceptor = interceptor;
 	}
 
 	@Override
 	public void send(Email email) throws MessageException {
 		try {
-			LOG.debug("Initialize Java mail session with authenticator {} and properties {}", authenticator, properties);
-			LOG.debug("Create the mime message for email {}", logString(email));
-			MimeMessage mimeMsg = createMimeMessage();
-			// set the sender address
-			setFrom(email, mimeMsg);
-			// set recipients (to, cc, bcc)
-			setRecipients(email, mimeMsg);
-			// set subject and content
-			mimeMsg.setSubject(email.getSubject());
-			setMimeContent(email, mimeMsg);
-			// default behavior is done => message is ready but let possibility
-			// to add extra operations to do on the message
-			if (interceptor != null) {
-				LOG.debug("Executing extra operations for email {}", logString(email));
-				interceptor.intercept(mimeMsg, email);
-			}
+			MimeMessage mimeMsg = toMimeMessage(email);
 			// message is ready => send it
 			LOG.info("Sending email using Java Mail API through server {}:{}...", properties.getProperty("mail.smtp.host", properties.getProperty("mail.host")),
 					properties.getProperty("mail.smtp.port", properties.getProperty("mail.port")));
-			Transport.send(mimeMsg);
+			transportStrategy.send(mimeMsg);
 		} catch (MessagingException | ContentHandlerException | AttachmentResourceHandlerException | IOException e) {
 			throw new MessageException("failed to send message using Java Mail API", email, e);
 		}
 	}
 
 	/**
-	 * Initialize the session and create the mime message.
+	 * Sends several emails at once. Each email is converted to a
+	 * {@link MimeMessage} and then all the messages are given to the
+	 * {@link TransportHandlingStrategy} at once (see
+	 * {@link TransportHandlingStrategy#sendAll(List)}). This way, the same
+	 * connection can be used to send all the messages.
 	 * 
-	 * @return the mime message
+	 * @param messages
+	 *            the emails to send
+	 * @throws MessagesNotSentException
+	 *             when at least one email couldn't be sent
 	 */
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		List<MessageException> failures = new ArrayList<>();
+		Map<MimeMessage, Email> mimeMessages = new IdentityHashMap<>();
+		List<MimeMessage> ready = new ArrayList<>(messages.size());
+		for (Message message : messages) {
+			Email email = (Email) message;
+			try {
+				MimeMessage mimeMsg = toMimeMessage(email);
+				mimeMessages.put(mimeMsg, email);
+				ready.add(mimeMsg);
+			} catch (InvalidMessageException e) {
+				failures.add(e);
+			} catch (MessagingException | ContentHandlerException | AttachmentResourceHandlerException | IOException e) {
+				failures.add(new MessageException("failed to send message using Java Mail API", email, e));
+			}
+		}
+		LOG.info("Sending {} emails using Java Mail API through server {}:{}...", ready.size(), properties.getProperty("mail.smtp.host", properties.getProperty("mail.host")),
+				properties.getProperty("mail.smtp.port", properties.getProperty("mail.port")));
+		for (Entry<MimeMessage, MessagingException> failure : transportStrategy.sendAll(ready).entrySet()) {
+			failures.add(new MessageException("failed to send message using Java Mail API", mimeMessages.get(failure.getKey()), failure.getValue()));
+		}
+		failIfAny(failures, messages.size());
+	}
+
+	private MimeMessage toMimeMessage(Email email) throws InvalidMessageException, MessagingException, ContentHandlerException, AttachmentResourceHandlerException, IOException {
+		LOG.debug("Initialize Java mail session using {} and properties {}", transportStrategy, properties);
+		LOG.debug("Create the mime message for email {}", logString(email));
+		MimeMessage mimeMsg = createMimeMessage();
+		// set the sender address
+		setFrom(email, mimeMsg);
+		// set recipients (to, cc, bcc)
+		setRecipients(email, mimeMsg);
+		// set subject and content
+		mimeMsg.setSubject(email.getSubject());
+		setMimeContent(email, mimeMsg);
+		// default behavior is done => message is ready but let possibility
+		// to add extra operations to do on the message
+		if (interceptor != null) {
+			LOG.debug("Executing extra operations for email {}", logString(email));
+			interceptor.intercept(mimeMsg, email);
+		}
+		return mimeMsg;
+	}
+
 	private MimeMessage createMimeMessage() {
 		// prepare the message
-		Session session = Session.getInstance(properties, authenticator);
-		return new MimeMessage(session);
+		return new MimeMessage(transportStrategy.getSession());
 	}
 
 	/**
@@ -0,0 +1,112 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.mail.Address;
+import javax.mail.Authenticator;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Simple management of JavaMail connections.
+ *
+ * For each message:
+ * <ol>
+ * <li>Create a new {@link Session}</li>
+ * <li>Connect to the mail server</li>
+ * <li>Send the message</li>
+ * <li>Close the connection</li>
+ * </ol>
+ *
+ * <p>
+ * When several messages are sent at once (see {@link #sendAll(List)}), a
+ * single connection is used to send all the messages. If sending a message
+ * fails for another reason than a rejection of the message by the server, the
+ * connection is closed and a new connection is opened for the remaining
+ * messages.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class AlwaysNewTransportStrategy implements TransportHandlingStrategy {
+	private static final Logger LOG = LoggerFactory.getLogger(AlwaysNewTransportStrategy.class);
+
+	private final Properties properties;
+	private final Authenticator authenticator;
+
+	public AlwaysNewTransportStrategy(Properties properties, Authenticator authenticator) {
+		super();
+		this.properties = properties;
+		this.authenticator = authenticator;
+	}
+
+	@Override
+	public Session getSession() {
+		return Session.getInstance(properties, authenticator);
+	}
+
+	@Override
+	public void send(MimeMessage message) throws MessagingException {
+		Transport.send(message);
+	}
+
+	@Override
+	public Map<MimeMessage, MessagingException> sendAll(List<MimeMessage> messages) {
+		Map<MimeMessage, MessagingException> failures = new IdentityHashMap<>();
+		Transport transport = null;
+		try {
+			for (MimeMessage message : messages) {
+				try {
+					message.saveChanges();
+					Address[] recipients = message.getAllRecipients();
+					if (recipients == null || recipients.length == 0) {
+						throw new SendFailedException("No recipient addresses");
+					}
+					if (transport == null) {
+						transport = message.getSession().getTransport();
+						transport.connect();
+					}
+					transport.sendMessage(message, recipients);
+				} catch (SendFailedException e) {
+					// message rejected by the server but the connection is
+					// still valid
+					failures.put(message, e);
+				} catch (MessagingException e) {
+					failures.put(message, e);
+					// connection may be broken => open a new one for next
+					// message
+					close(transport);
+					transport = null;
+				}
+			}
+		} finally {
+			close(transport);
+		}
+		return failures;
+	}
+
+	private static void close(Transport transport) {
+		if (transport == null) {
+			return;
+		}
+		try {
+			transport.close();
+		} catch (MessagingException e) {
+			LOG.debug("Failed to close connection to the mail server", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "AlwaysNewTransportStrategy";
+	}
+}
@@ -0,0 +1,97 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import javax.mail.Transport;
+
+/**
+ * Options used by {@link PooledTransportStrategy} to keep connected
+ * {@link Transport}s and reuse them for the next messages instead of opening a
+ * new connection to the SMTP server for each message.
+ * 
+ * <p>
+ * The options are configured using
+ * {@link fr.sii.ogham.email.builder.javamail.ConnectionPoolBuilder}. A
+ * {@code null} value means that the default value is used.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class ConnectionPoolOptions {
+	/**
+	 * Enable or disable the pooling of connected {@link Transport}s.
+	 */
+	private Boolean enable;
+	/**
+	 * The maximum number of connections opened at the same time.
+	 */
+	private Integer size;
+	/**
+	 * The maximum number of messages sent using the same connection. Once
+	 * reached, the connection is closed and a new one is opened.
+	 */
+	private Integer maxMessagesPerConnection;
+	/**
+	 * The maximum amount of time (in milliseconds) a connection can stay unused
+	 * in the pool. Once expired, the connection is closed.
+	 */
+	private Long idleTimeout;
+	/**
+	 * The amount of time (in milliseconds) since the last use of a connection
+	 * after which a NOOP command is sent to check that the connection is still
+	 * alive before reusing it.
+	 */
+	private Long validationDelay;
+
+	public ConnectionPoolOptions() {
+		super();
+	}
+
+	public ConnectionPoolOptions(boolean enable) {
+		super();
+		this.enable = enable;
+	}
+
+	public Boolean getEnable() {
+		return enable;
+	}
+
+	public void setEnable(Boolean enable) {
+		this.enable = enable;
+	}
+
+	public boolean isEnable(boolean defaultValue) {
+		return enable == null ? defaultValue : enable;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public Integer getMaxMessagesPerConnection() {
+		return maxMessagesPerConnection;
+	}
+
+	public void setMaxMessagesPerConnection(Integer maxMessagesPerConnection) {
+		this.maxMessagesPerConnection = maxMessagesPerConnection;
+	}
+
+	public Long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	public void setIdleTimeout(Long idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+	public Long getValidationDelay() {
+		return validationDelay;
+	}
+
+	public void setValidationDelay(Long validationDelay) {
+		this.validationDelay = validationDelay;
+	}
+
+}
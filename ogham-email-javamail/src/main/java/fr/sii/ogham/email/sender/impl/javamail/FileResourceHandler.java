@@ -1,13 +1,11 @@
 package fr.sii.ogham.email.sender.impl.javamail;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.IOException;
 
 import javax.activation.DataHandler;
 import javax.mail.BodyPart;
 import javax.mail.MessagingException;
-import javax.mail.util.ByteArrayDataSource;
 
 import fr.sii.ogham.core.exception.mimetype.MimeTypeDetectionException;
 import fr.sii.ogham.core.mimetype.MimeTypeProvider;
@@ -20,6 +18,10 @@ import fr.sii.ogham.email.exception.handler.AttachmentResourceHandlerException;
  * Specific implementation for files so that mimetype detection may also use the
  * file name to guess the mimetype.
  * 
+ * <p>
+ * The file is not loaded in memory: its content is streamed from the disk
+ * when the email is written (see {@link ResourceDataSource}).
+ * 
  * @author Aurélien Baudet
  *
  */
@@ -39,16 +41,21 @@ public class FileResourceHandler implements JavaMailAttachmentResourceHandler {
 	@Override
 	public void setData(BodyPart part, NamedResource resource, Attachment attachment) throws AttachmentResourceHandlerException {
 		FileResource fileResource = (FileResource) resource;
-		try (FileInputStream fis = new FileInputStream(fileResource.getFile())) {
-			part.setDataHandler(new DataHandler(new ByteArrayDataSource(fis, getMimetype(attachment, fileResource))));
+		File file = fileResource.getFile();
+		// ensure that the file exists and is readable now instead of failing
+		// later while the email is written
+		if (!file.isFile()) {
+			throw new AttachmentResourceHandlerException(ERROR_MESSAGE_PREFIX + resource.getName() + "'. File doesn't exists", attachment, new FileNotFoundException(file + " (file not found)"));
+		}
+		if (!file.canRead()) {
+			throw new AttachmentResourceHandlerException(ERROR_MESSAGE_PREFIX + resource.getName() + "'. File can't be read", attachment, new FileNotFoundException(file + " (permission denied)"));
+		}
+		try {
+			part.setDataHandler(new DataHandler(new ResourceDataSource(fileResource, getMimetype(attachment, fileResource))));
 		} catch (MimeTypeDetectionException e) {
 			throw new AttachmentResourceHandlerException(ERROR_MESSAGE_PREFIX + resource.getName() + "'. Mime type can't be detected", attachment, e);
-		} catch (FileNotFoundException e) {
-			throw new AttachmentResourceHandlerException(ERROR_MESSAGE_PREFIX + resource.getName() + "'. File doesn't exists", attachment, e);
 		} catch (MessagingException e) {
 			throw new AttachmentResourceHandlerException(ERROR_MESSAGE_PREFIX + resource.getName() + "'", attachment, e);
-		} catch (IOException e) {
-			throw new AttachmentResourceHandlerException(ERROR_MESSAGE_PREFIX + resource.getName() + "'. File can't be read", attachment, e);
 		}
 	}
 
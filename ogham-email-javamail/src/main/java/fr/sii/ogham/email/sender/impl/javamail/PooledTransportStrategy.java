@@ -0,0 +1,269 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_IDLE_TIMEOUT;
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_MAX_MESSAGES_PER_CONNECTION;
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_SIZE;
+import static fr.sii.ogham.email.JavaMailConstants.DEFAULT_POOL_VALIDATION_DELAY;
+
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+import javax.mail.Address;
+import javax.mail.Authenticator;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.clean.Cleanable;
+import fr.sii.ogham.core.exception.clean.CleanException;
+
+/**
+ * Management of JavaMail connections that keeps a bounded pool of connected
+ * {@link Transport}s in order to avoid opening a new connection (TCP connect,
+ * EHLO, STARTTLS, AUTH) for every message.
+ *
+ * <p>
+ * The {@link Session} is created once and then shared by all messages.
+ *
+ * <p>
+ * For each message:
+ * <ol>
+ * <li>Wait until a connection slot is available (at most {@code size}
+ * connections are used at the same time)</li>
+ * <li>Take the most recently used connection from the pool. If the connection
+ * has been unused for more than {@code idleTimeout}, it is closed and the next
+ * one is tried. If the connection has been unused for more than
+ * {@code validationDelay}, a NOOP command is sent to check that it is still
+ * alive. If no connection is available, a new one is opened.</li>
+ * <li>Send the message</li>
+ * <li>Give back the connection to the pool (or close it if
+ * {@code maxMessagesPerConnection} is reached)</li>
+ * </ol>
+ *
+ * <p>
+ * If sending fails because the connection is broken (the server has closed
+ * the connection for example), the connection is discarded. If the
+ * connection was taken from the pool, the message is sent again using a new
+ * connection.
+ *
+ * <p>
+ * If the server rejects the message (see {@link SendFailedException}), the
+ * connection is still usable and is given back to the pool.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class PooledTransportStrategy implements TransportHandlingStrategy, Cleanable {
+	private static final Logger LOG = LoggerFactory.getLogger(PooledTransportStrategy.class);
+
+	private final Properties properties;
+	private final Authenticator authenticator;
+	private final int maxMessagesPerConnection;
+	private final long idleTimeout;
+	private final long validationDelay;
+	private final Semaphore slots;
+	private final Deque<PooledTransport> idle;
+	private volatile Session session;
+	private volatile boolean closed;
+
+	/**
+	 * Initializes the pool using default values for any unset option.
+	 *
+	 * @param properties
+	 *            the properties used to initialize the session
+	 * @param authenticator
+	 *            the authentication mechanism (may be null)
+	 * @param options
+	 *            the pool options
+	 */
+	public PooledTransportStrategy(Properties properties, Authenticator authenticator, ConnectionPoolOptions options) {
+		super();
+		this.properties = properties;
+		this.authenticator = authenticator;
+		this.maxMessagesPerConnection = valueOrDefault(options.getMaxMessagesPerConnection(), DEFAULT_POOL_MAX_MESSAGES_PER_CONNECTION);
+		this.idleTimeout = valueOrDefault(options.getIdleTimeout(), DEFAULT_POOL_IDLE_TIMEOUT);
+		this.validationDelay = valueOrDefault(options.getValidationDelay(), DEFAULT_POOL_VALIDATION_DELAY);
+		this.slots = new Semaphore(Math.max(1, valueOrDefault(options.getSize(), DEFAULT_POOL_SIZE)), true);
+		this.idle = new ConcurrentLinkedDeque<>();
+	}
+
+	@Override
+	public Session getSession() {
+		Session s = session;
+		if (s == null) {
+			synchronized (this) {
+				s = session;
+				if (s == null) {
+					LOG.debug("Initialize shared Java mail session");
+					s = Session.getInstance(properties, authenticator);
+					session = s;
+				}
+			}
+		}
+		return s;
+	}
+
+	@Override
+	public void send(MimeMessage message) throws MessagingException {
+		message.saveChanges();
+		Address[] recipients = message.getAllRecipients();
+		if (recipients == null || recipients.length == 0) {
+			throw new SendFailedException("No recipient addresses");
+		}
+		acquireSlot();
+		try {
+			send(borrow(), message, recipients, true);
+		} finally {
+			slots.release();
+		}
+	}
+
+	@Override
+	public void clean() throws CleanException {
+		closed = true;
+		PooledTransport pooled;
+		while ((pooled = idle.pollFirst()) != null) {
+			pooled.close();
+		}
+	}
+
+	private void send(PooledTransport pooled, MimeMessage message, Address[] recipients, boolean retryIfBroken) throws MessagingException {
+		try {
+			pooled.send(message, recipients);
+			giveBack(pooled);
+		} catch (SendFailedException e) {
+			// message rejected by the server but the connection is still valid
+			giveBack(pooled);
+			throw e;
+		} catch (MessagingException e) {
+			pooled.close();
+			if (!retryIfBroken || !pooled.isReused()) {
+				throw e;
+			}
+			LOG.debug("Pooled connection seems to be broken, retry using a new connection", e);
+			send(connect(), message, recipients, false);
+		}
+	}
+
+	private void acquireSlot() throws MessagingException {
+		try {
+			slots.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessagingException("Interrupted while waiting for an available connection", e);
+		}
+	}
+
+	private PooledTransport borrow() throws MessagingException {
+		PooledTransport pooled;
+		while ((pooled = idle.pollFirst()) != null) {
+			if (isReusable(pooled)) {
+				pooled.reused();
+				return pooled;
+			}
+			pooled.close();
+		}
+		return connect();
+	}
+
+	private boolean isReusable(PooledTransport pooled) {
+		long idleTime = pooled.getIdleTime();
+		if (idleTimeout > 0 && idleTime >= idleTimeout) {
+			LOG.debug("Connection unused for {}ms (idle timeout: {}ms) => evicted", idleTime, idleTimeout);
+			return false;
+		}
+		if (validationDelay >= 0 && idleTime >= validationDelay) {
+			LOG.debug("Connection unused for {}ms => validate it", idleTime);
+			return pooled.isAlive();
+		}
+		return true;
+	}
+
+	private PooledTransport connect() throws MessagingException {
+		LOG.debug("Opening a new connection to the mail server");
+		Transport transport = getSession().getTransport();
+		transport.connect();
+		return new PooledTransport(transport);
+	}
+
+	private void giveBack(PooledTransport pooled) {
+		if (closed) {
+			pooled.close();
+			return;
+		}
+		if (maxMessagesPerConnection > 0 && pooled.getSentMessages() >= maxMessagesPerConnection) {
+			LOG.debug("Maximum messages per connection reached ({}) => connection closed", maxMessagesPerConnection);
+			pooled.close();
+			return;
+		}
+		idle.offerFirst(pooled);
+	}
+
+	private static int valueOrDefault(Integer value, int defaultValue) {
+		return value == null ? defaultValue : value;
+	}
+
+	private static long valueOrDefault(Long value, long defaultValue) {
+		return value == null ? defaultValue : value;
+	}
+
+	@Override
+	public String toString() {
+		return "PooledTransportStrategy";
+	}
+
+	private static class PooledTransport {
+		private final Transport transport;
+		private int sentMessages;
+		private long lastUse;
+		private boolean reused;
+
+		public PooledTransport(Transport transport) {
+			super();
+			this.transport = transport;
+			this.lastUse = System.currentTimeMillis();
+		}
+
+		public void send(MimeMessage message, Address[] recipients) throws MessagingException {
+			transport.sendMessage(message, recipients);
+			sentMessages++;
+			lastUse = System.currentTimeMillis();
+		}
+
+		public boolean isAlive() {
+			// for SMTP, this sends a NOOP command to the server
+			return transport.isConnected();
+		}
+
+		public void close() {
+			try {
+				transport.close();
+			} catch (MessagingException e) {
+				LOG.debug("Failed to close connection to the mail server", e);
+			}
+		}
+
+		public long getIdleTime() {
+			return System.currentTimeMillis() - lastUse;
+		}
+
+		public int getSentMessages() {
+			return sentMessages;
+		}
+
+		public void reused() {
+			reused = true;
+		}
+
+		public boolean isReused() {
+			return reused;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.activation.DataSource;
+
+import fr.sii.ogham.core.resource.NamedResource;
+import fr.sii.ogham.core.resource.Resource;
+
+/**
+ * {@link DataSource} that directly streams the content of a {@link Resource}.
+ *
+ * <p>
+ * Contrary to {@link javax.mail.util.ByteArrayDataSource}, the content is not
+ * copied in memory. A new stream is opened each time JavaMail needs to read
+ * the content (a {@link Resource} must be readable several times). For a
+ * file, the content is read from the file while the email is written to the
+ * SMTP server.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class ResourceDataSource implements DataSource {
+	private final NamedResource resource;
+	private final String contentType;
+
+	/**
+	 * Initializes with the resource to stream and the already known content
+	 * type.
+	 *
+	 * @param resource
+	 *            the resource to stream
+	 * @param contentType
+	 *            the mimetype of the resource
+	 */
+	public ResourceDataSource(NamedResource resource, String contentType) {
+		super();
+		this.resource = resource;
+		this.contentType = contentType;
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		return resource.getInputStream();
+	}
+
+	@Override
+	public OutputStream getOutputStream() throws IOException {
+		throw new IOException("Resource " + resource.getName() + " is read-only");
+	}
+
+	@Override
+	public String getContentType() {
+		return contentType;
+	}
+
+	@Override
+	public String getName() {
+		return resource.getName();
+	}
+
+}
@@ -1,5 +1,7 @@
 package fr.sii.ogham.email.sender.impl.javamail;
 
+import static fr.sii.ogham.core.CoreConstants.MIMETYPE_DETECTION_HEAD_SIZE;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -7,7 +9,6 @@ import java.io.InputStream;
 import javax.activation.DataHandler;
 import javax.mail.BodyPart;
 import javax.mail.MessagingException;
-import javax.mail.util.ByteArrayDataSource;
 
 import fr.sii.ogham.core.exception.mimetype.MimeTypeDetectionException;
 import fr.sii.ogham.core.mimetype.MimeTypeProvider;
@@ -20,6 +21,11 @@ import fr.sii.ogham.email.exception.handler.AttachmentResourceHandlerException;
 /**
  * Implementation that is able to handle any {@link Resource}.
  * 
+ * <p>
+ * The content of the resource is not loaded in memory: only the head of the
+ * stream is read to detect the mimetype (if not explicitly provided) and the
+ * content is then streamed using a {@link ResourceDataSource}.
+ * 
  * @author Aurélien Baudet
  *
  */
@@ -38,20 +44,10 @@ public class StreamResourceHandler implements JavaMailAttachmentResourceHandler
 	@SuppressWarnings("squid:S1192")
 	public void setData(BodyPart part, NamedResource resource, Attachment attachment) throws AttachmentResourceHandlerException {
 		try (InputStream stream = resource.getInputStream()) {
-			InputStream s = stream;
-			// stream is read twice, if stream can't handle reset => create a
-			// stream that is able to do it
-			if (!stream.markSupported()) {
-				s = new ByteArrayInputStream(IOUtils.toByteArray(stream));
-			}
-			// mark to reset at the start of the stream
-			s.mark(Integer.MAX_VALUE);
-			// detect the mimetype
-			String mimetype = getMimetype(attachment, s);
-			// reset the stream
-			s.reset();
-			// set the content
-			part.setDataHandler(new DataHandler(new ByteArrayDataSource(s, mimetype)));
+			// only the head of the stream is read to detect the mimetype. The
+			// content is streamed from the resource when the email is written
+			String mimetype = getMimetype(attachment, stream);
+			part.setDataHandler(new DataHandler(new ResourceDataSource(resource, mimetype)));
 		} catch (MimeTypeDetectionException e) {
 			throw new AttachmentResourceHandlerException("Failed to attach " + resource.getName() + ". Mime type can't be detected", attachment, e);
 		} catch (MessagingException e) {
@@ -61,11 +57,11 @@ public class StreamResourceHandler implements JavaMailAttachmentResourceHandler
 		}
 	}
 
-	private String getMimetype(Attachment attachment, InputStream stream) throws MimeTypeDetectionException {
+	private String getMimetype(Attachment attachment, InputStream stream) throws MimeTypeDetectionException, IOException {
 		if (attachment.getContentType() != null) {
 			return attachment.getContentType();
 		}
-		return mimetypeProvider.detect(stream).toString();
+		return mimetypeProvider.detect(new ByteArrayInputStream(IOUtils.readHead(stream, MIMETYPE_DETECTION_HEAD_SIZE))).toString();
 	}
 
 }
@@ -0,0 +1,68 @@
+package fr.sii.ogham.email.sender.impl.javamail;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * Strategy used by the JavaMail sender to obtain the {@link Session} and to
+ * deliver the {@link MimeMessage} through a {@link Transport}.
+ *
+ * <p>
+ * Implementations may simply open a new connection for each message (see
+ * {@link AlwaysNewTransportStrategy}) or maintain a pool of connected
+ * {@link Transport}s to avoid paying the connection handshake for every
+ * message (see {@link PooledTransportStrategy}).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public interface TransportHandlingStrategy {
+	/**
+	 * Get the JavaMail {@link Session} used to create the {@link MimeMessage}.
+	 *
+	 * @return the session to use
+	 */
+	Session getSession();
+
+	/**
+	 * Send the message to all of its recipients.
+	 *
+	 * @param message
+	 *            the message to send
+	 * @throws MessagingException
+	 *             when the message couldn't be sent
+	 */
+	void send(MimeMessage message) throws MessagingException;
+
+	/**
+	 * Send several messages. The failure of one message doesn't prevent the
+	 * other messages from being sent.
+	 * 
+	 * <p>
+	 * The default implementation calls {@link #send(MimeMessage)} for each
+	 * message. Implementations may override this method to send all the
+	 * messages using the same connection.
+	 * 
+	 * @param messages
+	 *            the messages to send
+	 * @return the failure for each message that couldn't be sent (empty if all
+	 *         messages have been sent)
+	 */
+	default Map<MimeMessage, MessagingException> sendAll(List<MimeMessage> messages) {
+		Map<MimeMessage, MessagingException> failures = new IdentityHashMap<>();
+		for (MimeMessage message : messages) {
+			try {
+				send(message);
+			} catch (MessagingException e) {
+				failures.put(message, e);
+			}
+		}
+		return failures;
+	}
+}
@@ -0,0 +1,88 @@
+package oghamjavamail.it;
+
+import static fr.sii.ogham.testing.assertion.OghamAssertions.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+
+import javax.mail.MessagingException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.icegreen.greenmail.junit4.GreenMailRule;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.email.builder.javamail.JavaMailBuilder;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.email.message.EmailAddress;
+import fr.sii.ogham.email.sender.impl.JavaMailSender;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+import fr.sii.ogham.testing.extension.junit.email.RandomPortGreenMailRule;
+
+public class JavaMailPooledSmtpTest {
+	private JavaMailSender sender;
+
+	@Rule public final LoggingTestRule loggingRule = new LoggingTestRule();
+	@Rule public final GreenMailRule greenMail = new RandomPortGreenMailRule();
+
+	@Before
+	public void setUp() throws IOException {
+		// @formatter:off
+		sender = new JavaMailBuilder()
+				.host(greenMail.getSmtp().getBindTo())
+				.port(greenMail.getSmtp().getPort())
+				.pool()
+					.enable(true)
+					.size(1)
+					.maxMessagesPerConnection(2)
+					.validationDelay(-1L)
+					.and()
+				.mimetype()
+					.tika()
+						.failIfOctetStream(false)
+						.and()
+					.and()
+				.build();
+		// @formatter:on
+	}
+
+	@Test
+	public void severalMessagesSentUsingPooledConnections() throws MessageException, MessagingException {
+		for (int i = 0; i < 5; i++) {
+			sender.send(email(i));
+		}
+		greenMail.waitForIncomingEmail(5000, 5);
+		// @formatter:off
+		assertThat(greenMail).receivedMessages()
+			.count(is(5))
+			.message(0).subject(is("Subject 0")).and()
+			.message(4).subject(is("Subject 4"));
+		// @formatter:on
+	}
+
+	@Test
+	public void brokenConnectionIsTransparentlyReplaced() throws MessageException, MessagingException {
+		sender.send(email(0));
+		// restarting the server closes the pooled connection
+		greenMail.reset();
+		sender.send(email(1));
+		greenMail.waitForIncomingEmail(5000, 1);
+		// @formatter:off
+		assertThat(greenMail).receivedMessages()
+			.count(is(1))
+			.message(0).subject(is("Subject 1"));
+		// @formatter:on
+	}
+
+	private static Email email(int index) {
+		// @formatter:off
+		return new Email()
+				.subject("Subject " + index)
+				.content("Body")
+				.from(new EmailAddress("custom.sender@sii.fr"))
+				.to("recipient@sii.fr");
+		// @formatter:on
+	}
+}
@@ -1,6 +1,7 @@
 package oghamjavamail.it;
 
 import static fr.sii.ogham.testing.assertion.OghamAssertions.assertThat;
+import static java.util.Arrays.asList;
 import static fr.sii.ogham.testing.assertion.util.EmailUtils.ATTACHMENT_DISPOSITION;
 import static fr.sii.ogham.testing.util.ResourceUtils.resource;
 import static org.hamcrest.Matchers.emptyIterable;
@@ -9,6 +10,9 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
@@ -23,6 +27,7 @@ import com.icegreen.greenmail.junit4.GreenMailRule;
 
 import fr.sii.ogham.core.exception.InvalidMessageException;
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.email.attachment.Attachment;
 import fr.sii.ogham.email.builder.javamail.JavaMailBuilder;
 import fr.sii.ogham.email.message.Email;
@@ -108,4 +113,54 @@ public class JavaMailSmtpTest {
 							.content("content"));
 		// @formatter:on
 	}
+	
+	@Test
+	public void severalMessagesSentAtOnce() throws MessagesNotSentException, MessagingException {
+		// @formatter:off
+		sender.sendAll(asList(
+				new Email()
+					.subject("Subject 1")
+					.content("Body 1")
+					.from(new EmailAddress("custom.sender@sii.fr"))
+					.to("recipient1@sii.fr"),
+				new Email()
+					.subject("Subject 2")
+					.content("Body 2")
+					.from(new EmailAddress("custom.sender@sii.fr"))
+					.to("recipient2@sii.fr")));
+		assertThat(greenMail).receivedMessages()
+			.count(is(2))
+			.message(0)
+				.subject(is("Subject 1"))
+				.to().address(hasItems("recipient1@sii.fr")).and()
+				.and()
+			.message(1)
+				.subject(is("Subject 2"))
+				.to().address(hasItems("recipient2@sii.fr"));
+		// @formatter:on
+	}
+	
+	@Test
+	public void invalidMessageDoesntPreventOtherMessagesFromBeingSent() throws MessagingException {
+		Email invalid = new Email().subject("subject").content("content");
+		try {
+			// @formatter:off
+			sender.sendAll(asList(
+					invalid,
+					new Email()
+						.subject("Subject")
+						.content("Body")
+						.from(new EmailAddress("custom.sender@sii.fr"))
+						.to("recipient@sii.fr")));
+			// @formatter:on
+			fail("should fail");
+		} catch (MessagesNotSentException e) {
+			assertEquals(1, e.getFailedMessages().size());
+			assertSame(invalid, e.getFailedMessages().get(0));
+		}
+		assertThat(greenMail).receivedMessages()
+			.count(is(1))
+			.message(0)
+				.subject(is("Subject"));
+	}
 }
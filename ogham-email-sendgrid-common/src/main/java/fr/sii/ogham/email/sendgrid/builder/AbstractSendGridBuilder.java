@@ -13,6 +13,7 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import com.sendgrid.SendGrid;
 
 import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.MessagingBuilder;
 import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
 import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
 import fr.sii.ogham.core.builder.configurer.Configurer;
@@ -20,17 +21,22 @@ import fr.sii.ogham.core.builder.context.BuildContext;
 import fr.sii.ogham.core.builder.mimetype.MimetypeDetectionBuilder;
 import fr.sii.ogham.core.builder.mimetype.MimetypeDetectionBuilderDelegate;
 import fr.sii.ogham.core.builder.mimetype.SimpleMimetypeDetectionBuilder;
+import fr.sii.ogham.core.builder.ratelimit.RateLimitBuilder;
+import fr.sii.ogham.core.builder.ratelimit.RateLimitedBuilder;
 import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.core.http.HttpTransport;
+import fr.sii.ogham.core.http.apache.ApacheHttpTransport;
 import fr.sii.ogham.email.sendgrid.sender.SendGridSender;
 
 @SuppressWarnings("squid:S00119")
-public abstract class AbstractSendGridBuilder<MYSELF extends AbstractSendGridBuilder<MYSELF, EmailBuilder>, EmailBuilder> extends AbstractParent<EmailBuilder> implements Builder<SendGridSender> {
+public abstract class AbstractSendGridBuilder<MYSELF extends AbstractSendGridBuilder<MYSELF, EmailBuilder>, EmailBuilder> extends AbstractParent<EmailBuilder> implements Builder<SendGridSender>, RateLimitedBuilder {
 	protected final MYSELF myself;
 	protected final BuildContext buildContext;
 	protected MimetypeDetectionBuilder<MYSELF> mimetypeBuilder;
 	protected final ConfigurationValueBuilderHelper<MYSELF, String> apiKeyValueBuilder;
 	protected final ConfigurationValueBuilderHelper<MYSELF, URL> urlValueBuilder;
 	protected CloseableHttpClient httpClient;
+	protected RateLimitBuilder<MYSELF> rateLimitBuilder;
 
 	@SuppressWarnings("unchecked")
 	protected AbstractSendGridBuilder(Class<?> selfType, EmailBuilder parent, BuildContext buildContext, MimetypeDetectionBuilder<?> mimetypeBuilder) {
@@ -419,11 +425,12 @@ public abstract class AbstractSendGridBuilder<MYSELF extends AbstractSendGridBui
 	}
 
 	/**
-	 * By default, calling SendGrid HTTP API is done through the default
-	 * {@link SendGrid} implementation that uses default {@link HttpClient}
-	 * (calling {@code HttpClientBuilder.create().build()}). If you want to use
-	 * another HTTP client implementation, you can extend the
-	 * {@link CloseableHttpClient} class and provide it:
+	 * By default, calling SendGrid HTTP API is done through the
+	 * {@link HttpClient} of the HTTP transport that is shared by all senders
+	 * (see {@link MessagingBuilder#http()}): connections are pooled and
+	 * timeouts are applied. If you want to use another HTTP client
+	 * implementation, you can extend the {@link CloseableHttpClient} class and
+	 * provide it:
 	 * 
 	 * <pre>
 	 * .client(new MyCustomHttpClient())
@@ -518,4 +525,36 @@ public abstract class AbstractSendGridBuilder<MYSELF extends AbstractSendGridBui
 		return myself;
 	}
 
+	/**
+	 * Configure the maximum number of emails sent per second.
+	 *
+	 * <p>
+	 * SendGrid limits the number of requests per second. If SendGrid rejects
+	 * an email because the limit is exceeded (HTTP status 429), the rate is
+	 * automatically reduced and then progressively restored.
+	 *
+	 * @return the builder to configure the rate limit
+	 */
+	@Override
+	public RateLimitBuilder<MYSELF> rateLimit() {
+		if (rateLimitBuilder == null) {
+			rateLimitBuilder = new RateLimitBuilder<>(myself, buildContext);
+		}
+		return rateLimitBuilder;
+	}
+
+	/**
+	 * Get the pooled {@link CloseableHttpClient} of the HTTP transport that is
+	 * shared by all senders (see {@link BuildContext#getHttpTransport()}).
+	 * 
+	 * @return the shared client or null if the transport is not based on
+	 *         Apache HttpClient
+	 */
+	protected CloseableHttpClient getSharedHttpClient() {
+		HttpTransport transport = buildContext.getHttpTransport();
+		if (transport instanceof ApacheHttpTransport) {
+			return ((ApacheHttpTransport) transport).getHttpClient();
+		}
+		return null;
+	}
 }
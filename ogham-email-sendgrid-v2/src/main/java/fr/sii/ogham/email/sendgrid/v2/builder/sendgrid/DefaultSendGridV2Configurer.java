@@ -48,6 +48,20 @@ import fr.sii.ogham.core.util.ClasspathUtils;
  * "ogham.email.sendgrid.username" and "ogham.email.sendgrid.password"</li>
  * </ul>
  * </li>
+ * <li>Configures the maximum number of emails sent per second:
+ * <ul>
+ * <li>It uses "ogham.email.sendgrid.rate-limit.permits-per-second" property to
+ * limit the number of emails sent per second. If not defined, emails are not
+ * limited</li>
+ * <li>It uses "ogham.email.sendgrid.rate-limit.burst" property for the number
+ * of emails that can be sent at once. Default to 1</li>
+ * <li>It uses "ogham.email.sendgrid.rate-limit.mode" property to either wait
+ * ("BLOCK") or fail immediately ("FAIL_FAST") when the limit is reached.
+ * Default to "BLOCK"</li>
+ * <li>It uses "ogham.email.sendgrid.rate-limit.max-wait" property for the
+ * maximum time to wait (in milliseconds). Default to no limit</li>
+ * </ul>
+ * </li>
  * </ul>
  * 
  * @author Aurélien Baudet
@@ -71,6 +85,12 @@ public final class DefaultSendGridV2Configurer {
 			builder.mimetype(msgBuilder.mimetype());
 			builder
 				.apiKey().properties("${ogham.email.sendgrid.api-key}").and()
+				.rateLimit()
+					.permitsPerSecond().properties("${ogham.email.sendgrid.rate-limit.permits-per-second}").and()
+					.burst().properties("${ogham.email.sendgrid.rate-limit.burst}").and()
+					.mode().properties("${ogham.email.sendgrid.rate-limit.mode}").and()
+					.maxWait().properties("${ogham.email.sendgrid.rate-limit.max-wait}").and()
+					.and()
 				.username().properties("${ogham.email.sendgrid.username}").and()
 				.password().properties("${ogham.email.sendgrid.password}").and()
 				.url().properties("${ogham.email.sendgrid.url}");
@@ -2,6 +2,7 @@ package fr.sii.ogham.email.sendgrid.v2.builder.sendgrid;
 
 import java.net.URL;
 
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -228,8 +229,9 @@ public class SendGridV2Builder extends AbstractSendGridBuilder<SendGridV2Builder
 		if (url != null) {
 			sendGrid.setUrl(url.toString());
 		}
-		if (httpClient != null) {
-			sendGrid.setClient(httpClient);
+		CloseableHttpClient builtHttpClient = httpClient == null ? getSharedHttpClient() : httpClient;
+		if (builtHttpClient != null) {
+			sendGrid.setClient(builtHttpClient);
 		}
 		return sendGrid;
 	}
@@ -45,7 +45,21 @@ import fr.sii.ogham.core.util.ClasspathUtils;
  * SendGrid v4 doesn't allow username/password anymore. You must use API
  * keys</strong></li>
  * <li>Configures unit testing mode using the property
- * "ogham.email.sendgrid.unit-testing".
+ * "ogham.email.sendgrid.unit-testing".</li>
+ * <li>Configures the maximum number of emails sent per second:
+ * <ul>
+ * <li>It uses "ogham.email.sendgrid.rate-limit.permits-per-second" property to
+ * limit the number of emails sent per second. If not defined, emails are not
+ * limited</li>
+ * <li>It uses "ogham.email.sendgrid.rate-limit.burst" property for the number
+ * of emails that can be sent at once. Default to 1</li>
+ * <li>It uses "ogham.email.sendgrid.rate-limit.mode" property to either wait
+ * ("BLOCK") or fail immediately ("FAIL_FAST") when the limit is reached.
+ * Default to "BLOCK"</li>
+ * <li>It uses "ogham.email.sendgrid.rate-limit.max-wait" property for the
+ * maximum time to wait (in milliseconds). Default to no limit</li>
+ * </ul>
+ * </li>
  * </ul>
  * 
  * 
@@ -71,6 +85,12 @@ public final class DefaultSendGridV4Configurer {
 			builder.mimetype(msgBuilder.mimetype());
 			builder
 				.apiKey().properties("${ogham.email.sendgrid.api-key}").and()
+				.rateLimit()
+					.permitsPerSecond().properties("${ogham.email.sendgrid.rate-limit.permits-per-second}").and()
+					.burst().properties("${ogham.email.sendgrid.rate-limit.burst}").and()
+					.mode().properties("${ogham.email.sendgrid.rate-limit.mode}").and()
+					.maxWait().properties("${ogham.email.sendgrid.rate-limit.max-wait}").and()
+					.and()
 				.unitTesting().properties("${ogham.email.sendgrid.unit-testing}").and()
 				.url().properties("${ogham.email.sendgrid.url}");
 			// @formatter:on
@@ -307,11 +307,12 @@ public class SendGridV4Builder extends AbstractSendGridBuilder<SendGridV4Builder
 	}
 
 	/**
-	 * By default, calling SendGrid HTTP API is done through the default
-	 * {@link SendGrid} implementation that uses default {@link HttpClient}
-	 * (calling {@code HttpClientBuilder.create().build()}). If you want to use
-	 * another HTTP client implementation, you can extend the
-	 * {@link CloseableHttpClient} class and provide it:
+	 * By default, calling SendGrid HTTP API is done through the
+	 * {@link HttpClient} of the HTTP transport that is shared by all senders
+	 * (see {@link MessagingBuilder#http()}): connections are pooled and
+	 * timeouts are applied. If you want to use another HTTP client
+	 * implementation, you can extend the {@link CloseableHttpClient} class and
+	 * provide it:
 	 * 
 	 * <pre>
 	 * .client(new MyCustomHttpClient())
@@ -379,11 +380,12 @@ public class SendGridV4Builder extends AbstractSendGridBuilder<SendGridV4Builder
 		if (clientHelper != null) {
 			return clientHelper;
 		}
+		CloseableHttpClient sharedHttpClient = httpClient == null ? getSharedHttpClient() : httpClient;
 		// case where custom URL is set.
 		// SendGrid Client doesn't support neither custom port nor custom
 		// protocol
-		if (url != null && httpClient != null) {
-			return buildContext.register(new CustomizableUrlClient(httpClient, url.getProtocol(), url.getPort()));
+		if (url != null && sharedHttpClient != null) {
+			return buildContext.register(new CustomizableUrlClient(sharedHttpClient, url.getProtocol(), url.getPort()));
 		}
 		if (url != null) {
 			return buildContext.register(new CustomizableUrlClient(test, url.getProtocol(), url.getPort()));
@@ -396,6 +398,10 @@ public class SendGridV4Builder extends AbstractSendGridBuilder<SendGridV4Builder
 		if (test) {
 			return buildContext.register(new Client(true));
 		}
+		// use the pooled client shared by all senders
+		if (sharedHttpClient != null) {
+			return buildContext.register(new Client(sharedHttpClient));
+		}
 		// use default Client implementation created directly by SendGrid
 		return null;
 	}
@@ -1,11 +1,14 @@
 package fr.sii.ogham.email.sendgrid.v4.sender.impl;
 
+import static fr.sii.ogham.core.CoreConstants.MIMETYPE_DETECTION_HEAD_SIZE;
 import static fr.sii.ogham.core.util.LogUtils.logString;
 import static fr.sii.ogham.email.sendgrid.SendGridConstants.DEFAULT_SENDGRID_IMPLEMENTATION_PRIORITY;
 import static fr.sii.ogham.email.sendgrid.sender.EmailValidator.validate;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -190,14 +193,22 @@ public final class SendGridV4Sender extends AbstractSpecializedSender<Email> imp
 	}
 
 	private void addAttachment(final MailCompat sendGridMail, final Attachment attachment) throws AttachmentReadException {
-		try {
+		try (InputStream stream = attachment.getResource().getInputStream()) {
 			AttachmentsCompat sendGridAttachment = objectsFactory.newAttachments();
-			byte[] bytes = IOUtils.toByteArray(attachment.getResource().getInputStream());
-			sendGridAttachment.setContent(Base64Utils.encodeToString(bytes));
+			InputStream content = stream;
+			String mimetype = attachment.getContentType();
+			if (mimetype == null) {
+				// only the head is read for detection and then put back in
+				// front of the remaining content
+				byte[] head = IOUtils.readHead(stream, MIMETYPE_DETECTION_HEAD_SIZE);
+				mimetype = mimetypeProvider.detect(new ByteArrayInputStream(head)).toString();
+				content = new SequenceInputStream(new ByteArrayInputStream(head), stream);
+			}
+			sendGridAttachment.setContent(Base64Utils.encodeToString(content));
 			sendGridAttachment.setContentId(toCid(attachment.getContentId()));
 			sendGridAttachment.setDisposition(attachment.getDisposition());
 			sendGridAttachment.setFilename(attachment.getResource().getName());
-			sendGridAttachment.setType(getMimetype(attachment, bytes));
+			sendGridAttachment.setType(mimetype);
 			sendGridMail.addAttachments(sendGridAttachment);
 		} catch (IOException e) {
 			throw new AttachmentReadException("Failed to attach email attachment named " + attachment.getResource().getName(), attachment, e);
@@ -206,13 +217,6 @@ public final class SendGridV4Sender extends AbstractSpecializedSender<Email> imp
 		}
 	}
 
-	private String getMimetype(Attachment attachment, byte[] bytes) throws MimeTypeDetectionException {
-		if (attachment.getContentType() != null) {
-			return attachment.getContentType();
-		}
-		return mimetypeProvider.detect(new ByteArrayInputStream(bytes)).toString();
-	}
-
 	private static String toCid(final String contentId) {
 		if (contentId == null) {
 			return null;
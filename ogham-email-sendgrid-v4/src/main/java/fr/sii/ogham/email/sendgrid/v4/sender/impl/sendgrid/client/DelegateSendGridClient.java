@@ -15,6 +15,7 @@ import com.sendgrid.Response;
 import com.sendgrid.SendGrid;
 import com.sendgrid.SendGridAPI;
 
+import fr.sii.ogham.core.exception.ratelimit.ThrottledException;
 import fr.sii.ogham.email.sendgrid.sender.exception.SendGridException;
 import fr.sii.ogham.email.sendgrid.v4.sender.impl.sendgrid.compat.EmailCompat;
 import fr.sii.ogham.email.sendgrid.v4.sender.impl.sendgrid.compat.MailCompat;
@@ -25,6 +26,7 @@ import fr.sii.ogham.email.sendgrid.v4.sender.impl.sendgrid.compat.MailCompat;
 public final class DelegateSendGridClient implements SendGridClient {
 
 	private static final Logger LOG = LoggerFactory.getLogger(DelegateSendGridClient.class);
+	private static final int TOO_MANY_REQUESTS = 429;
 
 	private SendGridAPI delegate;
 
@@ -60,6 +62,8 @@ public final class DelegateSendGridClient implements SendGridClient {
 
 		if (isSuccess(response.getStatusCode())) {
 			LOG.debug("Response from SendGrid client: ({}) {}", response.getStatusCode(), response.getBody());
+		} else if (response.getStatusCode() == TOO_MANY_REQUESTS) {
+			throw new SendGridException(new IOException("Sending to SendGrid failed: (" + response.getStatusCode() + ") " + response.getBody(), new ThrottledException("SendGrid reported that too many requests are sent")));
 		} else {
 			throw new SendGridException(new IOException("Sending to SendGrid failed: (" + response.getStatusCode() + ") " + response.getBody()));
 		}
@@ -40,6 +40,7 @@ import com.github.tomakehurst.wiremock.client.WireMock;
 
 import fr.sii.ogham.core.builder.MessagingBuilder;
 import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.ratelimit.ThrottledException;
 import fr.sii.ogham.core.id.generator.IdGenerator;
 import fr.sii.ogham.core.message.content.MultiContent;
 import fr.sii.ogham.core.message.content.MultiTemplateContent;
@@ -297,6 +298,7 @@ class SendGridHttpTest {
 				"    },\n" + 
 				"  ]\n" + 
 				"}"));
+		assertThat("throttled", e.getCause().getCause().getCause(), allOf(notNullValue(), instanceOf(ThrottledException.class)));
 	}
 	
 	@Test
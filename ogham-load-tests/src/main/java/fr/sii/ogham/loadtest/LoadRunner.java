@@ -0,0 +1,148 @@
+package fr.sii.ogham.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.loadtest.message.MessageKind;
+import fr.sii.ogham.loadtest.message.MessageMix;
+import fr.sii.ogham.loadtest.report.AllocationMeter;
+import fr.sii.ogham.loadtest.report.SendStatistics;
+
+/**
+ * Sends messages through the {@link MessagingService} using several threads
+ * during the warmup and the measured period.
+ *
+ * <p>
+ * If a target rate is configured, each message gets an intended start time
+ * (one slot every {@code 1/rate} seconds shared by all threads). The latency is
+ * measured from the intended start time instead of the actual start time. This
+ * way, if the service can't keep up with the rate, the time messages would have
+ * waited is included in the latency (no coordinated omission).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class LoadRunner {
+	private static final Logger LOG = LoggerFactory.getLogger(LoadRunner.class);
+
+	private final MessagingService service;
+	private final LoadTestConfiguration config;
+	private final MessageMix mix;
+	private final SendStatistics statistics;
+	private final AllocationMeter allocations;
+	private final AtomicLong sequence;
+	private final AtomicLong nextSlot;
+	private final long slotNanos;
+	private volatile long measureStart;
+	private volatile long end;
+
+	/**
+	 * @param service
+	 *            the service used to send the messages
+	 * @param config
+	 *            the configuration of the run
+	 * @param statistics
+	 *            updated with each message sent during the measured period
+	 * @param allocations
+	 *            updated with bytes allocated by sender threads during the
+	 *            measured period
+	 */
+	public LoadRunner(MessagingService service, LoadTestConfiguration config, SendStatistics statistics, AllocationMeter allocations) {
+		super();
+		this.service = service;
+		this.config = config;
+		this.mix = config.getMix();
+		this.statistics = statistics;
+		this.allocations = allocations;
+		this.sequence = new AtomicLong();
+		this.nextSlot = new AtomicLong();
+		this.slotNanos = config.getRate() > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / config.getRate()) : 0;
+	}
+
+	/**
+	 * Run the warmup and then the measured period. The method blocks until the
+	 * end of the run.
+	 *
+	 * @param onMeasureStart
+	 *            executed when the warmup is over
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted
+	 */
+	public void run(Runnable onMeasureStart) throws InterruptedException {
+		long now = System.nanoTime();
+		measureStart = now + config.getWarmup().toNanos();
+		end = measureStart + config.getDuration().toNanos();
+		nextSlot.set(now);
+		Thread[] workers = new Thread[config.getThreads()];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Thread(this::sendUntilEnd, "load-test-sender-" + i);
+			workers[i].start();
+		}
+		LOG.info("Warming up for {}", config.getWarmup());
+		sleepUntil(measureStart);
+		LOG.info("Measuring for {}", config.getDuration());
+		onMeasureStart.run();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+	}
+
+	private void sendUntilEnd() {
+		boolean measuring = false;
+		long allocationSnapshot = 0;
+		while (!Thread.currentThread().isInterrupted()) {
+			long intendedStart = nextStart();
+			if (intendedStart >= end || System.nanoTime() >= end) {
+				break;
+			}
+			boolean measured = intendedStart >= measureStart;
+			if (measured && !measuring) {
+				measuring = true;
+				allocationSnapshot = allocations.currentThreadAllocatedBytes();
+			}
+			send(intendedStart, measured);
+		}
+		if (measuring) {
+			allocations.addSince(allocationSnapshot);
+		}
+	}
+
+	private void send(long intendedStart, boolean measured) {
+		MessageKind kind = mix.next();
+		Message message = kind.create(sequence.incrementAndGet());
+		try {
+			service.send(message);
+			if (measured) {
+				statistics.success(kind, System.nanoTime() - intendedStart);
+			}
+		} catch (MessagingException | RuntimeException e) {
+			if (measured) {
+				statistics.failure(kind, System.nanoTime() - intendedStart, e);
+			}
+			LOG.debug("Failed to send {} message", kind.getKey(), e);
+		}
+	}
+
+	private long nextStart() {
+		if (slotNanos == 0) {
+			return System.nanoTime();
+		}
+		long slot = nextSlot.getAndAdd(slotNanos);
+		sleepUntil(Math.min(slot, end));
+		return slot;
+	}
+
+	private static void sleepUntil(long deadline) {
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+			LockSupport.parkNanos(remaining);
+		}
+	}
+}
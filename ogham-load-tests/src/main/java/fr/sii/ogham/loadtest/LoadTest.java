@@ -0,0 +1,320 @@
+package fr.sii.ogham.loadtest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.builder.env.PropertiesBuilder;
+import fr.sii.ogham.core.clean.Cleanable;
+import fr.sii.ogham.core.exception.clean.CleanException;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.loadtest.fault.FaultInjectingSmppServer;
+import fr.sii.ogham.loadtest.fault.FaultInjectingSmtpProxy;
+import fr.sii.ogham.loadtest.fault.FaultProfile;
+import fr.sii.ogham.loadtest.message.MessageKind;
+import fr.sii.ogham.loadtest.message.MessageKind.Channel;
+import fr.sii.ogham.loadtest.report.AllocationMeter;
+import fr.sii.ogham.loadtest.report.CountingMetricsRecorder;
+import fr.sii.ogham.loadtest.report.JsonWriter;
+import fr.sii.ogham.loadtest.report.LatencyHistogram;
+import fr.sii.ogham.loadtest.report.SendStatistics;
+import fr.sii.ogham.loadtest.report.SoakSampler;
+import fr.sii.ogham.testing.sms.simulator.SmppServerException;
+import fr.sii.ogham.testing.util.RandomPortUtils;
+
+/**
+ * Load and soak test harness.
+ *
+ * <p>
+ * Starts local servers (GreenMail behind a {@link FaultInjectingSmtpProxy} for
+ * emails and a {@link FaultInjectingSmppServer} for SMS), builds a real
+ * {@link MessagingService} that targets them and sends a mix of messages
+ * during a configurable period (see {@link LoadTestConfiguration} for the
+ * available options).
+ *
+ * <p>
+ * The report is written as JSON and contains:
+ * <ul>
+ * <li>the throughput and the latency percentiles (p50, p90, p99, p999) for
+ * all messages and for each kind of message</li>
+ * <li>the causes of failures</li>
+ * <li>the number of retries (recorded through Ogham metrics)</li>
+ * <li>the allocation rate of the sender threads</li>
+ * <li>what the servers received and rejected</li>
+ * <li>periodic samples of throughput, heap and threads used to detect
+ * leaks</li>
+ * </ul>
+ *
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * java -jar ogham-load-tests/target/load-tests.jar duration=10m threads=16 smpp.latency=5-50 smpp.error-rate=0.01 ogham.sms.send-retry.max-attempts=3
+ * </pre>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class LoadTest {
+	private static final Logger LOG = LoggerFactory.getLogger(LoadTest.class);
+	private static final String SYSTEM_ID = "loadtest";
+	private static final String PASSWORD = "pass";
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	private final LoadTestConfiguration config;
+	private final SendStatistics statistics;
+	private final AllocationMeter allocations;
+	private final CountingMetricsRecorder metrics;
+	private GreenMail greenMail;
+	private FaultInjectingSmtpProxy smtpProxy;
+	private FaultInjectingSmppServer smppServer;
+
+	public LoadTest(LoadTestConfiguration config) {
+		super();
+		this.config = config;
+		this.statistics = new SendStatistics();
+		this.allocations = new AllocationMeter();
+		this.metrics = new CountingMetricsRecorder();
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfiguration config = LoadTestConfiguration.parse(args, System.getProperties());
+		Map<String, Object> report = new LoadTest(config).run();
+		String json = JsonWriter.toJson(report);
+		if ("-".equals(config.getReport())) {
+			System.out.print(json); // NOSONAR
+		} else {
+			Files.write(Paths.get(config.getReport()), json.getBytes(UTF_8));
+			LOG.info("Report written to {}", config.getReport());
+		}
+	}
+
+	/**
+	 * Start the servers, send the messages and stop the servers.
+	 *
+	 * @return the report
+	 * @throws Exception
+	 *             when the servers couldn't be started or stopped
+	 */
+	public Map<String, Object> run() throws Exception {
+		startServers();
+		try {
+			MessagingService service = buildService();
+			SoakSampler sampler = new SoakSampler(statistics, config.getSampleInterval(), this::purgeReceivedEmails);
+			Instant startedAt = Instant.now();
+			try {
+				new LoadRunner(service, config, statistics, allocations).run(sampler::start);
+			} finally {
+				sampler.stop();
+				clean(service);
+			}
+			return report(startedAt, sampler);
+		} finally {
+			stopServers();
+		}
+	}
+
+	private void startServers() throws IOException, SmppServerException {
+		if (config.getMix().uses(Channel.EMAIL)) {
+			greenMail = new GreenMail(new ServerSetup(RandomPortUtils.findAvailableTcpPort(), "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+			greenMail.start();
+			smtpProxy = new FaultInjectingSmtpProxy(greenMail.getSmtp().getBindTo(), greenMail.getSmtp().getPort(), config.getSmtpFaults());
+			smtpProxy.start();
+		}
+		if (config.getMix().uses(Channel.SMS)) {
+			smppServer = new FaultInjectingSmppServer(SYSTEM_ID, PASSWORD, config.getSmppFaults());
+			smppServer.start();
+		}
+	}
+
+	private void stopServers() throws IOException, SmppServerException {
+		if (smtpProxy != null) {
+			smtpProxy.stop();
+		}
+		if (greenMail != null) {
+			greenMail.stop();
+		}
+		if (smppServer != null) {
+			smppServer.stop();
+		}
+	}
+
+	private MessagingService buildService() {
+		MessagingBuilder builder = MessagingBuilder.standard();
+		PropertiesBuilder<?> properties = builder.environment().properties();
+		if (smtpProxy != null) {
+			properties
+				.set("mail.smtp.host", smtpProxy.getHost())
+				.set("mail.smtp.port", smtpProxy.getPort());
+		}
+		if (smppServer != null) {
+			properties
+				.set("ogham.sms.smpp.host", "127.0.0.1")
+				.set("ogham.sms.smpp.port", smppServer.getPort())
+				.set("ogham.sms.smpp.system-id", SYSTEM_ID)
+				.set("ogham.sms.smpp.password", PASSWORD);
+		}
+		for (Entry<String, String> property : config.getOghamProperties().entrySet()) {
+			properties.set(property.getKey(), property.getValue());
+		}
+		builder.metrics().recorder(metrics);
+		return builder.build();
+	}
+
+	/**
+	 * Received emails are kept in memory by GreenMail. They are purged after
+	 * each sample so the server doesn't look like a leak during soak runs.
+	 */
+	private void purgeReceivedEmails() {
+		if (greenMail == null) {
+			return;
+		}
+		try {
+			greenMail.purgeEmailFromAllMailboxes();
+		} catch (FolderException e) {
+			LOG.warn("Failed to purge received emails", e);
+		}
+	}
+
+	private static void clean(MessagingService service) {
+		if (service instanceof Cleanable) {
+			try {
+				((Cleanable) service).clean();
+			} catch (CleanException e) {
+				LOG.warn("Failed to clean messaging service", e);
+			}
+		}
+	}
+
+	private Map<String, Object> report(Instant startedAt, SoakSampler sampler) {
+		double seconds = config.getDuration().toNanos() / 1e9;
+		long total = statistics.getSent() + statistics.getFailed();
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("startedAt", startedAt.toString());
+		report.put("configuration", configurationReport());
+		report.put("durationSeconds", seconds);
+		report.put("sent", statistics.getSent());
+		report.put("failed", statistics.getFailed());
+		report.put("throughput", total / seconds);
+		report.put("latencyMs", latencyReport(statistics.getLatency()));
+		Map<String, Object> byKind = new LinkedHashMap<>();
+		for (MessageKind kind : config.getMix().getWeights().keySet()) {
+			SendStatistics.KindStatistics stats = statistics.get(kind);
+			Map<String, Object> kindReport = new LinkedHashMap<>();
+			kindReport.put("sent", stats.getSent());
+			kindReport.put("failed", stats.getFailed());
+			kindReport.put("throughput", (stats.getSent() + stats.getFailed()) / seconds);
+			kindReport.put("latencyMs", latencyReport(stats.getLatency()));
+			byKind.put(kind.getKey(), kindReport);
+		}
+		report.put("byKind", byKind);
+		report.put("errors", statistics.getErrors());
+		report.put("retries", retriesReport());
+		report.put("allocation", allocationReport(seconds, total));
+		report.put("servers", serversReport());
+		report.put("metrics", metricsReport());
+		report.put("soak", sampler.toReport());
+		return report;
+	}
+
+	private Map<String, Object> configurationReport() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("duration", config.getDuration().toString());
+		report.put("warmup", config.getWarmup().toString());
+		report.put("threads", config.getThreads());
+		report.put("rate", config.getRate());
+		report.put("mix", config.getMix().toString());
+		report.put("smtp", faultsReport(config.getSmtpFaults()));
+		report.put("smpp", faultsReport(config.getSmppFaults()));
+		report.put("properties", config.getOghamProperties());
+		report.put("javaVersion", System.getProperty("java.version"));
+		report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+		report.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+		return report;
+	}
+
+	private static Map<String, Object> faultsReport(FaultProfile faults) {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("minLatencyMs", faults.getMinLatencyMs());
+		report.put("maxLatencyMs", faults.getMaxLatencyMs());
+		report.put("errorRate", faults.getErrorRate());
+		return report;
+	}
+
+	/**
+	 * Each failed attempt is either retried or is the last attempt of a
+	 * message that couldn't be sent. Retry counters include the warmup period.
+	 */
+	private Map<String, Object> retriesReport() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("failedAttempts", metrics.getFailedAttempts());
+		report.put("retries", Math.max(0, metrics.getFailedAttempts() - statistics.getFailed()));
+		return report;
+	}
+
+	private Map<String, Object> allocationReport(double seconds, long messages) {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("supported", allocations.isSupported());
+		report.put("scope", "sender threads");
+		report.put("bytes", allocations.getAllocatedBytes());
+		report.put("bytesPerSecond", allocations.getAllocatedBytes() / seconds);
+		report.put("bytesPerMessage", messages == 0 ? 0 : allocations.getAllocatedBytes() / messages);
+		return report;
+	}
+
+	private Map<String, Object> serversReport() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		if (smtpProxy != null) {
+			Map<String, Object> smtp = new LinkedHashMap<>();
+			smtp.put("messages", smtpProxy.getMessages());
+			smtp.put("rejected", smtpProxy.getRejected());
+			report.put("smtp", smtp);
+		}
+		if (smppServer != null) {
+			Map<String, Object> smpp = new LinkedHashMap<>();
+			smpp.put("accepted", smppServer.getAccepted());
+			smpp.put("rejected", smppServer.getRejected());
+			report.put("smpp", smpp);
+		}
+		return report;
+	}
+
+	private Map<String, Object> metricsReport() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("counters", metrics.getCounters());
+		report.put("gauges", metrics.getGauges());
+		Map<String, Object> timers = new LinkedHashMap<>();
+		for (Entry<String, LatencyHistogram> timer : metrics.getTimers().entrySet()) {
+			timers.put(timer.getKey(), latencyReport(timer.getValue()));
+		}
+		report.put("timersMs", timers);
+		return report;
+	}
+
+	private static Map<String, Object> latencyReport(LatencyHistogram histogram) {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("count", histogram.getCount());
+		report.put("mean", histogram.getMean() / NANOS_PER_MILLI);
+		report.put("min", histogram.getMin() / NANOS_PER_MILLI);
+		report.put("p50", histogram.getPercentile(0.5) / NANOS_PER_MILLI);
+		report.put("p90", histogram.getPercentile(0.9) / NANOS_PER_MILLI);
+		report.put("p99", histogram.getPercentile(0.99) / NANOS_PER_MILLI);
+		report.put("p999", histogram.getPercentile(0.999) / NANOS_PER_MILLI);
+		report.put("max", histogram.getMax() / NANOS_PER_MILLI);
+		return report;
+	}
+}
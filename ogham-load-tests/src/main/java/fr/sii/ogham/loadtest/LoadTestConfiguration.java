@@ -0,0 +1,192 @@
+package fr.sii.ogham.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import fr.sii.ogham.loadtest.fault.FaultProfile;
+import fr.sii.ogham.loadtest.message.MessageMix;
+
+/**
+ * Configuration of a load test run.
+ *
+ * <p>
+ * Each option is provided as a {@code key=value} command line argument (or as
+ * a {@code loadtest.<key>} system property):
+ * <ul>
+ * <li>{@code duration}: measured duration (ISO-8601 or {@code 30s},
+ * {@code 10m}, {@code 2h}). Default: {@code 1m}</li>
+ * <li>{@code warmup}: duration before measures start. Default:
+ * {@code 10s}</li>
+ * <li>{@code threads}: number of concurrent senders. Default: {@code 8}</li>
+ * <li>{@code rate}: target number of messages per second for all threads
+ * ({@code 0} means as fast as possible). Default: {@code 0}</li>
+ * <li>{@code mix}: weighted message kinds. Default:
+ * {@code email-string:40,email-template:20,sms-short:30,sms-long:10}</li>
+ * <li>{@code smtp.latency} and {@code smpp.latency}: injected latency in
+ * milliseconds (single value or {@code min-max} range). Default:
+ * {@code 0}</li>
+ * <li>{@code smtp.error-rate} and {@code smpp.error-rate}: probability that
+ * a message is rejected by the server. Default: {@code 0}</li>
+ * <li>{@code sample-interval}: interval between two samples (throughput, heap
+ * and threads) used to detect leaks during soak runs. Default:
+ * {@code 10s}</li>
+ * <li>{@code report}: file where the JSON report is written ({@code -} for
+ * standard output). Default: {@code load-test-report.json}</li>
+ * </ul>
+ *
+ * <p>
+ * Any other option that starts with {@code ogham.} or {@code mail.} is
+ * directly provided to the {@code MessagingBuilder} (to enable connection
+ * pooling, configure retries...).
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class LoadTestConfiguration {
+	private static final String SYSTEM_PROPERTY_PREFIX = "loadtest.";
+
+	private final Duration duration;
+	private final Duration warmup;
+	private final int threads;
+	private final double rate;
+	private final MessageMix mix;
+	private final FaultProfile smtpFaults;
+	private final FaultProfile smppFaults;
+	private final Duration sampleInterval;
+	private final String report;
+	private final Map<String, String> oghamProperties;
+
+	private LoadTestConfiguration(Map<String, String> options) {
+		super();
+		duration = parseDuration(options.getOrDefault("duration", "1m"));
+		warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+		threads = Integer.parseInt(options.getOrDefault("threads", "8"));
+		rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+		mix = MessageMix.parse(options.getOrDefault("mix", "email-string:40,email-template:20,sms-short:30,sms-long:10"));
+		smtpFaults = FaultProfile.parse(options.getOrDefault("smtp.latency", "0"), Double.parseDouble(options.getOrDefault("smtp.error-rate", "0")));
+		smppFaults = FaultProfile.parse(options.getOrDefault("smpp.latency", "0"), Double.parseDouble(options.getOrDefault("smpp.error-rate", "0")));
+		sampleInterval = parseDuration(options.getOrDefault("sample-interval", "10s"));
+		report = options.getOrDefault("report", "load-test-report.json");
+		oghamProperties = new LinkedHashMap<>();
+		for (Map.Entry<String, String> entry : options.entrySet()) {
+			if (entry.getKey().startsWith("ogham.") || entry.getKey().startsWith("mail.")) {
+				oghamProperties.put(entry.getKey(), entry.getValue());
+			}
+		}
+		if (threads <= 0) {
+			throw new IllegalArgumentException("threads must be positive");
+		}
+		if (duration.isZero() || duration.isNegative()) {
+			throw new IllegalArgumentException("duration must be positive");
+		}
+	}
+
+	/**
+	 * Parse the configuration from system properties (prefixed by
+	 * {@code loadtest.}) and command line arguments ({@code key=value}).
+	 * Command line arguments take precedence.
+	 *
+	 * @param args
+	 *            the command line arguments
+	 * @param systemProperties
+	 *            the system properties
+	 * @return the configuration
+	 */
+	public static LoadTestConfiguration parse(String[] args, Properties systemProperties) {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (String name : systemProperties.stringPropertyNames()) {
+			if (name.startsWith(SYSTEM_PROPERTY_PREFIX)) {
+				options.put(name.substring(SYSTEM_PROPERTY_PREFIX.length()), systemProperties.getProperty(name));
+			}
+		}
+		for (String arg : args) {
+			String option = arg.startsWith("--") ? arg.substring(2) : arg;
+			int eq = option.indexOf('=');
+			if (eq <= 0) {
+				throw new IllegalArgumentException("Invalid option '" + arg + "' (expected key=value)");
+			}
+			options.put(option.substring(0, eq).trim(), option.substring(eq + 1).trim());
+		}
+		return new LoadTestConfiguration(options);
+	}
+
+	/**
+	 * Parse a duration either in ISO-8601 format ({@code PT5M}) or as a number
+	 * followed by a unit ({@code ms}, {@code s}, {@code m}, {@code h} or
+	 * {@code d}). A number without unit is in seconds.
+	 *
+	 * @param value
+	 *            the duration to parse
+	 * @return the duration
+	 */
+	static Duration parseDuration(String value) {
+		String spec = value.trim().toLowerCase(Locale.ROOT);
+		if (spec.startsWith("p")) {
+			return Duration.parse(spec.toUpperCase(Locale.ROOT));
+		}
+		int unitStart = 0;
+		while (unitStart < spec.length() && Character.isDigit(spec.charAt(unitStart))) {
+			unitStart++;
+		}
+		long amount = Long.parseLong(spec.substring(0, unitStart));
+		String unit = spec.substring(unitStart).trim();
+		switch (unit) {
+			case "ms":
+				return Duration.ofMillis(amount);
+			case "":
+			case "s":
+				return Duration.ofSeconds(amount);
+			case "m":
+				return Duration.ofMinutes(amount);
+			case "h":
+				return Duration.ofHours(amount);
+			case "d":
+				return Duration.ofDays(amount);
+			default:
+				throw new IllegalArgumentException("Unknown duration unit '" + unit + "' in '" + value + "'");
+		}
+	}
+
+	public Duration getDuration() {
+		return duration;
+	}
+
+	public Duration getWarmup() {
+		return warmup;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public double getRate() {
+		return rate;
+	}
+
+	public MessageMix getMix() {
+		return mix;
+	}
+
+	public FaultProfile getSmtpFaults() {
+		return smtpFaults;
+	}
+
+	public FaultProfile getSmppFaults() {
+		return smppFaults;
+	}
+
+	public Duration getSampleInterval() {
+		return sampleInterval;
+	}
+
+	public String getReport() {
+		return report;
+	}
+
+	public Map<String, String> getOghamProperties() {
+		return oghamProperties;
+	}
+}
@@ -0,0 +1,130 @@
+package fr.sii.ogham.loadtest.fault;
+
+import static java.util.Arrays.asList;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jsmpp.SMPPConstant;
+import org.jsmpp.bean.SubmitSm;
+import org.jsmpp.extra.ProcessRequestException;
+import org.jsmpp.session.SMPPServerSession;
+import org.jsmpp.util.MessageIDGenerator;
+import org.jsmpp.util.MessageId;
+
+import fr.sii.ogham.testing.sms.simulator.SmppServerException;
+import fr.sii.ogham.testing.sms.simulator.config.Credentials;
+import fr.sii.ogham.testing.sms.simulator.config.FixedServerPortProvider;
+import fr.sii.ogham.testing.sms.simulator.config.ServerDelays;
+import fr.sii.ogham.testing.sms.simulator.config.SimulatorConfiguration;
+import fr.sii.ogham.testing.sms.simulator.jsmpp.JSMPPServerSimulator;
+import fr.sii.ogham.testing.sms.simulator.jsmpp.ServerStartupException;
+import fr.sii.ogham.testing.sms.simulator.jsmpp.UnsecureRandomMessageIDGenerator;
+import fr.sii.ogham.testing.util.RandomPortUtils;
+
+/**
+ * Local SMPP server based on {@link JSMPPServerSimulator} that injects latency
+ * and errors:
+ * <ul>
+ * <li>The latency is applied before sending each {@code submit_sm_resp} (using
+ * {@link ServerDelays} so the PDU is delayed by the {@code SlowPduSender} like
+ * a slow SMSC would do)</li>
+ * <li>Errors are {@code submit_sm} rejected with
+ * {@code ESME_RTHROTTLED} status</li>
+ * </ul>
+ *
+ * <p>
+ * Unlike {@code JSMPPServer}, received messages are only counted (not kept) so
+ * the server itself doesn't leak memory during soak runs.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class FaultInjectingSmppServer {
+	private static final long STARTUP_TIMEOUT = 5000L;
+
+	private final CountingSimulator simulator;
+	private Thread thread;
+
+	/**
+	 * Initializes the server on a random port.
+	 *
+	 * @param systemId
+	 *            the system_id accepted by the server
+	 * @param password
+	 *            the password accepted by the server
+	 * @param faults
+	 *            the latency and error rate to inject
+	 */
+	public FaultInjectingSmppServer(String systemId, String password, FaultProfile faults) {
+		super();
+		SimulatorConfiguration config = new SimulatorConfiguration();
+		config.setPort(new FixedServerPortProvider(RandomPortUtils.findAvailableTcpPort()));
+		config.setCredentials(asList(new Credentials(systemId, password)));
+		ServerDelays delays = new ServerDelays();
+		delays.setSendSubmitSmRespWaiting(faults::delay);
+		config.setServerDelays(delays);
+		simulator = new CountingSimulator(config.getPortProvider().getPort(), config, faults);
+	}
+
+	public synchronized void start() throws SmppServerException {
+		try {
+			simulator.reset();
+			thread = new Thread(simulator, "load-test-smpp-server");
+			thread.start();
+			simulator.waitTillRunning(STARTUP_TIMEOUT);
+		} catch (ServerStartupException e) {
+			throw new SmppServerException("Failed to start SMPP server", e);
+		}
+	}
+
+	public synchronized void stop() throws SmppServerException {
+		try {
+			simulator.stop();
+			thread.interrupt();
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SmppServerException("Failed to stop SMPP server", e);
+		}
+	}
+
+	public int getPort() {
+		return simulator.getPort();
+	}
+
+	/**
+	 * @return the number of submit_sm accepted by the server
+	 */
+	public long getAccepted() {
+		return simulator.accepted.sum();
+	}
+
+	/**
+	 * @return the number of submit_sm rejected by the server
+	 */
+	public long getRejected() {
+		return simulator.rejected.sum();
+	}
+
+	private static class CountingSimulator extends JSMPPServerSimulator {
+		private final MessageIDGenerator messageIdGenerator = new UnsecureRandomMessageIDGenerator();
+		private final FaultProfile faults;
+		private final LongAdder accepted = new LongAdder();
+		private final LongAdder rejected = new LongAdder();
+
+		CountingSimulator(int port, SimulatorConfiguration config, FaultProfile faults) {
+			super(port, config);
+			this.faults = faults;
+		}
+
+		@Override
+		public MessageId onAcceptSubmitSm(SubmitSm submitSm, SMPPServerSession source) throws ProcessRequestException {
+			if (faults.shouldFail()) {
+				rejected.increment();
+				throw new ProcessRequestException("Injected failure", SMPPConstant.STAT_ESME_RTHROTTLED);
+			}
+			accepted.increment();
+			return messageIdGenerator.newMessageId();
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package fr.sii.ogham.loadtest.fault;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import fr.sii.ogham.core.async.DaemonThreadFactory;
+
+/**
+ * TCP proxy placed in front of the GreenMail SMTP server in order to inject
+ * latency and errors (GreenMail doesn't provide any hook for that).
+ *
+ * <p>
+ * The proxy forwards bytes in both directions. It only inspects the commands
+ * sent by the client: when a {@code MAIL FROM} command is received (start of a
+ * new message, even on a reused connection), the proxy waits for the
+ * configured latency and then either forwards the command or directly answers
+ * with a {@code 451} temporary failure without forwarding it.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class FaultInjectingSmtpProxy {
+	private static final Logger LOG = LoggerFactory.getLogger(FaultInjectingSmtpProxy.class);
+	private static final String MAIL_FROM = "MAIL FROM:";
+	private static final String DATA = "DATA";
+	private static final byte[] INJECTED_FAILURE = "451 4.3.0 Injected failure\r\n".getBytes(US_ASCII);
+
+	private final String targetHost;
+	private final int targetPort;
+	private final FaultProfile faults;
+	private final ExecutorService executor;
+	private final LongAdder messages;
+	private final LongAdder rejected;
+	private ServerSocket serverSocket;
+	private volatile boolean running;
+
+	/**
+	 * @param targetHost
+	 *            the host of the real SMTP server
+	 * @param targetPort
+	 *            the port of the real SMTP server
+	 * @param faults
+	 *            the latency and error rate to inject
+	 */
+	public FaultInjectingSmtpProxy(String targetHost, int targetPort, FaultProfile faults) {
+		super();
+		this.targetHost = targetHost;
+		this.targetPort = targetPort;
+		this.faults = faults;
+		this.executor = Executors.newCachedThreadPool(new DaemonThreadFactory("load-test-smtp-proxy-"));
+		this.messages = new LongAdder();
+		this.rejected = new LongAdder();
+	}
+
+	/**
+	 * Start listening on a random port.
+	 *
+	 * @throws IOException
+	 *             when the server socket couldn't be opened
+	 */
+	public synchronized void start() throws IOException {
+		serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		running = true;
+		executor.execute(this::acceptConnections);
+	}
+
+	public synchronized void stop() throws IOException {
+		running = false;
+		if (serverSocket != null) {
+			serverSocket.close();
+		}
+		executor.shutdownNow();
+	}
+
+	public String getHost() {
+		return serverSocket.getInetAddress().getHostAddress();
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * @return the number of messages (MAIL FROM commands) received by the
+	 *         proxy
+	 */
+	public long getMessages() {
+		return messages.sum();
+	}
+
+	/**
+	 * @return the number of messages rejected by the proxy
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	private void acceptConnections() {
+		while (running) {
+			try {
+				Socket client = serverSocket.accept();
+				Socket server = new Socket(targetHost, targetPort);
+				client.setTcpNoDelay(true);
+				server.setTcpNoDelay(true);
+				executor.execute(() -> pumpServerToClient(server, client));
+				executor.execute(() -> pumpClientToServer(client, server));
+			} catch (IOException e) {
+				if (running) {
+					LOG.warn("Failed to accept SMTP connection", e);
+				}
+			}
+		}
+	}
+
+	private void pumpServerToClient(Socket server, Socket client) {
+		byte[] buffer = new byte[8192];
+		try {
+			InputStream in = server.getInputStream();
+			OutputStream out = client.getOutputStream();
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				synchronized (out) {
+					out.write(buffer, 0, read);
+					out.flush();
+				}
+			}
+		} catch (IOException e) {
+			logClosed(e);
+		} finally {
+			closeQuietly(server, client);
+		}
+	}
+
+	private void pumpClientToServer(Socket client, Socket server) {
+		try {
+			InputStream in = new BufferedInputStream(client.getInputStream());
+			OutputStream clientOut = client.getOutputStream();
+			OutputStream serverOut = new BufferedOutputStream(server.getOutputStream());
+			ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+			boolean inData = false;
+			int b;
+			while ((b = in.read()) != -1) {
+				line.write(b);
+				if (b != '\n') {
+					continue;
+				}
+				byte[] bytes = line.toByteArray();
+				line.reset();
+				if (inData) {
+					inData = !isEndOfData(bytes);
+				} else {
+					String command = new String(bytes, US_ASCII).trim().toUpperCase(Locale.ROOT);
+					if (command.startsWith(MAIL_FROM) && reject()) {
+						serverOut.flush();
+						synchronized (clientOut) {
+							clientOut.write(INJECTED_FAILURE);
+							clientOut.flush();
+						}
+						continue;
+					}
+					inData = DATA.equals(command);
+				}
+				serverOut.write(bytes);
+				if (in.available() == 0) {
+					serverOut.flush();
+				}
+			}
+		} catch (IOException e) {
+			logClosed(e);
+		} finally {
+			closeQuietly(client, server);
+		}
+	}
+
+	private boolean reject() {
+		messages.increment();
+		faults.delay();
+		if (faults.shouldFail()) {
+			rejected.increment();
+			return true;
+		}
+		return false;
+	}
+
+	private static boolean isEndOfData(byte[] line) {
+		return (line.length == 3 && line[0] == '.' && line[1] == '\r') || (line.length == 2 && line[0] == '.');
+	}
+
+	private static void logClosed(IOException e) {
+		if (e instanceof SocketException) {
+			LOG.trace("SMTP connection closed", e);
+		} else {
+			LOG.debug("SMTP connection failed", e);
+		}
+	}
+
+	private static void closeQuietly(Socket... sockets) {
+		for (Socket socket : sockets) {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				LOG.trace("Failed to close socket", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package fr.sii.ogham.loadtest.fault;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and error rate injected by a simulated server.
+ *
+ * <p>
+ * The latency is uniformly distributed between a minimum and a maximum value.
+ * The error rate is the probability (between 0 and 1) that a message is
+ * rejected by the server.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class FaultProfile {
+	private final long minLatencyMs;
+	private final long maxLatencyMs;
+	private final double errorRate;
+
+	/**
+	 * @param minLatencyMs
+	 *            the minimum latency in milliseconds
+	 * @param maxLatencyMs
+	 *            the maximum latency in milliseconds
+	 * @param errorRate
+	 *            the probability that a message is rejected (between 0 and 1)
+	 */
+	public FaultProfile(long minLatencyMs, long maxLatencyMs, double errorRate) {
+		super();
+		if (minLatencyMs < 0 || maxLatencyMs < minLatencyMs) {
+			throw new IllegalArgumentException("Invalid latency range [" + minLatencyMs + ", " + maxLatencyMs + "]");
+		}
+		if (errorRate < 0 || errorRate > 1) {
+			throw new IllegalArgumentException("Error rate must be between 0 and 1 (got " + errorRate + ")");
+		}
+		this.minLatencyMs = minLatencyMs;
+		this.maxLatencyMs = maxLatencyMs;
+		this.errorRate = errorRate;
+	}
+
+	/**
+	 * Parse the latency from a string that is either a single value
+	 * ({@code "20"}) or a range ({@code "10-50"}) in milliseconds.
+	 *
+	 * @param latency
+	 *            the latency specification
+	 * @param errorRate
+	 *            the probability that a message is rejected (between 0 and 1)
+	 * @return the fault profile
+	 */
+	public static FaultProfile parse(String latency, double errorRate) {
+		String spec = latency.trim();
+		int dash = spec.indexOf('-');
+		if (dash < 0) {
+			long value = Long.parseLong(spec);
+			return new FaultProfile(value, value, errorRate);
+		}
+		return new FaultProfile(Long.parseLong(spec.substring(0, dash).trim()), Long.parseLong(spec.substring(dash + 1).trim()), errorRate);
+	}
+
+	/**
+	 * Wait for a random duration between min and max latency.
+	 */
+	public void delay() {
+		if (maxLatencyMs == 0) {
+			return;
+		}
+		long latency = minLatencyMs == maxLatencyMs ? minLatencyMs : ThreadLocalRandom.current().nextLong(minLatencyMs, maxLatencyMs + 1);
+		try {
+			TimeUnit.MILLISECONDS.sleep(latency);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Randomly decide if the current message must be rejected.
+	 *
+	 * @return true if the message must be rejected
+	 */
+	public boolean shouldFail() {
+		return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+	}
+
+	public long getMinLatencyMs() {
+		return minLatencyMs;
+	}
+
+	public long getMaxLatencyMs() {
+		return maxLatencyMs;
+	}
+
+	public double getErrorRate() {
+		return errorRate;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("FaultProfile [latency=").append(minLatencyMs).append("-").append(maxLatencyMs).append("ms, errorRate=").append(errorRate).append("]");
+		return builder.toString();
+	}
+}
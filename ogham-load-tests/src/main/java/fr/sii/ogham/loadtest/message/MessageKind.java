@@ -0,0 +1,134 @@
+package fr.sii.ogham.loadtest.message;
+
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.sms.message.Sms;
+
+/**
+ * The kinds of messages that can be part of a load test mix.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public enum MessageKind {
+	/**
+	 * Email with a string body (no template, no inlining)
+	 */
+	EMAIL_STRING("email-string", Channel.EMAIL) {
+		@Override
+		public Message create(long sequence) {
+			return new Email()
+					.subject("Message " + sequence)
+					.body().string("Hello, this is the message " + sequence)
+					.from(EMAIL_FROM)
+					.to(EMAIL_TO);
+		}
+	},
+	/**
+	 * Email rendered from a FreeMarker template
+	 */
+	EMAIL_TEMPLATE("email-template", Channel.EMAIL) {
+		@Override
+		public Message create(long sequence) {
+			return new Email()
+					.subject("Notification " + sequence)
+					.body().template("classpath:/loadtest/template/notification.html.ftl", Notification.generate(sequence, TEMPLATE_EVENTS))
+					.from(EMAIL_FROM)
+					.to(EMAIL_TO);
+		}
+	},
+	/**
+	 * SMS that fits in a single segment
+	 */
+	SMS_SHORT("sms-short", Channel.SMS) {
+		@Override
+		public Message create(long sequence) {
+			return new Sms()
+					.message().string(generate(SHORT_SMS_LENGTH))
+					.from(SMS_FROM)
+					.to(SMS_TO);
+		}
+	},
+	/**
+	 * SMS that is split into several segments
+	 */
+	SMS_LONG("sms-long", Channel.SMS) {
+		@Override
+		public Message create(long sequence) {
+			return new Sms()
+					.message().string(generate(LONG_SMS_LENGTH))
+					.from(SMS_FROM)
+					.to(SMS_TO);
+		}
+	};
+
+	/**
+	 * The protocol used to deliver the message
+	 */
+	public enum Channel {
+		EMAIL, SMS
+	}
+
+	private static final String EMAIL_FROM = "sender@sii.fr";
+	private static final String EMAIL_TO = "recipient@sii.fr";
+	private static final String SMS_FROM = "+33603040506";
+	private static final String SMS_TO = "+33605040302";
+	private static final int TEMPLATE_EVENTS = 10;
+	private static final int SHORT_SMS_LENGTH = 120;
+	private static final int LONG_SMS_LENGTH = 600;
+	private static final String GSM_CHARACTERS = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. 0123456789 @$!?";
+
+	private final String key;
+	private final Channel channel;
+
+	MessageKind(String key, Channel channel) {
+		this.key = key;
+		this.channel = channel;
+	}
+
+	/**
+	 * Create a new message of this kind.
+	 *
+	 * @param sequence
+	 *            the sequence number of the message
+	 * @return the message to send
+	 */
+	public abstract Message create(long sequence);
+
+	/**
+	 * @return the key used in the mix specification and in the report
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	public Channel getChannel() {
+		return channel;
+	}
+
+	/**
+	 * Find the kind by its key.
+	 *
+	 * @param key
+	 *            the key of the kind
+	 * @return the kind
+	 * @throws IllegalArgumentException
+	 *             if no kind has this key
+	 */
+	public static MessageKind fromKey(String key) {
+		for (MessageKind kind : values()) {
+			if (kind.key.equals(key)) {
+				return kind;
+			}
+		}
+		throw new IllegalArgumentException("Unknown message kind '" + key + "'");
+	}
+
+	private static String generate(int length) {
+		StringBuilder sb = new StringBuilder(length);
+		while (sb.length() < length) {
+			sb.append(GSM_CHARACTERS, 0, Math.min(GSM_CHARACTERS.length(), length - sb.length()));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,115 @@
+package fr.sii.ogham.loadtest.message;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted mix of message kinds. Each time a message is needed, its kind is
+ * randomly chosen according to the weights.
+ *
+ * <p>
+ * The mix is parsed from a specification like
+ * {@code "email-string:40,email-template:20,sms-short:30,sms-long:10"}.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class MessageMix {
+	private final Map<MessageKind, Integer> weights;
+	private final MessageKind[] kinds;
+	private final int[] cumulativeWeights;
+	private final int totalWeight;
+
+	public MessageMix(Map<MessageKind, Integer> weights) {
+		super();
+		this.weights = new EnumMap<>(weights);
+		this.weights.values().removeIf(w -> w <= 0);
+		if (this.weights.isEmpty()) {
+			throw new IllegalArgumentException("The message mix must contain at least one kind with a positive weight");
+		}
+		kinds = new MessageKind[this.weights.size()];
+		cumulativeWeights = new int[this.weights.size()];
+		int total = 0;
+		int i = 0;
+		for (Entry<MessageKind, Integer> entry : this.weights.entrySet()) {
+			total += entry.getValue();
+			kinds[i] = entry.getKey();
+			cumulativeWeights[i] = total;
+			i++;
+		}
+		totalWeight = total;
+	}
+
+	/**
+	 * Parse the mix specification.
+	 *
+	 * @param spec
+	 *            the comma separated list of kind:weight
+	 * @return the mix
+	 */
+	public static MessageMix parse(String spec) {
+		Map<MessageKind, Integer> weights = new EnumMap<>(MessageKind.class);
+		for (String part : spec.split(",")) {
+			String trimmed = part.trim();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+			int colon = trimmed.indexOf(':');
+			if (colon < 0) {
+				weights.put(MessageKind.fromKey(trimmed), 1);
+			} else {
+				weights.put(MessageKind.fromKey(trimmed.substring(0, colon).trim()), Integer.parseInt(trimmed.substring(colon + 1).trim()));
+			}
+		}
+		return new MessageMix(weights);
+	}
+
+	/**
+	 * Randomly choose the kind of the next message.
+	 *
+	 * @return the kind of message
+	 */
+	public MessageKind next() {
+		int value = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (value < cumulativeWeights[i]) {
+				return kinds[i];
+			}
+		}
+		return kinds[kinds.length - 1];
+	}
+
+	/**
+	 * Indicates if at least one kind of the mix is sent using the channel.
+	 *
+	 * @param channel
+	 *            the channel
+	 * @return true if the channel is used
+	 */
+	public boolean uses(MessageKind.Channel channel) {
+		for (MessageKind kind : kinds) {
+			if (kind.getChannel() == channel) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public Map<MessageKind, Integer> getWeights() {
+		return weights;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (Entry<MessageKind, Integer> entry : weights.entrySet()) {
+			if (builder.length() > 0) {
+				builder.append(',');
+			}
+			builder.append(entry.getKey().getKey()).append(':').append(entry.getValue());
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,52 @@
+package fr.sii.ogham.loadtest.message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bean used to render the email template.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class Notification {
+	private final String name;
+	private final String reference;
+	private final List<String> events;
+
+	public Notification(String name, String reference, List<String> events) {
+		super();
+		this.name = name;
+		this.reference = reference;
+		this.events = events;
+	}
+
+	/**
+	 * Generates a notification with the wanted number of events.
+	 *
+	 * @param sequence
+	 *            used to generate a unique reference
+	 * @param numberOfEvents
+	 *            the number of events
+	 * @return the generated notification
+	 */
+	public static Notification generate(long sequence, int numberOfEvents) {
+		List<String> events = new ArrayList<>(numberOfEvents);
+		for (int i = 0; i < numberOfEvents; i++) {
+			events.add("Event " + (i + 1) + " of notification " + sequence);
+		}
+		return new Notification("Foo Bar", "N-" + sequence, events);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getReference() {
+		return reference;
+	}
+
+	public List<String> getEvents() {
+		return events;
+	}
+}
@@ -0,0 +1,77 @@
+package fr.sii.ogham.loadtest.report;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the bytes allocated by the sender threads using the HotSpot
+ * specific {@code com.sun.management.ThreadMXBean}.
+ *
+ * <p>
+ * Each sender thread takes a snapshot when measures start and adds the
+ * difference when it stops. Only allocations made by the sender threads are
+ * measured: the whole synchronous sending pipeline runs in these threads but
+ * allocations made by background threads (Cloudhopper I/O threads, simulated
+ * servers...) are not included.
+ *
+ * <p>
+ * If the JVM doesn't support allocation measurement, {@link #isSupported()}
+ * returns false and nothing is measured.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class AllocationMeter {
+	private final com.sun.management.ThreadMXBean threadBean;
+	private final LongAdder allocated;
+
+	public AllocationMeter() {
+		super();
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+			threadBean = (com.sun.management.ThreadMXBean) bean;
+			threadBean.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			threadBean = null;
+		}
+		allocated = new LongAdder();
+	}
+
+	public boolean isSupported() {
+		return threadBean != null;
+	}
+
+	/**
+	 * Get the number of bytes allocated by the current thread since it has
+	 * started.
+	 *
+	 * @return the allocated bytes or 0 if not supported
+	 */
+	public long currentThreadAllocatedBytes() {
+		if (threadBean == null) {
+			return 0;
+		}
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Add the bytes allocated by the current thread since the snapshot.
+	 *
+	 * @param snapshot
+	 *            the value of {@link #currentThreadAllocatedBytes()} when
+	 *            measures started
+	 */
+	public void addSince(long snapshot) {
+		if (threadBean != null) {
+			allocated.add(currentThreadAllocatedBytes() - snapshot);
+		}
+	}
+
+	/**
+	 * @return the total bytes allocated by sender threads while measuring
+	 */
+	public long getAllocatedBytes() {
+		return allocated.sum();
+	}
+}
@@ -0,0 +1,117 @@
+package fr.sii.ogham.loadtest.report;
+
+import static fr.sii.ogham.core.metrics.MetricNames.OUTCOME_FAILURE;
+import static fr.sii.ogham.core.metrics.MetricNames.RETRY_ATTEMPTS;
+import static fr.sii.ogham.core.metrics.MetricNames.TAG_OUTCOME;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+
+/**
+ * {@link MetricsRecorder} that keeps the metrics recorded by Ogham in memory
+ * in order to add them to the report (retry attempts, time spent by each
+ * sender implementation, SMPP window...).
+ *
+ * <p>
+ * Each metric is identified by its name and its tags
+ * ({@code ogham.retry.attempts{action=...,outcome=failure}}). Timers use a
+ * {@link LatencyHistogram} so the memory doesn't grow during soak runs.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class CountingMetricsRecorder implements MetricsRecorder {
+	private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+	private final LongAdder failedAttempts = new LongAdder();
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public void recordTime(String name, long durationInNanos, String... tags) {
+		timers.computeIfAbsent(key(name, tags), k -> new LatencyHistogram()).record(durationInNanos);
+	}
+
+	@Override
+	public void increment(String name, String... tags) {
+		counters.computeIfAbsent(key(name, tags), k -> new LongAdder()).increment();
+		if (RETRY_ATTEMPTS.equals(name) && hasTag(tags, TAG_OUTCOME, OUTCOME_FAILURE)) {
+			failedAttempts.increment();
+		}
+	}
+
+	@Override
+	public void gauge(String name, Supplier<Number> value, String... tags) {
+		gauges.put(key(name, tags), value);
+	}
+
+	/**
+	 * @return the number of attempts that failed (whatever the action)
+	 */
+	public long getFailedAttempts() {
+		return failedAttempts.sum();
+	}
+
+	/**
+	 * @return the current value of the counters sorted by key
+	 */
+	public Map<String, Long> getCounters() {
+		Map<String, Long> values = new TreeMap<>();
+		for (Entry<String, LongAdder> entry : counters.entrySet()) {
+			values.put(entry.getKey(), entry.getValue().sum());
+		}
+		return values;
+	}
+
+	/**
+	 * @return the timers sorted by key
+	 */
+	public Map<String, LatencyHistogram> getTimers() {
+		return new TreeMap<>(timers);
+	}
+
+	/**
+	 * @return the current value of the gauges sorted by key
+	 */
+	public Map<String, Number> getGauges() {
+		Map<String, Number> values = new TreeMap<>();
+		for (Entry<String, Supplier<Number>> entry : gauges.entrySet()) {
+			values.put(entry.getKey(), entry.getValue().get());
+		}
+		return values;
+	}
+
+	private static String key(String name, String... tags) {
+		if (tags.length == 0) {
+			return name;
+		}
+		StringBuilder sb = new StringBuilder(name).append('{');
+		for (int i = 0; i + 1 < tags.length; i += 2) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(tags[i]).append('=').append(tags[i + 1]);
+		}
+		return sb.append('}').toString();
+	}
+
+	private static boolean hasTag(String[] tags, String key, String value) {
+		for (int i = 0; i + 1 < tags.length; i += 2) {
+			if (key.equals(tags[i]) && value.equals(tags[i + 1])) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
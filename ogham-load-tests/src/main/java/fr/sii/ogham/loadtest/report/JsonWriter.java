@@ -0,0 +1,134 @@
+package fr.sii.ogham.loadtest.report;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Minimal JSON serializer for the report. The report is built using
+ * {@link Map}s (objects), {@link Collection}s (arrays), {@link Number}s,
+ * {@link Boolean}s and {@link String}s. Any other value is serialized as a
+ * string using {@link Object#toString()}.
+ *
+ * <p>
+ * The harness doesn't depend on a JSON library in order to measure only what
+ * Ogham and its dependencies allocate.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public final class JsonWriter {
+	private static final String INDENT = "  ";
+
+	/**
+	 * Serialize the value as indented JSON.
+	 *
+	 * @param value
+	 *            the value to serialize
+	 * @return the JSON string
+	 */
+	public static String toJson(Object value) {
+		StringBuilder sb = new StringBuilder();
+		write(sb, value, 0);
+		return sb.append('\n').toString();
+	}
+
+	private static void write(StringBuilder sb, Object value, int depth) {
+		if (value == null) {
+			sb.append("null");
+		} else if (value instanceof Map) {
+			writeObject(sb, (Map<?, ?>) value, depth);
+		} else if (value instanceof Collection) {
+			writeArray(sb, (Collection<?>) value, depth);
+		} else if (value instanceof Double || value instanceof Float) {
+			writeDecimal(sb, ((Number) value).doubleValue());
+		} else if (value instanceof Number || value instanceof Boolean) {
+			sb.append(value);
+		} else {
+			writeString(sb, value.toString());
+		}
+	}
+
+	private static void writeObject(StringBuilder sb, Map<?, ?> map, int depth) {
+		if (map.isEmpty()) {
+			sb.append("{}");
+			return;
+		}
+		sb.append("{\n");
+		for (Iterator<? extends Entry<?, ?>> it = map.entrySet().iterator(); it.hasNext();) {
+			Entry<?, ?> entry = it.next();
+			indent(sb, depth + 1);
+			writeString(sb, String.valueOf(entry.getKey()));
+			sb.append(": ");
+			write(sb, entry.getValue(), depth + 1);
+			sb.append(it.hasNext() ? ",\n" : "\n");
+		}
+		indent(sb, depth);
+		sb.append('}');
+	}
+
+	private static void writeArray(StringBuilder sb, Collection<?> values, int depth) {
+		if (values.isEmpty()) {
+			sb.append("[]");
+			return;
+		}
+		sb.append("[\n");
+		for (Iterator<?> it = values.iterator(); it.hasNext();) {
+			indent(sb, depth + 1);
+			write(sb, it.next(), depth + 1);
+			sb.append(it.hasNext() ? ",\n" : "\n");
+		}
+		indent(sb, depth);
+		sb.append(']');
+	}
+
+	private static void writeDecimal(StringBuilder sb, double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			sb.append("null");
+		} else {
+			sb.append(Math.round(value * 1000) / 1000.0);
+		}
+	}
+
+	private static void writeString(StringBuilder sb, String str) {
+		sb.append('"');
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			switch (c) {
+				case '"':
+					sb.append("\\\"");
+					break;
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						sb.append(String.format("\\u%04x", (int) c));
+					} else {
+						sb.append(c);
+					}
+			}
+		}
+		sb.append('"');
+	}
+
+	private static void indent(StringBuilder sb, int depth) {
+		for (int i = 0; i < depth; i++) {
+			sb.append(INDENT);
+		}
+	}
+
+	private JsonWriter() {
+		super();
+	}
+}
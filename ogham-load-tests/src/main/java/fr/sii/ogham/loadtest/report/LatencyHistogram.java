@@ -0,0 +1,130 @@
+package fr.sii.ogham.loadtest.report;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies (in nanoseconds) that can be recorded
+ * concurrently by many threads and that uses a fixed amount of memory whatever
+ * the duration of the run (required for soak runs).
+ *
+ * <p>
+ * Values are stored in log-linear buckets: values below 64 have their own
+ * bucket, then each power of two is split into 32 buckets. The relative error
+ * of a percentile is at most 1/32 (~3%). Percentiles are reported using the
+ * highest value of the bucket (conservative). The min and max values are
+ * exact.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class LatencyHistogram {
+	private static final int LINEAR_BUCKETS = 64;
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_SHIFT = 63 - SUB_BUCKET_BITS;
+	private static final int BUCKETS = LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS;
+
+	private final AtomicLongArray counts;
+	private final LongAdder total;
+	private final LongAdder sum;
+	private final AtomicLong min;
+	private final AtomicLong max;
+
+	public LatencyHistogram() {
+		super();
+		counts = new AtomicLongArray(BUCKETS);
+		total = new LongAdder();
+		sum = new LongAdder();
+		min = new AtomicLong(Long.MAX_VALUE);
+		max = new AtomicLong(0);
+	}
+
+	/**
+	 * Record a latency.
+	 *
+	 * @param nanos
+	 *            the latency in nanoseconds (negative values are recorded as 0)
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		counts.incrementAndGet(index(value));
+		total.increment();
+		sum.add(value);
+		min.accumulateAndGet(value, Math::min);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		return total.sum();
+	}
+
+	/**
+	 * @return the mean of recorded values in nanoseconds (0 if empty)
+	 */
+	public double getMean() {
+		long count = getCount();
+		return count == 0 ? 0 : (double) sum.sum() / count;
+	}
+
+	/**
+	 * @return the smallest recorded value in nanoseconds (0 if empty)
+	 */
+	public long getMin() {
+		return getCount() == 0 ? 0 : min.get();
+	}
+
+	/**
+	 * @return the highest recorded value in nanoseconds
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Get the value under which the given ratio of the recorded values are.
+	 *
+	 * @param ratio
+	 *            the percentile as a ratio (0.99 for p99)
+	 * @return the percentile in nanoseconds (0 if empty)
+	 */
+	public long getPercentile(double ratio) {
+		long count = getCount();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(ratio * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestValue(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	private static int index(long value) {
+		if (value < LINEAR_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		int mantissa = (int) (value >>> shift);
+		return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+	}
+
+	private static long highestValue(int index) {
+		if (index < LINEAR_BUCKETS) {
+			return index;
+		}
+		int k = index - LINEAR_BUCKETS;
+		int shift = k / SUB_BUCKETS + 1;
+		long mantissa = (long) (k % SUB_BUCKETS) + SUB_BUCKETS;
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
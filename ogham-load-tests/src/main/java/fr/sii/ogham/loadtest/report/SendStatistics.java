@@ -0,0 +1,127 @@
+package fr.sii.ogham.loadtest.report;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.sii.ogham.loadtest.message.MessageKind;
+
+/**
+ * Statistics about the messages sent during the measured period: number of
+ * sent and failed messages, latency per kind of message and causes of
+ * failures.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class SendStatistics {
+	private final Map<MessageKind, KindStatistics> byKind;
+	private final LatencyHistogram latency;
+	private final LongAdder sent;
+	private final LongAdder failed;
+	private final ConcurrentMap<String, LongAdder> errors;
+
+	public SendStatistics() {
+		super();
+		byKind = new EnumMap<>(MessageKind.class);
+		for (MessageKind kind : MessageKind.values()) {
+			byKind.put(kind, new KindStatistics());
+		}
+		latency = new LatencyHistogram();
+		sent = new LongAdder();
+		failed = new LongAdder();
+		errors = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Record a message that has been successfully sent.
+	 *
+	 * @param kind
+	 *            the kind of message
+	 * @param latencyNanos
+	 *            the time to send the message
+	 */
+	public void success(MessageKind kind, long latencyNanos) {
+		KindStatistics stats = byKind.get(kind);
+		stats.sent.increment();
+		stats.latency.record(latencyNanos);
+		sent.increment();
+		latency.record(latencyNanos);
+	}
+
+	/**
+	 * Record a message that couldn't be sent.
+	 *
+	 * @param kind
+	 *            the kind of message
+	 * @param latencyNanos
+	 *            the time spent before failing
+	 * @param error
+	 *            the failure
+	 */
+	public void failure(MessageKind kind, long latencyNanos, Throwable error) {
+		KindStatistics stats = byKind.get(kind);
+		stats.failed.increment();
+		stats.latency.record(latencyNanos);
+		failed.increment();
+		latency.record(latencyNanos);
+		errors.computeIfAbsent(rootCause(error).getClass().getName(), k -> new LongAdder()).increment();
+	}
+
+	public long getSent() {
+		return sent.sum();
+	}
+
+	public long getFailed() {
+		return failed.sum();
+	}
+
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	public KindStatistics get(MessageKind kind) {
+		return byKind.get(kind);
+	}
+
+	/**
+	 * @return the number of failures indexed by the class of the root cause
+	 */
+	public Map<String, Long> getErrors() {
+		Map<String, Long> values = new TreeMap<>();
+		errors.forEach((k, v) -> values.put(k, v.sum()));
+		return values;
+	}
+
+	private static Throwable rootCause(Throwable error) {
+		Throwable cause = error;
+		while (cause.getCause() != null && cause.getCause() != cause) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+	/**
+	 * Statistics for one kind of message
+	 */
+	public static class KindStatistics {
+		private final LongAdder sent = new LongAdder();
+		private final LongAdder failed = new LongAdder();
+		private final LatencyHistogram latency = new LatencyHistogram();
+
+		public long getSent() {
+			return sent.sum();
+		}
+
+		public long getFailed() {
+			return failed.sum();
+		}
+
+		public LatencyHistogram getLatency() {
+			return latency;
+		}
+	}
+}
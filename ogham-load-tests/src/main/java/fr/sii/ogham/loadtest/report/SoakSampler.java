@@ -0,0 +1,169 @@
+package fr.sii.ogham.loadtest.report;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import fr.sii.ogham.core.async.DaemonThreadFactory;
+
+/**
+ * Periodically samples the throughput, the heap and the number of threads
+ * during the measured period.
+ *
+ * <p>
+ * On long (soak) runs, the samples are used to detect leaks: the heap used
+ * after garbage collection and the number of live threads should stay flat. The
+ * trend of the heap after GC is computed using a least squares regression over
+ * all samples.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class SoakSampler {
+	private static final double NANOS_PER_HOUR = TimeUnit.HOURS.toNanos(1);
+
+	private final SendStatistics statistics;
+	private final Duration interval;
+	private final Runnable onSample;
+	private final List<Sample> samples;
+	private ScheduledExecutorService executor;
+	private long start;
+	private long lastSent;
+	private long lastFailed;
+	private long lastTime;
+
+	/**
+	 * @param statistics
+	 *            the statistics of the run
+	 * @param interval
+	 *            the interval between two samples
+	 * @param onSample
+	 *            executed after each sample (used to purge the messages
+	 *            received by the servers)
+	 */
+	public SoakSampler(SendStatistics statistics, Duration interval, Runnable onSample) {
+		super();
+		this.statistics = statistics;
+		this.interval = interval;
+		this.onSample = onSample;
+		this.samples = new ArrayList<>();
+	}
+
+	public synchronized void start() {
+		start = System.nanoTime();
+		lastTime = start;
+		lastSent = statistics.getSent();
+		lastFailed = statistics.getFailed();
+		executor = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("load-test-sampler-"));
+		long period = interval.toNanos();
+		executor.scheduleAtFixedRate(this::sample, period, period, TimeUnit.NANOSECONDS);
+	}
+
+	public void stop() throws InterruptedException {
+		executor.shutdownNow();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+	}
+
+	/**
+	 * @return the samples and the leak indicators
+	 */
+	public synchronized Map<String, Object> toReport() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("intervalSeconds", interval.toMillis() / 1000.0);
+		if (samples.size() >= 2) {
+			Sample first = samples.get(0);
+			Sample last = samples.get(samples.size() - 1);
+			report.put("heapAfterGcTrendBytesPerHour", heapAfterGcTrend());
+			report.put("heapAfterGcDeltaBytes", last.heapAfterGc - first.heapAfterGc);
+			report.put("threadsDelta", last.threads - first.threads);
+		}
+		List<Map<String, Object>> list = new ArrayList<>(samples.size());
+		for (Sample sample : samples) {
+			list.add(sample.toReport());
+		}
+		report.put("samples", list);
+		return report;
+	}
+
+	private synchronized void sample() {
+		long now = System.nanoTime();
+		long sent = statistics.getSent();
+		long failed = statistics.getFailed();
+		double seconds = (now - lastTime) / 1e9;
+		Sample sample = new Sample();
+		sample.elapsedNanos = now - start;
+		sample.sent = sent - lastSent;
+		sample.failed = failed - lastFailed;
+		sample.throughput = seconds > 0 ? (sample.sent + sample.failed) / seconds : 0;
+		sample.heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		sample.heapAfterGc = heapAfterGc();
+		sample.threads = ManagementFactory.getThreadMXBean().getThreadCount();
+		samples.add(sample);
+		lastTime = now;
+		lastSent = sent;
+		lastFailed = failed;
+		onSample.run();
+	}
+
+	private double heapAfterGcTrend() {
+		int n = samples.size();
+		double meanX = 0;
+		double meanY = 0;
+		for (Sample sample : samples) {
+			meanX += sample.elapsedNanos;
+			meanY += sample.heapAfterGc;
+		}
+		meanX /= n;
+		meanY /= n;
+		double covariance = 0;
+		double variance = 0;
+		for (Sample sample : samples) {
+			double dx = sample.elapsedNanos - meanX;
+			covariance += dx * (sample.heapAfterGc - meanY);
+			variance += dx * dx;
+		}
+		return variance == 0 ? 0 : covariance / variance * NANOS_PER_HOUR;
+	}
+
+	private static long heapAfterGc() {
+		long used = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			MemoryUsage usage = pool.getCollectionUsage();
+			if (pool.getType() == MemoryType.HEAP && usage != null) {
+				used += usage.getUsed();
+			}
+		}
+		return used;
+	}
+
+	private static class Sample {
+		private long elapsedNanos;
+		private long sent;
+		private long failed;
+		private double throughput;
+		private long heapUsed;
+		private long heapAfterGc;
+		private int threads;
+
+		private Map<String, Object> toReport() {
+			Map<String, Object> report = new LinkedHashMap<>();
+			report.put("elapsedSeconds", elapsedNanos / 1e9);
+			report.put("sent", sent);
+			report.put("failed", failed);
+			report.put("throughput", throughput);
+			report.put("heapUsedBytes", heapUsed);
+			report.put("heapAfterGcBytes", heapAfterGc);
+			report.put("threads", threads);
+			return report;
+		}
+	}
+}
@@ -0,0 +1,16 @@
+<!DOCTYPE html>
+<html>
+	<head>
+		<title>Notification ${reference}</title>
+		<meta charset="utf-8" />
+	</head>
+	<body>
+		<h1>Hello ${name}</h1>
+		<p>Here is what happened on your account (<strong>${reference}</strong>):</p>
+		<ul>
+			<#list events as event>
+			<li class="${event?item_parity}">${event}</li>
+			</#list>
+		</ul>
+	</body>
+</html>
@@ -0,0 +1,75 @@
+package oghamloadtest.ut.report;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.loadtest.report.JsonWriter;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class JsonWriterTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void specialCharactersAreEscaped() {
+		assertThat(JsonWriter.toJson("quote \" backslash \\"), is("\"quote \\\" backslash \\\\\"\n"));
+		assertThat(JsonWriter.toJson("line\nreturn\rtab\t"), is("\"line\\nreturn\\rtab\\t\"\n"));
+		assertThat(JsonWriter.toJson("control \u0001 \u001f"), is("\"control \\u0001 \\u001f\"\n"));
+		assertThat(JsonWriter.toJson("unicode é €"), is("\"unicode é €\"\n"));
+	}
+
+	@Test
+	public void keysAreEscaped() {
+		assertThat(JsonWriter.toJson(singletonMap("k\"ey", "value")), is("{\n  \"k\\\"ey\": \"value\"\n}\n"));
+	}
+
+	@Test
+	public void notANumberIsWrittenAsNull() {
+		assertThat(JsonWriter.toJson(Double.NaN), is("null\n"));
+		assertThat(JsonWriter.toJson(Float.NaN), is("null\n"));
+		assertThat(JsonWriter.toJson(Double.POSITIVE_INFINITY), is("null\n"));
+		assertThat(JsonWriter.toJson(Double.NEGATIVE_INFINITY), is("null\n"));
+	}
+
+	@Test
+	public void decimalsAreRounded() {
+		assertThat(JsonWriter.toJson(1.23456), is("1.235\n"));
+		assertThat(JsonWriter.toJson(2.0), is("2.0\n"));
+	}
+
+	@Test
+	public void otherValues() {
+		assertThat(JsonWriter.toJson(null), is("null\n"));
+		assertThat(JsonWriter.toJson(42L), is("42\n"));
+		assertThat(JsonWriter.toJson(true), is("true\n"));
+		assertThat(JsonWriter.toJson(emptyMap()), is("{}\n"));
+		assertThat(JsonWriter.toJson(emptyList()), is("[]\n"));
+	}
+
+	@Test
+	public void nestedValuesAreIndented() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("count", 2);
+		report.put("mean", Double.NaN);
+		report.put("values", asList(1, null));
+
+		assertThat(JsonWriter.toJson(report), is("{\n"
+				+ "  \"count\": 2,\n"
+				+ "  \"mean\": null,\n"
+				+ "  \"values\": [\n"
+				+ "    1,\n"
+				+ "    null\n"
+				+ "  ]\n"
+				+ "}\n"));
+	}
+}
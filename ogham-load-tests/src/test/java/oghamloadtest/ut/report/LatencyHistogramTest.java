@@ -0,0 +1,120 @@
+package oghamloadtest.ut.report;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import fr.sii.ogham.loadtest.report.LatencyHistogram;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class LatencyHistogramTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void emptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertThat(histogram.getCount(), is(0L));
+		assertThat(histogram.getMin(), is(0L));
+		assertThat(histogram.getMax(), is(0L));
+		assertThat(histogram.getMean(), is(0.0));
+		assertThat(histogram.getPercentile(0.99), is(0L));
+	}
+
+	@Test
+	public void valuesBelow64AreExact() {
+		assertThat(medianOf(0L), is(0L));
+		assertThat(medianOf(1L), is(1L));
+		assertThat(medianOf(63L), is(63L));
+	}
+
+	@Test
+	public void valuesFrom64ShareBucketsOfTwoValues() {
+		// 64 and 65 are in the same bucket: the highest value is reported
+		assertThat(medianOf(64L), is(65L));
+		assertThat(medianOf(65L), is(65L));
+		assertThat(medianOf(66L), is(67L));
+		assertThat(medianOf(127L), is(127L));
+		assertThat(medianOf(128L), is(131L));
+	}
+
+	@Test
+	public void largeValuesHaveBoundedRelativeError() {
+		long oneSecond = 1_000_000_000L;
+		long reported = medianOf(oneSecond);
+
+		assertThat(reported, is(1_006_632_959L));
+		assertThat(reported, allOf(greaterThanOrEqualTo(oneSecond), lessThanOrEqualTo(oneSecond + oneSecond / 32)));
+	}
+
+	@Test
+	public void highestPossibleValue() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(Long.MAX_VALUE);
+
+		assertThat(histogram.getCount(), is(1L));
+		assertThat(histogram.getMax(), is(Long.MAX_VALUE));
+		assertThat(histogram.getPercentile(1.0), is(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void negativeValuesAreRecordedAsZero() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-10L);
+
+		assertThat(histogram.getCount(), is(1L));
+		assertThat(histogram.getMin(), is(0L));
+		assertThat(histogram.getPercentile(1.0), is(0L));
+	}
+
+	@Test
+	public void percentilesOfUniformDistribution() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+
+		assertThat(histogram.getCount(), is(100L));
+		assertThat(histogram.getMin(), is(1L));
+		assertThat(histogram.getMax(), is(100L));
+		assertThat(histogram.getMean(), is(50.5));
+		assertThat(histogram.getPercentile(0.5), is(50L));
+		// 90 and 91 are in the same bucket
+		assertThat(histogram.getPercentile(0.9), is(91L));
+		assertThat(histogram.getPercentile(0.99), is(99L));
+		// bucket of 100 goes up to 101 but max is exact
+		assertThat(histogram.getPercentile(1.0), is(100L));
+	}
+
+	@Test
+	public void percentilesOfDistributionWithFewSlowValues() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 1000; i++) {
+			histogram.record(1_000L);
+		}
+		for (int i = 0; i < 10; i++) {
+			histogram.record(1_000_000L);
+		}
+
+		assertThat(histogram.getCount(), is(1010L));
+		assertThat(histogram.getPercentile(0.5), is(1_007L));
+		assertThat(histogram.getPercentile(0.99), is(1_007L));
+		assertThat(histogram.getPercentile(0.999), is(1_000_000L));
+		assertThat(histogram.getMax(), is(1_000_000L));
+	}
+
+	private static long medianOf(long value) {
+		// a higher value is recorded too so that the reported value is not
+		// capped by the max
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(value);
+		histogram.record(Long.MAX_VALUE);
+		return histogram.getPercentile(0.5);
+	}
+}
@@ -7,6 +7,7 @@ import static fr.sii.ogham.sms.builder.cloudhopper.InterfaceVersion.VERSION_3_4;
 import com.cloudhopper.smpp.SmppBindType;
 
 import fr.sii.ogham.sms.builder.cloudhopper.InterfaceVersion;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.session.LoadBalancing;
 
 public final class CloudhopperConstants {
 	/**
@@ -136,6 +137,11 @@ public final class CloudhopperConstants {
 	 * ms).
 	 */
 	public static final long DEFAULT_UNBIND_TIMEOUT = 5000L;
+	/**
+	 * Disable windowed (asynchronous) submission of segments by default (wait
+	 * for the response of each segment before sending the next one).
+	 */
+	public static final boolean DEFAULT_ASYNC_SUBMIT_ENABLED = false;
 	/**
 	 * Default maximum number of attempts for connecting to SMSC (10).
 	 */
@@ -203,6 +209,19 @@ public final class CloudhopperConstants {
 	 * Default number of consecutive EnquireLink requests that end in a timeout.
 	 */
 	public static final Integer DEFAULT_KEEP_ALIVE_MAX_CONSECUTIVE_TIMEOUTS = 3;
+	/**
+	 * Disable the pool of sessions by default (a single session is used).
+	 */
+	public static final boolean DEFAULT_SESSION_POOL_ENABLED = false;
+	/**
+	 * Default number of sessions bound to the server when the pool of
+	 * sessions is enabled (2).
+	 */
+	public static final int DEFAULT_SESSION_POOL_SIZE = 2;
+	/**
+	 * Use sessions of the pool one after the other by default.
+	 */
+	public static final LoadBalancing DEFAULT_SESSION_POOL_LOAD_BALANCING = LoadBalancing.ROUND_ROBIN;
 
 	private CloudhopperConstants() {
 		super();
@@ -1,12 +1,23 @@
 package fr.sii.ogham.sms.builder.cloudhopper;
 
 
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_GSM;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_GSM7;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_GSM8;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_ISO_8859_1;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_UCS_2;
+import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_ASYNC_SUBMIT_ENABLED;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_BIND_TYPE;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_CHARSET;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_INTERFACE_VERSION;
+import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_KEEP_ALIVE_MAX_CONSECUTIVE_TIMEOUTS;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_RESPONSE_TIMEOUT;
+import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_SESSION_POOL_LOAD_BALANCING;
+import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_SESSION_POOL_SIZE;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_UNBIND_TIMEOUT;
+import static java.lang.Boolean.TRUE;
 
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -36,6 +47,8 @@ import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
 import fr.sii.ogham.core.builder.configurer.Configurer;
 import fr.sii.ogham.core.builder.context.BuildContext;
 import fr.sii.ogham.core.builder.context.DefaultBuildContext;
+import fr.sii.ogham.core.builder.ratelimit.RateLimitBuilder;
+import fr.sii.ogham.core.builder.ratelimit.RateLimitedBuilder;
 import fr.sii.ogham.core.fluent.AbstractParent;
 import fr.sii.ogham.core.retry.RetryExecutor;
 import fr.sii.ogham.core.retry.SimpleRetryExecutor;
@@ -49,6 +62,8 @@ import fr.sii.ogham.sms.message.addressing.translator.PhoneNumberTranslator;
 import fr.sii.ogham.sms.sender.impl.CloudhopperSMPPSender;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.ExtendedSmppSessionConfiguration;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.KeepAliveOptions;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.SessionPoolOptions;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.CharsetClassifier;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.CloudhopperCharsetSupportingEncoder;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.NamedCharset;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.preparator.CharsetMapToCharacterEncodingGroupDataCodingProvider;
@@ -61,11 +76,13 @@ import fr.sii.ogham.sms.sender.impl.cloudhopper.session.DefaultErrorAnalyzer;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.session.ErrorAnalyzer;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.session.ErrorHandler;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.session.KeepSessionAliveStrategy;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.session.LoadBalancing;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.session.LogErrorHandler;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.session.MayReuseSessionStrategy;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.session.RespondToDeliveryReceiptHandler;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.session.RespondToEnquireLinkRequestHandler;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.session.SessionHandlingStrategy;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.session.SessionPoolStrategy;
 import fr.sii.ogham.sms.splitter.GsmMessageSplitter;
 import fr.sii.ogham.sms.splitter.MessageSplitter;
 import fr.sii.ogham.sms.splitter.NoSplitMessageSplitter;
@@ -80,6 +97,7 @@ import fr.sii.ogham.sms.splitter.ReferenceNumberGenerator;
  * <li>Session management (name, bind, timeouts, retry...)</li>
  * <li>SSL configuration</li>
  * <li>Logging options</li>
+ * <li>Maximum number of SMS sent per second</li>
  * </ul>
  * 
  * <p>
@@ -141,10 +159,11 @@ import fr.sii.ogham.sms.splitter.ReferenceNumberGenerator;
  * 
  * @author Aurélien Baudet
  */
-public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Builder<CloudhopperSMPPSender> {
+public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Builder<CloudhopperSMPPSender>, RateLimitedBuilder {
 	private static final Logger LOG = LoggerFactory.getLogger(CloudhopperBuilder.class);
 
 	private final ReadableEncoderBuilder sharedEncoderBuilder;
+	private final CharsetClassifier charsetClassifier;
 	private BuildContext buildContext;
 	private final ConfigurationValueBuilderHelper<CloudhopperBuilder, String> systemIdValueBuilder;
 	private final ConfigurationValueBuilderHelper<CloudhopperBuilder, String> passwordValueBuilder;
@@ -158,6 +177,7 @@ public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Bu
 	private Address addressRange;
 	private SslBuilder sslBuilder;
 	private LoggingBuilder loggingBuilder;
+	private RateLimitBuilder<CloudhopperBuilder> rateLimitBuilder;
 	private SmppClientSupplier clientSupplier;
 	private SmppSessionHandlerSupplier smppSessionHandler;
 	private MessageSplitterBuilder messageSplitterBuilder;
@@ -194,6 +214,9 @@ public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Bu
 		super(parent);
 		this.buildContext = buildContext;
 		sharedEncoderBuilder = new ReadableEncoderBuilder(buildContext);
+		// encoders and splitters share the classifier so that a message is
+		// scanned only once to know which standard charsets can encode it
+		charsetClassifier = buildContext.register(new CharsetClassifier(NamedCharset.from(NAME_GSM7), NamedCharset.from(NAME_GSM), NamedCharset.from(NAME_GSM8), NamedCharset.from(NAME_ISO_8859_1), NamedCharset.from(NAME_UCS_2)));
 		systemIdValueBuilder = buildContext.newConfigurationValueBuilder(this, String.class);
 		passwordValueBuilder = buildContext.newConfigurationValueBuilder(this, String.class);
 		hostValueBuilder = buildContext.newConfigurationValueBuilder(this, String.class);
@@ -887,7 +910,7 @@ public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Bu
 	 */
 	public EncoderBuilder encoder() {
 		if (encoderBuilder == null) {
-			encoderBuilder = new EncoderBuilder(this, buildContext);
+			encoderBuilder = new EncoderBuilder(this, buildContext, charsetClassifier);
 			sharedEncoderBuilder.update(encoderBuilder);
 		}
 		return encoderBuilder;
@@ -966,7 +989,7 @@ public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Bu
 	 */
 	public MessageSplitterBuilder splitter() {
 		if (messageSplitterBuilder == null) {
-			messageSplitterBuilder = new MessageSplitterBuilder(this, buildContext, sharedEncoderBuilder);
+			messageSplitterBuilder = new MessageSplitterBuilder(this, buildContext, sharedEncoderBuilder, charsetClassifier);
 		}
 		return messageSplitterBuilder;
 	}
@@ -1061,6 +1084,28 @@ public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Bu
 		return loggingBuilder;
 	}
 
+	/**
+	 * Configure the maximum number of SMS sent per second.
+	 * 
+	 * <p>
+	 * SMSC usually limits the number of messages per second. If the SMSC
+	 * rejects a message because the limit is exceeded
+	 * ({@link SmppConstants#STATUS_THROTTLED}), the rate is automatically
+	 * reduced and then progressively restored.
+	 * 
+	 * <p>
+	 * A message split into several segments is limited as a single message.
+	 * 
+	 * @return the builder to configure the rate limit
+	 */
+	@Override
+	public RateLimitBuilder<CloudhopperBuilder> rateLimit() {
+		if (rateLimitBuilder == null) {
+			rateLimitBuilder = new RateLimitBuilder<>(this, buildContext);
+		}
+		return rateLimitBuilder;
+	}
+
 	/**
 	 * By default, {@link CloudhopperSMPPSender} uses {@link DefaultSmppClient}
 	 * client. This option provides a way to use another {@link SmppClient}.
@@ -1263,7 +1308,7 @@ public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Bu
 		LOG.info("Sending SMS using Cloudhopper is registered");
 		LOG.debug("SMPP server address: {}:{}", configuration.getHost(), configuration.getPort());
 		SessionHandlingStrategy sessionHandler = buildSessionHandlingStrategy(configuration);
-		return buildContext.register(new CloudhopperSMPPSender(configuration, sessionHandler, buildPreparator()));
+		return buildContext.register(new CloudhopperSMPPSender(configuration, sessionHandler, buildPreparator(), buildContext.getMetricsRecorder()));
 	}
 
 	private CloudhopperSessionOptions buildSessionOpts() {
@@ -1276,6 +1321,9 @@ public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Bu
 	}
 
 	private SessionHandlingStrategy buildSessionHandlingStrategy(ExtendedSmppSessionConfiguration configuration) {
+		if (configuration.getSessionPool() != null && configuration.getSessionPool().isEnable(false)) {
+			return buildSessionPoolHandler(configuration);
+		}
 		if (configuration.getKeepAlive() != null && configuration.getKeepAlive().isEnable(false)) {
 			return buildKeepAliveHandler(configuration);
 		}
@@ -1289,8 +1337,17 @@ public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Bu
 		return new KeepSessionAliveStrategy(configuration, buildClientSupplier(), buildSmppSessionHandler(), configuration.getConnectRetry(), configuration.getKeepAlive().getExecutor(), buildKeepAliveErrorAnalyzer(configuration.getKeepAlive()), buildReconnectionErrorHandler());
 	}
 	
+	private SessionHandlingStrategy buildSessionPoolHandler(ExtendedSmppSessionConfiguration configuration) {
+		SessionPoolOptions pool = configuration.getSessionPool();
+		KeepAliveOptions keepAlive = configuration.getKeepAlive() != null ? configuration.getKeepAlive() : new KeepAliveOptions(false);
+		int size = pool.getSize() != null ? pool.getSize() : DEFAULT_SESSION_POOL_SIZE;
+		LoadBalancing loadBalancing = pool.getLoadBalancing() != null ? pool.getLoadBalancing() : DEFAULT_SESSION_POOL_LOAD_BALANCING;
+		Supplier<ScheduledExecutorService> timerSupplier = keepAlive.getExecutor() != null ? keepAlive.getExecutor() : KeepAliveBuilder.defaultEnquireLinkTimerFactory();
+		return new SessionPoolStrategy(configuration, buildClientSupplier(), buildSmppSessionHandler(), configuration.getConnectRetry(), size, loadBalancing, timerSupplier, buildKeepAliveErrorAnalyzer(keepAlive), buildReconnectionErrorHandler());
+	}
+
 	private ErrorAnalyzer buildKeepAliveErrorAnalyzer(KeepAliveOptions options) {
-		return new DefaultErrorAnalyzer(options.getMaxConsecutiveTimeouts());
+		return new DefaultErrorAnalyzer(options.getMaxConsecutiveTimeouts() != null ? options.getMaxConsecutiveTimeouts() : DEFAULT_KEEP_ALIVE_MAX_CONSECUTIVE_TIMEOUTS);
 	}
 	
 	private ErrorHandler buildReconnectionErrorHandler() {
@@ -1417,7 +1474,9 @@ public class CloudhopperBuilder extends AbstractParent<SmsBuilder> implements Bu
 		merge(session::setReuseSession,            sessionOpts::getReuseSession,              manual::getReuseSession);
 		merge(session::setAddressRange,            () -> addressRange,                        manual::getAddressRange);
 		merge(session::setKeepAlive,               sessionOpts::getKeepAlive,                 manual::getKeepAlive);
+		merge(session::setSessionPool,             sessionOpts::getSessionPool,               manual::getSessionPool);
 		merge(session::setConnectRetry,            () -> buildConnectRetry(sessionOpts),      manual::getConnectRetry);
+		merge(session::setAsyncSubmit,             sessionOpts::getAsyncSubmit,               () -> manual.isAsyncSubmit() ? TRUE : null,             () -> DEFAULT_ASYNC_SUBMIT_ENABLED);
 		// @formatter:on
 		configureSsl(session);
 		configureLogs(session);
@@ -3,6 +3,7 @@ package fr.sii.ogham.sms.builder.cloudhopper;
 import fr.sii.ogham.core.retry.RetryExecutor;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.KeepAliveOptions;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.ReuseSessionOptions;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.SessionPoolOptions;
 
 /**
  * Intermediate object that carries configured options.
@@ -21,9 +22,11 @@ public class CloudhopperSessionOptions {
 	private Long writeTimeout;
 	private Long responseTimeout;
 	private Long unbindTimeout;
+	private Boolean asyncSubmit;
 	private RetryExecutor connectRetry;
 	private ReuseSessionOptions reuseSession;
 	private KeepAliveOptions keepAlive;
+	private SessionPoolOptions sessionPool;
 
 	public String getSessionName() {
 		return sessionName;
@@ -105,6 +108,14 @@ public class CloudhopperSessionOptions {
 		this.unbindTimeout = unbind;
 	}
 
+	public Boolean getAsyncSubmit() {
+		return asyncSubmit;
+	}
+
+	public void setAsyncSubmit(Boolean asyncSubmit) {
+		this.asyncSubmit = asyncSubmit;
+	}
+
 	public RetryExecutor getConnectRetry() {
 		return connectRetry;
 	}
@@ -128,4 +139,12 @@ public class CloudhopperSessionOptions {
 	public void setKeepAlive(KeepAliveOptions keepAlive) {
 		this.keepAlive = keepAlive;
 	}
+
+	public SessionPoolOptions getSessionPool() {
+		return sessionPool;
+	}
+
+	public void setSessionPool(SessionPoolOptions sessionPool) {
+		this.sessionPool = sessionPool;
+	}
 }
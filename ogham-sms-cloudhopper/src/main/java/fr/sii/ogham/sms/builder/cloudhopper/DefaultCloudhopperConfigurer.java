@@ -1,6 +1,7 @@
 package fr.sii.ogham.sms.builder.cloudhopper;
 
 import static fr.sii.ogham.core.builder.configuration.MayOverride.overrideIfNotSet;
+import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_ASYNC_SUBMIT_ENABLED;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_AUTO_DATA_CODING_SCHEME_ENABLED;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_AUTO_GUESS_ENABLED;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_BIND_TIMEOUT;
@@ -24,6 +25,9 @@ import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_LATIN1_ENCODING_PRIO
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_REQUEST_EXPIRY_TIMEOUT;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_RESPONSE_TIMEOUT;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_REUSE_SESSION_ENABLED;
+import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_SESSION_POOL_ENABLED;
+import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_SESSION_POOL_LOAD_BALANCING;
+import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_SESSION_POOL_SIZE;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_SMPP_PORT;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_SPLIT_ENABLED;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_UCS2_ENCODING_PRIORITY;
@@ -154,9 +158,27 @@ import fr.sii.ogham.sms.splitter.GsmMessageSplitter;
  * <ul>
  * <li>Timeouts through properties</li>
  * <li>The window management through properties</li>
+ * <li>The windowed (asynchronous) submission of segments through
+ * properties</li>
  * <li>The connection retry handling through properties</li>
  * </ul>
  * </li>
+ * <li>Configures the maximum number of SMS sent per second:
+ * <ul>
+ * <li>It uses one of "ogham.sms.cloudhopper.rate-limit.permits-per-second" or
+ * "ogham.sms.smpp.rate-limit.permits-per-second" property to limit the number
+ * of SMS sent per second. If not defined, SMS are not limited</li>
+ * <li>It uses one of "ogham.sms.cloudhopper.rate-limit.burst" or
+ * "ogham.sms.smpp.rate-limit.burst" property for the number of SMS that can be
+ * sent at once. Default to 1</li>
+ * <li>It uses one of "ogham.sms.cloudhopper.rate-limit.mode" or
+ * "ogham.sms.smpp.rate-limit.mode" property to either wait ("BLOCK") or fail
+ * immediately ("FAIL_FAST") when the limit is reached. Default to "BLOCK"</li>
+ * <li>It uses one of "ogham.sms.cloudhopper.rate-limit.max-wait" or
+ * "ogham.sms.smpp.rate-limit.max-wait" property for the maximum time to wait
+ * (in milliseconds). Default to no limit</li>
+ * </ul>
+ * </li>
  * </ul>
  * 
  * @author Aurélien Baudet
@@ -188,6 +210,12 @@ public final class DefaultCloudhopperConfigurer {
 				.bindType().properties("${ogham.sms.cloudhopper.bind-type}", "${ogham.sms.smpp.bind-type}").defaultValue(overrideIfNotSet(DEFAULT_BIND_TYPE)).and()
 				.systemType().properties("${ogham.sms.cloudhopper.system-type}", "${ogham.sms.smpp.system-type}").and()
 				.interfaceVersion().properties("${ogham.sms.cloudhopper.interface-version}").defaultValue(overrideIfNotSet(DEFAULT_INTERFACE_VERSION)).and()
+				.rateLimit()
+					.permitsPerSecond().properties("${ogham.sms.cloudhopper.rate-limit.permits-per-second}", "${ogham.sms.smpp.rate-limit.permits-per-second}").and()
+					.burst().properties("${ogham.sms.cloudhopper.rate-limit.burst}", "${ogham.sms.smpp.rate-limit.burst}").and()
+					.mode().properties("${ogham.sms.cloudhopper.rate-limit.mode}", "${ogham.sms.smpp.rate-limit.mode}").and()
+					.maxWait().properties("${ogham.sms.cloudhopper.rate-limit.max-wait}", "${ogham.sms.smpp.rate-limit.max-wait}").and()
+					.and()
 				.userData()
 					.useShortMessage().properties("${ogham.sms.cloudhopper.user-data.use-short-message}", "${ogham.sms.smpp.user-data.use-short-message}").defaultValue(overrideIfNotSet(DEFAULT_USE_SHORT_MESSAGE)).and()
 					.useTlvMessagePayload().properties("${ogham.sms.cloudhopper.user-data.use-tlv-message-payload}", "${ogham.sms.smpp.user-data.use-tlv-message-payload}").defaultValue(overrideIfNotSet(DEFAULT_USE_TLV_MESSAGE_PAYLOAD)).and()
@@ -222,6 +250,7 @@ public final class DefaultCloudhopperConfigurer {
 					.writeTimeout().properties("${ogham.sms.cloudhopper.session.write-timeout}").defaultValue(overrideIfNotSet(DEFAULT_WRITE_TIMEOUT)).and()
 					.responseTimeout().properties("${ogham.sms.cloudhopper.session.response-timeout}").defaultValue(overrideIfNotSet(DEFAULT_RESPONSE_TIMEOUT)).and()
 					.unbindTimeout().properties("${ogham.sms.cloudhopper.session.unbind-timeout}").defaultValue(overrideIfNotSet(DEFAULT_UNBIND_TIMEOUT)).and()
+					.asyncSubmit().properties("${ogham.sms.cloudhopper.session.async-submit}").defaultValue(overrideIfNotSet(DEFAULT_ASYNC_SUBMIT_ENABLED)).and()
 					.reuseSession()
 						.enable().properties("${ogham.sms.cloudhopper.session.reuse-session.enable}").defaultValue(overrideIfNotSet(DEFAULT_REUSE_SESSION_ENABLED)).and()
 						.lastInteractionExpiration().properties("${ogham.sms.cloudhopper.session.reuse-session.last-interaction-expiration-delay}").defaultValue(overrideIfNotSet(DEFAULT_LAST_INTERACTION_EXPIRATION_DELAY)).and()
@@ -234,6 +263,11 @@ public final class DefaultCloudhopperConfigurer {
 						.connectAtStartup().properties("${ogham.sms.cloudhopper.session.keep-alive.connect-at-startup}").defaultValue(overrideIfNotSet(DEFAULT_KEEP_ALIVE_CONNECT_AT_STARTUP)).and()
 						.maxConsecutiveTimeouts().properties("${ogham.sms.cloudhopper.session.keep-alive.max-consecutive-timeouts}").defaultValue(overrideIfNotSet(DEFAULT_KEEP_ALIVE_MAX_CONSECUTIVE_TIMEOUTS)).and()
 						.and()
+					.pool()
+						.enable().properties("${ogham.sms.cloudhopper.session.pool.enable}").defaultValue(overrideIfNotSet(DEFAULT_SESSION_POOL_ENABLED)).and()
+						.size().properties("${ogham.sms.cloudhopper.session.pool.size}").defaultValue(overrideIfNotSet(DEFAULT_SESSION_POOL_SIZE)).and()
+						.loadBalancing().properties("${ogham.sms.cloudhopper.session.pool.load-balancing}").defaultValue(overrideIfNotSet(DEFAULT_SESSION_POOL_LOAD_BALANCING)).and()
+						.and()
 					.connectRetry()
 						.retryable(canRetryConnecting())
 						.fixedDelay()
@@ -19,6 +19,7 @@ import fr.sii.ogham.core.util.PriorizedList;
 import fr.sii.ogham.sms.encoder.Encoder;
 import fr.sii.ogham.sms.encoder.SupportingEncoder;
 import fr.sii.ogham.sms.exception.message.EncodingException;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.CharsetClassifier;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.CloudhopperCharsetSupportingEncoder;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.GuessEncodingEncoder;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.NamedCharset;
@@ -95,6 +96,7 @@ public class EncoderBuilder extends AbstractParent<CloudhopperBuilder> implement
 	protected final PriorizedList<Encoder> customEncoders;
 	protected final ConfigurationValueBuilderHelper<EncoderBuilder, Boolean> autoGuessValueBuilder;
 	protected final ConfigurationValueBuilderHelper<EncoderBuilder, String> fallbackCharsetNameValueBuilder;
+	protected final CharsetClassifier classifier;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -105,10 +107,14 @@ public class EncoderBuilder extends AbstractParent<CloudhopperBuilder> implement
 	 *            the parent builder
 	 * @param buildContext
 	 *            for registering instances and property evaluation
+	 * @param classifier
+	 *            determines which standard charsets can encode a message
+	 *            (shared with the message splitters)
 	 */
-	public EncoderBuilder(CloudhopperBuilder parent, BuildContext buildContext) {
+	public EncoderBuilder(CloudhopperBuilder parent, BuildContext buildContext, CharsetClassifier classifier) {
 		super(parent);
 		this.buildContext = buildContext;
+		this.classifier = classifier;
 		gsm7PackedValueBuilder = buildContext.newConfigurationValueBuilder(ctx -> new StandardEncodingHelper(this, NAME_GSM7, ctx));
 		gsm8ValueBuilder = buildContext.newConfigurationValueBuilder(ctx -> new StandardEncodingHelper(this, NAME_GSM, ctx));
 		ucs2ValueBuilder = buildContext.newConfigurationValueBuilder(ctx -> new StandardEncodingHelper(this, NAME_UCS_2, ctx));
@@ -765,6 +771,6 @@ public class EncoderBuilder extends AbstractParent<CloudhopperBuilder> implement
 		if (priority == null || priority <= 0) {
 			return;
 		}
-		registry.register(buildContext.register(new CloudhopperCharsetSupportingEncoder(helper.getCharset())), priority);
+		registry.register(buildContext.register(new CloudhopperCharsetSupportingEncoder(helper.getCharset(), classifier)), priority);
 	}
 }
@@ -22,6 +22,7 @@ import fr.sii.ogham.core.util.PriorizedList;
 import fr.sii.ogham.sms.SmsConstants.SmppSplitConstants.SegmentSizes;
 import fr.sii.ogham.sms.encoder.Encoder;
 import fr.sii.ogham.sms.encoder.SupportingEncoder;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.CharsetClassifier;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.CloudhopperCharsetSupportingEncoder;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.NamedCharset;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.splitter.SupportedEncoderConditionalSplitter;
@@ -103,6 +104,7 @@ import fr.sii.ogham.sms.splitter.SupportingSplitter;
 public class MessageSplitterBuilder extends AbstractParent<CloudhopperBuilder> implements Builder<MessageSplitter> {
 	private final BuildContext buildContext;
 	private final ReadableEncoderBuilder encoderBuilder;
+	private final CharsetClassifier classifier;
 	private final ConfigurationValueBuilderHelper<MessageSplitterBuilder, Boolean> enableValueBuilder;
 	private final PriorizedList<MessageSplitter> customSplitters;
 	private MessageSplitter customSplitter;
@@ -120,11 +122,15 @@ public class MessageSplitterBuilder extends AbstractParent<CloudhopperBuilder> i
 	 * @param encoderBuilder
 	 *            the encoder builder that is used to configure standard message
 	 *            splitting based on encoding charset
+	 * @param classifier
+	 *            determines which standard charsets can encode a message
+	 *            (shared with the encoders)
 	 */
-	public MessageSplitterBuilder(CloudhopperBuilder parent, BuildContext buildContext, ReadableEncoderBuilder encoderBuilder) {
+	public MessageSplitterBuilder(CloudhopperBuilder parent, BuildContext buildContext, ReadableEncoderBuilder encoderBuilder, CharsetClassifier classifier) {
 		super(parent);
 		this.buildContext = buildContext;
 		this.encoderBuilder = encoderBuilder;
+		this.classifier = classifier;
 		enableValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
 		customSplitters = new PriorizedList<>();
 	}
@@ -338,7 +344,7 @@ public class MessageSplitterBuilder extends AbstractParent<CloudhopperBuilder> i
 	}
 
 	private MessageSplitter buildStandardSplitter(String supportingCharset, SegmentSizes maxSizes) {
-		SupportingEncoder encoder = buildContext.register(new CloudhopperCharsetSupportingEncoder(NamedCharset.from(supportingCharset)));
+		SupportingEncoder encoder = buildContext.register(new CloudhopperCharsetSupportingEncoder(NamedCharset.from(supportingCharset), classifier));
 		return buildContext.register(new SupportedEncoderConditionalSplitter(encoder, buildContext.register(new GsmMessageSplitter(encoder, maxSizes, buildReferenceNumberGenerator()))));
 	}
 
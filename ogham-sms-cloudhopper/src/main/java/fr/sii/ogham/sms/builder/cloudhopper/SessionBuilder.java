@@ -13,6 +13,7 @@ import fr.sii.ogham.core.fluent.AbstractParent;
 import fr.sii.ogham.core.retry.FixedDelayRetry;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.KeepAliveOptions;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.ReuseSessionOptions;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.SessionPoolOptions;
 
 /**
  * Configures Cloudhopper session management (timeouts, retry, session name...).
@@ -32,9 +33,11 @@ public class SessionBuilder extends AbstractParent<CloudhopperBuilder> implement
 	private final ConfigurationValueBuilderHelper<SessionBuilder, Long> responseValueBuilder;
 	private final ConfigurationValueBuilderHelper<SessionBuilder, Long> unbindValueBuilder;
 	private final ConfigurationValueBuilderHelper<SessionBuilder, String> sessionNameValueBuilder;
+	private final ConfigurationValueBuilderHelper<SessionBuilder, Boolean> asyncSubmitValueBuilder;
 	private RetryBuilder<SessionBuilder> connectRetryBuilder;
 	private ReuseSessionBuilder reuseSessionBuilder;
 	private KeepAliveBuilder keepAliveBuilder;
+	private SessionPoolBuilder sessionPoolBuilder;
 
 	/**
 	 * Initializes the builder with a parent builder. The parent builder is used
@@ -59,6 +62,7 @@ public class SessionBuilder extends AbstractParent<CloudhopperBuilder> implement
 		responseValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
 		unbindValueBuilder = buildContext.newConfigurationValueBuilder(this, Long.class);
 		sessionNameValueBuilder = buildContext.newConfigurationValueBuilder(this, String.class);
+		asyncSubmitValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
 	}
 
 	/**
@@ -913,6 +917,145 @@ public class SessionBuilder extends AbstractParent<CloudhopperBuilder> implement
 		return unbindValueBuilder;
 	}
 
+	/**
+	 * Enable/disable windowed (asynchronous) submission of the segments of a
+	 * message.
+	 * 
+	 * <p>
+	 * When disabled (default), each segment ("submit_sm") is sent and the
+	 * response ("submit_sm_resp") is awaited before sending the next segment.
+	 * 
+	 * <p>
+	 * When enabled, all segments are sent without waiting for the response of
+	 * the previous one. Up to {@link #windowSize()} segments may be sent
+	 * without being acknowledged. Once the window is full, sending waits until
+	 * a slot opens up. Each response is then correlated to the originating
+	 * segment: if any segment fails or is rejected, the message is considered
+	 * as not sent.
+	 * 
+	 * <p>
+	 * When a single message is sent, only the segments of this message are
+	 * sent using the window: the next message is sent once all responses of
+	 * the current message are received. Therefore, this mode only reduces the
+	 * time needed to send long messages (several segments). It doesn't
+	 * increase the throughput of short messages sent one by one. To send
+	 * several messages without waiting for the responses, send them at once
+	 * using {@code MessagingService.sendAll()}: the whole batch goes through
+	 * the SMS sending chain and the segments of all the SMS of the batch are
+	 * sent using the window before any response is awaited. If a custom
+	 * sender decorates the SMPP sender, it must forward the batch (see
+	 * {@code MessageSender.sendAll()}), otherwise the SMS are sent one after
+	 * the other.
+	 * 
+	 * <p>
+	 * The window size must be greater than 1 to benefit from this mode.
+	 * 
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #asyncSubmit()}.
+	 * 
+	 * <pre>
+	 * .asyncSubmit(true)
+	 * .asyncSubmit()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * <pre>
+	 * .asyncSubmit(true)
+	 * .asyncSubmit()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * In both cases, {@code asyncSubmit(true)} is used.
+	 * 
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 * 
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 * 
+	 * @param enable
+	 *            enable or disable windowed submission
+	 * @return this instance for fluent chaining
+	 */
+	public SessionBuilder asyncSubmit(Boolean enable) {
+		asyncSubmitValueBuilder.setValue(enable);
+		return this;
+	}
+
+	/**
+	 * Enable/disable windowed (asynchronous) submission of the segments of a
+	 * message.
+	 * 
+	 * <p>
+	 * When disabled (default), each segment ("submit_sm") is sent and the
+	 * response ("submit_sm_resp") is awaited before sending the next segment.
+	 * 
+	 * <p>
+	 * When enabled, all segments are sent without waiting for the response of
+	 * the previous one. Up to {@link #windowSize()} segments may be sent
+	 * without being acknowledged. Once the window is full, sending waits until
+	 * a slot opens up. Each response is then correlated to the originating
+	 * segment: if any segment fails or is rejected, the message is considered
+	 * as not sent.
+	 * 
+	 * <p>
+	 * When a single message is sent, only the segments of this message are
+	 * sent using the window: the next message is sent once all responses of
+	 * the current message are received. Therefore, this mode only reduces the
+	 * time needed to send long messages (several segments). It doesn't
+	 * increase the throughput of short messages sent one by one. To send
+	 * several messages without waiting for the responses, send them at once
+	 * using {@code MessagingService.sendAll()}: the whole batch goes through
+	 * the SMS sending chain and the segments of all the SMS of the batch are
+	 * sent using the window before any response is awaited. If a custom
+	 * sender decorates the SMPP sender, it must forward the batch (see
+	 * {@code MessageSender.sendAll()}), otherwise the SMS are sent one after
+	 * the other.
+	 * 
+	 * <p>
+	 * The window size must be greater than 1 to benefit from this mode.
+	 * 
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 * 
+	 * <pre>
+	 * .asyncSubmit()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * <p>
+	 * Non-null value set using {@link #asyncSubmit(Boolean)} takes precedence over
+	 * property values and default value.
+	 * 
+	 * <pre>
+	 * .asyncSubmit(true)
+	 * .asyncSubmit()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 * 
+	 * The value {@code true} is used regardless of the value of the
+	 * properties and default value.
+	 * 
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 * 
+	 * 
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<SessionBuilder, Boolean> asyncSubmit() {
+		return asyncSubmitValueBuilder;
+	}
+
 	/**
 	 * Reuse the previous session instead of closing and reopening one if
 	 * possible. However, if the session has been closed by the remote server, a
@@ -990,6 +1133,38 @@ public class SessionBuilder extends AbstractParent<CloudhopperBuilder> implement
 		return keepAliveBuilder;
 	}
 
+	/**
+	 * Configure a pool of sessions. Several sessions are bound to the server
+	 * and the messages are distributed over these sessions (either one after
+	 * the other or using the session that has the fewest requests waiting for
+	 * a response).
+	 * 
+	 * <p>
+	 * Each session is kept alive by sending {@link EnquireLink} messages to the
+	 * server using the interval and timeout configured by
+	 * {@link #keepAlive()}. If a session is broken, it is replaced in
+	 * background while the other sessions are still used.
+	 * 
+	 * <p>
+	 * This builder let you configure:
+	 * <ul>
+	 * <li>Enable/disable the pool of sessions</li>
+	 * <li>The number of bound sessions</li>
+	 * <li>How a session is selected to send a message</li>
+	 * </ul>
+	 * 
+	 * <strong>NOTE:</strong> If this strategy is enabled, {@link #keepAlive()}
+	 * enable option and {@link #reuseSession()} have no effect.
+	 * 
+	 * @return the builder to configure the pool of sessions
+	 */
+	public SessionPoolBuilder pool() {
+		if (sessionPoolBuilder == null) {
+			sessionPoolBuilder = new SessionPoolBuilder(this, buildContext);
+		}
+		return sessionPoolBuilder;
+	}
+
 	@Override
 	public CloudhopperSessionOptions build() {
 		CloudhopperSessionOptions sessionOpts = buildContext.register(new CloudhopperSessionOptions());
@@ -1002,11 +1177,13 @@ public class SessionBuilder extends AbstractParent<CloudhopperBuilder> implement
 		sessionOpts.setWriteTimeout(writeValueBuilder.getValue());
 		sessionOpts.setResponseTimeout(responseValueBuilder.getValue());
 		sessionOpts.setUnbindTimeout(unbindValueBuilder.getValue());
+		sessionOpts.setAsyncSubmit(asyncSubmitValueBuilder.getValue());
 		if (connectRetryBuilder != null) {
 			sessionOpts.setConnectRetry(connectRetryBuilder.build());
 		}
 		sessionOpts.setKeepAlive(keepAliveBuilder != null ? keepAliveBuilder.build() : new KeepAliveOptions(false));
 		sessionOpts.setReuseSession(reuseSessionBuilder != null ? reuseSessionBuilder.build() : new ReuseSessionOptions(false));
+		sessionOpts.setSessionPool(sessionPoolBuilder != null ? sessionPoolBuilder.build() : new SessionPoolOptions(false));
 		return sessionOpts;
 	}
 
@@ -0,0 +1,305 @@
+package fr.sii.ogham.sms.builder.cloudhopper;
+
+import com.cloudhopper.smpp.pdu.EnquireLink;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.SessionPoolOptions;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.session.LoadBalancing;
+
+/**
+ * Builder to configure how the pool of sessions should behave.
+ *
+ * <p>
+ * Several sessions are bound to the server and the messages are distributed
+ * over these sessions. Each session is kept alive by sending regularly
+ * {@link EnquireLink} messages (see {@link SessionBuilder#keepAlive()} to
+ * configure the interval and the timeout). If a session is broken, it is
+ * replaced in background while the other sessions are still used.
+ *
+ * <p>
+ * This builder let you configure:
+ * <ul>
+ * <li>Enable/disable the pool of sessions</li>
+ * <li>The number of bound sessions</li>
+ * <li>How a session is selected to send a message</li>
+ * </ul>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class SessionPoolBuilder extends AbstractParent<SessionBuilder> implements Builder<SessionPoolOptions> {
+	private final ConfigurationValueBuilderHelper<SessionPoolBuilder, Boolean> enableValueBuilder;
+	private final ConfigurationValueBuilderHelper<SessionPoolBuilder, Integer> sizeValueBuilder;
+	private final ConfigurationValueBuilderHelper<SessionPoolBuilder, LoadBalancing> loadBalancingValueBuilder;
+
+	public SessionPoolBuilder(SessionBuilder parent, BuildContext buildContext) {
+		super(parent);
+		this.enableValueBuilder = buildContext.newConfigurationValueBuilder(this, Boolean.class);
+		this.sizeValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		this.loadBalancingValueBuilder = buildContext.newConfigurationValueBuilder(this, LoadBalancing.class);
+	}
+
+	/**
+	 * Enable or disable the use of several bound sessions to send messages.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #enable()}.
+	 *
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * In both cases, {@code enable(true)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param enable
+	 *            true to use a pool of sessions
+	 * @return this instance for fluent chaining
+	 */
+	public SessionPoolBuilder enable(Boolean enable) {
+		enableValueBuilder.setValue(enable);
+		return this;
+	}
+
+	/**
+	 * Enable or disable the use of several bound sessions to send messages.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #enable(Boolean)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .enable(true)
+	 * .enable()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(false)
+	 * </pre>
+	 *
+	 * The value {@code true} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<SessionPoolBuilder, Boolean> enable() {
+		return enableValueBuilder;
+	}
+
+	/**
+	 * The number of sessions that are bound to the server.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #size()}.
+	 *
+	 * <pre>
+	 * .size(4)
+	 * .size()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(2)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .size(4)
+	 * .size()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(2)
+	 * </pre>
+	 *
+	 * In both cases, {@code size(4)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param size
+	 *            the number of bound sessions
+	 * @return this instance for fluent chaining
+	 */
+	public SessionPoolBuilder size(Integer size) {
+		sizeValueBuilder.setValue(size);
+		return this;
+	}
+
+	/**
+	 * The number of sessions that are bound to the server.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .size()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(2)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #size(Integer)} takes precedence over
+	 * property values and default value.
+	 *
+	 * <pre>
+	 * .size(4)
+	 * .size()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(2)
+	 * </pre>
+	 *
+	 * The value {@code 4} is used regardless of the value of the properties and
+	 * default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<SessionPoolBuilder, Integer> size() {
+		return sizeValueBuilder;
+	}
+
+	/**
+	 * How the session is selected among the bound sessions to send a message:
+	 * <ul>
+	 * <li>{@link LoadBalancing#ROUND_ROBIN}: the sessions are used one after
+	 * the other</li>
+	 * <li>{@link LoadBalancing#LEAST_PENDING}: the session with the smallest
+	 * number of requests waiting for a response is used</li>
+	 * </ul>
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #loadBalancing()}.
+	 *
+	 * <pre>
+	 * .loadBalancing(LoadBalancing.LEAST_PENDING)
+	 * .loadBalancing()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(LoadBalancing.ROUND_ROBIN)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .loadBalancing(LoadBalancing.LEAST_PENDING)
+	 * .loadBalancing()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(LoadBalancing.ROUND_ROBIN)
+	 * </pre>
+	 *
+	 * In both cases, {@code loadBalancing(LoadBalancing.LEAST_PENDING)} is
+	 * used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param loadBalancing
+	 *            how the session is selected
+	 * @return this instance for fluent chaining
+	 */
+	public SessionPoolBuilder loadBalancing(LoadBalancing loadBalancing) {
+		loadBalancingValueBuilder.setValue(loadBalancing);
+		return this;
+	}
+
+	/**
+	 * How the session is selected among the bound sessions to send a message:
+	 * <ul>
+	 * <li>{@link LoadBalancing#ROUND_ROBIN}: the sessions are used one after
+	 * the other</li>
+	 * <li>{@link LoadBalancing#LEAST_PENDING}: the session with the smallest
+	 * number of requests waiting for a response is used</li>
+	 * </ul>
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .loadBalancing()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(LoadBalancing.ROUND_ROBIN)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #loadBalancing(LoadBalancing)} takes
+	 * precedence over property values and default value.
+	 *
+	 * <pre>
+	 * .loadBalancing(LoadBalancing.LEAST_PENDING)
+	 * .loadBalancing()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(LoadBalancing.ROUND_ROBIN)
+	 * </pre>
+	 *
+	 * The value {@code LoadBalancing.LEAST_PENDING} is used regardless of the
+	 * value of the properties and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<SessionPoolBuilder, LoadBalancing> loadBalancing() {
+		return loadBalancingValueBuilder;
+	}
+
+	@Override
+	public SessionPoolOptions build() {
+		SessionPoolOptions sessionPoolOptions = new SessionPoolOptions();
+		sessionPoolOptions.setEnable(enableValueBuilder.getValue());
+		sessionPoolOptions.setSize(sizeValueBuilder.getValue());
+		sessionPoolOptions.setLoadBalancing(loadBalancingValueBuilder.getValue());
+		return sessionPoolOptions;
+	}
+}
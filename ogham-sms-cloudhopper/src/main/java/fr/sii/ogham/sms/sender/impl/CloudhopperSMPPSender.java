@@ -1,13 +1,24 @@
 package fr.sii.ogham.sms.sender.impl;
 
+import static fr.sii.ogham.core.metrics.MetricNames.SMPP_WINDOW_PENDING;
+import static fr.sii.ogham.core.metrics.MetricNames.SMPP_WINDOW_SIZE;
+import static fr.sii.ogham.core.util.BatchUtils.failIfAny;
 import static fr.sii.ogham.core.util.LogUtils.logString;
 import static fr.sii.ogham.sms.CloudhopperConstants.DEFAULT_CLOUDHOPPER_IMPLEMENTATION_PRIORITY;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.cloudhopper.commons.util.windowing.WindowFuture;
+import com.cloudhopper.smpp.SmppConstants;
 import com.cloudhopper.smpp.SmppSession;
+import com.cloudhopper.smpp.pdu.PduRequest;
+import com.cloudhopper.smpp.pdu.PduResponse;
 import com.cloudhopper.smpp.pdu.SubmitSm;
+import com.cloudhopper.smpp.pdu.SubmitSmResp;
 import com.cloudhopper.smpp.type.RecoverablePduException;
 import com.cloudhopper.smpp.type.SmppChannelException;
 import com.cloudhopper.smpp.type.SmppTimeoutException;
@@ -16,10 +27,17 @@ import com.cloudhopper.smpp.type.UnrecoverablePduException;
 import fr.sii.ogham.core.builder.priority.Priority;
 import fr.sii.ogham.core.clean.Cleanable;
 import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
 import fr.sii.ogham.core.exception.clean.CleanException;
+import fr.sii.ogham.core.exception.ratelimit.ThrottledException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
 import fr.sii.ogham.core.sender.AbstractSpecializedSender;
 import fr.sii.ogham.sms.message.Sms;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.ExtendedSmppSessionConfiguration;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.exception.MessagePreparationException;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.exception.SmppException;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.preparator.MessagePreparator;
 import fr.sii.ogham.sms.sender.impl.cloudhopper.session.SessionHandlingStrategy;
@@ -29,6 +47,22 @@ import fr.sii.ogham.sms.sender.impl.cloudhopper.session.SessionHandlingStrategy;
  * <a href="https://github.com/twitter/cloudhopper-smpp">cloudhopper-smpp</a>
  * library.
  * 
+ * <p>
+ * If metrics are enabled, the occupancy of the SMPP window (number of
+ * requests waiting for a response) and the size of the window are exposed as
+ * gauges.
+ * 
+ * <p>
+ * If the SMSC rejects a segment because too many messages are sent
+ * ({@link SmppConstants#STATUS_THROTTLED}), the failure is caused by a
+ * {@link ThrottledException} so the rate can be adjusted.
+ * 
+ * <p>
+ * If windowed submission is enabled (see
+ * {@link ExtendedSmppSessionConfiguration#isAsyncSubmit()}), the segments of
+ * all the messages given to {@link #sendAll(List)} are sent before any
+ * response is awaited (see {@link #sendAll(List)}).
+ * 
  * @author Aurélien Baudet
  */
 @Priority(properties="${ogham.sms.implementation-priority.cloudhopper}", defaultValue = DEFAULT_CLOUDHOPPER_IMPLEMENTATION_PRIORITY)
@@ -41,10 +75,18 @@ public class CloudhopperSMPPSender extends AbstractSpecializedSender<Sms> implem
 	
 
 	public CloudhopperSMPPSender(ExtendedSmppSessionConfiguration configuration, SessionHandlingStrategy sessionHandler, MessagePreparator messagePreparator) {
+		this(configuration, sessionHandler, messagePreparator, new NoMetricsRecorder());
+	}
+
+	public CloudhopperSMPPSender(ExtendedSmppSessionConfiguration configuration, SessionHandlingStrategy sessionHandler, MessagePreparator messagePreparator, MetricsRecorder metrics) {
 		super();
 		this.configuration = configuration;
 		this.sessionHandler = sessionHandler;
 		this.messagePreparator = messagePreparator;
+		if (metrics.isEnabled()) {
+			metrics.gauge(SMPP_WINDOW_PENDING, sessionHandler::getPendingRequests);
+			metrics.gauge(SMPP_WINDOW_SIZE, configuration::getWindowSize);
+		}
 	}
 
 	@Override
@@ -52,8 +94,11 @@ public class CloudhopperSMPPSender extends AbstractSpecializedSender<Sms> implem
 		try {
 			LOG.debug("Sending SMS...\n{}", logString(sms));
 			SmppSession session = sessionHandler.getSession();
-			for (SubmitSm msg : messagePreparator.prepareMessages(sms)) {
-				session.submit(msg, configuration.getResponseTimeout());
+			List<SubmitSm> segments = messagePreparator.prepareMessages(sms);
+			if (configuration.isAsyncSubmit()) {
+				submitWindowed(session, segments);
+			} else {
+				submitSequentially(session, segments);
 			}
 			LOG.debug("SMS sent\n{}", logString(sms));
 			sessionHandler.messageSent(sms);
@@ -69,6 +114,248 @@ public class CloudhopperSMPPSender extends AbstractSpecializedSender<Sms> implem
 		}
 	}
 
+	/**
+	 * Sends several SMS at once.
+	 * 
+	 * <p>
+	 * If windowed submission is disabled (default), each SMS is sent one
+	 * after the other (see {@link #send(Sms)}).
+	 * 
+	 * <p>
+	 * If windowed submission is enabled, the same session is used for the
+	 * whole batch and the segments of all SMS are sent without waiting for
+	 * any response. The number of segments that are sent but not acknowledged
+	 * yet is bounded by the session window size (sending blocks until a slot
+	 * opens up in the window). Once all segments are sent, responses are
+	 * awaited and correlated to the originating SMS. If any segment of a SMS
+	 * fails, only this SMS is considered as not sent. If the channel is broken
+	 * while sending a SMS, the remaining SMS of the batch are not sent and are
+	 * considered as not sent.
+	 * 
+	 * @param messages
+	 *            the SMS to send
+	 * @throws MessagesNotSentException
+	 *             when at least one SMS couldn't be sent
+	 */
+	@Override
+	public void sendAll(List<? extends Message> messages) throws MessagesNotSentException {
+		if (!configuration.isAsyncSubmit() || messages.size() <= 1) {
+			super.sendAll(messages);
+			return;
+		}
+		LOG.debug("Sending {} SMS using the window of the session...", messages.size());
+		List<MessageException> failures = new ArrayList<>();
+		List<SubmittedSms> submitted = new ArrayList<>(messages.size());
+		try {
+			SmppSession session = null;
+			SmppException sessionFailure = null;
+			try {
+				session = sessionHandler.getSession();
+			} catch (SmppException e) {
+				sessionFailure = e;
+			}
+			for (Message message : messages) {
+				SubmittedSms sms = submit(session, (Sms) message, sessionFailure);
+				submitted.add(sms);
+				if (sessionFailure == null && sms.channelFailure != null) {
+					// the channel is broken: the remaining SMS are not sent
+					sessionFailure = new SmppException("Failed to send SMS (the channel was broken while sending a previous SMS of the batch)", sms.channelFailure);
+				}
+			}
+			long timeout = configuration.getResponseTimeout();
+			for (SubmittedSms sms : submitted) {
+				sms.awaitResponses(timeout);
+				report(sms, failures);
+			}
+		} finally {
+			for (SubmittedSms sms : submitted) {
+				sessionHandler.messageProcessed(sms.sms);
+			}
+		}
+		failIfAny(failures, messages.size());
+	}
+
+	private SubmittedSms submit(SmppSession session, Sms sms, SmppException sessionFailure) {
+		SubmittedSms submitted = new SubmittedSms(sms);
+		if (sessionFailure != null) {
+			submitted.failure = sessionFailure;
+			return submitted;
+		}
+		try {
+			LOG.debug("Sending SMS...\n{}", logString(sms));
+			List<SubmitSm> segments = submitted.prepare(messagePreparator);
+			for (SubmitSm msg : segments) {
+				submitted.futures.add(session.sendRequestPdu(msg, configuration.getResponseTimeout(), true));
+			}
+		} catch (MessagePreparationException e) {
+			submitted.preparationFailure = e;
+		} catch (SmppChannelException e) {
+			submitted.channelFailure = e;
+			submitted.fail(new SmppException("Failed to send SMS", e));
+		} catch (UnrecoverablePduException | RecoverablePduException | SmppTimeoutException e) {
+			submitted.fail(new SmppException("Failed to send SMS", e));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			submitted.fail(new SmppException("Failed to send SMS (interrupted)", e));
+		}
+		return submitted;
+	}
+
+	private void report(SubmittedSms submitted, List<MessageException> failures) {
+		if (submitted.preparationFailure != null) {
+			failures.add(submitted.preparationFailure);
+			return;
+		}
+		try {
+			if (submitted.failure == null) {
+				LOG.debug("SMS sent\n{}", logString(submitted.sms));
+				sessionHandler.messageSent(submitted.sms);
+			} else {
+				sessionHandler.messageNotSent(submitted.sms, submitted.failure);
+			}
+		} catch (MessageException e) {
+			failures.add(e);
+		} catch (RuntimeException e) {
+			failures.add(new MessageNotSentException("Failed to send SMS", submitted.sms, e));
+		}
+	}
+
+	private void submitSequentially(SmppSession session, List<SubmitSm> segments) throws SmppException, RecoverablePduException, UnrecoverablePduException, SmppTimeoutException, SmppChannelException, InterruptedException {
+		for (int i = 0; i < segments.size(); i++) {
+			SubmitSmResp response = session.submit(segments.get(i), configuration.getResponseTimeout());
+			if (response != null && response.getCommandStatus() == SmppConstants.STATUS_THROTTLED) {
+				throw rejected(i + 1, segments.size(), response);
+			}
+		}
+	}
+
+	/**
+	 * Send all segments without waiting for the response of the previous one.
+	 * The number of segments that are sent but not acknowledged yet is bounded
+	 * by the session window size (sending blocks until a slot opens up in the
+	 * window).
+	 * 
+	 * <p>
+	 * Once all segments are sent, each response is awaited and correlated to
+	 * the originating segment. If any segment fails, the whole message is
+	 * considered as not sent.
+	 * 
+	 * @param session
+	 *            the session used to send the segments
+	 * @param segments
+	 *            the segments of the message
+	 * @throws SmppException
+	 *             when at least one segment couldn't be sent or was rejected
+	 * @throws InterruptedException
+	 *             when the thread is interrupted while waiting for a response
+	 */
+	private void submitWindowed(SmppSession session, List<SubmitSm> segments) throws SmppException, InterruptedException, RecoverablePduException, UnrecoverablePduException, SmppTimeoutException, SmppChannelException {
+		long timeout = configuration.getResponseTimeout();
+		List<WindowFuture<Integer, PduRequest, PduResponse>> futures = new ArrayList<>(segments.size());
+		try {
+			for (SubmitSm msg : segments) {
+				futures.add(session.sendRequestPdu(msg, timeout, true));
+			}
+		} catch (RecoverablePduException | UnrecoverablePduException | SmppTimeoutException | SmppChannelException | InterruptedException e) {
+			cancel(futures);
+			throw e;
+		}
+		SmppException failure = null;
+		for (int i = 0; i < futures.size(); i++) {
+			SmppException error = awaitResponse(futures.get(i), i + 1, futures.size(), timeout);
+			if (failure == null) {
+				failure = error;
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private static SmppException awaitResponse(WindowFuture<Integer, PduRequest, PduResponse> future, int segment, int total, long timeout) throws InterruptedException {
+		try {
+			if (!future.await(timeout)) {
+				future.cancel();
+				return new SmppException("Failed to send segment " + segment + "/" + total + " of SMS", new SmppTimeoutException("Unable to get response within [" + timeout + " ms]"));
+			}
+		} catch (InterruptedException e) {
+			future.cancel();
+			throw e;
+		}
+		if (!future.isSuccess()) {
+			return new SmppException("Failed to send segment " + segment + "/" + total + " of SMS", future.getCause());
+		}
+		PduResponse response = future.getResponse();
+		if (response.getCommandStatus() != SmppConstants.STATUS_OK) {
+			return rejected(segment, total, response);
+		}
+		LOG.trace("Segment {}/{} acknowledged (message_id={})", segment, total, response instanceof SubmitSmResp ? ((SubmitSmResp) response).getMessageId() : null);
+		return null;
+	}
+
+	private static SmppException rejected(int segment, int total, PduResponse response) {
+		String message = "Segment " + segment + "/" + total + " of SMS rejected by the server (command_status=" + response.getCommandStatus() + ", result=" + response.getResultMessage() + ")";
+		if (response.getCommandStatus() == SmppConstants.STATUS_THROTTLED) {
+			return new SmppException(message, new ThrottledException("SMSC reported that too many messages are sent (ESME_RTHROTTLED)"));
+		}
+		return new SmppException(message);
+	}
+
+	private static void cancel(List<WindowFuture<Integer, PduRequest, PduResponse>> futures) {
+		for (WindowFuture<Integer, PduRequest, PduResponse> future : futures) {
+			if (!future.isDone()) {
+				future.cancel();
+			}
+		}
+	}
+
+	/**
+	 * The segments of a SMS that are sent using the window of the session
+	 * and the first failure (if any).
+	 */
+	private static class SubmittedSms {
+		private final Sms sms;
+		private final List<WindowFuture<Integer, PduRequest, PduResponse>> futures;
+		private int total;
+		private SmppException failure;
+		private MessagePreparationException preparationFailure;
+		private SmppChannelException channelFailure;
+
+		public SubmittedSms(Sms sms) {
+			super();
+			this.sms = sms;
+			this.futures = new ArrayList<>();
+		}
+
+		public List<SubmitSm> prepare(MessagePreparator preparator) throws MessagePreparationException {
+			List<SubmitSm> segments = preparator.prepareMessages(sms);
+			total = segments.size();
+			return segments;
+		}
+
+		public void fail(SmppException e) {
+			failure = e;
+			cancel(futures);
+		}
+
+		public void awaitResponses(long timeout) {
+			if (failure != null || preparationFailure != null) {
+				return;
+			}
+			try {
+				for (int i = 0; i < futures.size(); i++) {
+					SmppException error = awaitResponse(futures.get(i), i + 1, total, timeout);
+					if (failure == null) {
+						failure = error;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail(new SmppException("Failed to send SMS (interrupted)", e));
+			}
+		}
+	}
+
 	@Override
 	public void clean() throws CleanException {
 		sessionHandler.clean();
@@ -13,6 +13,7 @@ import fr.sii.ogham.core.retry.RetryExecutor;
  * <li>Additional timeouts (response, unbind)</li>
  * <li>Retry strategy for connection</li>
  * <li>Options for session management strategy</li>
+ * <li>Windowed (asynchronous) submission of segments</li>
  * </ul>
  * 
  * @author Aurélien Baudet
@@ -48,6 +49,24 @@ public class ExtendedSmppSessionConfiguration extends SmppSessionConfiguration {
 	 * this option has ne effect.
 	 */
 	private ReuseSessionOptions reuseSession;
+	/**
+	 * Bind several sessions and distribute the messages over these sessions.
+	 * 
+	 * If this option is enabled, the pool strategy is used and keep alive and
+	 * reuse session options have no effect (except keep alive timings that
+	 * are used for each session of the pool).
+	 */
+	private SessionPoolOptions sessionPool;
+	/**
+	 * Send all segments of a message without waiting for the response of the
+	 * previous segment. The number of unacknowledged segments is bounded by
+	 * the window size. Messages are sent one after the other, except when
+	 * several messages are sent at once (using
+	 * {@code MessagingService.sendAll()}): the segments of all the messages
+	 * of the batch are then sent using the window before any response is
+	 * awaited.
+	 */
+	private boolean asyncSubmit;
 
 	public long getResponseTimeout() {
 		return responseTimeout;
@@ -89,4 +108,20 @@ public class ExtendedSmppSessionConfiguration extends SmppSessionConfiguration {
 		this.reuseSession = reuseSession;
 	}
 
+	public SessionPoolOptions getSessionPool() {
+		return sessionPool;
+	}
+
+	public void setSessionPool(SessionPoolOptions sessionPool) {
+		this.sessionPool = sessionPool;
+	}
+
+	public boolean isAsyncSubmit() {
+		return asyncSubmit;
+	}
+
+	public void setAsyncSubmit(boolean asyncSubmit) {
+		this.asyncSubmit = asyncSubmit;
+	}
+
 }
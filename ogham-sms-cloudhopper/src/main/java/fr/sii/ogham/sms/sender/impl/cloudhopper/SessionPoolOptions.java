@@ -0,0 +1,60 @@
+package fr.sii.ogham.sms.sender.impl.cloudhopper;
+
+import com.cloudhopper.smpp.pdu.EnquireLink;
+
+import fr.sii.ogham.sms.sender.impl.cloudhopper.session.LoadBalancing;
+
+public class SessionPoolOptions {
+	/**
+	 * Enable or disable the use of several bound sessions to send messages.
+	 */
+	private Boolean enable;
+	/**
+	 * The number of sessions that are bound to the server. Each session is
+	 * kept alive using {@link EnquireLink} requests (using keep alive
+	 * options).
+	 */
+	private Integer size;
+	/**
+	 * How the session is selected among the bound sessions to send a message.
+	 */
+	private LoadBalancing loadBalancing;
+
+	public SessionPoolOptions() {
+		super();
+	}
+
+	public SessionPoolOptions(boolean enable) {
+		super();
+		this.enable = enable;
+	}
+
+	public Boolean getEnable() {
+		return enable;
+	}
+
+	public void setEnable(Boolean enable) {
+		this.enable = enable;
+	}
+
+	public boolean isEnable(boolean defaultValue) {
+		return enable == null ? defaultValue : enable;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public void setSize(Integer size) {
+		this.size = size;
+	}
+
+	public LoadBalancing getLoadBalancing() {
+		return loadBalancing;
+	}
+
+	public void setLoadBalancing(LoadBalancing loadBalancing) {
+		this.loadBalancing = loadBalancing;
+	}
+
+}
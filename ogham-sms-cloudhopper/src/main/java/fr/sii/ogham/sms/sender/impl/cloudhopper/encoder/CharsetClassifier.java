@@ -0,0 +1,199 @@
+package fr.sii.ogham.sms.sender.impl.cloudhopper.encoder;
+
+import static java.util.Arrays.asList;
+
+import java.util.BitSet;
+import java.util.List;
+
+import com.cloudhopper.commons.charset.Charset;
+import com.cloudhopper.commons.charset.GSMCharset;
+import com.cloudhopper.commons.charset.ISO88591Charset;
+import com.cloudhopper.commons.charset.PackedGSMCharset;
+import com.cloudhopper.commons.charset.UCS2Charset;
+
+/**
+ * Determines which charsets are able to encode a message.
+ *
+ * <p>
+ * The message is scanned only once and each character is checked against all
+ * the charsets at the same time. For the standard charsets (GSM 7-bit, GSM
+ * 8-bit, Latin 1 and UCS-2), the check is a simple lookup in a precomputed
+ * table of the characters that the charset can represent. Scanning stops as
+ * soon as every charset that may not support a character has been excluded.
+ * Other charsets are checked by normalizing the whole message (the message is
+ * encoded and decoded and then compared to the original one).
+ *
+ * <p>
+ * The result of the last classification is kept so that several encoders (or
+ * splitters) that share the same classifier don't scan the same message
+ * again.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class CharsetClassifier {
+	private static final BitSet GSM_CHARACTERS = gsmCharacters();
+	private static final BitSet LATIN1_CHARACTERS = latin1Characters();
+
+	private final NamedCharset[] charsets;
+	/**
+	 * The characters supported by each charset. {@code null} if all
+	 * characters are supported.
+	 */
+	private final BitSet[] tables;
+	/**
+	 * Whether the charset is checked using a table or by normalizing the whole
+	 * message
+	 */
+	private final boolean[] known;
+	private volatile Classification last;
+
+	/**
+	 * Initializes with the charsets to check.
+	 *
+	 * @param charsets
+	 *            the charsets to check
+	 */
+	public CharsetClassifier(NamedCharset... charsets) {
+		this(asList(charsets));
+	}
+
+	/**
+	 * Initializes with the charsets to check.
+	 *
+	 * @param charsets
+	 *            the charsets to check
+	 */
+	public CharsetClassifier(List<NamedCharset> charsets) {
+		super();
+		this.charsets = charsets.toArray(new NamedCharset[charsets.size()]);
+		this.tables = new BitSet[this.charsets.length];
+		this.known = new boolean[this.charsets.length];
+		for (int i = 0; i < this.charsets.length; i++) {
+			Class<?> type = this.charsets[i].getCharset().getClass();
+			known[i] = type == GSMCharset.class || type == PackedGSMCharset.class || type == ISO88591Charset.class || type == UCS2Charset.class;
+			tables[i] = table(type);
+		}
+	}
+
+	/**
+	 * Check if the charset is able to encode the message.
+	 *
+	 * <p>
+	 * If the charset is not one of the charsets of this classifier, the
+	 * message is normalized to check if it can be encoded.
+	 *
+	 * @param charset
+	 *            the charset to check
+	 * @param message
+	 *            the message to encode
+	 * @return true if the charset can encode the message
+	 */
+	public boolean canEncode(NamedCharset charset, String message) {
+		int index = indexOf(charset);
+		if (index < 0) {
+			return canEncodeByNormalization(charset.getCharset(), message);
+		}
+		return classify(message).supported[index];
+	}
+
+	private Classification classify(String message) {
+		Classification classification = last;
+		if (classification != null && classification.message.equals(message)) {
+			return classification;
+		}
+		classification = new Classification(message, scan(message));
+		last = classification;
+		return classification;
+	}
+
+	private boolean[] scan(String message) {
+		boolean[] supported = new boolean[charsets.length];
+		int remaining = 0;
+		for (int i = 0; i < charsets.length; i++) {
+			if (!known[i]) {
+				supported[i] = canEncodeByNormalization(charsets[i].getCharset(), message);
+			} else {
+				supported[i] = true;
+				remaining += tables[i] == null ? 0 : 1;
+			}
+		}
+		int length = message.length();
+		for (int c = 0; c < length && remaining > 0; c++) {
+			char ch = message.charAt(c);
+			for (int i = 0; i < tables.length; i++) {
+				if (known[i] && supported[i] && tables[i] != null && !tables[i].get(ch)) {
+					supported[i] = false;
+					remaining--;
+				}
+			}
+		}
+		return supported;
+	}
+
+	private int indexOf(NamedCharset charset) {
+		for (int i = 0; i < charsets.length; i++) {
+			if (charsets[i] == charset || charsets[i].getCharsetName().equals(charset.getCharsetName())) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static BitSet table(Class<?> type) {
+		if (type == GSMCharset.class || type == PackedGSMCharset.class) {
+			return GSM_CHARACTERS;
+		}
+		if (type == ISO88591Charset.class) {
+			return LATIN1_CHARACTERS;
+		}
+		return null;
+	}
+
+	private static boolean canEncodeByNormalization(Charset charset, String message) {
+		String normalized = charset.normalize(message);
+		if (normalized.length() > message.length()) {
+			return false;
+		}
+		return countQuestionMarks(message) == countQuestionMarks(normalized);
+	}
+
+	private static int countQuestionMarks(String str) {
+		int count = 0;
+		int length = str.length();
+		for (int i = 0; i < length; i++) {
+			if (str.charAt(i) == '?') {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static BitSet gsmCharacters() {
+		BitSet chars = new BitSet();
+		for (char c : GSMCharset.CHAR_TABLE) {
+			chars.set(c);
+		}
+		for (char c : GSMCharset.EXT_CHAR_TABLE) {
+			chars.set(c);
+		}
+		return chars;
+	}
+
+	private static BitSet latin1Characters() {
+		BitSet chars = new BitSet();
+		chars.set(0, 0x100);
+		return chars;
+	}
+
+	private static class Classification {
+		private final String message;
+		private final boolean[] supported;
+
+		public Classification(String message, boolean[] supported) {
+			super();
+			this.message = message;
+			this.supported = supported;
+		}
+	}
+}
@@ -25,11 +25,19 @@ import fr.sii.ogham.sms.exception.message.EncodingException;
  * characters are count before and after normalization. If the number is not the
  * same, it means that the {@link Charset} can't handle the message properly.
  * 
+ * <p>
+ * The check is delegated to a {@link CharsetClassifier}. For standard
+ * charsets, the classifier doesn't need to encode the message: each character
+ * is looked up in the table of characters supported by the charset. If several
+ * encoders share the same {@link CharsetClassifier}, the message is scanned
+ * only once for all the charsets.
+ * 
  * @author Aurélien Baudet
  *
  */
 public class CloudhopperCharsetSupportingEncoder implements SupportingEncoder {
 	private final NamedCharset charset;
+	private final CharsetClassifier classifier;
 
 	/**
 	 * Initializes with the charset used to encode the message if it can.
@@ -38,8 +46,24 @@ public class CloudhopperCharsetSupportingEncoder implements SupportingEncoder {
 	 *            the charset to use
 	 */
 	public CloudhopperCharsetSupportingEncoder(NamedCharset charset) {
+		this(charset, new CharsetClassifier(charset));
+	}
+
+	/**
+	 * Initializes with the charset used to encode the message if it can. The
+	 * classifier may be shared with other encoders to check all charsets in a
+	 * single pass.
+	 * 
+	 * @param charset
+	 *            the charset to use
+	 * @param classifier
+	 *            the classifier used to check if the charset can encode the
+	 *            message
+	 */
+	public CloudhopperCharsetSupportingEncoder(NamedCharset charset, CharsetClassifier classifier) {
 		super();
 		this.charset = charset;
+		this.classifier = classifier;
 	}
 
 	@Override
@@ -49,14 +73,6 @@ public class CloudhopperCharsetSupportingEncoder implements SupportingEncoder {
 
 	@Override
 	public boolean canEncode(String message) {
-		String normalized = charset.getCharset().normalize(message);
-		if (normalized.length() > message.length()) {
-			return false;
-		}
-		return countQuestionMarks(message) == countQuestionMarks(normalized);
-	}
-
-	private static long countQuestionMarks(String str) {
-		return str.chars().filter(ch -> ch == '?').count();
+		return classifier.canEncode(charset, message);
 	}
 }
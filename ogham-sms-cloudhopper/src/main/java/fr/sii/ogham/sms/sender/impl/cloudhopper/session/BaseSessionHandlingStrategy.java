@@ -36,7 +36,7 @@ public abstract class BaseSessionHandlingStrategy implements SessionHandlingStra
 	protected final SmppSessionHandlerSupplier smppSessionHandlerSupplier;
 	protected final RetryExecutor retry;
 	protected SmppClient currentClient;
-	protected SmppSession currentSession;
+	protected volatile SmppSession currentSession;
 
 	public BaseSessionHandlingStrategy(Logger logger, ExtendedSmppSessionConfiguration configuration, SmppClientSupplier clientSupplier, SmppSessionHandlerSupplier smppSessionHandlerSupplier,
 			RetryExecutor retry) {
@@ -48,6 +48,21 @@ public abstract class BaseSessionHandlingStrategy implements SessionHandlingStra
 		this.retry = retry;
 	}
 
+	/**
+	 * The number of requests waiting for a response on the current session.
+	 * 
+	 * @return the size of the send window of the current session or 0 if there
+	 *         is no bound session
+	 */
+	@Override
+	public int getPendingRequests() {
+		SmppSession session = currentSession;
+		if (session == null || !session.isBound()) {
+			return 0;
+		}
+		return session.getSendWindow().getSize();
+	}
+
 	/**
 	 * Initializes a new session only if session doesn't exist (is
 	 * {@code null}).
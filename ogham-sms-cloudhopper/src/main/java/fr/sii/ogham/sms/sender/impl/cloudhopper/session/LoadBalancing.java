@@ -0,0 +1,20 @@
+package fr.sii.ogham.sms.sender.impl.cloudhopper.session;
+
+/**
+ * How a session is selected among the bound sessions of the pool to send a
+ * message.
+ *
+ * @author Aurélien Baudet
+ * @see SessionPoolStrategy
+ */
+public enum LoadBalancing {
+	/**
+	 * Use the bound sessions one after the other.
+	 */
+	ROUND_ROBIN,
+	/**
+	 * Use the bound session that has the fewest requests waiting for a
+	 * response (size of the send window).
+	 */
+	LEAST_PENDING
+}
@@ -82,4 +82,18 @@ public interface SessionHandlingStrategy extends Cleanable {
 	 *            the sent SMS
 	 */
 	void messageProcessed(Sms sms);
+
+	/**
+	 * The number of requests that have been sent and that are waiting for a
+	 * response from the server (the current usage of the send window).
+	 * 
+	 * <p>
+	 * The default implementation returns 0 (no information about the
+	 * sessions).
+	 * 
+	 * @return the number of pending requests
+	 */
+	default int getPendingRequests() {
+		return 0;
+	}
 }
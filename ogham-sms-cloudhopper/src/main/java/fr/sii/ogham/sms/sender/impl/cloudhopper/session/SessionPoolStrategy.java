@@ -0,0 +1,351 @@
+package fr.sii.ogham.sms.sender.impl.cloudhopper.session;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cloudhopper.smpp.SmppSession;
+import com.cloudhopper.smpp.pdu.EnquireLink;
+
+import fr.sii.ogham.core.async.DaemonThreadFactory;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.retry.RetryExecutor;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.sms.builder.cloudhopper.SmppClientSupplier;
+import fr.sii.ogham.sms.builder.cloudhopper.SmppSessionHandlerSupplier;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.ExtendedSmppSessionConfiguration;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.KeepAliveOptions;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.exception.SmppException;
+
+/**
+ * Strategy that maintains several sessions bound to the server and distributes
+ * the messages over these sessions.
+ *
+ * <p>
+ * A single session is limited by its window (the number of requests waiting
+ * for a response) and by the throughput the server allows for each bind. Using
+ * several binds increases the overall throughput when many messages are sent
+ * concurrently.
+ *
+ * <p>
+ * Each session of the pool is kept alive like with
+ * {@link KeepSessionAliveStrategy}: its own {@link EnquireLinkTask} regularly
+ * sends {@link EnquireLink} requests (using the {@link KeepAliveOptions} of the
+ * configuration). Sessions are bound either at startup or when the first
+ * message is about to be sent. In the latter case, the first message waits for
+ * one session only while the other sessions are bound in background.
+ *
+ * <p>
+ * When a message has to be sent, a session is selected among the bound
+ * sessions according to {@link LoadBalancing}:
+ * <ul>
+ * <li>{@link LoadBalancing#ROUND_ROBIN}: the sessions are used one after the
+ * other</li>
+ * <li>{@link LoadBalancing#LEAST_PENDING}: the session with the smallest number
+ * of requests waiting for a response is used</li>
+ * </ul>
+ *
+ * <p>
+ * If the {@link EnquireLinkTask} of a session fails or if a message can't be
+ * sent, the error is analyzed using an {@link ErrorAnalyzer}. If the session
+ * seems broken, only this session is replaced in background. Meanwhile, the
+ * other sessions of the pool are still used to send messages. Like
+ * {@link KeepSessionAliveStrategy}, the failed SMS is not re-sent and the
+ * original error is thrown so that the global retry handling can be used.
+ *
+ * <p>
+ * If the replacement of a session fails (for example, if the server is down),
+ * a new attempt is done in background when a message is sent. If none of the
+ * sessions is bound, the message waits until a session is bound.
+ *
+ * <p>
+ * All sessions are automatically closed when the {@link MessagingService} is
+ * released or when a cleanup is explicitly requested.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class SessionPoolStrategy extends BaseSessionHandlingStrategy {
+	private static final Logger LOG = LoggerFactory.getLogger(SessionPoolStrategy.class);
+
+	private final LoadBalancing loadBalancing;
+	private final Supplier<ScheduledExecutorService> timerSupplier;
+	private final ErrorAnalyzer errorAnalyzer;
+	private final ErrorHandler reconnectionErrorHandler;
+	private final PooledSession[] sessions;
+	private final ThreadPoolExecutor replacementExecutor;
+	private final AtomicInteger nextIndex;
+	private final ThreadLocal<SmppSession> usedSession;
+	private volatile boolean stopped;
+
+	public SessionPoolStrategy(ExtendedSmppSessionConfiguration configuration, SmppClientSupplier clientSupplier, SmppSessionHandlerSupplier smppSessionHandlerSupplier, RetryExecutor retry,
+			int size, LoadBalancing loadBalancing, Supplier<ScheduledExecutorService> timerSupplier, ErrorAnalyzer errorAnalyzer, ErrorHandler reconnectionErrorHandler) {
+		super(LOG, configuration, clientSupplier, smppSessionHandlerSupplier, retry);
+		this.loadBalancing = loadBalancing;
+		this.timerSupplier = timerSupplier;
+		this.errorAnalyzer = errorAnalyzer;
+		this.reconnectionErrorHandler = reconnectionErrorHandler;
+		this.sessions = new PooledSession[Math.max(1, size)];
+		for (int i = 0; i < sessions.length; i++) {
+			sessions[i] = new PooledSession(i);
+		}
+		// at most one replacement per session at a time. Threads are only
+		// created when a session needs to be replaced
+		this.replacementExecutor = new ThreadPoolExecutor(sessions.length, sessions.length, 60, SECONDS, new LinkedBlockingQueue<>(), new DaemonThreadFactory("ogham-smpp-pool-"));
+		this.replacementExecutor.allowCoreThreadTimeOut(true);
+		this.nextIndex = new AtomicInteger();
+		this.usedSession = new ThreadLocal<>();
+		if (configuration.getKeepAlive() != null && configuration.getKeepAlive().isConnectAtStartup(false)) {
+			tryConnect();
+		}
+	}
+
+	@Override
+	public SmppSession getSession() throws SmppException {
+		stopped = false;
+		int start = Math.floorMod(nextIndex.getAndIncrement(), sessions.length);
+		SmppSession session = selectBoundSession(start);
+		if (session == null) {
+			LOG.debug("No bound SMPP session available in the pool, waiting for a new session");
+			session = sessions[start].open();
+		}
+		usedSession.set(session);
+		return session;
+	}
+
+	@Override
+	public void messageSent(Sms sms) {
+		// nothing to do
+	}
+
+	@Override
+	public void messageNotSent(Sms sms, SmppException e) throws MessageException {
+		if (errorAnalyzer.requiresNewConnection(e)) {
+			SmppSession broken = usedSession.get();
+			PooledSession pooled = findPooledSession(broken);
+			if (pooled != null) {
+				pooled.replaceInBackground(broken, e);
+			}
+			// Throw the original exception so that message may be handled
+			// (maybe send will be retried using another session)
+			// Adds some contextual information if possible
+			throw new MessageException("Failed to send SMS because it seems that the session is broken. A new SMPP session is requested in background", sms, e);
+		}
+		throw new MessageException("Failed to send SMS", sms, e);
+	}
+
+	@Override
+	public void messageProcessed(Sms sms) {
+		usedSession.remove();
+	}
+
+	@Override
+	public void clean() {
+		stopped = true;
+		for (PooledSession session : sessions) {
+			session.close();
+			session.stopTimer();
+		}
+		destroyClient();
+	}
+
+	/**
+	 * The number of requests waiting for a response on all the bound sessions
+	 * of the pool.
+	 *
+	 * @return the sum of the pending requests of each bound session
+	 */
+	@Override
+	public int getPendingRequests() {
+		int pending = 0;
+		for (PooledSession pooled : sessions) {
+			// read the session directly: a session that is not bound must not
+			// trigger its replacement
+			SmppSession session = pooled.session;
+			if (session != null && session.isBound()) {
+				pending += session.getSendWindow().getSize();
+			}
+		}
+		return pending;
+	}
+
+	private void tryConnect() {
+		for (PooledSession session : sessions) {
+			try {
+				session.open();
+			} catch (SmppException e) {
+				LOG.warn("Connection at startup was requested but couldn't be achived. Connection will be re-attempted when a message is sent", e);
+				return;
+			}
+		}
+	}
+
+	private SmppSession selectBoundSession(int start) {
+		SmppSession selected = null;
+		int selectedPending = Integer.MAX_VALUE;
+		for (int i = 0; i < sessions.length; i++) {
+			SmppSession session = sessions[(start + i) % sessions.length].getBoundSession();
+			if (session == null) {
+				continue;
+			}
+			if (loadBalancing != LoadBalancing.LEAST_PENDING) {
+				return session;
+			}
+			int pending = session.getSendWindow().getSize();
+			if (pending < selectedPending) {
+				selected = session;
+				selectedPending = pending;
+			}
+		}
+		return selected;
+	}
+
+	private PooledSession findPooledSession(SmppSession session) {
+		if (session == null) {
+			return null;
+		}
+		for (PooledSession pooled : sessions) {
+			if (pooled.session == session) {
+				return pooled;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Holds one session of the pool with its {@link EnquireLinkTask}.
+	 *
+	 * <p>
+	 * Binding, closing or replacing the session is done while holding the lock
+	 * of this instance only. This way, the other sessions of the pool are not
+	 * affected.
+	 */
+	private class PooledSession {
+		private final int index;
+		private final AtomicBoolean replacing;
+		private volatile SmppSession session;
+		private ScheduledExecutorService timer;
+		private ScheduledFuture<?> enquireLinkTask;
+
+		public PooledSession(int index) {
+			super();
+			this.index = index;
+			this.replacing = new AtomicBoolean();
+		}
+
+		/**
+		 * Get the session if it is bound and not being replaced. Otherwise, a
+		 * new session is requested in background.
+		 *
+		 * @return the bound session or null
+		 */
+		public SmppSession getBoundSession() {
+			SmppSession current = session;
+			if (current != null && current.isBound() && !replacing.get()) {
+				return current;
+			}
+			replaceInBackground(current, null);
+			return null;
+		}
+
+		public synchronized SmppSession open() throws SmppException {
+			if (session != null && session.isBound()) {
+				return session;
+			}
+			close();
+			initClient();
+			LOG.debug("Requesting a new SMPP session #{}", index);
+			SmppSession bound = connect(currentClient);
+			session = bound;
+			LOG.debug("SMPP session #{} bound", index);
+			startEnquireLinkTask(bound);
+			return bound;
+		}
+
+		public synchronized void close() {
+			stopEnquireLinkTask();
+			if (session != null) {
+				LOG.debug("Closing SMPP session #{}", index);
+				session.unbind(configuration.getUnbindTimeout());
+				session.destroy();
+				session = null;
+			}
+		}
+
+		public synchronized void stopTimer() {
+			if (timer != null) {
+				timer.shutdownNow();
+				timer = null;
+			}
+		}
+
+		public void handleFailure(SmppSession failedSession, Throwable failure) {
+			if (errorAnalyzer.requiresNewConnection(failure)) {
+				replaceInBackground(failedSession, failure);
+			}
+		}
+
+		public void replaceInBackground(SmppSession broken, Throwable failureRequiringReconnection) {
+			if (stopped || !replacing.compareAndSet(false, true)) {
+				return;
+			}
+			replacementExecutor.execute(() -> tryReplace(broken, failureRequiringReconnection));
+		}
+
+		private void tryReplace(SmppSession broken, Throwable failureRequiringReconnection) {
+			try {
+				LOG.debug("Replacing SMPP session #{}", index, failureRequiringReconnection);
+				replace(broken);
+			} catch (SmppException e) {
+				LOG.debug("Failed to replace SMPP session #{}. A new attempt will be done when a message is sent", index, failureRequiringReconnection);
+				reconnectionErrorHandler.handleFailure(e);
+			} finally {
+				replacing.set(false);
+			}
+		}
+
+		private synchronized void replace(SmppSession broken) throws SmppException {
+			// session may already have been replaced by another thread
+			if (broken != null && session == broken) {
+				close();
+			}
+			if (!stopped) {
+				open();
+			}
+		}
+
+		private void startEnquireLinkTask(SmppSession bound) {
+			KeepAliveOptions keepAlive = configuration.getKeepAlive();
+			if (keepAlive == null || keepAlive.getEnquireLinkInterval() == null || keepAlive.getEnquireLinkInterval() <= 0) {
+				return;
+			}
+			long enquireLinkRequestTimeout = keepAlive.getEnquireLinkTimeout() == null ? 0 : keepAlive.getEnquireLinkTimeout();
+			long enquireLinkInterval = keepAlive.getEnquireLinkInterval();
+			LOG.debug("Start sending EnquireLink requests every {}ms for SMPP session #{}", enquireLinkInterval, index);
+			if (timer == null) {
+				timer = timerSupplier.get();
+			}
+			ErrorHandler errorHandler = failure -> handleFailure(bound, failure);
+			enquireLinkTask = timer.scheduleWithFixedDelay(new EnquireLinkTask(bound, errorHandler, enquireLinkRequestTimeout), enquireLinkInterval, enquireLinkInterval, MILLISECONDS);
+		}
+
+		private void stopEnquireLinkTask() {
+			if (enquireLinkTask != null) {
+				LOG.debug("Stop sending EnquireLink requests for SMPP session #{}", index);
+				enquireLinkTask.cancel(true);
+				enquireLinkTask = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,252 @@
+package oghamcloudhopper.it;
+
+import static fr.sii.ogham.testing.assertion.OghamAssertions.assertThat;
+import static fr.sii.ogham.testing.assertion.hamcrest.ExceptionMatchers.hasAnyCause;
+import static fr.sii.ogham.testing.assertion.hamcrest.ExceptionMatchers.hasMessage;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jsmpp.bean.SubmitSm;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import com.cloudhopper.smpp.SmppClient;
+import com.cloudhopper.smpp.SmppSession;
+import com.cloudhopper.smpp.impl.DefaultSmppClient;
+import com.cloudhopper.smpp.type.SmppTimeoutException;
+
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagesNotSentException;
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.sms.builder.cloudhopper.CloudhopperBuilder;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.sender.impl.CloudhopperSMPPSender;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.exception.SmppException;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+import fr.sii.ogham.testing.extension.junit.sms.JsmppServerRule;
+import fr.sii.ogham.testing.extension.junit.sms.SmppServerRule;
+import fr.sii.ogham.testing.extension.junit.sms.config.Slow;
+import fr.sii.ogham.testing.extension.junit.sms.config.SmppServerConfig;
+import testutils.TrackClientAndSessionsDecorator;
+
+public class AsyncSubmitTest {
+	private static final String LONG_MESSAGE = "sms content with a very very very loooooooooooooooooooonnnnnnnnnnnnnnnnng message that is over 160 characters in order to test the behavior of the sender when message has to be split";
+
+	SmppServerRule<SubmitSm> smppServer = new JsmppServerRule();
+
+	@Rule public final RuleChain chain = RuleChain
+			.outerRule(new LoggingTestRule())
+			.around(smppServer);
+
+	CloudhopperSMPPSender sender;
+
+	@After
+	public void cleanup() throws Exception {
+		if (sender != null) {
+			sender.clean();
+		}
+	}
+
+	@Test
+	public void allSegmentsSentWithoutWaitingForEachResponse() throws MessagingException {
+		MessagingBuilder builder = MessagingBuilder.standard();
+		builder
+			.environment()
+				.properties()
+					.set("ogham.sms.smpp.host", "localhost")
+					.set("ogham.sms.smpp.port", smppServer.getPort())
+					.set("ogham.sms.cloudhopper.session.async-submit", true)
+					.set("ogham.sms.cloudhopper.session.window-size", 5);
+		MessagingService service = builder.build();
+
+		service.send(new Sms().content(LONG_MESSAGE).from("605040302010").to("010203040506"));
+
+		// segments may be received in any order (reassembled thanks to the
+		// user data header)
+		// @formatter:off
+		assertThat(smppServer)
+			.receivedMessages()
+				.count(is(2))
+				.every()
+					.rawRequest()
+						.shortMessage()
+							.header(arrayWithSize(6));
+		// @formatter:on
+	}
+
+	@Test
+	public void windowOfOneSegmentSendsSegmentsOneByOne() throws MessagingException {
+		MessagingBuilder builder = MessagingBuilder.standard();
+		builder
+			.environment()
+				.properties()
+					.set("ogham.sms.smpp.host", "localhost")
+					.set("ogham.sms.smpp.port", smppServer.getPort())
+					.set("ogham.sms.cloudhopper.session.async-submit", true)
+					.set("ogham.sms.cloudhopper.session.window-size", 1);
+		MessagingService service = builder.build();
+
+		service.send(new Sms().content(LONG_MESSAGE).from("605040302010").to("010203040506"));
+
+		assertThat(smppServer).receivedMessages().count(is(2));
+	}
+
+	@Test
+	public void severalMessagesWithKeepAlive() throws MessagingException {
+		MessagingBuilder builder = MessagingBuilder.standard();
+		builder
+			.environment()
+				.properties()
+					.set("ogham.sms.smpp.host", "localhost")
+					.set("ogham.sms.smpp.port", smppServer.getPort())
+					.set("ogham.sms.cloudhopper.session.async-submit", true)
+					.set("ogham.sms.cloudhopper.session.window-size", 5)
+					.set("ogham.sms.cloudhopper.session.keep-alive.enable", true);
+		MessagingService service = builder.build();
+
+		service.send(new Sms().content(LONG_MESSAGE).from("605040302010").to("010203040506"));
+		service.send(new Sms().content(LONG_MESSAGE).from("605040302010").to("010203040506"));
+
+		assertThat(smppServer).receivedMessages().count(is(4));
+	}
+
+	@Test
+	@SmppServerConfig(slow = @Slow(sendSubmitSmRespDelay = 500L))
+	public void segmentResponseTimeout() throws MessagingException {
+		MessagingBuilder builder = MessagingBuilder.standard();
+		builder
+			.environment()
+				.properties()
+					.set("ogham.sms.smpp.host", "localhost")
+					.set("ogham.sms.smpp.port", smppServer.getPort())
+					.set("ogham.sms.cloudhopper.session.async-submit", true)
+					.set("ogham.sms.cloudhopper.session.window-size", 5)
+					.set("ogham.sms.cloudhopper.session.response-timeout", 200);
+		MessagingService service = builder.build();
+
+		MessageException e = assertThrows("should throw", MessageException.class, () -> {
+			service.send(new Sms().content(LONG_MESSAGE).from("605040302010").to("010203040506"));
+		});
+		assertThat("should indicate cause", e.getCause(), instanceOf(SmppException.class));
+		assertThat("should indicate failed segment", e.getCause(), hasMessage("Failed to send segment 1/2 of SMS"));
+		assertThat("should indicate timeout", e, hasAnyCause(SmppTimeoutException.class, hasMessage("Unable to get response within [200 ms]")));
+	}
+
+	@Test
+	@SmppServerConfig(slow = @Slow(sendSubmitSmRespDelay = 300L))
+	public void segmentsOfAllMessagesOfBatchAreSentBeforeAwaitingResponses() throws Exception {
+		List<SmppSession> sessions = new CopyOnWriteArrayList<>();
+		SmppClient client = new DefaultSmppClient();
+		// @formatter:off
+		sender = new CloudhopperBuilder()
+					.host("localhost")
+					.port(smppServer.getPort())
+					.clientSupplier(new TrackClientAndSessionsDecorator(() -> singletonList(client), () -> sessions))
+					.session()
+						.asyncSubmit(true)
+						.windowSize(5)
+						.responseTimeout(2000L)
+						.keepAlive()
+							.connectAtStartup(true)
+							.and()
+						.and()
+					.build();
+		// @formatter:on
+		SmppSession session = sessions.get(0);
+		List<Integer> pendingBeforeEachSubmit = new CopyOnWriteArrayList<>();
+		doAnswer(i -> {
+			pendingBeforeEachSubmit.add(session.getSendWindow().getSize());
+			return i.callRealMethod();
+		}).when(session).sendRequestPdu(any(), anyLong(), anyBoolean());
+
+		sender.sendAll(asList(
+				new Sms().content("sms content 1").from("605040302010").to("010203040506"), 
+				new Sms().content("sms content 2").from("605040302010").to("010203040506"), 
+				new Sms().content(LONG_MESSAGE).from("605040302010").to("010203040506")));
+
+		assertThat("no response awaited before the last segment is sent", pendingBeforeEachSubmit, contains(0, 1, 2, 3));
+		assertThat(smppServer).receivedMessages().count(is(4));
+	}
+
+	@Test
+	@SmppServerConfig(slow = @Slow(sendSubmitSmRespDelay = 300L))
+	public void segmentsOfAllMessagesSentThroughServiceAreSentBeforeAwaitingResponses() throws Exception {
+		List<SmppSession> sessions = new CopyOnWriteArrayList<>();
+		SmppClient client = new DefaultSmppClient();
+		MessagingBuilder builder = MessagingBuilder.standard();
+		// @formatter:off
+		builder
+			.environment()
+				.properties()
+					.set("ogham.sms.smpp.host", "localhost")
+					.set("ogham.sms.smpp.port", smppServer.getPort())
+					.set("ogham.sms.cloudhopper.session.async-submit", true)
+					.set("ogham.sms.cloudhopper.session.window-size", 5)
+					.set("ogham.sms.cloudhopper.session.response-timeout", 2000)
+					.set("ogham.sms.cloudhopper.session.keep-alive.enable", true)
+					.set("ogham.sms.cloudhopper.session.keep-alive.connect-at-startup", true)
+					.and()
+				.and()
+			.sms()
+				.sender(CloudhopperBuilder.class)
+					.clientSupplier(new TrackClientAndSessionsDecorator(() -> singletonList(client), () -> sessions));
+		// @formatter:on
+		MessagingService service = builder.build();
+		SmppSession session = sessions.get(0);
+		List<Integer> pendingBeforeEachSubmit = new CopyOnWriteArrayList<>();
+		doAnswer(i -> {
+			pendingBeforeEachSubmit.add(session.getSendWindow().getSize());
+			return i.callRealMethod();
+		}).when(session).sendRequestPdu(any(), anyLong(), anyBoolean());
+
+		service.sendAll(asList(
+				new Sms().content("sms content 1").from("605040302010").to("010203040506"), 
+				new Sms().content(LONG_MESSAGE).from("605040302010").to("010203040506")));
+
+		assertThat("no response awaited before the last segment is sent", pendingBeforeEachSubmit, contains(0, 1, 2));
+		assertThat(smppServer).receivedMessages().count(is(3));
+	}
+
+	@Test
+	@SmppServerConfig(slow = @Slow(sendSubmitSmRespDelay = 500L))
+	public void failuresOfBatchAreReportedForEachMessage() throws Exception {
+		// @formatter:off
+		sender = new CloudhopperBuilder()
+					.host("localhost")
+					.port(smppServer.getPort())
+					.session()
+						.asyncSubmit(true)
+						.windowSize(5)
+						.responseTimeout(200L)
+						.and()
+					.build();
+		// @formatter:on
+		Sms first = new Sms().content("sms content 1").from("605040302010").to("010203040506");
+		Sms second = new Sms().content("sms content 2").from("605040302010").to("010203040506");
+
+		MessagesNotSentException e = assertThrows("should throw", MessagesNotSentException.class, () -> {
+			sender.sendAll(asList(first, second));
+		});
+		assertThat("each message is reported", e.getFailures().size(), is(2));
+		assertThat("should reference first message", e.getFailures().get(0).getOghamMessage(), is(first));
+		assertThat("should reference second message", e.getFailures().get(1).getOghamMessage(), is(second));
+		assertThat("should indicate timeout", e.getFailures().get(0), hasAnyCause(SmppTimeoutException.class, hasMessage("Unable to get response within [200 ms]")));
+	}
+}
@@ -0,0 +1,75 @@
+package oghamcloudhopper.it;
+
+import static fr.sii.ogham.testing.assertion.OghamAssertions.assertThat;
+import static fr.sii.ogham.testing.assertion.hamcrest.ExceptionMatchers.hasAnyCause;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+
+import org.jsmpp.bean.SubmitSm;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import fr.sii.ogham.core.builder.MessagingBuilder;
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.exception.ratelimit.RateLimitExceededException;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+import fr.sii.ogham.testing.extension.junit.sms.JsmppServerRule;
+import fr.sii.ogham.testing.extension.junit.sms.SmppServerRule;
+
+public class RateLimitTest {
+	SmppServerRule<SubmitSm> smppServer = new JsmppServerRule();
+
+	@Rule public final RuleChain chain = RuleChain
+			.outerRule(new LoggingTestRule())
+			.around(smppServer);
+
+	@Test
+	public void failFastWhenRateLimitReached() throws MessagingException {
+		MessagingBuilder builder = MessagingBuilder.standard();
+		builder
+			.environment()
+				.properties()
+					.set("ogham.sms.smpp.host", "localhost")
+					.set("ogham.sms.smpp.port", smppServer.getPort())
+					.set("ogham.sms.smpp.rate-limit.permits-per-second", 1)
+					.set("ogham.sms.smpp.rate-limit.mode", "FAIL_FAST");
+		MessagingService service = builder.build();
+
+		service.send(new Sms().content("sms content").from("605040302010").to("010203040506"));
+		MessageException e = assertThrows("should throw", MessageException.class, () -> {
+			service.send(new Sms().content("sms content").from("605040302010").to("010203040506"));
+		});
+
+		assertThat("should indicate that rate limit is reached", e, hasAnyCause(RateLimitExceededException.class, instanceOf(RateLimitExceededException.class)));
+		assertThat(smppServer).receivedMessages().count(is(1));
+	}
+
+	@Test
+	public void waitWhenRateLimitReached() throws MessagingException {
+		MessagingBuilder builder = MessagingBuilder.standard();
+		builder
+			.environment()
+				.properties()
+					.set("ogham.sms.smpp.host", "localhost")
+					.set("ogham.sms.smpp.port", smppServer.getPort())
+					.set("ogham.sms.cloudhopper.rate-limit.permits-per-second", 10)
+					.set("ogham.sms.cloudhopper.rate-limit.burst", 2);
+		MessagingService service = builder.build();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 4; i++) {
+			service.send(new Sms().content("sms content").from("605040302010").to("010203040506"));
+		}
+
+		assertThat("should wait for 2 permits", System.nanoTime() - start, greaterThanOrEqualTo(MILLISECONDS.toNanos(190)));
+		assertThat(smppServer).receivedMessages().count(is(4));
+	}
+}
@@ -0,0 +1,272 @@
+package oghamcloudhopper.it;
+
+import static fr.sii.ogham.core.metrics.MetricNames.SMPP_WINDOW_PENDING;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static testutils.SessionStrategyTestHelper.enquireLinkReceived;
+import static testutils.SessionStrategyTestHelper.waitUntil;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import com.cloudhopper.smpp.SmppClient;
+import com.cloudhopper.smpp.SmppSession;
+import com.cloudhopper.smpp.impl.DefaultSmppClient;
+import com.cloudhopper.smpp.pdu.SubmitSm;
+
+import fr.sii.ogham.core.builder.context.DefaultBuildContext;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.sms.builder.cloudhopper.CloudhopperBuilder;
+import fr.sii.ogham.sms.builder.cloudhopper.SmppClientSupplier;
+import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.sender.impl.CloudhopperSMPPSender;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.session.LoadBalancing;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+import fr.sii.ogham.testing.extension.junit.sms.config.ServerConfig;
+import fr.sii.ogham.testing.sms.simulator.SmppServerException;
+import fr.sii.ogham.testing.sms.simulator.jsmpp.JSMPPServer;
+import testutils.TrackClientAndSessionsDecorator;
+
+public class SessionPoolStrategyTest {
+	private static final String RECIPIENT = "0203040506";
+	private static final String SENDER = "+33203040506";
+	private static final String LONG_MESSAGE = "sms content with a very very very loooooooooooooooooooonnnnnnnnnnnnnnnnng message that is over 160 characters in order to test the behavior of the sender when message has to be split";
+
+	@Rule public final LoggingTestRule loggingRule = new LoggingTestRule();
+	@Rule public final MockitoRule mockito = MockitoJUnit.rule();
+
+	private CloudhopperSMPPSender sender;
+	private CloudhopperBuilder builder;
+	private JSMPPServer server;
+
+	@Spy SmppClient client = new DefaultSmppClient();
+	@Mock MetricsRecorder metrics;
+	List<SmppSession> allSessions = new CopyOnWriteArrayList<>();
+	SmppClientSupplier supplier = new TrackClientAndSessionsDecorator(() -> asList(client), () -> allSessions);
+
+	@Before
+	public void setup() throws IOException, SmppServerException {
+		server = new JSMPPServer(new ServerConfig().randomPort().build());
+		server.start();
+		// @formatter:off
+		builder = new CloudhopperBuilder(null, new MetricsBuildContext())
+					.host("127.0.0.1")
+					.port(server.getPort())
+					.clientSupplier(supplier)
+					.session()
+						.responseTimeout(1000L)
+						.connectRetry()
+							.fixedDelay()
+								.maxRetries(5)
+								.delay(200L)
+								.and()
+							.and()
+						.and();
+		// @formatter:on
+	}
+
+	@After
+	public void cleanup() throws SmppServerException {
+		if (sender != null) {
+			sender.clean();
+		}
+		server.stop();
+	}
+
+	@Test
+	public void roundRobinOverBoundSessions() throws Exception {
+		// @formatter:off
+		sender = builder
+					.session()
+						.keepAlive()
+							.connectAtStartup(true)
+							.and()
+						.pool()
+							.enable(true)
+							.size(3)
+							.loadBalancing(LoadBalancing.ROUND_ROBIN)
+							.and()
+						.and()
+					.build();
+		// @formatter:on
+		assertThat("3 sessions bound at startup", allSessions, hasSize(3));
+
+		for (int i = 0; i < 6; i++) {
+			sender.send(new Sms().content("sms content " + i).from(SENDER).to(RECIPIENT));
+		}
+
+		assertThat(server.getReceivedMessages(), hasSize(6));
+		for (SmppSession session : allSessions) {
+			verify(session, times(2)).submit(any(), anyLong());
+		}
+	}
+
+	@Test
+	public void sessionsAreBoundLazilyAndKeptAlive() throws Exception {
+		// @formatter:off
+		sender = builder
+					.session()
+						.keepAlive()
+							.interval(100L)
+							.responseTimeout(200L)
+							.and()
+						.pool()
+							.enable(true)
+							.size(2)
+							.and()
+						.and()
+					.build();
+		// @formatter:on
+		assertThat("no session bound before first message", allSessions, is(Collections.emptyList()));
+
+		sender.send(new Sms().content("sms content").from(SENDER).to(RECIPIENT));
+
+		waitUntil(() -> allSessions.size() == 2);
+		waitUntil(enquireLinkReceived(allSessions.get(0), 2));
+		waitUntil(enquireLinkReceived(allSessions.get(1), 2));
+		assertThat(server.getReceivedMessages(), hasSize(1));
+	}
+
+	@Test
+	public void brokenSessionIsReplacedWhileOtherSessionsAreStillUsed() throws Exception {
+		// @formatter:off
+		sender = builder
+					.session()
+						.keepAlive()
+							.connectAtStartup(true)
+							.and()
+						.pool()
+							.enable(true)
+							.size(2)
+							.and()
+						.and()
+					.build();
+		// @formatter:on
+		SmppSession broken = allSessions.get(0);
+		SmppSession alive = allSessions.get(1);
+		broken.close();
+
+		sender.send(new Sms().content("sms content 1").from(SENDER).to(RECIPIENT));
+		sender.send(new Sms().content("sms content 2").from(SENDER).to(RECIPIENT));
+
+		verify(broken, never()).submit(any(), anyLong());
+		verify(alive, times(2)).submit(any(), anyLong());
+		waitUntil(() -> allSessions.size() == 3 && allSessions.get(2).isBound());
+		SmppSession replacement = allSessions.get(2);
+
+		sender.send(new Sms().content("sms content 3").from(SENDER).to(RECIPIENT));
+		sender.send(new Sms().content("sms content 4").from(SENDER).to(RECIPIENT));
+
+		verify(replacement, atLeastOnce()).submit(any(), anyLong());
+		assertThat(server.getReceivedMessages(), hasSize(4));
+	}
+
+	@Test
+	public void leastPendingSessionIsUsedAndPendingRequestsOfAllSessionsAreReported() throws Exception {
+		restartSlowServer(1000L);
+		when(metrics.isEnabled()).thenReturn(true);
+		// @formatter:off
+		sender = builder
+					.port(server.getPort())
+					.session()
+						.responseTimeout(3000L)
+						.asyncSubmit(true)
+						.windowSize(5)
+						.keepAlive()
+							.connectAtStartup(true)
+							.and()
+						.pool()
+							.enable(true)
+							.size(2)
+							.loadBalancing(LoadBalancing.LEAST_PENDING)
+							.and()
+						.and()
+					.encoder()
+						.gsm7bitPacked(10)
+						.autoGuess(true)
+						.and()
+					.splitter()
+						.enable(true)
+						.and()
+					.build();
+		// @formatter:on
+		Supplier<Number> pendingRequests = pendingRequestsGauge();
+		SmppSession first = allSessions.get(0);
+		SmppSession second = allSessions.get(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			// 2 segments are waiting for a response on the first session
+			Future<?> longMessage = executor.submit(() -> send(LONG_MESSAGE));
+			waitUntil(() -> pendingRequests.get().intValue() == 2);
+			// 1 segment is waiting for a response on the second session
+			Future<?> shortMessage = executor.submit(() -> send("sms content 1"));
+			waitUntil(() -> pendingRequests.get().intValue() == 3);
+
+			// round robin would use the first session
+			sender.send(new Sms().content("sms content 2").from(SENDER).to(RECIPIENT));
+
+			longMessage.get(5, SECONDS);
+			shortMessage.get(5, SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		verify(first, times(2)).sendRequestPdu(any(SubmitSm.class), anyLong(), anyBoolean());
+		verify(second, times(2)).sendRequestPdu(any(SubmitSm.class), anyLong(), anyBoolean());
+		assertThat(pendingRequests.get().intValue(), is(0));
+	}
+
+	private Void send(String content) throws Exception {
+		sender.send(new Sms().content(content).from(SENDER).to(RECIPIENT));
+		return null;
+	}
+
+	private void restartSlowServer(long submitSmRespDelay) throws SmppServerException {
+		server.stop();
+		server = new JSMPPServer(new ServerConfig().randomPort().slow().sendSubmitSmRespDelay(submitSmRespDelay).and().build());
+		server.start();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Supplier<Number> pendingRequestsGauge() {
+		ArgumentCaptor<Supplier<Number>> gauge = ArgumentCaptor.forClass(Supplier.class);
+		verify(metrics).gauge(eq(SMPP_WINDOW_PENDING), gauge.capture());
+		return gauge.getValue();
+	}
+
+	private class MetricsBuildContext extends DefaultBuildContext {
+		@Override
+		public MetricsRecorder getMetricsRecorder() {
+			return metrics;
+		}
+	}
+}
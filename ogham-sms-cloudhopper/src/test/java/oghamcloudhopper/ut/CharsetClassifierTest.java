@@ -0,0 +1,74 @@
+package oghamcloudhopper.ut;
+
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_GSM7;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_GSM8;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_ISO_8859_1;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_ISO_8859_15;
+import static com.cloudhopper.commons.charset.CharsetUtil.NAME_UCS_2;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.cloudhopper.commons.charset.Charset;
+
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.CharsetClassifier;
+import fr.sii.ogham.sms.sender.impl.cloudhopper.encoder.NamedCharset;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+
+public class CharsetClassifierTest {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	@Test
+	public void standardCharsetsGiveSameResultAsNormalization() {
+		NamedCharset[] charsets = { NamedCharset.from(NAME_GSM7), NamedCharset.from(NAME_GSM8), NamedCharset.from(NAME_ISO_8859_1), NamedCharset.from(NAME_UCS_2) };
+		CharsetClassifier classifier = new CharsetClassifier(charsets);
+		for (char c = 0; c < Character.MAX_VALUE; c++) {
+			String message = "a" + c + "b";
+			for (NamedCharset charset : charsets) {
+				assertThat(charset.getCharsetName() + " " + Integer.toHexString(c), classifier.canEncode(charset, message), is(canEncodeByNormalization(charset.getCharset(), message)));
+			}
+		}
+	}
+
+	@Test
+	public void surrogatePairs() {
+		NamedCharset[] charsets = { NamedCharset.from(NAME_GSM7), NamedCharset.from(NAME_ISO_8859_1), NamedCharset.from(NAME_UCS_2) };
+		CharsetClassifier classifier = new CharsetClassifier(charsets);
+		String message = "smile 😀";
+
+		assertThat(classifier.canEncode(charsets[0], message), is(false));
+		assertThat(classifier.canEncode(charsets[1], message), is(false));
+		assertThat(classifier.canEncode(charsets[2], message), is(true));
+	}
+
+	@Test
+	public void otherCharsetsAreCheckedOnlyOnceForTheSameMessage() {
+		NamedCharset latin9 = NamedCharset.from(NAME_ISO_8859_15);
+		Charset spied = spy(latin9.getCharset());
+		NamedCharset charset = new NamedCharset(NAME_ISO_8859_15, spied);
+		NamedCharset gsm = NamedCharset.from(NAME_GSM7);
+		CharsetClassifier classifier = new CharsetClassifier(gsm, charset);
+
+		assertThat(classifier.canEncode(gsm, "€ only"), is(true));
+		assertThat(classifier.canEncode(charset, "€ only"), is(true));
+		assertThat(classifier.canEncode(charset, new String("€ only")), is(true));
+		assertThat(classifier.canEncode(charset, "ĉ"), is(false));
+
+		verify(spied, times(2)).normalize(any());
+	}
+
+	private static boolean canEncodeByNormalization(Charset charset, String message) {
+		String normalized = charset.normalize(message);
+		if (normalized.length() > message.length()) {
+			return false;
+		}
+		return normalized.chars().filter(ch -> ch == '?').count() == message.chars().filter(ch -> ch == '?').count();
+	}
+}
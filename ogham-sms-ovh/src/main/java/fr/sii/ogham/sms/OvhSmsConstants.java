@@ -10,6 +10,12 @@ public final class OvhSmsConstants {
 	 * The implementation has a priority of 20000.
 	 */
 	public static final int DEFAULT_OVHSMS_HTTP2SMS_IMPLEMENTATION_PRIORITY = 20000;
+	/**
+	 * The default maximum number of recipients sent in a single request to
+	 * OVH. Recipients are sent in the query string so a request with too many
+	 * recipients exceeds the URL length limit.
+	 */
+	public static final int DEFAULT_OVHSMS_MAX_RECIPIENTS_PER_REQUEST = 100;
 
 	private OvhSmsConstants() {
 		super();
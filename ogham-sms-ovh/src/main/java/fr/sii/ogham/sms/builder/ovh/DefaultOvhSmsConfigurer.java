@@ -2,6 +2,7 @@ package fr.sii.ogham.sms.builder.ovh;
 
 import static fr.sii.ogham.core.builder.configuration.MayOverride.overrideIfNotSet;
 import static fr.sii.ogham.sms.OvhSmsConstants.DEFAULT_OVHSMS_CONFIGURER_PRIORITY;
+import static fr.sii.ogham.sms.OvhSmsConstants.DEFAULT_OVHSMS_MAX_RECIPIENTS_PER_REQUEST;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -63,6 +64,16 @@ import fr.sii.ogham.sms.sender.impl.ovh.SmsCoding;
  * maximum character string</li>
  * </ul>
  * </li>
+ * <li>Configures how a message is dispatched into several requests:
+ * <ul>
+ * <li>It uses "ogham.sms.ovh.batch.max-recipients" property value to define
+ * the maximum number of recipients per request. Recipients are partitioned
+ * into chunks that are sent concurrently. Default to 100</li>
+ * <li>It uses "ogham.sms.ovh.batch.max-message-length" property value to
+ * split a longer message into several messages. If nothing specified, the
+ * message is never split</li>
+ * </ul>
+ * </li>
  * </ul>
  * 
  * @author Aurélien Baudet
@@ -86,7 +97,11 @@ public final class DefaultOvhSmsConfigurer {
 				.options()
 					.noStop().properties("${ogham.sms.ovh.options.no-stop}").defaultValue(overrideIfNotSet(true)).and()
 					.smsCoding().properties("${ogham.sms.ovh.options.sms-coding}").and()
-					.tag().properties("${ogham.sms.ovh.options.tag}");
+					.tag().properties("${ogham.sms.ovh.options.tag}").and()
+					.and()
+				.batch()
+					.maxRecipients().properties("${ogham.sms.ovh.batch.max-recipients}").defaultValue(overrideIfNotSet(DEFAULT_OVHSMS_MAX_RECIPIENTS_PER_REQUEST)).and()
+					.maxMessageLength().properties("${ogham.sms.ovh.batch.max-message-length}");
 			// @formatter:on
 		}
 
@@ -0,0 +1,237 @@
+package fr.sii.ogham.sms.builder.ovh;
+
+import static fr.sii.ogham.sms.OvhSmsConstants.DEFAULT_OVHSMS_MAX_RECIPIENTS_PER_REQUEST;
+
+import fr.sii.ogham.core.builder.Builder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
+import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilderHelper;
+import fr.sii.ogham.core.builder.configurer.Configurer;
+import fr.sii.ogham.core.builder.context.BuildContext;
+import fr.sii.ogham.core.builder.env.EnvironmentBuilder;
+import fr.sii.ogham.core.fluent.AbstractParent;
+import fr.sii.ogham.sms.sender.impl.ovh.OvhBatchOptions;
+
+/**
+ * Configures how a single SMS is dispatched into several requests to OVH:
+ * <ul>
+ * <li>Define the maximum number of recipients per request. Recipients are
+ * partitioned into chunks that are sent concurrently in order to stay inside
+ * URL limits</li>
+ * <li>Define the maximum length of a message. A longer message is split into
+ * several messages. If not set, the message is never split</li>
+ * </ul>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class OvhBatchOptionsBuilder extends AbstractParent<OvhSmsBuilder> implements Builder<OvhBatchOptions> {
+	private final BuildContext buildContext;
+	private final ConfigurationValueBuilderHelper<OvhBatchOptionsBuilder, Integer> maxRecipientsValueBuilder;
+	private final ConfigurationValueBuilderHelper<OvhBatchOptionsBuilder, Integer> maxMessageLengthValueBuilder;
+
+	/**
+	 * Initializes the builder with a parent builder. The parent builder is used
+	 * when calling {@link #and()} method. The {@link EnvironmentBuilder} is
+	 * used to evaluate properties when {@link #build()} method is called.
+	 *
+	 * @param parent
+	 *            the parent builder
+	 * @param buildContext
+	 *            for registering instances and property evaluation
+	 */
+	public OvhBatchOptionsBuilder(OvhSmsBuilder parent, BuildContext buildContext) {
+		super(parent);
+		this.buildContext = buildContext;
+		maxRecipientsValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+		maxMessageLengthValueBuilder = buildContext.newConfigurationValueBuilder(this, Integer.class);
+	}
+
+	/**
+	 * Set the maximum number of recipients sent in a single request. If the
+	 * message has more recipients, the recipients are partitioned into chunks
+	 * and each chunk is sent concurrently using its own request.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxRecipients()}.
+	 *
+	 * <pre>
+	 * .maxRecipients(50)
+	 * .maxRecipients()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .maxRecipients(50)
+	 * .maxRecipients()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 *
+	 * In both cases, {@code maxRecipients(50)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param maxRecipients
+	 *            the maximum number of recipients per request
+	 * @return this instance for fluent chaining
+	 */
+	public OvhBatchOptionsBuilder maxRecipients(Integer maxRecipients) {
+		maxRecipientsValueBuilder.setValue(maxRecipients);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of recipients sent in a single request. If the
+	 * message has more recipients, the recipients are partitioned into chunks
+	 * and each chunk is sent concurrently using its own request.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .maxRecipients()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #maxRecipients(Integer)} takes
+	 * precedence over property values and default value.
+	 *
+	 * <pre>
+	 * .maxRecipients(50)
+	 * .maxRecipients()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(100)
+	 * </pre>
+	 *
+	 * The value {@code 50} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<OvhBatchOptionsBuilder, Integer> maxRecipients() {
+		return maxRecipientsValueBuilder;
+	}
+
+	/**
+	 * Set the maximum length of a message. A longer message is split into
+	 * several messages that are sent in order. The length is expressed in
+	 * characters of the alphabet used to encode the message (extension
+	 * characters count as 2 characters in GSM 7-bit).
+	 *
+	 * <p>
+	 * If not set, the message is never split and OVH handles concatenation.
+	 *
+	 * <p>
+	 * The value set using this method takes precedence over any property and
+	 * default value configured using {@link #maxMessageLength()}.
+	 *
+	 * <pre>
+	 * .maxMessageLength(160)
+	 * .maxMessageLength()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(480)
+	 * </pre>
+	 *
+	 * <pre>
+	 * .maxMessageLength(160)
+	 * .maxMessageLength()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(480)
+	 * </pre>
+	 *
+	 * In both cases, {@code maxMessageLength(160)} is used.
+	 *
+	 * <p>
+	 * If this method is called several times, only the last value is used.
+	 *
+	 * <p>
+	 * If {@code null} value is set, it is like not setting a value at all. The
+	 * property/default value configuration is applied.
+	 *
+	 * @param maxMessageLength
+	 *            the maximum length of a message
+	 * @return this instance for fluent chaining
+	 */
+	public OvhBatchOptionsBuilder maxMessageLength(Integer maxMessageLength) {
+		maxMessageLengthValueBuilder.setValue(maxMessageLength);
+		return this;
+	}
+
+	/**
+	 * Set the maximum length of a message. A longer message is split into
+	 * several messages that are sent in order. The length is expressed in
+	 * characters of the alphabet used to encode the message (extension
+	 * characters count as 2 characters in GSM 7-bit).
+	 *
+	 * <p>
+	 * If not set, the message is never split and OVH handles concatenation.
+	 *
+	 * <p>
+	 * This method is mainly used by {@link Configurer}s to register some
+	 * property keys and/or a default value. The aim is to let developer be able
+	 * to externalize its configuration (using system properties, configuration
+	 * file or anything else). If the developer doesn't configure any value for
+	 * the registered properties, the default value is used (if set).
+	 *
+	 * <pre>
+	 * .maxMessageLength()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(480)
+	 * </pre>
+	 *
+	 * <p>
+	 * Non-null value set using {@link #maxMessageLength(Integer)} takes
+	 * precedence over property values and default value.
+	 *
+	 * <pre>
+	 * .maxMessageLength(160)
+	 * .maxMessageLength()
+	 *   .properties("${custom.property.high-priority}", "${custom.property.low-priority}")
+	 *   .defaultValue(480)
+	 * </pre>
+	 *
+	 * The value {@code 160} is used regardless of the value of the properties
+	 * and default value.
+	 *
+	 * <p>
+	 * See {@link ConfigurationValueBuilder} for more information.
+	 *
+	 *
+	 * @return the builder to configure property keys/default value
+	 */
+	public ConfigurationValueBuilder<OvhBatchOptionsBuilder, Integer> maxMessageLength() {
+		return maxMessageLengthValueBuilder;
+	}
+
+	@Override
+	public OvhBatchOptions build() {
+		int builtMaxRecipients = buildMaxRecipients();
+		Integer builtMaxMessageLength = buildMaxMessageLength();
+		return buildContext.register(new OvhBatchOptions(builtMaxRecipients, builtMaxMessageLength));
+	}
+
+	private int buildMaxRecipients() {
+		return maxRecipientsValueBuilder.getValue(DEFAULT_OVHSMS_MAX_RECIPIENTS_PER_REQUEST);
+	}
+
+	private Integer buildMaxMessageLength() {
+		return maxMessageLengthValueBuilder.getValue();
+	}
+}
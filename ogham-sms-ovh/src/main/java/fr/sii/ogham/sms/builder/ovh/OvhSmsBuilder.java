@@ -19,6 +19,7 @@ import fr.sii.ogham.sms.message.Sms;
 import fr.sii.ogham.sms.sender.impl.OvhSmsSender;
 import fr.sii.ogham.sms.sender.impl.ovh.DefaultSmsCodingDetector;
 import fr.sii.ogham.sms.sender.impl.ovh.OvhAuthParams;
+import fr.sii.ogham.sms.sender.impl.ovh.OvhBatchOptions;
 import fr.sii.ogham.sms.sender.impl.ovh.OvhOptions;
 import fr.sii.ogham.sms.sender.impl.ovh.SmsCoding;
 
@@ -78,6 +79,7 @@ public class OvhSmsBuilder extends AbstractParent<SmsBuilder> implements Builder
 	private final ConfigurationValueBuilderHelper<OvhSmsBuilder, String> loginValueBuilder;
 	private final ConfigurationValueBuilderHelper<OvhSmsBuilder, String> passwordValueBuilder;
 	private OvhOptionsBuilder ovhOptionsBuilder;
+	private OvhBatchOptionsBuilder ovhBatchOptionsBuilder;
 
 	/**
 	 * Default constructor when using OVH SMS sender without all Ogham work.
@@ -493,6 +495,25 @@ public class OvhSmsBuilder extends AbstractParent<SmsBuilder> implements Builder
 		return ovhOptionsBuilder;
 	}
 
+	/**
+	 * Configures how a single SMS is dispatched into several requests to OVH:
+	 * <ul>
+	 * <li>Define the maximum number of recipients per request. Recipients are
+	 * partitioned into chunks that are sent concurrently in order to stay
+	 * inside URL limits</li>
+	 * <li>Define the maximum length of a message. A longer message is split
+	 * into several messages. If not set, the message is never split</li>
+	 * </ul>
+	 * 
+	 * @return the builder to configure how messages are dispatched
+	 */
+	public OvhBatchOptionsBuilder batch() {
+		if (ovhBatchOptionsBuilder == null) {
+			ovhBatchOptionsBuilder = new OvhBatchOptionsBuilder(this, buildContext);
+		}
+		return ovhBatchOptionsBuilder;
+	}
+
 	@Override
 	public OvhSmsSender build() {
 		URL url = buildUrl();
@@ -502,7 +523,7 @@ public class OvhSmsBuilder extends AbstractParent<SmsBuilder> implements Builder
 		}
 		LOG.info("Sending SMS using OVH API is registered");
 		LOG.debug("OVH account: account={}, login={}", authParams.getAccount(), authParams.getLogin());
-		return buildContext.register(new OvhSmsSender(url, authParams, buildOptions(), buildContext.register(new DefaultSmsCodingDetector())));
+		return buildContext.register(new OvhSmsSender(url, authParams, buildOptions(), buildBatchOptions(), buildContext.register(new DefaultSmsCodingDetector()), buildContext.getHttpTransport()));
 	}
 
 	private URL buildUrl() {
@@ -519,4 +540,8 @@ public class OvhSmsBuilder extends AbstractParent<SmsBuilder> implements Builder
 	private OvhOptions buildOptions() {
 		return ovhOptionsBuilder.build();
 	}
+
+	private OvhBatchOptions buildBatchOptions() {
+		return batch().build();
+	}
 }
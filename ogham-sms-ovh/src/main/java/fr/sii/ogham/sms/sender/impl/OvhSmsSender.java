@@ -1,11 +1,15 @@
 package fr.sii.ogham.sms.sender.impl;
 
 import static fr.sii.ogham.sms.OvhSmsConstants.DEFAULT_OVHSMS_HTTP2SMS_IMPLEMENTATION_PRIORITY;
+import static fr.sii.ogham.sms.OvhSmsConstants.DEFAULT_OVHSMS_MAX_RECIPIENTS_PER_REQUEST;
 
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -15,20 +19,33 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import fr.sii.ogham.core.async.AsyncExecutors;
 import fr.sii.ogham.core.builder.priority.Priority;
 import fr.sii.ogham.core.exception.MessageException;
 import fr.sii.ogham.core.exception.MessageNotSentException;
 import fr.sii.ogham.core.exception.util.HttpException;
 import fr.sii.ogham.core.exception.util.PhoneNumberException;
+import fr.sii.ogham.core.http.HttpTransport;
+import fr.sii.ogham.core.message.Message;
 import fr.sii.ogham.core.sender.AbstractSpecializedSender;
 import fr.sii.ogham.core.util.StringUtils;
+import fr.sii.ogham.sms.exception.message.SplitMessageException;
 import fr.sii.ogham.sms.message.PhoneNumber;
 import fr.sii.ogham.sms.message.Recipient;
 import fr.sii.ogham.sms.message.Sms;
+import fr.sii.ogham.sms.splitter.GsmBasicCharsetExtensionTableCounter;
+import fr.sii.ogham.sms.splitter.LengthCounter;
+import fr.sii.ogham.sms.splitter.MessageSplitter;
+import fr.sii.ogham.sms.splitter.Segment;
+import fr.sii.ogham.sms.splitter.StringLengthCounter;
+import fr.sii.ogham.sms.splitter.StringSegment;
+import fr.sii.ogham.sms.splitter.TextMessageSplitter;
 import fr.sii.ogham.sms.sender.impl.ovh.OvhAuthParams;
+import fr.sii.ogham.sms.sender.impl.ovh.OvhBatchOptions;
 import fr.sii.ogham.sms.sender.impl.ovh.OvhOptions;
 import fr.sii.ogham.sms.sender.impl.ovh.SmsCoding;
 import fr.sii.ogham.sms.sender.impl.ovh.SmsCodingDetector;
+import fr.sii.ogham.sms.sender.impl.ovh.exception.RecipientsNotSentException;
 import fr.sii.ogham.sms.util.HttpUtils;
 import fr.sii.ogham.sms.util.http.Parameter;
 import fr.sii.ogham.sms.util.http.Response;
@@ -92,42 +109,273 @@ public class OvhSmsSender extends AbstractSpecializedSender<Sms> {
 	 */
 	private final SmsCodingDetector smsCodingDetector;
 
+	/**
+	 * Executes the HTTP requests (shared pool of connections)
+	 */
+	private final HttpTransport transport;
+
+	/**
+	 * How recipients are partitioned and how long messages are split
+	 */
+	private final OvhBatchOptions batchOptions;
+
+	/**
+	 * Initializes the sender using the default {@link HttpTransport} (see
+	 * {@link HttpUtils#getDefaultTransport()}).
+	 * 
+	 * @param url
+	 *            the URL to OVH web service
+	 * @param authParams
+	 *            the authentication parameters
+	 * @param options
+	 *            the OVH options
+	 * @param smsCodingDetector
+	 *            detects which {@link SmsCoding} can be used if not set
+	 * @deprecated use
+	 *             {@link #OvhSmsSender(URL, OvhAuthParams, OvhOptions, SmsCodingDetector, HttpTransport)}
+	 *             instead to use the transport configured for the application
+	 */
+	@Deprecated
 	public OvhSmsSender(URL url, OvhAuthParams authParams, OvhOptions options, SmsCodingDetector smsCodingDetector) {
+		this(url, authParams, options, smsCodingDetector, HttpUtils.getDefaultTransport());
+	}
+
+	/**
+	 * Initializes the sender with the {@link HttpTransport} used to execute
+	 * the HTTP requests. All recipients are sent using requests of at most
+	 * {@value fr.sii.ogham.sms.OvhSmsConstants#DEFAULT_OVHSMS_MAX_RECIPIENTS_PER_REQUEST}
+	 * recipients and long messages are not split.
+	 * 
+	 * @param url
+	 *            the URL to OVH web service
+	 * @param authParams
+	 *            the authentication parameters
+	 * @param options
+	 *            the OVH options
+	 * @param smsCodingDetector
+	 *            detects which {@link SmsCoding} can be used if not set
+	 * @param transport
+	 *            executes the HTTP requests
+	 */
+	public OvhSmsSender(URL url, OvhAuthParams authParams, OvhOptions options, SmsCodingDetector smsCodingDetector, HttpTransport transport) {
+		this(url, authParams, options, new OvhBatchOptions(DEFAULT_OVHSMS_MAX_RECIPIENTS_PER_REQUEST, null), smsCodingDetector, transport);
+	}
+
+	/**
+	 * Initializes the sender with the {@link HttpTransport} used to execute
+	 * the HTTP requests and the options that indicate how recipients are
+	 * partitioned into several requests and how long messages are split.
+	 * 
+	 * @param url
+	 *            the URL to OVH web service
+	 * @param authParams
+	 *            the authentication parameters
+	 * @param options
+	 *            the OVH options
+	 * @param batchOptions
+	 *            how recipients are partitioned and how long messages are
+	 *            split
+	 * @param smsCodingDetector
+	 *            detects which {@link SmsCoding} can be used if not set
+	 * @param transport
+	 *            executes the HTTP requests
+	 */
+	public OvhSmsSender(URL url, OvhAuthParams authParams, OvhOptions options, OvhBatchOptions batchOptions, SmsCodingDetector smsCodingDetector, HttpTransport transport) {
 		super();
+		this.transport = transport;
 		this.url = url;
 		this.authParams = authParams;
 		this.options = options;
+		this.batchOptions = batchOptions;
 		this.smsCodingDetector = smsCodingDetector;
 		this.mapper = new ObjectMapper();
 	}
 
+	/**
+	 * If all recipients fit in a single request (see
+	 * {@link OvhBatchOptions#getMaxRecipients()}), the request is executed in
+	 * the current thread. Otherwise, the requests for each chunk of recipients
+	 * are executed concurrently by the {@link HttpTransport} and this method
+	 * waits for all of them.
+	 */
 	@Override
 	public void send(Sms message) throws MessageException {
+		List<Chunk> chunks = prepare(message);
+		if (chunks.size() == 1) {
+			sendChunk(message, chunks.get(0));
+			return;
+		}
+		try {
+			sendChunksAsync(message, chunks).join();
+		} catch (CompletionException e) {
+			Throwable cause = unwrap(e);
+			if (cause instanceof MessageException) {
+				throw (MessageException) cause;
+			}
+			throw new MessageException("Failed to send SMS through OVH", message, cause);
+		}
+	}
+
+	/**
+	 * The HTTP requests are executed by the {@link HttpTransport} without
+	 * blocking a thread of the provided executors. The number of pending
+	 * requests is bounded by the transport.
+	 * 
+	 * <p>
+	 * The decorators of the sending chain (automatic retry, message filling,
+	 * content translation...) forward the asynchronous sending so this method
+	 * is used when the message is sent using
+	 * {@code MessagingService.sendAsync()}.
+	 */
+	@Override
+	public CompletableFuture<Void> sendAsync(Message message, AsyncExecutors executors) {
+		Sms sms = (Sms) message;
+		try {
+			return sendChunksAsync(sms, prepare(sms));
+		} catch (MessageException e) {
+			CompletableFuture<Void> result = new CompletableFuture<>();
+			result.completeExceptionally(e);
+			return result;
+		}
+	}
+
+	private void sendChunk(Sms message, Chunk chunk) throws MessageException {
+		for (Object[] parameters : chunk.getRequests()) {
+			try {
+				handleResponse(message, HttpUtils.get(transport, url.toString(), parameters));
+			} catch (IOException e) {
+				throw new MessageException("Failed to read response when sending SMS through OVH", message, e);
+			} catch (HttpException e) {
+				throw new MessageException("Failed to send SMS through OVH", message, e);
+			}
+		}
+	}
+
+	/**
+	 * Chunks are sent concurrently. The parts of the message are sent in order
+	 * to the recipients of a chunk. The result is completed once all chunks
+	 * are done: if some chunks have failed, a single
+	 * {@link RecipientsNotSentException} indicates which recipients may not
+	 * have received the message.
+	 */
+	private CompletableFuture<Void> sendChunksAsync(Sms message, List<Chunk> chunks) {
+		List<CompletableFuture<Void>> futures = new ArrayList<>(chunks.size());
+		for (Chunk chunk : chunks) {
+			futures.add(sendChunkAsync(message, chunk));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).handle((v, e) -> {
+			if (e == null) {
+				return null;
+			}
+			List<Recipient> failedRecipients = new ArrayList<>();
+			List<MessageException> failures = new ArrayList<>();
+			for (int i = 0; i < chunks.size(); i++) {
+				CompletableFuture<Void> future = futures.get(i);
+				if (future.isCompletedExceptionally()) {
+					failedRecipients.addAll(chunks.get(i).getRecipients());
+					failures.add(toMessageException(message, future));
+				}
+			}
+			if (chunks.size() == 1) {
+				throw new CompletionException(failures.get(0));
+			}
+			throw new CompletionException(new RecipientsNotSentException("SMS couldn't be sent through OVH to " + failedRecipients.size() + " recipient(s) out of "
+					+ message.getRecipients().size(), message, failedRecipients, failures));
+		});
+	}
+
+	private CompletableFuture<Void> sendChunkAsync(Sms message, Chunk chunk) {
+		CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
+		for (Object[] parameters : chunk.getRequests()) {
+			result = result.thenCompose(v -> HttpUtils.getAsync(transport, url.toString(), parameters)).thenAccept(response -> {
+				try {
+					handleResponse(message, response);
+				} catch (MessageException e) {
+					throw new CompletionException(e);
+				} catch (IOException e) {
+					throw new CompletionException(new MessageException("Failed to read response when sending SMS through OVH", message, e));
+				}
+			});
+		}
+		return result;
+	}
+
+	private static MessageException toMessageException(Sms message, CompletableFuture<Void> failed) {
+		try {
+			failed.join();
+			return null;
+		} catch (CompletionException e) {
+			Throwable cause = unwrap(e);
+			if (cause instanceof MessageException) {
+				return (MessageException) cause;
+			}
+			return new MessageException("Failed to send SMS through OVH", message, cause);
+		}
+	}
+
+	/**
+	 * Partitions the recipients into chunks (see
+	 * {@link OvhBatchOptions#getMaxRecipients()}) and splits the message if
+	 * needed (see {@link OvhBatchOptions#getMaxMessageLength()}). The
+	 * parameters of each request are prepared once.
+	 */
+	private List<Chunk> prepare(Sms message) throws MessageException {
 		try {
 			String text = getContent(message);
-			// @formatter:off
-			Response response = HttpUtils.get(url.toString(), authParams, options,
-									new Parameter(SMS_CODING, getSmsCodingValue(text)),
-									new Parameter(RESPONSE_TYPE, CONTENT_TYPE),
-									// convert phone number to international format
-									new Parameter(FROM, toInternational(message.getFrom().getPhoneNumber())),
-									new Parameter(TO, StringUtils.join(convert(message.getRecipients()), RECIPIENTS_SEPARATOR)),
-									// TODO: manage long messages: how to do ??
-									new Parameter(MESSAGE, text));
-			// @formatter:on
-			handleResponse(message, response);
-		} catch (IOException e) {
-			throw new MessageException("Failed to read response when sending SMS through OVH", message, e);
-		} catch (HttpException e) {
-			throw new MessageException("Failed to send SMS through OVH", message, e);
+			SmsCoding smsCoding = getSmsCoding(text);
+			String from = toInternational(message.getFrom().getPhoneNumber());
+			List<String> parts = split(text, smsCoding);
+			List<Recipient> recipients = message.getRecipients();
+			int maxRecipients = Math.max(1, batchOptions.getMaxRecipients());
+			List<Chunk> chunks = new ArrayList<>((recipients.size() + maxRecipients - 1) / maxRecipients);
+			for (int start = 0; start < recipients.size() || start == 0; start += maxRecipients) {
+				List<Recipient> chunkRecipients = recipients.subList(start, Math.min(start + maxRecipients, recipients.size()));
+				String to = StringUtils.join(convert(chunkRecipients), RECIPIENTS_SEPARATOR);
+				List<Object[]> requests = new ArrayList<>(parts.size());
+				for (String part : parts) {
+					requests.add(toParameters(smsCoding, from, to, part));
+				}
+				chunks.add(new Chunk(chunkRecipients, requests));
+			}
+			return chunks;
 		} catch (PhoneNumberException e) {
 			throw new MessageException("Failed to send SMS through OVH (invalid phone number)", message, e);
+		} catch (SplitMessageException e) {
+			throw new MessageException("Failed to send SMS through OVH (message couldn't be split)", message, e);
+		}
+	}
+
+	private List<String> split(String text, SmsCoding smsCoding) throws SplitMessageException {
+		Integer maxMessageLength = batchOptions.getMaxMessageLength();
+		if (maxMessageLength == null) {
+			return Collections.singletonList(text);
+		}
+		LengthCounter counter = smsCoding == SmsCoding.GSM7 ? new GsmBasicCharsetExtensionTableCounter() : new StringLengthCounter();
+		MessageSplitter splitter = new TextMessageSplitter(counter, maxMessageLength);
+		List<Segment> segments = splitter.split(text);
+		List<String> parts = new ArrayList<>(segments.size());
+		for (Segment segment : segments) {
+			parts.add(((StringSegment) segment).getMessage());
 		}
+		return parts;
 	}
 
-	private Integer getSmsCodingValue(String message) {
-		SmsCoding smsCoding = getSmsCoding(message);
-		return smsCoding == null ? null : smsCoding.getValue();
+	private Object[] toParameters(SmsCoding smsCoding, String from, String to, String text) {
+		// @formatter:off
+		return new Object[] {
+				authParams, 
+				options,
+				new Parameter(SMS_CODING, smsCoding == null ? null : smsCoding.getValue()),
+				new Parameter(RESPONSE_TYPE, CONTENT_TYPE),
+				// phone numbers are already converted to international format
+				new Parameter(FROM, from),
+				new Parameter(TO, to),
+				new Parameter(MESSAGE, text) };
+		// @formatter:on
+	}
+
+	private static Throwable unwrap(Throwable e) {
+		return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
 	}
 
 	private SmsCoding getSmsCoding(String message) {
@@ -243,4 +491,31 @@ public class OvhSmsSender extends AbstractSpecializedSender<Sms> {
 	public URL getUrl() {
 		return url;
 	}
+
+	public OvhBatchOptions getBatchOptions() {
+		return batchOptions;
+	}
+
+	/**
+	 * The recipients that are sent using the same request and the parameters
+	 * of each request (one per part of the message).
+	 */
+	private static class Chunk {
+		private final List<Recipient> recipients;
+		private final List<Object[]> requests;
+
+		Chunk(List<Recipient> recipients, List<Object[]> requests) {
+			super();
+			this.recipients = recipients;
+			this.requests = requests;
+		}
+
+		List<Recipient> getRecipients() {
+			return recipients;
+		}
+
+		List<Object[]> getRequests() {
+			return requests;
+		}
+	}
 }
@@ -0,0 +1,51 @@
+package fr.sii.ogham.sms.sender.impl.ovh;
+
+/**
+ * Options that control how a single SMS is dispatched into several requests to
+ * OVH:
+ * <ul>
+ * <li>Recipients are sent in the query string. To stay inside URL limits, the
+ * recipients are partitioned into chunks of at most
+ * {@link #getMaxRecipients()} recipients. Each chunk is sent using its own
+ * request and chunks are sent concurrently.</li>
+ * <li>If {@link #getMaxMessageLength()} is set, a message that is longer is
+ * split into several messages that are sent in order to each chunk of
+ * recipients. If not set, the whole message is sent as-is (OVH handles
+ * concatenation).</li>
+ * </ul>
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class OvhBatchOptions {
+	/**
+	 * The maximum number of recipients per request
+	 */
+	private final int maxRecipients;
+
+	/**
+	 * The maximum length of a message before it is split (null to never split)
+	 */
+	private final Integer maxMessageLength;
+
+	public OvhBatchOptions(int maxRecipients, Integer maxMessageLength) {
+		super();
+		this.maxRecipients = maxRecipients;
+		this.maxMessageLength = maxMessageLength;
+	}
+
+	public int getMaxRecipients() {
+		return maxRecipients;
+	}
+
+	public Integer getMaxMessageLength() {
+		return maxMessageLength;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("OvhBatchOptions [maxRecipients=").append(maxRecipients).append(", maxMessageLength=").append(maxMessageLength).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,54 @@
+package fr.sii.ogham.sms.sender.impl.ovh.exception;
+
+import static fr.sii.ogham.core.CoreConstants.SERIAL_VERSION_UID;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+import fr.sii.ogham.core.exception.MessageException;
+import fr.sii.ogham.core.exception.MessageNotSentException;
+import fr.sii.ogham.core.message.Message;
+import fr.sii.ogham.sms.message.Recipient;
+
+/**
+ * The recipients of a single SMS are sent in several requests to OVH. Some of
+ * the requests have failed so the SMS has not been received by some of the
+ * recipients.
+ *
+ * <p>
+ * The failure of each request is available through {@link #getFailures()}
+ * and the recipients that may not have received the message through
+ * {@link #getFailedRecipients()}.
+ *
+ * @author Aurélien Baudet
+ *
+ */
+public class RecipientsNotSentException extends MessageNotSentException {
+	private static final long serialVersionUID = SERIAL_VERSION_UID;
+
+	private final transient List<Recipient> failedRecipients;
+	private final List<MessageException> failures;
+
+	public RecipientsNotSentException(String message, Message msg, List<Recipient> failedRecipients, List<MessageException> failures) {
+		super(message, msg, failures.isEmpty() ? null : failures.get(0));
+		this.failedRecipients = unmodifiableList(failedRecipients);
+		this.failures = unmodifiableList(failures);
+		for (int i = 1; i < failures.size(); i++) {
+			addSuppressed(failures.get(i));
+		}
+	}
+
+	/**
+	 * @return the recipients that may not have received the message
+	 */
+	public List<Recipient> getFailedRecipients() {
+		return failedRecipients;
+	}
+
+	/**
+	 * @return the failure of each request
+	 */
+	public List<MessageException> getFailures() {
+		return failures;
+	}
+}
@@ -1,6 +1,5 @@
 package fr.sii.ogham.sms.util;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -8,32 +7,33 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
-import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URLEncodedUtils;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicNameValuePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import fr.sii.ogham.core.builder.context.DefaultBuildContext;
 import fr.sii.ogham.core.exception.util.HttpException;
+import fr.sii.ogham.core.http.HttpRequest;
+import fr.sii.ogham.core.http.HttpResponse;
+import fr.sii.ogham.core.http.HttpTransport;
 import fr.sii.ogham.core.util.BeanUtils;
-import fr.sii.ogham.core.util.IOUtils;
 import fr.sii.ogham.sms.util.http.Parameter;
 import fr.sii.ogham.sms.util.http.Response;
 
 /**
- * Utility class that helps to send HTTP requests.
+ * Utility class that helps to send HTTP requests. The requests are executed
+ * by the provided {@link HttpTransport} (connections are pooled and
+ * timeouts are applied).
  * 
  * @author Aurélien Baudet
  *
  */
 public final class HttpUtils {
 	private static final Logger LOG = LoggerFactory.getLogger(HttpUtils.class);
-	private static final HttpClient CLIENT = HttpClientBuilder.create().useSystemProperties().build();
 
 	/**
 	 * Do a GET request on the provided URL and construct the Query String part
@@ -44,6 +44,8 @@ public final class HttpUtils {
 	 * <code>field1=value1&amp;field1=value2&amp;field2=value3</code>. The special
 	 * characters are encoded. If there is a space, it is encoded into '%20'.
 	 * 
+	 * @param transport
+	 *            the transport used to execute the request
 	 * @param url
 	 *            the base url
 	 * @param params
@@ -52,22 +54,14 @@ public final class HttpUtils {
 	 * @throws HttpException
 	 *             when the request has failed
 	 */
-	public static Response get(String url, List<Parameter> params) throws HttpException {
-		String fullUrl = url;
-		String paramsStr = URLEncodedUtils.format(convert(params), "UTF-8");
-		fullUrl += (fullUrl.contains("?") ? "&" : "?") + paramsStr;
-		// spaces are replaced by '+' but some servers doesn't handle it
-		// correctly
-		// => convert space to '%20'
-		fullUrl = fullUrl.replace("+", "%20");
+	public static Response get(HttpTransport transport, String url, List<Parameter> params) throws HttpException {
+		String fullUrl = toUrl(url, params);
 		try {
 			LOG.debug("Sending HTTP GET request to {}", fullUrl);
-			HttpGet request = new HttpGet(fullUrl);
-			HttpResponse response = CLIENT.execute(request);
-			int statusCode = response.getStatusLine().getStatusCode();
-			LOG.debug("HTTP GET request successfully sent to {}. Status code: {}", fullUrl, statusCode);
-			return new Response(statusCode, IOUtils.toString(response.getEntity().getContent()));
-		} catch (IOException e) {
+			HttpResponse response = transport.execute(HttpRequest.get(fullUrl));
+			LOG.debug("HTTP GET request successfully sent to {}. Status code: {}", fullUrl, response.getStatus());
+			return new Response(response.getStatus(), response.getBody());
+		} catch (HttpException e) {
 			throw new HttpException("Failed to send GET request to " + fullUrl, e);
 		}
 	}
@@ -81,6 +75,8 @@ public final class HttpUtils {
 	 * <code>field1=value1&amp;field1=value2&amp;field2=value3</code>. The special
 	 * characters are encoded. If there is a space, it is encoded into '%20'.
 	 * 
+	 * @param transport
+	 *            the transport used to execute the request
 	 * @param url
 	 *            the base url
 	 * @param params
@@ -89,8 +85,8 @@ public final class HttpUtils {
 	 * @throws HttpException
 	 *             when the request has failed
 	 */
-	public static Response get(String url, Parameter... params) throws HttpException {
-		return get(url, Arrays.asList(params));
+	public static Response get(HttpTransport transport, String url, Parameter... params) throws HttpException {
+		return get(transport, url, Arrays.asList(params));
 	}
 
 	/**
@@ -105,15 +101,17 @@ public final class HttpUtils {
 	 * </p>
 	 * The parameters can be anything:
 	 * <ul>
-	 * <li>{@link Parameter}: see {@link #get(String, Parameter...)}</li>
+	 * <li>{@link Parameter}: see {@link #get(HttpTransport, String, Parameter...)}</li>
 	 * <li>{@link Map}: each entry is used as a parameter (see
-	 * {@link #get(String, Map)}). The key of the entry is the name of the
+	 * {@link #get(HttpTransport, String, Map)}). The key of the entry is the name of the
 	 * parameter, the value of the entry is the value of the parameter</li>
 	 * <li>A bean (any object): each property of the bean is used as parameter
 	 * (see {@link BeanUtils}). The name of the property is the name of the
 	 * parameter, the value of the property is the value of the parameter</li>
 	 * </ul>
 	 * 
+	 * @param transport
+	 *            the transport used to execute the request
 	 * @param url
 	 *            the base url
 	 * @param params
@@ -122,20 +120,8 @@ public final class HttpUtils {
 	 * @throws HttpException
 	 *             when the request has failed
 	 */
-	@SuppressWarnings("unchecked")
-	public static Response get(String url, Object... params) throws HttpException {
-		Map<String, Object> map = new HashMap<>();
-		for (Object bean : params) {
-			if (bean instanceof Parameter) {
-				Parameter p = (Parameter) bean;
-				map.put(p.getName(), p.getValue());
-			} else if (bean instanceof Map) {
-				map.putAll((Map<String, Object>) bean);
-			} else {
-				map.putAll(BeanUtils.convert(bean));
-			}
-		}
-		return get(url, map);
+	public static Response get(HttpTransport transport, String url, Object... params) throws HttpException {
+		return get(transport, url, merge(params));
 	}
 
 	/**
@@ -152,6 +138,81 @@ public final class HttpUtils {
 	 * parameter
 	 * </p>
 	 * 
+	 * @param transport
+	 *            the transport used to execute the request
+	 * @param url
+	 *            the base url
+	 * @param params
+	 *            none, one or several parameters to append to the query string
+	 * @return the response
+	 * @throws HttpException
+	 *             when the request has failed
+	 */
+	public static Response get(HttpTransport transport, String url, Map<String, Object> params) throws HttpException {
+		return get(transport, url, convert(params));
+	}
+
+	/**
+	 * Do a GET request using the default {@link HttpTransport} (see
+	 * {@link #getDefaultTransport()}).
+	 * 
+	 * @param url
+	 *            the base url
+	 * @param params
+	 *            the list of parameters to append to the query string
+	 * @return the response
+	 * @throws HttpException
+	 *             when the request has failed
+	 * @deprecated use {@link #get(HttpTransport, String, List)} instead to
+	 *             use the transport configured for the application
+	 */
+	@Deprecated
+	public static Response get(String url, List<Parameter> params) throws HttpException {
+		return get(getDefaultTransport(), url, params);
+	}
+
+	/**
+	 * Do a GET request using the default {@link HttpTransport} (see
+	 * {@link #getDefaultTransport()}).
+	 * 
+	 * @param url
+	 *            the base url
+	 * @param params
+	 *            none, one or several parameters to append to the query string
+	 * @return the response
+	 * @throws HttpException
+	 *             when the request has failed
+	 * @deprecated use {@link #get(HttpTransport, String, Parameter...)}
+	 *             instead to use the transport configured for the application
+	 */
+	@Deprecated
+	public static Response get(String url, Parameter... params) throws HttpException {
+		return get(getDefaultTransport(), url, params);
+	}
+
+	/**
+	 * Do a GET request using the default {@link HttpTransport} (see
+	 * {@link #getDefaultTransport()}).
+	 * 
+	 * @param url
+	 *            the base url
+	 * @param params
+	 *            none, one or several parameters to append to the query string
+	 * @return the response
+	 * @throws HttpException
+	 *             when the request has failed
+	 * @deprecated use {@link #get(HttpTransport, String, Object...)} instead
+	 *             to use the transport configured for the application
+	 */
+	@Deprecated
+	public static Response get(String url, Object... params) throws HttpException {
+		return get(getDefaultTransport(), url, params);
+	}
+
+	/**
+	 * Do a GET request using the default {@link HttpTransport} (see
+	 * {@link #getDefaultTransport()}).
+	 * 
 	 * @param url
 	 *            the base url
 	 * @param params
@@ -159,9 +220,72 @@ public final class HttpUtils {
 	 * @return the response
 	 * @throws HttpException
 	 *             when the request has failed
+	 * @deprecated use {@link #get(HttpTransport, String, Map)} instead to use
+	 *             the transport configured for the application
 	 */
+	@Deprecated
 	public static Response get(String url, Map<String, Object> params) throws HttpException {
-		return get(url, convert(params));
+		return get(getDefaultTransport(), url, params);
+	}
+
+	/**
+	 * The transport used when none is provided. It is created on first use
+	 * with default values (see {@link DefaultBuildContext#getHttpTransport()})
+	 * and is shared by all callers.
+	 * 
+	 * @return the default transport
+	 */
+	public static HttpTransport getDefaultTransport() {
+		return DefaultTransportHolder.INSTANCE;
+	}
+
+	/**
+	 * Same as {@link #get(HttpTransport, String, Object...)} but the request is
+	 * executed without blocking the current thread (see
+	 * {@link HttpTransport#executeAsync(HttpRequest)}).
+	 * 
+	 * @param transport
+	 *            the transport used to execute the request
+	 * @param url
+	 *            the base url
+	 * @param params
+	 *            none, one or several parameters to append to the query string
+	 * @return the future that is completed with the response or completed
+	 *         exceptionally with a {@link HttpException}
+	 */
+	public static CompletableFuture<Response> getAsync(HttpTransport transport, String url, Object... params) {
+		String fullUrl = toUrl(url, convert(merge(params)));
+		LOG.debug("Sending HTTP GET request to {}", fullUrl);
+		return transport.executeAsync(HttpRequest.get(fullUrl)).thenApply(response -> {
+			LOG.debug("HTTP GET request successfully sent to {}. Status code: {}", fullUrl, response.getStatus());
+			return new Response(response.getStatus(), response.getBody());
+		});
+	}
+
+	private static String toUrl(String url, List<Parameter> params) {
+		String fullUrl = url;
+		String paramsStr = URLEncodedUtils.format(convert(params), "UTF-8");
+		fullUrl += (fullUrl.contains("?") ? "&" : "?") + paramsStr;
+		// spaces are replaced by '+' but some servers doesn't handle it
+		// correctly
+		// => convert space to '%20'
+		return fullUrl.replace("+", "%20");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> merge(Object... params) {
+		Map<String, Object> map = new HashMap<>();
+		for (Object bean : params) {
+			if (bean instanceof Parameter) {
+				Parameter p = (Parameter) bean;
+				map.put(p.getName(), p.getValue());
+			} else if (bean instanceof Map) {
+				map.putAll((Map<String, Object>) bean);
+			} else {
+				map.putAll(BeanUtils.convert(bean));
+			}
+		}
+		return map;
 	}
 
 	/**
@@ -200,6 +324,14 @@ public final class HttpUtils {
 		return pairs;
 	}
 
+	private static final class DefaultTransportHolder {
+		private static final HttpTransport INSTANCE = new DefaultBuildContext().getHttpTransport();
+
+		private DefaultTransportHolder() {
+			super();
+		}
+	}
+
 	private HttpUtils() {
 		super();
 	}
@@ -10,14 +10,16 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
-import org.junit.Assert;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -31,6 +33,7 @@ import fr.sii.ogham.sms.builder.ovh.OvhSmsBuilder;
 import fr.sii.ogham.sms.message.Sender;
 import fr.sii.ogham.sms.message.Sms;
 import fr.sii.ogham.sms.sender.impl.OvhSmsSender;
+import fr.sii.ogham.sms.sender.impl.ovh.exception.RecipientsNotSentException;
 import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
 
 public class OvhSmsTest {
@@ -131,10 +134,95 @@ public class OvhSmsTest {
 	}
 
 	@Test
-	@Ignore("Not yet implemented")
 	public void longMessage() throws MessagingException, IOException {
-		// TODO: implement test
-		Assert.fail("Not yet implemented");
+		stubFor(get(urlMatching(".*"))
+				.willReturn(aResponse()
+						.withStatus(200)
+						.withHeader("Content-Type", "application/json")
+						.withBody(IOUtils.toString(getClass().getResourceAsStream("/ovh/response/ok.json")))));
+		
+		builder.batch().maxMessageLength(10);
+		OvhSmsSender sender = builder.build();
+		sender.send(new Sms()
+						.content("sms content that is too long")
+						.from(new Sender("0033203040506"))
+						.to("0033605040302"));
+		
+		verify(3, getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi")));
+		verify(getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+					.withQueryParam("to", equalTo("0033605040302"))
+					.withQueryParam("message", equalTo("sms conten")));
+		verify(getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+					.withQueryParam("to", equalTo("0033605040302"))
+					.withQueryParam("message", equalTo("t that is ")));
+		verify(getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+					.withQueryParam("to", equalTo("0033605040302"))
+					.withQueryParam("message", equalTo("too long")));
+	}
+
+	@Test
+	public void recipientsSplitIntoChunks() throws MessagingException, IOException {
+		stubFor(get(urlMatching(".*"))
+				.willReturn(aResponse()
+						.withStatus(200)
+						.withHeader("Content-Type", "application/json")
+						.withBody(IOUtils.toString(getClass().getResourceAsStream("/ovh/response/ok.json")))));
+		
+		builder.batch().maxRecipients(2);
+		OvhSmsSender sender = builder.build();
+		sender.send(new Sms()
+						.content("sms content")
+						.from(new Sender("0033203040506"))
+						.to("0033605040302")
+						.to("0033605040303")
+						.to("0033605040304")
+						.to("0033605040305")
+						.to("0033605040306"));
+		
+		verify(3, getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi")));
+		verify(getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+					.withQueryParam("from", equalTo("0033203040506"))
+					.withQueryParam("to", equalTo("0033605040302,0033605040303"))
+					.withQueryParam("message", equalTo("sms content")));
+		verify(getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+					.withQueryParam("from", equalTo("0033203040506"))
+					.withQueryParam("to", equalTo("0033605040304,0033605040305"))
+					.withQueryParam("message", equalTo("sms content")));
+		verify(getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+					.withQueryParam("from", equalTo("0033203040506"))
+					.withQueryParam("to", equalTo("0033605040306"))
+					.withQueryParam("message", equalTo("sms content")));
+	}
+
+	@Test
+	public void someChunksFailed() throws IOException {
+		stubFor(get(urlMatching(".*"))
+				.willReturn(aResponse()
+						.withStatus(200)
+						.withHeader("Content-Type", "application/json")
+						.withBody(IOUtils.toString(getClass().getResourceAsStream("/ovh/response/ok.json")))));
+		stubFor(get(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+				.withQueryParam("to", equalTo("0033605040303"))
+				.willReturn(aResponse()
+						.withStatus(200)
+						.withHeader("Content-Type", "application/json")
+						.withBody(IOUtils.toString(getClass().getResourceAsStream("/ovh/response/ko.json")))));
+		
+		builder.batch().maxRecipients(1);
+		OvhSmsSender sender = builder.build();
+		RecipientsNotSentException e = assertThrows("should throw", RecipientsNotSentException.class, () -> {
+			sender.send(new Sms()
+						.content("sms content")
+						.from(new Sender("0033203040506"))
+						.to("0033605040302")
+						.to("0033605040303")
+						.to("0033605040304"));
+		});
+		
+		verify(3, getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi")));
+		assertThat("should indicate failed recipients", e.getFailedRecipients(), hasSize(1));
+		assertThat("should indicate failed recipients", e.getFailedRecipients().get(0).getPhoneNumber().getNumber(), is("0033605040303"));
+		assertThat("should indicate failures", e.getFailures(), hasSize(1));
 	}
 
 	@Test
@@ -230,4 +318,38 @@ public class OvhSmsTest {
 					.withQueryParam("tag", equalTo("my-tag")));
 	}
 
+	@Test
+	public void sendAsync() throws Exception {
+		stubFor(get(urlMatching(".*"))
+				.willReturn(aResponse()
+						.withStatus(200)
+						.withHeader("Content-Type", "application/json")
+						.withBody(IOUtils.toString(getClass().getResourceAsStream("/ovh/response/ok.json")))));
+		
+		OvhSmsSender sender = builder.build();
+		sender.sendAsync(new Sms()
+						.content("sms content")
+						.from(new Sender("0033203040506"))
+						.to("0033605040302"), null).get(5, TimeUnit.SECONDS);
+		
+		verify(getRequestedFor(urlPathEqualTo("/cgi-bin/sms/http2sms.cgi"))
+					.withQueryParam("from", equalTo("0033203040506"))
+					.withQueryParam("to", equalTo("0033605040302"))
+					.withQueryParam("message", equalTo("sms content")));
+	}
+
+	@Test
+	public void sendAsyncFailure() {
+		stubFor(get(urlMatching(".*"))
+				.willReturn(aResponse()
+						.withStatus(500)));
+		
+		OvhSmsSender sender = builder.build();
+		ExecutionException e = assertThrows(ExecutionException.class, () -> sender.sendAsync(new Sms()
+						.content("sms content")
+						.from(new Sender("0033203040506"))
+						.to("0033605040302"), null).get(5, TimeUnit.SECONDS));
+		assertThat(e.getCause(), instanceOf(MessageException.class));
+	}
+
 }
@@ -7,6 +7,8 @@ import fr.sii.ogham.core.builder.configuration.ConfigurationValueBuilder;
 import fr.sii.ogham.core.builder.context.BuildContext;
 import fr.sii.ogham.core.convert.Converter;
 import fr.sii.ogham.core.env.PropertyResolver;
+import fr.sii.ogham.core.http.HttpTransport;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
 import fr.sii.ogham.sms.builder.cloudhopper.StandardEncodingHelper;
 
 public class TrackConfigurationValueBuilder implements BuildContext {
@@ -54,4 +56,14 @@ public class TrackConfigurationValueBuilder implements BuildContext {
 		T builder = (T) new TrackEncodingBuilder((StandardEncodingHelper) original, configured);
 		return builder;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public MetricsRecorder getMetricsRecorder() {
+		return delegate.getMetricsRecorder();
+	}
+
+	@Override
+	public HttpTransport getHttpTransport() {
+		return delegate.getHttpTransport();
+	}
+}
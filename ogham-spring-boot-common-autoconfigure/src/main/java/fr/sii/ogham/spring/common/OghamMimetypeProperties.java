@@ -9,8 +9,14 @@ public class OghamMimetypeProperties {
 	 * Default mimetype if detection couldn't determine the mimetype
 	 */
 	private String defaultMimetype = "application/octet-stream";
+	/**
+	 * The maximum number of bytes read from a stream to detect its mimetype
+	 */
+	private Integer headSize;
 	@NestedConfigurationProperty
 	private TikaProperties tika = new TikaProperties();
+	@NestedConfigurationProperty
+	private CacheProperties cache = new CacheProperties();
 
 	public String getDefaultMimetype() {
 		return defaultMimetype;
@@ -20,6 +26,14 @@ public class OghamMimetypeProperties {
 		this.defaultMimetype = defaultMimetype;
 	}
 
+	public Integer getHeadSize() {
+		return headSize;
+	}
+
+	public void setHeadSize(Integer headSize) {
+		this.headSize = headSize;
+	}
+
 	public TikaProperties getTika() {
 		return tika;
 	}
@@ -28,6 +42,14 @@ public class OghamMimetypeProperties {
 		this.tika = tika;
 	}
 
+	public CacheProperties getCache() {
+		return cache;
+	}
+
+	public void setCache(CacheProperties cache) {
+		this.cache = cache;
+	}
+
 	public static class TikaProperties {
 		/**
 		 * If Tika detection returns an {@code application/octet-stream}, it may
@@ -46,4 +68,33 @@ public class OghamMimetypeProperties {
 			this.failIfOctetStream = failIfOctetStream;
 		}
 	}
+
+	public static class CacheProperties {
+		/**
+		 * Enable/disable caching of detected mimetypes. The mimetype of the
+		 * same file or content is detected only once.
+		 */
+		private Boolean enable;
+		/**
+		 * The maximum number of detected mimetypes kept in the cache (0 or
+		 * negative for no limit)
+		 */
+		private Integer maxSize;
+
+		public Boolean getEnable() {
+			return enable;
+		}
+
+		public void setEnable(Boolean enable) {
+			this.enable = enable;
+		}
+
+		public Integer getMaxSize() {
+			return maxSize;
+		}
+
+		public void setMaxSize(Integer maxSize) {
+			this.maxSize = maxSize;
+		}
+	}
 }
@@ -0,0 +1,59 @@
+package fr.sii.ogham.spring.common;
+
+import fr.sii.ogham.core.ratelimit.RateLimitMode;
+
+public class RateLimitProperties {
+	/**
+	 * Set the maximum number of messages sent per second. If not set, the
+	 * messages are not limited.
+	 */
+	private Double permitsPerSecond;
+	/**
+	 * Set the number of messages that can be sent at once before the rate
+	 * applies.
+	 */
+	private Integer burst;
+	/**
+	 * Set what to do when the rate limit is reached: wait (BLOCK) or fail
+	 * immediately (FAIL_FAST).
+	 */
+	private RateLimitMode mode;
+	/**
+	 * Set the maximum time to wait (in milliseconds) for sending a message when
+	 * mode is BLOCK. 0 means that there is no limit.
+	 */
+	private Long maxWait;
+
+	public Double getPermitsPerSecond() {
+		return permitsPerSecond;
+	}
+
+	public void setPermitsPerSecond(Double permitsPerSecond) {
+		this.permitsPerSecond = permitsPerSecond;
+	}
+
+	public Integer getBurst() {
+		return burst;
+	}
+
+	public void setBurst(Integer burst) {
+		this.burst = burst;
+	}
+
+	public RateLimitMode getMode() {
+		return mode;
+	}
+
+	public void setMode(RateLimitMode mode) {
+		this.mode = mode;
+	}
+
+	public Long getMaxWait() {
+		return maxWait;
+	}
+
+	public void setMaxWait(Long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+}
@@ -2,6 +2,10 @@ package fr.sii.ogham.spring.common;
 
 import java.util.List;
 
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+import fr.sii.ogham.core.retry.Jitter;
+
 public class SendRetryProperties {
 	/**
 	 * Set the maximum number of attempts for sending a message.
@@ -19,6 +23,18 @@ public class SendRetryProperties {
 	 */
 	private Long exponentialInitialDelay;
 
+	/**
+	 * Set the maximum delay between two executions (in milliseconds) when the
+	 * delay is doubled for each try.
+	 */
+	private Long exponentialMaxDelay;
+
+	/**
+	 * Randomize the delay that is doubled for each try in order to spread the
+	 * retries over time (NONE, FULL or DECORRELATED).
+	 */
+	private Jitter exponentialJitter;
+
 	/**
 	 * Set specific delays (in milliseconds) used for each new execution. If
 	 * there are more attempts than the configured delays, the last delay is
@@ -36,6 +52,13 @@ public class SendRetryProperties {
 	 */
 	private Long executionInterval;
 
+	/**
+	 * Limit the retries of all messages to avoid amplifying the load when the
+	 * remote system is failing.
+	 */
+	@NestedConfigurationProperty
+	private Budget budget = new Budget();
+
 	public Integer getMaxAttempts() {
 		return maxAttempts;
 	}
@@ -60,6 +83,22 @@ public class SendRetryProperties {
 		this.exponentialInitialDelay = exponentialInitialDelay;
 	}
 
+	public Long getExponentialMaxDelay() {
+		return exponentialMaxDelay;
+	}
+
+	public void setExponentialMaxDelay(Long exponentialMaxDelay) {
+		this.exponentialMaxDelay = exponentialMaxDelay;
+	}
+
+	public Jitter getExponentialJitter() {
+		return exponentialJitter;
+	}
+
+	public void setExponentialJitter(Jitter exponentialJitter) {
+		this.exponentialJitter = exponentialJitter;
+	}
+
 	public List<Long> getPerExecutionDelays() {
 		return perExecutionDelays;
 	}
@@ -76,4 +115,40 @@ public class SendRetryProperties {
 		this.executionInterval = executionInterval;
 	}
 
+	public Budget getBudget() {
+		return budget;
+	}
+
+	public void setBudget(Budget budget) {
+		this.budget = budget;
+	}
+
+	public static class Budget {
+		/**
+		 * The maximum number of retries that can be done in a burst. If not
+		 * set, retries are not limited.
+		 */
+		private Integer capacity;
+		/**
+		 * The number of retries allowed per second once the burst capacity is
+		 * consumed.
+		 */
+		private Double refillRate;
+
+		public Integer getCapacity() {
+			return capacity;
+		}
+
+		public void setCapacity(Integer capacity) {
+			this.capacity = capacity;
+		}
+
+		public Double getRefillRate() {
+			return refillRate;
+		}
+
+		public void setRefillRate(Double refillRate) {
+			this.refillRate = refillRate;
+		}
+	}
 }
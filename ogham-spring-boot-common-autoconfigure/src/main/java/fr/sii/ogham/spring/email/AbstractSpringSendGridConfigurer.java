@@ -81,7 +81,12 @@ public abstract class AbstractSpringSendGridConfigurer implements SpringMessagin
 				.apiKey().value(ofNullable(properties.getApiKey())).and()
 				.url().value(ofNullable(properties.getUrl())).and()
 				.username().value(ofNullable(properties.getUsername())).and()
-				.password().value(ofNullable(properties.getPassword()));
+				.password().value(ofNullable(properties.getPassword())).and()
+				.rateLimit()
+					.permitsPerSecond().value(ofNullable(properties.getRateLimit().getPermitsPerSecond())).and()
+					.burst().value(ofNullable(properties.getRateLimit().getBurst())).and()
+					.mode().value(ofNullable(properties.getRateLimit().getMode())).and()
+					.maxWait().value(ofNullable(properties.getRateLimit().getMaxWait()));
 		// @formatter:on
 	}
 
@@ -32,7 +32,13 @@ public class OghamEmailProperties implements OghamTemplateProperties {
 	@NestedConfigurationProperty
 	private SendRetryProperties sendRetry = new SendRetryProperties();
 	@NestedConfigurationProperty
+	private CssInliningProperties cssInlining = new CssInliningProperties();
+	@NestedConfigurationProperty
 	private ImageInliningProperties imageInlining = new ImageInliningProperties();
+	@NestedConfigurationProperty
+	private ParallelRenderingProperties parallelRendering = new ParallelRenderingProperties();
+	@NestedConfigurationProperty
+	private ResourceCacheProperties resourceCache = new ResourceCacheProperties();
 
 	public FromProperties getFrom() {
 		return from;
@@ -106,6 +112,14 @@ public class OghamEmailProperties implements OghamTemplateProperties {
 		this.sendRetry = sendRetry;
 	}
 
+	public CssInliningProperties getCssInlining() {
+		return cssInlining;
+	}
+
+	public void setCssInlining(CssInliningProperties cssInlining) {
+		this.cssInlining = cssInlining;
+	}
+
 	public ImageInliningProperties getImageInlining() {
 		return imageInlining;
 	}
@@ -114,6 +128,22 @@ public class OghamEmailProperties implements OghamTemplateProperties {
 		this.imageInlining = imageInlining;
 	}
 
+	public ParallelRenderingProperties getParallelRendering() {
+		return parallelRendering;
+	}
+
+	public void setParallelRendering(ParallelRenderingProperties parallelRendering) {
+		this.parallelRendering = parallelRendering;
+	}
+
+	public ResourceCacheProperties getResourceCache() {
+		return resourceCache;
+	}
+
+	public void setResourceCache(ResourceCacheProperties resourceCache) {
+		this.resourceCache = resourceCache;
+	}
+
 	public static class SubjectProperties {
 		/**
 		 * Configures how to handle missing email subject: if no subject is
@@ -251,6 +281,22 @@ public class OghamEmailProperties implements OghamTemplateProperties {
 		}
 	}
 
+	public static class CssInliningProperties {
+		/**
+		 * Parse and compile each stylesheet only once and apply the rules
+		 * according to their specificity by traversing the HTML only once.
+		 */
+		private Boolean compiledRules;
+
+		public Boolean getCompiledRules() {
+			return compiledRules;
+		}
+
+		public void setCompiledRules(Boolean compiledRules) {
+			this.compiledRules = compiledRules;
+		}
+	}
+
 	public static class ImageInliningProperties {
 		@NestedConfigurationProperty
 		private MimetypeProperties mimetype = new MimetypeProperties();
@@ -288,4 +334,85 @@ public class OghamEmailProperties implements OghamTemplateProperties {
 		}
 	}
 
+	public static class ParallelRenderingProperties {
+		/**
+		 * Render the variants of an email (HTML and text for example)
+		 * concurrently instead of one after the other.
+		 */
+		private Boolean enable;
+		/**
+		 * The number of threads used to render variants concurrently
+		 */
+		private Integer threads;
+
+		public Boolean getEnable() {
+			return enable;
+		}
+
+		public void setEnable(Boolean enable) {
+			this.enable = enable;
+		}
+
+		public Integer getThreads() {
+			return threads;
+		}
+
+		public void setThreads(Integer threads) {
+			this.threads = threads;
+		}
+	}
+
+	public static class ResourceCacheProperties {
+		/**
+		 * Cache the CSS files and images that are inlined in emails so they
+		 * are read (and parsed or encoded) only once.
+		 */
+		private Boolean enable;
+		/**
+		 * The maximum number of CSS files and images kept in the cache
+		 */
+		private Integer maxSize;
+		/**
+		 * The maximum total size (in bytes) of the CSS files and images kept
+		 * in the cache
+		 */
+		private Long maxWeight;
+		/**
+		 * Read again a cached file if it has been modified
+		 */
+		private Boolean checkModifications;
+
+		public Boolean getEnable() {
+			return enable;
+		}
+
+		public void setEnable(Boolean enable) {
+			this.enable = enable;
+		}
+
+		public Integer getMaxSize() {
+			return maxSize;
+		}
+
+		public void setMaxSize(Integer maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		public Long getMaxWeight() {
+			return maxWeight;
+		}
+
+		public void setMaxWeight(Long maxWeight) {
+			this.maxWeight = maxWeight;
+		}
+
+		public Boolean getCheckModifications() {
+			return checkModifications;
+		}
+
+		public void setCheckModifications(Boolean checkModifications) {
+			this.checkModifications = checkModifications;
+		}
+	}
+
 }
@@ -23,6 +23,8 @@ public class OghamJavaMailProperties {
 	private AuthenticationProperties authenticator = new AuthenticationProperties();
 	@NestedConfigurationProperty
 	private BodyProperties body = new BodyProperties();
+	@NestedConfigurationProperty
+	private PoolProperties pool = new PoolProperties();
 
 	public String getHost() {
 		return host;
@@ -56,6 +58,14 @@ public class OghamJavaMailProperties {
 		this.body = body;
 	}
 
+	public PoolProperties getPool() {
+		return pool;
+	}
+
+	public void setPool(PoolProperties pool) {
+		this.pool = pool;
+	}
+
 	public static class AuthenticationProperties {
 		/**
 		 * SMTP server username
@@ -97,4 +107,75 @@ public class OghamJavaMailProperties {
 			this.charset = charset;
 		}
 	}
+
+	public static class PoolProperties {
+		/**
+		 * Keep connections to the mail server opened and reuse them for
+		 * sending several messages. Default to false
+		 */
+		private Boolean enable;
+		/**
+		 * The maximum number of connections to the mail server opened at the
+		 * same time. Default to 8
+		 */
+		private Integer size;
+		/**
+		 * The maximum number of messages sent using the same connection. Set to
+		 * 0 to reuse the connection without limit. Default to 100
+		 */
+		private Integer maxMessagesPerConnection;
+		/**
+		 * The maximum amount of time (in milliseconds) a connection can stay
+		 * unused in the pool. Set to 0 to keep unused connections forever.
+		 * Default to 30000
+		 */
+		private Long idleTimeout;
+		/**
+		 * The amount of time (in milliseconds) since the last use of a
+		 * connection after which a NOOP command is sent to check that the
+		 * connection is still alive. Set to 0 to always check, negative value
+		 * to never check. Default to 5000
+		 */
+		private Long validationDelay;
+
+		public Boolean getEnable() {
+			return enable;
+		}
+
+		public void setEnable(Boolean enable) {
+			this.enable = enable;
+		}
+
+		public Integer getSize() {
+			return size;
+		}
+
+		public void setSize(Integer size) {
+			this.size = size;
+		}
+
+		public Integer getMaxMessagesPerConnection() {
+			return maxMessagesPerConnection;
+		}
+
+		public void setMaxMessagesPerConnection(Integer maxMessagesPerConnection) {
+			this.maxMessagesPerConnection = maxMessagesPerConnection;
+		}
+
+		public Long getIdleTimeout() {
+			return idleTimeout;
+		}
+
+		public void setIdleTimeout(Long idleTimeout) {
+			this.idleTimeout = idleTimeout;
+		}
+
+		public Long getValidationDelay() {
+			return validationDelay;
+		}
+
+		public void setValidationDelay(Long validationDelay) {
+			this.validationDelay = validationDelay;
+		}
+	}
 }
@@ -3,6 +3,9 @@ package fr.sii.ogham.spring.email;
 import java.net.URL;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+import fr.sii.ogham.spring.common.RateLimitProperties;
 
 @ConfigurationProperties("ogham.email.sendgrid")
 public class OghamSendGridProperties {
@@ -48,6 +51,11 @@ public class OghamSendGridProperties {
 	 * version 3 of SendGrid Java library
 	 */
 	private boolean unitTesting;
+	/**
+	 * Limit the number of emails sent per second.
+	 */
+	@NestedConfigurationProperty
+	private RateLimitProperties rateLimit = new RateLimitProperties();
 
 	public String getApiKey() {
 		return apiKey;
@@ -119,4 +127,12 @@ public class OghamSendGridProperties {
 		this.unitTesting = unitTesting;
 	}
 
+	public RateLimitProperties getRateLimit() {
+		return rateLimit;
+	}
+
+	public void setRateLimit(RateLimitProperties rateLimit) {
+		this.rateLimit = rateLimit;
+	}
+
 }
@@ -75,7 +75,13 @@ public class SpringMailConfigurer implements SpringMessagingConfigurer {
 					.and()
 				.charset().value(ofNullable(properties.getBody().getCharset())).and()
 				.host().value(ofNullable(properties.getHost())).and()
-				.port().value(ofNullable(properties.getPort()));
+				.port().value(ofNullable(properties.getPort())).and()
+				.pool()
+					.enable().value(ofNullable(properties.getPool().getEnable())).and()
+					.size().value(ofNullable(properties.getPool().getSize())).and()
+					.maxMessagesPerConnection().value(ofNullable(properties.getPool().getMaxMessagesPerConnection())).and()
+					.idleTimeout().value(ofNullable(properties.getPool().getIdleTimeout())).and()
+					.validationDelay().value(ofNullable(properties.getPool().getValidationDelay()));
 		// @formatter:on
 	}
 
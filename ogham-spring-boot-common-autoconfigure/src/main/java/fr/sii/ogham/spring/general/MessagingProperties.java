@@ -4,12 +4,21 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
 import fr.sii.ogham.core.service.MessagingService;
 
 @ConfigurationProperties("ogham")
 public class MessagingProperties {
 	@NestedConfigurationProperty
 	private WrapUncaughtExceptionsProperties wrapUncaughtExceptions = new WrapUncaughtExceptionsProperties();
+	@NestedConfigurationProperty
+	private AsyncProperties async = new AsyncProperties();
+	@NestedConfigurationProperty
+	private MetricsProperties metrics = new MetricsProperties();
+	@NestedConfigurationProperty
+	private HttpProperties http = new HttpProperties();
+	@NestedConfigurationProperty
+	private OutboxProperties outbox = new OutboxProperties();
 
 	public WrapUncaughtExceptionsProperties getWrapUncaughtExceptions() {
 		return wrapUncaughtExceptions;
@@ -19,6 +28,38 @@ public class MessagingProperties {
 		this.wrapUncaughtExceptions = wrapUncaughtExceptions;
 	}
 
+	public AsyncProperties getAsync() {
+		return async;
+	}
+
+	public void setAsync(AsyncProperties async) {
+		this.async = async;
+	}
+
+	public MetricsProperties getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(MetricsProperties metrics) {
+		this.metrics = metrics;
+	}
+
+	public HttpProperties getHttp() {
+		return http;
+	}
+
+	public void setHttp(HttpProperties http) {
+		this.http = http;
+	}
+
+	public OutboxProperties getOutbox() {
+		return outbox;
+	}
+
+	public void setOutbox(OutboxProperties outbox) {
+		this.outbox = outbox;
+	}
+
 	public static class WrapUncaughtExceptionsProperties {
 		/**
 		 * There are technical exceptions that are thrown by libraries used by
@@ -56,4 +97,291 @@ public class MessagingProperties {
 			this.enable = enable;
 		}
 	}
+
+	public static class AsyncProperties {
+		/**
+		 * The number of threads of the pool that is used to send messages
+		 * asynchronously (see
+		 * {@link MessagingService#sendAsync(fr.sii.ogham.core.message.Message)}).
+		 * The pool is bounded: if all threads are busy, messages are queued
+		 * until a thread is available.
+		 * 
+		 * Default to 10
+		 */
+		private Integer threads;
+		/**
+		 * The maximum number of messages waiting for a thread. When the limit
+		 * is reached, new messages are rejected immediately (the future
+		 * returned by
+		 * {@link MessagingService#sendAsync(fr.sii.ogham.core.message.Message)}
+		 * is completed exceptionally).
+		 * 
+		 * Default to 1000
+		 */
+		private Integer queueCapacity;
+
+		public Integer getThreads() {
+			return threads;
+		}
+
+		public void setThreads(Integer threads) {
+			this.threads = threads;
+		}
+
+		public Integer getQueueCapacity() {
+			return queueCapacity;
+		}
+
+		public void setQueueCapacity(Integer queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+	}
+
+	public static class MetricsProperties {
+		/**
+		 * Enable or disable recording of metrics. Metrics are only recorded if
+		 * a {@link MetricsRecorder} bean is available in the application
+		 * context. If Micrometer is used (a MeterRegistry bean is available),
+		 * a {@link MetricsRecorder} is automatically registered.
+		 * 
+		 * Default to true
+		 */
+		private Boolean enable;
+
+		public Boolean getEnable() {
+			return enable;
+		}
+
+		public void setEnable(Boolean enable) {
+			this.enable = enable;
+		}
+	}
+
+	public static class HttpProperties {
+		/**
+		 * The maximum number of connections opened to the same host by the
+		 * senders that call an HTTP API (OVH, SendGrid...). When all connections
+		 * are in use, requests wait for a free connection.
+		 * 
+		 * Default to 20
+		 */
+		private Integer maxConnectionsPerRoute;
+		/**
+		 * The maximum number of HTTP connections for all hosts.
+		 * 
+		 * Default to 50
+		 */
+		private Integer maxConnectionsTotal;
+		/**
+		 * The maximum time (in milliseconds) to establish an HTTP connection.
+		 * 
+		 * Default to 5000
+		 */
+		private Integer connectTimeout;
+		/**
+		 * The maximum time (in milliseconds) to wait for data once the HTTP
+		 * connection is established.
+		 * 
+		 * Default to 30000
+		 */
+		private Integer readTimeout;
+		/**
+		 * The maximum time (in milliseconds) to wait for a free connection in
+		 * the pool.
+		 * 
+		 * Default to 10000
+		 */
+		private Integer connectionRequestTimeout;
+		/**
+		 * The time (in milliseconds) an idle HTTP connection is kept alive to
+		 * be reused.
+		 * 
+		 * Default to 30000
+		 */
+		private Long keepAlive;
+		@NestedConfigurationProperty
+		private HttpAsyncProperties async = new HttpAsyncProperties();
+
+		public Integer getMaxConnectionsPerRoute() {
+			return maxConnectionsPerRoute;
+		}
+
+		public void setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		}
+
+		public Integer getMaxConnectionsTotal() {
+			return maxConnectionsTotal;
+		}
+
+		public void setMaxConnectionsTotal(Integer maxConnectionsTotal) {
+			this.maxConnectionsTotal = maxConnectionsTotal;
+		}
+
+		public Integer getConnectTimeout() {
+			return connectTimeout;
+		}
+
+		public void setConnectTimeout(Integer connectTimeout) {
+			this.connectTimeout = connectTimeout;
+		}
+
+		public Integer getReadTimeout() {
+			return readTimeout;
+		}
+
+		public void setReadTimeout(Integer readTimeout) {
+			this.readTimeout = readTimeout;
+		}
+
+		public Integer getConnectionRequestTimeout() {
+			return connectionRequestTimeout;
+		}
+
+		public void setConnectionRequestTimeout(Integer connectionRequestTimeout) {
+			this.connectionRequestTimeout = connectionRequestTimeout;
+		}
+
+		public Long getKeepAlive() {
+			return keepAlive;
+		}
+
+		public void setKeepAlive(Long keepAlive) {
+			this.keepAlive = keepAlive;
+		}
+
+		public HttpAsyncProperties getAsync() {
+			return async;
+		}
+
+		public void setAsync(HttpAsyncProperties async) {
+			this.async = async;
+		}
+	}
+
+	public static class HttpAsyncProperties {
+		/**
+		 * The number of threads used to execute HTTP requests asynchronously.
+		 * 
+		 * Default to 20
+		 */
+		private Integer threads;
+		/**
+		 * The maximum number of asynchronous HTTP requests waiting for a
+		 * thread. When the limit is reached, new requests are rejected
+		 * immediately.
+		 * 
+		 * Default to 1000
+		 */
+		private Integer queueCapacity;
+
+		public Integer getThreads() {
+			return threads;
+		}
+
+		public void setThreads(Integer threads) {
+			this.threads = threads;
+		}
+
+		public Integer getQueueCapacity() {
+			return queueCapacity;
+		}
+
+		public void setQueueCapacity(Integer queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+	}
+
+	public static class OutboxProperties {
+		/**
+		 * Enable or disable the persistent outbox. When enabled, messages
+		 * given to
+		 * {@link MessagingService#enqueue(fr.sii.ogham.core.message.Message)}
+		 * are stored on the file system and sent later by a pool of workers.
+		 * Messages that are not sent yet survive a restart of the application.
+		 * 
+		 * Default to false
+		 */
+		private Boolean enable;
+		/**
+		 * The directory that contains the journal files of the outbox.
+		 * 
+		 * Default to "ogham-outbox" (relative to the working directory)
+		 */
+		private String directory;
+		/**
+		 * The size (in bytes) of each journal file.
+		 * 
+		 * Default to 16777216 (16MB)
+		 */
+		private Integer segmentSize;
+		/**
+		 * The number of threads that send the messages stored in the outbox.
+		 * 
+		 * Default to 4
+		 */
+		private Integer workers;
+		/**
+		 * The maximum number of attempts to send a message stored in the
+		 * outbox. Once reached, the message is moved to the dead letters.
+		 * 
+		 * Default to 5
+		 */
+		private Integer maxAttempts;
+		/**
+		 * The time (in milliseconds) to wait before sending a message again
+		 * after a failure.
+		 * 
+		 * Default to 30000
+		 */
+		private Long retryDelay;
+
+		public Boolean getEnable() {
+			return enable;
+		}
+
+		public void setEnable(Boolean enable) {
+			this.enable = enable;
+		}
+
+		public String getDirectory() {
+			return directory;
+		}
+
+		public void setDirectory(String directory) {
+			this.directory = directory;
+		}
+
+		public Integer getSegmentSize() {
+			return segmentSize;
+		}
+
+		public void setSegmentSize(Integer segmentSize) {
+			this.segmentSize = segmentSize;
+		}
+
+		public Integer getWorkers() {
+			return workers;
+		}
+
+		public void setWorkers(Integer workers) {
+			this.workers = workers;
+		}
+
+		public Integer getMaxAttempts() {
+			return maxAttempts;
+		}
+
+		public void setMaxAttempts(Integer maxAttempts) {
+			this.maxAttempts = maxAttempts;
+		}
+
+		public Long getRetryDelay() {
+			return retryDelay;
+		}
+
+		public void setRetryDelay(Long retryDelay) {
+			this.retryDelay = retryDelay;
+		}
+	}
 }
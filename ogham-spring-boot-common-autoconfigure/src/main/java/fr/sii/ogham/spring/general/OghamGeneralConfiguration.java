@@ -12,6 +12,7 @@ import org.springframework.core.env.Environment;
 
 import fr.sii.ogham.core.builder.MessagingBuilder;
 import fr.sii.ogham.core.builder.configurer.ConfigurationPhase;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
 import fr.sii.ogham.core.service.MessagingService;
 import fr.sii.ogham.core.template.parser.TemplateParser;
 import fr.sii.ogham.spring.common.OghamMimetypeProperties;
@@ -73,6 +74,22 @@ public class OghamGeneralConfiguration {
 		return new SpringEnvironmentConfigurer(environment);
 	}
 
+	/**
+	 * Configures general properties. If a {@link MetricsRecorder} bean is
+	 * available, it is used to record metrics about message sending.
+	 * 
+	 * @param generalProperties
+	 *            general Ogham properties
+	 * @param emailProperties
+	 *            email properties
+	 * @param smsProperties
+	 *            sms properties
+	 * @param mimetypeProperties
+	 *            mimetype detection properties
+	 * @param metricsRecorder
+	 *            the bridge to the metrics library (may be null)
+	 * @return the configurer
+	 */
 	// @formatter:off
 	@Bean
 	@ConditionalOnMissingBean(SpringGeneralMessagingConfigurer.class)
@@ -80,8 +97,9 @@ public class OghamGeneralConfiguration {
 			@Autowired(required = false) MessagingProperties generalProperties,
 			@Autowired(required = false) OghamEmailProperties emailProperties,
 			@Autowired(required = false) OghamSmsProperties smsProperties,
-			@Autowired(required = false) OghamMimetypeProperties mimetypeProperties) {
-		return new SpringGeneralMessagingConfigurer(generalProperties, emailProperties, smsProperties, mimetypeProperties);
+			@Autowired(required = false) OghamMimetypeProperties mimetypeProperties,
+			@Autowired(required = false) MetricsRecorder metricsRecorder) {
+		return new SpringGeneralMessagingConfigurer(generalProperties, emailProperties, smsProperties, mimetypeProperties, metricsRecorder);
 	}
 	// @formatter:on
 
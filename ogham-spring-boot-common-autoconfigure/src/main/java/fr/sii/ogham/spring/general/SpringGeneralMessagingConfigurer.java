@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import fr.sii.ogham.core.CoreConstants;
 import fr.sii.ogham.core.builder.MessagingBuilder;
 import fr.sii.ogham.core.builder.mimetype.MimetypeDetectionBuilder;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
 import fr.sii.ogham.email.builder.EmailBuilder;
 import fr.sii.ogham.sms.builder.SmsBuilder;
 import fr.sii.ogham.spring.common.OghamMimetypeProperties;
@@ -31,14 +32,21 @@ public class SpringGeneralMessagingConfigurer implements SpringMessagingConfigur
 	private final OghamEmailProperties emailProperties;
 	private final OghamSmsProperties smsProperties;
 	private final OghamMimetypeProperties mimetypeProperties;
+	private final MetricsRecorder metricsRecorder;
 
 	public SpringGeneralMessagingConfigurer(MessagingProperties messagingProperties, OghamEmailProperties emailProperties, OghamSmsProperties smsProperties,
 			OghamMimetypeProperties mimetypeProperties) {
+		this(messagingProperties, emailProperties, smsProperties, mimetypeProperties, null);
+	}
+
+	public SpringGeneralMessagingConfigurer(MessagingProperties messagingProperties, OghamEmailProperties emailProperties, OghamSmsProperties smsProperties,
+			OghamMimetypeProperties mimetypeProperties, MetricsRecorder metricsRecorder) {
 		super();
 		this.messagingProperties = messagingProperties;
 		this.emailProperties = emailProperties;
 		this.smsProperties = smsProperties;
 		this.mimetypeProperties = mimetypeProperties;
+		this.metricsRecorder = metricsRecorder;
 	}
 
 	@Override
@@ -46,7 +54,34 @@ public class SpringGeneralMessagingConfigurer implements SpringMessagingConfigur
 		LOG.debug("[{}] apply general configuration properties to {}", this, builder);
 		// @formatter:off
 		builder
-			.wrapUncaught().value(ofNullable(messagingProperties.getWrapUncaughtExceptions().isEnable()));
+			.wrapUncaught().value(ofNullable(messagingProperties.getWrapUncaughtExceptions().isEnable())).and()
+			.async()
+				.threads().value(ofNullable(messagingProperties.getAsync().getThreads())).and()
+				.queueCapacity().value(ofNullable(messagingProperties.getAsync().getQueueCapacity())).and()
+				.and()
+			.metrics()
+				.enable().value(ofNullable(messagingProperties.getMetrics().getEnable())).and()
+				.and()
+			.http()
+				.maxConnectionsPerRoute().value(ofNullable(messagingProperties.getHttp().getMaxConnectionsPerRoute())).and()
+				.maxConnectionsTotal().value(ofNullable(messagingProperties.getHttp().getMaxConnectionsTotal())).and()
+				.connectTimeout().value(ofNullable(messagingProperties.getHttp().getConnectTimeout())).and()
+				.readTimeout().value(ofNullable(messagingProperties.getHttp().getReadTimeout())).and()
+				.connectionRequestTimeout().value(ofNullable(messagingProperties.getHttp().getConnectionRequestTimeout())).and()
+				.keepAlive().value(ofNullable(messagingProperties.getHttp().getKeepAlive())).and()
+				.asyncThreads().value(ofNullable(messagingProperties.getHttp().getAsync().getThreads())).and()
+				.asyncQueueCapacity().value(ofNullable(messagingProperties.getHttp().getAsync().getQueueCapacity())).and()
+				.and()
+			.outbox()
+				.enable().value(ofNullable(messagingProperties.getOutbox().getEnable())).and()
+				.directory().value(ofNullable(messagingProperties.getOutbox().getDirectory())).and()
+				.segmentSize().value(ofNullable(messagingProperties.getOutbox().getSegmentSize())).and()
+				.workers().value(ofNullable(messagingProperties.getOutbox().getWorkers())).and()
+				.maxAttempts().value(ofNullable(messagingProperties.getOutbox().getMaxAttempts())).and()
+				.retryDelay().value(ofNullable(messagingProperties.getOutbox().getRetryDelay()));
+		if (metricsRecorder != null) {
+			builder.metrics().recorder(metricsRecorder);
+		}
 		// @formatter:on
 		configure(builder.email());
 		configure(builder.sms());
@@ -77,6 +112,21 @@ public class SpringGeneralMessagingConfigurer implements SpringMessagingConfigur
 					.defaultValue().value(ofNullable(asArray(emailProperties.getBcc().getDefaultValue(), String.class))).and()
 					.and()
 				.and()
+			.css()
+				.inline()
+					.compiledRules().value(ofNullable(emailProperties.getCssInlining().getCompiledRules())).and()
+					.and()
+				.and()
+			.parallelRendering()
+				.enable().value(ofNullable(emailProperties.getParallelRendering().getEnable())).and()
+				.threads().value(ofNullable(emailProperties.getParallelRendering().getThreads())).and()
+				.and()
+			.resourceCache()
+				.enable().value(ofNullable(emailProperties.getResourceCache().getEnable())).and()
+				.maxSize().value(ofNullable(emailProperties.getResourceCache().getMaxSize())).and()
+				.maxWeight().value(ofNullable(emailProperties.getResourceCache().getMaxWeight())).and()
+				.checkModifications().value(ofNullable(emailProperties.getResourceCache().getCheckModifications())).and()
+				.and()
 			.autoRetry()
 				.fixedDelay()
 					.maxRetries().value(ofNullable(emailProperties.getSendRetry().getMaxAttempts())).and()
@@ -85,6 +135,8 @@ public class SpringGeneralMessagingConfigurer implements SpringMessagingConfigur
 				.exponentialDelay()
 					.maxRetries().value(ofNullable(emailProperties.getSendRetry().getMaxAttempts())).and()
 					.initialDelay().value(ofNullable(emailProperties.getSendRetry().getExponentialInitialDelay())).and()
+					.maxDelay().value(ofNullable(emailProperties.getSendRetry().getExponentialMaxDelay())).and()
+					.jitter().value(ofNullable(emailProperties.getSendRetry().getExponentialJitter())).and()
 					.and()
 				.perExecutionDelay()
 					.maxRetries().value(ofNullable(emailProperties.getSendRetry().getMaxAttempts())).and()
@@ -92,7 +144,11 @@ public class SpringGeneralMessagingConfigurer implements SpringMessagingConfigur
 					.and()
 				.fixedInterval()
 					.maxRetries().value(ofNullable(emailProperties.getSendRetry().getMaxAttempts())).and()
-					.interval().value(ofNullable(emailProperties.getSendRetry().getExecutionInterval()));
+					.interval().value(ofNullable(emailProperties.getSendRetry().getExecutionInterval())).and()
+					.and()
+				.budget()
+					.capacity().value(ofNullable(emailProperties.getSendRetry().getBudget().getCapacity())).and()
+					.refillRate().value(ofNullable(emailProperties.getSendRetry().getBudget().getRefillRate()));
 		// @formatter:on
 	}
 
@@ -129,6 +185,8 @@ public class SpringGeneralMessagingConfigurer implements SpringMessagingConfigur
 				.exponentialDelay()
 					.maxRetries().value(ofNullable(smsProperties.getSendRetry().getMaxAttempts())).and()
 					.initialDelay().value(ofNullable(smsProperties.getSendRetry().getExponentialInitialDelay())).and()
+					.maxDelay().value(ofNullable(smsProperties.getSendRetry().getExponentialMaxDelay())).and()
+					.jitter().value(ofNullable(smsProperties.getSendRetry().getExponentialJitter())).and()
 					.and()
 				.perExecutionDelay()
 					.maxRetries().value(ofNullable(smsProperties.getSendRetry().getMaxAttempts())).and()
@@ -136,7 +194,11 @@ public class SpringGeneralMessagingConfigurer implements SpringMessagingConfigur
 					.and()
 				.fixedInterval()
 					.maxRetries().value(ofNullable(smsProperties.getSendRetry().getMaxAttempts())).and()
-					.interval().value(ofNullable(smsProperties.getSendRetry().getExecutionInterval()));
+					.interval().value(ofNullable(smsProperties.getSendRetry().getExecutionInterval())).and()
+					.and()
+				.budget()
+					.capacity().value(ofNullable(smsProperties.getSendRetry().getBudget().getCapacity())).and()
+					.refillRate().value(ofNullable(smsProperties.getSendRetry().getBudget().getRefillRate()));
 		// @formatter:on
 	}
 
@@ -146,14 +208,22 @@ public class SpringGeneralMessagingConfigurer implements SpringMessagingConfigur
 			.tika()
 				.failIfOctetStream().value(ofNullable(mimetypeProperties.getTika().isFailIfOctetStream())).and()
 				.and()
-			.defaultMimetype().value(ofNullable(mimetypeProperties.getDefaultMimetype()));
+			.defaultMimetype().value(ofNullable(mimetypeProperties.getDefaultMimetype())).and()
+			.headSize().value(ofNullable(mimetypeProperties.getHeadSize())).and()
+			.cache()
+				.enable().value(ofNullable(mimetypeProperties.getCache().getEnable())).and()
+				.maxSize().value(ofNullable(mimetypeProperties.getCache().getMaxSize()));
 		// @formatter:on
 	}
 
 	private void configureImageInliningMimetype(MimetypeDetectionBuilder<?> builder) {
 		// @formatter:off
 		builder
-			.allowed().value(ofNullable(asArray(emailProperties.getImageInlining().getMimetype().getAllowedMimetypes(), String.class)));
+			.allowed().value(ofNullable(asArray(emailProperties.getImageInlining().getMimetype().getAllowedMimetypes(), String.class))).and()
+			.headSize().value(ofNullable(mimetypeProperties.getHeadSize())).and()
+			.cache()
+				.enable().value(ofNullable(mimetypeProperties.getCache().getEnable())).and()
+				.maxSize().value(ofNullable(mimetypeProperties.getCache().getMaxSize()));
 		// @formatter:on
 	}
 
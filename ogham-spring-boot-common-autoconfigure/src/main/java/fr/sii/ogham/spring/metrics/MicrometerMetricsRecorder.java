@@ -0,0 +1,61 @@
+package fr.sii.ogham.spring.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import fr.sii.ogham.core.metrics.MetricNames;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records Ogham metrics using Micrometer:
+ * <ul>
+ * <li>Timings are recorded using a {@link io.micrometer.core.instrument.Timer}</li>
+ * <li>Counters are recorded using a
+ * {@link io.micrometer.core.instrument.Counter}</li>
+ * <li>Gauges are registered as {@link Gauge}s</li>
+ * </ul>
+ * 
+ * <p>
+ * Metric names and tags are directly given to the {@link MeterRegistry} (see
+ * {@link MetricNames}).
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+public class MicrometerMetricsRecorder implements MetricsRecorder {
+	private final MeterRegistry registry;
+
+	public MicrometerMetricsRecorder(MeterRegistry registry) {
+		super();
+		this.registry = registry;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public void recordTime(String name, long durationInNanos, String... tags) {
+		registry.timer(name, tags).record(durationInNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void increment(String name, String... tags) {
+		registry.counter(name, tags).increment();
+	}
+
+	@Override
+	public void gauge(String name, Supplier<Number> value, String... tags) {
+		Gauge.builder(name, value).tags(tags).register(registry);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MicrometerMetricsRecorder [registry=").append(registry).append("]");
+		return builder.toString();
+	}
+}
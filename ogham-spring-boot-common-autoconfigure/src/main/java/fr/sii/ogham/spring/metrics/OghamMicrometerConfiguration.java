@@ -0,0 +1,35 @@
+package fr.sii.ogham.spring.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records Ogham metrics using the Micrometer {@link MeterRegistry} of the
+ * application (provided by Spring Boot Actuator for example).
+ * 
+ * <p>
+ * Nothing is registered if Micrometer is not in the classpath, if there is no
+ * {@link MeterRegistry} bean or if the application already provides its own
+ * {@link MetricsRecorder}.
+ * 
+ * @author Aurélien Baudet
+ *
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+public class OghamMicrometerConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean(MetricsRecorder.class)
+	public MicrometerMetricsRecorder micrometerMetricsRecorder(MeterRegistry registry) {
+		return new MicrometerMetricsRecorder(registry);
+	}
+
+}
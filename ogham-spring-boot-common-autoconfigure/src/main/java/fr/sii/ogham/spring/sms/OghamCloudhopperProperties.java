@@ -10,6 +10,9 @@ import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import com.cloudhopper.smpp.SmppBindType;
 import com.cloudhopper.smpp.pdu.EnquireLink;
 
+import fr.sii.ogham.sms.sender.impl.cloudhopper.session.LoadBalancing;
+import fr.sii.ogham.spring.common.RateLimitProperties;
+
 @ConfigurationProperties("ogham.sms.cloudhopper")
 public class OghamCloudhopperProperties {
 	/**
@@ -92,6 +95,8 @@ public class OghamCloudhopperProperties {
 	private UserDataProperties userData = new UserDataProperties();
 	@NestedConfigurationProperty
 	private SplitProperties split = new SplitProperties();
+	@NestedConfigurationProperty
+	private RateLimitProperties rateLimit = new RateLimitProperties();
 
 	public String getSystemId() {
 		return systemId;
@@ -189,6 +194,14 @@ public class OghamCloudhopperProperties {
 		this.split = split;
 	}
 
+	public RateLimitProperties getRateLimit() {
+		return rateLimit;
+	}
+
+	public void setRateLimit(RateLimitProperties rateLimit) {
+		this.rateLimit = rateLimit;
+	}
+
 	public static class SessionProperties {
 		/**
 		 * A name for the session (used to name threads used by Cloudhopper).
@@ -278,11 +291,29 @@ public class OghamCloudhopperProperties {
 		 * Default: <i>5 seconds</i>
 		 */
 		private Long unbindTimeout;
+		/**
+		 * Send all segments of a message without waiting for the response of
+		 * the previous segment. The number of segments that are sent but not
+		 * acknowledged yet is bounded by the window size (see
+		 * {@code window-size}).<br />
+		 * <br />
+		 * Only the segments of one message are sent using the window. Messages
+		 * are still sent one after the other unless they are sent at once
+		 * using {@code MessagingService.sendAll()}: the segments of all the
+		 * messages of the batch are then sent using the window before any
+		 * response is awaited.<br />
+		 * <br />
+		 * 
+		 * Default: <i>false</i>
+		 */
+		private Boolean asyncSubmit;
 		@NestedConfigurationProperty
 		private ReuseSessionOptions reuseSession = new ReuseSessionOptions();
 		@NestedConfigurationProperty
 		private KeepAliveOptions keepAlive = new KeepAliveOptions();
 		@NestedConfigurationProperty
+		private SessionPoolOptions pool = new SessionPoolOptions();
+		@NestedConfigurationProperty
 		private ConnectRetryProperties connectRetry = new ConnectRetryProperties();
 
 		public String getName() {
@@ -365,6 +396,14 @@ public class OghamCloudhopperProperties {
 			this.unbindTimeout = unbindTimeout;
 		}
 
+		public Boolean getAsyncSubmit() {
+			return asyncSubmit;
+		}
+
+		public void setAsyncSubmit(Boolean asyncSubmit) {
+			this.asyncSubmit = asyncSubmit;
+		}
+
 		public ConnectRetryProperties getConnectRetry() {
 			return connectRetry;
 		}
@@ -389,6 +428,14 @@ public class OghamCloudhopperProperties {
 			this.keepAlive = keepAlive;
 		}
 
+		public SessionPoolOptions getPool() {
+			return pool;
+		}
+
+		public void setPool(SessionPoolOptions pool) {
+			this.pool = pool;
+		}
+
 	}
 
 	public static class ConnectRetryProperties {
@@ -565,6 +612,59 @@ public class OghamCloudhopperProperties {
 		}
 	}
 
+	public static class SessionPoolOptions {
+		/**
+		 * Enable or disable the use of several bound sessions to send messages.
+		 * Each session is kept alive using {@link EnquireLink} messages (see
+		 * {@code keep-alive} options for the interval and the timeout).<br />
+		 * <br />
+		 * 
+		 * Default: <i>false</i>
+		 */
+		private Boolean enable;
+		/**
+		 * The number of sessions that are bound to the server.<br />
+		 * <br />
+		 * 
+		 * Default: <i>2</i>
+		 */
+		private Integer size;
+		/**
+		 * How the session is selected among the bound sessions to send a
+		 * message: either one after the other ({@code ROUND_ROBIN}) or the
+		 * session that has the fewest requests waiting for a response
+		 * ({@code LEAST_PENDING}).<br />
+		 * <br />
+		 * 
+		 * Default: <i>ROUND_ROBIN</i>
+		 */
+		private LoadBalancing loadBalancing;
+
+		public Boolean getEnable() {
+			return enable;
+		}
+
+		public void setEnable(Boolean enable) {
+			this.enable = enable;
+		}
+
+		public Integer getSize() {
+			return size;
+		}
+
+		public void setSize(Integer size) {
+			this.size = size;
+		}
+
+		public LoadBalancing getLoadBalancing() {
+			return loadBalancing;
+		}
+
+		public void setLoadBalancing(LoadBalancing loadBalancing) {
+			this.loadBalancing = loadBalancing;
+		}
+	}
+
 	public static class ReuseSessionOptions {
 		/**
 		 * Enable or disable the reuse the same session (if possible) for
@@ -25,6 +25,8 @@ public class OghamOvhSmsProperties {
 	private String password;
 	@NestedConfigurationProperty
 	private Options options = new Options();
+	@NestedConfigurationProperty
+	private Batch batch = new Batch();
 
 	public String getUrl() {
 		return url;
@@ -66,6 +68,14 @@ public class OghamOvhSmsProperties {
 		this.options = options;
 	}
 
+	public Batch getBatch() {
+		return batch;
+	}
+
+	public void setBatch(Batch batch) {
+		this.batch = batch;
+	}
+
 	public static class Options {
 		/**
 		 * Enable/disable "STOP" indication at the end of the message (useful to
@@ -109,4 +119,34 @@ public class OghamOvhSmsProperties {
 			this.tag = tag;
 		}
 	}
+
+	public static class Batch {
+		/**
+		 * The maximum number of recipients sent in a single request. If the
+		 * message has more recipients, they are partitioned into chunks that
+		 * are sent concurrently.
+		 */
+		private Integer maxRecipients;
+		/**
+		 * The maximum length of a message. A longer message is split into
+		 * several messages. If not set, the message is never split.
+		 */
+		private Integer maxMessageLength;
+
+		public Integer getMaxRecipients() {
+			return maxRecipients;
+		}
+
+		public void setMaxRecipients(Integer maxRecipients) {
+			this.maxRecipients = maxRecipients;
+		}
+
+		public Integer getMaxMessageLength() {
+			return maxMessageLength;
+		}
+
+		public void setMaxMessageLength(Integer maxMessageLength) {
+			this.maxMessageLength = maxMessageLength;
+		}
+	}
 }
@@ -5,6 +5,8 @@ import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import com.cloudhopper.smpp.SmppBindType;
 
+import fr.sii.ogham.spring.common.RateLimitProperties;
+
 @ConfigurationProperties("ogham.sms.smpp")
 public class OghamSmppProperties {
 	/**
@@ -79,6 +81,8 @@ public class OghamSmppProperties {
 	private SplitProperties split = new SplitProperties();
 	@NestedConfigurationProperty
 	private DataCodingSchemeProperties dataCodingScheme = new DataCodingSchemeProperties();
+	@NestedConfigurationProperty
+	private RateLimitProperties rateLimit = new RateLimitProperties();
 
 	public String getSystemType() {
 		return systemType;
@@ -160,4 +164,12 @@ public class OghamSmppProperties {
 		this.dataCodingScheme = dataCodingScheme;
 	}
 
+	public RateLimitProperties getRateLimit() {
+		return rateLimit;
+	}
+
+	public void setRateLimit(RateLimitProperties rateLimit) {
+		this.rateLimit = rateLimit;
+	}
+
 }
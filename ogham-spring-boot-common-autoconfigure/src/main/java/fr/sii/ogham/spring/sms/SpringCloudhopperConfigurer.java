@@ -50,6 +50,12 @@ public class SpringCloudhopperConfigurer implements SpringMessagingConfigurer {
 				.bindType().value(ofNullable(firstValue(cloudhopperProperties.getBindType(), smppProperties.getBindType()))).and()
 				.systemType().value(ofNullable(firstValue(cloudhopperProperties.getSystemType(), smppProperties.getSystemType()))).and()
 				.interfaceVersion().value(ofNullable(InterfaceVersion.of(cloudhopperProperties.getInterfaceVersion()))).and()
+				.rateLimit()
+					.permitsPerSecond().value(ofNullable(firstValue(cloudhopperProperties.getRateLimit().getPermitsPerSecond(), smppProperties.getRateLimit().getPermitsPerSecond()))).and()
+					.burst().value(ofNullable(firstValue(cloudhopperProperties.getRateLimit().getBurst(), smppProperties.getRateLimit().getBurst()))).and()
+					.mode().value(ofNullable(firstValue(cloudhopperProperties.getRateLimit().getMode(), smppProperties.getRateLimit().getMode()))).and()
+					.maxWait().value(ofNullable(firstValue(cloudhopperProperties.getRateLimit().getMaxWait(), smppProperties.getRateLimit().getMaxWait()))).and()
+					.and()
 				.userData()
 					.useShortMessage().value(ofNullable(firstValue(cloudhopperProperties.getUserData().getUseShortMessage(), smppProperties.getUserData().getUseShortMessage()))).and()
 					.useTlvMessagePayload().value(ofNullable(firstValue(cloudhopperProperties.getUserData().getUseTlvMessagePayload(), smppProperties.getUserData().getUseTlvMessagePayload()))).and()
@@ -80,6 +86,7 @@ public class SpringCloudhopperConfigurer implements SpringMessagingConfigurer {
 					.writeTimeout().value(ofNullable(cloudhopperProperties.getSession().getWriteTimeout())).and()
 					.responseTimeout().value(ofNullable(cloudhopperProperties.getSession().getResponseTimeout())).and()
 					.unbindTimeout().value(ofNullable(cloudhopperProperties.getSession().getUnbindTimeout())).and()
+					.asyncSubmit().value(ofNullable(cloudhopperProperties.getSession().getAsyncSubmit())).and()
 					.reuseSession()
 						.enable().value(ofNullable(cloudhopperProperties.getSession().getReuseSession().getEnable())).and()
 						.lastInteractionExpiration().value(ofNullable(cloudhopperProperties.getSession().getReuseSession().getLastInteractionExpirationDelay())).and()
@@ -92,6 +99,11 @@ public class SpringCloudhopperConfigurer implements SpringMessagingConfigurer {
 						.connectAtStartup().value(ofNullable(cloudhopperProperties.getSession().getKeepAlive().getConnectAtStartup())).and()
 						.maxConsecutiveTimeouts().value(ofNullable(cloudhopperProperties.getSession().getKeepAlive().getMaxConsecutiveTimeouts())).and()
 						.and()
+					.pool()
+						.enable().value(ofNullable(cloudhopperProperties.getSession().getPool().getEnable())).and()
+						.size().value(ofNullable(cloudhopperProperties.getSession().getPool().getSize())).and()
+						.loadBalancing().value(ofNullable(cloudhopperProperties.getSession().getPool().getLoadBalancing())).and()
+						.and()
 					.connectRetry()
 						.fixedDelay()
 							.maxRetries().value(ofNullable(cloudhopperProperties.getSession().getConnectRetry().getMaxAttempts())).and()
@@ -51,7 +51,11 @@ public class SpringOvhSmsConfigurer implements SpringMessagingConfigurer {
 			.options()
 				.noStop().value(ofNullable(properties.getOptions().isNoStop())).and()
 				.smsCoding().value(ofNullable(properties.getOptions().getSmsCoding())).and()
-				.tag().value(ofNullable(properties.getOptions().getTag()));
+				.tag().value(ofNullable(properties.getOptions().getTag())).and()
+				.and()
+			.batch()
+				.maxRecipients().value(ofNullable(properties.getBatch().getMaxRecipients())).and()
+				.maxMessageLength().value(ofNullable(properties.getBatch().getMaxMessageLength()));
 		// @formatter:on
 	}
 
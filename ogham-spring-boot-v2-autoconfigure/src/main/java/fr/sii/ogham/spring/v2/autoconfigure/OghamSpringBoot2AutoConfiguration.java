@@ -14,6 +14,7 @@ import fr.sii.ogham.core.builder.MessagingBuilder;
 import fr.sii.ogham.core.service.MessagingService;
 import fr.sii.ogham.spring.email.OghamJavaMailConfiguration;
 import fr.sii.ogham.spring.general.OghamGeneralConfiguration;
+import fr.sii.ogham.spring.metrics.OghamMicrometerConfiguration;
 import fr.sii.ogham.spring.sms.OghamCloudhopperConfiguration;
 import fr.sii.ogham.spring.sms.OghamOvhSmsConfiguration;
 import fr.sii.ogham.spring.template.OghamFreemarkerConfiguration;
@@ -31,6 +32,7 @@ import fr.sii.ogham.spring.v2.template.OghamThymeleafV3Configuration;
  * <li>Use SpringTemplateEngine instead of default Thymeleaf TemplateEngine</li>
  * <li>Use FreeMarker configured with Spring additional features</li>
  * <li>Use SendGrid configured with Spring additional features</li>
+ * <li>Record metrics using Micrometer if a MeterRegistry is available</li>
  * </ul>
  * 
  * 
@@ -42,7 +44,8 @@ import fr.sii.ogham.spring.v2.template.OghamThymeleafV3Configuration;
 		WebMvcAutoConfiguration.class, 
 		ThymeleafAutoConfiguration.class, 
 		FreeMarkerAutoConfiguration.class, 
-		MailSenderAutoConfiguration.class })
+		MailSenderAutoConfiguration.class }, 
+	name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @ConditionalOnClass({ 
 		/* used to match Spring Boot 2 */ WebMvcAutoConfiguration.class, 
 		MessagingService.class, 
@@ -56,7 +59,8 @@ import fr.sii.ogham.spring.v2.template.OghamThymeleafV3Configuration;
 		OghamJavaMailConfiguration.class,
 		OghamSendGridV4Configuration.class,
 		OghamCloudhopperConfiguration.class,
-		OghamOvhSmsConfiguration.class })
+		OghamOvhSmsConfiguration.class,
+		OghamMicrometerConfiguration.class })
 //@formatter:on
 public class OghamSpringBoot2AutoConfiguration {
 }
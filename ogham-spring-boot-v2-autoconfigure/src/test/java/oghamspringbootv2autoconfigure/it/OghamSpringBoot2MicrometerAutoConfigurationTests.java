@@ -0,0 +1,85 @@
+package oghamspringbootv2autoconfigure.it;
+
+import static fr.sii.ogham.core.metrics.MetricNames.SERVICE_SEND;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
+import static org.springframework.boot.autoconfigure.AutoConfigurations.of;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import fr.sii.ogham.core.exception.MessagingException;
+import fr.sii.ogham.core.metrics.MetricsRecorder;
+import fr.sii.ogham.core.metrics.NoMetricsRecorder;
+import fr.sii.ogham.core.service.MessagingService;
+import fr.sii.ogham.email.message.Email;
+import fr.sii.ogham.spring.metrics.MicrometerMetricsRecorder;
+import fr.sii.ogham.spring.v2.autoconfigure.OghamSpringBoot2AutoConfiguration;
+import fr.sii.ogham.testing.extension.junit.LoggingTestRule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OghamSpringBoot2MicrometerAutoConfigurationTests {
+	@Rule
+	public final LoggingTestRule loggingRule = new LoggingTestRule();
+
+	private ApplicationContextRunner contextRunner;
+
+	@Before
+	public void setUp() {
+		contextRunner = new ApplicationContextRunner()
+				.withConfiguration(of(OghamSpringBoot2AutoConfiguration.class));
+	}
+
+	@Test
+	public void noMeterRegistryShouldNotRegisterRecorder() throws Exception {
+		contextRunner.run((context) -> {
+			assertThat(context.getBeansOfType(MetricsRecorder.class).isEmpty(), is(true));
+		});
+	}
+
+	@Test
+	public void meterRegistryShouldRecordOghamMetrics() throws Exception {
+		contextRunner = contextRunner.withUserConfiguration(MeterRegistryConfig.class);
+		contextRunner.run((context) -> {
+			assertThat(context.getBean(MetricsRecorder.class), instanceOf(MicrometerMetricsRecorder.class));
+			MessagingService messagingService = context.getBean(MessagingService.class);
+			assertThrows(MessagingException.class, () -> messagingService.send(new Email()));
+			assertThat(context.getBean(MeterRegistry.class).find(SERVICE_SEND).timer(), notNullValue());
+		});
+	}
+
+	@Test
+	public void customRecorderShouldBeKept() throws Exception {
+		contextRunner = contextRunner.withUserConfiguration(MeterRegistryConfig.class, CustomRecorderConfig.class);
+		contextRunner.run((context) -> {
+			assertThat(context.getBean(MetricsRecorder.class), sameInstance(context.getBean(CustomRecorderConfig.class).recorder));
+		});
+	}
+
+	@Configuration
+	protected static class MeterRegistryConfig {
+		@Bean
+		public MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@Configuration
+	protected static class CustomRecorderConfig {
+		final MetricsRecorder recorder = new NoMetricsRecorder();
+
+		@Bean
+		public MetricsRecorder customRecorder() {
+			return recorder;
+		}
+	}
+}
@@ -71,4 +71,13 @@ public class JSMPPServer implements SmppServerSimulator<SubmitSm> {
 		return simulator.getReceivedMessages();
 	}
 
+	/**
+	 * Drop the messages received so far. This is useful when the server is
+	 * used for a long time (benchmarks for example) to avoid keeping all
+	 * received messages in memory.
+	 */
+	public void clearReceivedMessages() {
+		simulator.clearReceivedMessages();
+	}
+
 }
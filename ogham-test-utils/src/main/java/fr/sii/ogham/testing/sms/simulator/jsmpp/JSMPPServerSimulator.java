@@ -218,6 +218,10 @@ public class JSMPPServerSimulator extends ServerResponseDeliveryAdapter implemen
 		return unmodifiableList(new ArrayList<>(receivedMessages));
 	}
 
+	public void clearReceivedMessages() {
+		receivedMessages.clear();
+	}
+
 	public int getPort() {
 		return port;
 	}